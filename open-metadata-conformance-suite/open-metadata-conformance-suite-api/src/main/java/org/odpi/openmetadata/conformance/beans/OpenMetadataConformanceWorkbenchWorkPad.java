@@ -25,7 +25,10 @@ public abstract class OpenMetadataConformanceWorkbenchWorkPad
 
     protected List<OpenMetadataConformanceTestEvidence>  testEvidenceList = new ArrayList<>();
 
-    protected Map<String, OpenMetadataTestCase>    testCaseMap = new HashMap<>();
+    /*
+     * Sorted by test case id so the results are reported in the same order however the test cases were run.
+     */
+    protected Map<String, OpenMetadataTestCase>    testCaseMap = new TreeMap<>();
 
 
     /**
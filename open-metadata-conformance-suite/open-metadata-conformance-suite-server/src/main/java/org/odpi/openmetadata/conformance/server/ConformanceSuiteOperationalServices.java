@@ -10,6 +10,8 @@ import org.odpi.openmetadata.conformance.beans.OpenMetadataConformanceWorkbenchW
 import org.odpi.openmetadata.conformance.beans.TechnologyUnderTestWorkPad;
 import org.odpi.openmetadata.conformance.ffdc.ConformanceSuiteErrorCode;
 import org.odpi.openmetadata.conformance.workbenches.repository.listener.ConformanceSuiteOMRSTopicListener;
+import org.odpi.openmetadata.conformance.workbenches.performance.PerformanceWorkPad;
+import org.odpi.openmetadata.conformance.workbenches.performance.PerformanceWorkbench;
 import org.odpi.openmetadata.conformance.workbenches.platform.PlatformConformanceWorkPad;
 import org.odpi.openmetadata.conformance.workbenches.platform.PlatformConformanceWorkbench;
 import org.odpi.openmetadata.conformance.workbenches.repository.RepositoryConformanceWorkPad;
@@ -157,6 +159,30 @@ public class ConformanceSuiteOperationalServices
             enterpriseTopicConnector.registerListener(omrsTopicListener);
         }
 
+
+        if (conformanceSuiteConfig.getPerformanceWorkbenchConfig() != null)
+        {
+            PerformanceWorkPad   performanceWorkPad = new PerformanceWorkPad(localServerUserId,
+                                                                         localServerPassword,
+                                                                         maxPageSize,
+                                                                         auditLog,
+                                                                         conformanceSuiteConfig.getPerformanceWorkbenchConfig());
+            workbenchWorkPads.add(performanceWorkPad);
+
+            PerformanceWorkbench performanceWorkbench = new PerformanceWorkbench(performanceWorkPad);
+            runningWorkbenches.add(performanceWorkbench);
+
+            Thread performanceWorkbenchThread = new Thread(performanceWorkbench, "Performance Workbench");
+            performanceWorkbenchThread.start();
+
+            /*
+             * Only the connector is needed.  The topic listener is not registered because it runs the
+             * type tests of the repository workbench.
+             */
+            ConformanceSuiteConnectorConsumer connectorConsumer = new ConformanceSuiteConnectorConsumer(performanceWorkPad);
+            enterpriseConnectorManager.registerConnectorConsumer(connectorConsumer);
+        }
+
         instanceMap.setNewInstance(localServerName, new ConformanceServicesInstance(new TechnologyUnderTestWorkPad(workbenchWorkPads),
                                                                                     runningWorkbenches,
                                                                                     auditLog,
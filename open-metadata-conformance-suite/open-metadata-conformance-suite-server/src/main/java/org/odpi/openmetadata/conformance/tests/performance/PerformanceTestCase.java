@@ -0,0 +1,342 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.conformance.tests.performance;
+
+import org.odpi.openmetadata.conformance.tests.repository.RepositoryConformanceTestCase;
+import org.odpi.openmetadata.conformance.workbenches.performance.PerformanceProfile;
+import org.odpi.openmetadata.conformance.workbenches.performance.PerformanceWorkPad;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstancePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.FunctionNotSupportedException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+
+/**
+ * PerformanceTestCase is the base class for the test cases of the performance workbench.  Each test case issues the
+ * same operation once for each instance of an entity type from a pool of threads, and records the time taken by
+ * each call.  The results are reported as discovered properties of the test case so they are returned through the
+ * workbench's results REST API.
+ */
+public abstract class PerformanceTestCase extends RepositoryConformanceTestCase
+{
+    static final String discoveredProperty_operationCount       = "operationCount";
+    static final String discoveredProperty_failedOperationCount = "failedOperationCount";
+    static final String discoveredProperty_concurrency          = "concurrency";
+    static final String discoveredProperty_operationsPerSecond  = "operationsPerSecond";
+    static final String discoveredProperty_latencyP50           = "latencyP50Millis";
+    static final String discoveredProperty_latencyP95           = "latencyP95Millis";
+    static final String discoveredProperty_latencyP99           = "latencyP99Millis";
+    static final String discoveredProperty_latencyMax           = "latencyMaxMillis";
+    static final String discoveredProperty_firstFailure         = "firstFailure";
+
+    protected PerformanceWorkPad performanceWorkPad;
+    protected PerformanceProfile profile;
+
+
+    /**
+     * An operation that is timed for one instance.
+     */
+    protected interface PerformanceOperation
+    {
+        /**
+         * Issue the operation for one instance.
+         *
+         * @param instanceIndex index of the instance to work with
+         * @throws Exception the operation failed
+         */
+        void execute(int instanceIndex) throws Exception;
+    }
+
+
+    /**
+     * Typical constructor sets up the superclass.
+     *
+     * @param workPad location for workbench results
+     * @param profile operation that this test case measures
+     */
+    protected PerformanceTestCase(PerformanceWorkPad workPad,
+                                  PerformanceProfile profile)
+    {
+        super(workPad, profile.getProfileId(), profile.getRequirementId());
+
+        this.performanceWorkPad = workPad;
+        this.profile = profile;
+    }
+
+
+    /**
+     * Issue the operation once for each instance on a pool of threads and report the throughput and latency.
+     * If the technology under test does not support the operation, a not supported assertion is recorded.
+     * Otherwise the test case passes if all of the operations succeed.
+     *
+     * @param operationCount number of times to issue the operation
+     * @param operation operation to time
+     * @param assertionId identifier of the assertion that all operations succeeded
+     * @param assertionMessage message for the assertion
+     * @return whether the operation is supported
+     * @throws Exception the thread pool was interrupted
+     */
+    protected boolean runOperations(int                   operationCount,
+                                    PerformanceOperation  operation,
+                                    String                assertionId,
+                                    String                assertionMessage) throws Exception
+    {
+        final long[]                          latencies      = new long[operationCount];
+        final AtomicInteger                   failedCount    = new AtomicInteger(0);
+        final AtomicReference<Throwable>      firstFailure   = new AtomicReference<>(null);
+        final AtomicReference<Throwable>      notSupported   = new AtomicReference<>(null);
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+
+        for (int i = 0; i < operationCount; i++)
+        {
+            final int instanceIndex = i;
+
+            tasks.add(() ->
+            {
+                if (notSupported.get() != null)
+                {
+                    latencies[instanceIndex] = -1;
+                    return null;
+                }
+
+                long startTime = System.nanoTime();
+
+                try
+                {
+                    operation.execute(instanceIndex);
+                    latencies[instanceIndex] = System.nanoTime() - startTime;
+                }
+                catch (FunctionNotSupportedException error)
+                {
+                    latencies[instanceIndex] = -1;
+                    notSupported.compareAndSet(null, error);
+                }
+                catch (Throwable error)
+                {
+                    latencies[instanceIndex] = -1;
+                    failedCount.incrementAndGet();
+                    firstFailure.compareAndSet(null, error);
+                }
+
+                return null;
+            });
+        }
+
+        int             concurrency = Math.max(1, Math.min(performanceWorkPad.getConcurrency(), operationCount));
+        ExecutorService threadPool  = Executors.newFixedThreadPool(concurrency);
+        long            startTime   = System.nanoTime();
+
+        try
+        {
+            threadPool.invokeAll(tasks);
+        }
+        finally
+        {
+            threadPool.shutdownNow();
+        }
+
+        long elapsedTime = System.nanoTime() - startTime;
+
+        if (notSupported.get() != null)
+        {
+            super.addNotSupportedAssertion(assertionId,
+                                           assertionMessage,
+                                           profile.getProfileId(),
+                                           profile.getRequirementId());
+            return false;
+        }
+
+        long[] successfulLatencies = Arrays.stream(latencies).filter(latency -> latency >= 0).sorted().toArray();
+
+        super.addDiscoveredProperty(discoveredProperty_operationCount,
+                                    operationCount,
+                                    profile.getProfileId(),
+                                    profile.getRequirementId());
+        super.addDiscoveredProperty(discoveredProperty_failedOperationCount,
+                                    failedCount.get(),
+                                    profile.getProfileId(),
+                                    profile.getRequirementId());
+        super.addDiscoveredProperty(discoveredProperty_concurrency,
+                                    concurrency,
+                                    profile.getProfileId(),
+                                    profile.getRequirementId());
+        super.addDiscoveredProperty(discoveredProperty_operationsPerSecond,
+                                    round(successfulLatencies.length * 1000000000.0 / Math.max(1, elapsedTime)),
+                                    profile.getProfileId(),
+                                    profile.getRequirementId());
+
+        if (successfulLatencies.length > 0)
+        {
+            super.addDiscoveredProperty(discoveredProperty_latencyP50,
+                                        toMillis(percentile(successfulLatencies, 50)),
+                                        profile.getProfileId(),
+                                        profile.getRequirementId());
+            super.addDiscoveredProperty(discoveredProperty_latencyP95,
+                                        toMillis(percentile(successfulLatencies, 95)),
+                                        profile.getProfileId(),
+                                        profile.getRequirementId());
+            super.addDiscoveredProperty(discoveredProperty_latencyP99,
+                                        toMillis(percentile(successfulLatencies, 99)),
+                                        profile.getProfileId(),
+                                        profile.getRequirementId());
+            super.addDiscoveredProperty(discoveredProperty_latencyMax,
+                                        toMillis(successfulLatencies[successfulLatencies.length - 1]),
+                                        profile.getProfileId(),
+                                        profile.getRequirementId());
+        }
+
+        if (firstFailure.get() != null)
+        {
+            Throwable error = firstFailure.get();
+
+            super.addDiscoveredProperty(discoveredProperty_firstFailure,
+                                        error.getClass().getSimpleName() + ": " + error.getMessage(),
+                                        profile.getProfileId(),
+                                        profile.getRequirementId());
+        }
+
+        super.verifyCondition((failedCount.get() == 0),
+                              assertionId,
+                              assertionMessage,
+                              profile.getProfileId(),
+                              profile.getRequirementId());
+
+        return true;
+    }
+
+
+    /**
+     * Return a copy of the supplied properties where the string properties have a value that is unique to
+     * the instance.  This means that each instance can be found by searching for its values.
+     *
+     * @param properties properties generated from the type definition
+     * @param uniqueValue value that is unique to the instance
+     * @return new properties object
+     */
+    protected InstanceProperties getUniqueProperties(InstanceProperties properties,
+                                                     String             uniqueValue)
+    {
+        InstanceProperties uniqueProperties = new InstanceProperties();
+
+        if (properties != null)
+        {
+            Iterator<String> propertyNames = properties.getPropertyNames();
+
+            while (propertyNames.hasNext())
+            {
+                String                propertyName  = propertyNames.next();
+                InstancePropertyValue propertyValue = properties.getPropertyValue(propertyName);
+
+                if ((propertyValue instanceof PrimitivePropertyValue) &&
+                    (((PrimitivePropertyValue) propertyValue).getPrimitiveDefCategory() == PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING))
+                {
+                    PrimitivePropertyValue uniqueValueProperty = new PrimitivePropertyValue();
+
+                    uniqueValueProperty.setPrimitiveDefCategory(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING);
+                    uniqueValueProperty.setPrimitiveValue(uniqueValue + "-" + propertyName);
+
+                    uniqueProperties.setProperty(propertyName, uniqueValueProperty);
+                }
+                else
+                {
+                    uniqueProperties.setProperty(propertyName, propertyValue);
+                }
+            }
+        }
+
+        return uniqueProperties;
+    }
+
+
+    /**
+     * Return the name of a string property set on all of the entities, or null if the entities have no
+     * string properties.
+     *
+     * @param entities entities to examine
+     * @return property name
+     */
+    protected String getStringPropertyName(List<EntityDetail> entities)
+    {
+        if ((entities == null) || (entities.isEmpty()) || (entities.get(0).getProperties() == null))
+        {
+            return null;
+        }
+
+        InstanceProperties properties    = entities.get(0).getProperties();
+        Iterator<String>   propertyNames = properties.getPropertyNames();
+        String             stringPropertyName = null;
+
+        while (propertyNames.hasNext())
+        {
+            String                propertyName  = propertyNames.next();
+            InstancePropertyValue propertyValue = properties.getPropertyValue(propertyName);
+
+            if ((propertyValue instanceof PrimitivePropertyValue) &&
+                (((PrimitivePropertyValue) propertyValue).getPrimitiveDefCategory() == PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING))
+            {
+                if ("qualifiedName".equals(propertyName))
+                {
+                    return propertyName;
+                }
+                else if (stringPropertyName == null)
+                {
+                    stringPropertyName = propertyName;
+                }
+            }
+        }
+
+        return stringPropertyName;
+    }
+
+
+    /**
+     * Return the latency at the requested percentile using the nearest rank method.
+     *
+     * @param sortedLatencies latencies in ascending order
+     * @param percentile percentile between 1 and 100
+     * @return latency in nanoseconds
+     */
+    static long percentile(long[] sortedLatencies, int percentile)
+    {
+        int rank = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length);
+
+        return sortedLatencies[Math.max(0, Math.min(sortedLatencies.length, rank) - 1)];
+    }
+
+
+    /**
+     * Convert nanoseconds to milliseconds with three decimal places.
+     *
+     * @param nanoseconds time in nanoseconds
+     * @return time in milliseconds
+     */
+    private static double toMillis(long nanoseconds)
+    {
+        return round(nanoseconds / 1000000.0);
+    }
+
+
+    /**
+     * Round a value to three decimal places.
+     *
+     * @param value value to round
+     * @return rounded value
+     */
+    private static double round(double value)
+    {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+}
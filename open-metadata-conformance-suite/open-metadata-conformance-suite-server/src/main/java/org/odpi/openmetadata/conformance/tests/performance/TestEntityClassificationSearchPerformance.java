@@ -0,0 +1,112 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.conformance.tests.performance;
+
+import org.odpi.openmetadata.conformance.workbenches.performance.PerformanceProfile;
+import org.odpi.openmetadata.conformance.workbenches.performance.PerformanceWorkPad;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.ClassificationDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.FunctionNotSupportedException;
+
+import java.util.List;
+
+
+/**
+ * Measure the time taken to find the entities created for a type by their classification.  The entities are
+ * classified before the timed searches start.  Each search returns the first page of classified entities.
+ */
+public class TestEntityClassificationSearchPerformance extends PerformanceTestCase
+{
+    private static final String testCaseId = "performance-entity-classification-search";
+    private static final String testCaseName = "Repository entity classification search performance test case";
+
+    private static final String assertion1     = testCaseId + "-01";
+    private static final String assertionMsg1  = " entities classified.";
+    private static final String assertion2     = testCaseId + "-02";
+    private static final String assertionMsg2  = " entities found by classification.";
+
+    private EntityDef          entityDef;
+    private ClassificationDef  classificationDef;
+    private String             testTypeName;
+    private List<EntityDetail> entities;
+
+
+    /**
+     * Typical constructor sets up superclass and discovered information needed for tests
+     *
+     * @param workPad place for parameters and results
+     * @param entityDef type of the entities
+     * @param classificationDef classification that is valid for the entity type
+     * @param entities entities created by the creation test
+     */
+    public TestEntityClassificationSearchPerformance(PerformanceWorkPad workPad,
+                                                     EntityDef          entityDef,
+                                                     ClassificationDef  classificationDef,
+                                                     List<EntityDetail> entities)
+    {
+        super(workPad, PerformanceProfile.ENTITY_CLASSIFICATION_SEARCH);
+
+        this.entityDef = entityDef;
+        this.classificationDef = classificationDef;
+        this.entities = entities;
+
+        this.testTypeName = this.updateTestIdByType(entityDef.getName(),
+                                                    testCaseId,
+                                                    testCaseName);
+    }
+
+
+    /**
+     * Method implemented by the actual test case.
+     *
+     * @throws Exception something went wrong with the test.
+     */
+    protected void run() throws Exception
+    {
+        final OMRSMetadataCollection metadataCollection = super.getMetadataCollection();
+        final String                 userId             = workPad.getLocalServerUserId();
+        final InstanceProperties     properties         = super.getAllPropertiesForInstance(userId, classificationDef);
+
+        for (EntityDetail entity : entities)
+        {
+            try
+            {
+                metadataCollection.classifyEntity(userId, entity.getGUID(), classificationDef.getName(), properties);
+            }
+            catch (FunctionNotSupportedException exception)
+            {
+                super.addNotSupportedAssertion(assertion1,
+                                               testTypeName + assertionMsg1,
+                                               profile.getProfileId(),
+                                               profile.getRequirementId());
+                return;
+            }
+        }
+
+        super.runOperations(entities.size(),
+                            (instanceIndex) ->
+                            {
+                                List<EntityDetail> results = metadataCollection.findEntitiesByClassification(userId,
+                                                                                                             entityDef.getGUID(),
+                                                                                                             classificationDef.getName(),
+                                                                                                             null,
+                                                                                                             null,
+                                                                                                             0,
+                                                                                                             null,
+                                                                                                             null,
+                                                                                                             null,
+                                                                                                             null,
+                                                                                                             workPad.getMaxPageSize());
+
+                                if ((results == null) || (results.isEmpty()))
+                                {
+                                    throw new IllegalStateException("No entities found with classification " + classificationDef.getName());
+                                }
+                            },
+                            assertion2,
+                            testTypeName + assertionMsg2);
+    }
+}
@@ -0,0 +1,95 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.conformance.tests.performance;
+
+import org.odpi.openmetadata.conformance.workbenches.performance.PerformanceProfile;
+import org.odpi.openmetadata.conformance.workbenches.performance.PerformanceWorkPad;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+
+/**
+ * Measure the time taken to create the configured number of entities of a type.  Each string property of each
+ * entity has a unique value so that the entities can be found by the later search test cases.
+ */
+public class TestEntityCreationPerformance extends PerformanceTestCase
+{
+    private static final String testCaseId = "performance-entity-creation";
+    private static final String testCaseName = "Repository entity creation performance test case";
+
+    private static final String assertion1     = testCaseId + "-01";
+    private static final String assertionMsg1  = " entities created.";
+
+    private EntityDef          entityDef;
+    private String             testTypeName;
+    private List<EntityDetail> createdEntities = new ArrayList<>();
+
+
+    /**
+     * Typical constructor sets up superclass and discovered information needed for tests
+     *
+     * @param workPad place for parameters and results
+     * @param entityDef type of entities to create
+     */
+    public TestEntityCreationPerformance(PerformanceWorkPad workPad,
+                                         EntityDef          entityDef)
+    {
+        super(workPad, PerformanceProfile.ENTITY_CREATION);
+
+        this.entityDef = entityDef;
+
+        this.testTypeName = this.updateTestIdByType(entityDef.getName(),
+                                                    testCaseId,
+                                                    testCaseName);
+    }
+
+
+    /**
+     * Method implemented by the actual test case.
+     *
+     * @throws Exception something went wrong with the test.
+     */
+    protected void run() throws Exception
+    {
+        final OMRSMetadataCollection metadataCollection = super.getMetadataCollection();
+        final String                 userId             = workPad.getLocalServerUserId();
+        final InstanceProperties     properties         = super.getAllPropertiesForInstance(userId, entityDef);
+        final String                 valuePrefix        = testTypeName + "-" + UUID.randomUUID().toString();
+        final int                    instanceCount      = performanceWorkPad.getInstancesPerType();
+        final EntityDetail[]         entities           = new EntityDetail[instanceCount];
+
+        super.runOperations(instanceCount,
+                            (instanceIndex) -> entities[instanceIndex] = metadataCollection.addEntity(userId,
+                                                                                                      entityDef.getGUID(),
+                                                                                                      getUniqueProperties(properties, valuePrefix + "-" + instanceIndex),
+                                                                                                      null,
+                                                                                                      null),
+                            assertion1,
+                            testTypeName + assertionMsg1);
+
+        for (EntityDetail entity : entities)
+        {
+            if (entity != null)
+            {
+                createdEntities.add(entity);
+            }
+        }
+    }
+
+
+    /**
+     * Return the entities that were created by this test.
+     *
+     * @return list of entities
+     */
+    public List<EntityDetail> getCreatedEntities()
+    {
+        return createdEntities;
+    }
+}
@@ -0,0 +1,138 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.conformance.tests.performance;
+
+import org.odpi.openmetadata.conformance.workbenches.performance.PerformanceProfile;
+import org.odpi.openmetadata.conformance.workbenches.performance.PerformanceWorkPad;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceGraph;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.RelationshipDef;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.FunctionNotSupportedException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Measure the time taken to retrieve the immediate neighborhood of each of the entities created for a type.
+ * If there is a relationship type that can connect two entities of the type, the entities are linked into a chain
+ * before the timed requests start so that each neighborhood contains relationships.
+ */
+public class TestEntityNeighborhoodPerformance extends PerformanceTestCase
+{
+    private static final String testCaseId = "performance-entity-neighborhood";
+    private static final String testCaseName = "Repository entity neighborhood performance test case";
+
+    private static final String assertion1     = testCaseId + "-01";
+    private static final String assertionMsg1  = " entity neighborhoods retrieved.";
+
+    private static final String discoveredProperty_relationshipType = "relationshipType";
+
+    private EntityDef          entityDef;
+    private RelationshipDef    relationshipDef;
+    private String             testTypeName;
+    private List<EntityDetail> entities;
+    private List<Relationship> createdRelationships = new ArrayList<>();
+
+
+    /**
+     * Typical constructor sets up superclass and discovered information needed for tests
+     *
+     * @param workPad place for parameters and results
+     * @param entityDef type of the entities
+     * @param relationshipDef relationship type that can link two entities of the type - or null if there is none
+     * @param entities entities created by the creation test
+     */
+    public TestEntityNeighborhoodPerformance(PerformanceWorkPad workPad,
+                                             EntityDef          entityDef,
+                                             RelationshipDef    relationshipDef,
+                                             List<EntityDetail> entities)
+    {
+        super(workPad, PerformanceProfile.ENTITY_NEIGHBORHOOD);
+
+        this.entityDef = entityDef;
+        this.relationshipDef = relationshipDef;
+        this.entities = entities;
+
+        this.testTypeName = this.updateTestIdByType(entityDef.getName(),
+                                                    testCaseId,
+                                                    testCaseName);
+    }
+
+
+    /**
+     * Method implemented by the actual test case.
+     *
+     * @throws Exception something went wrong with the test.
+     */
+    protected void run() throws Exception
+    {
+        final OMRSMetadataCollection metadataCollection = super.getMetadataCollection();
+        final String                 userId             = workPad.getLocalServerUserId();
+
+        if (relationshipDef != null)
+        {
+            InstanceProperties properties = super.getAllPropertiesForInstance(userId, relationshipDef);
+
+            try
+            {
+                for (int i = 1; i < entities.size(); i++)
+                {
+                    createdRelationships.add(metadataCollection.addRelationship(userId,
+                                                                                relationshipDef.getGUID(),
+                                                                                properties,
+                                                                                entities.get(i - 1).getGUID(),
+                                                                                entities.get(i).getGUID(),
+                                                                                null));
+                }
+
+                super.addDiscoveredProperty(discoveredProperty_relationshipType,
+                                            relationshipDef.getName(),
+                                            profile.getProfileId(),
+                                            profile.getRequirementId());
+            }
+            catch (FunctionNotSupportedException exception)
+            {
+                /*
+                 * The neighborhoods are retrieved without relationships.
+                 */
+            }
+        }
+
+        super.runOperations(entities.size(),
+                            (instanceIndex) ->
+                            {
+                                InstanceGraph graph = metadataCollection.getEntityNeighborhood(userId,
+                                                                                               entities.get(instanceIndex).getGUID(),
+                                                                                               null,
+                                                                                               null,
+                                                                                               null,
+                                                                                               null,
+                                                                                               null,
+                                                                                               1);
+
+                                if (graph == null)
+                                {
+                                    throw new IllegalStateException("No neighborhood returned for entity " + entities.get(instanceIndex).getGUID());
+                                }
+                            },
+                            assertion1,
+                            testTypeName + assertionMsg1);
+    }
+
+
+    /**
+     * Return the relationships that were created by this test.  They need to be removed before the entities
+     * are purged.
+     *
+     * @return list of relationships
+     */
+    public List<Relationship> getCreatedRelationships()
+    {
+        return createdRelationships;
+    }
+}
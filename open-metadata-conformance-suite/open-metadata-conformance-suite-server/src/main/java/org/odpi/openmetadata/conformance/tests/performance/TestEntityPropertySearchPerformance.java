@@ -0,0 +1,98 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.conformance.tests.performance;
+
+import org.odpi.openmetadata.conformance.workbenches.performance.PerformanceProfile;
+import org.odpi.openmetadata.conformance.workbenches.performance.PerformanceWorkPad;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+
+import java.util.List;
+
+
+/**
+ * Measure the time taken to find each of the entities created for a type by the unique value of one of its
+ * string properties.
+ */
+public class TestEntityPropertySearchPerformance extends PerformanceTestCase
+{
+    private static final String testCaseId = "performance-entity-property-search";
+    private static final String testCaseName = "Repository entity property search performance test case";
+
+    private static final String assertion1     = testCaseId + "-01";
+    private static final String assertionMsg1  = " entities found by property value.";
+
+    private EntityDef          entityDef;
+    private String             testTypeName;
+    private List<EntityDetail> entities;
+
+
+    /**
+     * Typical constructor sets up superclass and discovered information needed for tests
+     *
+     * @param workPad place for parameters and results
+     * @param entityDef type of the entities
+     * @param entities entities created by the creation test
+     */
+    public TestEntityPropertySearchPerformance(PerformanceWorkPad workPad,
+                                               EntityDef          entityDef,
+                                               List<EntityDetail> entities)
+    {
+        super(workPad, PerformanceProfile.ENTITY_PROPERTY_SEARCH);
+
+        this.entityDef = entityDef;
+        this.entities = entities;
+
+        this.testTypeName = this.updateTestIdByType(entityDef.getName(),
+                                                    testCaseId,
+                                                    testCaseName);
+    }
+
+
+    /**
+     * Method implemented by the actual test case.  If the type has no string properties, the test is skipped.
+     *
+     * @throws Exception something went wrong with the test.
+     */
+    protected void run() throws Exception
+    {
+        final OMRSMetadataCollection metadataCollection = super.getMetadataCollection();
+        final OMRSRepositoryHelper   repositoryHelper   = cohortRepositoryConnector.getRepositoryHelper();
+        final String                 userId             = workPad.getLocalServerUserId();
+        final String                 propertyName       = super.getStringPropertyName(entities);
+
+        if (propertyName == null)
+        {
+            return;
+        }
+
+        super.runOperations(entities.size(),
+                            (instanceIndex) ->
+                            {
+                                EntityDetail entity = entities.get(instanceIndex);
+                                PrimitivePropertyValue propertyValue = (PrimitivePropertyValue) entity.getProperties().getPropertyValue(propertyName);
+                                String value = propertyValue.getPrimitiveValue().toString();
+
+                                List<EntityDetail> results = metadataCollection.findEntitiesByPropertyValue(userId,
+                                                                                                            entityDef.getGUID(),
+                                                                                                            repositoryHelper.getExactMatchRegex(value),
+                                                                                                            0,
+                                                                                                            null,
+                                                                                                            null,
+                                                                                                            null,
+                                                                                                            null,
+                                                                                                            null,
+                                                                                                            workPad.getMaxPageSize());
+
+                                if ((results == null) || (results.isEmpty()))
+                                {
+                                    throw new IllegalStateException("Entity " + entity.getGUID() + " not found by " + propertyName + " value " + value);
+                                }
+                            },
+                            assertion1,
+                            testTypeName + assertionMsg1);
+    }
+}
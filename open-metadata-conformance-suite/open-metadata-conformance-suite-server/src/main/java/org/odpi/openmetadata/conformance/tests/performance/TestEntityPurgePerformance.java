@@ -0,0 +1,123 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.conformance.tests.performance;
+
+import org.odpi.openmetadata.conformance.workbenches.performance.PerformanceProfile;
+import org.odpi.openmetadata.conformance.workbenches.performance.PerformanceWorkPad;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.FunctionNotSupportedException;
+
+import java.util.List;
+
+
+/**
+ * Measure the time taken to remove each of the entities created for a type.  Each entity is deleted and then purged.
+ * If the technology under test does not support soft delete, the entity is purged directly.  Any relationships
+ * created by the neighborhood test are removed before the timed requests start.
+ */
+public class TestEntityPurgePerformance extends PerformanceTestCase
+{
+    private static final String testCaseId = "performance-entity-purge";
+    private static final String testCaseName = "Repository entity purge performance test case";
+
+    private static final String assertion1     = testCaseId + "-01";
+    private static final String assertionMsg1  = " entities deleted and purged.";
+
+    private static final String discoveredProperty_softDeleteSupport = "softDeleteSupport";
+
+    private EntityDef          entityDef;
+    private String             testTypeName;
+    private List<EntityDetail> entities;
+    private List<Relationship> relationships;
+
+    private volatile boolean   softDeleteSupported = true;
+
+
+    /**
+     * Typical constructor sets up superclass and discovered information needed for tests
+     *
+     * @param workPad place for parameters and results
+     * @param entityDef type of the entities
+     * @param entities entities created by the creation test
+     * @param relationships relationships created by the neighborhood test
+     */
+    public TestEntityPurgePerformance(PerformanceWorkPad workPad,
+                                      EntityDef          entityDef,
+                                      List<EntityDetail> entities,
+                                      List<Relationship> relationships)
+    {
+        super(workPad, PerformanceProfile.ENTITY_PURGE);
+
+        this.entityDef = entityDef;
+        this.entities = entities;
+        this.relationships = relationships;
+
+        this.testTypeName = this.updateTestIdByType(entityDef.getName(),
+                                                    testCaseId,
+                                                    testCaseName);
+    }
+
+
+    /**
+     * Method implemented by the actual test case.
+     *
+     * @throws Exception something went wrong with the test.
+     */
+    protected void run() throws Exception
+    {
+        final OMRSMetadataCollection metadataCollection = super.getMetadataCollection();
+        final String                 userId             = workPad.getLocalServerUserId();
+
+        if (relationships != null)
+        {
+            for (Relationship relationship : relationships)
+            {
+                InstanceType type = relationship.getType();
+
+                try
+                {
+                    metadataCollection.deleteRelationship(userId, type.getTypeDefGUID(), type.getTypeDefName(), relationship.getGUID());
+                }
+                catch (FunctionNotSupportedException exception)
+                {
+                    /*
+                     * No soft delete - purge directly.
+                     */
+                }
+
+                metadataCollection.purgeRelationship(userId, type.getTypeDefGUID(), type.getTypeDefName(), relationship.getGUID());
+            }
+        }
+
+        super.runOperations(entities.size(),
+                            (instanceIndex) ->
+                            {
+                                String entityGUID = entities.get(instanceIndex).getGUID();
+
+                                if (softDeleteSupported)
+                                {
+                                    try
+                                    {
+                                        metadataCollection.deleteEntity(userId, entityDef.getGUID(), entityDef.getName(), entityGUID);
+                                    }
+                                    catch (FunctionNotSupportedException exception)
+                                    {
+                                        softDeleteSupported = false;
+                                    }
+                                }
+
+                                metadataCollection.purgeEntity(userId, entityDef.getGUID(), entityDef.getName(), entityGUID);
+                            },
+                            assertion1,
+                            testTypeName + assertionMsg1);
+
+        super.addDiscoveredProperty(discoveredProperty_softDeleteSupport,
+                                    softDeleteSupported ? "Enabled" : "Disabled",
+                                    profile.getProfileId(),
+                                    profile.getRequirementId());
+    }
+}
@@ -0,0 +1,100 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.conformance.tests.performance;
+
+import org.odpi.openmetadata.conformance.workbenches.performance.PerformanceProfile;
+import org.odpi.openmetadata.conformance.workbenches.performance.PerformanceWorkPad;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProvenanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+
+import java.util.UUID;
+
+
+/**
+ * Measure the time taken to save reference copies of the configured number of entities of a type, as happens
+ * when the technology under test receives the instances of another member of the cohort.  The reference copies
+ * are built before the timed requests start and have a home metadata collection that is unique to this test.
+ * They are purged once the requests are complete.
+ */
+public class TestEntityReferenceCopyPerformance extends PerformanceTestCase
+{
+    private static final String testCaseId = "performance-entity-reference-copy";
+    private static final String testCaseName = "Repository entity reference copy performance test case";
+
+    private static final String assertion1     = testCaseId + "-01";
+    private static final String assertionMsg1  = " entity reference copies saved.";
+
+    private EntityDef          entityDef;
+    private String             testTypeName;
+
+
+    /**
+     * Typical constructor sets up superclass and discovered information needed for tests
+     *
+     * @param workPad place for parameters and results
+     * @param entityDef type of entities to save reference copies of
+     */
+    public TestEntityReferenceCopyPerformance(PerformanceWorkPad workPad,
+                                              EntityDef          entityDef)
+    {
+        super(workPad, PerformanceProfile.ENTITY_REFERENCE_COPY);
+
+        this.entityDef = entityDef;
+
+        this.testTypeName = this.updateTestIdByType(entityDef.getName(),
+                                                    testCaseId,
+                                                    testCaseName);
+    }
+
+
+    /**
+     * Method implemented by the actual test case.
+     *
+     * @throws Exception something went wrong with the test.
+     */
+    protected void run() throws Exception
+    {
+        final OMRSMetadataCollection metadataCollection = super.getMetadataCollection();
+        final OMRSRepositoryHelper   repositoryHelper   = super.getRepositoryConnector().getRepositoryHelper();
+        final String                 userId             = workPad.getLocalServerUserId();
+        final InstanceProperties     properties         = super.getAllPropertiesForInstance(userId, entityDef);
+        final String                 homeCollectionId   = UUID.randomUUID().toString();
+        final String                 valuePrefix        = testTypeName + "-" + homeCollectionId;
+        final int                    instanceCount      = performanceWorkPad.getInstancesPerType();
+        final EntityDetail[]         referenceCopies    = new EntityDetail[instanceCount];
+        final boolean[]              saved              = new boolean[instanceCount];
+
+        for (int instanceIndex = 0; instanceIndex < instanceCount; instanceIndex++)
+        {
+            EntityDetail referenceCopy = repositoryHelper.getSkeletonEntity(testCaseId,
+                                                                            homeCollectionId,
+                                                                            InstanceProvenanceType.LOCAL_COHORT,
+                                                                            userId,
+                                                                            entityDef.getName());
+
+            referenceCopy.setProperties(getUniqueProperties(properties, valuePrefix + "-" + instanceIndex));
+            referenceCopies[instanceIndex] = referenceCopy;
+        }
+
+        super.runOperations(instanceCount,
+                            (instanceIndex) ->
+                            {
+                                metadataCollection.saveEntityReferenceCopy(userId, referenceCopies[instanceIndex]);
+                                saved[instanceIndex] = true;
+                            },
+                            assertion1,
+                            testTypeName + assertionMsg1);
+
+        for (int instanceIndex = 0; instanceIndex < instanceCount; instanceIndex++)
+        {
+            if (saved[instanceIndex])
+            {
+                metadataCollection.purgeEntityReferenceCopy(userId, referenceCopies[instanceIndex]);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.conformance.tests.performance;
+
+import org.odpi.openmetadata.conformance.workbenches.performance.PerformanceProfile;
+import org.odpi.openmetadata.conformance.workbenches.performance.PerformanceWorkPad;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+
+import java.util.List;
+import java.util.UUID;
+
+
+/**
+ * Measure the time taken to update the properties of each of the entities created for a type.  Each update
+ * gives the string properties new unique values.
+ */
+public class TestEntityUpdatePerformance extends PerformanceTestCase
+{
+    private static final String testCaseId = "performance-entity-update";
+    private static final String testCaseName = "Repository entity update performance test case";
+
+    private static final String assertion1     = testCaseId + "-01";
+    private static final String assertionMsg1  = " entity properties updated.";
+
+    private String             testTypeName;
+    private List<EntityDetail> entities;
+
+
+    /**
+     * Typical constructor sets up superclass and discovered information needed for tests
+     *
+     * @param workPad place for parameters and results
+     * @param entityDef type of the entities
+     * @param entities entities created by the creation test
+     */
+    public TestEntityUpdatePerformance(PerformanceWorkPad workPad,
+                                       EntityDef          entityDef,
+                                       List<EntityDetail> entities)
+    {
+        super(workPad, PerformanceProfile.ENTITY_UPDATE);
+
+        this.entities = entities;
+
+        this.testTypeName = this.updateTestIdByType(entityDef.getName(),
+                                                    testCaseId,
+                                                    testCaseName);
+    }
+
+
+    /**
+     * Method implemented by the actual test case.
+     *
+     * @throws Exception something went wrong with the test.
+     */
+    protected void run() throws Exception
+    {
+        final OMRSMetadataCollection metadataCollection = super.getMetadataCollection();
+        final String                 userId             = workPad.getLocalServerUserId();
+        final String                 valuePrefix        = testTypeName + "-" + UUID.randomUUID().toString();
+
+        super.runOperations(entities.size(),
+                            (instanceIndex) ->
+                            {
+                                EntityDetail entity = entities.get(instanceIndex);
+
+                                EntityDetail updatedEntity = metadataCollection.updateEntityProperties(userId,
+                                                                                                       entity.getGUID(),
+                                                                                                       getUniqueProperties(entity.getProperties(),
+                                                                                                                           valuePrefix + "-" + instanceIndex));
+
+                                if (updatedEntity == null)
+                                {
+                                    throw new IllegalStateException("No entity returned from update of entity " + entity.getGUID());
+                                }
+                            },
+                            assertion1,
+                            testTypeName + assertionMsg1);
+    }
+}
@@ -13,6 +13,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstancePropertyValue;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProvenanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.*;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
@@ -187,6 +188,28 @@ public abstract class RepositoryConformanceTestCase extends OpenMetadataTestCase
     }
 
 
+    /**
+     * Determine whether an instance found by the cleanup of a test case should be removed.  When the test cases
+     * run one after another, the cleanup removes all instances of the test case's type, including the instances
+     * of its subtypes.  When the test cases run concurrently, the test cases for the subtypes may still be using
+     * their instances, so only the instances of exactly the test case's type are removed.
+     *
+     * @param instanceType type of the instance found by the cleanup
+     * @param typeDefName name of the type that the test case is testing
+     * @return boolean flag
+     */
+    protected boolean isRemovedByCleanup(InstanceType instanceType,
+                                         String       typeDefName)
+    {
+        if (repositoryConformanceWorkPad.getMaxConcurrentTestCases() <= 1)
+        {
+            return true;
+        }
+
+        return (instanceType != null) && (typeDefName != null) && (typeDefName.equals(instanceType.getTypeDefName()));
+    }
+
+
     /**
      * Verify that the name of the type (which forms part of the test id) is not null.
      *
@@ -691,6 +691,13 @@ public class TestSupportedEntityReferenceCopyLifecycle extends RepositoryConform
 
             for (EntityDetail entity : entities) {
 
+                /*
+                 * Leave the instances that belong to other test cases - the next page starts after them.
+                 */
+                if (! super.isRemovedByCleanup(entity.getType(), entityDef.getName())) {
+                    fromElement++;
+                    continue;
+                }
                 /*
                  * Try soft delete (ok if it fails) and purge.
                  */
@@ -468,6 +468,13 @@ public class TestSupportedEntityRetype extends RepositoryConformanceTestCase
 
             for (EntityDetail entity : entities) {
 
+                /*
+                 * Leave the instances that belong to other test cases - the next page starts after them.
+                 */
+                if (! super.isRemovedByCleanup(entity.getType(), entityDef.getName())) {
+                    fromElement++;
+                    continue;
+                }
                 /*
                  * Try soft delete (ok if it fails) and purge.
                  */
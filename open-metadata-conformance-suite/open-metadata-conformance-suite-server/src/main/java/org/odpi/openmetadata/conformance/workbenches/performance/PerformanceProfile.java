@@ -0,0 +1,171 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.conformance.workbenches.performance;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.odpi.openmetadata.conformance.beans.OpenMetadataConformanceProfilePriority;
+
+import java.io.Serializable;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
+
+/**
+ * PerformanceProfile defines the list of operations that the performance workbench measures.  Each profile
+ * has a single requirement with the same identifier.  The results of each profile are the throughput and latency
+ * of the operation for each entity type, which are reported as discovered properties.  None of the profiles
+ * are mandatory.
+ */
+@JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown=true)
+public enum PerformanceProfile implements Serializable
+{
+    ENTITY_CREATION               (0, "Entity creation",
+                                   "The time taken by the technology under test to create new entities.",
+                                   "https://egeria.odpi.org/open-metadata-conformance-suite/docs/performance-workbench/profiles/entity-creation",
+                                   OpenMetadataConformanceProfilePriority.OPTIONAL_PROFILE),
+    ENTITY_PROPERTY_SEARCH        (1, "Entity property search",
+                                   "The time taken by the technology under test to find entities by the value of a string property.",
+                                   "https://egeria.odpi.org/open-metadata-conformance-suite/docs/performance-workbench/profiles/entity-property-search",
+                                   OpenMetadataConformanceProfilePriority.OPTIONAL_PROFILE),
+    ENTITY_CLASSIFICATION_SEARCH  (2, "Entity classification search",
+                                   "The time taken by the technology under test to find entities by their classification.",
+                                   "https://egeria.odpi.org/open-metadata-conformance-suite/docs/performance-workbench/profiles/entity-classification-search",
+                                   OpenMetadataConformanceProfilePriority.OPTIONAL_PROFILE),
+    ENTITY_NEIGHBORHOOD           (3, "Entity neighborhood",
+                                   "The time taken by the technology under test to return the entities and relationships around an entity.",
+                                   "https://egeria.odpi.org/open-metadata-conformance-suite/docs/performance-workbench/profiles/entity-neighborhood",
+                                   OpenMetadataConformanceProfilePriority.OPTIONAL_PROFILE),
+    ENTITY_UPDATE                 (4, "Entity update",
+                                   "The time taken by the technology under test to update the properties of an entity.",
+                                   "https://egeria.odpi.org/open-metadata-conformance-suite/docs/performance-workbench/profiles/entity-update",
+                                   OpenMetadataConformanceProfilePriority.OPTIONAL_PROFILE),
+    ENTITY_PURGE                  (5, "Entity purge",
+                                   "The time taken by the technology under test to delete and purge an entity.",
+                                   "https://egeria.odpi.org/open-metadata-conformance-suite/docs/performance-workbench/profiles/entity-purge",
+                                   OpenMetadataConformanceProfilePriority.OPTIONAL_PROFILE),
+    ENTITY_REFERENCE_COPY         (6, "Entity reference copy",
+                                   "The time taken by the technology under test to save reference copies of entities from another member of the cohort.",
+                                   "https://egeria.odpi.org/open-metadata-conformance-suite/docs/performance-workbench/profiles/entity-reference-copy",
+                                   OpenMetadataConformanceProfilePriority.OPTIONAL_PROFILE);
+
+    private static final long serialVersionUID = 1L;
+
+    private int                                    profileId;
+    private String                                 profileName;
+    private String                                 profileDescription;
+    private String                                 profileDocumentationURL;
+    private OpenMetadataConformanceProfilePriority profilePriority;
+
+
+    /**
+     * Default constructor sets up the values for this enum instance.
+     *
+     * @param profileId int identifier for the enum, used for indexing arrays etc with the enum.
+     * @param profileName String name for the enum, used for message content.
+     * @param profileDescription String default description for the enum, used when there is not natural
+     *                             language resource bundle available.
+     * @param profileDocumentationURL link to more documentation
+     * @param profilePriority is the profile mandatory or not?
+     */
+    PerformanceProfile(int                                    profileId,
+                       String                                 profileName,
+                       String                                 profileDescription,
+                       String                                 profileDocumentationURL,
+                       OpenMetadataConformanceProfilePriority profilePriority)
+    {
+        this.profileId = profileId;
+        this.profileName = profileName;
+        this.profileDescription = profileDescription;
+        this.profileDocumentationURL = profileDocumentationURL;
+        this.profilePriority = profilePriority;
+    }
+
+
+    /**
+     * Return the identifier for the enum, used for indexing arrays etc with the enum.
+     *
+     * @return int identifier
+     */
+    public Integer getProfileId()
+    {
+        return profileId;
+    }
+
+
+    /**
+     * Return the identifier of the single requirement of this profile.  It is the same as the profile identifier.
+     *
+     * @return int identifier
+     */
+    public Integer getRequirementId()
+    {
+        return profileId;
+    }
+
+
+    /**
+     * Return the name for the enum, used for message content.
+     *
+     * @return String name
+     */
+    public String getProfileName()
+    {
+        return profileName;
+    }
+
+
+    /**
+     * Return the default description for the enum, used when there is not natural
+     * language resource bundle available.
+     *
+     * @return String default description
+     */
+    public String getProfileDescription()
+    {
+        return profileDescription;
+    }
+
+
+    /**
+     * Return the URL to link to more documentation about this profile.
+     *
+     * @return url
+     */
+    public String getProfileDocumentationURL()
+    {
+        return profileDocumentationURL;
+    }
+
+
+    /**
+     * Return whether this profile is mandatory or optional.
+     *
+     * @return OpenMetadataConformanceProfilePriority enum
+     */
+    public OpenMetadataConformanceProfilePriority getProfilePriority()
+    {
+        return profilePriority;
+    }
+
+
+    /**
+     * toString() JSON-style
+     *
+     * @return string description
+     */
+    @Override
+    public String toString()
+    {
+        return "PerformanceProfile{" +
+                "profileId=" + profileId +
+                ", profileName='" + profileName + '\'' +
+                ", profileDescription='" + profileDescription + '\'' +
+                ", profileDocumentationURL='" + profileDocumentationURL + '\'' +
+                ", profilePriority=" + profilePriority +
+                '}';
+    }
+}
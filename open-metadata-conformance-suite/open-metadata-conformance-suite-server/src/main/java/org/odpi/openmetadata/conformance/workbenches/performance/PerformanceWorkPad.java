@@ -0,0 +1,169 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.conformance.workbenches.performance;
+
+import org.odpi.openmetadata.adminservices.configuration.properties.PerformanceWorkbenchConfig;
+import org.odpi.openmetadata.conformance.beans.*;
+import org.odpi.openmetadata.conformance.workbenches.repository.RepositoryConformanceWorkPad;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * PerformanceWorkPad provides the thread safe place to assemble results from the performance workbench.
+ * It extends the repository workbench's work pad so that it picks up the connector to the technology under test
+ * in the same way.  The results are organized by the operations listed in PerformanceProfile.
+ */
+public class PerformanceWorkPad extends RepositoryConformanceWorkPad
+{
+    private static final String workbenchId            = "performance-workbench";
+    private static final String workbenchName          = "Open Metadata Repository Performance Workbench";
+    private static final String workbenchVersionNumber = "V1.0 SNAPSHOT";
+    private static final String workbenchDocURL        = "https://odpi.github.io/egeria/open-metadata-conformance-suite/docs/" + workbenchId;
+    private static final String tutType                = "Open Metadata Repository";
+
+    private int    instancesPerType = PerformanceWorkbenchConfig.DEFAULT_INSTANCES_PER_TYPE;
+    private int    concurrency      = PerformanceWorkbenchConfig.DEFAULT_CONCURRENCY;
+
+
+    /**
+     * Constructor receives key information from the configuration services.
+     *
+     * @param localServerUserId userId that this server should use on requests
+     * @param localServerPassword password that this server should use on requests
+     * @param maxPageSize maximum number of elements that can be returned on a single call
+     * @param auditLog audit log for administrator messages
+     * @param configuration configuration for this work pad/workbench
+     */
+    public PerformanceWorkPad(String                     localServerUserId,
+                              String                     localServerPassword,
+                              int                        maxPageSize,
+                              OMRSAuditLog               auditLog,
+                              PerformanceWorkbenchConfig configuration)
+    {
+        super(workbenchId,
+              workbenchName,
+              workbenchVersionNumber,
+              workbenchDocURL,
+              tutType,
+              localServerUserId,
+              localServerPassword,
+              maxPageSize,
+              auditLog,
+              configuration == null ? null : configuration.getTutRepositoryServerName());
+
+        if (configuration != null)
+        {
+            if (configuration.getInstancesPerType() > 0)
+            {
+                this.instancesPerType = configuration.getInstancesPerType();
+            }
+
+            if (configuration.getConcurrency() > 0)
+            {
+                this.concurrency = configuration.getConcurrency();
+            }
+        }
+    }
+
+
+    /**
+     * Return the number of instances of each entity type that the workbench works with.
+     *
+     * @return instance count
+     */
+    public int getInstancesPerType()
+    {
+        return instancesPerType;
+    }
+
+
+    /**
+     * Return the number of threads that issue requests to the technology under test at the same time.
+     *
+     * @return thread count
+     */
+    public int getConcurrency()
+    {
+        return concurrency;
+    }
+
+
+    /**
+     * Return the results for each of the performance profiles.  Each profile has a single requirement.
+     *
+     * @return list of profile results
+     */
+    @Override
+    public synchronized List<OpenMetadataConformanceProfileResults> getProfileResults()
+    {
+        List<OpenMetadataConformanceProfileResults>  resultsList = new ArrayList<>();
+
+        for (PerformanceProfile profile : PerformanceProfile.values())
+        {
+            OpenMetadataConformanceProfileResults  profileResults = new OpenMetadataConformanceProfileResults();
+
+            profileResults.setId(profile.getProfileId());
+            profileResults.setName(profile.getProfileName());
+            profileResults.setDocumentationURL(profile.getProfileDocumentationURL());
+            profileResults.setDescription(profile.getProfileDescription());
+            profileResults.setProfilePriority(profile.getProfilePriority());
+
+            List<OpenMetadataConformanceTestEvidence> profileTestEvidence = new ArrayList<>();
+
+            if (testEvidenceList != null)
+            {
+                for (OpenMetadataConformanceTestEvidence testEvidenceItem : testEvidenceList)
+                {
+                    if ((testEvidenceItem != null) && (testEvidenceItem.getProfileId().intValue() == profileResults.getId().intValue()))
+                    {
+                        profileTestEvidence.add(testEvidenceItem);
+                    }
+                }
+            }
+
+            if (profileTestEvidence.isEmpty())
+            {
+                profileResults.setConformanceStatus(OpenMetadataConformanceStatus.UNKNOWN_STATUS);
+            }
+            else
+            {
+                List<OpenMetadataConformanceTestEvidence>       positiveTestEvidence = new ArrayList<>();
+                List<OpenMetadataConformanceTestEvidence>       negativeTestEvidence = new ArrayList<>();
+
+                profileResults.setConformanceStatus(super.processEvidence(profileTestEvidence,
+                                                                          positiveTestEvidence,
+                                                                          negativeTestEvidence));
+
+                OpenMetadataConformanceRequirementResults requirementResults = new OpenMetadataConformanceRequirementResults();
+
+                requirementResults.setId(profile.getRequirementId());
+                requirementResults.setName(profile.getProfileName());
+                requirementResults.setDescription(profile.getProfileDescription());
+                requirementResults.setDocumentationURL(profile.getProfileDocumentationURL());
+                requirementResults.setConformanceStatus(profileResults.getConformanceStatus());
+
+                if (! positiveTestEvidence.isEmpty())
+                {
+                    requirementResults.setPositiveTestEvidence(positiveTestEvidence);
+                }
+
+                if (! negativeTestEvidence.isEmpty())
+                {
+                    requirementResults.setNegativeTestEvidence(negativeTestEvidence);
+                }
+
+                List<OpenMetadataConformanceRequirementResults> requirementResultsList = new ArrayList<>();
+
+                requirementResultsList.add(requirementResults);
+                profileResults.setRequirementResults(requirementResultsList);
+            }
+
+            resultsList.add(profileResults);
+        }
+
+        return resultsList;
+    }
+}
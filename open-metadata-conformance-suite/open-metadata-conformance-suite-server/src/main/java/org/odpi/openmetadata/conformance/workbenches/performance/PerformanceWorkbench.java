@@ -0,0 +1,333 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.conformance.workbenches.performance;
+
+import org.odpi.openmetadata.conformance.auditlog.ConformanceSuiteAuditCode;
+import org.odpi.openmetadata.conformance.tests.performance.*;
+import org.odpi.openmetadata.conformance.workbenches.OpenMetadataConformanceWorkbench;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.*;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * PerformanceWorkbench provides the thread that drives the performance workbench from the Open Metadata
+ * Conformance Suite.  It measures the throughput and latency of the technology under test when it is driven through
+ * its metadata collection.  For each entity type that the technology under test supports, it creates the configured
+ * number of entities and then times property searches, classification searches, neighborhood queries, updates and
+ * purges of these entities, followed by saves of the same number of reference copies.  The requests are issued
+ * from a pool of threads of the configured size.
+ */
+public class PerformanceWorkbench extends OpenMetadataConformanceWorkbench
+{
+    private static final Logger     log         = LoggerFactory.getLogger(PerformanceWorkbench.class);
+
+    private PerformanceWorkPad   workPad;
+
+
+    /**
+     * Constructor receives the work pad with the configuration that provides the location to record the results.
+     *
+     * @param workPad performance workbench's work pad
+     */
+    public PerformanceWorkbench(PerformanceWorkPad workPad)
+    {
+        super(workPad.getWorkbenchId(),
+              workPad.getWorkbenchName(),
+              workPad.getWorkbenchVersionNumber(),
+              workPad.getWorkbenchDocURL());
+
+        final String              methodName = "performanceWorkbenchThread.constructor";
+
+        this.workPad = workPad;
+
+        OMRSAuditLog              auditLog   = workPad.getAuditLog();
+
+        ConformanceSuiteAuditCode auditCode = ConformanceSuiteAuditCode.WORKBENCH_INITIALIZING;
+        auditLog.logRecord(methodName,
+                           auditCode.getLogMessageId(),
+                           auditCode.getSeverity(),
+                           auditCode.getFormattedLogMessage(workbenchId, workbenchDocumentationURL),
+                           null,
+                           auditCode.getSystemAction(),
+                           auditCode.getUserAction());
+    }
+
+
+    /**
+     * Run the test cases for each entity type in turn.  The entities created for a type are removed by the
+     * purge test case before the next type is tested.
+     *
+     * @throws Exception unable to retrieve the types from the technology under test
+     */
+    private void runTests() throws Exception
+    {
+        OMRSRepositoryConnector repositoryConnector = workPad.getTutRepositoryConnector();
+
+        if (repositoryConnector == null)
+        {
+            return;
+        }
+
+        TypeDefGallery typeDefGallery = repositoryConnector.getMetadataCollection().getAllTypes(workPad.getLocalServerUserId());
+
+        if ((typeDefGallery == null) || (typeDefGallery.getTypeDefs() == null))
+        {
+            return;
+        }
+
+        Map<String, TypeDef>    typeDefsByName     = new HashMap<>();
+        List<EntityDef>         entityDefs         = new ArrayList<>();
+        List<ClassificationDef> classificationDefs = new ArrayList<>();
+        List<RelationshipDef>   relationshipDefs   = new ArrayList<>();
+
+        for (TypeDef typeDef : typeDefGallery.getTypeDefs())
+        {
+            typeDefsByName.put(typeDef.getName(), typeDef);
+
+            if (typeDef instanceof EntityDef)
+            {
+                entityDefs.add((EntityDef) typeDef);
+            }
+            else if (typeDef instanceof ClassificationDef)
+            {
+                classificationDefs.add((ClassificationDef) typeDef);
+            }
+            else if (typeDef instanceof RelationshipDef)
+            {
+                relationshipDefs.add((RelationshipDef) typeDef);
+            }
+        }
+
+        entityDefs.sort(Comparator.comparing(TypeDef::getName));
+        classificationDefs.sort(Comparator.comparing(TypeDef::getName));
+        relationshipDefs.sort(Comparator.comparing(TypeDef::getName));
+
+        for (EntityDef entityDef : entityDefs)
+        {
+            if (! super.isRunning())
+            {
+                return;
+            }
+
+            Set<String> typeNames = this.getTypeNames(entityDef, typeDefsByName);
+
+            TestEntityCreationPerformance creationTestCase = new TestEntityCreationPerformance(workPad, entityDef);
+            creationTestCase.executeTest();
+
+            List<EntityDetail> entities = creationTestCase.getCreatedEntities();
+
+            if (entities.isEmpty())
+            {
+                continue;
+            }
+
+            new TestEntityPropertySearchPerformance(workPad, entityDef, entities).executeTest();
+
+            ClassificationDef classificationDef = this.getClassificationDef(typeNames, classificationDefs);
+
+            if (classificationDef != null)
+            {
+                new TestEntityClassificationSearchPerformance(workPad, entityDef, classificationDef, entities).executeTest();
+            }
+
+            TestEntityNeighborhoodPerformance neighborhoodTestCase = new TestEntityNeighborhoodPerformance(workPad,
+                                                                                                           entityDef,
+                                                                                                           this.getRelationshipDef(typeNames, relationshipDefs),
+                                                                                                           entities);
+            neighborhoodTestCase.executeTest();
+
+            new TestEntityUpdatePerformance(workPad, entityDef, entities).executeTest();
+
+            new TestEntityPurgePerformance(workPad, entityDef, entities, neighborhoodTestCase.getCreatedRelationships()).executeTest();
+
+            new TestEntityReferenceCopyPerformance(workPad, entityDef).executeTest();
+        }
+    }
+
+
+    /**
+     * Return the name of the entity type and the names of all of its super types.
+     *
+     * @param entityDef entity type
+     * @param typeDefsByName all types supported by the technology under test
+     * @return set of type names
+     */
+    private Set<String> getTypeNames(EntityDef            entityDef,
+                                     Map<String, TypeDef> typeDefsByName)
+    {
+        Set<String> typeNames = new HashSet<>();
+        TypeDef     typeDef   = entityDef;
+
+        while ((typeDef != null) && (typeNames.add(typeDef.getName())))
+        {
+            TypeDefLink superType = typeDef.getSuperType();
+
+            typeDef = (superType == null) ? null : typeDefsByName.get(superType.getName());
+        }
+
+        return typeNames;
+    }
+
+
+    /**
+     * Return the first classification type that can be attached to entities of the type.
+     *
+     * @param typeNames names of the entity type and its super types
+     * @param classificationDefs all classification types supported by the technology under test
+     * @return classification type or null if there is none
+     */
+    private ClassificationDef getClassificationDef(Set<String>             typeNames,
+                                                   List<ClassificationDef> classificationDefs)
+    {
+        for (ClassificationDef classificationDef : classificationDefs)
+        {
+            List<TypeDefLink> validEntityDefs = classificationDef.getValidEntityDefs();
+
+            if ((validEntityDefs == null) || (validEntityDefs.isEmpty()))
+            {
+                return classificationDef;
+            }
+
+            for (TypeDefLink validEntityDef : validEntityDefs)
+            {
+                if ((validEntityDef != null) && (typeNames.contains(validEntityDef.getName())))
+                {
+                    return classificationDef;
+                }
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the first relationship type that can link two entities of the type.
+     *
+     * @param typeNames names of the entity type and its super types
+     * @param relationshipDefs all relationship types supported by the technology under test
+     * @return relationship type or null if there is none
+     */
+    private RelationshipDef getRelationshipDef(Set<String>           typeNames,
+                                               List<RelationshipDef> relationshipDefs)
+    {
+        for (RelationshipDef relationshipDef : relationshipDefs)
+        {
+            RelationshipEndDef endDef1 = relationshipDef.getEndDef1();
+            RelationshipEndDef endDef2 = relationshipDef.getEndDef2();
+
+            if ((endDef1 != null) && (endDef1.getEntityType() != null) &&
+                (endDef2 != null) && (endDef2.getEntityType() != null) &&
+                (typeNames.contains(endDef1.getEntityType().getName())) &&
+                (typeNames.contains(endDef2.getEntityType().getName())))
+            {
+                return relationshipDef;
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Wait for the technology under test to join the cohort and then run the tests.
+     */
+    @Override
+    public void run()
+    {
+        final String              methodName = "performanceWorkbenchThread.run";
+
+        if (workPad !=  null)
+        {
+            long                      retryCount = 0;
+            OMRSAuditLog              auditLog   = workPad.getAuditLog();
+            ConformanceSuiteAuditCode auditCode;
+
+            auditCode = ConformanceSuiteAuditCode.WORKBENCH_INITIALIZED;
+            auditLog.logRecord(methodName,
+                               auditCode.getLogMessageId(),
+                               auditCode.getSeverity(),
+                               auditCode.getFormattedLogMessage(workPad.getWorkbenchId()),
+                               null,
+                               auditCode.getSystemAction(),
+                               auditCode.getUserAction());
+
+            while (super.isRunning() && (workPad.getTutRepositoryConnector() == null))
+            {
+                try
+                {
+                    /*
+                     * Wait for server to connect to the cohort
+                     */
+                    if (retryCount == 100)
+                    {
+                        retryCount = 0;
+                    }
+                    else
+                    {
+                        if (retryCount == 0)
+                        {
+                            auditCode = ConformanceSuiteAuditCode.WORKBENCH_WAITING_TO_START;
+                            auditLog.logRecord(methodName,
+                                               auditCode.getLogMessageId(),
+                                               auditCode.getSeverity(),
+                                               auditCode.getFormattedLogMessage(workPad.getWorkbenchId(),
+                                                                                workPad.getTutServerName()),
+                                               null,
+                                               auditCode.getSystemAction(),
+                                               auditCode.getUserAction());
+                        }
+
+                        retryCount++;
+                    }
+                    Thread.sleep(1000);
+                }
+                catch (InterruptedException  wakeUp)
+                {
+                    /*
+                     * Test again.
+                     */
+                }
+            }
+
+            try
+            {
+                runTests();
+            }
+            catch (Throwable error)
+            {
+                log.error(String.format("Unexpected error: %s", error.getMessage()), error);
+
+                auditCode = ConformanceSuiteAuditCode.WORKBENCH_FAILURE;
+                auditLog.logRecord(methodName,
+                                   auditCode.getLogMessageId(),
+                                   auditCode.getSeverity(),
+                                   auditCode.getFormattedLogMessage(workPad.getWorkbenchId(),
+                                                                    error.getMessage()),
+                                   error.toString(),
+                                   auditCode.getSystemAction(),
+                                   auditCode.getUserAction());
+            }
+
+            auditCode = ConformanceSuiteAuditCode.WORKBENCH_SYNC_COMPLETED;
+            auditLog.logRecord(methodName,
+                               auditCode.getLogMessageId(),
+                               auditCode.getSeverity(),
+                               auditCode.getFormattedLogMessage(workPad.getWorkbenchId()),
+                               null,
+                               auditCode.getSystemAction(),
+                               auditCode.getUserAction());
+        }
+    }
+}
@@ -12,6 +12,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -32,6 +33,7 @@ public class RepositoryConformanceWorkPad extends OpenMetadataConformanceWorkben
     private OMRSAuditLog            auditLog;
 
     private String                  tutServerName               = null;
+    private int                     maxConcurrentTestCases      = RepositoryConformanceWorkbenchConfig.DEFAULT_MAX_CONCURRENT_TEST_CASES;
     private String                  tutMetadataCollectionId     = null;
     private String                  tutServerType               = null;
     private String                  tutOrganization             = null;
@@ -70,6 +72,50 @@ public class RepositoryConformanceWorkPad extends OpenMetadataConformanceWorkben
                                         int                                   maxPageSize,
                                         OMRSAuditLog                          auditLog,
                                         RepositoryConformanceWorkbenchConfig  configuration)
+    {
+        this(workbenchId,
+             workbenchName,
+             workbenchVersionNumber,
+             workbenchDocURL,
+             tutType,
+             localServerUserId,
+             localServerPassword,
+             maxPageSize,
+             auditLog,
+             configuration == null ? null : configuration.getTutRepositoryServerName());
+
+        if ((configuration != null) && (configuration.getMaxConcurrentTestCases() > 0))
+        {
+            this.maxConcurrentTestCases = configuration.getMaxConcurrentTestCases();
+        }
+    }
+
+
+    /**
+     * Constructor used by workbenches that drive a repository connected to the cohort, but that have their own
+     * identity and configuration.
+     *
+     * @param workbenchId unique identifier of the workbench
+     * @param workbenchName name of the workbench
+     * @param workbenchVersionNumber version of the workbench
+     * @param workbenchDocURL link to the documentation for the workbench
+     * @param tutType type of the technology under test
+     * @param localServerUserId userId that this server should use on requests
+     * @param localServerPassword password that this server should use on requests
+     * @param maxPageSize maximum number of elements that can be returned on a single call
+     * @param auditLog audit log for administrator messages
+     * @param tutServerName name of the server to test
+     */
+    protected RepositoryConformanceWorkPad(String       workbenchId,
+                                           String       workbenchName,
+                                           String       workbenchVersionNumber,
+                                           String       workbenchDocURL,
+                                           String       tutType,
+                                           String       localServerUserId,
+                                           String       localServerPassword,
+                                           int          maxPageSize,
+                                           OMRSAuditLog auditLog,
+                                           String       tutServerName)
     {
         super(workbenchId,
               workbenchName,
@@ -82,13 +128,24 @@ public class RepositoryConformanceWorkPad extends OpenMetadataConformanceWorkben
 
         this.auditLog = auditLog;
 
-        if (configuration != null)
+        if (tutServerName != null)
         {
-            this.tutServerName = configuration.getTutRepositoryServerName();
+            this.tutServerName = tutServerName;
             super.tutName = this.tutServerName;
         }
     }
 
+    /**
+     * Return the maximum number of independent test cases that the workbench runs at the same time.
+     *
+     * @return number of test cases - 1 means the test cases run one after another
+     */
+    public int getMaxConcurrentTestCases()
+    {
+        return maxConcurrentTestCases;
+    }
+
+
     /**
      * Return the audit log for this server.
      *
@@ -432,6 +489,13 @@ public class RepositoryConformanceWorkPad extends OpenMetadataConformanceWorkben
                         profileTestEvidence.add(testEvidenceItem);
                     }
                 }
+
+                /*
+                 * The evidence is recorded in the order that the test cases ran, which varies when they run
+                 * concurrently.  The sort is stable so the evidence from each test case keeps its original order.
+                 */
+                profileTestEvidence.sort(Comparator.comparing(OpenMetadataConformanceTestEvidence::getTestCaseId,
+                                                              Comparator.nullsFirst(Comparator.naturalOrder())));
             }
 
             if (profileTestEvidence.isEmpty())
@@ -516,7 +580,7 @@ public class RepositoryConformanceWorkPad extends OpenMetadataConformanceWorkben
      * @param entityTypeName
      * @param subTypeName
      */
-    public void addEntitySubType(String entityTypeName, String subTypeName) {
+    public synchronized void addEntitySubType(String entityTypeName, String subTypeName) {
 
         List<String> subTypeList = this.entitySubTypes.get(entityTypeName);
         if (subTypeList == null) {
@@ -534,7 +598,7 @@ public class RepositoryConformanceWorkPad extends OpenMetadataConformanceWorkben
      * @param entityTypeName
      * @return
      */
-    public List<String> getEntitySubTypes(String entityTypeName) {
+    public synchronized List<String> getEntitySubTypes(String entityTypeName) {
 
         List<String> subTypeList = this.entitySubTypes.get(entityTypeName);
         return subTypeList;
@@ -545,7 +609,7 @@ public class RepositoryConformanceWorkPad extends OpenMetadataConformanceWorkben
      * @param entityTypeName
      * @param relationshipTypeName
      */
-    public void addEntityRelationshipType(String entityTypeName, String relationshipTypeName, int end) {
+    public synchronized void addEntityRelationshipType(String entityTypeName, String relationshipTypeName, int end) {
 
         List<List<String>> bothEndLists = this.entityRelationshipTypes.get(entityTypeName);
         if (bothEndLists == null) {
@@ -571,7 +635,7 @@ public class RepositoryConformanceWorkPad extends OpenMetadataConformanceWorkben
      * @param entityTypeName
      * @return
      */
-    public List<List<String>> getEntityRelationshipTypes(String entityTypeName) {
+    public synchronized List<List<String>> getEntityRelationshipTypes(String entityTypeName) {
 
         List<List<String>> relTypeLists = this.entityRelationshipTypes.get(entityTypeName);
         return relTypeLists;
@@ -581,7 +645,7 @@ public class RepositoryConformanceWorkPad extends OpenMetadataConformanceWorkben
      * Return the set of supported entity type names
      * @return
      */
-    public Set<String> getEntityTypeNames() {
+    public synchronized Set<String> getEntityTypeNames() {
 
         Set<String> keySet = this.entityRelationshipTypes.keySet();
         return keySet;
@@ -595,7 +659,7 @@ public class RepositoryConformanceWorkPad extends OpenMetadataConformanceWorkben
      * @param end1TypeName
      * @param end2TypeName
      */
-    public void addRelationshipEndTypes(String relationshipTypeName, String end1TypeName, String end2TypeName) {
+    public synchronized void addRelationshipEndTypes(String relationshipTypeName, String end1TypeName, String end2TypeName) {
 
         List<String> endTypeList= new ArrayList<>();
         endTypeList.add(end1TypeName);
@@ -609,7 +673,7 @@ public class RepositoryConformanceWorkPad extends OpenMetadataConformanceWorkben
      * @param relationshipTypeName
      * @return
      */
-    public List<String> getRelationshipEndTypes(String relationshipTypeName) {
+    public synchronized List<String> getRelationshipEndTypes(String relationshipTypeName) {
 
         List<String> endTypeList = this.relationshipEndTypes.get(relationshipTypeName);
         return endTypeList;
@@ -619,7 +683,7 @@ public class RepositoryConformanceWorkPad extends OpenMetadataConformanceWorkben
      * Return the set of supported relationship type names
      * @return
      */
-    public Set<String> getRelationshipTypeNames() {
+    public synchronized Set<String> getRelationshipTypeNames() {
 
         Set<String> keySet = this.relationshipEndTypes.keySet();
         return keySet;
@@ -635,7 +699,7 @@ public class RepositoryConformanceWorkPad extends OpenMetadataConformanceWorkben
      * @param set_1
      * @param set_2
      */
-    public void addEntityInstanceSets(String entityTypeName, List<EntityDetail> set_0, List<EntityDetail> set_1, List<EntityDetail> set_2) {
+    public synchronized void addEntityInstanceSets(String entityTypeName, List<EntityDetail> set_0, List<EntityDetail> set_1, List<EntityDetail> set_2) {
 
         List<List<EntityDetail>> setsList = new ArrayList<>();
         setsList.add(set_0);
@@ -648,7 +712,7 @@ public class RepositoryConformanceWorkPad extends OpenMetadataConformanceWorkben
      * Retrieve entity instances for the given type for the given instance set
      * @param entityTypeName
      */
-    public List<EntityDetail> getEntityInstanceSet(String entityTypeName, int setId) {
+    public synchronized List<EntityDetail> getEntityInstanceSet(String entityTypeName, int setId) {
 
         if (this.entityInstances.get(entityTypeName) != null) {
             return this.entityInstances.get(entityTypeName).get(setId);
@@ -661,7 +725,7 @@ public class RepositoryConformanceWorkPad extends OpenMetadataConformanceWorkben
      * Clean up entity instances for the given type.
      * @param entityTypeName
      */
-    public void removeEntityInstanceSets(String entityTypeName) {
+    public synchronized void removeEntityInstanceSets(String entityTypeName) {
 
         this.entityInstances.remove(entityTypeName);
 
@@ -676,7 +740,7 @@ public class RepositoryConformanceWorkPad extends OpenMetadataConformanceWorkben
      * @param set_1
      * @param set_2
      */
-    public void addRelationshipInstanceSets(String relationshipTypeName, List<Relationship> set_0, List<Relationship> set_1, List<Relationship> set_2) {
+    public synchronized void addRelationshipInstanceSets(String relationshipTypeName, List<Relationship> set_0, List<Relationship> set_1, List<Relationship> set_2) {
 
         List<List<Relationship>> setsList = new ArrayList<>();
         setsList.add(set_0);
@@ -689,7 +753,7 @@ public class RepositoryConformanceWorkPad extends OpenMetadataConformanceWorkben
      * Retrieve relationship instances for the given type for the given instance set
      * @param relationshipTypeName
      */
-    public List<Relationship> getRelationshipInstanceSet(String relationshipTypeName, int setId) {
+    public synchronized List<Relationship> getRelationshipInstanceSet(String relationshipTypeName, int setId) {
 
         if (this.relationshipInstances.get(relationshipTypeName) != null) {
             return this.relationshipInstances.get(relationshipTypeName).get(setId);
@@ -702,7 +766,7 @@ public class RepositoryConformanceWorkPad extends OpenMetadataConformanceWorkben
      * Clean up relationship instances for the given type.
      * @param relationshipTypeName
      */
-    public void removeRelationshipInstanceSets(String relationshipTypeName) {
+    public synchronized void removeRelationshipInstanceSets(String relationshipTypeName) {
 
         this.relationshipInstances.remove(relationshipTypeName);
 
@@ -18,6 +18,12 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 /**
  * RepositoryConformanceWorkbench provides the thread that drives the repository workbench from the Open Metadata
@@ -117,13 +123,9 @@ public class RepositoryConformanceWorkbench extends OpenMetadataConformanceWorkb
                 }
             }
 
-            for (TestSupportedAttributeTypeDef testCase : attributeTypeDefTestCases) {
-                testCase.executeTest();
-            }
+            this.runTestCases(attributeTypeDefTestCases, OpenMetadataTestCase::executeTest);
 
-            for (TestSupportedTypeDef testCase : typeDefTestCases) {
-                testCase.executeTest();
-            }
+            this.runTestCases(typeDefTestCases, OpenMetadataTestCase::executeTest);
 
             /*
              * Retrieve the attribute type definitions by category.
@@ -336,16 +338,14 @@ public class RepositoryConformanceWorkbench extends OpenMetadataConformanceWorkb
                 /*
                  * Validate all of the entities, relationships and classifications
                  */
-                for (TestSupportedEntityLifecycle testCase : entityTestCases) {
-                    testCase.executeTest();
-                    testCase.cleanTest();
-                }
+                this.runTestCases(entityTestCases, this::executeAndCleanTest);
 
-                for (TestSupportedRelationshipLifecycle testCase : relationshipTestCases) {
-                    testCase.executeTest();
-                    testCase.cleanTest();
-                }
+                this.runTestCases(relationshipTestCases, this::executeAndCleanTest);
 
+                /*
+                 * The classification test cases always run one after another because several of them
+                 * classify entities of the same type, and each one removes all of the entities of that type.
+                 */
                 for (TestSupportedClassificationLifecycle testCase : classificationTestCases) {
                     testCase.executeTest();
                     testCase.cleanTest();
@@ -355,15 +355,9 @@ public class RepositoryConformanceWorkbench extends OpenMetadataConformanceWorkb
                 /*
                  * Validate all of the entity and relationship reference copies
                  */
-                for (TestSupportedEntityReferenceCopyLifecycle testCase : entityReferenceCopyTestCases) {
-                    testCase.executeTest();
-                    testCase.cleanTest();
-                }
+                this.runTestCases(entityReferenceCopyTestCases, this::executeAndCleanTest);
 
-                for (TestSupportedRelationshipReferenceCopyLifecycle testCase : relationshipReferenceCopyTestCases) {
-                    testCase.executeTest();
-                    testCase.cleanTest();
-                }
+                this.runTestCases(relationshipReferenceCopyTestCases, this::executeAndCleanTest);
 
                 for (TestSupportedReferenceCopyClassificationLifecycle testCase : referenceCopyClassificationTestCases) {
                     testCase.executeTest();
@@ -374,23 +368,14 @@ public class RepositoryConformanceWorkbench extends OpenMetadataConformanceWorkb
                 /*
                  * Validate all of the entity and relationship reidentify operations
                  */
-                for (TestSupportedEntityReidentify testCase : entityReidentifyTestCases) {
-                    testCase.executeTest();
-                    testCase.cleanTest();
-                }
+                this.runTestCases(entityReidentifyTestCases, this::executeAndCleanTest);
 
-                for (TestSupportedRelationshipReidentify testCase : relationshipReidentifyTestCases) {
-                    testCase.executeTest();
-                    testCase.cleanTest();
-                }
+                this.runTestCases(relationshipReidentifyTestCases, this::executeAndCleanTest);
 
                 /*
                  * Validate all of the entity retype operations
                  */
-                for (TestSupportedEntityRetype testCase : entityRetypeTestCases) {
-                    testCase.executeTest();
-                    testCase.cleanTest();
-                }
+                this.runTestCases(entityRetypeTestCases, this::executeAndCleanTest);
 
 
 
@@ -401,40 +386,28 @@ public class RepositoryConformanceWorkbench extends OpenMetadataConformanceWorkb
                 /*
                  * Phase 1
                  */
-                for (TestSupportedEntityPropertySearch testCase : entityPropertySearchTestCases) {
-                    testCase.executeTest(OpenMetadataTestCase.TestPhase.CREATE);
-                }
+                this.runTestCases(entityPropertySearchTestCases, testCase -> testCase.executeTest(OpenMetadataTestCase.TestPhase.CREATE));
                 /*
                  * Phase 2
                  */
-                for (TestSupportedEntityPropertySearch testCase : entityPropertySearchTestCases) {
-                    testCase.executeTest(OpenMetadataTestCase.TestPhase.EXECUTE);
-                }
+                this.runTestCases(entityPropertySearchTestCases, testCase -> testCase.executeTest(OpenMetadataTestCase.TestPhase.EXECUTE));
                 /*
                  * Phase 3
                  */
-                for (TestSupportedEntityPropertySearch testCase : entityPropertySearchTestCases) {
-                    testCase.executeTest(OpenMetadataTestCase.TestPhase.CLEAN);
-                }
+                this.runTestCases(entityPropertySearchTestCases, testCase -> testCase.executeTest(OpenMetadataTestCase.TestPhase.CLEAN));
 
                 /*
                  * Phase 1
                  */
-                for (TestSupportedRelationshipPropertySearch testCase : relationshipPropertySearchTestCases) {
-                    testCase.executeTest(OpenMetadataTestCase.TestPhase.CREATE);
-                }
+                this.runTestCases(relationshipPropertySearchTestCases, testCase -> testCase.executeTest(OpenMetadataTestCase.TestPhase.CREATE));
                 /*
                  * Phase 2
                  */
-                for (TestSupportedRelationshipPropertySearch testCase : relationshipPropertySearchTestCases) {
-                    testCase.executeTest(OpenMetadataTestCase.TestPhase.EXECUTE);
-                }
+                this.runTestCases(relationshipPropertySearchTestCases, testCase -> testCase.executeTest(OpenMetadataTestCase.TestPhase.EXECUTE));
                 /*
                  * Phase 3
                  */
-                for (TestSupportedRelationshipPropertySearch testCase : relationshipPropertySearchTestCases) {
-                    testCase.executeTest(OpenMetadataTestCase.TestPhase.CLEAN);
-                }
+                this.runTestCases(relationshipPropertySearchTestCases, testCase -> testCase.executeTest(OpenMetadataTestCase.TestPhase.CLEAN));
 
 
                 /*
@@ -444,53 +417,37 @@ public class RepositoryConformanceWorkbench extends OpenMetadataConformanceWorkb
                 /*
                  * Phase 1
                  */
-                for (TestSupportedEntityPropertyAdvancedSearch testCase : entityPropertyAdvancedSearchTestCases) {
-                    testCase.executeTest(OpenMetadataTestCase.TestPhase.CREATE);
-                }
+                this.runTestCases(entityPropertyAdvancedSearchTestCases, testCase -> testCase.executeTest(OpenMetadataTestCase.TestPhase.CREATE));
                 /*
                  * Phase 2
                  */
-                for (TestSupportedEntityPropertyAdvancedSearch testCase : entityPropertyAdvancedSearchTestCases) {
-                    testCase.executeTest(OpenMetadataTestCase.TestPhase.EXECUTE);
-                }
+                this.runTestCases(entityPropertyAdvancedSearchTestCases, testCase -> testCase.executeTest(OpenMetadataTestCase.TestPhase.EXECUTE));
                 /*
                  * Phase 3
                  */
-                for (TestSupportedEntityPropertyAdvancedSearch testCase : entityPropertyAdvancedSearchTestCases) {
-                    testCase.executeTest(OpenMetadataTestCase.TestPhase.CLEAN);
-                }
+                this.runTestCases(entityPropertyAdvancedSearchTestCases, testCase -> testCase.executeTest(OpenMetadataTestCase.TestPhase.CLEAN));
 
                 /*
                  * Phase 1
                  */
-                for (TestSupportedRelationshipPropertyAdvancedSearch testCase : relationshipPropertyAdvancedSearchTestCases) {
-                    testCase.executeTest(OpenMetadataTestCase.TestPhase.CREATE);
-                }
+                this.runTestCases(relationshipPropertyAdvancedSearchTestCases, testCase -> testCase.executeTest(OpenMetadataTestCase.TestPhase.CREATE));
                 /*
                  * Phase 2
                  */
-                for (TestSupportedRelationshipPropertyAdvancedSearch testCase : relationshipPropertyAdvancedSearchTestCases) {
-                    testCase.executeTest(OpenMetadataTestCase.TestPhase.EXECUTE);
-                }
+                this.runTestCases(relationshipPropertyAdvancedSearchTestCases, testCase -> testCase.executeTest(OpenMetadataTestCase.TestPhase.EXECUTE));
                 /*
                  * Phase 3
                  */
-                for (TestSupportedRelationshipPropertyAdvancedSearch testCase : relationshipPropertyAdvancedSearchTestCases) {
-                    testCase.executeTest(OpenMetadataTestCase.TestPhase.CLEAN);
-                }
+                this.runTestCases(relationshipPropertyAdvancedSearchTestCases, testCase -> testCase.executeTest(OpenMetadataTestCase.TestPhase.CLEAN));
 
             }
 
 
-            for (TestSupportedEntitySharingPropertySearch testCase : entitySharingPropertySearchTestCases) {
-                testCase.executeTest();
-            }
+            this.runTestCases(entitySharingPropertySearchTestCases, OpenMetadataTestCase::executeTest);
 
             
 
-            for (TestSupportedRelationshipSharingPropertySearch testCase : relationshipSharingPropertySearchTestCases) {
-                testCase.executeTest();
-            }
+            this.runTestCases(relationshipSharingPropertySearchTestCases, OpenMetadataTestCase::executeTest);
 
 
             /*
@@ -513,6 +470,81 @@ public class RepositoryConformanceWorkbench extends OpenMetadataConformanceWorkb
     }
 
 
+    /**
+     * Run the complete test case and then remove the instances it created.
+     *
+     * @param testCase test case to run
+     */
+    private void executeAndCleanTest(OpenMetadataTestCase testCase)
+    {
+        testCase.executeTest();
+        testCase.cleanTest();
+    }
+
+
+    /**
+     * Run a group of test cases that do not depend on one another.  If the workbench is configured to run
+     * test cases concurrently, the test cases are run on a pool of threads of that size.  Either way,
+     * this method returns only when all of the test cases in the group have completed, so the groups (and the
+     * phases of the multi-phase test cases) still run one after another.
+     *
+     * @param testCases test cases to run
+     * @param testStep step to run for each test case
+     * @param <T> type of test case
+     */
+    private <T extends OpenMetadataTestCase> void runTestCases(List<T>     testCases,
+                                                               Consumer<T> testStep)
+    {
+        int maxConcurrentTestCases = Math.min(workPad.getMaxConcurrentTestCases(), testCases.size());
+
+        if (maxConcurrentTestCases <= 1)
+        {
+            for (T testCase : testCases)
+            {
+                testStep.accept(testCase);
+            }
+
+            return;
+        }
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+
+        for (T testCase : testCases)
+        {
+            tasks.add(() ->
+            {
+                testStep.accept(testCase);
+                return null;
+            });
+        }
+
+        ExecutorService threadPool = Executors.newFixedThreadPool(maxConcurrentTestCases);
+
+        try
+        {
+            for (Future<Void> result : threadPool.invokeAll(tasks))
+            {
+                try
+                {
+                    result.get();
+                }
+                catch (ExecutionException error)
+                {
+                    log.error(String.format("Unexpected error from test case: %s", error.getCause()), error.getCause());
+                }
+            }
+        }
+        catch (InterruptedException error)
+        {
+            Thread.currentThread().interrupt();
+        }
+        finally
+        {
+            threadPool.shutdownNow();
+        }
+    }
+
+
 
     /**
      * This is the method that provides the behaviour of the thread.
@@ -23,6 +23,7 @@ public class AssetConsumerAdmin extends AccessServiceAdmin
     private OMRSAuditLog                   auditLog            = null;
     private AssetConsumerServicesInstance  instance            = null;
     private String                         serverName          = null;
+    private AssetConsumerOMRSTopicListener omrsTopicListener   = null;
 
     /**
      * Default constructor
@@ -80,9 +81,13 @@ public class AssetConsumerAdmin extends AccessServiceAdmin
              */
             if (accessServiceConfig.getAccessServiceOutTopic() != null)
             {
-                AssetConsumerOMRSTopicListener omrsTopicListener;
-
                 omrsTopicListener = new AssetConsumerOMRSTopicListener(accessServiceConfig.getAccessServiceOutTopic(),
+                                                                       super.extractOutTopicCoalescingWindow(accessServiceConfig.getAccessServiceOptions(),
+                                                                                                             accessServiceConfig.getAccessServiceName(),
+                                                                                                             auditLog),
+                                                                       super.extractOutTopicMaxBatchSize(accessServiceConfig.getAccessServiceOptions(),
+                                                                                                         accessServiceConfig.getAccessServiceName(),
+                                                                                                         auditLog),
                                                                        repositoryConnector.getRepositoryHelper(),
                                                                        repositoryConnector.getRepositoryValidator(),
                                                                        accessServiceConfig.getAccessServiceName(),
@@ -92,6 +97,7 @@ public class AssetConsumerAdmin extends AccessServiceAdmin
                                                   serverName,
                                                   omrsTopicConnector,
                                                   omrsTopicListener,
+                                                  omrsTopicListener.getSubscription(),
                                                   auditLog);
             }
 
@@ -130,6 +136,11 @@ public class AssetConsumerAdmin extends AccessServiceAdmin
         final String            actionDescription = "shutdown";
         AssetConsumerAuditCode  auditCode;
 
+        if (omrsTopicListener != null)
+        {
+            omrsTopicListener.shutdown();
+        }
+
         if (instance != null)
         {
             this.instance.shutdown();
@@ -9,6 +9,7 @@ import org.odpi.openmetadata.commonservices.ocf.metadatamanagement.converters.As
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.Asset;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
 import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicListenerBase;
+import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicSubscription;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
 import org.slf4j.Logger;
@@ -19,6 +20,8 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
 import org.odpi.openmetadata.repositoryservices.events.*;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 
@@ -41,9 +44,12 @@ public class AssetConsumerOMRSTopicListener extends OMRSTopicListenerBase
 
     /**
      * The constructor is given the connection to the out topic for Asset Consumer OMAS
-     * along with classes for testing and manipulating instances.
+     * along with the settings for coalescing the events it publishes and classes for testing
+     * and manipulating instances.
      *
      * @param assetConsumerOutTopic  connection to the out topic
+     * @param outTopicCoalescingWindow  number of milliseconds to coalesce the events for each asset over; zero means no coalescing
+     * @param outTopicMaxBatchSize  maximum number of events to send to the out topic together; zero means send each separately
      * @param repositoryHelper  provides methods for working with metadata instances
      * @param repositoryValidator  provides validation of metadata instance
      * @param componentName  name of component
@@ -52,6 +58,8 @@ public class AssetConsumerOMRSTopicListener extends OMRSTopicListenerBase
      * @throws OMAGConfigurationErrorException problems creating the connector for the outTopic
      */
     public AssetConsumerOMRSTopicListener(Connection              assetConsumerOutTopic,
+                                          int                     outTopicCoalescingWindow,
+                                          int                     outTopicMaxBatchSize,
                                           OMRSRepositoryHelper    repositoryHelper,
                                           OMRSRepositoryValidator repositoryValidator,
                                           String                  componentName,
@@ -65,7 +73,36 @@ public class AssetConsumerOMRSTopicListener extends OMRSTopicListenerBase
         this.componentName = componentName;
         this.supportedZones = supportedZones;
 
-        publisher = new AssetConsumerPublisher(assetConsumerOutTopic, auditLog);
+        publisher = new AssetConsumerPublisher(assetConsumerOutTopic, outTopicCoalescingWindow, outTopicMaxBatchSize, auditLog);
+    }
+
+
+    /**
+     * Publish any events that are held for the current coalescing window.
+     */
+    public void shutdown()
+    {
+        publisher.shutdown();
+    }
+
+
+    /**
+     * Return the subscription for the events that this listener processes.  The OMRS topic connector uses it
+     * to avoid passing other events to the listener.
+     *
+     * @return subscription for new and updated assets in the supported zones
+     */
+    public OMRSTopicSubscription getSubscription()
+    {
+        OMRSTopicSubscription subscription = new OMRSTopicSubscription();
+
+        subscription.setEventCategories(Collections.singletonList(OMRSEventCategory.INSTANCE));
+        subscription.setInstanceEventTypes(Arrays.asList(OMRSInstanceEventType.NEW_ENTITY_EVENT,
+                                                         OMRSInstanceEventType.UPDATED_ENTITY_EVENT));
+        subscription.setRootTypeNames(Collections.singletonList(assetTypeName));
+        subscription.setSupportedZones(supportedZones);
+
+        return subscription;
     }
 
     /**
@@ -2,8 +2,8 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.accessservices.assetconsumer.outtopic;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.odpi.openmetadata.accessservices.assetconsumer.events.AssetConsumerEventHeader;
+import org.odpi.openmetadata.accessservices.assetconsumer.events.AssetEvent;
 import org.odpi.openmetadata.accessservices.assetconsumer.events.NewAssetEvent;
 import org.odpi.openmetadata.accessservices.assetconsumer.events.UpdatedAssetEvent;
 import org.odpi.openmetadata.accessservices.assetconsumer.ffdc.AssetConsumerErrorCode;
@@ -11,36 +11,49 @@ import org.odpi.openmetadata.adminservices.ffdc.exception.OMAGConfigurationError
 import org.odpi.openmetadata.frameworks.connectors.Connector;
 import org.odpi.openmetadata.frameworks.connectors.ConnectorBroker;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
+import org.odpi.openmetadata.repositoryservices.codec.OMRSJSONCodec;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicEventCoalescer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
 
 /**
  * AssetConsumerPublisher is the connector responsible for publishing information about
- * new and changed assets.
+ * new and changed assets.  The events can be coalesced so that only the latest event for each asset
+ * in each coalescing window is published.
  */
 public class AssetConsumerPublisher
 {
     private static final Logger log = LoggerFactory.getLogger(AssetConsumerPublisher.class);
 
-    private OpenMetadataTopicConnector  connector = null;
+    private static final String publisherName = "Asset Consumer OMAS";
+
+    private OpenMetadataTopicEventCoalescer  outTopic = null;
 
 
     /**
      * The constructor is given the connection to the out topic for Asset Consumer OMAS
-     * along with classes for testing and manipulating instances.
+     * along with the settings for coalescing the events.
      *
      * @param assetConsumerOutTopic connection to the out topic
+     * @param coalescingWindow number of milliseconds to hold events for; zero means publish each event immediately
+     * @param maxBatchSize maximum number of events to send to the out topic together; zero means send each separately
      * @param auditLog log file for the connector.
      * @throws OMAGConfigurationErrorException problems creating the connector for the outTopic
      */
     public AssetConsumerPublisher(Connection              assetConsumerOutTopic,
+                                  int                     coalescingWindow,
+                                  int                     maxBatchSize,
                                   OMRSAuditLog            auditLog) throws OMAGConfigurationErrorException
     {
         if (assetConsumerOutTopic != null)
         {
-            connector = this.getTopicConnector(assetConsumerOutTopic, auditLog);
+            outTopic = new OpenMetadataTopicEventCoalescer(this.getTopicConnector(assetConsumerOutTopic, auditLog),
+                                                           publisherName,
+                                                           coalescingWindow,
+                                                           maxBatchSize,
+                                                           auditLog);
         }
     }
 
@@ -54,9 +67,9 @@ public class AssetConsumerPublisher
     {
         try
         {
-            if (connector != null)
+            if (outTopic != null)
             {
-                connector.sendEvent(this.getJSONPayload(event));
+                outTopic.sendEvent(this.getEventKey(event), this.getJSONPayload(event));
             }
         }
         catch (Throwable  error)
@@ -75,9 +88,9 @@ public class AssetConsumerPublisher
     {
         try
         {
-            if (connector != null)
+            if (outTopic != null)
             {
-                connector.sendEvent(this.getJSONPayload(event));
+                outTopic.sendEvent(this.getEventKey(event), this.getJSONPayload(event));
             }
         }
         catch (Throwable  error)
@@ -87,6 +100,36 @@ public class AssetConsumerPublisher
     }
 
 
+    /**
+     * Send any events that are held for the current coalescing window.
+     */
+    public void shutdown()
+    {
+        if (outTopic != null)
+        {
+            outTopic.shutdown();
+        }
+    }
+
+
+    /**
+     * Return the key used to coalesce the events.  It is made from the unique identifier of the asset and the
+     * event type so a new asset event is not replaced by a later updated asset event for the same asset.
+     *
+     * @param event event to send
+     * @return key or null
+     */
+    private String getEventKey(AssetEvent   event)
+    {
+        if ((event.getAsset() == null) || (event.getAsset().getGUID() == null))
+        {
+            return null;
+        }
+
+        return event.getAsset().getGUID() + "." + event.getEventType();
+    }
+
+
     /**
      * Create the topic connector.
      *
@@ -140,7 +183,6 @@ public class AssetConsumerPublisher
      */
     private String getJSONPayload(AssetConsumerEventHeader    event)
     {
-        ObjectMapper objectMapper = new ObjectMapper();
         String       jsonString   = null;
 
         /*
@@ -148,7 +190,7 @@ public class AssetConsumerPublisher
          */
         try
         {
-            jsonString = objectMapper.writeValueAsString(event);
+            jsonString = OMRSJSONCodec.writeValueAsString(event);
         }
         catch (Throwable  error)
         {
@@ -23,6 +23,7 @@ public class AssetLineageAdmin extends AccessServiceAdmin
     private AssetLineageServicesInstance instance;
     private String serverName;
     private String serverUserName;
+    private AssetLineageOMRSTopicListener omrsTopicListener;
 
 
     /**
@@ -78,10 +79,14 @@ public class AssetLineageAdmin extends AccessServiceAdmin
              * Only set up the listening and event publishing if requested in the config.
              */
             if (accessServiceConfig.getAccessServiceOutTopic() != null) {
-                AssetLineageOMRSTopicListener omrsTopicListener;
-
                 omrsTopicListener = new AssetLineageOMRSTopicListener(
                         accessServiceConfig.getAccessServiceOutTopic(),
+                        super.extractOutTopicCoalescingWindow(accessServiceConfig.getAccessServiceOptions(),
+                                accessServiceConfig.getAccessServiceName(),
+                                auditLog),
+                        super.extractOutTopicMaxBatchSize(accessServiceConfig.getAccessServiceOptions(),
+                                accessServiceConfig.getAccessServiceName(),
+                                auditLog),
                         repositoryConnector.getRepositoryValidator(),
                         repositoryConnector.getRepositoryHelper(),
                         accessServiceConfig.getAccessServiceName(),
@@ -93,6 +98,7 @@ public class AssetLineageAdmin extends AccessServiceAdmin
                         serverName,
                         omrsTopicConnector,
                         omrsTopicListener,
+                        omrsTopicListener.getSubscription(),
                         auditLog);
             }
 
@@ -125,6 +131,10 @@ public class AssetLineageAdmin extends AccessServiceAdmin
         final String actionDescription = "shutdown";
         AssetLineageAuditCode auditCode;
 
+        if (omrsTopicListener != null) {
+            omrsTopicListener.shutdown();
+        }
+
         if (instance != null) {
             this.instance.shutdown();
         }
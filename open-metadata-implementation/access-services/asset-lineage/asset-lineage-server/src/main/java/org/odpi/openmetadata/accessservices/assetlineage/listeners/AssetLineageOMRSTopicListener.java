@@ -23,6 +23,7 @@ import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedExcepti
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
 import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicListener;
+import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicSubscription;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
@@ -53,6 +54,8 @@ public class AssetLineageOMRSTopicListener implements OMRSTopicListener {
      * along with classes for testing and manipulating instances.
      *
      * @param assetLineageOutTopic connection to the out topic
+     * @param outTopicCoalescingWindow number of milliseconds to coalesce the events for each entity over; zero means no coalescing
+     * @param outTopicMaxBatchSize maximum number of events to send to the out topic together; zero means send each separately
      * @param repositoryValidator  provides validation of metadata instance
      * @param repositoryHelper     helper object for building and querying TypeDefs and metadata instances
      * @param componentName        name of component
@@ -62,6 +65,8 @@ public class AssetLineageOMRSTopicListener implements OMRSTopicListener {
      * @param serverName           name of this server instance
      */
     public AssetLineageOMRSTopicListener(Connection assetLineageOutTopic,
+                                         int outTopicCoalescingWindow,
+                                         int outTopicMaxBatchSize,
                                          OMRSRepositoryValidator repositoryValidator,
                                          OMRSRepositoryHelper repositoryHelper,
                                          String componentName,
@@ -76,7 +81,35 @@ public class AssetLineageOMRSTopicListener implements OMRSTopicListener {
         this.supportedZones = supportedZones;
         this.serverName = serverName;
         this.serverUserName = serverUserName;
-        publisher = new AssetLineagePublisher(assetLineageOutTopic, auditLog);
+        publisher = new AssetLineagePublisher(assetLineageOutTopic, outTopicCoalescingWindow, outTopicMaxBatchSize, auditLog);
+    }
+
+    /**
+     * Publish any events that are held for the current coalescing window.
+     */
+    public void shutdown() {
+        publisher.shutdown();
+    }
+
+    /**
+     * Return the subscription for the events that this listener processes.  The OMRS topic connector uses it
+     * to avoid passing other events to the listener.
+     *
+     * @return subscription for new, updated and classified entities of the lineage types
+     */
+    public OMRSTopicSubscription getSubscription() {
+        List<String> rootTypeNames = new ArrayList<>(Arrays.asList(GLOSSARY_TERM, TABULAR_SCHEMA_TYPE, TABULAR_COLUMN,
+                RELATIONAL_COLUMN, RELATIONAL_TABLE, DATA_FILE));
+        rootTypeNames.add(PROCESS);
+
+        OMRSTopicSubscription subscription = new OMRSTopicSubscription();
+        subscription.setEventCategories(Collections.singletonList(OMRSEventCategory.INSTANCE));
+        subscription.setInstanceEventTypes(Arrays.asList(OMRSInstanceEventType.NEW_ENTITY_EVENT,
+                OMRSInstanceEventType.UPDATED_ENTITY_EVENT,
+                OMRSInstanceEventType.CLASSIFIED_ENTITY_EVENT));
+        subscription.setRootTypeNames(rootTypeNames);
+
+        return subscription;
     }
 
     /**
@@ -233,7 +266,7 @@ public class AssetLineageOMRSTopicListener implements OMRSTopicListener {
             LineageEvent event = new LineageEvent();
             event.setAssetContext(classificationContext);
             event.setAssetLineageEventType(AssetLineageEventType.CLASSIFICATION_CONTEXT_EVENT);
-            publisher.publishRelationshipEvent(event);
+            publisher.publishRelationshipEvent(entityDetail.getGUID(), event);
         }
     }
 
@@ -254,7 +287,7 @@ public class AssetLineageOMRSTopicListener implements OMRSTopicListener {
         LineageEvent event = new LineageEvent();
         event.setAssetContext(processContext);
         event.setAssetLineageEventType(AssetLineageEventType.PROCESS_CONTEXT_EVENT);
-        publisher.publishRelationshipEvent(event);
+        publisher.publishRelationshipEvent(entityDetail.getGUID(), event);
     }
 
     private void getAssetContext(EntityDetail entityDetail, String serviceOperationName) throws InvalidParameterException,
@@ -277,7 +310,7 @@ public class AssetLineageOMRSTopicListener implements OMRSTopicListener {
         }
 
         event.setAssetLineageEventType(AssetLineageEventType.TECHNICAL_ELEMENT_CONTEXT_EVENT);
-        publisher.publishRelationshipEvent(event);
+        publisher.publishRelationshipEvent(technicalGuid, event);
     }
 
 
@@ -359,7 +392,7 @@ public class AssetLineageOMRSTopicListener implements OMRSTopicListener {
         deletionEvent.setEntityTypeDef(relationship.getEntityOneProxy().getType().getTypeDefName());
 //        deletionEvent.setOmrsInstanceEventType(OMRSInstanceEventType.DELETE_PURGED_RELATIONSHIP_EVENT);
 
-        publisher.publishRelationshipEvent(deletionEvent);
+        publisher.publishRelationshipEvent(relationship.getGUID(), deletionEvent);
     }
 
     private AssetLineageEntityEvent proxyToNewEntity(EntityProxy proxy) {
@@ -4,7 +4,6 @@
 package org.odpi.openmetadata.accessservices.assetlineage.outtopic;
 
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.odpi.openmetadata.accessservices.assetlineage.ffdc.AssetLineageErrorCode;
 import org.odpi.openmetadata.accessservices.assetlineage.model.assetContext.AssetLineageEvent;
 import org.odpi.openmetadata.adminservices.ffdc.exception.OMAGConfigurationErrorException;
@@ -12,49 +11,72 @@ import org.odpi.openmetadata.frameworks.connectors.Connector;
 import org.odpi.openmetadata.frameworks.connectors.ConnectorBroker;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
+import org.odpi.openmetadata.repositoryservices.codec.OMRSJSONCodec;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicEventCoalescer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * AssetLineagePublisher is the connector responsible for publishing information about
- * new and changed assets.
+ * new and changed assets.  The events can be coalesced so that only the latest event of each type
+ * for an entity in each coalescing window is published.
  */
 public class AssetLineagePublisher {
 
     private static final Logger log = LoggerFactory.getLogger(AssetLineagePublisher.class);
-    private OpenMetadataTopicConnector connector = null;
+    private static final String PUBLISHER_NAME = "Asset Lineage OMAS";
+
+    private OpenMetadataTopicEventCoalescer outTopic = null;
 
 
     /**
      * The constructor is given the connection to the out topic for Asset Lineage OMAS
-     * along with classes for testing and manipulating instances.
+     * along with the settings for coalescing the events.
      *
      * @param assetLineageOutTopic connection to the out topic
+     * @param coalescingWindow     number of milliseconds to hold events for; zero means publish each event immediately
+     * @param maxBatchSize         maximum number of events to send to the out topic together; zero means send each separately
      * @param auditLog             log file for the connector.
      */
     public AssetLineagePublisher(Connection assetLineageOutTopic,
+                                 int coalescingWindow,
+                                 int maxBatchSize,
                                  OMRSAuditLog auditLog) throws OMAGConfigurationErrorException {
         if (assetLineageOutTopic != null) {
-            connector = this.getTopicConnector(assetLineageOutTopic, auditLog);
+            outTopic = new OpenMetadataTopicEventCoalescer(this.getTopicConnector(assetLineageOutTopic, auditLog),
+                    PUBLISHER_NAME,
+                    coalescingWindow,
+                    maxBatchSize,
+                    auditLog);
         }
     }
 
     /**
-     * Output a new asset event.
+     * Output an asset lineage event.
      *
+     * @param guid  unique identifier of the entity that the event is about
      * @param event event to send
      */
-    public void publishRelationshipEvent(AssetLineageEvent event) {
+    public void publishRelationshipEvent(String guid, AssetLineageEvent event) {
         try {
-            if (connector != null) {
-                ObjectMapper objectMapper = new ObjectMapper();
-                connector.sendEvent(objectMapper.writeValueAsString(event));
+            if (outTopic != null) {
+                outTopic.sendEvent(guid + "." + event.getAssetLineageEventType(), OMRSJSONCodec.writeValueAsString(event));
             }
         } catch (Throwable error) {
             log.error("Unable to publish new asset event: " + event.toString() + "; error was " + error.toString());
         }
     }
+
+    /**
+     * Send any events that are held for the current coalescing window.
+     */
+    public void shutdown() {
+        if (outTopic != null) {
+            outTopic.shutdown();
+        }
+    }
+
     /**
      * Create the topic connector.
      *
@@ -15,7 +15,8 @@ import org.slf4j.LoggerFactory;
  */
 public class CommunityProfileInTopicListener
 {
-    private static final Logger log = LoggerFactory.getLogger(CommunityProfileOutTopicPublisher.class);
+    private static final Logger       log           = LoggerFactory.getLogger(CommunityProfileOutTopicPublisher.class);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
 
     public CommunityProfileInTopicListener()
@@ -63,7 +64,6 @@ public class CommunityProfileInTopicListener
     class OpenMetadataInboundListener implements OpenMetadataTopicListener
     {
         private CommunityProfileInTopicListener communityProfileInTopicListener;
-        private ObjectMapper                    objectMapper = new ObjectMapper();
 
 
         /**
@@ -86,11 +86,13 @@ public class CommunityProfileInTopicListener
         {
             try
             {
-                CommunityProfileInboundEvent event = objectMapper.readValue(eventPayload, CommunityProfileInboundEvent.class);
+                CommunityProfileInboundEvent event = OBJECT_MAPPER.readValue(eventPayload, CommunityProfileInboundEvent.class);
+
+                communityProfileInTopicListener.processInTopicEvent(event);
             }
             catch (Throwable  exc)
             {
-
+                log.error("Unable to process community profile event: " + eventPayload, exc);
             }
         }
     }
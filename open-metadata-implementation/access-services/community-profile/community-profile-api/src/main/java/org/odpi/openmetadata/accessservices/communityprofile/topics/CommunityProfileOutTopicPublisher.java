@@ -2,7 +2,6 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.accessservices.communityprofile.topics;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.odpi.openmetadata.accessservices.communityprofile.events.*;
 import org.odpi.openmetadata.accessservices.communityprofile.ffdc.CommunityProfileErrorCode;
 import org.odpi.openmetadata.accessservices.communityprofile.properties.PersonalProfile;
@@ -10,18 +9,20 @@ import org.odpi.openmetadata.accessservices.communityprofile.properties.UserIden
 import org.odpi.openmetadata.commonservices.ffdc.InvalidParameterHandler;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
-import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
+import org.odpi.openmetadata.repositoryservices.codec.OMRSJSONCodec;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicEventCoalescer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * CommunityProfileOutTopicPublisher sends events to the Community Profile OMAS Out Topic
+ * CommunityProfileOutTopicPublisher sends events to the Community Profile OMAS Out Topic.  The events that
+ * describe the latest state of a user identity or personal profile may be coalesced so that only the latest
+ * event for each element in each coalescing window is sent.  The other events are always sent.
  */
 public abstract class CommunityProfileOutTopicPublisher
 {
-    private OpenMetadataTopicConnector  openMetadataTopicConnector;
-    private InvalidParameterHandler     invalidParameterHandler;
-    private ObjectMapper                objectMapper = new ObjectMapper();
+    private OpenMetadataTopicEventCoalescer  outTopic;
+    private InvalidParameterHandler          invalidParameterHandler;
 
     private static final Logger log = LoggerFactory.getLogger(CommunityProfileOutTopicPublisher.class);
 
@@ -29,17 +30,26 @@ public abstract class CommunityProfileOutTopicPublisher
     /**
      * Constructor to use the default JSON messages and the Open Metadata Topic Connector.
      *
-     * @param connector initialized OpenMetadataTopicConnector object
+     * @param outTopic coalescer wrapping an initialized OpenMetadataTopicConnector object
      * @param invalidParameterHandler error handler
      */
-    public CommunityProfileOutTopicPublisher(OpenMetadataTopicConnector connector,
-                                             InvalidParameterHandler    invalidParameterHandler)
+    public CommunityProfileOutTopicPublisher(OpenMetadataTopicEventCoalescer outTopic,
+                                             InvalidParameterHandler         invalidParameterHandler)
     {
-        this.openMetadataTopicConnector = connector;
+        this.outTopic = outTopic;
         this.invalidParameterHandler = invalidParameterHandler;
     }
 
 
+    /**
+     * Send any events that are held for the current coalescing window.
+     */
+    public void shutdown()
+    {
+        outTopic.shutdown();
+    }
+
+
     /**
      * Send an event to the Community Profile OMAS Out Topic.
      *
@@ -60,7 +70,7 @@ public abstract class CommunityProfileOutTopicPublisher
         {
             log.debug("Sending Event: " + event.getEventType().getEventTypeName());
 
-            openMetadataTopicConnector.sendEvent(objectMapper.writeValueAsString(event));
+            outTopic.sendEvent(this.getCoalescingKey(event), OMRSJSONCodec.writeValueAsString(event));
 
             log.debug("Event sent: " + event.getEventType().getEventTypeName());
         }
@@ -95,6 +105,39 @@ public abstract class CommunityProfileOutTopicPublisher
     }
 
 
+    /**
+     * Return the key used to coalesce the event.  Only the events that carry the latest state of a user identity
+     * or personal profile are coalesced.  The events about karma points and collections each describe a separate
+     * change so they have no key.
+     *
+     * @param event event to send
+     * @return guid or null
+     */
+    private String getCoalescingKey(CommunityProfileOutboundEvent event)
+    {
+        if (event instanceof UserIdentityOutboundEvent)
+        {
+            UserIdentity userIdentity = ((UserIdentityOutboundEvent) event).getUserIdentity();
+
+            if (userIdentity != null)
+            {
+                return userIdentity.getGUID();
+            }
+        }
+        else if (event.getClass() == PersonalProfileOutboundEvent.class)
+        {
+            PersonalProfile personalProfile = ((PersonalProfileOutboundEvent) event).getPersonalProfile();
+
+            if (personalProfile != null)
+            {
+                return personalProfile.getGUID();
+            }
+        }
+
+        return null;
+    }
+
+
     /**
      * Send an event to the Community Profile OMAS Out Topic.
      *
@@ -13,7 +13,6 @@ import org.odpi.openmetadata.adminservices.ffdc.exception.OMAGConfigurationError
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
 import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicConnector;
-import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicListener;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
 
@@ -23,6 +22,7 @@ public class CommunityProfileAdmin extends AccessServiceAdmin
     private CommunityProfileServicesInstance   instance            = null;
     private String                             serverName          = null;
     private CommunityProfileInTopicProcessor   inTopicProcessor    = null;
+    private CommunityProfileOMRSTopicProcessor omrsTopicProcessor  = null;
 
 
     /**
@@ -97,15 +97,21 @@ public class CommunityProfileAdmin extends AccessServiceAdmin
                                                                    auditLog);
                 }
 
-                OMRSTopicListener omrsTopicProcessor = new CommunityProfileOMRSTopicProcessor(outTopicConnector,
-                                                                                              super.extractKarmaPointIncrement(accessServiceConfig.getAccessServiceOptions(),
-                                                                                                                               accessServiceConfig.getAccessServiceName(),
-                                                                                                                               auditLog),
-                                                                                              accessServiceConfig.getAccessServiceName(),
-                                                                                              serverUserName,
-                                                                                              auditLog.createNewAuditLog(OMRSAuditingComponent.ENTERPRISE_TOPIC_LISTENER),
-                                                                                              repositoryConnector.getRepositoryHelper(),
-                                                                                              instance);
+                omrsTopicProcessor = new CommunityProfileOMRSTopicProcessor(outTopicConnector,
+                                                                            super.extractOutTopicCoalescingWindow(accessServiceConfig.getAccessServiceOptions(),
+                                                                                                                  accessServiceConfig.getAccessServiceName(),
+                                                                                                                  auditLog),
+                                                                            super.extractOutTopicMaxBatchSize(accessServiceConfig.getAccessServiceOptions(),
+                                                                                                              accessServiceConfig.getAccessServiceName(),
+                                                                                                              auditLog),
+                                                                            super.extractKarmaPointIncrement(accessServiceConfig.getAccessServiceOptions(),
+                                                                                                             accessServiceConfig.getAccessServiceName(),
+                                                                                                             auditLog),
+                                                                            accessServiceConfig.getAccessServiceName(),
+                                                                            serverUserName,
+                                                                            auditLog.createNewAuditLog(OMRSAuditingComponent.ENTERPRISE_TOPIC_LISTENER),
+                                                                            repositoryConnector.getRepositoryHelper(),
+                                                                            instance);
 
                 omrsTopicConnector.registerListener(omrsTopicProcessor);
             }
@@ -172,6 +178,11 @@ public class CommunityProfileAdmin extends AccessServiceAdmin
             inTopicProcessor.shutdown();
         }
 
+        if (omrsTopicProcessor != null)
+        {
+            omrsTopicProcessor.shutdown();
+        }
+
         if (instance != null)
         {
             this.instance.shutdown();
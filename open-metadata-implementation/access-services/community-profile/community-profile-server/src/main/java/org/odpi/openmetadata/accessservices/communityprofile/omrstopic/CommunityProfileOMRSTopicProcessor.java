@@ -54,6 +54,8 @@ public class CommunityProfileOMRSTopicProcessor extends OMRSTopicListenerBase
      * along with classes for testing and manipulating instances.
      *
      * @param communityProfileOutTopic  connector to the out topic
+     * @param outTopicCoalescingWindow  number of milliseconds to coalesce the events for each element over; zero means no coalescing
+     * @param outTopicMaxBatchSize  maximum number of events to send to the out topic together; zero means send each separately
      * @param karmaPointIncrement increment for each personal contribution
      * @param serviceName  name of this component
      * @param serverUserId userId for requests originated by this server
@@ -62,6 +64,8 @@ public class CommunityProfileOMRSTopicProcessor extends OMRSTopicListenerBase
      * @param instance  server instance
      */
     public CommunityProfileOMRSTopicProcessor(OpenMetadataTopicConnector        communityProfileOutTopic,
+                                              int                               outTopicCoalescingWindow,
+                                              int                               outTopicMaxBatchSize,
                                               int                               karmaPointIncrement,
                                               String                            serviceName,
                                               String                            serverUserId,
@@ -74,6 +78,8 @@ public class CommunityProfileOMRSTopicProcessor extends OMRSTopicListenerBase
         this.repositoryHelper = repositoryHelper;
 
         publisher = new CommunityProfileOutTopicProcessor(communityProfileOutTopic,
+                                                          outTopicCoalescingWindow,
+                                                          outTopicMaxBatchSize,
                                                           instance.getInvalidParameterHandler(),
                                                           auditLog.createNewAuditLog(OMRSAuditingComponent.ENTERPRISE_TOPIC_LISTENER));
 
@@ -87,6 +93,15 @@ public class CommunityProfileOMRSTopicProcessor extends OMRSTopicListenerBase
     }
 
 
+    /**
+     * Send any events that are held for the current coalescing window.
+     */
+    public void shutdown()
+    {
+        publisher.shutdown();
+    }
+
+
     /**
      * Increment the karma points for an individual if this OMAS is configured to collect karma points.
      *
@@ -12,6 +12,7 @@ import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedExceptio
 import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicEventCoalescer;
 
 
 /**
@@ -24,6 +25,8 @@ import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.Ope
  */
 public class CommunityProfileOutTopicProcessor extends CommunityProfileOutTopicPublisher
 {
+    private static final String publisherName = "Community Profile OMAS";
+
     private InvalidParameterHandler     invalidParameterHandler;
     private OMRSAuditLog                auditLog;
 
@@ -33,14 +36,19 @@ public class CommunityProfileOutTopicProcessor extends CommunityProfileOutTopicP
      * along with classes for testing and manipulating instances.
      *
      * @param connector initialized OpenMetadataTopicConnector object
+     * @param coalescingWindow number of milliseconds to hold events for; zero means send each event immediately
+     * @param maxBatchSize maximum number of events to send to the out topic together; zero means send each separately
      * @param invalidParameterHandler error handler
      * @param auditLog logging destination
      */
     public CommunityProfileOutTopicProcessor(OpenMetadataTopicConnector connector,
+                                             int                        coalescingWindow,
+                                             int                        maxBatchSize,
                                              InvalidParameterHandler    invalidParameterHandler,
                                              OMRSAuditLog               auditLog)
     {
-        super(connector, invalidParameterHandler);
+        super(new OpenMetadataTopicEventCoalescer(connector, publisherName, coalescingWindow, maxBatchSize, auditLog),
+              invalidParameterHandler);
 
         this.invalidParameterHandler = invalidParameterHandler;
         this.auditLog = auditLog;
@@ -61,6 +61,9 @@ public class DataEngineAdmin extends AccessServiceAdmin {
             List<String> defaultZones = this.extractDefaultZones(accessServiceConfig.getAccessServiceOptions(),
                     accessServiceConfig.getAccessServiceName(),
                     auditLog);
+            int maxConcurrentInTopicEvents = this.extractMaxConcurrentInTopicEvents(accessServiceConfig.getAccessServiceOptions(),
+                    accessServiceConfig.getAccessServiceName(),
+                    auditLog);
 
             instance = new DataEngineServicesInstance(repositoryConnector, supportedZones, defaultZones, auditLog,
                     serverUserName, repositoryConnector.getMaxPageSize());
@@ -71,7 +74,7 @@ public class DataEngineAdmin extends AccessServiceAdmin {
             {
 
                 dataEngineInTopicConnector = initializeDataEngineTopicConnector(accessServiceConfig.getAccessServiceInTopic());
-                dataEngineInTopicProcessor = new DataEngineInTopicProcessor(instance, auditLog);
+                dataEngineInTopicProcessor = new DataEngineInTopicProcessor(instance, auditLog, maxConcurrentInTopicEvents);
                 dataEngineInTopicConnector.registerListener(dataEngineInTopicProcessor);
                 dataEngineInTopicConnector.start();
             }
@@ -95,6 +98,10 @@ public class DataEngineAdmin extends AccessServiceAdmin {
     @Override
     public void shutdown() {
 
+        if (dataEngineInTopicProcessor != null) {
+            dataEngineInTopicProcessor.shutdown();
+        }
+
         if (instance != null) {
             instance.shutdown();
         }
@@ -3,8 +3,6 @@
 package org.odpi.openmetadata.accessservices.dataengine.server.intopic;
 
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.collections4.CollectionUtils;
 import org.odpi.openmetadata.accessservices.dataengine.event.DataEngineEventHeader;
 import org.odpi.openmetadata.accessservices.dataengine.event.DataEngineRegistrationEvent;
@@ -19,14 +17,16 @@ import org.odpi.openmetadata.accessservices.dataengine.rest.ProcessListResponse;
 import org.odpi.openmetadata.accessservices.dataengine.server.admin.DataEngineServicesInstance;
 import org.odpi.openmetadata.accessservices.dataengine.server.handlers.DataEngineSchemaTypeHandler;
 import org.odpi.openmetadata.accessservices.dataengine.server.service.DataEngineRESTServices;
+import org.odpi.openmetadata.adminservices.configuration.registration.AccessServiceDescription;
 import org.odpi.openmetadata.commonservices.ffdc.rest.GUIDResponse;
+import org.odpi.openmetadata.commonservices.multitenant.intopic.OMASInTopicDeadLetter;
+import org.odpi.openmetadata.commonservices.multitenant.intopic.OMASInTopicListener;
 import org.odpi.openmetadata.commonservices.multitenant.ffdc.exceptions.NewInstanceException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLogRecordSeverity;
-import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicListener;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,14 +41,13 @@ import static java.util.stream.Collectors.partitioningBy;
 /**
  * The Data Engine in topic processor is listening events from external data engines about
  * metadata changes. It will handle different types of events defined in Data Engine OMAS API module.
+ * The events are decoded and dispatched to the handler for their class by the common OMAS in topic listener.
  */
-public class DataEngineInTopicProcessor implements OpenMetadataTopicListener {
+public class DataEngineInTopicProcessor extends OMASInTopicListener<DataEngineEventHeader> {
 
     private static final Logger log = LoggerFactory.getLogger(DataEngineServicesInstance.class);
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
     private final OMRSAuditLog auditLog;
     private DataEngineServicesInstance instance;
-    private String serverName;
 
     private DataEngineRESTServices dataEngineRESTServices = new DataEngineRESTServices();
 
@@ -56,235 +55,111 @@ public class DataEngineInTopicProcessor implements OpenMetadataTopicListener {
      * The constructor is given the connection to the out topic for Data Engine OMAS
      * along with classes for testing and manipulating instances.
      *
-     * @param instance server instance
-     * @param auditLog audit log
+     * @param instance            server instance
+     * @param auditLog            audit log
+     * @param maxConcurrentEvents number of events processed at the same time, zero to process them on the topic
+     *                            connector's thread
      */
     public DataEngineInTopicProcessor(DataEngineServicesInstance instance,
-                                      OMRSAuditLog auditLog) {
-        super();
+                                      OMRSAuditLog auditLog,
+                                      int maxConcurrentEvents) {
+        super(AccessServiceDescription.DATA_ENGINE_OMAS.getAccessServiceName(), DataEngineEventHeader.class, maxConcurrentEvents);
         this.auditLog = auditLog;
         this.instance = instance;
-    }
-
-    /**
-     * Method to pass an event received on topic.
-     *
-     * @param dataEngineEvent inbound event
-     */
-    @Override
-    public void processEvent(String dataEngineEvent) {
 
-        log.debug("Processing instance event", dataEngineEvent);
-
-        if (dataEngineEvent == null) {
-            log.debug("Null instance event - ignoring event");
-        } else {
-
-            try {
-                this.serverName = instance.getServerName();
-
-                DataEngineEventHeader dataEngineEventHeader = OBJECT_MAPPER.readValue(dataEngineEvent,
-                        DataEngineEventHeader.class);
-
-                if ((dataEngineEventHeader != null)) {
-                    switch (dataEngineEventHeader.getEventType()) {
-
-                        case DATA_ENGINE_REGISTRATION_EVENT:
-                            processDataEngineRegistrationEvent(dataEngineEvent);
-                            break;
-                        case LINEAGE_MAPPINGS_EVENT:
-                            processLineageMappingsEvent(dataEngineEvent);
-                            break;
-                        case PORT_ALIAS_EVENT:
-                            processPortAliasEvent(dataEngineEvent);
-                            break;
-                        case PORT_IMPLEMENTATION_EVENT:
-                            processPortImplementationEvent(dataEngineEvent);
-                            break;
-                        case PROCESS_TO_PORT_LIST_EVENT:
-                            processProcessToPortListEvent(dataEngineEvent);
-                            break;
-                        case PROCESSES_EVENT:
-                            processProcessesEvent(dataEngineEvent);
-                            break;
-                    }
-                } else {
-                    log.debug("Ignored instance event - null Data Engine event type");
-                }
-            } catch (JsonProcessingException | NewInstanceException e) {
-                log.debug("Exception processing event from in Data Engine In Topic", e);
-                DataEngineErrorCode errorCode = DataEngineErrorCode.PROCESS_EVENT_EXCEPTION;
-                auditLog.logException("process Data Engine inTopic Event",
-                        errorCode.getErrorMessageId(),
-                        OMRSAuditLogRecordSeverity.EXCEPTION,
-                        errorCode.getFormattedErrorMessage(dataEngineEvent, e.getMessage()),
-                        e.getMessage(),
-                        errorCode.getSystemAction(),
-                        errorCode.getUserAction(),
-                        e);
-            }
-        }
+        registerEventHandler(DataEngineRegistrationEvent.class, this::processDataEngineRegistrationEvent);
+        registerEventHandler(LineageMappingsEvent.class, this::processLineageMappingsEvent);
+        registerEventHandler(PortAliasEvent.class, this::processPortAliasEvent);
+        registerEventHandler(PortImplementationEvent.class, this::processPortImplementationEvent);
+        registerEventHandler(ProcessToPortListEvent.class, this::processProcessToPortListEvent);
+        registerEventHandler(ProcessesEvent.class, this::processProcessesEvent);
+        registerDeadLetterHandler(this::processDeadLetter);
     }
 
-    private void processDataEngineRegistrationEvent(String dataEngineEvent) {
-
-        final String methodName = "processDataEngineRegistrationEvent";
-        try {
-            DataEngineRegistrationEvent dataEngineRegistrationEvent = OBJECT_MAPPER.readValue(dataEngineEvent,
-                    DataEngineRegistrationEvent.class);
-            instance.getDataEngineRegistrationHandler().createExternalDataEngine(dataEngineRegistrationEvent.getUserId(), dataEngineRegistrationEvent.getSoftwareServerCapability());
-
-        } catch (JsonProcessingException | UserNotAuthorizedException | PropertyServerException | InvalidParameterException e) {
-            log.debug("Exception in parsing DataEngineRegistrationEvent from in Data Engine In Topic", e);
-            DataEngineErrorCode errorCode = DataEngineErrorCode.PARSE_EVENT_EXCEPTION;
-            auditLog.logException(methodName,
-                    errorCode.getErrorMessageId(),
-                    OMRSAuditLogRecordSeverity.EXCEPTION,
-                    errorCode.getFormattedErrorMessage(dataEngineEvent, e.getMessage()),
-                    e.getMessage(),
-                    errorCode.getSystemAction(),
-                    errorCode.getUserAction(),
-                    e);
+    private void processDataEngineRegistrationEvent(DataEngineRegistrationEvent dataEngineRegistrationEvent) throws
+            UserNotAuthorizedException, PropertyServerException, InvalidParameterException {
 
-        }
+        instance.getDataEngineRegistrationHandler().createExternalDataEngine(dataEngineRegistrationEvent.getUserId(),
+                dataEngineRegistrationEvent.getSoftwareServerCapability());
     }
 
-    private void processLineageMappingsEvent(String dataEngineEvent) {
+    private void processLineageMappingsEvent(LineageMappingsEvent lineageMappingsEvent) {
 
         final String methodName = "processLineageMappingsEvent";
-        try {
-            LineageMappingsEvent lineageMappingsEvent = OBJECT_MAPPER.readValue(dataEngineEvent,
-                    LineageMappingsEvent.class);
 
-            log.debug("Calling method: {}", methodName);
+        log.debug("Calling method: {}", methodName);
 
-            if (CollectionUtils.isEmpty(lineageMappingsEvent.getLineageMappings())) {
-                return;
-            }
-            addLineageMappings(lineageMappingsEvent.getUserId(), lineageMappingsEvent.getLineageMappings(),
-                    lineageMappingsEvent.getExternalSourceName());
-        } catch (JsonProcessingException e) {
-            log.debug("Exception in parsing LineageMappingsEvent from in Data Engine In Topic", e);
-            DataEngineErrorCode errorCode = DataEngineErrorCode.PARSE_EVENT_EXCEPTION;
-            auditLog.logException(methodName,
-                    errorCode.getErrorMessageId(),
-                    OMRSAuditLogRecordSeverity.EXCEPTION,
-                    errorCode.getFormattedErrorMessage(dataEngineEvent, e.getMessage()),
-                    e.getMessage(),
-                    errorCode.getSystemAction(),
-                    errorCode.getUserAction(),
-                    e);
+        if (CollectionUtils.isEmpty(lineageMappingsEvent.getLineageMappings())) {
+            return;
         }
+        addLineageMappings(lineageMappingsEvent.getUserId(), lineageMappingsEvent.getLineageMappings(),
+                lineageMappingsEvent.getExternalSourceName());
     }
 
-
-    private void processPortAliasEvent(String dataEngineEvent) {
+    private void processPortAliasEvent(PortAliasEvent portAliasEvent) throws NewInstanceException,
+            PropertyServerException, UserNotAuthorizedException, InvalidParameterException {
 
         final String methodName = "processPortAliasEvent";
-        try {
-            PortAliasEvent portAliasEvent = OBJECT_MAPPER.readValue(dataEngineEvent, PortAliasEvent.class);
-
-            log.debug("Calling method: {}", methodName);
-
-            dataEngineRESTServices.createOrUpdatePortAliasWithDelegation(portAliasEvent.getUserId(),
-                    serverName, portAliasEvent.getPort(), portAliasEvent.getExternalSourceName());
-
-        } catch (JsonProcessingException | PropertyServerException | UserNotAuthorizedException | InvalidParameterException e) {
-            log.debug("Exception in parsing PortAliasEvent from in Data Engine In Topic", e);
-            DataEngineErrorCode errorCode = DataEngineErrorCode.PARSE_EVENT_EXCEPTION;
-            auditLog.logException(methodName,
-                    errorCode.getErrorMessageId(),
-                    OMRSAuditLogRecordSeverity.EXCEPTION,
-                    errorCode.getFormattedErrorMessage(dataEngineEvent, e.getMessage()),
-                    e.getMessage(),
-                    errorCode.getSystemAction(),
-                    errorCode.getUserAction(),
-                    e);
-        }
+
+        log.debug("Calling method: {}", methodName);
+
+        dataEngineRESTServices.createOrUpdatePortAliasWithDelegation(portAliasEvent.getUserId(),
+                instance.getServerName(), portAliasEvent.getPort(), portAliasEvent.getExternalSourceName());
     }
 
-    private void processPortImplementationEvent(String dataEngineEvent) {
+    private void processPortImplementationEvent(PortImplementationEvent portImplementationEvent) throws
+            NewInstanceException, PropertyServerException, UserNotAuthorizedException, InvalidParameterException {
 
         final String methodName = "processPortImplementationEvent";
-        try {
-            PortImplementationEvent portImplementationEvent = OBJECT_MAPPER.readValue(dataEngineEvent,
-                    PortImplementationEvent.class);
-
-            log.debug("Calling method: {}", methodName);
-
-            dataEngineRESTServices.createOrUpdatePortImplementationWithSchemaType(
-                    portImplementationEvent.getUserId(),
-                    serverName,
-                    portImplementationEvent.getPortImplementation(),
-                    portImplementationEvent.getExternalSourceName());
-
-        } catch (JsonProcessingException | PropertyServerException | UserNotAuthorizedException | InvalidParameterException e) {
-            log.debug("Exception in parsing PortImplementationEvent from in Data Engine In Topic", e);
-            DataEngineErrorCode errorCode = DataEngineErrorCode.PARSE_EVENT_EXCEPTION;
-            auditLog.logException(methodName,
-                    errorCode.getErrorMessageId(),
-                    OMRSAuditLogRecordSeverity.EXCEPTION,
-                    errorCode.getFormattedErrorMessage(dataEngineEvent, e.getMessage()),
-                    e.getMessage(),
-                    errorCode.getSystemAction(),
-                    errorCode.getUserAction(),
-                    e);
-        }
+
+        log.debug("Calling method: {}", methodName);
+
+        dataEngineRESTServices.createOrUpdatePortImplementationWithSchemaType(
+                portImplementationEvent.getUserId(),
+                instance.getServerName(),
+                portImplementationEvent.getPortImplementation(),
+                portImplementationEvent.getExternalSourceName());
     }
 
-    private void processProcessToPortListEvent(String dataEngineEvent) {
+    private void processProcessToPortListEvent(ProcessToPortListEvent processToPortListEvent) throws
+            PropertyServerException, UserNotAuthorizedException, InvalidParameterException {
 
         final String methodName = "processProcessToPortListEvent";
-        try {
-            ProcessToPortListEvent processToPortListEvent = OBJECT_MAPPER.readValue(dataEngineEvent,
-                    ProcessToPortListEvent.class);
-
-            log.debug("Calling method: {}", methodName);
-
-            for (String portGUID : processToPortListEvent.getPorts()) {
-                instance.getProcessHandler().addProcessPortRelationship(
-                        processToPortListEvent.getUserId(),
-                        processToPortListEvent.getProcessGUID(),
-                        portGUID,
-                        processToPortListEvent.getExternalSourceName());
-            }
 
-        } catch (JsonProcessingException | PropertyServerException | UserNotAuthorizedException | InvalidParameterException e) {
-            log.debug("Exception in parsing ProcessToPortListEvent from in Data Engine In Topic", e);
-            DataEngineErrorCode errorCode = DataEngineErrorCode.PARSE_EVENT_EXCEPTION;
-            auditLog.logException(methodName,
-                    errorCode.getErrorMessageId(),
-                    OMRSAuditLogRecordSeverity.EXCEPTION,
-                    errorCode.getFormattedErrorMessage(dataEngineEvent, e.getMessage()),
-                    e.getMessage(),
-                    errorCode.getSystemAction(),
-                    errorCode.getUserAction(),
-                    e);
+        log.debug("Calling method: {}", methodName);
+
+        for (String portGUID : processToPortListEvent.getPorts()) {
+            instance.getProcessHandler().addProcessPortRelationship(
+                    processToPortListEvent.getUserId(),
+                    processToPortListEvent.getProcessGUID(),
+                    portGUID,
+                    processToPortListEvent.getExternalSourceName());
         }
     }
 
-    private void processProcessesEvent(String dataEngineEvent) {
+    private void processProcessesEvent(ProcessesEvent processesEvent) throws NewInstanceException {
 
         final String methodName = "processProcessesEvent";
-        try {
-            ProcessesEvent processesEvent = OBJECT_MAPPER.readValue(dataEngineEvent, ProcessesEvent.class);
-
-            createOrUpdateProcesses(processesEvent);
-
-            log.debug("Calling method: {}", methodName);
-
-        } catch (JsonProcessingException e) {
-            log.debug("Exception in parsing event from in Data Engine In Topic", e);
-            DataEngineErrorCode errorCode = DataEngineErrorCode.PARSE_EVENT_EXCEPTION;
-            auditLog.logException(methodName,
-                    errorCode.getErrorMessageId(),
-                    OMRSAuditLogRecordSeverity.EXCEPTION,
-                    errorCode.getFormattedErrorMessage(dataEngineEvent, e.getMessage()),
-                    e.getMessage(),
-                    errorCode.getSystemAction(),
-                    errorCode.getUserAction(),
-                    e);
-        }
+
+        createOrUpdateProcesses(processesEvent, instance.getServerName());
+
+        log.debug("Calling method: {}", methodName);
+    }
+
+    private void processDeadLetter(OMASInTopicDeadLetter deadLetter) {
+
+        DataEngineErrorCode errorCode = deadLetter.isDecoded() ? DataEngineErrorCode.PROCESS_EVENT_EXCEPTION
+                                                               : DataEngineErrorCode.PARSE_EVENT_EXCEPTION;
+        Throwable error = deadLetter.getError();
+
+        auditLog.logException("process Data Engine inTopic Event",
+                errorCode.getErrorMessageId(),
+                OMRSAuditLogRecordSeverity.EXCEPTION,
+                errorCode.getFormattedErrorMessage(deadLetter.getEvent(), error.getMessage()),
+                error.getMessage(),
+                errorCode.getSystemAction(),
+                errorCode.getUserAction(),
+                error);
     }
 
     private void addLineageMappings(String userId, List<LineageMapping> lineageMappings, String externalSouceName) {
@@ -311,7 +186,7 @@ public class DataEngineInTopicProcessor implements OpenMetadataTopicListener {
         });
     }
 
-    private void createOrUpdateProcesses(ProcessesEvent processesEvent) {
+    private void createOrUpdateProcesses(ProcessesEvent processesEvent, String serverName) {
 
 
         final String methodName = "createOrUpdateProcesses";
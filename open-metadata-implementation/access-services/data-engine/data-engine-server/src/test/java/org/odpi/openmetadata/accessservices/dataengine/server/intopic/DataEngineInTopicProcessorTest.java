@@ -0,0 +1,106 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.dataengine.server.intopic;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.odpi.openmetadata.accessservices.dataengine.ffdc.DataEngineErrorCode;
+import org.odpi.openmetadata.accessservices.dataengine.model.SoftwareServerCapability;
+import org.odpi.openmetadata.accessservices.dataengine.server.admin.DataEngineServicesInstance;
+import org.odpi.openmetadata.accessservices.dataengine.server.handlers.DataEngineRegistrationHandler;
+import org.odpi.openmetadata.commonservices.multitenant.intopic.OMASInTopicEventMetrics;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.WARN)
+class DataEngineInTopicProcessorTest {
+    private static final String USER = "user";
+    private static final String QUALIFIED_NAME = "qualifiedName";
+    private static final String REGISTRATION_EVENT = "{\"class\":\"DataEngineRegistrationEvent\"," +
+            "\"eventType\":\"DATA_ENGINE_REGISTRATION_EVENT\",\"userId\":\"" + USER + "\"," +
+            "\"softwareServerCapability\":{\"qualifiedName\":\"" + QUALIFIED_NAME + "\"}}";
+
+    @Mock
+    private DataEngineServicesInstance instance;
+
+    @Mock
+    private DataEngineRegistrationHandler dataEngineRegistrationHandler;
+
+    @Mock
+    private OMRSAuditLog auditLog;
+
+    private DataEngineInTopicProcessor dataEngineInTopicProcessor;
+
+    @BeforeEach
+    void setup() {
+        dataEngineInTopicProcessor = new DataEngineInTopicProcessor(instance, auditLog, 0);
+    }
+
+    @Test
+    void processDataEngineRegistrationEvent() throws InvalidParameterException, PropertyServerException,
+                                                     UserNotAuthorizedException {
+        when(instance.getDataEngineRegistrationHandler()).thenReturn(dataEngineRegistrationHandler);
+
+        dataEngineInTopicProcessor.processEvent(REGISTRATION_EVENT);
+
+        ArgumentCaptor<SoftwareServerCapability> captor = ArgumentCaptor.forClass(SoftwareServerCapability.class);
+        verify(dataEngineRegistrationHandler, times(1)).createExternalDataEngine(eq(USER), captor.capture());
+        assertEquals(QUALIFIED_NAME, captor.getValue().getQualifiedName());
+
+        OMASInTopicEventMetrics metrics = dataEngineInTopicProcessor.getEventMetrics().get("DataEngineRegistrationEvent");
+        assertEquals(1, metrics.getReceivedCount());
+        assertEquals(1, metrics.getProcessedCount());
+        assertEquals(0, metrics.getFailedCount());
+        assertTrue(dataEngineInTopicProcessor.getDeadLetters().isEmpty());
+    }
+
+    @Test
+    void processFailingEvent() throws InvalidParameterException, PropertyServerException, UserNotAuthorizedException {
+        when(instance.getDataEngineRegistrationHandler()).thenReturn(dataEngineRegistrationHandler);
+        when(dataEngineRegistrationHandler.createExternalDataEngine(eq(USER), any(SoftwareServerCapability.class)))
+                .thenThrow(new IllegalStateException("failed"));
+
+        dataEngineInTopicProcessor.processEvent(REGISTRATION_EVENT);
+
+        OMASInTopicEventMetrics metrics = dataEngineInTopicProcessor.getEventMetrics().get("DataEngineRegistrationEvent");
+        assertEquals(1, metrics.getFailedCount());
+        assertEquals(1, dataEngineInTopicProcessor.getDeadLetters().size());
+        assertTrue(dataEngineInTopicProcessor.getDeadLetters().get(0).isDecoded());
+        verify(auditLog, times(1)).logException(any(), eq(DataEngineErrorCode.PROCESS_EVENT_EXCEPTION.getErrorMessageId()),
+                any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void processUnparsableEvent() {
+        dataEngineInTopicProcessor.processEvent("{\"class\":\"UnknownEvent\"}");
+
+        Map<String, OMASInTopicEventMetrics> metrics = dataEngineInTopicProcessor.getEventMetrics();
+        assertEquals(1, metrics.get("DataEngineEventHeader").getFailedCount());
+        assertEquals(1, dataEngineInTopicProcessor.getDeadLetters().size());
+        assertFalse(dataEngineInTopicProcessor.getDeadLetters().get(0).isDecoded());
+        verify(auditLog, times(1)).logException(any(), eq(DataEngineErrorCode.PARSE_EVENT_EXCEPTION.getErrorMessageId()),
+                any(), any(), any(), any(), any(), any());
+        verify(instance, never()).getDataEngineRegistrationHandler();
+    }
+}
@@ -18,7 +18,6 @@ import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLogRecordSever
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
 import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
-import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicListener;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSConfigErrorException;
@@ -36,6 +35,7 @@ public class DataPlatformAdmin extends AccessServiceAdmin
 
     private static final Logger log = LoggerFactory.getLogger(DataPlatformAdmin.class);
     private OpenMetadataTopicConnector dataPlatformInTopicConnector;
+    private DataPlatformInTopicListener dataPlatformInTopicListener = null;
     private OMRSAuditLog auditLog = null;
     private String serverName = null;
     private DataPlatformServicesInstance instance = null;
@@ -86,13 +86,17 @@ public class DataPlatformAdmin extends AccessServiceAdmin
 
             this.serverName=instance.getServerName();
 
+            int maxConcurrentInTopicEvents = this.extractMaxConcurrentInTopicEvents(accessServiceConfig.getAccessServiceOptions(),
+                                                                                    accessServiceConfig.getAccessServiceName(),
+                                                                                    auditLog);
+
             String inTopicName = getTopicName(accessServiceConfig.getAccessServiceInTopic());
             dataPlatformInTopicConnector = initializeDataPlatformTopicConnector(accessServiceConfig.getAccessServiceInTopic());
 
             OMEntityDao omEntityDao = new OMEntityDao(enterpriseConnector, supportedZones, auditLog);
 
             if (dataPlatformInTopicConnector != null) {
-                OpenMetadataTopicListener dataPlatformInTopicListener = new DataPlatformInTopicListener(instance, omEntityDao, auditLog, enterpriseConnector.getRepositoryHelper());
+                dataPlatformInTopicListener = new DataPlatformInTopicListener(instance, omEntityDao, auditLog, enterpriseConnector.getRepositoryHelper(), maxConcurrentInTopicEvents);
                 this.dataPlatformInTopicConnector.registerListener(dataPlatformInTopicListener);
                 startConnector(DataPlatformAuditCode.SERVICE_REGISTERED_WITH_DP_IN_TOPIC, actionDescription, inTopicName, dataPlatformInTopicConnector);
             }
@@ -243,6 +247,9 @@ public class DataPlatformAdmin extends AccessServiceAdmin
                     auditCode.getSystemAction(),
                     auditCode.getUserAction());
         }
+        if (dataPlatformInTopicListener != null) {
+            dataPlatformInTopicListener.shutdown();
+        }
         if (instance != null) {
             instance.shutdown();
         }
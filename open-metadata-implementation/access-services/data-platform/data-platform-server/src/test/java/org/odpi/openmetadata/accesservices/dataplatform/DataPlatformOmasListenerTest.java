@@ -142,7 +142,7 @@ public class DataPlatformOmasListenerTest {
         MockitoAnnotations.initMocks(this);
 
         OMEntityDao omEntityDao = new OMEntityDao(enterpriseConnector, Collections.EMPTY_LIST, auditLog);
-        listener = new DataPlatformInTopicListener(instance,omEntityDao, auditLog,  enterpriseConnector.getRepositoryHelper());
+        listener = new DataPlatformInTopicListener(instance,omEntityDao, auditLog,  enterpriseConnector.getRepositoryHelper(), 0);
         when(enterpriseConnector.getMetadataCollection()).thenReturn(omrsMetadataCollection);
         when(enterpriseConnector.getRepositoryHelper()).thenReturn(helper);
         when(helper.getStringProperty(eq(Constants.DATA_PLATFORM_OMAS_NAME),
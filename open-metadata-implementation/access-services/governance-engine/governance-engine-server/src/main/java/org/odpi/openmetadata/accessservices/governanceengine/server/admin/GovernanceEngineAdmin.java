@@ -72,7 +72,7 @@ public class GovernanceEngineAdmin extends AccessServiceAdmin
                         auditCode.getUserAction());
 
                 GovernanceEngineOMRSTopicListener omrsTopicListener = new GovernanceEngineOMRSTopicListener(governanceEnginePublisher);
-                enterpriseOMRSTopicConnector.registerListener(omrsTopicListener);
+                enterpriseOMRSTopicConnector.registerListener(omrsTopicListener, omrsTopicListener.getSubscription());
             }
 
             auditCode = GovernanceEngineAuditCode.SERVICE_INITIALIZED;
@@ -3,6 +3,8 @@
 package org.odpi.openmetadata.accessservices.governanceengine.server.listeners;
 
 import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicListener;
+import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicSubscription;
+import org.odpi.openmetadata.repositoryservices.events.OMRSEventCategory;
 import org.odpi.openmetadata.repositoryservices.events.OMRSEventOriginator;
 import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
 import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventProcessor;
@@ -12,6 +14,9 @@ import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
+import java.util.Collections;
+
 public class GovernanceEngineOMRSTopicListener implements OMRSTopicListener {
 
     private static final Logger log = LoggerFactory.getLogger(GovernanceEngineOMRSTopicListener.class);
@@ -22,6 +27,25 @@ public class GovernanceEngineOMRSTopicListener implements OMRSTopicListener {
     }
 
 
+    /**
+     * Return the subscription for the events that this listener processes.  The OMRS topic connector uses it
+     * to avoid passing other events to the listener.
+     *
+     * @return subscription for changes to the classifications of entities
+     */
+    public OMRSTopicSubscription getSubscription() {
+        OMRSTopicSubscription subscription = new OMRSTopicSubscription();
+
+        subscription.setEventCategories(Collections.singletonList(OMRSEventCategory.INSTANCE));
+        subscription.setInstanceEventTypes(Arrays.asList(OMRSInstanceEventType.CLASSIFIED_ENTITY_EVENT,
+                OMRSInstanceEventType.RECLASSIFIED_ENTITY_EVENT,
+                OMRSInstanceEventType.DELETED_ENTITY_EVENT,
+                OMRSInstanceEventType.DECLASSIFIED_ENTITY_EVENT));
+
+        return subscription;
+    }
+
+
     /**
      * Registry events are ignored by this OMAS
      *
@@ -29,6 +29,7 @@ import org.slf4j.LoggerFactory;
 public class GovernanceEngineEventProcessor {
 
     private static final Logger log = LoggerFactory.getLogger(GovernanceEngineEventProcessor.class);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
     private OpenMetadataTopicConnector governanceEngineOutputTopic;
     private GovernedAssetHandler governedAssetHandler;
@@ -94,8 +95,7 @@ public class GovernanceEngineEventProcessor {
 
     private void sendEvent(GovernanceEngineEvent event) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            governanceEngineOutputTopic.sendEvent(mapper.writeValueAsString(event));
+            governanceEngineOutputTopic.sendEvent(OBJECT_MAPPER.writeValueAsString(event));
             log.info("[Governance Engine]event send");
         } catch (JsonProcessingException e) {
             log.error("[Governance Engine] Unable to map the json to string");
@@ -16,8 +16,8 @@ import org.odpi.openmetadata.accessservices.informationview.utils.Constants;
 import org.odpi.openmetadata.accessservices.informationview.context.ColumnContextBuilder;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLogRecordSeverity;
-import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopic;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicEventCoalescer;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntitySummary;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceGraph;
@@ -47,7 +47,7 @@ public class EventPublisher extends OMRSInstanceEventProcessor {
     private static final Logger log = LoggerFactory.getLogger(EventPublisher.class);
     private static final String eventPublisherName = "Information View OMAS Event Publisher";
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
-    private OpenMetadataTopic informationViewOutTopicConnector;
+    private OpenMetadataTopicEventCoalescer informationViewOutTopic;
     private OMRSRepositoryConnector enterpriseConnector;
     private ColumnContextBuilder columnContextBuilder;
     private OMRSRepositoryHelper helper;
@@ -55,11 +55,24 @@ public class EventPublisher extends OMRSInstanceEventProcessor {
     private List<String> zones;
 
 
-    public EventPublisher(OpenMetadataTopicConnector informationViewOutTopicConnector, OMRSRepositoryConnector enterpriseConnector, List<String> zones, OMRSAuditLog auditLog) {
+    /**
+     * The events about an element can be coalesced so that only the latest event of each type for the element
+     * in each coalescing window is published.
+     *
+     * @param informationViewOutTopicConnector connector for the out topic
+     * @param coalescingWindow                 number of milliseconds to hold events for; zero means publish each event immediately
+     * @param maxBatchSize                     maximum number of events to send to the out topic together; zero means send each separately
+     * @param enterpriseConnector              connector for retrieving the context of the events
+     * @param zones                            supported zones
+     * @param auditLog                         audit log for errors publishing events
+     */
+    public EventPublisher(OpenMetadataTopicConnector informationViewOutTopicConnector, int coalescingWindow, int maxBatchSize,
+                          OMRSRepositoryConnector enterpriseConnector, List<String> zones, OMRSAuditLog auditLog) {
         super (eventPublisherName);
 
         this.columnContextBuilder = new ColumnContextBuilder(enterpriseConnector);
-        this.informationViewOutTopicConnector = informationViewOutTopicConnector;
+        this.informationViewOutTopic = new OpenMetadataTopicEventCoalescer(informationViewOutTopicConnector, eventPublisherName,
+                coalescingWindow, maxBatchSize, auditLog);
         this.enterpriseConnector  = enterpriseConnector;
         this.helper = enterpriseConnector.getRepositoryHelper();
         this.zones = zones;
@@ -96,7 +109,7 @@ public class EventPublisher extends OMRSInstanceEventProcessor {
         }
         updatedEntityEvent.setType(entity.getType());
         updatedEntityEvent.setGuid(entity.getGUID());
-        sendEvent(updatedEntityEvent);
+        sendEvent(entity.getGUID(), updatedEntityEvent);
 
 
         if( (entity.getType().getTypeDefName().equals(Constants.BUSINESS_TERM) && isRename(oldEntity, entity))){
@@ -290,7 +303,7 @@ public class EventPublisher extends OMRSInstanceEventProcessor {
         List<TableContextEvent> events = null;
         try {
             events = columnContextBuilder.buildContexts(guid);
-            sendColumnContextEvents(events);
+            sendColumnContextEvents(guid, events);
         }
         catch(InformationViewExceptionBase e){
             log.error(e.getMessage(), e);
@@ -464,13 +477,18 @@ public class EventPublisher extends OMRSInstanceEventProcessor {
 
 
     /**
+     * The events are only coalesced when the column has a single context, since otherwise the events
+     * for the column can not be told apart.
+     *
+     * @param columnGuid - unique identifier of the column
      * @param eventList - list of column context events
      * @return true if all events were published, false otherwise
      */
-    private boolean sendColumnContextEvents(List<TableContextEvent> eventList) {
+    private boolean sendColumnContextEvents(String columnGuid, List<TableContextEvent> eventList) {
+        String coalescingGuid = eventList.size() == 1 ? columnGuid : null;
         boolean allSuccessful = true;
         for (TableContextEvent event : eventList) {
-            if (!sendEvent(event)) allSuccessful = false;
+            if (!sendEvent(coalescingGuid, event)) allSuccessful = false;
         }
         return allSuccessful;
     }
@@ -482,6 +500,25 @@ public class EventPublisher extends OMRSInstanceEventProcessor {
      * @return true/false based on the success of the operation
      */
     public boolean sendEvent(InformationViewHeader event) {
+        return sendEvent(null, event);
+    }
+
+    /**
+     * Send any events that are held for the current coalescing window.
+     */
+    public void shutdown() {
+        informationViewOutTopic.shutdown();
+    }
+
+    /**
+     * Returns true if the event was published (or held for the coalescing window) successfully, false otherwise.
+     * The event replaces any event of the same type for the same element that is waiting to be published.
+     *
+     * @param guid  unique identifier of the element that the event is about; null means the event is not coalesced
+     * @param event to be published
+     * @return true/false based on the success of the operation
+     */
+    private boolean sendEvent(String guid, InformationViewHeader event) {
         String actionDescription = "Send New Event";
         boolean successFlag = false;
 
@@ -492,7 +529,9 @@ public class EventPublisher extends OMRSInstanceEventProcessor {
 
         try {
 
-            informationViewOutTopicConnector.sendEvent(OBJECT_MAPPER.writeValueAsString(event));
+            String coalescingKey = guid == null ? null : event.getClass().getSimpleName() + ":" + guid;
+
+            informationViewOutTopic.sendEvent(coalescingKey, OBJECT_MAPPER.writeValueAsString(event));
             successFlag = true;
 
         } catch (Throwable error) {
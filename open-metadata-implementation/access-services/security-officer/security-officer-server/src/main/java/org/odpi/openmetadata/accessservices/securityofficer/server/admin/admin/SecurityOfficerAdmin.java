@@ -27,6 +27,7 @@ public class SecurityOfficerAdmin extends AccessServiceAdmin
     private OMRSAuditLog auditLog;
     private String serverName;
     private SecurityOfficerServicesInstance instance;
+    private SecurityOfficerPublisher securityOfficerPublisher;
 
     /**
      * Initialize the access service.
@@ -58,7 +59,15 @@ public class SecurityOfficerAdmin extends AccessServiceAdmin
             OpenMetadataTopicConnector securityOfficerOutputTopic = initializeSecurityOfficerTopicConnector(accessServiceConfigurationProperties.getAccessServiceOutTopic());
             SecurityOfficerEventProcessor securityOfficerEventProcessor = new SecurityOfficerEventProcessor(enterpriseOMRSRepositoryConnector);
 
-            SecurityOfficerPublisher securityOfficerPublisher = new SecurityOfficerPublisher(securityOfficerEventProcessor, securityOfficerOutputTopic, auditLog);
+            securityOfficerPublisher = new SecurityOfficerPublisher(securityOfficerEventProcessor,
+                    securityOfficerOutputTopic,
+                    super.extractOutTopicCoalescingWindow(accessServiceConfigurationProperties.getAccessServiceOptions(),
+                            accessServiceConfigurationProperties.getAccessServiceName(),
+                            auditLog),
+                    super.extractOutTopicMaxBatchSize(accessServiceConfigurationProperties.getAccessServiceOptions(),
+                            accessServiceConfigurationProperties.getAccessServiceName(),
+                            auditLog),
+                    auditLog);
             this.instance = new SecurityOfficerServicesInstance(enterpriseOMRSRepositoryConnector, securityOfficerPublisher);
             this.serverName = instance.getServerName();
 
@@ -168,6 +177,10 @@ public class SecurityOfficerAdmin extends AccessServiceAdmin
                 auditCode.getSystemAction(),
                 auditCode.getUserAction());
 
+        if (securityOfficerPublisher != null) {
+            securityOfficerPublisher.shutdown();
+        }
+
         if (instance != null) {
             this.instance.shutdown();
         }
@@ -8,12 +8,14 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.odpi.openmetadata.accessservices.securityofficer.api.events.SecurityOfficerEvent;
 import org.odpi.openmetadata.accessservices.securityofficer.api.events.SecurityOfficerTagEvent;
+import org.odpi.openmetadata.accessservices.securityofficer.api.events.SecurityOfficerUpdateTagEvent;
 import org.odpi.openmetadata.accessservices.securityofficer.api.ffdc.errorcode.SecurityOfficerErrorCode;
 import org.odpi.openmetadata.accessservices.securityofficer.server.admin.processor.SecurityOfficerEventProcessor;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLogRecordSeverity;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicEventCoalescer;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceGraph;
@@ -40,15 +42,29 @@ public class SecurityOfficerPublisher extends OMRSInstanceEventProcessor {
     private static final String eventPublisherName = "Security Officer OMAS Event Publisher";
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
     private SecurityOfficerEventProcessor securityOfficerEventProcessor;
-    private OpenMetadataTopicConnector openMetadataTopicConnector;
+    private OpenMetadataTopicEventCoalescer outTopic;
     private OMRSAuditLog auditLog;
 
-    public SecurityOfficerPublisher(SecurityOfficerEventProcessor securityOfficerEventProcessor, OpenMetadataTopicConnector openMetadataTopicConnector, OMRSAuditLog auditLog) {
+    /**
+     * The events for each schema element can be coalesced so that only the latest event for the schema element
+     * in each coalescing window is published.
+     *
+     * @param securityOfficerEventProcessor builds the events
+     * @param openMetadataTopicConnector    connector for the out topic
+     * @param coalescingWindow              number of milliseconds to hold events for; zero means publish each event immediately
+     * @param maxBatchSize                  maximum number of events to send to the out topic together; zero means send each separately
+     * @param auditLog                      audit log for errors publishing events
+     */
+    public SecurityOfficerPublisher(SecurityOfficerEventProcessor securityOfficerEventProcessor, OpenMetadataTopicConnector openMetadataTopicConnector,
+                                    int coalescingWindow, int maxBatchSize, OMRSAuditLog auditLog) {
         super(eventPublisherName);
 
         this.securityOfficerEventProcessor = securityOfficerEventProcessor;
-        this.openMetadataTopicConnector = openMetadataTopicConnector;
         this.auditLog = auditLog;
+
+        if (openMetadataTopicConnector != null) {
+            this.outTopic = new OpenMetadataTopicEventCoalescer(openMetadataTopicConnector, eventPublisherName, coalescingWindow, maxBatchSize, auditLog);
+        }
     }
 
     @Override
@@ -223,10 +239,14 @@ public class SecurityOfficerPublisher extends OMRSInstanceEventProcessor {
     }
 
     public void sendEvent(SecurityOfficerEvent securityOfficerEvent) throws JsonProcessingException {
+        if (outTopic == null) {
+            return;
+        }
+
         String event = OBJECT_MAPPER.writeValueAsString(securityOfficerEvent);
 
         try {
-            openMetadataTopicConnector.sendEvent(event);
+            outTopic.sendEvent(getSchemaElementGUID(securityOfficerEvent), event);
         } catch (ConnectorCheckedException e) {
             log.error("Exception publishing event", e);
             SecurityOfficerErrorCode auditCode = SecurityOfficerErrorCode.PUBLISH_EVENT_EXCEPTION;
@@ -242,6 +262,27 @@ public class SecurityOfficerPublisher extends OMRSInstanceEventProcessor {
         }
     }
 
+    /**
+     * Send any events that are held for the current coalescing window.
+     */
+    public void shutdown() {
+        if (outTopic != null) {
+            outTopic.shutdown();
+        }
+    }
+
+    private String getSchemaElementGUID(SecurityOfficerEvent securityOfficerEvent) {
+        if (securityOfficerEvent instanceof SecurityOfficerTagEvent && ((SecurityOfficerTagEvent) securityOfficerEvent).getSchemaElementEntity() != null) {
+            return ((SecurityOfficerTagEvent) securityOfficerEvent).getSchemaElementEntity().getGuid();
+        }
+
+        if (securityOfficerEvent instanceof SecurityOfficerUpdateTagEvent && ((SecurityOfficerUpdateTagEvent) securityOfficerEvent).getSecuritySchemaElement() != null) {
+            return ((SecurityOfficerUpdateTagEvent) securityOfficerEvent).getSecuritySchemaElement().getGuid();
+        }
+
+        return null;
+    }
+
     private boolean isSchemaElement(InstanceType type) {
         return type.getTypeDefSuperTypes().stream().anyMatch(typeDefLink -> typeDefLink.getName().equals(SCHEMA_ELEMENT));
     }
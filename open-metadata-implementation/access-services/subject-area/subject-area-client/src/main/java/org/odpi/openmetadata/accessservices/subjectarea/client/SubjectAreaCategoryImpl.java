@@ -3,7 +3,7 @@
 package org.odpi.openmetadata.accessservices.subjectarea.client;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.repositoryservices.codec.OMRSJSONCodec;
 import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.category.Category;
 import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.category.SubjectAreaDefinition;
 import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.common.SequencingOrder;
@@ -71,10 +71,9 @@ public class SubjectAreaCategoryImpl extends SubjectAreaBaseImpl implements org.
         InputValidator.validateUserIdNotNull(className,methodName,userId);
         final String url = this.omasServerURL + String.format(BASE_URL,serverName,userId);
         InputValidator.validateUserIdNotNull(className,methodName,userId);
-        ObjectMapper mapper = new ObjectMapper();
         String requestBody = null;
         try {
-            requestBody = mapper.writeValueAsString(suppliedCategory);
+            requestBody = OMRSJSONCodec.writeValueAsString(suppliedCategory);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -501,10 +500,9 @@ public class SubjectAreaCategoryImpl extends SubjectAreaBaseImpl implements org.
         InputValidator.validateUserIdNotNull(className,methodName,userId);
         final String url = this.omasServerURL + String.format(BASE_URL,serverName,userId);
         InputValidator.validateUserIdNotNull(className,methodName,userId);
-        ObjectMapper mapper = new ObjectMapper();
         String requestBody = null;
         try {
-            requestBody = mapper.writeValueAsString(suppliedSubjectAreaDefinition);
+            requestBody = OMRSJSONCodec.writeValueAsString(suppliedSubjectAreaDefinition);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -797,10 +795,9 @@ public class SubjectAreaCategoryImpl extends SubjectAreaBaseImpl implements org.
 
         final String urlTemplate = this.omasServerURL +BASE_URL +"/%s?isReplace=%b";
         String url = String.format(urlTemplate,serverName,userId,guid,isReplace);
-        ObjectMapper mapper = new ObjectMapper();
         String requestBody = null;
         try {
-            requestBody = mapper.writeValueAsString(suppliedCategory);
+            requestBody = OMRSJSONCodec.writeValueAsString(suppliedCategory);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -846,10 +843,9 @@ public class SubjectAreaCategoryImpl extends SubjectAreaBaseImpl implements org.
 
         final String urlTemplate = this.omasServerURL +BASE_URL +"/%s?isReplace=%b";
         String url = String.format(urlTemplate,serverName,userId,guid,isReplace);
-        ObjectMapper mapper = new ObjectMapper();
         String requestBody = null;
         try {
-            requestBody = mapper.writeValueAsString(suppliedSubjectAreaDefinition);
+            requestBody = OMRSJSONCodec.writeValueAsString(suppliedSubjectAreaDefinition);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
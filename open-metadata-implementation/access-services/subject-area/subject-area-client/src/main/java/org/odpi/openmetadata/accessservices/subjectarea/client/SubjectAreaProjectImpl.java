@@ -3,7 +3,7 @@
 package org.odpi.openmetadata.accessservices.subjectarea.client;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.repositoryservices.codec.OMRSJSONCodec;
 import org.odpi.openmetadata.accessservices.subjectarea.ffdc.SubjectAreaErrorCode;
 import org.odpi.openmetadata.accessservices.subjectarea.ffdc.exceptions.*;
 import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.common.SequencingOrder;
@@ -82,10 +82,9 @@ public class SubjectAreaProjectImpl extends SubjectAreaBaseImpl implements org.o
         final String url = this.omasServerURL + String.format(BASE_URL,serverName,userId);
         InputValidator.validateNodeType(className,methodName,suppliedProject.getNodeType(), NodeType.Project,NodeType.GlossaryProject);
         suppliedProject.setNodeType(NodeType.GlossaryProject);
-        ObjectMapper mapper = new ObjectMapper();
         String requestBody = null;
         try {
-            requestBody = mapper.writeValueAsString(suppliedProject);
+            requestBody = OMRSJSONCodec.writeValueAsString(suppliedProject);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -543,10 +542,9 @@ public class SubjectAreaProjectImpl extends SubjectAreaBaseImpl implements org.o
 
         final String urlTemplate = this.omasServerURL +BASE_URL+"/%s?isReplace=%b";
         String url = String.format(urlTemplate,serverName,userId,guid,isReplace);
-        ObjectMapper mapper = new ObjectMapper();
         String requestBody = null;
         try {
-            requestBody = mapper.writeValueAsString(suppliedProject);
+            requestBody = OMRSJSONCodec.writeValueAsString(suppliedProject);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
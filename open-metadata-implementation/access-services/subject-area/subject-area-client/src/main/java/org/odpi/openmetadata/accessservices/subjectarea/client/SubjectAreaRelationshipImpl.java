@@ -3,7 +3,7 @@
 package org.odpi.openmetadata.accessservices.subjectarea.client;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.repositoryservices.codec.OMRSJSONCodec;
 import org.odpi.openmetadata.accessservices.subjectarea.SubjectAreaRelationship;
 import org.odpi.openmetadata.accessservices.subjectarea.ffdc.exceptions.*;
 import org.odpi.openmetadata.accessservices.subjectarea.properties.relationships.*;
@@ -118,10 +118,9 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
         InputValidator.validateUserIdNotNull(className,methodName,userId);
         final String urlTemplate = this.omasServerURL +BASE_RELATIONSHIPS_HASA_URL;
         String url = String.format(urlTemplate,serverName,userId);
-        ObjectMapper mapper = new ObjectMapper();
         String requestBody = null;
         try {
-            requestBody = mapper.writeValueAsString(termHASARelationship);
+            requestBody = OMRSJSONCodec.writeValueAsString(termHASARelationship);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -190,9 +189,8 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
     {
         final String methodName = "updateTermHASARelationship";
         String requestBody = null;
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            requestBody = mapper.writeValueAsString(termHASARelationship);
+            requestBody = OMRSJSONCodec.writeValueAsString(termHASARelationship);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -228,9 +226,8 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
     {
         final String methodName = "replaceTermHASARelationship";
         String requestBody = null;
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            requestBody = mapper.writeValueAsString(termHASARelationship);
+            requestBody = OMRSJSONCodec.writeValueAsString(termHASARelationship);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -375,10 +372,9 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
 
         final String urlTemplate = this.omasServerURL +BASE_RELATIONSHIPS_RELATEDTERM_URL;
         String url = String.format(urlTemplate,serverName,userId);
-        ObjectMapper mapper = new ObjectMapper();
         String requestBody = null;
         try {
-            requestBody = mapper.writeValueAsString(relatedTermRelationship);
+            requestBody = OMRSJSONCodec.writeValueAsString(relatedTermRelationship);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -446,9 +442,8 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
     {
         final String methodName = "updateRelatedTerm";
         String requestBody = null;
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            requestBody = mapper.writeValueAsString(termRelatedTerm);
+            requestBody = OMRSJSONCodec.writeValueAsString(termRelatedTerm);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -480,9 +475,8 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
     {
         final String methodName = "replaceRelatedTerm";
         String requestBody = null;
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            requestBody = mapper.writeValueAsString(termRelatedTerm);
+            requestBody = OMRSJSONCodec.writeValueAsString(termRelatedTerm);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -661,10 +655,9 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
 
         String urlTemplate = this.omasServerURL + BASE_RELATIONSHIPS_SYNONYM_URL;
         String url = String.format(urlTemplate,serverName,userId);
-        ObjectMapper mapper = new ObjectMapper();
         String requestBody = null;
         try {
-            requestBody = mapper.writeValueAsString(synonym);
+            requestBody = OMRSJSONCodec.writeValueAsString(synonym);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -735,9 +728,8 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
                                                                                                                     UnrecognizedGUIDException {
         final String methodName = "updateSynonymRelationship";
         String requestBody = null;
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            requestBody = mapper.writeValueAsString(synonymRelationship);
+            requestBody = OMRSJSONCodec.writeValueAsString(synonymRelationship);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -772,9 +764,8 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
                                                                                                                      UnrecognizedGUIDException {
         final String methodName = "updateSynonymRelationship";
         String requestBody = null;
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            requestBody = mapper.writeValueAsString(synonymRelationship);
+            requestBody = OMRSJSONCodec.writeValueAsString(synonymRelationship);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -922,10 +913,9 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
 
         String urlTemplate = this.omasServerURL + BASE_RELATIONSHIPS_ANTONYM_URL;
         String url = String.format(urlTemplate,serverName,userId);
-        ObjectMapper mapper = new ObjectMapper();
         String requestBody = null;
         try {
-            requestBody = mapper.writeValueAsString(antonym);
+            requestBody = OMRSJSONCodec.writeValueAsString(antonym);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -996,9 +986,8 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
                                                                                                                     UnrecognizedGUIDException {
         final String methodName = "updateAntonymRelationship";
         String requestBody = null;
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            requestBody = mapper.writeValueAsString(antonymRelationship);
+            requestBody = OMRSJSONCodec.writeValueAsString(antonymRelationship);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -1033,9 +1022,8 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
                                                                                                                      UnrecognizedGUIDException{
         final String methodName = "updateAntonymRelationship";
         String requestBody = null;
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            requestBody = mapper.writeValueAsString(antonymRelationship);
+            requestBody = OMRSJSONCodec.writeValueAsString(antonymRelationship);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -1187,10 +1175,9 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
 
         String urlTemplate = this.omasServerURL + BASE_RELATIONSHIPS_TRANSLATION_URL;
         String url = String.format(urlTemplate,serverName,userId);
-        ObjectMapper mapper = new ObjectMapper();
         String requestBody = null;
         try {
-            requestBody = mapper.writeValueAsString(translation);
+            requestBody = OMRSJSONCodec.writeValueAsString(translation);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -1262,9 +1249,8 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
                                                                                                                                     UnrecognizedGUIDException {
         final String methodName = "updateTranslationRelationship";
         String requestBody = null;
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            requestBody = mapper.writeValueAsString(translationRelationship);
+            requestBody = OMRSJSONCodec.writeValueAsString(translationRelationship);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -1299,9 +1285,8 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
                                                                                                                                      UnrecognizedGUIDException{
         final String methodName = "updateTranslationRelationship";
         String requestBody = null;
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            requestBody = mapper.writeValueAsString(translationRelationship);
+            requestBody = OMRSJSONCodec.writeValueAsString(translationRelationship);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -1451,10 +1436,9 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
 
         String urlTemplate = this.omasServerURL + BASE_RELATIONSHIPS_USED_IN_CONTEXT_URL;
         String url = String.format(urlTemplate,serverName,userId);
-        ObjectMapper mapper = new ObjectMapper();
         String requestBody = null;
         try {
-            requestBody = mapper.writeValueAsString(usedInContext);
+            requestBody = OMRSJSONCodec.writeValueAsString(usedInContext);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -1526,9 +1510,8 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
                                                                                                                                             UnrecognizedGUIDException {
         final String methodName = "updateUsedInContextRelationship";
         String requestBody = null;
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            requestBody = mapper.writeValueAsString(usedInContextRelationship);
+            requestBody = OMRSJSONCodec.writeValueAsString(usedInContextRelationship);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -1563,9 +1546,8 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
                                                                                                                                              UnrecognizedGUIDException{
         final String methodName = "updateUsedInContextRelationship";
         String requestBody = null;
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            requestBody = mapper.writeValueAsString(usedInContextRelationship);
+            requestBody = OMRSJSONCodec.writeValueAsString(usedInContextRelationship);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -1712,10 +1694,9 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
 
         String urlTemplate = this.omasServerURL + BASE_RELATIONSHIPS_PREFERRED_TERM_URL;
         String url = String.format(urlTemplate,serverName,userId);
-        ObjectMapper mapper = new ObjectMapper();
         String requestBody = null;
         try {
-            requestBody = mapper.writeValueAsString(preferredTerm);
+            requestBody = OMRSJSONCodec.writeValueAsString(preferredTerm);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -1783,9 +1764,8 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
                                                                                                                                             UnrecognizedGUIDException {
         final String methodName = "updatePreferredTermRelationship";
         String requestBody = null;
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            requestBody = mapper.writeValueAsString(preferredTermRelationship);
+            requestBody = OMRSJSONCodec.writeValueAsString(preferredTermRelationship);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -1820,9 +1800,8 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
                                                                                                                                              UnrecognizedGUIDException{
         final String methodName = "updatePreferredTermRelationship";
         String requestBody = null;
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            requestBody = mapper.writeValueAsString(preferredTermRelationship);
+            requestBody = OMRSJSONCodec.writeValueAsString(preferredTermRelationship);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -1972,10 +1951,9 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
 
         String urlTemplate = this.omasServerURL + BASE_RELATIONSHIPS_VALID_VALUE_URL;
         String url = String.format(urlTemplate,serverName,userId);
-        ObjectMapper mapper = new ObjectMapper();
         String requestBody = null;
         try {
-            requestBody = mapper.writeValueAsString(validValue);
+            requestBody = OMRSJSONCodec.writeValueAsString(validValue);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -2047,9 +2025,8 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
                                                                                                                                 UnrecognizedGUIDException {
         final String methodName = "updateValidValueRelationship";
         String requestBody = null;
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            requestBody = mapper.writeValueAsString(validValueRelationship);
+            requestBody = OMRSJSONCodec.writeValueAsString(validValueRelationship);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -2084,9 +2061,8 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
                                                                                                                                  UnrecognizedGUIDException{
         final String methodName = "updateValidValueRelationship";
         String requestBody = null;
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            requestBody = mapper.writeValueAsString(validValueRelationship);
+            requestBody = OMRSJSONCodec.writeValueAsString(validValueRelationship);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -2232,10 +2208,9 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
 
         String urlTemplate = this.omasServerURL + BASE_RELATIONSHIPS_REPLACEMENT_TERM_URL;
         String url = String.format(urlTemplate,serverName,userId);
-        ObjectMapper mapper = new ObjectMapper();
         String requestBody = null;
         try {
-            requestBody = mapper.writeValueAsString(replacementTerm);
+            requestBody = OMRSJSONCodec.writeValueAsString(replacementTerm);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -2307,9 +2282,8 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
                                                                                                                                                     UnrecognizedGUIDException {
         final String methodName = "updateReplacementTermRelationship";
         String requestBody = null;
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            requestBody = mapper.writeValueAsString(replacementTermRelationship);
+            requestBody = OMRSJSONCodec.writeValueAsString(replacementTermRelationship);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -2344,9 +2318,8 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
                                                                                                                                                      UnrecognizedGUIDException{
         final String methodName = "updateReplacementTermRelationship";
         String requestBody = null;
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            requestBody = mapper.writeValueAsString(replacementTermRelationship);
+            requestBody = OMRSJSONCodec.writeValueAsString(replacementTermRelationship);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -2494,10 +2467,9 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
 
         String urlTemplate = this.omasServerURL + BASE_RELATIONSHIPS_TYPED_BY_URL;
         String url = String.format(urlTemplate,serverName,userId);
-        ObjectMapper mapper = new ObjectMapper();
         String requestBody = null;
         try {
-            requestBody = mapper.writeValueAsString(termTYPEDBYRelationship);
+            requestBody = OMRSJSONCodec.writeValueAsString(termTYPEDBYRelationship);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -2569,9 +2541,8 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
                                                                                                                                                                                     UnrecognizedGUIDException {
         final String methodName = "updateTermTYPEDBYRelationship";
         String requestBody = null;
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            requestBody = mapper.writeValueAsString(termTYPEDBYRelationship);
+            requestBody = OMRSJSONCodec.writeValueAsString(termTYPEDBYRelationship);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -2606,9 +2577,8 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
                                                                                                                                                                                      UnrecognizedGUIDException{
         final String methodName = "updateTermTYPEDBYRelationship";
         String requestBody = null;
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            requestBody = mapper.writeValueAsString(termTYPEDBYRelationship);
+            requestBody = OMRSJSONCodec.writeValueAsString(termTYPEDBYRelationship);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -2754,10 +2724,9 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
 
         String urlTemplate = this.omasServerURL + BASE_RELATIONSHIPS_IS_A_URL;
         String url = String.format(urlTemplate,serverName,userId);
-        ObjectMapper mapper = new ObjectMapper();
         String requestBody = null;
         try {
-            requestBody = mapper.writeValueAsString(isa);
+            requestBody = OMRSJSONCodec.writeValueAsString(isa);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -2829,9 +2798,8 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
                                                                                                                             UnrecognizedGUIDException {
         final String methodName = "updateIsaRelationship";
         String requestBody = null;
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            requestBody = mapper.writeValueAsString(isaRelationship);
+            requestBody = OMRSJSONCodec.writeValueAsString(isaRelationship);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -2866,9 +2834,8 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
                                                                                                                              UnrecognizedGUIDException{
         final String methodName = "updateIsaRelationship";
         String requestBody = null;
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            requestBody = mapper.writeValueAsString(isaRelationship);
+            requestBody = OMRSJSONCodec.writeValueAsString(isaRelationship);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -3015,10 +2982,9 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
 
         String urlTemplate = this.omasServerURL + BASE_RELATIONSHIPS_IS_A_TYPE_OF_URL;
         String url = String.format(urlTemplate,serverName,userId);
-        ObjectMapper mapper = new ObjectMapper();
         String requestBody = null;
         try {
-            requestBody = mapper.writeValueAsString(TermISATypeOFRelationship);
+            requestBody = OMRSJSONCodec.writeValueAsString(TermISATypeOFRelationship);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -3086,9 +3052,8 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
                                                                                                                                                                                             UnrecognizedGUIDException {
         final String methodName = "updateTermISATypeOFRelationship";
         String requestBody = null;
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            requestBody = mapper.writeValueAsString(TermISATypeOFRelationship);
+            requestBody = OMRSJSONCodec.writeValueAsString(TermISATypeOFRelationship);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -3123,9 +3088,8 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
                                                                                                                                                                                              UnrecognizedGUIDException{
         final String methodName = "updateTermISATypeOFRelationship";
         String requestBody = null;
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            requestBody = mapper.writeValueAsString(TermISATypeOFRelationship);
+            requestBody = OMRSJSONCodec.writeValueAsString(TermISATypeOFRelationship);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -3348,10 +3312,9 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
 
         String urlTemplate = this.omasServerURL + BASE_RELATIONSHIPS_TERM_CATEGORIZATION_URL;
         String url = String.format(urlTemplate, serverName, userId);
-        ObjectMapper mapper = new ObjectMapper();
         String requestBody = null;
         try {
-            requestBody = mapper.writeValueAsString(termCategorizationRelationship);
+            requestBody = OMRSJSONCodec.writeValueAsString(termCategorizationRelationship);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className, methodName, error);
         }
@@ -3426,10 +3389,9 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
 
         String urlTemplate = this.omasServerURL + BASE_RELATIONSHIPS_TERM_CATEGORIZATION_URL;
         String url = String.format(urlTemplate, serverName, userId);
-        ObjectMapper mapper = new ObjectMapper();
         String requestBody = null;
         try {
-            requestBody = mapper.writeValueAsString(termCategorizationRelationship);
+            requestBody = OMRSJSONCodec.writeValueAsString(termCategorizationRelationship);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className, methodName, error);
         }
@@ -3470,10 +3432,9 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
         InputValidator.validateUserIdNotNull(className, methodName, userId);
 
         String urlTemplate = this.omasServerURL + BASE_RELATIONSHIPS_TERM_CATEGORIZATION_URL;
-        ObjectMapper mapper = new ObjectMapper();
         String requestBody = null;
         try {
-            requestBody = mapper.writeValueAsString(termCategorizationRelationship);
+            requestBody = OMRSJSONCodec.writeValueAsString(termCategorizationRelationship);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className, methodName, error);
         }
@@ -3630,10 +3591,9 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
 
         String urlTemplate = this.omasServerURL + BASE_RELATIONSHIPS_TERM_ANCHOR_URL;
         String url = String.format(urlTemplate, serverName, userId);
-        ObjectMapper mapper = new ObjectMapper();
         String requestBody = null;
         try {
-            requestBody = mapper.writeValueAsString(termCategorizationRelationship);
+            requestBody = OMRSJSONCodec.writeValueAsString(termCategorizationRelationship);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className, methodName, error);
         }
@@ -3711,10 +3671,9 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
         InputValidator.validateUserIdNotNull(className, methodName, userId);
 
         String urlTemplate = this.omasServerURL + BASE_RELATIONSHIPS_TERM_ANCHOR_URL;
-        ObjectMapper mapper = new ObjectMapper();
         String requestBody = null;
         try {
-            requestBody = mapper.writeValueAsString(termCategorizationRelationship);
+            requestBody = OMRSJSONCodec.writeValueAsString(termCategorizationRelationship);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className, methodName, error);
         }
@@ -3870,10 +3829,9 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
 
         String urlTemplate = this.omasServerURL + BASE_RELATIONSHIPS_CATEGORY_ANCHOR_URL;
         String url = String.format(urlTemplate, serverName, userId);
-        ObjectMapper mapper = new ObjectMapper();
         String requestBody = null;
         try {
-            requestBody = mapper.writeValueAsString(termCategorizationRelationship);
+            requestBody = OMRSJSONCodec.writeValueAsString(termCategorizationRelationship);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className, methodName, error);
         }
@@ -3952,10 +3910,9 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
         InputValidator.validateUserIdNotNull(className, methodName, userId);
 
         String urlTemplate = this.omasServerURL + BASE_RELATIONSHIPS_CATEGORY_ANCHOR_URL;
-        ObjectMapper mapper = new ObjectMapper();
         String requestBody = null;
         try {
-            requestBody = mapper.writeValueAsString(termCategorizationRelationship);
+            requestBody = OMRSJSONCodec.writeValueAsString(termCategorizationRelationship);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className, methodName, error);
         }
@@ -4105,10 +4062,9 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
 
         String urlTemplate = this.omasServerURL + BASE_RELATIONSHIPS_PROJECT_SCOPE_URL;
         String url = String.format(urlTemplate,serverName,userId);
-        ObjectMapper mapper = new ObjectMapper();
         String requestBody = null;
         try {
-            requestBody = mapper.writeValueAsString(projectScope);
+            requestBody = OMRSJSONCodec.writeValueAsString(projectScope);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -4179,9 +4135,8 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
             UnrecognizedGUIDException {
         final String methodName = "updateProjectScopeRelationship";
         String requestBody = null;
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            requestBody = mapper.writeValueAsString(projectScopeRelationship);
+            requestBody = OMRSJSONCodec.writeValueAsString(projectScopeRelationship);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
@@ -4216,9 +4171,8 @@ public class SubjectAreaRelationshipImpl implements SubjectAreaRelationship
             UnrecognizedGUIDException {
         final String methodName = "updateProjectScopeRelationship";
         String requestBody = null;
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            requestBody = mapper.writeValueAsString(ProjectScopeRelationship);
+            requestBody = OMRSJSONCodec.writeValueAsString(ProjectScopeRelationship);
         } catch (JsonProcessingException error) {
             RestCaller.throwJsonParseError(className,methodName,error);
         }
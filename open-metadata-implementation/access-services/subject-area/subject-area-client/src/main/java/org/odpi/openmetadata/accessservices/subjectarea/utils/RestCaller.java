@@ -3,7 +3,7 @@
 package org.odpi.openmetadata.accessservices.subjectarea.utils;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.repositoryservices.codec.OMRSJSONCodec;
 import org.odpi.openmetadata.accessservices.subjectarea.ffdc.SubjectAreaErrorCode;
 import org.odpi.openmetadata.accessservices.subjectarea.ffdc.exceptions.InvalidParameterException;
 import org.odpi.openmetadata.accessservices.subjectarea.ffdc.exceptions.MetadataServerUncontactableException;
@@ -175,10 +175,9 @@ public class RestCaller {
                     errorCode.getUserAction(),
                     error);
         }
-        ObjectMapper mapper = new ObjectMapper();
         try {
             resultBody= sanitize(resultBody);
-            restResponse =  mapper.readValue(resultBody,SubjectAreaOMASAPIResponse.class);
+            restResponse =  OMRSJSONCodec.readValue(resultBody,SubjectAreaOMASAPIResponse.class);
         } catch (IOException ioException) {
             SubjectAreaErrorCode errorCode = SubjectAreaErrorCode.CLIENT_SIDE_API_REST_RESPONSE_ERROR;
             String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(methodName,
@@ -0,0 +1,109 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.avrofile;
+
+import org.apache.avro.AvroRuntimeException;
+import org.apache.avro.file.DataFileReader;
+import org.odpi.openmetadata.adapters.connectors.avrofile.ffdc.AvroFileConnectorErrorCode;
+import org.odpi.openmetadata.adapters.connectors.avrofile.ffdc.exception.FileReadException;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+
+/**
+ * AvroFileRecordReader returns the records of an Avro file, or of one split of an Avro file, in order, one at
+ * a time.  Only the current data block is held in memory.  It is created by AvroFileStoreConnector.openRecordReader()
+ * and must be closed when it is no longer needed.  Several readers can be open on the same file at once, which is
+ * how the splits of a large file are read in parallel.
+ */
+public class AvroFileRecordReader implements Closeable
+{
+    private DataFileReader<Object> reader;
+    private AvroFileSplit          split;
+    private String                 fileStoreName;
+
+
+    /**
+     * Constructor is called by the connector once the file is open and positioned at the first data block.
+     *
+     * @param reader open Avro reader
+     * @param split range of the file to read or null to read to the end of the file
+     * @param fileStoreName name of the file - used in error messages
+     */
+    AvroFileRecordReader(DataFileReader<Object> reader,
+                         AvroFileSplit          split,
+                         String                 fileStoreName)
+    {
+        this.reader = reader;
+        this.split = split;
+        this.fileStoreName = fileStoreName;
+    }
+
+
+    /**
+     * Return the next record.  For files with a record schema, this is a GenericRecord.
+     *
+     * @return record or null if there are no more records
+     * @throws FileReadException unable to read the file.
+     */
+    public Object readNextRecord() throws FileReadException
+    {
+        final String  methodName = "readNextRecord";
+
+        try
+        {
+            if ((! reader.hasNext()) || ((split != null) && (reader.pastSync(split.getEnd()))))
+            {
+                return null;
+            }
+
+            return reader.next();
+        }
+        catch (AvroRuntimeException  error)
+        {
+            AvroFileConnectorErrorCode errorCode = AvroFileConnectorErrorCode.INVALID_AVRO_FILE;
+            String                     errorMessage = errorCode.getErrorMessageId()
+                                                    + errorCode.getFormattedErrorMessage(fileStoreName,
+                                                                                         error.getMessage());
+
+            throw new FileReadException(errorCode.getHTTPErrorCode(),
+                                        this.getClass().getName(),
+                                        methodName,
+                                        errorMessage,
+                                        errorCode.getSystemAction(),
+                                        errorCode.getUserAction(),
+                                        error,
+                                        fileStoreName);
+        }
+        catch (IOException  error)
+        {
+            AvroFileConnectorErrorCode errorCode = AvroFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION;
+            String                     errorMessage = errorCode.getErrorMessageId()
+                                                    + errorCode.getFormattedErrorMessage(fileStoreName,
+                                                                                         error.getMessage());
+
+            throw new FileReadException(errorCode.getHTTPErrorCode(),
+                                        this.getClass().getName(),
+                                        methodName,
+                                        errorMessage,
+                                        errorCode.getSystemAction(),
+                                        errorCode.getUserAction(),
+                                        error,
+                                        fileStoreName);
+        }
+    }
+
+
+    /**
+     * Close the file.
+     *
+     * @throws IOException problem closing the file
+     */
+    @Override
+    public void close() throws IOException
+    {
+        reader.close();
+    }
+}
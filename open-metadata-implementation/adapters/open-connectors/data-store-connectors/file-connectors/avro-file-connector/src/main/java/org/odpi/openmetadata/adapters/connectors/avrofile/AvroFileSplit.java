@@ -0,0 +1,118 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.avrofile;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+
+/**
+ * AvroFileSplit describes a range of bytes in an Avro file.  The records of a split are the records in the data
+ * blocks whose sync marker starts within the range, so the splits returned by AvroFileStore.getSplits() together
+ * cover every record in the file exactly once, even though their boundaries do not line up with the data blocks.
+ */
+public class AvroFileSplit implements Serializable
+{
+    private static final long    serialVersionUID = 1L;
+
+    private long start;
+    private long length;
+
+
+    /**
+     * Constructor
+     *
+     * @param start position of the first byte in the split
+     * @param length number of bytes in the split
+     */
+    public AvroFileSplit(long start,
+                         long length)
+    {
+        this.start = start;
+        this.length = length;
+    }
+
+
+    /**
+     * Return the position of the first byte in the split.
+     *
+     * @return byte offset
+     */
+    public long getStart()
+    {
+        return start;
+    }
+
+
+    /**
+     * Return the number of bytes in the split.
+     *
+     * @return byte count
+     */
+    public long getLength()
+    {
+        return length;
+    }
+
+
+    /**
+     * Return the position of the byte after the split.
+     *
+     * @return byte offset
+     */
+    public long getEnd()
+    {
+        return start + length;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "AvroFileSplit{" +
+                "start=" + start +
+                ", length=" + length +
+                '}';
+    }
+
+
+    /**
+     * Compare the values of the supplied object with those stored in the current object.
+     *
+     * @param objectToCompare supplied object
+     * @return boolean result of comparison
+     */
+    @Override
+    public boolean equals(Object objectToCompare)
+    {
+        if (this == objectToCompare)
+        {
+            return true;
+        }
+        if (objectToCompare == null || getClass() != objectToCompare.getClass())
+        {
+            return false;
+        }
+        AvroFileSplit that = (AvroFileSplit) objectToCompare;
+        return start == that.start &&
+                length == that.length;
+    }
+
+
+    /**
+     * Create a hash code for this element type.
+     *
+     * @return int hash code
+     */
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(start, length);
+    }
+}
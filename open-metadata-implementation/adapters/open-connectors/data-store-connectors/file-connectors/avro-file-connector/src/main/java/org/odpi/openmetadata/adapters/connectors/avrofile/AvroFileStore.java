@@ -0,0 +1,83 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.avrofile;
+
+import org.apache.avro.Schema;
+import org.odpi.openmetadata.adapters.connectors.basicfile.BasicFileStore;
+import org.odpi.openmetadata.adapters.connectors.basicfile.ffdc.exception.FileException;
+import org.odpi.openmetadata.adapters.connectors.avrofile.ffdc.exception.FileReadException;
+
+import java.util.List;
+
+/**
+ * AvroFileStore defines the specific connector api for working with Avro data files.  An Avro data file
+ * stores its schema in its header followed by blocks of records.  Each block starts with the number of
+ * records it holds and ends with a sync marker that is unique to the file.  The sync markers allow a large
+ * file to be divided into splits that are read independently, and in parallel.
+ */
+public interface AvroFileStore extends BasicFileStore
+{
+    /**
+     * Return the schema of the records in the file.
+     *
+     * @return Avro schema
+     * @throws FileException there is a problem accessing the file
+     * @throws FileReadException unable to read the header of the file.
+     */
+    Schema   getSchema() throws FileException, FileReadException;
+
+
+    /**
+     * Return the names of the fields in each record.
+     *
+     * @return list of field names or null if the schema is not a record schema
+     * @throws FileException there is a problem accessing the file
+     * @throws FileReadException unable to read the header of the file.
+     */
+    List<String>  getFieldNames() throws FileException, FileReadException;
+
+
+    /**
+     * Return the number of records in the file.  This is the sum of the record counts in the block headers,
+     * so the records are not decoded.
+     *
+     * @return count
+     * @throws FileException there is a problem accessing the file
+     * @throws FileReadException unable to read the file or the file is not a valid Avro data file.
+     */
+    long     getRecordCount() throws FileException, FileReadException;
+
+
+    /**
+     * Divide the file into splits that can be read in parallel.  Fewer splits are returned for small files.
+     *
+     * @param maxSplits maximum number of splits to return
+     * @return list of splits that together cover the whole file
+     * @throws FileException there is a problem accessing the file
+     */
+    List<AvroFileSplit> getSplits(int  maxSplits) throws FileException;
+
+
+    /**
+     * Return a reader that returns every record in the file in order, one at a time.  The reader must be closed
+     * when it is no longer needed.
+     *
+     * @return record reader positioned at the first record
+     * @throws FileException there is a problem accessing the file
+     * @throws FileReadException unable to open the file.
+     */
+    AvroFileRecordReader openRecordReader() throws FileException, FileReadException;
+
+
+    /**
+     * Return a reader that returns the records of one split of the file in order, one at a time.  The reader must
+     * be closed when it is no longer needed.
+     *
+     * @param split range of the file returned by getSplits()
+     * @return record reader positioned at the first record of the split
+     * @throws FileException there is a problem accessing the file
+     * @throws FileReadException unable to open the file or the split is not within the file.
+     */
+    AvroFileRecordReader openRecordReader(AvroFileSplit split) throws FileException, FileReadException;
+}
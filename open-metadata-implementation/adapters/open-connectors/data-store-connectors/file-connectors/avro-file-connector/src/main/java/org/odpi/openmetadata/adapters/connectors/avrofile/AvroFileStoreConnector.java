@@ -3,16 +3,370 @@
 
 package org.odpi.openmetadata.adapters.connectors.avrofile;
 
+import org.apache.avro.Schema;
+import org.apache.avro.file.DataFileConstants;
+import org.apache.avro.file.DataFileReader;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.DecoderFactory;
+import org.odpi.openmetadata.adapters.connectors.avrofile.ffdc.AvroFileConnectorErrorCode;
+import org.odpi.openmetadata.adapters.connectors.avrofile.ffdc.exception.FileReadException;
 import org.odpi.openmetadata.adapters.connectors.basicfile.BasicFileStoreConnector;
+import org.odpi.openmetadata.adapters.connectors.basicfile.ffdc.exception.FileException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 
 /**
- * AvroFileStoreConnector works with avro files to retrieve simple objects.
+ * AvroFileStoreConnector works with Avro data files.  It returns the schema from the file header, counts the
+ * records from the block headers and reads the records through a streaming reader.  Large files can be divided
+ * into splits at the sync markers between the data blocks so that they can be read in parallel.
  */
-public class AvroFileStoreConnector extends BasicFileStoreConnector
+public class AvroFileStoreConnector extends BasicFileStoreConnector implements AvroFileStore
 {
     private static final Logger log = LoggerFactory.getLogger(AvroFileStoreConnector.class);
 
+    /*
+     * Splits smaller than this are not worth the cost of a separate reader.
+     */
+    private static final long MIN_SPLIT_SIZE = 1024 * 1024;
+
+    private volatile Schema   schema = null;
+
+
+    /**
+     * Return the schema of the records in the file.  The schema is read from the file header the first time
+     * it is requested.
+     *
+     * @return Avro schema
+     * @throws FileException problem accessing the file
+     * @throws FileReadException unable to read the header of the file
+     */
+    public Schema getSchema() throws FileException, FileReadException
+    {
+        final String  methodName = "getSchema";
+
+        if (schema == null)
+        {
+            File fileStore = super.getFile(methodName);
+
+            try (DataFileReader<Object> reader = new DataFileReader<>(fileStore, new GenericDatumReader<>()))
+            {
+                schema = reader.getSchema();
+            }
+            catch (IOException  error)
+            {
+                this.throwReadException(AvroFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION, methodName, error);
+            }
+        }
+
+        return schema;
+    }
+
+
+    /**
+     * Return the names of the fields in each record.
+     *
+     * @return list of field names or null if the schema is not a record schema
+     * @throws FileException problem accessing the file
+     * @throws FileReadException unable to read the header of the file
+     */
+    public List<String> getFieldNames() throws FileException, FileReadException
+    {
+        Schema recordSchema = this.getSchema();
+
+        if ((recordSchema == null) || (recordSchema.getType() != Schema.Type.RECORD))
+        {
+            return null;
+        }
+
+        List<String> fieldNames = new ArrayList<>();
+
+        for (Schema.Field field : recordSchema.getFields())
+        {
+            fieldNames.add(field.name());
+        }
+
+        return fieldNames;
+    }
+
+
+    /**
+     * Return the number of records in the file.  The header of each data block holds the number of records in
+     * the block and the size of the block, so the blocks are skipped rather than decompressed and decoded.
+     *
+     * @return count
+     * @throws FileException problem accessing the file
+     * @throws FileReadException unable to read the file or the file is not a valid Avro data file
+     */
+    public long getRecordCount() throws FileException, FileReadException
+    {
+        final String  methodName = "getRecordCount";
+
+        File fileStore   = super.getFile(methodName);
+        long recordCount = 0;
+
+        try (InputStream inputStream = new FileInputStream(fileStore))
+        {
+            BinaryDecoder decoder = DecoderFactory.get().binaryDecoder(inputStream, null);
+            byte[]        magic   = new byte[DataFileConstants.MAGIC.length];
+
+            decoder.readFixed(magic);
+
+            if (! Arrays.equals(magic, DataFileConstants.MAGIC))
+            {
+                this.throwReadException(AvroFileConnectorErrorCode.INVALID_AVRO_FILE,
+                                        methodName,
+                                        new IOException("Not an Avro data file"));
+            }
+
+            /*
+             * Skip the metadata map that holds the schema and the codec.
+             */
+            for (long entryCount = decoder.readMapStart(); entryCount != 0; entryCount = decoder.mapNext())
+            {
+                for (long i = 0; i < entryCount; i++)
+                {
+                    decoder.skipString();
+                    decoder.skipBytes();
+                }
+            }
+
+            byte[] sync      = new byte[DataFileConstants.SYNC_SIZE];
+            byte[] blockSync = new byte[DataFileConstants.SYNC_SIZE];
+
+            decoder.readFixed(sync);
+
+            while (! decoder.isEnd())
+            {
+                long blockRecordCount = decoder.readLong();
+                long blockSize        = decoder.readLong();
+
+                while (blockSize > Integer.MAX_VALUE)
+                {
+                    decoder.skipFixed(Integer.MAX_VALUE);
+                    blockSize = blockSize - Integer.MAX_VALUE;
+                }
+
+                decoder.skipFixed((int)blockSize);
+                decoder.readFixed(blockSync);
+
+                if (! Arrays.equals(sync, blockSync))
+                {
+                    this.throwReadException(AvroFileConnectorErrorCode.INVALID_AVRO_FILE,
+                                            methodName,
+                                            new IOException("Invalid sync marker after block " + recordCount));
+                }
+
+                recordCount = recordCount + blockRecordCount;
+            }
+        }
+        catch (FileReadException  error)
+        {
+            throw error;
+        }
+        catch (EOFException  error)
+        {
+            this.throwReadException(AvroFileConnectorErrorCode.INVALID_AVRO_FILE, methodName, error);
+        }
+        catch (IOException  error)
+        {
+            this.throwReadException(AvroFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION, methodName, error);
+        }
+
+        return recordCount;
+    }
+
+
+    /**
+     * Divide the file into splits of equal size that can be read in parallel.  Each split is at least 1MB
+     * so fewer splits are returned for small files.
+     *
+     * @param maxSplits maximum number of splits to return
+     * @return list of splits that together cover the whole file
+     * @throws FileException problem accessing the file
+     */
+    public List<AvroFileSplit> getSplits(int  maxSplits) throws FileException
+    {
+        final String  methodName = "getSplits";
+
+        File fileStore  = super.getFile(methodName);
+        long fileLength = fileStore.length();
+        long splitCount = Math.max(1, Math.min(maxSplits, (fileLength + MIN_SPLIT_SIZE - 1) / MIN_SPLIT_SIZE));
+        long splitSize  = (fileLength + splitCount - 1) / splitCount;
+
+        List<AvroFileSplit> splits = new ArrayList<>();
+
+        for (long start = 0; start < fileLength; start = start + splitSize)
+        {
+            splits.add(new AvroFileSplit(start, Math.min(splitSize, fileLength - start)));
+        }
+
+        if (splits.isEmpty())
+        {
+            splits.add(new AvroFileSplit(0, fileLength));
+        }
+
+        log.debug("Avro file " + fileStoreName + " divided into " + splits.size() + " splits");
+
+        return splits;
+    }
+
+
+    /**
+     * Return a reader that returns every record in the file in order, one at a time.  The reader must be closed
+     * when it is no longer needed.
+     *
+     * @return record reader positioned at the first record
+     * @throws FileException problem accessing the file
+     * @throws FileReadException unable to open the file
+     */
+    public AvroFileRecordReader openRecordReader() throws FileException, FileReadException
+    {
+        final String  methodName = "openRecordReader";
+
+        return new AvroFileRecordReader(this.openReader(methodName), null, fileStoreName);
+    }
+
+
+    /**
+     * Return a reader that returns the records of one split of the file in order, one at a time.  The reader
+     * starts at the first sync marker in the split and stops at the first sync marker after the split.
+     * The reader must be closed when it is no longer needed.
+     *
+     * @param split range of the file returned by getSplits()
+     * @return record reader positioned at the first record of the split
+     * @throws FileException problem accessing the file
+     * @throws FileReadException unable to open the file or the split is not within the file
+     */
+    public AvroFileRecordReader openRecordReader(AvroFileSplit split) throws FileException, FileReadException
+    {
+        final String  methodName = "openRecordReader";
+
+        File fileStore = super.getFile(methodName);
+
+        if ((split == null) || (split.getStart() < 0) || (split.getLength() < 0) || (split.getEnd() > fileStore.length()))
+        {
+            AvroFileConnectorErrorCode errorCode = AvroFileConnectorErrorCode.INVALID_SPLIT;
+            String                     errorMessage = errorCode.getErrorMessageId()
+                                                    + errorCode.getFormattedErrorMessage(split == null ? "null" : Long.toString(split.getStart()),
+                                                                                         split == null ? "null" : Long.toString(split.getLength()),
+                                                                                         fileStoreName);
+
+            throw new FileReadException(errorCode.getHTTPErrorCode(),
+                                        this.getClass().getName(),
+                                        methodName,
+                                        errorMessage,
+                                        errorCode.getSystemAction(),
+                                        errorCode.getUserAction(),
+                                        fileStoreName);
+        }
+
+        DataFileReader<Object> reader = this.openReader(methodName);
+
+        try
+        {
+            reader.sync(split.getStart());
+        }
+        catch (IOException  error)
+        {
+            try
+            {
+                reader.close();
+            }
+            catch (IOException  closeError)
+            {
+                log.debug("Ignoring exception closing file " + fileStoreName + ": " + closeError.getMessage());
+            }
+
+            this.throwReadException(AvroFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION, methodName, error);
+        }
+
+        return new AvroFileRecordReader(reader, split, fileStoreName);
+    }
+
+
+    /**
+     * Open the file with an Avro reader positioned at the first data block.
+     *
+     * @param methodName calling method
+     * @return open reader
+     * @throws FileException problem accessing the file
+     * @throws FileReadException unable to open the file
+     */
+    private DataFileReader<Object> openReader(String  methodName) throws FileException, FileReadException
+    {
+        File fileStore = super.getFile(methodName);
+
+        try
+        {
+            DataFileReader<Object> reader = new DataFileReader<>(fileStore, new GenericDatumReader<>());
+
+            if (schema == null)
+            {
+                schema = reader.getSchema();
+            }
+
+            return reader;
+        }
+        catch (IOException  error)
+        {
+            this.throwReadException(AvroFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION, methodName, error);
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Throw a FileReadException based on the supplied error code.
+     *
+     * @param errorCode error code describing the problem
+     * @param methodName calling method
+     * @param caughtException exception that describes the problem
+     * @throws FileReadException exception that is generated
+     */
+    private void throwReadException(AvroFileConnectorErrorCode errorCode,
+                                    String                     methodName,
+                                    Throwable                  caughtException) throws FileReadException
+    {
+        String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(fileStoreName,
+                                                                                                caughtException.getMessage());
+
+        throw new FileReadException(errorCode.getHTTPErrorCode(),
+                                    this.getClass().getName(),
+                                    methodName,
+                                    errorMessage,
+                                    errorCode.getSystemAction(),
+                                    errorCode.getUserAction(),
+                                    caughtException,
+                                    fileStoreName);
+    }
+
+
+    /**
+     * Close the file
+     */
+    public void disconnect()
+    {
+        try
+        {
+            super.disconnect();
+        }
+        catch (Throwable  exec)
+        {
+            log.debug("Ignoring unexpected exception " + exec.getClass().getSimpleName() + " with message " + exec.getMessage());
+        }
+
+        log.debug("Closing Avro File Store");
+    }
 }
@@ -0,0 +1,241 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.avrofile;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.file.CodecFactory;
+import org.apache.avro.file.DataFileWriter;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.odpi.openmetadata.adapters.connectors.avrofile.ffdc.exception.FileReadException;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorType;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.*;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Test that the AvroFileStoreConnector returns the schema, counts and records of an Avro file and that the
+ * records of a file read split by split are the same as the records read in one pass.
+ */
+public class AvroFileStoreConnectorTest
+{
+    private static  String  resourcesDirectory = "target/test-classes/";
+    private static  String  recordsFile        = "Records.avro";
+    private static  String  notAvroFile        = "NotAvro.avro";
+    private static  int     recordCount        = 20000;
+
+
+    @BeforeClass public void createFiles() throws IOException
+    {
+        Schema schema = SchemaBuilder.record("Contact")
+                                     .fields()
+                                     .requiredInt("recId")
+                                     .requiredString("email")
+                                     .optionalString("comment")
+                                     .endRecord();
+
+        new File(resourcesDirectory).mkdirs();
+
+        /*
+         * A small sync interval gives many blocks.
+         */
+        try (DataFileWriter<GenericRecord> writer = new DataFileWriter<>(new GenericDatumWriter<>(schema)))
+        {
+            writer.setCodec(CodecFactory.deflateCodec(6));
+            writer.setSyncInterval(4096);
+            writer.create(schema, new File(resourcesDirectory + recordsFile));
+
+            for (int i = 0; i < recordCount; i++)
+            {
+                GenericRecord record = new GenericData.Record(schema);
+
+                record.put("recId", i);
+                record.put("email", "contact" + i + "@Coco-Pharmaceuticals.com");
+                record.put("comment", (i % 3 == 0) ? null : "Comment " + i);
+
+                writer.append(record);
+            }
+        }
+
+        try (FileWriter writer = new FileWriter(resourcesDirectory + notAvroFile))
+        {
+            writer.write("RecId,EType,Email\n1,C,ZachNow@Coco-Pharmaceuticals.com\n");
+        }
+    }
+
+
+    private ConnectionProperties getConnectionProperties(String   fileName)
+    {
+        final String endpointGUID      = "0c2b4a1d-4ad8-4a57-8b6e-8d3e1f1a9c77";
+        final String connectorTypeGUID = "edacbe33-feb1-4a74-84e8-da249455368d";
+        final String connectionGUID    = "54b8c1c5-5b2e-4bfb-9f3c-3a7b0a4e6d11";
+
+        String endpointName    = "AvroFileStore.Endpoint." + fileName;
+
+        Endpoint endpoint = new Endpoint();
+
+        endpoint.setType(Endpoint.getEndpointType());
+        endpoint.setGUID(endpointGUID);
+        endpoint.setQualifiedName(endpointName);
+        endpoint.setDisplayName(endpointName);
+        endpoint.setAddress(fileName);
+
+        String connectorTypeName = "AvroFileStore.ConnectorType.Test";
+
+        ConnectorType connectorType = new ConnectorType();
+
+        connectorType.setType(ConnectorType.getConnectorTypeType());
+        connectorType.setGUID(connectorTypeGUID);
+        connectorType.setQualifiedName(connectorTypeName);
+        connectorType.setDisplayName(connectorTypeName);
+        connectorType.setConnectorProviderClassName(AvroFileStoreProvider.class.getName());
+
+        String connectionName = "AvroFileStore.Connection.Test";
+
+        Connection connection = new Connection();
+
+        connection.setType(Connection.getConnectionType());
+        connection.setGUID(connectionGUID);
+        connection.setQualifiedName(connectionName);
+        connection.setDisplayName(connectionName);
+        connection.setEndpoint(endpoint);
+        connection.setConnectorType(connectorType);
+
+        return new ConnectionProperties(connection);
+    }
+
+
+    private AvroFileStoreConnector getConnector(String fileName) throws Exception
+    {
+        AvroFileStoreConnector connector = new AvroFileStoreConnector();
+
+        connector.initialize(UUID.randomUUID().toString(), getConnectionProperties(resourcesDirectory + fileName));
+        connector.start();
+
+        return connector;
+    }
+
+
+    private List<Object> readAll(AvroFileRecordReader reader) throws Exception
+    {
+        List<Object> records = new ArrayList<>();
+        Object       record  = reader.readNextRecord();
+
+        while (record != null)
+        {
+            records.add(record);
+            record = reader.readNextRecord();
+        }
+
+        reader.close();
+
+        return records;
+    }
+
+
+    @Test public void testSchemaAndCount() throws Exception
+    {
+        AvroFileStoreConnector connector = getConnector(recordsFile);
+
+        assertEquals(connector.getSchema().getName(), "Contact");
+        assertEquals(connector.getFieldNames(), Arrays.asList("recId", "email", "comment"));
+        assertEquals(connector.getRecordCount(), recordCount);
+
+        connector.disconnect();
+    }
+
+
+    @Test public void testStreamingRead() throws Exception
+    {
+        AvroFileStoreConnector connector = getConnector(recordsFile);
+
+        List<Object> records = readAll(connector.openRecordReader());
+
+        assertEquals(records.size(), recordCount);
+
+        for (int i = 0; i < recordCount; i++)
+        {
+            assertEquals(((GenericRecord)records.get(i)).get("recId"), i);
+        }
+
+        connector.disconnect();
+    }
+
+
+    @Test public void testSplitReads() throws Exception
+    {
+        AvroFileStoreConnector connector = getConnector(recordsFile);
+
+        List<AvroFileSplit> defaultSplits = connector.getSplits(8);
+
+        assertEquals(defaultSplits.size(), 1);
+
+        /*
+         * The test file is smaller than the minimum split size so split it by hand.
+         */
+        long fileLength = new File(resourcesDirectory + recordsFile).length();
+
+        for (int splitCount : new int[]{ 2, 7, 50 })
+        {
+            long         splitSize = (fileLength + splitCount - 1) / splitCount;
+            List<Object> records   = new ArrayList<>();
+
+            for (long start = 0; start < fileLength; start = start + splitSize)
+            {
+                AvroFileSplit split = new AvroFileSplit(start, Math.min(splitSize, fileLength - start));
+
+                records.addAll(readAll(connector.openRecordReader(split)));
+            }
+
+            assertEquals(records.size(), recordCount);
+
+            for (int i = 0; i < recordCount; i++)
+            {
+                assertEquals(((GenericRecord)records.get(i)).get("recId"), i);
+            }
+        }
+
+        try
+        {
+            connector.openRecordReader(new AvroFileSplit(0, fileLength + 1));
+            fail();
+        }
+        catch (FileReadException error)
+        {
+            assertTrue(error.getErrorMessage().startsWith("AVRO-FILE-CONNECTOR-400-001 "));
+        }
+
+        connector.disconnect();
+    }
+
+
+    @Test public void testNotAvroFile() throws Exception
+    {
+        AvroFileStoreConnector connector = getConnector(notAvroFile);
+
+        try
+        {
+            connector.getRecordCount();
+            fail();
+        }
+        catch (FileReadException error)
+        {
+            assertTrue(error.getErrorMessage().startsWith("AVRO-FILE-CONNECTOR-400-002 "));
+        }
+
+        connector.disconnect();
+    }
+}
@@ -0,0 +1,27 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.avrofile;
+
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectorTypeProperties;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Ensures AvroFileStoreProvider correctly initializes its superclass.
+ */
+public class AvroFileStoreProviderTest
+{
+    @Test public void testProviderInitialization()
+    {
+        AvroFileStoreProvider provider = new AvroFileStoreProvider();
+
+        assertTrue(provider.getConnectorClassName().equals(AvroFileStoreConnector.class.getName()));
+
+        ConnectorTypeProperties connectorTypeProperties = provider.getConnectorTypeProperties();
+
+        assertTrue(connectorTypeProperties != null);
+
+        assertTrue(connectorTypeProperties.getConnectorProviderClassName().equals(AvroFileStoreProvider.class.getName()));
+    }
+}
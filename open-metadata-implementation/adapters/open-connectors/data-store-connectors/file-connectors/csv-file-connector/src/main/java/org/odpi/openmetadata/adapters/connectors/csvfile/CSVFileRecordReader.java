@@ -0,0 +1,102 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.csvfile;
+
+import org.odpi.openmetadata.adapters.connectors.csvfile.ffdc.CSVFileConnectorErrorCode;
+import org.odpi.openmetadata.adapters.connectors.csvfile.ffdc.exception.FileReadException;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+
+/**
+ * CSVFileRecordReader returns the data records of a CSV file in order, one at a time.  It reads the file once
+ * from start to end and holds only the current line in memory, so it is the efficient way to process every
+ * record in a large file.  It is created by CSVFileStoreConnector.openRecordReader() and must be closed when
+ * it is no longer needed.  Empty lines are skipped.
+ */
+public class CSVFileRecordReader implements Closeable
+{
+    private CSVFileStoreConnector connector;
+    private BufferedReader        reader;
+    private String                fileStoreName;
+
+
+    /**
+     * Constructor is called by the connector once the file is open and positioned at the first data record.
+     *
+     * @param connector connector that parses the records
+     * @param reader open reader
+     * @param fileStoreName name of the file - used in error messages
+     */
+    CSVFileRecordReader(CSVFileStoreConnector connector,
+                        BufferedReader        reader,
+                        String                fileStoreName)
+    {
+        this.connector = connector;
+        this.reader = reader;
+        this.fileStoreName = fileStoreName;
+    }
+
+
+    /**
+     * Return the next data record.
+     *
+     * @return List of strings, each string is the value from the column, or null if there are no more records.
+     * @throws FileReadException unable to read the file.
+     */
+    public List<String> readNextRecord() throws FileReadException
+    {
+        final String  methodName = "readNextRecord";
+
+        try
+        {
+            String line = reader.readLine();
+
+            while (line != null)
+            {
+                List<String> record = connector.parseRecord(line);
+
+                if (record != null)
+                {
+                    return record;
+                }
+
+                line = reader.readLine();
+            }
+
+            return null;
+        }
+        catch (IOException  error)
+        {
+            CSVFileConnectorErrorCode errorCode = CSVFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION;
+            String                    errorMessage = errorCode.getErrorMessageId()
+                                                   + errorCode.getFormattedErrorMessage(fileStoreName,
+                                                                                        error.getMessage());
+
+            throw new FileReadException(errorCode.getHTTPErrorCode(),
+                                        this.getClass().getName(),
+                                        methodName,
+                                        errorMessage,
+                                        errorCode.getSystemAction(),
+                                        errorCode.getUserAction(),
+                                        error,
+                                        fileStoreName);
+        }
+    }
+
+
+    /**
+     * Close the file.
+     *
+     * @throws IOException problem closing the file
+     */
+    @Override
+    public void close() throws IOException
+    {
+        reader.close();
+    }
+}
@@ -74,4 +74,16 @@ public interface CSVFileStore extends BasicFileStore
      * @throws FileReadException unable to find, open or read the file, or the file does not include the requested record.
      */
     List<String>      readRecord(int  rowNumber) throws FileException, FileReadException;
+
+
+    /**
+     * Return a reader that returns the data records in order, one at a time.  The file is read once from start
+     * to end, so this is the efficient way to process every record in a large file.  The reader must be closed
+     * when it is no longer needed.
+     *
+     * @return record reader positioned at the first data record
+     * @throws FileException there is a problem accessing the file
+     * @throws FileReadException unable to open the file.
+     */
+    CSVFileRecordReader openRecordReader() throws FileException, FileReadException;
 }
@@ -12,7 +12,9 @@ import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileReader;
 import java.io.IOException;
 import java.util.*;
 
@@ -229,6 +231,54 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
     }
 
 
+    /**
+     * Return a reader that returns the data records in order, one at a time.  Unlike readRecord(), which scans
+     * the file from the start on each call, the reader passes through the file once.  The reader must be closed
+     * when it is no longer needed.
+     *
+     * @return record reader positioned at the first data record
+     * @throws FileException problem accessing the file
+     * @throws FileReadException unable to open the file
+     */
+    public CSVFileRecordReader openRecordReader() throws FileException, FileReadException
+    {
+        final String  methodName = "openRecordReader";
+
+        File fileStore = super.getFile(methodName);
+
+        try
+        {
+            BufferedReader reader = new BufferedReader(new FileReader(fileStore));
+
+            if (columnNames == null)
+            {
+                /*
+                 * Skip the column names
+                 */
+                reader.readLine();
+            }
+
+            return new CSVFileRecordReader(this, reader, fileStoreName);
+        }
+        catch (IOException  error)
+        {
+            CSVFileConnectorErrorCode errorCode = CSVFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION;
+            String                    errorMessage = errorCode.getErrorMessageId()
+                                                   + errorCode.getFormattedErrorMessage(fileStoreName,
+                                                                                        error.getMessage());
+
+            throw new FileReadException(errorCode.getHTTPErrorCode(),
+                                        this.getClass().getName(),
+                                        methodName,
+                                        errorMessage,
+                                        errorCode.getSystemAction(),
+                                        errorCode.getUserAction(),
+                                        error,
+                                        fileStoreName);
+        }
+    }
+
+
     /**
      * Return the requested row in the file.  The first record is record 0.
      *
@@ -303,7 +353,7 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
      * @param fileRecord a single record from the CSV file store
      * @return an array of column values extracted from the record
      */
-    private  List<String> parseRecord(String fileRecord)
+    List<String> parseRecord(String fileRecord)
     {
         if ((fileRecord == null) || (fileRecord.isEmpty()))
         {
@@ -10,6 +10,7 @@ import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorTyp
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
 import org.testng.annotations.Test;
 
+import java.io.IOException;
 import java.util.*;
 
 import static org.testng.Assert.assertFalse;
@@ -117,6 +118,23 @@ public class CSVFileStoreConnectorTest
         }
     }
 
+
+    private void streamFile(CSVFileStoreConnector connector) throws FileException,
+                                                                    FileReadException,
+                                                                    IOException
+    {
+        CSVFileRecordReader reader = connector.openRecordReader();
+
+        for (int i=0; i<connector.getRecordCount(); i++)
+        {
+            assertTrue(connector.readRecord(i).equals(reader.readNextRecord()));
+        }
+
+        assertTrue(reader.readNextRecord() == null);
+
+        reader.close();
+    }
+
     @Test public void testSimpleColumns()
     {
         CSVFileStoreConnector connector = new CSVFileStoreConnector();
@@ -131,6 +149,7 @@ public class CSVFileStoreConnectorTest
 
             connector.getFileName();
             scanFile(connector);
+            streamFile(connector);
 
             connector.disconnect();
             assertFalse(connector.isActive());
@@ -155,6 +174,7 @@ public class CSVFileStoreConnectorTest
 
             connector.getFileName();
             scanFile(connector);
+            streamFile(connector);
 
             connector.disconnect();
             assertFalse(connector.isActive());
@@ -196,6 +216,7 @@ public class CSVFileStoreConnectorTest
 
             connector.getFileName();
             scanFile(connector);
+            streamFile(connector);
 
             connector.disconnect();
             assertFalse(connector.isActive());
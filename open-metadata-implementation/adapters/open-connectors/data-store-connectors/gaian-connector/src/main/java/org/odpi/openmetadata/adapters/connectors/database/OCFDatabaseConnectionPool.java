@@ -0,0 +1,629 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+
+package org.odpi.openmetadata.adapters.connectors.database;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * OCFDatabaseConnectionPool is a DataSource that keeps a pool of open JDBC connections to one database url.
+ * A connection returned by getConnection() goes back to the pool when it is closed rather than being closed.
+ * Each pooled connection also keeps a cache of its prepared statements, so preparing the same SQL again on the
+ * same connection reuses the statement rather than sending it to the database to be compiled.
+ *
+ * The number of connections in use at once is limited to the maximum pool size.  When they are all in use,
+ * getConnection() waits up to the connection timeout for one to be returned.
+ *
+ * The pools are shared by all connectors in the JVM that use the same url and pool settings, through getPool().
+ * Each connector gives its pool back with releasePool() when it disconnects, and the pool is closed when the last
+ * connector using it has released it.
+ */
+public class OCFDatabaseConnectionPool implements DataSource {
+    private static final Logger log = LoggerFactory.getLogger(OCFDatabaseConnectionPool.class);
+
+    private static final Map<String, OCFDatabaseConnectionPool> pools = new HashMap<>();
+
+    private String sharedPoolKey = null;   /* guarded by pools */
+    private int sharedPoolUsers = 0;       /* guarded by pools */
+
+    private final String url;
+    private final int maxPoolSize;
+    private final int statementCacheSize;
+    private final long connectionTimeout;
+    private final Semaphore availableConnections;
+    private final LinkedBlockingDeque<PooledConnection> idleConnections = new LinkedBlockingDeque<>();
+    private volatile boolean closed = false;
+
+
+    /**
+     * Return the shared pool for a database url and pool settings, creating it if needed.  Connectors that use
+     * the same url with different settings get different pools.  Each call must be matched by a call to
+     * releasePool().
+     *
+     * @param url database url
+     * @param maxPoolSize maximum number of connections open at once
+     * @param statementCacheSize maximum number of prepared statements cached by each connection
+     * @param connectionTimeout milliseconds to wait for a free connection
+     * @return pool
+     */
+    public static OCFDatabaseConnectionPool getPool(String url, int maxPoolSize, int statementCacheSize, long connectionTimeout) {
+        String poolKey = maxPoolSize + ":" + statementCacheSize + ":" + connectionTimeout + ":" + url;
+
+        synchronized (pools) {
+            OCFDatabaseConnectionPool pool = pools.get(poolKey);
+
+            if (pool == null) {
+                pool = new OCFDatabaseConnectionPool(url, maxPoolSize, statementCacheSize, connectionTimeout);
+                pool.sharedPoolKey = poolKey;
+                pools.put(poolKey, pool);
+            }
+
+            pool.sharedPoolUsers++;
+
+            return pool;
+        }
+    }
+
+
+    /**
+     * Return the shared pool for a database url, creating it with the pool settings from the configuration
+     * properties of a connection.  Settings that are missing or not positive integers take their default values.
+     *
+     * @param url database url
+     * @param configurationProperties configuration properties of the connection - may be null
+     * @return pool
+     */
+    public static OCFDatabaseConnectionPool getPool(String url, Map<String, Object> configurationProperties) {
+        return getPool(url,
+                getPositiveProperty(configurationProperties, OCFDatabaseConnectorProviderBase.maxPoolSizeProperty, OCFDatabaseConnectorProviderBase.defaultMaxPoolSize),
+                getPositiveProperty(configurationProperties, OCFDatabaseConnectorProviderBase.statementCacheSizeProperty, OCFDatabaseConnectorProviderBase.defaultStatementCacheSize),
+                getPositiveProperty(configurationProperties, OCFDatabaseConnectorProviderBase.connectionTimeoutProperty, OCFDatabaseConnectorProviderBase.defaultConnectionTimeout));
+    }
+
+
+    /**
+     * Return the value of an integer configuration property, or the default if it is not set or is not
+     * a positive integer.
+     *
+     * @param configurationProperties configuration properties of the connection - may be null
+     * @param propertyName name of the property
+     * @param defaultValue value to use if the property is not set
+     * @return value
+     */
+    static int getPositiveProperty(Map<String, Object> configurationProperties, String propertyName, int defaultValue) {
+        if (configurationProperties == null) {
+            return defaultValue;
+        }
+
+        Object propertyValue = configurationProperties.get(propertyName);
+
+        if ((propertyValue instanceof Integer) && ((Integer) propertyValue > 0)) {
+            return (Integer) propertyValue;
+        }
+
+        if (propertyValue != null) {
+            log.debug("Ignoring invalid value " + propertyValue + " for connection pool property " + propertyName);
+        }
+
+        return defaultValue;
+    }
+
+
+    /**
+     * Give back a shared pool returned by getPool().  The pool is closed when every caller of getPool() has
+     * released it.  A pool that is not shared is left open.
+     *
+     * @param pool pool returned by getPool()
+     */
+    public static void releasePool(OCFDatabaseConnectionPool pool) {
+        if (pool == null) {
+            return;
+        }
+
+        synchronized (pools) {
+            if (pool.sharedPoolKey == null || pool.sharedPoolUsers <= 0) {
+                return;
+            }
+
+            pool.sharedPoolUsers--;
+
+            if (pool.sharedPoolUsers > 0) {
+                return;
+            }
+
+            pools.remove(pool.sharedPoolKey);
+        }
+
+        log.debug("Closing connection pool for {} as it is no longer used", pool.getSafeURL());
+        pool.close();
+    }
+
+
+    /**
+     * Constructor for a pool that is not shared.
+     *
+     * @param url database url
+     * @param maxPoolSize maximum number of connections open at once
+     * @param statementCacheSize maximum number of prepared statements cached by each connection
+     * @param connectionTimeout milliseconds to wait for a free connection
+     */
+    public OCFDatabaseConnectionPool(String url, int maxPoolSize, int statementCacheSize, long connectionTimeout) {
+        this.url = url;
+        this.maxPoolSize = maxPoolSize;
+        this.statementCacheSize = statementCacheSize;
+        this.connectionTimeout = connectionTimeout;
+        this.availableConnections = new Semaphore(maxPoolSize, true);
+    }
+
+
+    /**
+     * Return a connection from the pool, opening a new one if there are no idle connections.  The connection
+     * must be closed to return it to the pool.
+     *
+     * @return connection
+     * @throws SQLException the pool is closed, no connection became free within the timeout or the database
+     * refused the connection
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("The connection pool for " + getSafeURL() + " is closed");
+        }
+
+        try {
+            if (!availableConnections.tryAcquire(connectionTimeout, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out after " + connectionTimeout + "ms waiting for one of the "
+                        + maxPoolSize + " connections to " + getSafeURL());
+            }
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted waiting for a connection to " + getSafeURL(), error);
+        }
+
+        try {
+            PooledConnection pooledConnection = idleConnections.pollFirst();
+
+            while (pooledConnection != null && !pooledConnection.isUsable()) {
+                pooledConnection.closePhysicalConnection();
+                pooledConnection = idleConnections.pollFirst();
+            }
+
+            if (pooledConnection == null) {
+                pooledConnection = new PooledConnection(DriverManager.getConnection(url));
+                log.debug("Opened new pooled connection to {}", getSafeURL());
+            }
+
+            return pooledConnection.checkOut();
+        } catch (SQLException | RuntimeException error) {
+            availableConnections.release();
+            throw error;
+        }
+    }
+
+
+    /**
+     * Connections in the pool all use the credentials in the url.
+     *
+     * @param username ignored
+     * @param password ignored
+     * @return never
+     * @throws SQLException always
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("The connection pool uses the credentials in the database url");
+    }
+
+
+    /**
+     * Return the number of idle connections in the pool.
+     *
+     * @return count
+     */
+    public int getIdleConnectionCount() {
+        return idleConnections.size();
+    }
+
+
+    /**
+     * Return the number of connections that are checked out of the pool.
+     *
+     * @return count
+     */
+    public int getActiveConnectionCount() {
+        return maxPoolSize - availableConnections.availablePermits();
+    }
+
+
+    /**
+     * Close the idle connections and stop giving out connections.  Connections that are in use are closed when
+     * they are returned.
+     */
+    public void close() {
+        closed = true;
+
+        PooledConnection pooledConnection = idleConnections.pollFirst();
+
+        while (pooledConnection != null) {
+            pooledConnection.closePhysicalConnection();
+            pooledConnection = idleConnections.pollFirst();
+        }
+    }
+
+
+    /**
+     * Return a connection to the pool.
+     *
+     * @param pooledConnection connection that is no longer in use
+     */
+    private void checkIn(PooledConnection pooledConnection) {
+        if (closed || !pooledConnection.isUsable()) {
+            pooledConnection.closePhysicalConnection();
+        } else {
+            idleConnections.offerFirst(pooledConnection);
+        }
+
+        availableConnections.release();
+    }
+
+
+    /**
+     * Return the url without its credentials, for messages.
+     *
+     * @return url
+     */
+    private String getSafeURL() {
+        int parametersStart = url.indexOf(';');
+
+        if (parametersStart < 0) {
+            return url;
+        }
+
+        return url.substring(0, parametersStart);
+    }
+
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return DriverManager.getLogWriter();
+    }
+
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+        DriverManager.setLogWriter(out);
+    }
+
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+        DriverManager.setLoginTimeout(seconds);
+    }
+
+
+    @Override
+    public int getLoginTimeout() {
+        return DriverManager.getLoginTimeout();
+    }
+
+
+    @Override
+    public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException("The connection pool uses slf4j for logging");
+    }
+
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("The connection pool does not implement " + iface.getName());
+    }
+
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+
+    /**
+     * PooledConnection holds one open JDBC connection and its prepared statement cache.  Each time it is checked
+     * out of the pool it is wrapped in a new proxy, so a caller that keeps a connection after closing it can not
+     * use it again.  A caller may still close a statement after the connection has gone back to the pool and been
+     * checked out by another thread, so the statement cache is only used while holding the lock on this object.
+     */
+    private class PooledConnection {
+        private final Connection physicalConnection;
+        private final Map<String, PreparedStatement> statementCache;
+
+
+        /**
+         * Constructor
+         *
+         * @param physicalConnection open connection to the database
+         */
+        PooledConnection(Connection physicalConnection) {
+            this.physicalConnection = physicalConnection;
+            this.statementCache = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                    if (size() > statementCacheSize) {
+                        closeQuietly(eldest.getValue());
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+
+        /**
+         * Return a proxy for the connection that returns it to the pool when it is closed.
+         *
+         * @return connection proxy
+         */
+        Connection checkOut() {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new ConnectionHandler(this));
+        }
+
+
+        /**
+         * Return whether the connection can be given out again.
+         *
+         * @return boolean
+         */
+        boolean isUsable() {
+            try {
+                return !physicalConnection.isClosed();
+            } catch (SQLException error) {
+                return false;
+            }
+        }
+
+
+        /**
+         * Return a cached prepared statement for the SQL, or prepare a new one.  A cached statement is removed from
+         * the cache while it is in use so it is never given out twice.
+         *
+         * @param sql SQL to prepare
+         * @return open prepared statement
+         * @throws SQLException the database rejected the SQL
+         */
+        PreparedStatement takeStatement(String sql) throws SQLException {
+            PreparedStatement statement;
+
+            synchronized (this) {
+                statement = statementCache.remove(sql);
+            }
+
+
+            if (statement != null && !statement.isClosed()) {
+                return statement;
+            }
+
+            return physicalConnection.prepareStatement(sql);
+        }
+
+
+        /**
+         * Put a prepared statement back in the cache once the caller has closed it.
+         *
+         * @param sql SQL of the statement
+         * @param statement open prepared statement
+         */
+        void returnStatement(String sql, PreparedStatement statement) {
+            try {
+                statement.clearParameters();
+                statement.clearBatch();
+            } catch (SQLException error) {
+                closeQuietly(statement);
+                return;
+            }
+
+            synchronized (this) {
+                if (statementCacheSize > 0 && !statementCache.containsKey(sql)) {
+                    statementCache.put(sql, statement);
+                    return;
+                }
+            }
+
+            closeQuietly(statement);
+        }
+
+
+        /**
+         * Reset the connection once the caller has finished with it.
+         */
+        void reset() {
+            try {
+                if (!physicalConnection.getAutoCommit()) {
+                    physicalConnection.rollback();
+                    physicalConnection.setAutoCommit(true);
+                }
+            } catch (SQLException error) {
+                log.debug("Unable to reset pooled connection; it will be closed", error);
+                closePhysicalConnection();
+            }
+        }
+
+
+        /**
+         * Close the cached statements and the connection.
+         */
+        void closePhysicalConnection() {
+            synchronized (this) {
+                Iterator<PreparedStatement> statements = statementCache.values().iterator();
+
+                while (statements.hasNext()) {
+                    closeQuietly(statements.next());
+                    statements.remove();
+                }
+            }
+
+            try {
+                physicalConnection.close();
+            } catch (SQLException error) {
+                log.debug("Ignoring error closing pooled connection", error);
+            }
+        }
+
+
+        /**
+         * Close a statement, ignoring any error.
+         *
+         * @param statement statement to close
+         */
+        private void closeQuietly(PreparedStatement statement) {
+            try {
+                statement.close();
+            } catch (SQLException error) {
+                log.debug("Ignoring error closing cached statement", error);
+            }
+        }
+    }
+
+
+    /**
+     * ConnectionHandler implements the connection proxy given to callers.  close() returns the connection to the
+     * pool and prepareStatement(sql) uses the statement cache.  Other methods are passed to the real connection.
+     * Only the first call to close() returns the connection, even when several threads close it at once.
+     */
+    private class ConnectionHandler implements InvocationHandler {
+        private final PooledConnection pooledConnection;
+        private final AtomicBoolean logicallyClosed = new AtomicBoolean(false);
+
+
+        ConnectionHandler(PooledConnection pooledConnection) {
+            this.pooledConnection = pooledConnection;
+        }
+
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String methodName = method.getName();
+
+            switch (methodName) {
+                case "close":
+                    if (logicallyClosed.compareAndSet(false, true)) {
+                        pooledConnection.reset();
+                        checkIn(pooledConnection);
+                    }
+                    return null;
+                case "isClosed":
+                    return logicallyClosed.get() || pooledConnection.physicalConnection.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection(" + getSafeURL() + ")";
+                default:
+                    break;
+            }
+
+            if (logicallyClosed.get()) {
+                throw new SQLException("The connection has been returned to the pool");
+            }
+
+            if ("prepareStatement".equals(methodName) && args.length == 1) {
+                String sql = (String) args[0];
+                PreparedStatement statement = pooledConnection.takeStatement(sql);
+
+                return Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                        new Class<?>[]{PreparedStatement.class},
+                        new StatementHandler(pooledConnection, sql, statement, (Connection) proxy));
+            }
+
+            try {
+                return method.invoke(pooledConnection.physicalConnection, args);
+            } catch (InvocationTargetException error) {
+                throw error.getCause();
+            }
+        }
+    }
+
+
+    /**
+     * StatementHandler implements the prepared statement proxy given to callers.  close() puts the statement
+     * back in the connection's statement cache rather than closing it, unless the caller has already returned
+     * the connection to the pool, in which case the statement is closed.
+     */
+    private class StatementHandler implements InvocationHandler {
+        private final PooledConnection pooledConnection;
+        private final String sql;
+        private final PreparedStatement statement;
+        private final Connection connectionProxy;
+        private boolean logicallyClosed = false;
+
+
+        StatementHandler(PooledConnection pooledConnection, String sql, PreparedStatement statement, Connection connectionProxy) {
+            this.pooledConnection = pooledConnection;
+            this.sql = sql;
+            this.statement = statement;
+            this.connectionProxy = connectionProxy;
+        }
+
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!logicallyClosed) {
+                        logicallyClosed = true;
+                        if (connectionProxy.isClosed()) {
+                            pooledConnection.closeQuietly(statement);
+                        } else {
+                            pooledConnection.returnStatement(sql, statement);
+                        }
+                    }
+                    return null;
+                case "isClosed":
+                    return logicallyClosed || statement.isClosed();
+                case "getConnection":
+                    return connectionProxy;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return statement.toString();
+                default:
+                    break;
+            }
+
+            if (logicallyClosed) {
+                throw new SQLException("The statement has been closed");
+            }
+
+            try {
+                return method.invoke(statement, args);
+            } catch (InvocationTargetException error) {
+                throw error.getCause();
+            }
+        }
+    }
+}
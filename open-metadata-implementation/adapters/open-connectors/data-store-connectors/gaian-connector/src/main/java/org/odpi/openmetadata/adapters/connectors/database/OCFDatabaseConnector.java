@@ -2,12 +2,15 @@
 
 package org.odpi.openmetadata.adapters.connectors.database;
 
+import org.odpi.openmetadata.adapters.connectors.database.ffdc.OCFDatabaseConnectorErrorCode;
 import org.odpi.openmetadata.frameworks.connectors.ConnectorBase;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectionCheckedException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.frameworks.connectors.properties.AdditionalProperties;
 
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
 
 /**
@@ -45,6 +48,8 @@ public abstract class OCFDatabaseConnector extends ConnectorBase {
     protected String proxyPwd;
     //create true or not when connect to Gaian
     protected boolean create;
+    //statement used by the last call to executePreparedQuery
+    protected PreparedStatement sqlPreparedStatement = null;
 
     /**
      * default constructor
@@ -144,6 +149,71 @@ public abstract class OCFDatabaseConnector extends ConnectorBase {
      */
     public abstract ResultSet executeQuery(String query) throws ConnectorCheckedException;
 
+    /**
+     * execute a query with parameter markers to get data.  The values are passed to the database separately
+     * from the query rather than being added to the query text.  The results stay open until the next call
+     * to executePreparedQuery or disconnect.
+     * @param query the query with a ? for each parameter
+     * @param parameters the values of the parameters, in order
+     * @return the data
+     * @throws ConnectorCheckedException if there are exceptions when execute the query
+     */
+    public ResultSet executePreparedQuery(String query, Object... parameters) throws ConnectorCheckedException {
+        final String methodName = "executePreparedQuery";
+
+        if (query == null || query.equals("") || this.getSqlConnection() == null) {
+            OCFDatabaseConnectorErrorCode errorCode = OCFDatabaseConnectorErrorCode.NOT_VALID_QUERY;
+            String errorMessage = errorCode.getErrorMessageId()
+                    + errorCode.getFormattedErrorMessage(methodName, this.getClass().getName());
+
+            throw new ConnectorCheckedException(errorCode.getHTTPErrorCode(),
+                    this.getClass().getName(),
+                    methodName,
+                    errorMessage,
+                    errorCode.getSystemAction(),
+                    errorCode.getUserAction());
+        }
+
+        try {
+            closePreparedStatement();
+
+            sqlPreparedStatement = this.getSqlConnection().prepareStatement(query);
+
+            for (int i = 0; i < parameters.length; i++) {
+                sqlPreparedStatement.setObject(i + 1, parameters[i]);
+            }
+
+            this.setSqlResults(sqlPreparedStatement.executeQuery());
+        } catch (SQLException e) {
+            OCFDatabaseConnectorErrorCode errorCode = OCFDatabaseConnectorErrorCode.QUERY_EXECUTION_FAIL;
+            String errorMessage = errorCode.getErrorMessageId()
+                    + errorCode.getFormattedErrorMessage(methodName, this.getClass().getName());
+
+            throw new ConnectorCheckedException(errorCode.getHTTPErrorCode(),
+                    this.getClass().getName(),
+                    methodName,
+                    errorMessage,
+                    errorCode.getSystemAction(),
+                    errorCode.getUserAction(),
+                    e);
+        }
+
+        return this.getSqlResults();
+    }
+
+    /**
+     * close the statement used by the last prepared query.
+     * @throws SQLException if the statement can not be closed
+     */
+    protected void closePreparedStatement() throws SQLException {
+        if (sqlPreparedStatement != null) {
+            PreparedStatement statement = sqlPreparedStatement;
+
+            sqlPreparedStatement = null;
+            statement.close();
+        }
+    }
+
 
     public String getUrl() {
         return url;
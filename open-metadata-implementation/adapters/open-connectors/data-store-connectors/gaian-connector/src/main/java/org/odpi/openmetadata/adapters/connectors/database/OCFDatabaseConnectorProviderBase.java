@@ -10,8 +10,20 @@ import org.odpi.openmetadata.frameworks.connectors.ConnectorProviderBase;
  * OCFDatabaseConnectorProviderBase must initialize ConnectorProviderBase with the Java class
  * name of the OCF Database Connector implementation (by calling super.setConnectorClassName(className)).
  * Then the connector provider will work.
+ *
+ * Connectors that borrow JDBC connections from an OCFDatabaseConnectionPool set the size of the pool,
+ * the number of prepared statements cached by each connection and the time to wait for a free connection
+ * with the configuration properties below.
  */
 public abstract class OCFDatabaseConnectorProviderBase extends ConnectorProviderBase {
+    public static final String maxPoolSizeProperty = "maxPoolSize";
+    public static final String statementCacheSizeProperty = "statementCacheSize";
+    public static final String connectionTimeoutProperty = "connectionTimeout";
+
+    public static final int defaultMaxPoolSize = 10;
+    public static final int defaultStatementCacheSize = 50;
+    public static final int defaultConnectionTimeout = 30000;
+
     /**
      * Default Constructor
      */
@@ -16,6 +16,8 @@ import java.sql.SQLException;
 
 /**
  * A GaianOCFConnector is a connector to Gaian. It will connect to Gaian, execute the query.
+ * The connector opens its own connection when it connects, rather than borrowing one from a pool, because the
+ * connection and the results of its queries are handed to the caller and stay in use until the connector disconnects.
  */
 
 public class GaianOCFConnector extends OCFDatabaseConnector {
@@ -221,7 +223,7 @@ public class GaianOCFConnector extends OCFDatabaseConnector {
     }
 
     /**
-     * disconnect all the connections to the database
+     * close the statements and results and disconnect the connection to the database
      * @throws ConnectorCheckedException if there are exceptions when execute the query
      */
     @Override
@@ -235,10 +237,14 @@ public class GaianOCFConnector extends OCFDatabaseConnector {
             if(this.getSqlResults()!=null){
                 this.getSqlResults().close();
             }
+            closePreparedStatement();
             if (this.getSqlConnection() != null)
             {
                 this.getSqlConnection().close();
             }
+            this.setSqlStatement(null);
+            this.setSqlResults(null);
+            this.setSqlConnection(null);
             if (log.isDebugEnabled())
             {
                 log.debug("disconnect successfully");
@@ -0,0 +1,386 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+
+package org.odpi.openmetadata.adapters.connectors.database;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test the connection pool against a stub JDBC driver that counts the connections it opens and the
+ * statements it prepares.
+ */
+public class OCFDatabaseConnectionPoolTest {
+
+    private static final String urlPrefix = "jdbc:ocfpooltest:";
+
+    private final AtomicInteger openedConnections = new AtomicInteger();
+    private final AtomicInteger closedConnections = new AtomicInteger();
+    private final AtomicInteger preparedStatements = new AtomicInteger();
+    private StubDriver driver;
+
+    @BeforeClass
+    public void registerDriver() throws SQLException {
+        driver = new StubDriver();
+        DriverManager.registerDriver(driver);
+    }
+
+    @AfterClass
+    public void deregisterDriver() throws SQLException {
+        DriverManager.deregisterDriver(driver);
+    }
+
+    @Test
+    void connectionsAreReused() throws Exception {
+        OCFDatabaseConnectionPool pool = new OCFDatabaseConnectionPool(urlPrefix + "reuse", 2, 10, 1000);
+        int opened = openedConnections.get();
+
+        Connection first = pool.getConnection();
+        first.close();
+        assertTrue(first.isClosed());
+
+        Connection second = pool.getConnection();
+        assertEquals(openedConnections.get(), opened + 1);
+        assertEquals(pool.getActiveConnectionCount(), 1);
+        second.close();
+
+        assertEquals(pool.getIdleConnectionCount(), 1);
+        assertEquals(pool.getActiveConnectionCount(), 0);
+
+        try {
+            first.createStatement();
+            fail();
+        } catch (SQLException e) {
+            assertTrue(e.getMessage().contains("returned to the pool"));
+        }
+
+        int closed = closedConnections.get();
+        pool.close();
+        assertEquals(closedConnections.get(), closed + 1);
+    }
+
+    @Test
+    void statementsAreCached() throws Exception {
+        OCFDatabaseConnectionPool pool = new OCFDatabaseConnectionPool(urlPrefix + "statements", 1, 2, 1000);
+        int prepared = preparedStatements.get();
+
+        for (int i = 0; i < 5; i++) {
+            try (Connection connection = pool.getConnection();
+                 PreparedStatement statement = connection.prepareStatement("call setlt(?,?,?)")) {
+                statement.setString(1, "LT" + i);
+                assertSame(statement.getConnection(), connection);
+            }
+        }
+        assertEquals(preparedStatements.get(), prepared + 1);
+
+        /*
+         * The same SQL prepared twice on one connection gives two statements.
+         */
+        try (Connection connection = pool.getConnection();
+             PreparedStatement statement1 = connection.prepareStatement("call removelt(?)");
+             PreparedStatement statement2 = connection.prepareStatement("call removelt(?)")) {
+            assertNotSame(statement1, statement2);
+        }
+        assertEquals(preparedStatements.get(), prepared + 3);
+
+        /*
+         * The cache holds two statements so the least recently used one is closed.
+         */
+        try (Connection connection = pool.getConnection();
+             PreparedStatement statement = connection.prepareStatement("call setltfornode(?,?)")) {
+            statement.clearParameters();
+        }
+        try (Connection connection = pool.getConnection();
+             PreparedStatement statement = connection.prepareStatement("call setlt(?,?,?)")) {
+            statement.clearParameters();
+        }
+        assertEquals(preparedStatements.get(), prepared + 5);
+
+        pool.close();
+    }
+
+    @Test
+    void poolSizeIsBounded() throws Exception {
+        OCFDatabaseConnectionPool pool = new OCFDatabaseConnectionPool(urlPrefix + "bounded", 2, 10, 100);
+
+        Connection first = pool.getConnection();
+        Connection second = pool.getConnection();
+
+        try {
+            pool.getConnection();
+            fail();
+        } catch (SQLException e) {
+            assertTrue(e.getMessage().startsWith("Timed out"));
+        }
+
+        second.close();
+        pool.getConnection().close();
+        first.close();
+
+        /*
+         * Many threads share the two connections.
+         */
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger maxActive = new AtomicInteger();
+        OCFDatabaseConnectionPool sharedPool = new OCFDatabaseConnectionPool(urlPrefix + "shared", 2, 10, 5000);
+        Future<?>[] results = new Future<?>[8];
+
+        for (int i = 0; i < results.length; i++) {
+            results[i] = executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < 50; j++) {
+                    try (Connection connection = sharedPool.getConnection()) {
+                        maxActive.accumulateAndGet(sharedPool.getActiveConnectionCount(), Math::max);
+                        connection.prepareStatement("call setlt(?,?,?)").close();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertTrue(maxActive.get() <= 2);
+        assertEquals(sharedPool.getActiveConnectionCount(), 0);
+        assertTrue(sharedPool.getIdleConnectionCount() <= 2);
+
+        sharedPool.close();
+        pool.close();
+    }
+
+    @Test
+    void concurrentCloseReturnsConnectionOnce() throws Exception {
+        OCFDatabaseConnectionPool pool = new OCFDatabaseConnectionPool(urlPrefix + "doubleclose", 1, 10, 100);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int i = 0; i < 100; i++) {
+            Connection connection = pool.getConnection();
+            CountDownLatch start = new CountDownLatch(1);
+            Future<?>[] results = new Future<?>[8];
+
+            for (int j = 0; j < results.length; j++) {
+                results[j] = executor.submit(() -> {
+                    start.await();
+                    connection.close();
+                    return null;
+                });
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+
+            assertEquals(pool.getActiveConnectionCount(), 0);
+            assertEquals(pool.getIdleConnectionCount(), 1);
+        }
+        executor.shutdown();
+
+        /*
+         * Closing a connection many times did not add permits, so the pool still only gives out one connection.
+         */
+        Connection connection = pool.getConnection();
+        try {
+            pool.getConnection();
+            fail();
+        } catch (SQLException e) {
+            assertTrue(e.getMessage().startsWith("Timed out"));
+        }
+        connection.close();
+
+        pool.close();
+    }
+
+    @Test
+    void sharedPoolsAreKeyedByUrlAndSettings() throws Exception {
+        OCFDatabaseConnectionPool pool = OCFDatabaseConnectionPool.getPool(urlPrefix + "a", 2, 10, 1000);
+        OCFDatabaseConnectionPool samePool = OCFDatabaseConnectionPool.getPool(urlPrefix + "a", 2, 10, 1000);
+        OCFDatabaseConnectionPool otherSettings = OCFDatabaseConnectionPool.getPool(urlPrefix + "a", 5, 5, 5);
+        OCFDatabaseConnectionPool otherURL = OCFDatabaseConnectionPool.getPool(urlPrefix + "b", 2, 10, 1000);
+
+        assertSame(samePool, pool);
+        assertNotSame(otherSettings, pool);
+        assertNotSame(otherURL, pool);
+
+        pool.getConnection().close();
+
+        /*
+         * The pool stays open until both users have released it.
+         */
+        OCFDatabaseConnectionPool.releasePool(pool);
+        assertEquals(pool.getIdleConnectionCount(), 1);
+        pool.getConnection().close();
+
+        OCFDatabaseConnectionPool.releasePool(samePool);
+        assertEquals(pool.getIdleConnectionCount(), 0);
+        try {
+            pool.getConnection();
+            fail();
+        } catch (SQLException e) {
+            assertTrue(e.getMessage().contains("closed"));
+        }
+
+        /*
+         * Releasing again does nothing and a new user gets a new pool.
+         */
+        OCFDatabaseConnectionPool.releasePool(pool);
+        OCFDatabaseConnectionPool newPool = OCFDatabaseConnectionPool.getPool(urlPrefix + "a", 2, 10, 1000);
+        assertNotSame(newPool, pool);
+        newPool.getConnection().close();
+
+        OCFDatabaseConnectionPool.releasePool(newPool);
+        OCFDatabaseConnectionPool.releasePool(otherSettings);
+        OCFDatabaseConnectionPool.releasePool(otherURL);
+    }
+
+    @Test
+    void unsharedPoolsAreNotClosedByRelease() throws Exception {
+        OCFDatabaseConnectionPool pool = new OCFDatabaseConnectionPool(urlPrefix + "unshared", 1, 1, 1000);
+
+        OCFDatabaseConnectionPool.releasePool(pool);
+        pool.getConnection().close();
+
+        pool.close();
+    }
+
+    @Test
+    void statementClosedAfterCheckInIsNotCached() throws Exception {
+        OCFDatabaseConnectionPool pool = new OCFDatabaseConnectionPool(urlPrefix + "late", 1, 2, 1000);
+        int prepared = preparedStatements.get();
+
+        Connection first = pool.getConnection();
+        PreparedStatement lateStatement = first.prepareStatement("call setlt(?,?,?)");
+        first.close();
+
+        /*
+         * The connection is now used by someone else, so closing the statement must not put it in the
+         * statement cache they are using.
+         */
+        Connection second = pool.getConnection();
+        lateStatement.close();
+
+        try (PreparedStatement statement = second.prepareStatement("call setlt(?,?,?)")) {
+            assertNotSame(statement, lateStatement);
+        }
+        assertEquals(preparedStatements.get(), prepared + 2);
+        second.close();
+
+        try (Connection connection = pool.getConnection();
+             PreparedStatement statement = connection.prepareStatement("call setlt(?,?,?)")) {
+            statement.clearParameters();
+        }
+        assertEquals(preparedStatements.get(), prepared + 2);
+
+        pool.close();
+    }
+
+    /**
+     * Driver that returns proxy connections for urls starting with the test prefix.
+     */
+    private class StubDriver implements Driver {
+
+        @Override
+        public Connection connect(String url, Properties info) {
+            if (!acceptsURL(url)) {
+                return null;
+            }
+            openedConnections.incrementAndGet();
+
+            boolean[] closed = {false};
+
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "close":
+                                if (!closed[0]) {
+                                    closed[0] = true;
+                                    closedConnections.incrementAndGet();
+                                }
+                                return null;
+                            case "isClosed":
+                                return closed[0];
+                            case "getAutoCommit":
+                                return true;
+                            case "prepareStatement":
+                                preparedStatements.incrementAndGet();
+                                return newStatement();
+                            default:
+                                return null;
+                        }
+                    });
+        }
+
+        private PreparedStatement newStatement() {
+            boolean[] closed = {false};
+
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "close":
+                                closed[0] = true;
+                                return null;
+                            case "isClosed":
+                                return closed[0];
+                            case "toString":
+                                return "StubStatement";
+                            default:
+                                return null;
+                        }
+                    });
+        }
+
+        @Override
+        public boolean acceptsURL(String url) {
+            return url != null && url.startsWith(urlPrefix);
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+            return new DriverPropertyInfo[0];
+        }
+
+        @Override
+        public int getMajorVersion() {
+            return 1;
+        }
+
+        @Override
+        public int getMinorVersion() {
+            return 0;
+        }
+
+        @Override
+        public boolean jdbcCompliant() {
+            return false;
+        }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+    }
+}
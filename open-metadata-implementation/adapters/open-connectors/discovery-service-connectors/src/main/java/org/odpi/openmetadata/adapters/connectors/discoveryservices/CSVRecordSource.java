@@ -0,0 +1,124 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.discoveryservices;
+
+import org.odpi.openmetadata.adapters.connectors.csvfile.CSVFileRecordReader;
+import org.odpi.openmetadata.adapters.connectors.csvfile.CSVFileStore;
+import org.odpi.openmetadata.frameworks.connectors.Connector;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
+import org.odpi.openmetadata.frameworks.discovery.DiscoveryRecordSource;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * CSVRecordSource reads the records of a CSV file for a discovery service.  It reads the file once from start
+ * to finish rather than reading each record by its record number.
+ */
+public class CSVRecordSource implements DiscoveryRecordSource
+{
+    private final CSVFileStore  fileStore;
+    private CSVFileRecordReader recordReader = null;
+    private boolean             endOfFile    = false;
+
+
+    /**
+     * Constructor
+     *
+     * @param fileStore connector to the CSV file
+     */
+    public CSVRecordSource(CSVFileStore fileStore)
+    {
+        this.fileStore = fileStore;
+    }
+
+
+    /**
+     * Return a record source for an asset connector.  This is the connector itself if it is a record source,
+     * or a CSVRecordSource if it is a connector to a CSV file.
+     *
+     * @param assetConnector connector to the asset
+     * @return record source or null if the asset can not be read as records
+     */
+    public static DiscoveryRecordSource getRecordSource(Connector assetConnector)
+    {
+        if (assetConnector instanceof DiscoveryRecordSource)
+        {
+            return (DiscoveryRecordSource)assetConnector;
+        }
+        else if (assetConnector instanceof CSVFileStore)
+        {
+            return new CSVRecordSource((CSVFileStore)assetConnector);
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the names of the columns.
+     *
+     * @return list of column names
+     * @throws ConnectorCheckedException there is a problem reading the file
+     */
+    @Override
+    public List<String> getFieldNames() throws ConnectorCheckedException
+    {
+        return fileStore.getColumnNames();
+    }
+
+
+    /**
+     * Return the next record from the file.  The file is closed when the last record has been read.
+     *
+     * @return list of values or null if there are no more records
+     * @throws ConnectorCheckedException there is a problem reading the file
+     */
+    @Override
+    public List<?> getNextRecord() throws ConnectorCheckedException
+    {
+        if (endOfFile)
+        {
+            return null;
+        }
+
+        if (recordReader == null)
+        {
+            recordReader = fileStore.openRecordReader();
+        }
+
+        List<String> record = recordReader.readNextRecord();
+
+        if (record == null)
+        {
+            endOfFile = true;
+            this.close();
+        }
+
+        return record;
+    }
+
+
+    /**
+     * Close the file if it is still open.  This is needed if the records are not read to the end.
+     */
+    public void close()
+    {
+        if (recordReader != null)
+        {
+            try
+            {
+                recordReader.close();
+            }
+            catch (IOException error)
+            {
+                /*
+                 * Nothing more is read from the file.
+                 */
+            }
+
+            recordReader = null;
+        }
+    }
+}
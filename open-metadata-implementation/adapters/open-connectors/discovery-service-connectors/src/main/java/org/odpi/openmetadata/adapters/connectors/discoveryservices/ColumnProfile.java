@@ -0,0 +1,424 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.discoveryservices;
+
+import java.util.Map;
+
+/**
+ * ColumnProfile accumulates the profile of the values in a single column.  It keeps simple counts, the minimum
+ * and maximum values and lengths, and three sketches: a HyperLogLog sketch for the number of distinct values, a
+ * quantile sketch for the numeric values and a frequent values sketch.  Its memory use does not depend on the
+ * number of values.  Profiles of the same column built from different parts of the data can be merged.
+ *
+ * A value is null if it is null or an empty or blank string.  A value is numeric if it is a Number or a string
+ * that parses as a number.
+ */
+public class ColumnProfile
+{
+    public static final String INTEGER_DATA_TYPE = "integer";
+    public static final String DECIMAL_DATA_TYPE = "decimal";
+    public static final String STRING_DATA_TYPE  = "string";
+
+    private final int            position;
+    private final String         columnName;
+
+    private long                 valueCount    = 0;
+    private long                 nullCount     = 0;
+    private int                  minLength     = Integer.MAX_VALUE;
+    private int                  maxLength     = 0;
+    private String               minValue      = null;
+    private String               maxValue      = null;
+
+    private long                 numericCount  = 0;
+    private long                 integerCount  = 0;
+    private double               numericSum    = 0;
+    private double               numericMin    = Double.POSITIVE_INFINITY;
+    private double               numericMax    = Double.NEGATIVE_INFINITY;
+
+    private HyperLogLogSketch    distinctValues;
+    private QuantileSketch       quantiles;
+    private FrequentValuesSketch frequentValues;
+
+
+    /**
+     * Constructor
+     *
+     * @param position position of the column in the record (starting at 0)
+     * @param columnName name of the column (may be null)
+     * @param frequentValuesCapacity number of values the frequent values sketch tracks
+     */
+    public ColumnProfile(int    position,
+                         String columnName,
+                         int    frequentValuesCapacity)
+    {
+        this.position = position;
+        this.columnName = columnName;
+        this.distinctValues = new HyperLogLogSketch();
+        this.quantiles = new QuantileSketch();
+        this.frequentValues = new FrequentValuesSketch(frequentValuesCapacity);
+    }
+
+
+    /**
+     * Add a value to the profile.
+     *
+     * @param value value from the column
+     */
+    public void add(Object value)
+    {
+        if (value == null)
+        {
+            nullCount++;
+            return;
+        }
+
+        String stringValue = value.toString();
+
+        if (stringValue.trim().isEmpty())
+        {
+            nullCount++;
+            return;
+        }
+
+        valueCount++;
+
+        int length = stringValue.length();
+
+        if (length < minLength)
+        {
+            minLength = length;
+        }
+        if (length > maxLength)
+        {
+            maxLength = length;
+        }
+
+        if ((minValue == null) || (stringValue.compareTo(minValue) < 0))
+        {
+            minValue = stringValue;
+        }
+        if ((maxValue == null) || (stringValue.compareTo(maxValue) > 0))
+        {
+            maxValue = stringValue;
+        }
+
+        distinctValues.add(stringValue);
+        frequentValues.add(stringValue);
+
+        if (value instanceof Number)
+        {
+            this.addNumber(((Number) value).doubleValue(),
+                           (value instanceof Integer) || (value instanceof Long) || (value instanceof Short) || (value instanceof Byte));
+        }
+        else if (looksNumeric(stringValue))
+        {
+            try
+            {
+                this.addNumber(Long.parseLong(stringValue), true);
+            }
+            catch (NumberFormatException notInteger)
+            {
+                try
+                {
+                    this.addNumber(Double.parseDouble(stringValue), false);
+                }
+                catch (NumberFormatException notNumeric)
+                {
+                    /*
+                     * The value is not a number.
+                     */
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Add the values from a profile of the same column built from another part of the data.
+     *
+     * @param other profile to merge
+     */
+    public void merge(ColumnProfile other)
+    {
+        valueCount = valueCount + other.valueCount;
+        nullCount = nullCount + other.nullCount;
+        minLength = Math.min(minLength, other.minLength);
+        maxLength = Math.max(maxLength, other.maxLength);
+
+        if ((other.minValue != null) && ((minValue == null) || (other.minValue.compareTo(minValue) < 0)))
+        {
+            minValue = other.minValue;
+        }
+        if ((other.maxValue != null) && ((maxValue == null) || (other.maxValue.compareTo(maxValue) > 0)))
+        {
+            maxValue = other.maxValue;
+        }
+
+        numericCount = numericCount + other.numericCount;
+        integerCount = integerCount + other.integerCount;
+        numericSum = numericSum + other.numericSum;
+        numericMin = Math.min(numericMin, other.numericMin);
+        numericMax = Math.max(numericMax, other.numericMax);
+
+        distinctValues.merge(other.distinctValues);
+        quantiles.merge(other.quantiles);
+        frequentValues.merge(other.frequentValues);
+    }
+
+
+    /**
+     * Return the position of the column in the record.
+     *
+     * @return position starting at 0
+     */
+    public int getPosition()
+    {
+        return position;
+    }
+
+
+    /**
+     * Return the name of the column.
+     *
+     * @return name (may be null)
+     */
+    public String getColumnName()
+    {
+        return columnName;
+    }
+
+
+    /**
+     * Return the number of values that are not null.
+     *
+     * @return count
+     */
+    public long getValueCount()
+    {
+        return valueCount;
+    }
+
+
+    /**
+     * Return the number of values that are null, empty or blank.
+     *
+     * @return count
+     */
+    public long getNullCount()
+    {
+        return nullCount;
+    }
+
+
+    /**
+     * Return the estimated number of distinct values that are not null.
+     *
+     * @return estimated count
+     */
+    public long getDistinctCount()
+    {
+        return distinctValues.getEstimate();
+    }
+
+
+    /**
+     * Return the length of the shortest value that is not null.
+     *
+     * @return length or 0 if there are no values
+     */
+    public int getMinLength()
+    {
+        if (valueCount == 0)
+        {
+            return 0;
+        }
+
+        return minLength;
+    }
+
+
+    /**
+     * Return the length of the longest value.
+     *
+     * @return length
+     */
+    public int getMaxLength()
+    {
+        return maxLength;
+    }
+
+
+    /**
+     * Return the data type that fits all of the values that are not null.
+     *
+     * @return integer, decimal or string; null if there are no values
+     */
+    public String getInferredDataType()
+    {
+        if (valueCount == 0)
+        {
+            return null;
+        }
+        else if (integerCount == valueCount)
+        {
+            return INTEGER_DATA_TYPE;
+        }
+        else if (numericCount == valueCount)
+        {
+            return DECIMAL_DATA_TYPE;
+        }
+
+        return STRING_DATA_TYPE;
+    }
+
+
+    /**
+     * Return whether every value that is not null is numeric.
+     *
+     * @return boolean
+     */
+    public boolean isNumeric()
+    {
+        return (valueCount > 0) && (numericCount == valueCount);
+    }
+
+
+    /**
+     * Return the smallest value.  This is the numeric minimum if all the values are numeric, otherwise the
+     * first value in string order.
+     *
+     * @return value or null if there are no values
+     */
+    public String getMinValue()
+    {
+        if (this.isNumeric())
+        {
+            return formatNumber(numericMin);
+        }
+
+        return minValue;
+    }
+
+
+    /**
+     * Return the largest value.  This is the numeric maximum if all the values are numeric, otherwise the
+     * last value in string order.
+     *
+     * @return value or null if there are no values
+     */
+    public String getMaxValue()
+    {
+        if (this.isNumeric())
+        {
+            return formatNumber(numericMax);
+        }
+
+        return maxValue;
+    }
+
+
+    /**
+     * Return the mean of the values if they are all numeric.
+     *
+     * @return mean or null
+     */
+    public String getAverageValue()
+    {
+        if (this.isNumeric())
+        {
+            return formatNumber(numericSum / numericCount);
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the estimated value at the requested quantile if all of the values are numeric.
+     *
+     * @param quantile fraction between 0 and 1
+     * @return value or null
+     */
+    public String getQuantile(double quantile)
+    {
+        if (this.isNumeric())
+        {
+            Double value = quantiles.getQuantile(quantile);
+
+            if (value != null)
+            {
+                return formatNumber(value);
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the most frequent values and their estimated counts.
+     *
+     * @param maxValues maximum number of values to return
+     * @return map of value to count in descending order of count
+     */
+    public Map<String, Long> getTopValues(int maxValues)
+    {
+        return frequentValues.getTopValues(maxValues);
+    }
+
+
+    /**
+     * Add a numeric value.
+     *
+     * @param value value
+     * @param isInteger whether the value is a whole number
+     */
+    private void addNumber(double  value,
+                           boolean isInteger)
+    {
+        numericCount++;
+
+        if (isInteger)
+        {
+            integerCount++;
+        }
+
+        numericSum = numericSum + value;
+        numericMin = Math.min(numericMin, value);
+        numericMax = Math.max(numericMax, value);
+
+        quantiles.add(value);
+    }
+
+
+    /**
+     * Quick check that avoids the cost of a failed parse for values that are clearly not numbers.
+     *
+     * @param value string value
+     * @return boolean
+     */
+    private static boolean looksNumeric(String value)
+    {
+        char first = value.charAt(0);
+
+        return ((first >= '0') && (first <= '9')) || (first == '-') || (first == '+') || (first == '.');
+    }
+
+
+    /**
+     * Format a number without a trailing ".0" for whole numbers.
+     *
+     * @param value number
+     * @return string
+     */
+    private static String formatNumber(double value)
+    {
+        if ((value == Math.rint(value)) && (Math.abs(value) < 1e15))
+        {
+            return Long.toString((long)value);
+        }
+
+        return Double.toString(value);
+    }
+}
@@ -0,0 +1,54 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.discoveryservices;
+
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorType;
+import org.odpi.openmetadata.frameworks.discovery.DiscoveryServiceProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * ColumnProfileDiscoveryProvider is the OCF connector provider for the column profile discovery service.
+ */
+public class ColumnProfileDiscoveryProvider extends DiscoveryServiceProvider
+{
+    static final String  connectorTypeGUID = "6d2c0c8a-3e0e-4c4f-9a0b-5b8f4e1c2d7a";
+    static final String  connectorTypeName = "Column Profile Discovery Service";
+    static final String  connectorTypeDescription = "Discovery service that profiles each column of a tabular asset in a single pass.";
+
+    public static final String  workerCountProperty = "workerCount";
+    public static final String  topValueCountProperty = "topValueCount";
+
+    static final int  defaultTopValueCount = 10;
+
+    /**
+     * Constructor used to initialize the ConnectorProviderBase with the Java class name of the specific
+     * discovery service implementation.
+     */
+    public ColumnProfileDiscoveryProvider()
+    {
+        Class    connectorClass = ColumnProfileDiscoveryService.class;
+
+        super.setConnectorClassName(connectorClass.getName());
+
+
+        ConnectorType connectorType = new ConnectorType();
+        connectorType.setType(ConnectorType.getConnectorTypeType());
+        connectorType.setGUID(connectorTypeGUID);
+        connectorType.setQualifiedName(connectorTypeName);
+        connectorType.setDisplayName(connectorTypeName);
+        connectorType.setDescription(connectorTypeDescription);
+        connectorType.setConnectorProviderClassName(this.getClass().getName());
+
+        List<String> recognizedConfigurationProperties = new ArrayList<>();
+        recognizedConfigurationProperties.add(workerCountProperty);
+        recognizedConfigurationProperties.add(topValueCountProperty);
+
+        connectorType.setRecognizedConfigurationProperties(recognizedConfigurationProperties);
+
+        super.connectorTypeBean = connectorType;
+    }
+}
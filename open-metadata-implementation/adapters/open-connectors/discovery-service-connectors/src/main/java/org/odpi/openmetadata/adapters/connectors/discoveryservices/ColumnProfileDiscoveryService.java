@@ -0,0 +1,311 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.discoveryservices;
+
+import org.odpi.openmetadata.frameworks.connectors.Connector;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.discovery.DiscoveryAnnotationStore;
+import org.odpi.openmetadata.frameworks.discovery.DiscoveryRecordConsumer;
+import org.odpi.openmetadata.frameworks.discovery.DiscoveryRecordSource;
+import org.odpi.openmetadata.frameworks.discovery.DiscoveryService;
+import org.odpi.openmetadata.frameworks.discovery.properties.DataField;
+import org.odpi.openmetadata.frameworks.discovery.properties.DataProfileAnnotation;
+import org.odpi.openmetadata.frameworks.discovery.properties.SchemaAnalysisAnnotation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ColumnProfileDiscoveryService profiles each column of a tabular asset in a single pass over its records.
+ * For each column it records the number of values, nulls and distinct values, the minimum, maximum and
+ * average values, the quartiles of numeric columns and the most frequent values.  Distinct values, quartiles
+ * and frequent values are estimated using sketches, so the memory used does not depend on the size of the asset.
+ *
+ * The records are profiled by a number of worker threads (one per processor by default) and the results merged.
+ *
+ * When it runs in a ConcurrentDiscoveryPipeline, the pipeline passes it the records through the
+ * DiscoveryRecordConsumer interface.  When it runs on its own, it reads the asset itself through the asset's
+ * connector.  This must either be a DiscoveryRecordSource or a connector to a CSV file.
+ */
+public class ColumnProfileDiscoveryService extends DiscoveryService implements DiscoveryRecordConsumer
+{
+    private static final Logger log = LoggerFactory.getLogger(ColumnProfileDiscoveryService.class);
+
+    static final String annotationType = "ColumnProfile";
+    static final String analysisStep   = "Column profiling";
+
+    static final String valueCountName    = "valueCount";
+    static final String nullCountName     = "nullCount";
+    static final String distinctCountName = "distinctCount";
+    static final String minLengthName     = "minLength";
+    static final String firstQuartileName = "firstQuartile";
+    static final String medianName        = "median";
+    static final String thirdQuartileName = "thirdQuartile";
+
+    private int            workerCount   = Runtime.getRuntime().availableProcessors();
+    private int            topValueCount = ColumnProfileDiscoveryProvider.defaultTopValueCount;
+    private ColumnProfiler profiler      = null;
+
+
+    /**
+     * Initialize the discovery service.
+     *
+     * @param connectorInstanceId unique id for the connector instance
+     * @param connectionProperties configuration properties for the discovery service
+     */
+    @Override
+    public void initialize(String connectorInstanceId, ConnectionProperties connectionProperties)
+    {
+        super.initialize(connectorInstanceId, connectionProperties);
+
+        Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+
+        if (configurationProperties != null)
+        {
+            workerCount   = this.getPositiveProperty(configurationProperties, ColumnProfileDiscoveryProvider.workerCountProperty, workerCount);
+            topValueCount = this.getPositiveProperty(configurationProperties, ColumnProfileDiscoveryProvider.topValueCountProperty, topValueCount);
+        }
+    }
+
+
+    /**
+     * Profile the asset when the discovery service is running on its own.
+     *
+     * @throws ConnectorCheckedException there is a problem within the discovery service or reading the asset.
+     */
+    @Override
+    public void start() throws ConnectorCheckedException
+    {
+        final String methodName = "start";
+
+        super.start();
+
+        Connector             assetConnector = null;
+        DiscoveryRecordSource recordSource   = null;
+
+        try
+        {
+            assetConnector = discoveryContext.getAssetStore().getConnectorToAsset();
+            recordSource   = CSVRecordSource.getRecordSource(assetConnector);
+
+            if (recordSource == null)
+            {
+                log.debug("Asset " + discoveryContext.getAssetGUID() + " can not be read as records");
+                return;
+            }
+
+            assetConnector.start();
+
+            this.startRecords(recordSource.getFieldNames());
+
+            List<?> record = recordSource.getNextRecord();
+
+            while (record != null)
+            {
+                this.processRecord(record);
+                record = recordSource.getNextRecord();
+            }
+
+            this.endRecords();
+        }
+        catch (ConnectorCheckedException error)
+        {
+            throw error;
+        }
+        catch (Throwable error)
+        {
+            super.handleUnexpectedException(methodName, error);
+        }
+        finally
+        {
+            if (profiler != null)
+            {
+                profiler.abandon();
+                profiler = null;
+            }
+
+            if (recordSource instanceof CSVRecordSource)
+            {
+                ((CSVRecordSource)recordSource).close();
+            }
+
+            if (assetConnector != null)
+            {
+                assetConnector.disconnect();
+            }
+        }
+    }
+
+
+    /**
+     * Prepare to profile the records of the asset.
+     *
+     * @param fieldNames names of the fields in each record (may be null)
+     */
+    @Override
+    public void startRecords(List<String> fieldNames)
+    {
+        profiler = new ColumnProfiler(fieldNames, workerCount, topValueCount * 4);
+    }
+
+
+    /**
+     * Add a record to the profile.
+     *
+     * @param fieldValues values of the fields in the record
+     * @throws ConnectorCheckedException there is a problem within the discovery service
+     */
+    @Override
+    public void processRecord(List<?> fieldValues) throws ConnectorCheckedException
+    {
+        final String methodName = "processRecord";
+
+        try
+        {
+            /*
+             * The profiler keeps the record until a worker thread has profiled it so it needs its own copy.
+             */
+            profiler.addRecord(new ArrayList<>(fieldValues));
+        }
+        catch (Throwable error)
+        {
+            super.handleUnexpectedException(methodName, error);
+        }
+    }
+
+
+    /**
+     * Wait for the profiles to be completed and add them to the discovery analysis report.  There is a schema
+     * analysis annotation for the asset with a data field for each column.  Each data field has a data profile
+     * annotation.
+     *
+     * @throws ConnectorCheckedException there is a problem within the discovery service
+     */
+    @Override
+    public void endRecords() throws ConnectorCheckedException
+    {
+        final String methodName = "endRecords";
+
+        try
+        {
+            long                     recordCount     = profiler.getRecordCount();
+            List<ColumnProfile>      columnProfiles  = profiler.complete();
+            DiscoveryAnnotationStore annotationStore = discoveryContext.getAnnotationStore();
+
+            profiler = null;
+
+            SchemaAnalysisAnnotation schemaAnnotation = new SchemaAnalysisAnnotation();
+
+            schemaAnnotation.setAnnotationType(annotationType);
+            schemaAnnotation.setAnalysisStep(analysisStep);
+            schemaAnnotation.setSummary("Profiled " + columnProfiles.size() + " columns in " + recordCount + " records");
+
+            String schemaAnnotationGUID = annotationStore.addAnnotationToDiscoveryReport(schemaAnnotation);
+
+            for (ColumnProfile columnProfile : columnProfiles)
+            {
+                DataField dataField = new DataField();
+
+                dataField.setDataFieldPosition(columnProfile.getPosition());
+                dataField.setDataFieldName(columnProfile.getColumnName());
+                dataField.setDataFieldType(columnProfile.getInferredDataType());
+
+                String dataFieldGUID = annotationStore.addDataFieldToDiscoveryReport(schemaAnnotationGUID, dataField);
+
+                annotationStore.addAnnotationToDataField(dataFieldGUID, this.getDataProfileAnnotation(columnProfile));
+            }
+        }
+        catch (Throwable error)
+        {
+            super.handleUnexpectedException(methodName, error);
+        }
+    }
+
+
+    /**
+     * Convert a column profile into a data profile annotation.
+     *
+     * @param columnProfile completed profile
+     * @return annotation
+     */
+    DataProfileAnnotation getDataProfileAnnotation(ColumnProfile columnProfile)
+    {
+        DataProfileAnnotation annotation = new DataProfileAnnotation();
+
+        annotation.setAnnotationType(annotationType);
+        annotation.setAnalysisStep(analysisStep);
+        annotation.setInferredDataType(columnProfile.getInferredDataType());
+        annotation.setLength(columnProfile.getMaxLength());
+        annotation.setValueRangeFrom(columnProfile.getMinValue());
+        annotation.setValueRangeTo(columnProfile.getMaxValue());
+        annotation.setAverageValue(columnProfile.getAverageValue());
+
+        Map<String, Long> profileCounts = new HashMap<>();
+
+        profileCounts.put(valueCountName, columnProfile.getValueCount());
+        profileCounts.put(nullCountName, columnProfile.getNullCount());
+        profileCounts.put(distinctCountName, columnProfile.getDistinctCount());
+        profileCounts.put(minLengthName, (long)columnProfile.getMinLength());
+
+        annotation.setProfileCounts(profileCounts);
+
+        if (columnProfile.isNumeric())
+        {
+            Map<String, String> profileProperties = new HashMap<>();
+
+            profileProperties.put(firstQuartileName, columnProfile.getQuantile(0.25));
+            profileProperties.put(medianName, columnProfile.getQuantile(0.5));
+            profileProperties.put(thirdQuartileName, columnProfile.getQuantile(0.75));
+
+            annotation.setProfileProperties(profileProperties);
+        }
+
+        Map<String, Integer> valueCount = new LinkedHashMap<>();
+
+        for (Map.Entry<String, Long> topValue : columnProfile.getTopValues(topValueCount).entrySet())
+        {
+            valueCount.put(topValue.getKey(), (int)Math.min(topValue.getValue(), Integer.MAX_VALUE));
+        }
+
+        annotation.setValueCount(valueCount);
+        annotation.setValueList(new ArrayList<>(valueCount.keySet()));
+
+        return annotation;
+    }
+
+
+    /**
+     * Return the value of an integer configuration property, or the default if it is not set or is not
+     * a positive integer.
+     *
+     * @param configurationProperties properties from the connection
+     * @param propertyName name of the property
+     * @param defaultValue value to use if the property is not set
+     * @return value
+     */
+    private int getPositiveProperty(Map<String, Object> configurationProperties,
+                                    String              propertyName,
+                                    int                 defaultValue)
+    {
+        Object propertyValue = configurationProperties.get(propertyName);
+
+        if ((propertyValue instanceof Integer) && ((Integer)propertyValue > 0))
+        {
+            return (Integer)propertyValue;
+        }
+
+        if (propertyValue != null)
+        {
+            log.debug("Ignoring invalid value " + propertyValue + " for discovery service property " + propertyName);
+        }
+
+        return defaultValue;
+    }
+}
@@ -0,0 +1,274 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.discoveryservices;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ColumnProfiler builds a ColumnProfile for each column of a stream of records.  The records are collected into
+ * batches and the batches are profiled by a number of worker threads.  Each worker thread adds to its own
+ * partial set of profiles, and the partial profiles are merged when complete() is called.  Only a few batches are
+ * held in memory at once, so the memory used does not depend on the number of records.
+ *
+ * The methods of a ColumnProfiler must be called from a single thread.
+ */
+public class ColumnProfiler
+{
+    private static final int BATCH_SIZE = 1000;
+
+    private final List<String>                        columnNames;
+    private final int                                 frequentValuesCapacity;
+    private final ExecutorService                     workers;
+    private final BlockingQueue<List<ColumnProfile>>  partitions;
+    private final Semaphore                           queuedBatches;
+
+    private List<List<?>>      batch       = new ArrayList<>(BATCH_SIZE);
+    private volatile Throwable firstError  = null;
+    private long               recordCount = 0;
+
+
+    /**
+     * Constructor
+     *
+     * @param columnNames names of the columns (may be null)
+     * @param workerCount number of threads that profile the records - one means profile on the calling thread
+     * @param frequentValuesCapacity number of values each frequent values sketch tracks
+     */
+    public ColumnProfiler(List<String> columnNames,
+                          int          workerCount,
+                          int          frequentValuesCapacity)
+    {
+        this.columnNames = columnNames;
+        this.frequentValuesCapacity = frequentValuesCapacity;
+        this.partitions = new ArrayBlockingQueue<>(Math.max(workerCount, 1));
+        this.queuedBatches = new Semaphore(Math.max(workerCount, 1) * 2);
+
+        for (int i = 0; i < Math.max(workerCount, 1); i++)
+        {
+            partitions.add(new ArrayList<>());
+        }
+
+        if (workerCount > 1)
+        {
+            this.workers = Executors.newFixedThreadPool(workerCount, runnable ->
+            {
+                Thread thread = new Thread(runnable, "ColumnProfiler");
+
+                thread.setDaemon(true);
+
+                return thread;
+            });
+        }
+        else
+        {
+            this.workers = null;
+        }
+    }
+
+
+    /**
+     * Add a record to the profile.  The record must not be changed after it is passed to this method.
+     *
+     * @param record list of values - one for each column
+     * @throws InterruptedException the thread was interrupted while waiting for a worker thread
+     */
+    public void addRecord(List<?> record) throws InterruptedException
+    {
+        if (record != null)
+        {
+            batch.add(record);
+            recordCount++;
+
+            if (batch.size() == BATCH_SIZE)
+            {
+                this.profileBatch(batch);
+                batch = new ArrayList<>(BATCH_SIZE);
+            }
+        }
+    }
+
+
+    /**
+     * Return the number of records added.
+     *
+     * @return count
+     */
+    public long getRecordCount()
+    {
+        return recordCount;
+    }
+
+
+    /**
+     * Wait for the worker threads to profile the remaining records and return the merged profiles.
+     *
+     * @return one profile for each column, in column order
+     * @throws InterruptedException the thread was interrupted while waiting for the worker threads
+     */
+    public List<ColumnProfile> complete() throws InterruptedException
+    {
+        if (! batch.isEmpty())
+        {
+            this.profileBatch(batch);
+            batch = new ArrayList<>();
+        }
+
+        if (workers != null)
+        {
+            workers.shutdown();
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        }
+
+        if (firstError instanceof RuntimeException)
+        {
+            throw (RuntimeException)firstError;
+        }
+        else if (firstError instanceof Error)
+        {
+            throw (Error)firstError;
+        }
+
+        List<ColumnProfile> results = null;
+
+        for (List<ColumnProfile> partition : partitions)
+        {
+            if (results == null)
+            {
+                results = partition;
+            }
+            else
+            {
+                for (ColumnProfile profile : partition)
+                {
+                    this.getProfile(results, profile.getPosition()).merge(profile);
+                }
+            }
+        }
+
+        return results;
+    }
+
+
+    /**
+     * Stop the worker threads without waiting for them to finish.
+     */
+    public void abandon()
+    {
+        if (workers != null)
+        {
+            workers.shutdownNow();
+        }
+    }
+
+
+    /**
+     * Profile a batch of records on a worker thread, or on the calling thread if there are no workers.
+     *
+     * @param records batch of records
+     * @throws InterruptedException the thread was interrupted while waiting for a worker thread
+     */
+    private void profileBatch(List<List<?>> records) throws InterruptedException
+    {
+        if (workers == null)
+        {
+            this.profileRecords(partitions.peek(), records);
+        }
+        else
+        {
+            queuedBatches.acquire();
+
+            workers.execute(() ->
+            {
+                List<ColumnProfile> partition = partitions.poll();
+
+                try
+                {
+                    this.profileRecords(partition, records);
+                }
+                catch (Throwable error)
+                {
+                    if (firstError == null)
+                    {
+                        firstError = error;
+                    }
+                }
+                finally
+                {
+                    partitions.add(partition);
+                    queuedBatches.release();
+                }
+            });
+        }
+    }
+
+
+    /**
+     * Add each value of each record to the profile of its column.  Records that are shorter than the list of
+     * column names have null values for the missing columns.
+     *
+     * @param partition profiles to update
+     * @param records batch of records
+     */
+    private void profileRecords(List<ColumnProfile> partition,
+                                List<List<?>>       records)
+    {
+        int columnCount = 0;
+
+        if (columnNames != null)
+        {
+            columnCount = columnNames.size();
+        }
+
+        for (List<?> record : records)
+        {
+            int width = Math.max(record.size(), columnCount);
+
+            for (int position = 0; position < width; position++)
+            {
+                Object value = null;
+
+                if (position < record.size())
+                {
+                    value = record.get(position);
+                }
+
+                this.getProfile(partition, position).add(value);
+            }
+        }
+    }
+
+
+    /**
+     * Return the profile for a column, creating it (and any missing profiles before it) if needed.
+     *
+     * @param partition list of profiles
+     * @param position position of the column
+     * @return profile
+     */
+    private ColumnProfile getProfile(List<ColumnProfile> partition,
+                                     int                 position)
+    {
+        while (partition.size() <= position)
+        {
+            int    newPosition = partition.size();
+            String columnName  = null;
+
+            if ((columnNames != null) && (newPosition < columnNames.size()))
+            {
+                columnName = columnNames.get(newPosition);
+            }
+
+            partition.add(new ColumnProfile(newPosition, columnName, frequentValuesCapacity));
+        }
+
+        return partition.get(position);
+    }
+}
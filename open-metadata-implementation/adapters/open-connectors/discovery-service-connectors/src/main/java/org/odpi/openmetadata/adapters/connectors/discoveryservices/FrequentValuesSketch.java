@@ -0,0 +1,149 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.discoveryservices;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * FrequentValuesSketch finds the most frequent values in a column using the Misra-Gries algorithm.  It keeps
+ * counters for at most a fixed number of values.  When a new value arrives and all counters are in use, every
+ * counter is reduced by one and the counters that reach zero are freed.  Any value that makes up more than
+ * 1/(capacity+1) of the column is guaranteed to be kept, and each reported count is a lower bound that is at
+ * most count/(capacity+1) below the true count.  Sketches can be merged.
+ */
+public class FrequentValuesSketch
+{
+    public  static final int DEFAULT_CAPACITY = 64;
+
+    private final int               capacity;
+    private final Map<String, Long> counters;
+
+
+    /**
+     * Constructor for a sketch with the default capacity.
+     */
+    public FrequentValuesSketch()
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+
+    /**
+     * Constructor for a sketch with the requested capacity.
+     *
+     * @param capacity maximum number of values counted at one time
+     */
+    public FrequentValuesSketch(int capacity)
+    {
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+
+    /**
+     * Add a value to the sketch.
+     *
+     * @param value value to add
+     */
+    public void add(String value)
+    {
+        Long count = counters.get(value);
+
+        if (count != null)
+        {
+            counters.put(value, count + 1);
+        }
+        else if (counters.size() < capacity)
+        {
+            counters.put(value, 1L);
+        }
+        else
+        {
+            this.reduceCounters(1);
+        }
+    }
+
+
+    /**
+     * Add the values counted by another sketch.
+     *
+     * @param other sketch to merge
+     */
+    public void merge(FrequentValuesSketch other)
+    {
+        for (Map.Entry<String, Long> entry : other.counters.entrySet())
+        {
+            counters.merge(entry.getKey(), entry.getValue(), Long::sum);
+        }
+
+        if (counters.size() > capacity)
+        {
+            List<Long> counts = new ArrayList<>(counters.values());
+
+            counts.sort(Collections.reverseOrder());
+
+            this.reduceCounters(counts.get(capacity));
+        }
+    }
+
+
+    /**
+     * Return the most frequent values with their estimated counts, most frequent first.
+     *
+     * @param maxValues maximum number of values to return
+     * @return map of value to count in descending order of count
+     */
+    public Map<String, Long> getTopValues(int maxValues)
+    {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(counters.entrySet());
+
+        entries.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+
+        Map<String, Long> topValues = new LinkedHashMap<>();
+
+        for (Map.Entry<String, Long> entry : entries)
+        {
+            if (topValues.size() == maxValues)
+            {
+                break;
+            }
+
+            topValues.put(entry.getKey(), entry.getValue());
+        }
+
+        return topValues;
+    }
+
+
+    /**
+     * Reduce every counter and remove the ones that are no longer positive.
+     *
+     * @param reduction amount to subtract
+     */
+    private void reduceCounters(long reduction)
+    {
+        Iterator<Map.Entry<String, Long>> iterator = counters.entrySet().iterator();
+
+        while (iterator.hasNext())
+        {
+            Map.Entry<String, Long> entry    = iterator.next();
+            long                    newCount = entry.getValue() - reduction;
+
+            if (newCount <= 0)
+            {
+                iterator.remove();
+            }
+            else
+            {
+                entry.setValue(newCount);
+            }
+        }
+    }
+}
@@ -0,0 +1,257 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.discoveryservices;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * QuantileSketch estimates the quantiles (for example the median) of a column of numbers without keeping
+ * all of the values.  It is a stack of compactors in the style of the KLL sketch.  Values are added to the
+ * bottom compactor.  When a compactor is full its values are sorted and every other value is promoted to the
+ * compactor above, where each value stands for twice as many of the original values.  The memory used grows
+ * with the logarithm of the number of values rather than the number of values.  Sketches can be merged.
+ */
+public class QuantileSketch
+{
+    public  static final int DEFAULT_CAPACITY = 256;
+
+    private final int             capacity;
+    private final List<Compactor> compactors = new ArrayList<>();
+    private final Random          random     = new Random(0x5eed);
+    private long                  count      = 0;
+
+
+    /**
+     * Constructor for a sketch with the default compactor capacity.
+     */
+    public QuantileSketch()
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+
+    /**
+     * Constructor for a sketch with the requested compactor capacity.  A larger capacity gives more
+     * accurate quantiles.
+     *
+     * @param capacity number of values each compactor holds before it is compacted
+     */
+    public QuantileSketch(int capacity)
+    {
+        this.capacity = capacity;
+        this.compactors.add(new Compactor());
+    }
+
+
+    /**
+     * Add a value to the sketch.
+     *
+     * @param value value to add
+     */
+    public void add(double value)
+    {
+        compactors.get(0).add(value);
+        count++;
+
+        if (compactors.get(0).size >= capacity)
+        {
+            this.compress();
+        }
+    }
+
+
+    /**
+     * Add the values summarized by another sketch.
+     *
+     * @param other sketch to merge
+     */
+    public void merge(QuantileSketch other)
+    {
+        while (compactors.size() < other.compactors.size())
+        {
+            compactors.add(new Compactor());
+        }
+
+        for (int level = 0; level < other.compactors.size(); level++)
+        {
+            Compactor otherCompactor = other.compactors.get(level);
+
+            for (int i = 0; i < otherCompactor.size; i++)
+            {
+                compactors.get(level).add(otherCompactor.values[i]);
+            }
+        }
+
+        count = count + other.count;
+
+        this.compress();
+    }
+
+
+    /**
+     * Return the number of values added to the sketch.
+     *
+     * @return count
+     */
+    public long getCount()
+    {
+        return count;
+    }
+
+
+    /**
+     * Return the estimated value at the requested quantile.
+     *
+     * @param quantile fraction between 0 and 1 - for example 0.5 for the median
+     * @return estimated value or null if no values have been added
+     */
+    public Double getQuantile(double quantile)
+    {
+        int totalSize = 0;
+
+        for (Compactor compactor : compactors)
+        {
+            totalSize = totalSize + compactor.size;
+        }
+
+        if (totalSize == 0)
+        {
+            return null;
+        }
+
+        double[] values  = new double[totalSize];
+        long[]   weights = new long[totalSize];
+        int      next    = 0;
+
+        for (int level = 0; level < compactors.size(); level++)
+        {
+            Compactor compactor = compactors.get(level);
+
+            for (int i = 0; i < compactor.size; i++)
+            {
+                values[next]  = compactor.values[i];
+                weights[next] = 1L << level;
+                next++;
+            }
+        }
+
+        Integer[] order = new Integer[totalSize];
+
+        for (int i = 0; i < totalSize; i++)
+        {
+            order[i] = i;
+        }
+
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+
+        long totalWeight = 0;
+
+        for (long weight : weights)
+        {
+            totalWeight = totalWeight + weight;
+        }
+
+        double target     = quantile * totalWeight;
+        long   cumulative = 0;
+
+        for (Integer index : order)
+        {
+            cumulative = cumulative + weights[index];
+
+            if (cumulative >= target)
+            {
+                return values[index];
+            }
+        }
+
+        return values[order[totalSize - 1]];
+    }
+
+
+    /**
+     * Compact each compactor that is full, from the bottom up.
+     */
+    private void compress()
+    {
+        for (int level = 0; level < compactors.size(); level++)
+        {
+            Compactor compactor = compactors.get(level);
+
+            if (compactor.size >= capacity)
+            {
+                if (level + 1 == compactors.size())
+                {
+                    compactors.add(new Compactor());
+                }
+
+                compactor.compactInto(compactors.get(level + 1), random.nextBoolean() ? 1 : 0);
+            }
+        }
+    }
+
+
+    /**
+     * Compactor holds the values at one level of the sketch.
+     */
+    private class Compactor
+    {
+        private double[] values = new double[capacity];
+        private int      size   = 0;
+
+
+        /**
+         * Add a value, growing the array if needed (this happens during a merge).
+         *
+         * @param value value to add
+         */
+        void add(double value)
+        {
+            if (size == values.length)
+            {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+
+            values[size++] = value;
+        }
+
+
+        /**
+         * Sort the values and promote every other one to the next compactor.  If there is an odd number of
+         * values, the largest stays behind.
+         *
+         * @param next compactor at the next level
+         * @param offset 0 or 1 - chosen at random so that the estimates are not biased
+         */
+        void compactInto(Compactor next,
+                         int       offset)
+        {
+            Arrays.sort(values, 0, size);
+
+            int compactSize = size - (size % 2);
+
+            for (int i = offset; i < compactSize; i = i + 2)
+            {
+                next.add(values[i]);
+            }
+
+            if (compactSize < size)
+            {
+                values[0] = values[size - 1];
+                size = 1;
+            }
+            else
+            {
+                size = 0;
+            }
+
+            if (values.length > capacity)
+            {
+                values = Arrays.copyOf(values, Math.max(capacity, size));
+            }
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.discoveryservices;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Verify the accuracy of the sketches and that a profile built by several worker threads matches the
+ * profile built by one.
+ */
+public class ColumnProfilerTest
+{
+    private static final int RECORD_COUNT = 100000;
+
+
+    @Test
+    public void testDistinctCount()
+    {
+        HyperLogLogSketch first  = new HyperLogLogSketch();
+        HyperLogLogSketch second = new HyperLogLogSketch();
+
+        for (int i = 0; i < 50000; i++)
+        {
+            first.add("value" + i);
+            second.add("value" + (i + 25000));
+        }
+
+        assertWithin(first.getEstimate(), 50000, 0.05);
+
+        first.merge(second);
+
+        assertWithin(first.getEstimate(), 75000, 0.05);
+
+        HyperLogLogSketch small = new HyperLogLogSketch();
+
+        for (int i = 0; i < 100; i++)
+        {
+            small.add("value" + (i % 10));
+        }
+
+        assertEquals(small.getEstimate(), 10);
+    }
+
+
+    @Test
+    public void testQuantiles()
+    {
+        QuantileSketch first  = new QuantileSketch();
+        QuantileSketch second = new QuantileSketch();
+
+        assertNull(first.getQuantile(0.5));
+
+        for (int i = 0; i < RECORD_COUNT; i++)
+        {
+            first.add(i);
+            second.add(i + RECORD_COUNT);
+        }
+
+        assertWithin(first.getQuantile(0.5), RECORD_COUNT / 2, 0.02);
+
+        first.merge(second);
+
+        assertEquals(first.getCount(), RECORD_COUNT * 2);
+        assertWithin(first.getQuantile(0.25), RECORD_COUNT / 2, 0.04);
+        assertWithin(first.getQuantile(0.5), RECORD_COUNT, 0.02);
+        assertWithin(first.getQuantile(0.75), RECORD_COUNT * 3 / 2, 0.02);
+    }
+
+
+    @Test
+    public void testFrequentValues()
+    {
+        FrequentValuesSketch sketch = new FrequentValuesSketch(16);
+
+        for (int i = 0; i < RECORD_COUNT; i++)
+        {
+            if (i % 4 == 0)
+            {
+                sketch.add("common");
+            }
+            else if (i % 10 == 1)
+            {
+                sketch.add("frequent");
+            }
+            else
+            {
+                sketch.add("rare" + i);
+            }
+        }
+
+        List<String> topValues = new ArrayList<>(sketch.getTopValues(2).keySet());
+
+        assertEquals(topValues, Arrays.asList("common", "frequent"));
+    }
+
+
+    @Test
+    public void testParallelProfileMatchesSerial() throws InterruptedException
+    {
+        List<String>        columnNames = Arrays.asList("id", "category", "amount", "comment");
+        List<ColumnProfile> serial      = this.profile(columnNames, 1);
+        List<ColumnProfile> parallel    = this.profile(columnNames, 4);
+
+        assertEquals(parallel.size(), 4);
+
+        for (int i = 0; i < serial.size(); i++)
+        {
+            ColumnProfile serialColumn   = serial.get(i);
+            ColumnProfile parallelColumn = parallel.get(i);
+
+            assertEquals(parallelColumn.getColumnName(), columnNames.get(i));
+            assertEquals(parallelColumn.getValueCount(), serialColumn.getValueCount());
+            assertEquals(parallelColumn.getNullCount(), serialColumn.getNullCount());
+            assertEquals(parallelColumn.getDistinctCount(), serialColumn.getDistinctCount());
+            assertEquals(parallelColumn.getMinValue(), serialColumn.getMinValue());
+            assertEquals(parallelColumn.getMaxValue(), serialColumn.getMaxValue());
+            assertEquals(parallelColumn.getInferredDataType(), serialColumn.getInferredDataType());
+        }
+
+        ColumnProfile id = parallel.get(0);
+
+        assertEquals(id.getValueCount(), RECORD_COUNT);
+        assertEquals(id.getInferredDataType(), ColumnProfile.INTEGER_DATA_TYPE);
+        assertEquals(id.getMinValue(), "0");
+        assertEquals(id.getMaxValue(), Integer.toString(RECORD_COUNT - 1));
+        assertWithin(id.getDistinctCount(), RECORD_COUNT, 0.05);
+        assertWithin(Double.parseDouble(id.getQuantile(0.5)), RECORD_COUNT / 2, 0.02);
+
+        ColumnProfile category = parallel.get(1);
+
+        assertEquals(category.getInferredDataType(), ColumnProfile.STRING_DATA_TYPE);
+        assertEquals(category.getDistinctCount(), 5);
+
+        Map<String, Long> topCategories = category.getTopValues(5);
+
+        assertEquals(topCategories.size(), 5);
+        assertNull(category.getQuantile(0.5));
+
+        ColumnProfile amount = parallel.get(2);
+
+        assertEquals(amount.getInferredDataType(), ColumnProfile.DECIMAL_DATA_TYPE);
+        assertEquals(amount.getAverageValue(), "50");
+
+        ColumnProfile comment = parallel.get(3);
+
+        assertEquals(comment.getNullCount(), RECORD_COUNT / 2);
+        assertEquals(comment.getValueCount(), RECORD_COUNT / 2);
+        assertEquals(comment.getMinLength(), 4);
+    }
+
+
+    /**
+     * Build the profile of a generated table.
+     *
+     * @param columnNames names of the columns
+     * @param workerCount number of worker threads
+     * @return profiles
+     * @throws InterruptedException test interrupted
+     */
+    private List<ColumnProfile> profile(List<String> columnNames,
+                                        int          workerCount) throws InterruptedException
+    {
+        ColumnProfiler profiler = new ColumnProfiler(columnNames, workerCount, 16);
+
+        for (int i = 0; i < RECORD_COUNT; i++)
+        {
+            String amount  = (i % 2 == 0) ? "49.5" : "50.5";
+            String comment = (i % 2 == 0) ? "note" : "";
+
+            if ((i % 2 == 1) && (i % 3 == 0))
+            {
+                /*
+                 * Short record - the missing comment is a null.
+                 */
+                profiler.addRecord(Arrays.asList(Integer.toString(i), "category" + (i % 5), amount));
+            }
+            else
+            {
+                profiler.addRecord(Arrays.asList(Integer.toString(i), "category" + (i % 5), amount, comment));
+            }
+        }
+
+        assertEquals(profiler.getRecordCount(), RECORD_COUNT);
+
+        return profiler.complete();
+    }
+
+
+    /**
+     * Check that an estimate is within a relative error of the expected value.
+     *
+     * @param estimate estimated value
+     * @param expected true value
+     * @param relativeError allowed error as a fraction of the true value
+     */
+    private static void assertWithin(double estimate,
+                                     double expected,
+                                     double relativeError)
+    {
+        assertTrue(Math.abs(estimate - expected) <= expected * relativeError,
+                   "Estimate " + estimate + " is not within " + relativeError + " of " + expected);
+    }
+}
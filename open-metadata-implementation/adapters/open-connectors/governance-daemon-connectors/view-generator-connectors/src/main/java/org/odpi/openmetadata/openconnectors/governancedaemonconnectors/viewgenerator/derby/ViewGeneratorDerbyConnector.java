@@ -6,6 +6,8 @@
 package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.viewgenerator.derby;
 
 import org.odpi.openmetadata.accessservices.informationview.events.TableContextEvent;
+import org.odpi.openmetadata.adapters.connectors.database.OCFDatabaseConnectionPool;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.frameworks.connectors.properties.AdditionalProperties;
 import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
 import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties;
@@ -16,9 +18,12 @@ import org.odpi.openmetadata.governanceservers.virtualizationservices.viewgenera
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.sql.DriverManager;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.*;
 import java.util.function.Function;
 
@@ -28,13 +33,24 @@ import static org.odpi.openmetadata.governanceservers.virtualizationservices.vie
 import static org.odpi.openmetadata.governanceservers.virtualizationservices.viewgenerator.utils.ConnectorUtils.TECHNICAL_PREFIX;
 
 
+/**
+ * ViewGeneratorDerbyConnector creates the business and technical logical tables in Gaian for the tables described
+ * in information view events.  Each operation borrows a connection from the pool shared by the connectors for the
+ * same database url, so events for different tables are processed in parallel.  The Gaian procedures are called
+ * through prepared statements that are cached by the pooled connections.
+ */
 public class ViewGeneratorDerbyConnector extends ViewGeneratorConnectorBase {
 
     private static final Logger log = LoggerFactory.getLogger(ViewGeneratorDerbyConnector.class);
-    private static String databaseUrl;
-    private static java.sql.Connection derbyConnection;
-    private static java.sql.Statement derbyStatement;
-    private static DerbyConnectorAuditCode auditCode;
+
+    private static final String REMOVE_LOGICAL_TABLE = "call removelt(?)";
+    private static final String SET_LOGICAL_TABLE_FOR_NODE = "call setltfornode(?,?)";
+    private static final String SET_LOGICAL_TABLE = "call setlt(?,?,?)";
+    private static final String SET_DATA_SOURCE_TABLE = "call setdsrdbtable(?,?,?,?,?,?)";
+
+    private String databaseUrl;
+    private OCFDatabaseConnectionPool dataSource;
+    private DerbyConnectorAuditCode auditCode;
     /*
      * Variables fpr building the connection to the Derby database
      */
@@ -145,7 +161,7 @@ public class ViewGeneratorDerbyConnector extends ViewGeneratorConnectorBase {
 
         createDerbyConnection();
 
-        if (derbyConnection != null && omrsAuditLog != null) {
+        if (dataSource != null && omrsAuditLog != null) {
             auditCode = DerbyConnectorAuditCode.CONNECTOR_INITIALIZED;
             omrsAuditLog.logRecord(actionDescription,
                     auditCode.getLogMessageId(),
@@ -166,10 +182,11 @@ public class ViewGeneratorDerbyConnector extends ViewGeneratorConnectorBase {
     private boolean deleteLogicalTable(String tableName) {
         final String actionDescription = "deleteLogicalTable";
 
-        try {
-            derbyStatement = derbyConnection.createStatement();
-            derbyStatement.setQueryTimeout(timeoutInSecond);
-            derbyStatement.executeUpdate("call removelt('" + tableName + "')");
+        try (Connection connection = borrowConnection();
+             PreparedStatement statement = connection.prepareStatement(REMOVE_LOGICAL_TABLE)) {
+            statement.setQueryTimeout(timeoutInSecond);
+            statement.setString(1, tableName);
+            statement.executeUpdate();
 
             log.debug("Successfully deleted table: {}.", tableName);
             return true;
@@ -193,16 +210,18 @@ public class ViewGeneratorDerbyConnector extends ViewGeneratorConnectorBase {
     private List<LogicTable> getAllLogicTables() {
         final String actionDescription = "getAllLogicTables";
 
-        List logicTableList = new ArrayList();
+        List<LogicTable> logicTableList = new ArrayList<>();
 
-        try {
-            derbyStatement = derbyConnection.createStatement();
-            derbyStatement.setQueryTimeout(timeoutInSecond);
-            ResultSet resultSet = derbyStatement.executeQuery(getLogicTablesQuery);
-            while (resultSet.next()) {
-                logicTableList.add(extractLogicTableDefinition(resultSet));
+        try (Connection connection = borrowConnection();
+             PreparedStatement statement = connection.prepareStatement(getLogicTablesQuery)) {
+            statement.setQueryTimeout(timeoutInSecond);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    logicTableList.add(extractLogicTableDefinition(resultSet));
+                }
             }
 
+
         } catch (SQLException e) {
             log.error("Error in getting all the logic tables: ", e);
             if (omrsAuditLog != null) {
@@ -224,10 +243,10 @@ public class ViewGeneratorDerbyConnector extends ViewGeneratorConnectorBase {
 
         final String actionDescription = "executeCustomizedUpdate: " + update;
 
-        try {
-            derbyStatement = derbyConnection.createStatement();
-            derbyStatement.setQueryTimeout(timeoutInSecond);
-            derbyStatement.executeUpdate(update);
+        try (Connection connection = borrowConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(timeoutInSecond);
+            statement.executeUpdate(update);
 
             log.debug("Successfully executed query: {}.", update);
             return true;
@@ -299,19 +318,24 @@ public class ViewGeneratorDerbyConnector extends ViewGeneratorConnectorBase {
 
 
     /**
-     * Establish the connection to database
+     * Establish the connection pool for the database and check that a connection can be opened
      */
     private void createDerbyConnection() {
 
         final String actionDescription = "createDerbyConnection";
 
+        OCFDatabaseConnectionPool pool = null;
+
         try {
             Class.forName("org.apache.derby.jdbc.ClientDriver").newInstance();
-            //Get a connection
-            derbyConnection = DriverManager.getConnection(databaseUrl);
+            pool = OCFDatabaseConnectionPool.getPool(databaseUrl, connectionProperties.getConfigurationProperties());
+            //Get a connection to check the database is reachable; closing it returns it to the pool
+            pool.getConnection().close();
+            dataSource = pool;
             log.info("The connection to database is successfully established!");
         } catch (Exception e) {
             log.error("Error in creating the connection to derby: ", e);
+            OCFDatabaseConnectionPool.releasePool(pool);
             if (omrsAuditLog != null) {
                 auditCode = DerbyConnectorAuditCode.CONNECTOR_SERVER_CONNECTION_ERROR;
                 omrsAuditLog.logRecord(actionDescription,
@@ -326,6 +350,36 @@ public class ViewGeneratorDerbyConnector extends ViewGeneratorConnectorBase {
     }
 
 
+    /**
+     * Give back the connection pool, which closes it if no other connector is using it.
+     *
+     * @throws ConnectorCheckedException there is a problem disconnecting the connector
+     */
+    @Override
+    public void disconnect() throws ConnectorCheckedException {
+        OCFDatabaseConnectionPool pool = dataSource;
+
+        dataSource = null;
+        OCFDatabaseConnectionPool.releasePool(pool);
+
+        super.disconnect();
+    }
+
+
+    /**
+     * Borrow a connection from the pool.  Closing the connection returns it to the pool.
+     *
+     * @return connection
+     * @throws SQLException the pool is not available or no connection is free
+     */
+    private Connection borrowConnection() throws SQLException {
+        if (dataSource == null) {
+            throw new SQLException("The connection to the database has not been established");
+        }
+        return dataSource.getConnection();
+    }
+
+
     private LogicTable getMatchingTables(String gaianNodeName, List<String> tables) {
         log.debug("gaianNodeName: {}", gaianNodeName);
         log.debug("tables to match in gaian: {}", tables);
@@ -366,14 +420,16 @@ public class ViewGeneratorDerbyConnector extends ViewGeneratorConnectorBase {
             }
             ConnectorUtils.updateColumnDataType(mappedColumns, backendTable);
 
-            String updatedTable = createTableDefinition(tableContextEvent.getTableSource().getDatabaseSource().getName(), businessTableName, (c -> c.getBusinessName()), mappedColumns, gaianNodeName, logicalTableName);
-            if (updatedTable != null) {
-                createdTables.put(ConnectorUtils.BUSINESS_PREFIX, updatedTable);
-            }
+            Map<String, Function<MappedColumn, String>> tables = new LinkedHashMap<>();
+            tables.put(businessTableName, MappedColumn::getBusinessName);
+            tables.put(technicalTableName, MappedColumn::getTechnicalName);
 
-            updatedTable = createTableDefinition(tableContextEvent.getTableSource().getDatabaseSource().getName(), technicalTableName, (c -> c.getTechnicalName()), mappedColumns, gaianNodeName, logicalTableName);
-            if (updatedTable != null) {
-                createdTables.put(ConnectorUtils.TECHNICAL_PREFIX, updatedTable);
+            List<String> updatedTables = createTableDefinitions(tables, mappedColumns, gaianNodeName, logicalTableName);
+            if (updatedTables.contains(businessTableName)) {
+                createdTables.put(ConnectorUtils.BUSINESS_PREFIX, businessTableName);
+            }
+            if (updatedTables.contains(technicalTableName)) {
+                createdTables.put(ConnectorUtils.TECHNICAL_PREFIX, technicalTableName);
             }
 
             if (!backendTable.getNodeName().equals(gaianFrontendName)) {
@@ -391,72 +447,169 @@ public class ViewGeneratorDerbyConnector extends ViewGeneratorConnectorBase {
     /**
      * Set Logical Table mirroring the definition for the given Logical Table Name on another GaianDB node, so its data can be queried remotely.
      *
-     * @param logicalTableName
-     * @param gaianNodeName
+     * @param logicalTableName name of the logical table to mirror
+     * @param gaianNodeName node that holds the logical table
      */
     private void createMirroringLogicalTable(String logicalTableName, String gaianNodeName) {
+        final String actionDescription = "createMirroringLogicalTable";
+
         log.debug("Set up Logical Table for Gaian node");
-        String setLogicalTableForNode = "call setltfornode('" +
-                logicalTableName + "','" +
-                gaianNodeName + "')";
+        try (Connection connection = borrowConnection();
+             PreparedStatement statement = connection.prepareStatement(SET_LOGICAL_TABLE_FOR_NODE)) {
+            statement.setQueryTimeout(timeoutInSecond);
+            statement.setString(1, logicalTableName);
+            statement.setString(2, gaianNodeName);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            log.error("Error in mirroring logical table {}", logicalTableName, e);
+            logQueryError(actionDescription);
+        }
+    }
 
-        executeCustomizedUpdate(setLogicalTableForNode);
+    /**
+     * Create the definitions of a set of logical tables over the same backend logical table.  The logical tables are
+     * set up with one batch of setlt calls and their data sources with a second batch of setdsrdbtable calls, on one
+     * pooled connection.  A table whose setlt call fails does not get a data source.
+     *
+     * @param tables names of the tables to create, each with the function to retrieve its column names
+     * @param mappedColumns columns to be added to the table definitions
+     * @param gaianNodeName node that holds the backend logical table
+     * @param logicalTableName name of the backend logical table
+     * @return names of the tables that were created
+     */
+    private List<String> createTableDefinitions(Map<String, Function<MappedColumn, String>> tables, List<MappedColumn> mappedColumns, String gaianNodeName, String logicalTableName) {
+        final String actionDescription = "createTableDefinitions";
+
+        List<String> tableNames = new ArrayList<>(tables.keySet());
+        List<String> createdTables = new ArrayList<>();
+
+        try (Connection connection = borrowConnection()) {
+            List<String> definedTables = new ArrayList<>();
+
+            try (PreparedStatement statement = connection.prepareStatement(SET_LOGICAL_TABLE)) {
+                statement.setQueryTimeout(timeoutInSecond);
+                for (String tableName : tableNames) {
+                    statement.setString(1, tableName);
+                    statement.setString(2, buildColumnDefinitions(mappedColumns, tables.get(tableName)));
+                    statement.setString(3, "");
+                    statement.addBatch();
+                }
+                definedTables = getSuccessfulTables(tableNames, executeBatch(statement));
+            }
+
+            if (!definedTables.isEmpty()) {
+                String columnNames = buildColumnNames(mappedColumns);
+
+                try (PreparedStatement statement = connection.prepareStatement(SET_DATA_SOURCE_TABLE)) {
+                    statement.setQueryTimeout(timeoutInSecond);
+                    for (String tableName : definedTables) {
+                        statement.setString(1, tableName);
+                        statement.setString(2, "");
+                        statement.setString(3, gaianNodeName.toUpperCase());
+                        statement.setString(4, logicalTableName);
+                        statement.setString(5, "");
+                        statement.setString(6, columnNames);
+                        statement.addBatch();
+                    }
+                    createdTables = getSuccessfulTables(definedTables, executeBatch(statement));
+                }
+            }
+        } catch (SQLException e) {
+            log.error("Error in creating table definitions for {}", tableNames, e);
+            logQueryError(actionDescription);
+        }
+
+        for (String tableName : tableNames) {
+            if (createdTables.contains(tableName)) {
+                log.debug("Successfully created table {}", tableName);
+            } else {
+                log.error("Failed to create table {}", tableName);
+            }
+        }
+        return createdTables;
     }
 
-    private String createTableDefinition(String databaseName, String tableName, Function<MappedColumn, String> function, List<MappedColumn> mappedColumns, String gaianNodeName, String logicalTableName) {
-        String businessTableCreateStatement = buildTableCreateStatement(tableName, mappedColumns, function);
-        String setBusinessTableDataSource = buildCreateTableDataSourceStatement(databaseName, tableName, gaianNodeName, mappedColumns, logicalTableName);
+    /**
+     * Run a batch and return the update counts.  If the batch fails part way through, the counts of the
+     * statements that ran are returned.
+     *
+     * @param statement statement holding the batch
+     * @return update counts, one for each statement that ran
+     * @throws SQLException the batch could not be run
+     */
+    private int[] executeBatch(PreparedStatement statement) throws SQLException {
+        try {
+            return statement.executeBatch();
+        } catch (BatchUpdateException e) {
+            log.error("Error in batch update", e);
+            logQueryError("executeBatch");
+            return e.getUpdateCounts() == null ? new int[0] : e.getUpdateCounts();
+        }
+    }
+
+    /**
+     * Return the tables whose statements in a batch succeeded.
+     *
+     * @param tableNames table names in the order they were added to the batch
+     * @param updateCounts update counts returned by the batch
+     * @return table names
+     */
+    private List<String> getSuccessfulTables(List<String> tableNames, int[] updateCounts) {
+        List<String> successfulTables = new ArrayList<>();
 
-        boolean queryStatus = executeCustomizedUpdate(businessTableCreateStatement);
-        if (queryStatus){
-            queryStatus = executeCustomizedUpdate(setBusinessTableDataSource);
+        for (int i = 0; i < tableNames.size() && i < updateCounts.length; i++) {
+            if (updateCounts[i] != Statement.EXECUTE_FAILED) {
+                successfulTables.add(tableNames.get(i));
+            }
         }
+        return successfulTables;
+    }
 
-        if (queryStatus) {
-            log.debug("Successfully created table {}", tableName);
-            return tableName;
-        } else {
-            log.error("Failed to create table {}" ,tableName);
+    /**
+     * Log a query error to the audit log.
+     *
+     * @param actionDescription calling method
+     */
+    private void logQueryError(String actionDescription) {
+        if (omrsAuditLog != null) {
+            auditCode = DerbyConnectorAuditCode.CONNECTOR_QUERY_ERROR;
+            omrsAuditLog.logRecord(actionDescription,
+                    auditCode.getLogMessageId(),
+                    auditCode.getSeverity(),
+                    auditCode.getFormattedLogMessage(),
+                    null,
+                    auditCode.getSystemAction(),
+                    auditCode.getUserAction());
         }
-        return null;
     }
 
     /**
      *
-     * @param tableName name of the table to be created
      * @param mappedColumns columns to be added to table definition
      * @param function to retrieve the value to be used as column name; it is either technical or business name
-     * @return
+     * @return column definitions for setlt
      */
-    private String buildTableCreateStatement(String tableName, List<MappedColumn> mappedColumns, Function<MappedColumn, String> function) {
-        StringBuilder statement = new StringBuilder("call setlt('" +
-                tableName +
-                "','");
+    private String buildColumnDefinitions(List<MappedColumn> mappedColumns, Function<MappedColumn, String> function) {
+        StringBuilder definitions = new StringBuilder();
         for (MappedColumn mappedColumn : mappedColumns) {
-            statement.append(function.apply(mappedColumn)).append(" ").append(mappedColumn.getType()).append(",");
+            if (definitions.length() > 0) {
+                definitions.append(",");
+            }
+            definitions.append(function.apply(mappedColumn)).append(" ").append(mappedColumn.getType());
         }
-        statement = new StringBuilder(statement.substring(0, (statement.length() - 1)));
-        statement.append("','')");
-        return statement.toString();
+        return definitions.toString();
     }
 
 
-    private String buildCreateTableDataSourceStatement(String databaseName, String tableName, String gaianNodeName, List<MappedColumn> mappedColumns, String logicalTableName) {
-        String connectionName = gaianNodeName.toUpperCase();
-        String statementForCreatingDataSource = "call setdsrdbtable('" +
-                tableName +
-                "', '', '" +
-                connectionName +
-                "', '" +
-                logicalTableName +
-                "','', '";
-
+    private String buildColumnNames(List<MappedColumn> mappedColumns) {
+        StringBuilder columnNames = new StringBuilder();
         for (MappedColumn mappedColumn : mappedColumns) {
-            statementForCreatingDataSource += mappedColumn.getTechnicalName() + ",";
+            if (columnNames.length() > 0) {
+                columnNames.append(",");
+            }
+            columnNames.append(mappedColumn.getTechnicalName());
         }
-        statementForCreatingDataSource = statementForCreatingDataSource.substring(0, (statementForCreatingDataSource.length() - 1));
-        statementForCreatingDataSource += "')";
-        return statementForCreatingDataSource;
+        return columnNames.toString();
     }
 
 }
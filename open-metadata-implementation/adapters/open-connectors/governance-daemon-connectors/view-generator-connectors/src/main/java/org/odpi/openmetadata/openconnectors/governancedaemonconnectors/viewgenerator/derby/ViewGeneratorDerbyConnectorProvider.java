@@ -5,9 +5,13 @@
  */
 package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.viewgenerator.derby;
 
+import org.odpi.openmetadata.adapters.connectors.database.OCFDatabaseConnectorProviderBase;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorType;
 import org.odpi.openmetadata.governanceservers.virtualizationservices.viewgenerator.ViewGeneratorConnectorProvider;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class ViewGeneratorDerbyConnectorProvider extends ViewGeneratorConnectorProvider {
     private static final String  connectorTypeGUID = "35657b2b-c472-494f-81c5-99f08bbf8a36";
     private static final String  connectorTypeName = "Derby Database Connector";
@@ -26,6 +30,13 @@ public class ViewGeneratorDerbyConnectorProvider extends ViewGeneratorConnectorP
         connectorType.setDescription(connectorTypeDescription);
         connectorType.setConnectorProviderClassName(this.getClass().getName());
 
+        List<String> recognizedConfigurationProperties = new ArrayList<>();
+        recognizedConfigurationProperties.add(OCFDatabaseConnectorProviderBase.maxPoolSizeProperty);
+        recognizedConfigurationProperties.add(OCFDatabaseConnectorProviderBase.statementCacheSizeProperty);
+        recognizedConfigurationProperties.add(OCFDatabaseConnectorProviderBase.connectionTimeoutProperty);
+
+        connectorType.setRecognizedConfigurationProperties(recognizedConfigurationProperties);
+
         super.connectorTypeBean = connectorType;
     }
 }
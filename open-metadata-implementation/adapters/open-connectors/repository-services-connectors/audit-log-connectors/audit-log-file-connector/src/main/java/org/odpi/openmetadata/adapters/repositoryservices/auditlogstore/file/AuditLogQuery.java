@@ -0,0 +1,118 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
+
+import java.util.Date;
+
+/**
+ * AuditLogQuery holds the search criteria for a query on the file based audit log along with the paging
+ * state as the query moves from one segment to the next.
+ */
+class AuditLogQuery
+{
+    private final String severity;
+    private final String componentName;
+    private final long   startTime;
+    private final long   endTime;
+    private       int    recordsToSkip;
+    private       int    recordsToReturn;
+
+
+    /**
+     * Constructor
+     *
+     * @param severity severity of the records to return (null for any severity)
+     * @param componentName name of the component that wrote the records to return (null for any component)
+     * @param startDate start of time period (null for no start)
+     * @param endDate end of time period (null for no end)
+     * @param offset number of matching records to skip
+     * @param maximumRecords maximum number of records to return (0 for no limit)
+     */
+    AuditLogQuery(String severity,
+                  String componentName,
+                  Date   startDate,
+                  Date   endDate,
+                  int    offset,
+                  int    maximumRecords)
+    {
+        this.severity = severity;
+        this.componentName = componentName;
+        this.startTime = (startDate == null) ? Long.MIN_VALUE : startDate.getTime();
+        this.endTime = (endDate == null) ? Long.MAX_VALUE : endDate.getTime();
+        this.recordsToSkip = offset;
+        this.recordsToReturn = (maximumRecords == 0) ? Integer.MAX_VALUE : maximumRecords;
+    }
+
+
+    /**
+     * Return the severity of the records to return.
+     *
+     * @return severity name or null
+     */
+    String getSeverity()
+    {
+        return severity;
+    }
+
+
+    /**
+     * Return the name of the component that wrote the records to return.
+     *
+     * @return component name or null
+     */
+    String getComponentName()
+    {
+        return componentName;
+    }
+
+
+    /**
+     * Return the start of the time period in milliseconds.
+     *
+     * @return time
+     */
+    long getStartTime()
+    {
+        return startTime;
+    }
+
+
+    /**
+     * Return the end of the time period in milliseconds.
+     *
+     * @return time
+     */
+    long getEndTime()
+    {
+        return endTime;
+    }
+
+
+    /**
+     * Record that a matching record has been found.
+     *
+     * @return true if the record is to be returned; false if it is skipped because of the offset
+     */
+    boolean accept()
+    {
+        if (recordsToSkip > 0)
+        {
+            recordsToSkip--;
+            return false;
+        }
+
+        recordsToReturn--;
+        return true;
+    }
+
+
+    /**
+     * Return whether the requested number of records has been found.
+     *
+     * @return boolean
+     */
+    boolean isComplete()
+    {
+        return recordsToReturn <= 0;
+    }
+}
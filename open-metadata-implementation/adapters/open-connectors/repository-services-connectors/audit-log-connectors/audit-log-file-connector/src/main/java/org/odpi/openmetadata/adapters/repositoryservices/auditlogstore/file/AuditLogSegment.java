@@ -0,0 +1,331 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * AuditLogSegment is the in-memory index of one segment file of the file based audit log.  Each segment file
+ * holds audit log records as JSON, one record per line, in the order they were written.  The index records
+ * where each record starts in the file and its timestamp, plus the positions of the records for each
+ * severity and reporting component.  This means a query only reads the records it is going to return.
+ * The segment also maps the GUID of each of its records to its position, so a record is looked up by GUID
+ * in the segments that are retained.  The GUIDs are dropped along with the rest of the index when the
+ * segment is removed.
+ * The index is not thread-safe; the connector controls access to it.
+ */
+class AuditLogSegment
+{
+    private static final int initialCapacity = 256;
+
+    private final int     segmentNumber;
+    private final File    segmentFile;
+    private       long    segmentSize  = 0;
+    private       int     recordCount  = 0;
+    private       long[]  offsets      = new long[initialCapacity];
+    private       int[]   lengths      = new int[initialCapacity];
+    private       long[]  timeStamps   = new long[initialCapacity];
+    private       long    minTimeStamp = Long.MAX_VALUE;
+    private       long    maxTimeStamp = Long.MIN_VALUE;
+
+    private final Map<String, PositionList> severityIndex  = new HashMap<>();
+    private final Map<String, PositionList> componentIndex = new HashMap<>();
+    private final Map<String, Integer>      guidIndex      = new HashMap<>();
+
+
+    /**
+     * Constructor
+     *
+     * @param segmentNumber sequence number of the segment
+     * @param segmentFile file holding the records
+     */
+    AuditLogSegment(int  segmentNumber,
+                    File segmentFile)
+    {
+        this.segmentNumber = segmentNumber;
+        this.segmentFile = segmentFile;
+    }
+
+
+    /**
+     * Return the sequence number of the segment.
+     *
+     * @return int
+     */
+    int getSegmentNumber()
+    {
+        return segmentNumber;
+    }
+
+
+    /**
+     * Return the file holding the records.
+     *
+     * @return file
+     */
+    File getSegmentFile()
+    {
+        return segmentFile;
+    }
+
+
+    /**
+     * Return the number of bytes in the segment file that are covered by the index.
+     *
+     * @return byte count
+     */
+    long getSegmentSize()
+    {
+        return segmentSize;
+    }
+
+
+    /**
+     * Return the number of records in the segment.
+     *
+     * @return record count
+     */
+    int getRecordCount()
+    {
+        return recordCount;
+    }
+
+
+    /**
+     * Return the offset in the segment file of the record at the requested position.
+     *
+     * @param position position of the record in the segment
+     * @return byte offset
+     */
+    long getOffset(int position)
+    {
+        return offsets[position];
+    }
+
+
+    /**
+     * Return the length in bytes of the record at the requested position.
+     *
+     * @param position position of the record in the segment
+     * @return byte count
+     */
+    int getLength(int position)
+    {
+        return lengths[position];
+    }
+
+
+    /**
+     * Return the position of the record with the requested GUID.  If the GUID has been used for more than
+     * one record in the segment, the position of the last one is returned.
+     *
+     * @param guid unique identifier of the record
+     * @return position of the record in the segment or -1 if it is not in this segment
+     */
+    int getPosition(String guid)
+    {
+        Integer position = guidIndex.get(guid);
+
+        return (position == null) ? -1 : position;
+    }
+
+
+    /**
+     * Add a record that has been written to the segment file.
+     *
+     * @param offset offset of the start of the record in the file
+     * @param length length of the record in bytes (excluding the line separator)
+     * @param guid unique identifier of the record (may be null)
+     * @param timeStamp time that the record was created
+     * @param severity severity of the record
+     * @param componentName name of the component that created the record
+     * @param nextOffset offset in the file after this record
+     * @return position of the record in the segment
+     */
+    int addRecord(long   offset,
+                  int    length,
+                  String guid,
+                  long   timeStamp,
+                  String severity,
+                  String componentName,
+                  long   nextOffset)
+    {
+        if (recordCount == offsets.length)
+        {
+            int newCapacity = recordCount * 2;
+
+            offsets = Arrays.copyOf(offsets, newCapacity);
+            lengths = Arrays.copyOf(lengths, newCapacity);
+            timeStamps = Arrays.copyOf(timeStamps, newCapacity);
+        }
+
+        int position = recordCount;
+
+        offsets[position] = offset;
+        lengths[position] = length;
+        timeStamps[position] = timeStamp;
+
+        minTimeStamp = Math.min(minTimeStamp, timeStamp);
+        maxTimeStamp = Math.max(maxTimeStamp, timeStamp);
+
+        if (guid != null)
+        {
+            guidIndex.put(guid, position);
+        }
+
+        if (severity != null)
+        {
+            severityIndex.computeIfAbsent(severity, key -> new PositionList()).add(position);
+        }
+
+        if (componentName != null)
+        {
+            componentIndex.computeIfAbsent(componentName, key -> new PositionList()).add(position);
+        }
+
+        recordCount++;
+        segmentSize = nextOffset;
+
+        return position;
+    }
+
+
+    /**
+     * Add the positions of the records in this segment that match the query.  The query is updated with the
+     * number of matching records skipped and returned so it can be passed on to the next segment.
+     *
+     * @param query search criteria and paging state
+     * @return positions of the matching records that should be returned (in the order they were written)
+     */
+    List<Integer> selectRecords(AuditLogQuery query)
+    {
+        List<Integer> results = new ArrayList<>();
+
+        if ((recordCount == 0) || (query.isComplete()) ||
+            (maxTimeStamp < query.getStartTime()) || (minTimeStamp > query.getEndTime()))
+        {
+            return results;
+        }
+
+        PositionList candidates = null;
+
+        if (query.getSeverity() != null)
+        {
+            candidates = severityIndex.get(query.getSeverity());
+
+            if (candidates == null)
+            {
+                return results;
+            }
+        }
+
+        if (query.getComponentName() != null)
+        {
+            PositionList componentCandidates = componentIndex.get(query.getComponentName());
+
+            if (componentCandidates == null)
+            {
+                return results;
+            }
+
+            if ((candidates == null) || (componentCandidates.size() < candidates.size()))
+            {
+                candidates = componentCandidates;
+            }
+        }
+
+        int candidateCount = (candidates == null) ? recordCount : candidates.size();
+
+        for (int i = 0; (i < candidateCount) && (! query.isComplete()); i++)
+        {
+            int position = (candidates == null) ? i : candidates.get(i);
+
+            if (this.matches(position, query) && query.accept())
+            {
+                results.add(position);
+            }
+        }
+
+        return results;
+    }
+
+
+    /**
+     * Test whether the record at the requested position matches all of the query criteria.
+     *
+     * @param position position of the record
+     * @param query search criteria
+     * @return boolean
+     */
+    private boolean matches(int           position,
+                            AuditLogQuery query)
+    {
+        long timeStamp = timeStamps[position];
+
+        if ((timeStamp < query.getStartTime()) || (timeStamp > query.getEndTime()))
+        {
+            return false;
+        }
+
+        if ((query.getSeverity() != null) && (! contains(severityIndex.get(query.getSeverity()), position)))
+        {
+            return false;
+        }
+
+        return (query.getComponentName() == null) || (contains(componentIndex.get(query.getComponentName()), position));
+    }
+
+
+    /**
+     * Test whether a position is in the list.
+     *
+     * @param positionList list of positions (may be null)
+     * @param position position to look for
+     * @return boolean
+     */
+    private static boolean contains(PositionList positionList,
+                                    int          position)
+    {
+        return (positionList != null) && (positionList.contains(position));
+    }
+
+
+    /**
+     * Growable, sorted list of record positions.
+     */
+    private static class PositionList
+    {
+        private int[] positions = new int[16];
+        private int   size      = 0;
+
+        void add(int position)
+        {
+            if (size == positions.length)
+            {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+
+            positions[size++] = position;
+        }
+
+        int get(int index)
+        {
+            return positions[index];
+        }
+
+        int size()
+        {
+            return size;
+        }
+
+        boolean contains(int position)
+        {
+            return Arrays.binarySearch(positions, 0, size, position) >= 0;
+        }
+    }
+}
@@ -2,27 +2,105 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.PagingErrorException;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecord;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogStoreConnectorBase;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * FileBasedAuditLogStoreConnector provides a connector implementation for a file based audit log.
- * The audit log is stored in a directory and each audit log record is stored as a file with a filename build
- * from the record's unique identifier (guid).
+ * The audit log is stored in a directory (the endpoint address of the connection) as a sequence of
+ * append-only segment files.  Each segment file holds audit log records as JSON, one record per line.
+ * A new segment is started when the current one reaches its maximum size, and each time the connector starts.
+ * Only the most recent segments are kept.  When a new segment would take the number of segments over the
+ * limit, the oldest segment file is deleted and its records are dropped from the indexes.
+ * <p>
+ * Records are written by a single background thread.  The caller's thread only places the record on a
+ * bounded queue, and the writer thread writes everything waiting on the queue in one batch and forces it
+ * to disk once for the whole batch.  Records are visible to the query methods once their batch is written.
+ * <p>
+ * Each segment has an in-memory index of the GUID, timestamp, severity and reporting component of its records
+ * so queries only read the records they return.  The indexes only cover the retained segments, and they are
+ * rebuilt from the retained segment files when the connector starts.
  */
 public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorBase
 {
     private static final Logger log = LoggerFactory.getLogger(FileBasedAuditLogStoreConnector.class);
 
+    /*
+     * Names of the configuration properties that can be set in the connection.
+     */
+    private static final String maxSegmentSizeProperty = "maxSegmentSize";
+    private static final String writeQueueSizeProperty = "writeQueueSize";
+    private static final String maxBatchSizeProperty   = "maxBatchSize";
+    private static final String maxSegmentsProperty    = "maxSegments";
+
+    private static final String  defaultDirectoryName  = "omag.auditlog";
+    private static final int     defaultMaxSegmentSize = 10 * 1024 * 1024;
+    private static final int     defaultWriteQueueSize = 10000;
+    private static final int     defaultMaxBatchSize   = 1000;
+    private static final int     defaultMaxSegments    = 100;
+    private static final long    writerShutdownTimeout = 30000;
+
+    private static final String  segmentFilePrefix  = "auditlog-";
+    private static final String  segmentFileSuffix  = ".json";
+    private static final Pattern segmentFilePattern = Pattern.compile("auditlog-(\\d+)\\.json");
+
+    private static final byte    lineSeparator = '\n';
+
+    private final ObjectMapper                         objectMapper = new ObjectMapper();
+    private final ReadWriteLock                        indexLock    = new ReentrantReadWriteLock();
+    private final List<AuditLogSegment>                segments     = new ArrayList<>();
+
+    private String                            directoryName  = defaultDirectoryName;
+    private int                               maxSegmentSize = defaultMaxSegmentSize;
+    private int                               writeQueueSize = defaultWriteQueueSize;
+    private int                               maxBatchSize   = defaultMaxBatchSize;
+    private int                               maxSegments    = defaultMaxSegments;
+
+    private BlockingQueue<OMRSAuditLogRecord> writeQueue     = null;
+    private Thread                            writerThread   = null;
+    private volatile boolean                  running        = false;
+    private volatile boolean                  closed         = false;
+
+    /*
+     * Only used by the writer thread.
+     */
+    private AuditLogSegment                   currentSegment = null;
+    private FileChannel                       currentChannel = null;
+
 
     /**
      * Default constructor used by the connector provider.
@@ -33,7 +111,68 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
 
 
     /**
-     * Store the audit log record in the audit log store.
+     * Initialize the connector.
+     *
+     * @param connectorInstanceId unique id for the connector instance useful for lineage and auditing
+     * @param connectionProperties properties from the connection
+     */
+    @Override
+    public void initialize(String               connectorInstanceId,
+                           ConnectionProperties connectionProperties)
+    {
+        super.initialize(connectorInstanceId, connectionProperties);
+
+        EndpointProperties endpoint = connectionProperties.getEndpoint();
+
+        if ((endpoint != null) && (endpoint.getAddress() != null))
+        {
+            directoryName = endpoint.getAddress();
+        }
+
+        Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+
+        if (configurationProperties != null)
+        {
+            maxSegmentSize = this.getPositiveProperty(configurationProperties, maxSegmentSizeProperty, defaultMaxSegmentSize);
+            writeQueueSize = this.getPositiveProperty(configurationProperties, writeQueueSizeProperty, defaultWriteQueueSize);
+            maxBatchSize   = this.getPositiveProperty(configurationProperties, maxBatchSizeProperty, defaultMaxBatchSize);
+            maxSegments    = this.getPositiveProperty(configurationProperties, maxSegmentsProperty, defaultMaxSegments);
+        }
+    }
+
+
+    /**
+     * Return the value of an integer configuration property, or the default if it is not set or is not
+     * a positive integer.
+     *
+     * @param configurationProperties properties from the connection
+     * @param propertyName name of the property
+     * @param defaultValue value to use if the property is not set
+     * @return value
+     */
+    private int getPositiveProperty(Map<String, Object> configurationProperties,
+                                    String              propertyName,
+                                    int                 defaultValue)
+    {
+        Object propertyValue = configurationProperties.get(propertyName);
+
+        if ((propertyValue instanceof Integer) && ((Integer)propertyValue > 0))
+        {
+            return (Integer)propertyValue;
+        }
+
+        if (propertyValue != null)
+        {
+            log.debug("Ignoring invalid value " + propertyValue + " for audit log property " + propertyName);
+        }
+
+        return defaultValue;
+    }
+
+
+    /**
+     * Store the audit log record in the audit log store.  The record is queued for the writer thread
+     * so this method only waits if the queue is full.
      *
      * @param logRecord  log record to store
      * @return unique identifier assigned to the log record
@@ -56,9 +195,29 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
                                                 errorCode.getUserAction());
         }
 
-        log.debug("AuditLogRecord: " + logRecord.toString());
+        if (logRecord.getGUID() == null)
+        {
+            logRecord.setGUID(UUID.randomUUID().toString());
+        }
 
-        return null;
+        if (this.openStore())
+        {
+            try
+            {
+                writeQueue.put(logRecord);
+            }
+            catch (InterruptedException interrupted)
+            {
+                Thread.currentThread().interrupt();
+                log.error("Interrupted while queuing audit log record: " + logRecord);
+            }
+        }
+        else
+        {
+            log.debug("Audit log store " + directoryName + " is closed; AuditLogRecord: " + logRecord.toString());
+        }
+
+        return logRecord.getGUID();
     }
 
 
@@ -71,8 +230,61 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
      */
     public OMRSAuditLogRecord  getAuditLogRecord(String     logRecordId) throws InvalidParameterException
     {
+        final String   methodName = "getAuditLogRecord";
+
+        if (logRecordId == null)
+        {
+            OMRSErrorCode errorCode    = OMRSErrorCode.NULL_LOG_RECORD_ID;
+            String        errorMessage = errorCode.getErrorMessageId()
+                                       + errorCode.getFormattedErrorMessage(methodName, directoryName);
+
+            throw new InvalidParameterException(errorCode.getHTTPErrorCode(),
+                                                this.getClass().getName(),
+                                                methodName,
+                                                errorMessage,
+                                                errorCode.getSystemAction(),
+                                                errorCode.getUserAction());
+        }
+
+        this.openStore();
+
+        AuditLogSegment segment  = null;
+        int             position = -1;
+
+        indexLock.readLock().lock();
+        try
+        {
+            /*
+             * The newest segments are searched first so a GUID that has been reused returns the latest record.
+             */
+            for (int i = segments.size() - 1; (i >= 0) && (position < 0); i--)
+            {
+                segment = segments.get(i);
+                position = segment.getPosition(logRecordId);
+            }
+        }
+        finally
+        {
+            indexLock.readLock().unlock();
+        }
+
+        if (position < 0)
+        {
+            return null;
+        }
+
+        List<OMRSAuditLogRecord> results = new ArrayList<>();
+        List<Integer>            positions = new ArrayList<>();
+
+        positions.add(position);
+        this.readRecords(segment, positions, results);
+
+        if (results.isEmpty())
+        {
+            return null;
+        }
 
-        return null;
+        return results.get(0);
     }
 
 
@@ -94,7 +306,11 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
                                                                   int     maximumRecords) throws InvalidParameterException,
                                                                                                  PagingErrorException
     {
-        return null;
+        final String   methodName = "getAuditLogRecordsByTimeStamp";
+
+        this.validateQuery(startDate, endDate, offset, maximumRecords, methodName);
+
+        return this.findRecords(new AuditLogQuery(null, null, startDate, endDate, offset, maximumRecords));
     }
 
     /**
@@ -117,7 +333,13 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
                                                                  int      maximumRecords) throws InvalidParameterException,
                                                                                                  PagingErrorException
     {
-        return null;
+        final String   methodName = "getAuditLogRecordsBySeverity";
+        final String   parameterName = "severity";
+
+        this.validateSearchValue(severity, parameterName, methodName);
+        this.validateQuery(startDate, endDate, offset, maximumRecords, methodName);
+
+        return this.findRecords(new AuditLogQuery(severity, null, startDate, endDate, offset, maximumRecords));
     }
 
 
@@ -141,7 +363,13 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
                                                                   int    maximumRecords) throws InvalidParameterException,
                                                                                                 PagingErrorException
     {
-        return null;
+        final String   methodName = "getAuditLogRecordsByComponent";
+        final String   parameterName = "component";
+
+        this.validateSearchValue(component, parameterName, methodName);
+        this.validateQuery(startDate, endDate, offset, maximumRecords, methodName);
+
+        return this.findRecords(new AuditLogQuery(null, component, startDate, endDate, offset, maximumRecords));
     }
 
 
@@ -153,16 +381,654 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
     public void start() throws ConnectorCheckedException
     {
         super.start();
+
+        this.openStore();
     }
 
 
     /**
-     * Free up any resources held since the connector is no longer needed.
+     * Free up any resources held since the connector is no longer needed.  The records waiting on the
+     * queue are written before the segment file is closed.
      *
      * @throws ConnectorCheckedException there is a problem within the connector.
      */
     public  void disconnect() throws ConnectorCheckedException
     {
+        Thread writer;
+
+        synchronized (this)
+        {
+            closed = true;
+            running = false;
+            writer = writerThread;
+        }
+
+        if (writer != null)
+        {
+            try
+            {
+                writer.join(writerShutdownTimeout);
+            }
+            catch (InterruptedException interrupted)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            if (writer.isAlive())
+            {
+                log.error("Audit log store " + directoryName + " did not finish writing " + writeQueue.size() +
+                                  " audit log records before disconnect");
+            }
+        }
+
         super.disconnect();
     }
+
+
+    /**
+     * Make sure the audit log directory is ready and the writer thread is running.  This is called on start()
+     * and also on first use since the audit log store may be used before it is started.
+     *
+     * @return boolean flag indicating whether the store is open.
+     */
+    private synchronized boolean openStore()
+    {
+        if (closed)
+        {
+            return false;
+        }
+
+        if (running)
+        {
+            return true;
+        }
+
+        File directory = new File(directoryName);
+
+        if ((! directory.isDirectory()) && (! directory.mkdirs()))
+        {
+            log.error("Unable to create audit log directory " + directory.getAbsolutePath());
+        }
+
+        int lastSegmentNumber = this.loadSegments(directory);
+
+        writeQueue = new LinkedBlockingQueue<>(writeQueueSize);
+        currentSegment = this.newSegment(lastSegmentNumber + 1);
+        running = true;
+
+        writerThread = new Thread(this::writeRecords, "FileBasedAuditLogStore: " + directoryName);
+        writerThread.setDaemon(true);
+        writerThread.start();
+
+        return true;
+    }
+
+
+    /**
+     * Rebuild the indexes for the segment files already in the audit log directory.  The new segment started
+     * by this connector counts towards the limit on the number of segments, so the oldest segment files
+     * beyond that are deleted without being read.
+     *
+     * @param directory audit log directory
+     * @return highest segment number found
+     */
+    private int loadSegments(File directory)
+    {
+        Map<Integer, File> segmentFiles = new TreeMap<>();
+        File[]             files        = directory.listFiles();
+
+        if (files != null)
+        {
+            for (File file : files)
+            {
+                Matcher matcher = segmentFilePattern.matcher(file.getName());
+
+                if (matcher.matches())
+                {
+                    segmentFiles.put(Integer.parseInt(matcher.group(1)), file);
+                }
+            }
+        }
+
+        int lastSegmentNumber = 0;
+        int segmentsToDelete  = segmentFiles.size() - (maxSegments - 1);
+
+        for (Map.Entry<Integer, File> segmentFile : segmentFiles.entrySet())
+        {
+            lastSegmentNumber = segmentFile.getKey();
+
+            if (segmentsToDelete > 0)
+            {
+                this.deleteSegmentFile(segmentFile.getValue());
+                segmentsToDelete--;
+                continue;
+            }
+
+            AuditLogSegment segment = new AuditLogSegment(segmentFile.getKey(), segmentFile.getValue());
+
+            indexLock.writeLock().lock();
+            try
+            {
+                this.loadSegment(segment);
+                segments.add(segment);
+            }
+            finally
+            {
+                indexLock.writeLock().unlock();
+            }
+        }
+
+        return lastSegmentNumber;
+    }
+
+
+    /**
+     * Remove the oldest segments until there are no more than the maximum number of segments.  Their indexes,
+     * including the GUIDs of their records, go with them and their files are deleted.  The caller holds the write lock.
+     */
+    private void removeOldSegments()
+    {
+        while (segments.size() > maxSegments)
+        {
+            AuditLogSegment oldestSegment = segments.remove(0);
+
+            this.deleteSegmentFile(oldestSegment.getSegmentFile());
+        }
+    }
+
+
+    /**
+     * Delete a segment file that is no longer retained.
+     *
+     * @param segmentFile file to delete
+     */
+    private void deleteSegmentFile(File segmentFile)
+    {
+        if (segmentFile.delete())
+        {
+            log.debug("Deleted audit log segment " + segmentFile.getName());
+        }
+        else
+        {
+            log.error("Unable to delete audit log segment " + segmentFile.getAbsolutePath());
+        }
+    }
+
+
+    /**
+     * Read an existing segment file and add its records to the indexes.  A line that can not be parsed
+     * (for example, because the server stopped part way through writing it) is skipped.
+     *
+     * @param segment segment to load
+     */
+    private void loadSegment(AuditLogSegment segment)
+    {
+        try (InputStream inputStream = new BufferedInputStream(new FileInputStream(segment.getSegmentFile())))
+        {
+            ByteArrayOutputStream line   = new ByteArrayOutputStream();
+            long                  offset = 0;
+            int                   nextByte;
+
+            while ((nextByte = inputStream.read()) != -1)
+            {
+                if (nextByte == lineSeparator)
+                {
+                    long nextOffset = offset + line.size() + 1;
+
+                    if (line.size() > 0)
+                    {
+                        try
+                        {
+                            OMRSAuditLogRecord logRecord = objectMapper.readValue(line.toByteArray(), OMRSAuditLogRecord.class);
+
+                            this.indexRecord(segment, logRecord, offset, line.size(), nextOffset);
+                        }
+                        catch (IOException badRecord)
+                        {
+                            log.error("Skipping unreadable audit log record at offset " + offset + " in " +
+                                              segment.getSegmentFile().getName() + ": " + badRecord.getMessage());
+                        }
+                    }
+
+                    offset = nextOffset;
+                    line.reset();
+                }
+                else
+                {
+                    line.write(nextByte);
+                }
+            }
+        }
+        catch (IOException ioException)
+        {
+            log.error("Unable to read audit log segment " + segment.getSegmentFile().getAbsolutePath(), ioException);
+        }
+    }
+
+
+    /**
+     * Create a new segment.  The file is created by the writer thread when it writes the first batch.
+     *
+     * @param segmentNumber sequence number of the segment
+     * @return new segment
+     */
+    private AuditLogSegment newSegment(int segmentNumber)
+    {
+        String fileName = String.format("%s%06d%s", segmentFilePrefix, segmentNumber, segmentFileSuffix);
+
+        return new AuditLogSegment(segmentNumber, new File(directoryName, fileName));
+    }
+
+
+    /**
+     * Body of the writer thread.  Each time round the loop it waits for a record and then takes everything
+     * else that is waiting (up to the maximum batch size) so that a busy server writes large batches.
+     */
+    private void writeRecords()
+    {
+        List<OMRSAuditLogRecord> batch = new ArrayList<>();
+
+        try
+        {
+            while (running || (! writeQueue.isEmpty()))
+            {
+                try
+                {
+                    OMRSAuditLogRecord logRecord = writeQueue.poll(1, TimeUnit.SECONDS);
+
+                    if (logRecord != null)
+                    {
+                        batch.add(logRecord);
+                        writeQueue.drainTo(batch, maxBatchSize - 1);
+
+                        this.writeBatch(batch);
+                        batch.clear();
+                    }
+                }
+                catch (InterruptedException interrupted)
+                {
+                    running = false;
+                }
+            }
+        }
+        finally
+        {
+            this.closeCurrentChannel();
+            log.debug("Audit log writer for " + directoryName + " has stopped.");
+        }
+    }
+
+
+    /**
+     * Write a batch of records to the current segment, starting new segments as needed.  The data is forced
+     * to disk before the records are added to the indexes.
+     *
+     * @param batch records to write
+     */
+    private void writeBatch(List<OMRSAuditLogRecord> batch)
+    {
+        ByteArrayOutputStream  buffer        = new ByteArrayOutputStream();
+        List<PendingRecord>    pendingRecords = new ArrayList<>();
+        long                   segmentSize   = currentSegment.getSegmentSize();
+
+        for (OMRSAuditLogRecord logRecord : batch)
+        {
+            byte[] recordBytes;
+
+            try
+            {
+                recordBytes = objectMapper.writeValueAsBytes(logRecord);
+            }
+            catch (IOException badRecord)
+            {
+                log.error("Unable to write audit log record " + logRecord + ": " + badRecord.getMessage());
+                continue;
+            }
+
+            long offset = segmentSize + buffer.size();
+
+            if ((offset > 0) && (offset + recordBytes.length + 1 > maxSegmentSize))
+            {
+                this.commit(buffer, pendingRecords);
+
+                this.closeCurrentChannel();
+                currentSegment = this.newSegment(currentSegment.getSegmentNumber() + 1);
+                segmentSize = 0;
+                offset = 0;
+            }
+
+            buffer.write(recordBytes, 0, recordBytes.length);
+            buffer.write(lineSeparator);
+
+            pendingRecords.add(new PendingRecord(logRecord, offset, recordBytes.length));
+        }
+
+        this.commit(buffer, pendingRecords);
+    }
+
+
+    /**
+     * Append the buffer to the current segment file, force it to disk and then index the records.
+     *
+     * @param buffer serialized records
+     * @param pendingRecords records in the buffer
+     */
+    private void commit(ByteArrayOutputStream buffer,
+                        List<PendingRecord>   pendingRecords)
+    {
+        if (pendingRecords.isEmpty())
+        {
+            return;
+        }
+
+        try
+        {
+            if (currentChannel == null)
+            {
+                currentChannel = FileChannel.open(currentSegment.getSegmentFile().toPath(),
+                                                  StandardOpenOption.CREATE,
+                                                  StandardOpenOption.WRITE,
+                                                  StandardOpenOption.APPEND);
+
+                indexLock.writeLock().lock();
+                try
+                {
+                    segments.add(currentSegment);
+                    this.removeOldSegments();
+                }
+                finally
+                {
+                    indexLock.writeLock().unlock();
+                }
+            }
+
+            ByteBuffer byteBuffer = ByteBuffer.wrap(buffer.toByteArray());
+
+            while (byteBuffer.hasRemaining())
+            {
+                currentChannel.write(byteBuffer);
+            }
+
+            currentChannel.force(false);
+
+            indexLock.writeLock().lock();
+            try
+            {
+                for (PendingRecord pendingRecord : pendingRecords)
+                {
+                    this.indexRecord(currentSegment,
+                                     pendingRecord.logRecord,
+                                     pendingRecord.offset,
+                                     pendingRecord.length,
+                                     pendingRecord.offset + pendingRecord.length + 1);
+                }
+            }
+            finally
+            {
+                indexLock.writeLock().unlock();
+            }
+        }
+        catch (IOException ioException)
+        {
+            log.error("Unable to write " + pendingRecords.size() + " audit log records to " +
+                              currentSegment.getSegmentFile().getAbsolutePath(), ioException);
+
+            /*
+             * The segment may now hold part of the batch so the next batch goes to a new segment.
+             */
+            this.closeCurrentChannel();
+            currentSegment = this.newSegment(currentSegment.getSegmentNumber() + 1);
+        }
+
+        buffer.reset();
+        pendingRecords.clear();
+    }
+
+
+    /**
+     * Close the file channel for the current segment.
+     */
+    private void closeCurrentChannel()
+    {
+        if (currentChannel != null)
+        {
+            try
+            {
+                currentChannel.close();
+            }
+            catch (IOException ioException)
+            {
+                log.debug("Ignoring error closing audit log segment: " + ioException.getMessage());
+            }
+
+            currentChannel = null;
+        }
+    }
+
+
+    /**
+     * Add a record to the segment's index.  The caller holds the write lock.
+     *
+     * @param segment segment holding the record
+     * @param logRecord record
+     * @param offset offset of the record in the segment file
+     * @param length length of the record in bytes
+     * @param nextOffset offset after the record
+     */
+    private void indexRecord(AuditLogSegment    segment,
+                             OMRSAuditLogRecord logRecord,
+                             long               offset,
+                             int                length,
+                             long               nextOffset)
+    {
+        long   timeStamp     = (logRecord.getTimeStamp() == null) ? 0 : logRecord.getTimeStamp().getTime();
+        String componentName = null;
+
+        if (logRecord.getReportingComponent() != null)
+        {
+            componentName = logRecord.getReportingComponent().getComponentName();
+        }
+
+        segment.addRecord(offset,
+                          length,
+                          logRecord.getGUID(),
+                          timeStamp,
+                          logRecord.getSeverity(),
+                          componentName,
+                          nextOffset);
+    }
+
+
+    /**
+     * Use the segment indexes to locate the records that match the query and then read them from the
+     * segment files.
+     *
+     * @param query search criteria and paging state
+     * @return list of matching records in the order they were written
+     */
+    private List<OMRSAuditLogRecord> findRecords(AuditLogQuery query)
+    {
+        this.openStore();
+
+        Map<AuditLogSegment, List<Integer>> matchingRecords = new LinkedHashMap<>();
+
+        indexLock.readLock().lock();
+        try
+        {
+            for (AuditLogSegment segment : segments)
+            {
+                if (query.isComplete())
+                {
+                    break;
+                }
+
+                List<Integer> positions = segment.selectRecords(query);
+
+                if (! positions.isEmpty())
+                {
+                    matchingRecords.put(segment, positions);
+                }
+            }
+        }
+        finally
+        {
+            indexLock.readLock().unlock();
+        }
+
+        List<OMRSAuditLogRecord> results = new ArrayList<>();
+
+        for (Map.Entry<AuditLogSegment, List<Integer>> segmentRecords : matchingRecords.entrySet())
+        {
+            this.readRecords(segmentRecords.getKey(), segmentRecords.getValue(), results);
+        }
+
+        if (results.isEmpty())
+        {
+            return null;
+        }
+
+        return results;
+    }
+
+
+    /**
+     * Read the requested records from a segment file.
+     *
+     * @param segment segment holding the records
+     * @param positions positions of the records in the segment
+     * @param results list to add the records to
+     */
+    private void readRecords(AuditLogSegment          segment,
+                             List<Integer>            positions,
+                             List<OMRSAuditLogRecord> results)
+    {
+        try (RandomAccessFile segmentFile = new RandomAccessFile(segment.getSegmentFile(), "r"))
+        {
+            for (int position : positions)
+            {
+                long   offset;
+                byte[] recordBytes;
+
+                indexLock.readLock().lock();
+                try
+                {
+                    offset = segment.getOffset(position);
+                    recordBytes = new byte[segment.getLength(position)];
+                }
+                finally
+                {
+                    indexLock.readLock().unlock();
+                }
+
+                segmentFile.seek(offset);
+                segmentFile.readFully(recordBytes);
+
+                results.add(objectMapper.readValue(recordBytes, OMRSAuditLogRecord.class));
+            }
+        }
+        catch (IOException ioException)
+        {
+            log.error("Unable to read audit log segment " + segment.getSegmentFile().getAbsolutePath(), ioException);
+        }
+    }
+
+
+    /**
+     * Validate that a search value has been supplied.
+     *
+     * @param searchValue value to test
+     * @param parameterName name of the parameter
+     * @param methodName calling method
+     * @throws InvalidParameterException the value is null
+     */
+    private void validateSearchValue(String searchValue,
+                                     String parameterName,
+                                     String methodName) throws InvalidParameterException
+    {
+        if (searchValue == null)
+        {
+            OMRSErrorCode errorCode    = OMRSErrorCode.NULL_LOG_RECORD_SEARCH_VALUE;
+            String        errorMessage = errorCode.getErrorMessageId()
+                                       + errorCode.getFormattedErrorMessage(parameterName, methodName, directoryName);
+
+            throw new InvalidParameterException(errorCode.getHTTPErrorCode(),
+                                                this.getClass().getName(),
+                                                methodName,
+                                                errorMessage,
+                                                errorCode.getSystemAction(),
+                                                errorCode.getUserAction());
+        }
+    }
+
+
+    /**
+     * Validate the time period and paging parameters of a query.
+     *
+     * @param startDate start of time period
+     * @param endDate end of time period
+     * @param offset offset of full collection to begin the return results
+     * @param maximumRecords maximum number of log records to return
+     * @param methodName calling method
+     * @throws InvalidParameterException the start date is after the end date
+     * @throws PagingErrorException the offset or maximumRecords is negative
+     */
+    private void validateQuery(Date   startDate,
+                               Date   endDate,
+                               int    offset,
+                               int    maximumRecords,
+                               String methodName) throws InvalidParameterException,
+                                                         PagingErrorException
+    {
+        if ((startDate != null) && (endDate != null) && (startDate.after(endDate)))
+        {
+            OMRSErrorCode errorCode    = OMRSErrorCode.BAD_LOG_RECORD_TIME_PERIOD;
+            String        errorMessage = errorCode.getErrorMessageId()
+                                       + errorCode.getFormattedErrorMessage(startDate.toString(),
+                                                                            endDate.toString(),
+                                                                            methodName,
+                                                                            directoryName);
+
+            throw new InvalidParameterException(errorCode.getHTTPErrorCode(),
+                                                this.getClass().getName(),
+                                                methodName,
+                                                errorMessage,
+                                                errorCode.getSystemAction(),
+                                                errorCode.getUserAction());
+        }
+
+        if ((offset < 0) || (maximumRecords < 0))
+        {
+            OMRSErrorCode errorCode    = OMRSErrorCode.BAD_LOG_RECORD_PAGING;
+            String        errorMessage = errorCode.getErrorMessageId()
+                                       + errorCode.getFormattedErrorMessage(Integer.toString(offset),
+                                                                            Integer.toString(maximumRecords),
+                                                                            methodName,
+                                                                            directoryName);
+
+            throw new PagingErrorException(errorCode.getHTTPErrorCode(),
+                                           this.getClass().getName(),
+                                           methodName,
+                                           errorMessage,
+                                           errorCode.getSystemAction(),
+                                           errorCode.getUserAction());
+        }
+    }
+
+
+    /**
+     * A record that has been serialized into the write buffer but not yet indexed.
+     */
+    private static class PendingRecord
+    {
+        private final OMRSAuditLogRecord logRecord;
+        private final long               offset;
+        private final int                length;
+
+        PendingRecord(OMRSAuditLogRecord logRecord, long offset, int length)
+        {
+            this.logRecord = logRecord;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
 }
@@ -0,0 +1,166 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
+
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests the in-memory index of a segment and the paging state that the query carries from one segment
+ * to the next.  No files are read.
+ */
+public class AuditLogSegmentTest
+{
+    private static final long   baseTime   = 1500000000000L;
+    private static final String info       = "Information";
+    private static final String error      = "Error";
+    private static final String component1 = "Component1";
+    private static final String component2 = "Component2";
+
+
+    @Test
+    public void testAddRecord()
+    {
+        AuditLogSegment segment = new AuditLogSegment(3, new File("auditlog-000003.json"));
+
+        for (int i = 0; i < 300; i++)
+        {
+            assertEquals(segment.addRecord(i * 100L, 99, "guid-" + i, baseTime + i, info, component1, (i + 1) * 100L), i);
+        }
+
+        segment.addRecord(30000L, 50, null, baseTime, info, component1, 30051L);
+
+        assertEquals(segment.getSegmentNumber(), 3);
+        assertEquals(segment.getRecordCount(), 301);
+        assertEquals(segment.getSegmentSize(), 30051L);
+        assertEquals(segment.getOffset(299), 29900L);
+        assertEquals(segment.getLength(300), 50);
+        assertEquals(segment.getPosition("guid-0"), 0);
+        assertEquals(segment.getPosition("guid-299"), 299);
+        assertEquals(segment.getPosition("guid-300"), -1);
+    }
+
+
+    @Test
+    public void testSelectByTimeSeverityAndComponent()
+    {
+        AuditLogSegment segment = getSegment(1, 10);
+
+        assertEquals(segment.selectRecords(getQuery(null, null, null, null, 0, 0)).size(), 10);
+        assertEquals(segment.selectRecords(getQuery(null, null, 2, 5, 0, 0)), Arrays.asList(2, 3, 4, 5));
+        assertEquals(segment.selectRecords(getQuery(error, null, null, null, 0, 0)), Arrays.asList(1, 3, 5, 7, 9));
+        assertEquals(segment.selectRecords(getQuery(null, component2, null, null, 0, 0)), Arrays.asList(0, 3, 6, 9));
+        assertEquals(segment.selectRecords(getQuery(error, component2, 2, null, 0, 0)), Arrays.asList(3, 9));
+
+        assertEquals(segment.selectRecords(getQuery("Unknown", null, null, null, 0, 0)), Collections.emptyList());
+        assertEquals(segment.selectRecords(getQuery(null, "Unknown", null, null, 0, 0)), Collections.emptyList());
+        assertEquals(segment.selectRecords(getQuery(null, null, 20, 30, 0, 0)), Collections.emptyList());
+    }
+
+
+    @Test
+    public void testPagingAcrossSegments()
+    {
+        List<AuditLogSegment> segments = Arrays.asList(getSegment(1, 5), getSegment(2, 5), getSegment(3, 5));
+
+        AuditLogQuery query = getQuery(null, null, null, null, 3, 4);
+
+        assertEquals(segments.get(0).selectRecords(query), Arrays.asList(3, 4));
+        assertFalse(query.isComplete());
+        assertEquals(segments.get(1).selectRecords(query), Arrays.asList(0, 1));
+        assertTrue(query.isComplete());
+        assertEquals(segments.get(2).selectRecords(query), Collections.emptyList());
+
+        /*
+         * The whole of the first segment is skipped.
+         */
+        query = getQuery(error, null, null, null, 2, 2);
+
+        assertEquals(segments.get(0).selectRecords(query), Collections.emptyList());
+        assertEquals(segments.get(1).selectRecords(query), Arrays.asList(1, 3));
+        assertTrue(query.isComplete());
+    }
+
+
+    @Test
+    public void testQuery()
+    {
+        AuditLogQuery query = new AuditLogQuery(info, component1, null, null, 1, 0);
+
+        assertEquals(query.getSeverity(), info);
+        assertEquals(query.getComponentName(), component1);
+        assertEquals(query.getStartTime(), Long.MIN_VALUE);
+        assertEquals(query.getEndTime(), Long.MAX_VALUE);
+
+        assertFalse(query.accept());
+
+        for (int i = 0; i < 1000; i++)
+        {
+            assertTrue(query.accept());
+        }
+
+        assertFalse(query.isComplete());
+
+        query = new AuditLogQuery(null, null, new Date(baseTime), new Date(baseTime + 1), 0, 1);
+
+        assertEquals(query.getStartTime(), baseTime);
+        assertEquals(query.getEndTime(), baseTime + 1);
+        assertFalse(query.isComplete());
+        assertTrue(query.accept());
+        assertTrue(query.isComplete());
+    }
+
+
+    /**
+     * Return a segment whose records are one second apart.  Odd records are errors and every third record
+     * comes from component 2.
+     *
+     * @param segmentNumber number of the segment
+     * @param recordCount number of records
+     * @return segment
+     */
+    private AuditLogSegment getSegment(int segmentNumber,
+                                       int recordCount)
+    {
+        AuditLogSegment segment = new AuditLogSegment(segmentNumber, new File("auditlog-" + segmentNumber + ".json"));
+
+        for (int i = 0; i < recordCount; i++)
+        {
+            segment.addRecord(i * 100L,
+                              99,
+                              segmentNumber + "-" + i,
+                              baseTime + (i * 1000L),
+                              (i % 2 == 1) ? error : info,
+                              (i % 3 == 0) ? component2 : component1,
+                              (i + 1) * 100L);
+        }
+
+        return segment;
+    }
+
+
+    /**
+     * Return a query.  The time period is given as the positions of the records at its start and end.
+     */
+    private AuditLogQuery getQuery(String  severity,
+                                   String  componentName,
+                                   Integer startPosition,
+                                   Integer endPosition,
+                                   int     offset,
+                                   int     maximumRecords)
+    {
+        Date startDate = (startPosition == null) ? null : new Date(baseTime + (startPosition * 1000L));
+        Date endDate   = (endPosition == null) ? null : new Date(baseTime + (endPosition * 1000L));
+
+        return new AuditLogQuery(severity, componentName, startDate, endDate, offset, maximumRecords);
+    }
+}
@@ -0,0 +1,359 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
+
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLogRecordSeverity;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecord;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogReportingComponent;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.PagingErrorException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests that the file based audit log store writes records to segment files, finds them again by GUID, time,
+ * severity and component, rebuilds its indexes on restart and only keeps the most recent segments.
+ */
+public class FileBasedAuditLogStoreConnectorTest
+{
+    private static final long   baseTime   = 1500000000000L;
+    private static final String component1 = "Component1";
+    private static final String component2 = "Component2";
+
+    private File                                  directory;
+    private List<FileBasedAuditLogStoreConnector> connectors = new ArrayList<>();
+
+
+    @BeforeMethod
+    public void createDirectory() throws IOException
+    {
+        directory = Files.createTempDirectory("auditlog").toFile();
+    }
+
+
+    @AfterMethod
+    public void deleteDirectory() throws Exception
+    {
+        for (FileBasedAuditLogStoreConnector connector : connectors)
+        {
+            connector.disconnect();
+        }
+
+        connectors.clear();
+
+        File[] files = directory.listFiles();
+
+        if (files != null)
+        {
+            for (File file : files)
+            {
+                assertTrue(file.delete());
+            }
+        }
+
+        assertTrue(directory.delete());
+    }
+
+
+    @Test
+    public void testAppendAndQuery() throws Exception
+    {
+        FileBasedAuditLogStoreConnector connector = getConnector(null, null);
+        List<OMRSAuditLogRecord>        records   = storeRecords(connector, 0, 10);
+
+        assertEquals(connector.getAuditLogRecord(records.get(4).getGUID()), records.get(4));
+        assertNull(connector.getAuditLogRecord("unknown"));
+        assertEquals(getSegmentFiles().length, 1);
+
+        assertEquals(connector.getAuditLogRecordsByTimeStamp(null, null, 0, 0), records);
+        assertEquals(connector.getAuditLogRecordsByTimeStamp(getTime(2), getTime(5), 0, 0), records.subList(2, 6));
+        assertEquals(connector.getAuditLogRecordsByTimeStamp(getTime(2), getTime(5), 1, 2), records.subList(3, 5));
+        assertNull(connector.getAuditLogRecordsByTimeStamp(getTime(20), null, 0, 0));
+
+        assertEquals(connector.getAuditLogRecordsBySeverity(OMRSAuditLogRecordSeverity.ERROR.getName(), null, null, 0, 0),
+                     Arrays.asList(records.get(1), records.get(3), records.get(5), records.get(7), records.get(9)));
+        assertEquals(connector.getAuditLogRecordsBySeverity(OMRSAuditLogRecordSeverity.ERROR.getName(), getTime(4), null, 1, 2),
+                     Arrays.asList(records.get(7), records.get(9)));
+        assertNull(connector.getAuditLogRecordsBySeverity(OMRSAuditLogRecordSeverity.ACTION.getName(), null, null, 0, 0));
+
+        assertEquals(connector.getAuditLogRecordsByComponent(component2, null, null, 0, 0),
+                     Arrays.asList(records.get(0), records.get(3), records.get(6), records.get(9)));
+        assertEquals(connector.getAuditLogRecordsByComponent(component2, getTime(1), getTime(8), 0, 0),
+                     Arrays.asList(records.get(3), records.get(6)));
+    }
+
+
+    @Test
+    public void testInvalidParameters() throws Exception
+    {
+        FileBasedAuditLogStoreConnector connector = getConnector(null, null);
+
+        try
+        {
+            connector.storeLogRecord(null);
+            fail("Null record accepted");
+        }
+        catch (InvalidParameterException error)
+        {
+            assertEquals(error.getReportedHTTPCode(), 400);
+        }
+
+        try
+        {
+            connector.getAuditLogRecordsByTimeStamp(getTime(5), getTime(2), 0, 0);
+            fail("Bad time period accepted");
+        }
+        catch (InvalidParameterException error)
+        {
+            assertEquals(error.getReportedHTTPCode(), 400);
+        }
+
+        try
+        {
+            connector.getAuditLogRecordsBySeverity(null, null, null, 0, 0);
+            fail("Null severity accepted");
+        }
+        catch (InvalidParameterException error)
+        {
+            assertEquals(error.getReportedHTTPCode(), 400);
+        }
+
+        try
+        {
+            connector.getAuditLogRecordsByComponent(component1, null, null, -1, 0);
+            fail("Negative offset accepted");
+        }
+        catch (PagingErrorException error)
+        {
+            assertEquals(error.getReportedHTTPCode(), 400);
+        }
+    }
+
+
+    @Test
+    public void testRollover() throws Exception
+    {
+        FileBasedAuditLogStoreConnector connector = getConnector(1000, null);
+        List<OMRSAuditLogRecord>        records   = storeRecords(connector, 0, 20);
+
+        File[] segmentFiles = getSegmentFiles();
+
+        assertTrue(segmentFiles.length > 1);
+
+        for (File segmentFile : segmentFiles)
+        {
+            assertTrue(segmentFile.length() <= 1000);
+        }
+
+        assertEquals(connector.getAuditLogRecordsByTimeStamp(null, null, 0, 0), records);
+        assertEquals(connector.getAuditLogRecordsByTimeStamp(null, null, 5, 10), records.subList(5, 15));
+        assertEquals(connector.getAuditLogRecord(records.get(0).getGUID()), records.get(0));
+        assertEquals(connector.getAuditLogRecord(records.get(19).getGUID()), records.get(19));
+    }
+
+
+    @Test
+    public void testRestartRecovery() throws Exception
+    {
+        FileBasedAuditLogStoreConnector connector = getConnector(null, null);
+        List<OMRSAuditLogRecord>        records   = storeRecords(connector, 0, 5);
+
+        connector.disconnect();
+        connectors.remove(connector);
+
+        /*
+         * Add a line that can not be parsed, followed by a record that was only partly written.
+         */
+        File[] segmentFiles = getSegmentFiles();
+
+        assertEquals(segmentFiles.length, 1);
+
+        try (OutputStream outputStream = new FileOutputStream(segmentFiles[0], true))
+        {
+            outputStream.write("not a record\n{\"guid\":\"partial".getBytes(StandardCharsets.UTF_8));
+        }
+
+        connector = getConnector(null, null);
+
+        assertEquals(connector.getAuditLogRecordsByTimeStamp(null, null, 0, 0), records);
+        assertEquals(connector.getAuditLogRecord(records.get(2).getGUID()), records.get(2));
+        assertEquals(connector.getAuditLogRecordsBySeverity(OMRSAuditLogRecordSeverity.ERROR.getName(), null, null, 0, 0),
+                     Arrays.asList(records.get(1), records.get(3)));
+
+        /*
+         * New records go to a new segment.
+         */
+        records.addAll(storeRecords(connector, 5, 3));
+
+        assertEquals(getSegmentFiles().length, 2);
+        assertEquals(connector.getAuditLogRecordsByTimeStamp(null, null, 0, 0), records);
+    }
+
+
+    @Test
+    public void testRetention() throws Exception
+    {
+        /*
+         * Each record is bigger than a segment so every record has its own segment.
+         */
+        FileBasedAuditLogStoreConnector connector = getConnector(10, 3);
+        List<OMRSAuditLogRecord>        records   = storeRecords(connector, 0, 6);
+
+        assertEquals(getSegmentFiles().length, 3);
+
+        for (int i = 0; i < 3; i++)
+        {
+            assertNull(connector.getAuditLogRecord(records.get(i).getGUID()));
+        }
+
+        for (int i = 3; i < 6; i++)
+        {
+            assertEquals(connector.getAuditLogRecord(records.get(i).getGUID()), records.get(i));
+        }
+
+        assertEquals(connector.getAuditLogRecordsByTimeStamp(null, null, 0, 0), records.subList(3, 6));
+
+        connector.disconnect();
+        connectors.remove(connector);
+
+        /*
+         * On restart, room is left for the new segment so only the last two segments are read.
+         */
+        connector = getConnector(10, 3);
+
+        assertEquals(connector.getAuditLogRecordsByTimeStamp(null, null, 0, 0), records.subList(4, 6));
+        assertNull(connector.getAuditLogRecord(records.get(3).getGUID()));
+        assertEquals(getSegmentFiles().length, 2);
+
+        records.addAll(storeRecords(connector, 6, 1));
+
+        assertEquals(getSegmentFiles().length, 3);
+        assertEquals(connector.getAuditLogRecordsByTimeStamp(null, null, 0, 0), records.subList(4, 7));
+    }
+
+
+    /**
+     * Create and start a connector for the test directory.
+     *
+     * @param maxSegmentSize maximum size of a segment file (null for the default)
+     * @param maxSegments maximum number of segments (null for the default)
+     * @return connector
+     * @throws Exception problem starting the connector
+     */
+    private FileBasedAuditLogStoreConnector getConnector(Integer maxSegmentSize,
+                                                         Integer maxSegments) throws Exception
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+
+        if (maxSegmentSize != null)
+        {
+            configurationProperties.put("maxSegmentSize", maxSegmentSize);
+        }
+
+        if (maxSegments != null)
+        {
+            configurationProperties.put("maxSegments", maxSegments);
+        }
+
+        Endpoint endpoint = new Endpoint();
+        endpoint.setAddress(directory.getAbsolutePath());
+
+        Connection connection = new Connection();
+        connection.setQualifiedName("TestAuditLogStore");
+        connection.setEndpoint(endpoint);
+        connection.setConfigurationProperties(configurationProperties);
+
+        FileBasedAuditLogStoreConnector connector = new FileBasedAuditLogStoreConnector();
+
+        connector.initialize(UUID.randomUUID().toString(), new ConnectionProperties(connection));
+        connector.start();
+        connectors.add(connector);
+
+        return connector;
+    }
+
+
+    /**
+     * Store records one second apart and wait for them to be written.  Odd records are errors and every
+     * third record comes from component 2.
+     *
+     * @param connector connector to store the records in
+     * @param firstRecord number of the first record
+     * @param recordCount number of records to store
+     * @return stored records
+     * @throws Exception the records were not written
+     */
+    private List<OMRSAuditLogRecord> storeRecords(FileBasedAuditLogStoreConnector connector,
+                                                  int                             firstRecord,
+                                                  int                             recordCount) throws Exception
+    {
+        List<OMRSAuditLogRecord> records = new ArrayList<>();
+
+        for (int i = firstRecord; i < firstRecord + recordCount; i++)
+        {
+            OMRSAuditLogRecordSeverity severity  = (i % 2 == 1) ? OMRSAuditLogRecordSeverity.ERROR : OMRSAuditLogRecordSeverity.INFO;
+            String                     component = (i % 3 == 0) ? component2 : component1;
+            OMRSAuditLogRecord         logRecord = new OMRSAuditLogRecord();
+
+            logRecord.setTimeStamp(getTime(i));
+            logRecord.setSeverity(severity.getName());
+            logRecord.setReportingComponent(new OMRSAuditLogReportingComponent(i % 3, component, null, null));
+            logRecord.setMessageId("TEST-" + i);
+            logRecord.setMessageText("Test message " + i);
+
+            connector.storeLogRecord(logRecord);
+            records.add(logRecord);
+        }
+
+        /*
+         * Records are written in order so the last one is visible once they all are.
+         */
+        String lastGUID = records.get(records.size() - 1).getGUID();
+        long   endTime  = System.currentTimeMillis() + 10000;
+
+        while ((connector.getAuditLogRecord(lastGUID) == null) && (System.currentTimeMillis() < endTime))
+        {
+            Thread.sleep(10);
+        }
+
+        assertNotNull(connector.getAuditLogRecord(lastGUID));
+
+        return records;
+    }
+
+
+    private Date getTime(int recordNumber)
+    {
+        return new Date(baseTime + (recordNumber * 1000L));
+    }
+
+
+    private File[] getSegmentFiles()
+    {
+        return directory.listFiles((dir, name) -> name.startsWith("auditlog-") && name.endsWith(".json"));
+    }
+}
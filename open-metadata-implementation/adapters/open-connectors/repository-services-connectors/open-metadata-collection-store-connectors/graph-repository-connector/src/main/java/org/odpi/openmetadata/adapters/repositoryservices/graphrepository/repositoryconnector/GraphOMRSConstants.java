@@ -39,6 +39,7 @@ public class GraphOMRSConstants {
     public static final String PROPERTY_NAME_CLASSIFICATION_ORIGIN_GUID       = "classificationOriginGUID";
     public static final String PROPERTY_NAME_ENTITY_IS_PROXY                  = "entityIsProxy";
     public static final String PROPERTY_NAME_REPLICATED_BY                    = "replicatedBy";
+    public static final String PROPERTY_NAME_ZONE_MEMBERSHIP                  = "zoneMembership";
 
     // Map of core property short name to type as stored in graph (not how they appear in Instances)
 
@@ -63,6 +64,7 @@ public class GraphOMRSConstants {
         put(PROPERTY_NAME_CLASSIFICATION_ORIGIN_GUID,     "java.lang.String");
         put(PROPERTY_NAME_ENTITY_IS_PROXY,                "java.lang.Boolean");
         put(PROPERTY_NAME_REPLICATED_BY,                  "java.lang.String");
+        put(PROPERTY_NAME_ZONE_MEMBERSHIP,                "java.lang.String");     // multi-valued (set) - one value per zone
     }};
 
 
@@ -92,6 +94,11 @@ public class GraphOMRSConstants {
     public static final String PROPERTY_KEY_ENTITY_IS_PROXY                = PROPERTY_KEY_PREFIX_ENTITY + PROPERTY_NAME_ENTITY_IS_PROXY;
     public static final String PROPERTY_KEY_ENTITY_REPLICATED_BY           = PROPERTY_KEY_PREFIX_ENTITY + PROPERTY_NAME_REPLICATED_BY;
 
+    // The zones from an entity's zoneMembership property are copied into this multi-valued property so that
+    // searches can be restricted to the governance zones that the caller is allowed to see. It is not a
+    // core property so it is not listed in corePropertiesEntity.
+    public static final String PROPERTY_KEY_ENTITY_ZONE_MEMBERSHIP         = PROPERTY_KEY_PREFIX_ENTITY + PROPERTY_NAME_ZONE_MEMBERSHIP;
+
     // Map of names to property key names
     public static final Map<String, String> corePropertiesEntity = new HashMap<String,String>() {{
         put(PROPERTY_NAME_GUID, PROPERTY_KEY_ENTITY_GUID );
@@ -6,6 +6,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSo
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.janusgraph.core.Cardinality;
 import org.janusgraph.core.JanusGraph;
 import org.janusgraph.core.JanusGraphFactory;
 import org.janusgraph.core.PropertyKey;
@@ -329,6 +330,7 @@ public class GraphOMRSGraphFactory {
 
             createCompositeIndexForVertexProperty(PROPERTY_NAME_GUID,                    PROPERTY_KEY_ENTITY_GUID,      true);
             createCompositeIndexForVertexProperty(PROPERTY_NAME_TYPE_NAME,               PROPERTY_KEY_ENTITY_TYPE_NAME, false);
+            createCompositeIndexForVertexProperty(PROPERTY_NAME_ZONE_MEMBERSHIP,         PROPERTY_KEY_ENTITY_ZONE_MEMBERSHIP, false, Cardinality.SET);
 
             createMixedIndexForVertexCoreProperty(PROPERTY_NAME_CREATED_BY,              PROPERTY_KEY_ENTITY_CREATED_BY);
             createMixedIndexForVertexCoreProperty(PROPERTY_NAME_UPDATED_BY,              PROPERTY_KEY_ENTITY_UPDATED_BY);
@@ -534,6 +536,11 @@ public class GraphOMRSGraphFactory {
     }
 
     private static void createCompositeIndexForVertexProperty(String propertyName, String propertyKeyName, boolean unique)
+    {
+        createCompositeIndexForVertexProperty(propertyName, propertyKeyName, unique, Cardinality.SINGLE);
+    }
+
+    private static void createCompositeIndexForVertexProperty(String propertyName, String propertyKeyName, boolean unique, Cardinality cardinality)
     {
 
         final String methodName = "createCompositeIndexForVertexProperty";
@@ -578,7 +585,7 @@ public class GraphOMRSGraphFactory {
                 oldKey = true;
             } else {
                 log.debug("{} make property key for property {}", methodName, propertyKeyName);
-                propertyKey = management.makePropertyKey(propertyKeyName).dataType(clazz).make();
+                propertyKey = management.makePropertyKey(propertyKeyName).dataType(clazz).cardinality(cardinality).make();
             }
 
             JanusGraphManagement.IndexBuilder indexBuilder = management.buildIndex(indexName, Vertex.class).addKey(propertyKey);
@@ -4,19 +4,24 @@ package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.reposi
 
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSDynamicTypeMetadataCollectionBase;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSSearchCursor;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSSearchCursorStore;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.MatchCriteria;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationOrigin;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetailPage;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntitySummary;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceGraph;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProvenanceType;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.RelationshipPage;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefCategory;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefGallery;
@@ -46,6 +51,9 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
     private GraphOMRSMetadataStore    graphStore  = null;
     private OMRSAuditLog              auditLog = null;
 
+    private OMRSSearchCursorStore<EntityDetail> entityCursorStore = new OMRSSearchCursorStore<>();
+    private OMRSSearchCursorStore<Relationship> relationshipCursorStore = new OMRSSearchCursorStore<>();
+
     /**
      * Constructor ensures the metadata collection is linked to its connector and knows its metadata collection Id.
      *
@@ -1170,6 +1178,59 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
                 pageSize);
     }
 
+    // countRelationshipsForEntity
+    public int countRelationshipsForEntity(String                     userId,
+                                           String                     entityGUID,
+                                           String                     relationshipTypeGUID,
+                                           List<InstanceStatus>       limitResultsByStatus,
+                                           Date                       asOfTime)
+            throws
+            InvalidParameterException,
+            TypeErrorException,
+            RepositoryErrorException,
+            EntityNotKnownException,
+            PropertyErrorException,
+            PagingErrorException,
+            FunctionNotSupportedException,
+            UserNotAuthorizedException
+    {
+        final String  methodName = "countRelationshipsForEntity";
+        final String  guidParameterName = "relationshipTypeGUID";
+
+        /*
+         * Validate parameters
+         */
+        super.countRelationshipsForEntityParameterValidation(userId,
+                entityGUID,
+                relationshipTypeGUID,
+                limitResultsByStatus,
+                asOfTime);
+
+        /*
+         * Perform operation
+         */
+        EntitySummary  entity = this.getEntitySummary(userId, entityGUID);
+
+        repositoryValidator.validateEntityFromStore(repositoryName, entityGUID, entity, methodName);
+        repositoryValidator.validateEntityIsNotDeleted(repositoryName, entity, methodName);
+
+        if (asOfTime != null) {
+            log.error("{} does not support asOfTime searches", methodName);
+
+            super.reportUnsupportedOptionalFunction(methodName);
+        }
+
+        String relationshipTypeName = null;
+        if (relationshipTypeGUID != null) {
+            TypeDef typeDef = repositoryHelper.getTypeDef(repositoryName, guidParameterName, relationshipTypeGUID, methodName);
+            relationshipTypeName = typeDef.getName();
+        }
+
+        // The edges are counted in the graph rather than being mapped to relationships
+        return (int) graphStore.countRelationshipsForEntity(entityGUID, relationshipTypeName, limitResultsByStatus);
+    }
+
+
 
     // findEntitiesByProperty
     public List<EntityDetail> findEntitiesByProperty(String                 userId,
@@ -1192,6 +1253,43 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
             FunctionNotSupportedException,
             UserNotAuthorizedException
     {
+        return findEntitiesByProperty(userId,
+                                      entityTypeGUID,
+                                      matchProperties,
+                                      matchCriteria,
+                                      fromEntityElement,
+                                      limitResultsByStatus,
+                                      limitResultsByClassification,
+                                      null,
+                                      asOfTime,
+                                      sequencingProperty,
+                                      sequencingOrder,
+                                      pageSize);
+    }
+
+
+    // findEntitiesByProperty - the zone filter is applied in the graph traversal
+    public List<EntityDetail> findEntitiesByProperty(String                 userId,
+                                                     String                 entityTypeGUID,
+                                                     InstanceProperties     matchProperties,
+                                                     MatchCriteria          matchCriteria,
+                                                     int                    fromEntityElement,
+                                                     List<InstanceStatus>   limitResultsByStatus,
+                                                     List<String>           limitResultsByClassification,
+                                                     List<String>           limitResultsByZone,
+                                                     Date                   asOfTime,
+                                                     String                 sequencingProperty,
+                                                     SequencingOrder        sequencingOrder,
+                                                     int                    pageSize)
+            throws
+            InvalidParameterException,
+            RepositoryErrorException,
+            TypeErrorException,
+            PropertyErrorException,
+            PagingErrorException,
+            FunctionNotSupportedException,
+            UserNotAuthorizedException
+    {
 
         final String methodName = "findEntitiesByProperty";
         final String entityTypeGUIDParameterName = "entityTypeGUID";
@@ -1253,7 +1351,7 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
                 }
 
                 // Invoke a type specific search. The search will expect the regexp to match fully to the value.
-                List<EntityDetail> entitiesForCurrentType = graphStore.findEntitiesByProperty(actualTypeName, matchProperties, matchCriteria, true);
+                List<EntityDetail> entitiesForCurrentType = graphStore.findEntitiesByProperty(actualTypeName, matchProperties, matchCriteria, true, limitResultsByZone);
 
                 if (entitiesForCurrentType != null && !entitiesForCurrentType.isEmpty()) {
                     if (returnEntities == null) {
@@ -1278,7 +1376,8 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
                 if (entity != null) {
                     if ((entity.getStatus() != InstanceStatus.DELETED)
                             && (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity))
-                            && (repositoryValidator.verifyEntityIsClassified(limitResultsByClassification, entity))) {
+                            && (repositoryValidator.verifyEntityIsClassified(limitResultsByClassification, entity))
+                            && (repositoryValidator.verifyEntityIsInZones(limitResultsByZone, entity))) {
 
                         retainedEntities.add(entity);
                     }
@@ -1289,6 +1388,101 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
         }
     }
 
+    // countEntitiesByProperty
+    public int countEntitiesByProperty(String                 userId,
+                                       String                 entityTypeGUID,
+                                       InstanceProperties     matchProperties,
+                                       MatchCriteria          matchCriteria,
+                                       List<InstanceStatus>   limitResultsByStatus,
+                                       List<String>           limitResultsByClassification,
+                                       Date                   asOfTime)
+            throws
+            InvalidParameterException,
+            RepositoryErrorException,
+            TypeErrorException,
+            PropertyErrorException,
+            PagingErrorException,
+            FunctionNotSupportedException,
+            UserNotAuthorizedException
+    {
+
+        final String methodName = "countEntitiesByProperty";
+
+        /*
+         * Validate parameters
+         */
+        super.countEntitiesByPropertyParameterValidation(userId,
+                entityTypeGUID,
+                matchProperties,
+                matchCriteria,
+                limitResultsByStatus,
+                limitResultsByClassification,
+                asOfTime);
+
+
+        if (asOfTime != null) {
+            log.error("{} does not support asOfTime searches", methodName);
+
+            super.reportUnsupportedOptionalFunction(methodName);
+        }
+
+
+        /*
+         * Perform operation - the status and classification filters are added to the traversal for each type
+         * so that the matching vertices can be counted in the graph.
+         */
+        long count = 0;
+
+        for (String actualTypeName : this.getEntityTypeNamesToSearch(entityTypeGUID, methodName)) {
+            count = count + graphStore.countEntitiesByProperty(actualTypeName,
+                                                               matchProperties,
+                                                               matchCriteria,
+                                                               true,
+                                                               limitResultsByStatus,
+                                                               limitResultsByClassification);
+        }
+
+        return (int) count;
+    }
+
+
+    /*
+     * Return the names of the active entity types that a search for the supplied type (null means all types)
+     * must visit.
+     */
+    private List<String> getEntityTypeNamesToSearch(String entityTypeGUID,
+                                                    String methodName)
+            throws
+            TypeErrorException
+    {
+        final String entityTypeGUIDParameterName = "entityTypeGUID";
+
+        String specifiedTypeName = null;
+        if (entityTypeGUID != null) {
+            TypeDef typeDef = repositoryHelper.getTypeDef(repositoryName, entityTypeGUIDParameterName, entityTypeGUID, methodName);
+            specifiedTypeName = typeDef.getName();
+        }
+
+        List<String> typeNames = new ArrayList<>();
+
+        TypeDefGallery activeTypes = repositoryHelper.getActiveTypeDefGallery();
+        List<TypeDef> allTypeDefs = activeTypes.getTypeDefs();
+
+        for (TypeDef typeDef : allTypeDefs) {
+            if (typeDef.getCategory() == TypeDefCategory.ENTITY_DEF) {
+
+                String actualTypeName = typeDef.getName();
+
+                if ((specifiedTypeName == null) || (repositoryHelper.isTypeOf(metadataCollectionId, actualTypeName, specifiedTypeName))) {
+                    typeNames.add(actualTypeName);
+                }
+            }
+        }
+
+        return typeNames;
+    }
+
+
 
     // findRelationshipsByProperty
     public  List<Relationship> findRelationshipsByProperty(String                    userId,
@@ -1579,6 +1773,245 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
 
 
 
+    /*
+     * The cursor based searches run the search on the first request and save the results in instance order.
+     * The following requests return the next page of the saved results rather than traversing the graph again.
+     */
+
+    // isSearchCursorSupported
+    public boolean isSearchCursorSupported()
+    {
+        return true;
+    }
+
+
+    // findEntityPageByProperty
+    public EntityDetailPage findEntityPageByProperty(String                 userId,
+                                                     String                 entityTypeGUID,
+                                                     InstanceProperties     matchProperties,
+                                                     MatchCriteria          matchCriteria,
+                                                     String                 continuationToken,
+                                                     List<InstanceStatus>   limitResultsByStatus,
+                                                     List<String>           limitResultsByClassification,
+                                                     Date                   asOfTime,
+                                                     int                    pageSize)
+            throws
+            InvalidParameterException,
+            RepositoryErrorException,
+            TypeErrorException,
+            PropertyErrorException,
+            PagingErrorException,
+            FunctionNotSupportedException,
+            UserNotAuthorizedException
+    {
+        final String methodName = "findEntityPageByProperty";
+        final String tokenParameterName = "continuationToken";
+
+        super.findEntitiesByPropertyParameterValidation(userId,
+                entityTypeGUID,
+                matchProperties,
+                matchCriteria,
+                0,
+                limitResultsByStatus,
+                limitResultsByClassification,
+                asOfTime,
+                null,
+                null,
+                pageSize);
+
+        int queryHash = OMRSSearchCursorStore.getQueryHash(userId,
+                                                           methodName,
+                                                           entityTypeGUID,
+                                                           matchProperties,
+                                                           matchCriteria,
+                                                           limitResultsByStatus,
+                                                           limitResultsByClassification,
+                                                           asOfTime);
+        OMRSSearchCursor cursor = OMRSSearchCursor.getCursor(continuationToken, tokenParameterName, methodName, repositoryName);
+        List<EntityDetail> entities = entityCursorStore.getResults(cursor,
+                                                                   queryHash,
+                                                                   tokenParameterName,
+                                                                   methodName,
+                                                                   repositoryName);
+
+        if (entities == null) {
+            entities = getInstancesAfterCursor(cursor, findEntitiesByProperty(userId,
+                                                                              entityTypeGUID,
+                                                                              matchProperties,
+                                                                              matchCriteria,
+                                                                              0,
+                                                                              limitResultsByStatus,
+                                                                              limitResultsByClassification,
+                                                                              asOfTime,
+                                                                              null,
+                                                                              null,
+                                                                              0));
+            cursor = entityCursorStore.saveResults(cursor, queryHash, entities);
+        }
+
+        List<EntityDetail> page = new ArrayList<>();
+        OMRSSearchCursor followingCursor = cursor.fillNextPage(entities, pageSize, page);
+
+        return new EntityDetailPage(page, entityCursorStore.getContinuationToken(cursor, followingCursor));
+    }
+
+
+    // findEntityPageByPropertyValue
+    public EntityDetailPage findEntityPageByPropertyValue(String                userId,
+                                                          String                entityTypeGUID,
+                                                          String                searchCriteria,
+                                                          String                continuationToken,
+                                                          List<InstanceStatus>  limitResultsByStatus,
+                                                          List<String>          limitResultsByClassification,
+                                                          Date                  asOfTime,
+                                                          int                   pageSize)
+            throws
+            InvalidParameterException,
+            TypeErrorException,
+            RepositoryErrorException,
+            PropertyErrorException,
+            PagingErrorException,
+            FunctionNotSupportedException,
+            UserNotAuthorizedException
+    {
+        final String methodName = "findEntityPageByPropertyValue";
+        final String tokenParameterName = "continuationToken";
+
+        super.findEntitiesByPropertyValueParameterValidation(userId,
+                entityTypeGUID,
+                searchCriteria,
+                0,
+                limitResultsByStatus,
+                limitResultsByClassification,
+                asOfTime,
+                null,
+                null,
+                pageSize);
+
+        int queryHash = OMRSSearchCursorStore.getQueryHash(userId,
+                                                           methodName,
+                                                           entityTypeGUID,
+                                                           searchCriteria,
+                                                           limitResultsByStatus,
+                                                           limitResultsByClassification,
+                                                           asOfTime);
+        OMRSSearchCursor cursor = OMRSSearchCursor.getCursor(continuationToken, tokenParameterName, methodName, repositoryName);
+        List<EntityDetail> entities = entityCursorStore.getResults(cursor,
+                                                                   queryHash,
+                                                                   tokenParameterName,
+                                                                   methodName,
+                                                                   repositoryName);
+
+        if (entities == null) {
+            entities = getInstancesAfterCursor(cursor, findEntitiesByPropertyValue(userId,
+                                                                                   entityTypeGUID,
+                                                                                   searchCriteria,
+                                                                                   0,
+                                                                                   limitResultsByStatus,
+                                                                                   limitResultsByClassification,
+                                                                                   asOfTime,
+                                                                                   null,
+                                                                                   null,
+                                                                                   0));
+            cursor = entityCursorStore.saveResults(cursor, queryHash, entities);
+        }
+
+        List<EntityDetail> page = new ArrayList<>();
+        OMRSSearchCursor followingCursor = cursor.fillNextPage(entities, pageSize, page);
+
+        return new EntityDetailPage(page, entityCursorStore.getContinuationToken(cursor, followingCursor));
+    }
+
+
+    // findRelationshipPageByProperty
+    public RelationshipPage findRelationshipPageByProperty(String                    userId,
+                                                           String                    relationshipTypeGUID,
+                                                           InstanceProperties        matchProperties,
+                                                           MatchCriteria             matchCriteria,
+                                                           String                    continuationToken,
+                                                           List<InstanceStatus>      limitResultsByStatus,
+                                                           Date                      asOfTime,
+                                                           int                       pageSize)
+            throws
+            InvalidParameterException,
+            TypeErrorException,
+            RepositoryErrorException,
+            PropertyErrorException,
+            PagingErrorException,
+            FunctionNotSupportedException,
+            UserNotAuthorizedException
+    {
+        final String methodName = "findRelationshipPageByProperty";
+        final String tokenParameterName = "continuationToken";
+
+        super.findRelationshipsByPropertyParameterValidation(userId,
+                relationshipTypeGUID,
+                matchProperties,
+                matchCriteria,
+                0,
+                limitResultsByStatus,
+                asOfTime,
+                null,
+                null,
+                pageSize);
+
+        int queryHash = OMRSSearchCursorStore.getQueryHash(userId,
+                                                           methodName,
+                                                           relationshipTypeGUID,
+                                                           matchProperties,
+                                                           matchCriteria,
+                                                           limitResultsByStatus,
+                                                           asOfTime);
+        OMRSSearchCursor cursor = OMRSSearchCursor.getCursor(continuationToken, tokenParameterName, methodName, repositoryName);
+        List<Relationship> relationships = relationshipCursorStore.getResults(cursor,
+                                                                              queryHash,
+                                                                              tokenParameterName,
+                                                                              methodName,
+                                                                              repositoryName);
+
+        if (relationships == null) {
+            relationships = getInstancesAfterCursor(cursor, findRelationshipsByProperty(userId,
+                                                                                        relationshipTypeGUID,
+                                                                                        matchProperties,
+                                                                                        matchCriteria,
+                                                                                        0,
+                                                                                        limitResultsByStatus,
+                                                                                        asOfTime,
+                                                                                        null,
+                                                                                        null,
+                                                                                        0));
+            cursor = relationshipCursorStore.saveResults(cursor, queryHash, relationships);
+        }
+
+        List<Relationship> page = new ArrayList<>();
+        OMRSSearchCursor followingCursor = cursor.fillNextPage(relationships, pageSize, page);
+
+        return new RelationshipPage(page, relationshipCursorStore.getContinuationToken(cursor, followingCursor));
+    }
+
+
+    /*
+     * Return the results of a search that come after the cursor.  The instances before the cursor have
+     * already been returned so they are not saved.
+     */
+    private <T extends InstanceHeader> List<T> getInstancesAfterCursor(OMRSSearchCursor cursor,
+                                                                       List<T>          results)
+    {
+        List<T> instancesAfterCursor = new ArrayList<>();
+
+        if (results != null) {
+            for (T instance : results) {
+                if (cursor.isBefore(instance)) {
+                    instancesAfterCursor.add(instance);
+                }
+            }
+        }
+
+        return instancesAfterCursor;
+    }
+
+
+
     // findRelationshipsByPropertyValue
     public  List<Relationship> findRelationshipsByPropertyValue(String                    userId,
                                                                 String                    relationshipTypeGUID,
@@ -2007,6 +2440,63 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
         }
     }
 
+    // countEntitiesByClassification
+    public  int countEntitiesByClassification(String                    userId,
+                                              String                    entityTypeGUID,
+                                              String                    classificationName,
+                                              InstanceProperties        matchClassificationProperties,
+                                              MatchCriteria             matchCriteria,
+                                              List<InstanceStatus>      limitResultsByStatus,
+                                              Date                      asOfTime)
+            throws
+            InvalidParameterException,
+            TypeErrorException,
+            RepositoryErrorException,
+            ClassificationErrorException,
+            PropertyErrorException,
+            PagingErrorException,
+            FunctionNotSupportedException,
+            UserNotAuthorizedException
+    {
+
+        final String methodName = "countEntitiesByClassification";
+
+        /*
+         * Validate parameters
+         */
+        super.countEntitiesByClassificationParameterValidation(userId,
+                entityTypeGUID,
+                classificationName,
+                matchClassificationProperties,
+                matchCriteria,
+                limitResultsByStatus,
+                asOfTime);
+
+
+        if (asOfTime != null) {
+            log.error("{} does not support asOfTime searches", methodName);
+
+            super.reportUnsupportedOptionalFunction(methodName);
+        }
+
+
+        /*
+         * Perform operation
+         */
+        long count = 0;
+
+        for (String actualTypeName : this.getEntityTypeNamesToSearch(entityTypeGUID, methodName)) {
+            count = count + graphStore.countEntitiesByClassification(classificationName,
+                                                                     matchClassificationProperties,
+                                                                     matchCriteria,
+                                                                     actualTypeName,
+                                                                     limitResultsByStatus);
+        }
+
+        return (int) count;
+    }
+
+
 
 
     // deleteEntity
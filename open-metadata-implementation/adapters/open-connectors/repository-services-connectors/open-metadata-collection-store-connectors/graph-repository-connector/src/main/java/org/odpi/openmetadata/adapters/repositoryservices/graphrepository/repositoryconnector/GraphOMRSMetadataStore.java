@@ -42,6 +42,8 @@ import org.odpi.openmetadata.repositoryservices.ffdc.exception.TypeErrorExceptio
 
 import static org.apache.tinkerpop.gremlin.process.traversal.P.within;
 import static org.apache.tinkerpop.gremlin.process.traversal.P.without;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.has;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.hasNot;
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
 
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.*;
@@ -1563,6 +1565,38 @@ class GraphOMRSMetadataStore {
     }
 
 
+    // countRelationshipsForEntity
+    synchronized long countRelationshipsForEntity(String               entityGUID,
+                                                  String               relationshipTypeName,
+                                                  List<InstanceStatus> limitResultsByStatus)
+    {
+        GraphTraversalSource g = instanceGraph.traversal();
+
+        GraphTraversal<Vertex, Edge> gt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entityGUID).bothE("Relationship");
+        if (relationshipTypeName != null) {
+            gt = gt.has(PROPERTY_KEY_RELATIONSHIP_TYPE_NAME, relationshipTypeName);
+        }
+
+        if (limitResultsByStatus == null) {
+            gt = gt.has(PROPERTY_KEY_RELATIONSHIP_STATUS, P.neq(InstanceStatus.DELETED.getOrdinal()));
+        } else {
+            List<Integer> statusOrdinals = new ArrayList<>();
+            for (InstanceStatus status : limitResultsByStatus) {
+                if ((status != null) && (status != InstanceStatus.DELETED)) {
+                    statusOrdinals.add(status.getOrdinal());
+                }
+            }
+            gt = gt.has(PROPERTY_KEY_RELATIONSHIP_STATUS, within(statusOrdinals));
+        }
+
+        long count = gt.count().next();
+
+        g.tx().commit();
+
+        return count;
+    }
+
+
     // findEntitiesByProperty
     List<EntityDetail> findEntitiesByProperty(String             typeDefName,
                                               InstanceProperties matchProperties,
@@ -1572,6 +1606,21 @@ class GraphOMRSMetadataStore {
             RepositoryErrorException,
             InvalidParameterException
 
+    {
+        return findEntitiesByProperty(typeDefName, matchProperties, matchCriteria, fullMatch, null);
+    }
+
+
+    // findEntitiesByProperty - restricted to the entities that are visible through the supplied zones
+    List<EntityDetail> findEntitiesByProperty(String             typeDefName,
+                                              InstanceProperties matchProperties,
+                                              MatchCriteria      matchCriteria,
+                                              Boolean            fullMatch,
+                                              List<String>       limitResultsByZone)
+            throws
+            RepositoryErrorException,
+            InvalidParameterException
+
     {
 
         final String methodName = "findEntitiesByProperty";
@@ -1580,6 +1629,54 @@ class GraphOMRSMetadataStore {
 
         GraphTraversalSource g = instanceGraph.traversal();
 
+        GraphTraversal<Vertex, Vertex> gt = getEntityPropertyTraversal(g, typeDefName, matchProperties, matchCriteria, fullMatch, methodName);
+        if (gt == null) {
+            return null;
+        }
+
+        if (limitResultsByZone != null && !limitResultsByZone.isEmpty()) {
+            // An entity with no zones is visible through every zone
+            gt = gt.or(hasNot(PROPERTY_KEY_ENTITY_ZONE_MEMBERSHIP), has(PROPERTY_KEY_ENTITY_ZONE_MEMBERSHIP, within(limitResultsByZone)));
+        }
+
+
+        while (gt.hasNext()) {
+            Vertex vertex = gt.next();
+            log.debug("{} found vertex {}", methodName, vertex);
+
+            EntityDetail entityDetail = new EntityDetail();
+            try {
+                // Check if we have stumbled on a proxy somehow, and if so avoid processing it.
+                Boolean isProxy = entityMapper.isProxy(vertex);
+                if (!isProxy) {
+                    entityMapper.mapVertexToEntityDetail(vertex, entityDetail);
+                    entities.add(entityDetail);
+                }
+            } catch (Exception e) {
+                log.error("{} caught exception from entity mapper, entity being ignored, {}", methodName, e.getMessage());
+                continue;
+            }
+        }
+
+        g.tx().commit();
+
+        return entities;
+
+    }
+
+    /*
+     * Build the traversal that locates the non-proxy entity vertices of a type whose properties match the
+     * match properties.  Null is returned if the match properties can never be satisfied.
+     */
+    private GraphTraversal<Vertex, Vertex> getEntityPropertyTraversal(GraphTraversalSource g,
+                                                                      String               typeDefName,
+                                                                      InstanceProperties   matchProperties,
+                                                                      MatchCriteria        matchCriteria,
+                                                                      Boolean              fullMatch,
+                                                                      String               methodName)
+            throws
+            InvalidParameterException
+    {
         GraphTraversal<Vertex, Vertex> gt = g.V().hasLabel("Entity");
         if (typeDefName != null) {
             gt = gt.has(PROPERTY_KEY_ENTITY_TYPE_NAME, typeDefName);
@@ -1840,31 +1937,69 @@ class GraphOMRSMetadataStore {
 
         }
 
+        return gt;
+    }
 
-        while (gt.hasNext()) {
-            Vertex vertex = gt.next();
-            log.debug("{} found vertex {}", methodName, vertex);
 
-            EntityDetail entityDetail = new EntityDetail();
-            try {
-                // Check if we have stumbled on a proxy somehow, and if so avoid processing it.
-                Boolean isProxy = entityMapper.isProxy(vertex);
-                if (!isProxy) {
-                    entityMapper.mapVertexToEntityDetail(vertex, entityDetail);
-                    entities.add(entityDetail);
-                }
-            } catch (Exception e) {
-                log.error("{} caught exception from entity mapper, entity being ignored, {}", methodName, e.getMessage());
-                continue;
-            }
+    // countEntitiesByProperty
+    long countEntitiesByProperty(String               typeDefName,
+                                 InstanceProperties   matchProperties,
+                                 MatchCriteria        matchCriteria,
+                                 Boolean              fullMatch,
+                                 List<InstanceStatus> limitResultsByStatus,
+                                 List<String>         limitResultsByClassification)
+            throws
+            InvalidParameterException
+    {
+        final String methodName = "countEntitiesByProperty";
+
+        GraphTraversalSource g = instanceGraph.traversal();
+
+        GraphTraversal<Vertex, Vertex> gt = getEntityPropertyTraversal(g, typeDefName, matchProperties, matchCriteria, fullMatch, methodName);
+        if (gt == null) {
+            return 0;
         }
 
+        gt = addEntityStatusAndClassificationFilters(gt, limitResultsByStatus, limitResultsByClassification);
+
+        long count = gt.count().next();
+
         g.tx().commit();
 
-        return entities;
+        return count;
+    }
+
+
+    /*
+     * Restrict an entity traversal to the requested statuses (never DELETED) and to entities that carry all of
+     * the requested classifications.
+     */
+    private GraphTraversal<Vertex, Vertex> addEntityStatusAndClassificationFilters(GraphTraversal<Vertex, Vertex> gt,
+                                                                                   List<InstanceStatus>           limitResultsByStatus,
+                                                                                   List<String>                   limitResultsByClassification)
+    {
+        if (limitResultsByStatus == null) {
+            gt = gt.has(PROPERTY_KEY_ENTITY_STATUS, P.neq(InstanceStatus.DELETED.getOrdinal()));
+        } else {
+            List<Integer> statusOrdinals = new ArrayList<>();
+            for (InstanceStatus status : limitResultsByStatus) {
+                if ((status != null) && (status != InstanceStatus.DELETED)) {
+                    statusOrdinals.add(status.getOrdinal());
+                }
+            }
+            gt = gt.has(PROPERTY_KEY_ENTITY_STATUS, within(statusOrdinals));
+        }
+
+        if (limitResultsByClassification != null) {
+            for (String classificationName : limitResultsByClassification) {
+                gt = gt.where(out("Classifier").has(PROPERTY_KEY_CLASSIFICATION_CLASSIFICATION_NAME, classificationName));
+            }
+        }
 
+        return gt;
     }
 
+
     private String convertSearchStringToJanusRegex(String str) {
 
         if (str == null || str.length() ==0)
@@ -2562,6 +2697,47 @@ class GraphOMRSMetadataStore {
 
         GraphTraversalSource g = instanceGraph.traversal();
 
+        GraphTraversal<Vertex, Vertex> gt = getClassifiedEntityTraversal(g, classificationName, classificationProperties, matchCriteria, entityTypeName, methodName);
+
+
+        while (gt.hasNext()) {
+            Vertex entityVertex = gt.next();
+            log.debug("{} found entity vertex {}", methodName, entityVertex);
+
+            EntityDetail entityDetail = new EntityDetail();
+            try {
+                // Check if we have stumbled on a proxy somehow, and if so avoid processing it.
+                Boolean isProxy = entityMapper.isProxy(entityVertex);
+                if (!isProxy) {
+                    entityMapper.mapVertexToEntityDetail(entityVertex, entityDetail);
+                    entities.add(entityDetail);
+                }
+            } catch (Exception e) {
+                log.error("{} caught exception from entity mapper - entity will be ignored, {}", methodName, e.getMessage());
+                continue; // process the next vertex
+            }
+        }
+
+        g.tx().commit();
+
+        return entities;
+
+    }
+
+
+    /*
+     * Build the traversal that locates the non-proxy entity vertices of a type that carry a classification whose
+     * properties match the match properties.
+     */
+    private GraphTraversal<Vertex, Vertex> getClassifiedEntityTraversal(GraphTraversalSource g,
+                                                                        String               classificationName,
+                                                                        InstanceProperties   classificationProperties,
+                                                                        MatchCriteria        matchCriteria,
+                                                                        String               entityTypeName,
+                                                                        String               methodName)
+            throws
+            InvalidParameterException
+    {
         // classificationName has already been validated and is known not to be null
         // entity typeName has already been validated and is known to be valid the classification type
 
@@ -2670,29 +2846,32 @@ class GraphOMRSMetadataStore {
         // Cannot return EntityProxy objects, so ensure that only traverse to a non-proxy entity vertex...
         gt.in("Classifier").has(PROPERTY_KEY_ENTITY_IS_PROXY, false).has(PROPERTY_KEY_ENTITY_TYPE_NAME, entityTypeName);
 
+        return gt;
+    }
 
-        while (gt.hasNext()) {
-            Vertex entityVertex = gt.next();
-            log.debug("{} found entity vertex {}", methodName, entityVertex);
 
-            EntityDetail entityDetail = new EntityDetail();
-            try {
-                // Check if we have stumbled on a proxy somehow, and if so avoid processing it.
-                Boolean isProxy = entityMapper.isProxy(entityVertex);
-                if (!isProxy) {
-                    entityMapper.mapVertexToEntityDetail(entityVertex, entityDetail);
-                    entities.add(entityDetail);
-                }
-            } catch (Exception e) {
-                log.error("{} caught exception from entity mapper - entity will be ignored, {}", methodName, e.getMessage());
-                continue; // process the next vertex
-            }
-        }
+    // countEntitiesByClassification
+    long countEntitiesByClassification(String               classificationName,
+                                       InstanceProperties   classificationProperties,
+                                       MatchCriteria        matchCriteria,
+                                       String               entityTypeName,
+                                       List<InstanceStatus> limitResultsByStatus)
+            throws
+            InvalidParameterException
+    {
+        final String methodName = "countEntitiesByClassification";
 
-        g.tx().commit();
+        GraphTraversalSource g = instanceGraph.traversal();
 
-        return entities;
+        GraphTraversal<Vertex, Vertex> gt = getClassifiedEntityTraversal(g, classificationName, classificationProperties, matchCriteria, entityTypeName, methodName);
+
+        gt = addEntityStatusAndClassificationFilters(gt, limitResultsByStatus, null);
+
+        long count = gt.count().next();
+
+        g.tx().commit();
 
+        return count;
     }
 
 
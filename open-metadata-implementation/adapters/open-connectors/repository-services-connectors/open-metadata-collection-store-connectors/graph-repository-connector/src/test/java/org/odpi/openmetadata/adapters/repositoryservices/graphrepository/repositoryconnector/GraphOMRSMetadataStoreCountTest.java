@@ -0,0 +1,232 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.mockito.Mockito.mock;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests that the graph store counts the instances that the matching find methods would return, with and
+ * without type, status and classification filters.  Deleted instances are never counted.  The graph is
+ * created in the working directory and removed after the tests.
+ * <p>
+ * The store holds an anchor entity and twelve other entities.  The even entities are of type A and the odd
+ * ones of type B.  Entities 0, 4 and 8 are deleted, 3, 6 and 9 are drafts and the rest are active.  Entities
+ * 0, 3, 6 and 9 are classified as Confidential.  Each of the twelve entities is linked to the anchor by a
+ * relationship of type X for the even entities and type Y for the odd ones.  Relationships 0, 5 and 10 are
+ * deleted, 3, 6 and 9 are drafts and the rest are active.  There is also an active relationship of type X
+ * between entities 1 and 2.
+ */
+public class GraphOMRSMetadataStoreCountTest {
+
+    private static final String repositoryName       = "graphCountTest";
+    private static final String metadataCollectionId = "local-collection";
+    private static final String homeCollectionId     = "home-collection";
+    private static final String anchorGUID           = "anchor";
+    private static final String typeAName            = "TypeA";
+    private static final String typeBName            = "TypeB";
+    private static final String typeXName            = "TypeX";
+    private static final String typeYName            = "TypeY";
+    private static final String confidential         = "Confidential";
+
+    private static final List<InstanceStatus> activeOnly = Collections.singletonList(InstanceStatus.ACTIVE);
+    private static final List<InstanceStatus> draftOnly  = Collections.singletonList(InstanceStatus.DRAFT);
+
+    private GraphOMRSMetadataStore graphStore;
+
+
+    @BeforeClass
+    public void setUpGraphStore() throws Exception {
+
+        deleteGraph();
+
+        graphStore = new GraphOMRSMetadataStore(metadataCollectionId,
+                                                repositoryName,
+                                                mock(OMRSRepositoryHelper.class),
+                                                mock(OMRSAuditLog.class));
+
+        graphStore.saveEntityReferenceCopyToStore(getEntity(anchorGUID, typeAName, InstanceStatus.ACTIVE, false));
+
+        for (int i = 0; i < 12; i++) {
+            InstanceStatus entityStatus       = InstanceStatus.ACTIVE;
+            InstanceStatus relationshipStatus = InstanceStatus.ACTIVE;
+
+            if (i % 4 == 0) {
+                entityStatus = InstanceStatus.DELETED;
+            } else if (i % 3 == 0) {
+                entityStatus = InstanceStatus.DRAFT;
+            }
+
+            if (i % 5 == 0) {
+                relationshipStatus = InstanceStatus.DELETED;
+            } else if (i % 3 == 0) {
+                relationshipStatus = InstanceStatus.DRAFT;
+            }
+
+            graphStore.saveEntityReferenceCopyToStore(getEntity("entity-" + i,
+                                                                i % 2 == 0 ? typeAName : typeBName,
+                                                                entityStatus,
+                                                                i % 3 == 0));
+
+            // The anchor is at either end of its relationships
+            if (i % 2 == 0) {
+                graphStore.saveRelationshipReferenceCopyToStore(getRelationship("relationship-" + i,
+                                                                                typeXName,
+                                                                                relationshipStatus,
+                                                                                anchorGUID,
+                                                                                "entity-" + i));
+            } else {
+                graphStore.saveRelationshipReferenceCopyToStore(getRelationship("relationship-" + i,
+                                                                                typeYName,
+                                                                                relationshipStatus,
+                                                                                "entity-" + i,
+                                                                                anchorGUID));
+            }
+        }
+
+        graphStore.saveRelationshipReferenceCopyToStore(getRelationship("relationship-1-2",
+                                                                        typeXName,
+                                                                        InstanceStatus.ACTIVE,
+                                                                        "entity-1",
+                                                                        "entity-2"));
+    }
+
+
+    @AfterClass
+    public void deleteGraph() throws IOException {
+
+        Path graphPath = new File(repositoryName + "-graph-repository").toPath();
+
+        if (Files.exists(graphPath)) {
+            try (Stream<Path> paths = Files.walk(graphPath)) {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+
+    @Test
+    public void testCountRelationshipsForEntity() {
+
+        assertEquals(graphStore.countRelationshipsForEntity(anchorGUID, null, null), 9);
+        assertEquals(graphStore.countRelationshipsForEntity(anchorGUID, typeXName, null), 4);
+        assertEquals(graphStore.countRelationshipsForEntity(anchorGUID, typeYName, null), 5);
+        assertEquals(graphStore.countRelationshipsForEntity(anchorGUID, null, activeOnly), 6);
+        assertEquals(graphStore.countRelationshipsForEntity(anchorGUID, null, draftOnly), 3);
+        assertEquals(graphStore.countRelationshipsForEntity(anchorGUID, typeXName, draftOnly), 1);
+        assertEquals(graphStore.countRelationshipsForEntity("entity-1", null, null), 2);
+        assertEquals(graphStore.countRelationshipsForEntity("entity-1", typeYName, null), 1);
+        assertEquals(graphStore.countRelationshipsForEntity("unknown-guid", null, null), 0);
+    }
+
+
+    @Test
+    public void testCountEntitiesByProperty() throws Exception {
+
+        assertEquals(graphStore.countEntitiesByProperty(null, null, null, true, null, null), 10);
+        assertEquals(graphStore.countEntitiesByProperty(typeAName, null, null, true, null, null), 4);
+        assertEquals(graphStore.countEntitiesByProperty(typeBName, null, null, true, null, null), 6);
+        assertEquals(graphStore.countEntitiesByProperty(null, null, null, true, activeOnly, null), 7);
+        assertEquals(graphStore.countEntitiesByProperty(typeBName, null, null, true, draftOnly, null), 2);
+        assertEquals(graphStore.countEntitiesByProperty(null, null, null, true, null, Collections.singletonList(confidential)), 3);
+        assertEquals(graphStore.countEntitiesByProperty(typeAName, null, null, true, null, Collections.singletonList(confidential)), 1);
+    }
+
+
+    /*
+     * The metadata collection counts the classified entities of each entity type separately.
+     */
+    @Test
+    public void testCountEntitiesByClassification() throws Exception {
+
+        assertEquals(graphStore.countEntitiesByClassification(confidential, null, null, typeAName, null), 1);
+        assertEquals(graphStore.countEntitiesByClassification(confidential, null, null, typeBName, null), 2);
+        assertEquals(graphStore.countEntitiesByClassification(confidential, null, null, typeAName, activeOnly), 0);
+        assertEquals(graphStore.countEntitiesByClassification(confidential, null, null, typeAName, draftOnly), 1);
+        assertEquals(graphStore.countEntitiesByClassification(confidential, null, null, typeBName, draftOnly), 2);
+        assertEquals(graphStore.countEntitiesByClassification("Unknown", null, null, typeAName, null), 0);
+    }
+
+
+    private EntityDetail getEntity(String guid, String typeName, InstanceStatus status, boolean isConfidential) {
+
+        EntityDetail entity = new EntityDetail();
+
+        setHeader(entity, guid, typeName, status);
+
+        if (isConfidential) {
+            Classification classification = new Classification();
+            InstanceType   type           = new InstanceType();
+
+            type.setTypeDefGUID(confidential);
+            type.setTypeDefName(confidential);
+
+            classification.setName(confidential);
+            classification.setType(type);
+            classification.setStatus(InstanceStatus.ACTIVE);
+            classification.setMetadataCollectionId(homeCollectionId);
+            entity.setClassifications(Collections.singletonList(classification));
+        }
+
+        return entity;
+    }
+
+
+    private Relationship getRelationship(String guid, String typeName, InstanceStatus status, String entityOneGUID, String entityTwoGUID) {
+
+        Relationship relationship = new Relationship();
+
+        setHeader(relationship, guid, typeName, status);
+        relationship.setEntityOneProxy(getProxy(entityOneGUID));
+        relationship.setEntityTwoProxy(getProxy(entityTwoGUID));
+
+        return relationship;
+    }
+
+
+    private EntityProxy getProxy(String guid) {
+
+        EntityProxy proxy = new EntityProxy();
+
+        setHeader(proxy, guid, typeAName, InstanceStatus.ACTIVE);
+
+        return proxy;
+    }
+
+
+    private void setHeader(InstanceHeader instance, String guid, String typeName, InstanceStatus status) {
+
+        InstanceType type = new InstanceType();
+
+        type.setTypeDefGUID(typeName);
+        type.setTypeDefName(typeName);
+
+        instance.setGUID(guid);
+        instance.setType(type);
+        instance.setStatus(status);
+        instance.setVersion(1L);
+        instance.setMetadataCollectionId(homeCollectionId);
+    }
+}
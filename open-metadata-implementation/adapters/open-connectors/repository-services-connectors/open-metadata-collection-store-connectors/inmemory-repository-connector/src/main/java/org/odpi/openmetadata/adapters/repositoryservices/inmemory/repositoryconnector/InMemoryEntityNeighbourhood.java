@@ -13,27 +13,39 @@ import java.util.*;
 /**
  * In memory entity neighbourhood processing to return the entities and relationships that radiate out from the supplied entity GUID.
  * The results are scoped both the instance type guids, classifications, status and the level.
+ *
+ * The graph is built breadth first, one level at a time.  Only the relationships of the entities on the edge of the
+ * graph are visited and the scoping conditions are checked as each relationship is reached, so relationships and entities
+ * that are out of scope are never expanded.  When the neighbourhood is built from the current content of the
+ * InMemoryOMRSMetadataStore, the relationships for each entity come from the store's adjacency index, so the cost
+ * depends on the size of the neighbourhood rather than the size of the repository.  An optional limit on the number
+ * of entities stops the expansion once the graph is big enough.
  */
 class InMemoryEntityNeighbourhood
 {
-    private OMRSRepositoryValidator   repositoryValidator;
-    private OMRSRepositoryHelper      repositoryHelper;
-    private String                    repositoryName;
-    private Map<String, EntityDetail> entityStore;
-    private Map<String, Relationship> relationshipStore;
-    private String                    rootEntityGUID;
-    private List<String>              entityTypeGUIDs;
-    private List<String>              relationshipTypeGUIDs;
-    private List<InstanceStatus>      limitResultsByStatus;
-    private List<String>              limitResultsByClassification;
-    private int                       level;
-    private Set<String>               graphEntities          = new HashSet<>();
-    private Set<String>               graphRelationships     = new HashSet<>();
-    private Map<String, Set<String>>  entityToRelationships  = new HashMap<>();
-    private Map<String, Set<String>>  relationshipToEntities = new HashMap<>();
+    private OMRSRepositoryValidator           repositoryValidator;
+    private OMRSRepositoryHelper              repositoryHelper;
+    private String                            repositoryName;
+    private InMemoryOMRSMetadataStore         metadataStore          = null;
+    private Map<String, EntityDetail>         entityStore            = null;
+    private Map<String, Relationship>         relationshipStore      = null;
+    private String                            rootEntityGUID;
+    private List<String>                      entityTypeGUIDs;
+    private List<String>                      relationshipTypeGUIDs;
+    private List<InstanceStatus>              limitResultsByStatus;
+    private List<String>                      limitResultsByClassification;
+    private int                               level;
+    private int                               maxEntities;
+    private Map<String, EntityDetail>         graphEntities          = new LinkedHashMap<>();
+    private Map<String, Relationship>         graphRelationships     = new LinkedHashMap<>();
+    private Set<String>                       rejectedRelationships  = new HashSet<>();
+    private Map<String, Set<String>>          entityToRelationships  = null;
+    private boolean                           limitReached           = false;
+
 
     /**
-     * Constructor
+     * Constructor for a neighbourhood built from copies of the entity and relationship stores, for example when the
+     * stores have been time warped.
      *
      * @param repositoryHelper             helper methods when calling the repository connector
      * @param repositoryName               name of this repository
@@ -62,12 +74,148 @@ class InMemoryEntityNeighbourhood
                                 List<InstanceStatus>      limitResultsByStatus,
                                 List<String>              limitResultsByClassification,
                                 int                       level)
+    {
+        this(repositoryHelper,
+             repositoryName,
+             repositoryValidator,
+             entityStore,
+             relationshipStore,
+             rootEntityGUID,
+             entityTypeGUIDs,
+             relationshipTypeGUIDs,
+             limitResultsByStatus,
+             limitResultsByClassification,
+             level,
+             0);
+    }
+
+
+    /**
+     * Constructor for a neighbourhood built from copies of the entity and relationship stores with a limit on the
+     * number of entities returned.
+     *
+     * @param repositoryHelper             helper methods when calling the repository connector
+     * @param repositoryName               name of this repository
+     * @param repositoryValidator          repository validator
+     * @param entityStore                  entity store
+     * @param relationshipStore            relationship store
+     * @param rootEntityGUID               the starting point of the query.
+     * @param entityTypeGUIDs              list of entity types to include in the query results.  Null means include
+     *                                     all entities found, irrespective of their type.
+     * @param relationshipTypeGUIDs        list of relationship types to include in the query results.  Null means include
+     *                                     all entities found, irrespective of their type.
+     * @param limitResultsByStatus         By default, relationships in all statuses are returned.  However, it is possible
+     *                                     to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                                     status values.
+     * @param limitResultsByClassification List of classifications that must be present on all returned entities.
+     * @param level                        the number of the relationships out from the starting entity that the query will traverse to
+     * @param maxEntities                  maximum number of entities (including the root entity) in the graph.  Zero means no limit.
+     */
+    InMemoryEntityNeighbourhood(OMRSRepositoryHelper      repositoryHelper,
+                                String                    repositoryName,
+                                OMRSRepositoryValidator   repositoryValidator,
+                                Map<String, EntityDetail> entityStore,
+                                Map<String, Relationship> relationshipStore,
+                                String                    rootEntityGUID,
+                                List<String>              entityTypeGUIDs,
+                                List<String>              relationshipTypeGUIDs,
+                                List<InstanceStatus>      limitResultsByStatus,
+                                List<String>              limitResultsByClassification,
+                                int                       level,
+                                int                       maxEntities)
+    {
+        this(repositoryHelper,
+             repositoryName,
+             repositoryValidator,
+             rootEntityGUID,
+             entityTypeGUIDs,
+             relationshipTypeGUIDs,
+             limitResultsByStatus,
+             limitResultsByClassification,
+             level,
+             maxEntities);
+
+        this.entityStore = entityStore;
+        this.relationshipStore = relationshipStore;
+        initializeMaps();
+    }
+
+
+    /**
+     * Constructor for a neighbourhood built from the current content of the metadata store.  The relationships for
+     * each entity are retrieved from the store's adjacency index.
+     *
+     * @param repositoryHelper             helper methods when calling the repository connector
+     * @param repositoryName               name of this repository
+     * @param repositoryValidator          repository validator
+     * @param metadataStore                in memory store
+     * @param rootEntityGUID               the starting point of the query.
+     * @param entityTypeGUIDs              list of entity types to include in the query results.  Null means include
+     *                                     all entities found, irrespective of their type.
+     * @param relationshipTypeGUIDs        list of relationship types to include in the query results.  Null means include
+     *                                     all entities found, irrespective of their type.
+     * @param limitResultsByStatus         By default, relationships in all statuses are returned.  However, it is possible
+     *                                     to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                                     status values.
+     * @param limitResultsByClassification List of classifications that must be present on all returned entities.
+     * @param level                        the number of the relationships out from the starting entity that the query will traverse to
+     * @param maxEntities                  maximum number of entities (including the root entity) in the graph.  Zero means no limit.
+     */
+    InMemoryEntityNeighbourhood(OMRSRepositoryHelper      repositoryHelper,
+                                String                    repositoryName,
+                                OMRSRepositoryValidator   repositoryValidator,
+                                InMemoryOMRSMetadataStore metadataStore,
+                                String                    rootEntityGUID,
+                                List<String>              entityTypeGUIDs,
+                                List<String>              relationshipTypeGUIDs,
+                                List<InstanceStatus>      limitResultsByStatus,
+                                List<String>              limitResultsByClassification,
+                                int                       level,
+                                int                       maxEntities)
+    {
+        this(repositoryHelper,
+             repositoryName,
+             repositoryValidator,
+             rootEntityGUID,
+             entityTypeGUIDs,
+             relationshipTypeGUIDs,
+             limitResultsByStatus,
+             limitResultsByClassification,
+             level,
+             maxEntities);
+
+        this.metadataStore = metadataStore;
+    }
+
+
+    /**
+     * Set up the scoping conditions.
+     *
+     * @param repositoryHelper             helper methods when calling the repository connector
+     * @param repositoryName               name of this repository
+     * @param repositoryValidator          repository validator
+     * @param rootEntityGUID               the starting point of the query.
+     * @param entityTypeGUIDs              list of entity types to include in the query results.
+     * @param relationshipTypeGUIDs        list of relationship types to include in the query results.
+     * @param limitResultsByStatus         list of statuses to restrict the results to.
+     * @param limitResultsByClassification List of classifications that must be present on all returned entities.
+     * @param level                        the number of the relationships out from the starting entity that the query will traverse to
+     * @param maxEntities                  maximum number of entities in the graph.  Zero means no limit.
+     */
+    private InMemoryEntityNeighbourhood(OMRSRepositoryHelper      repositoryHelper,
+                                        String                    repositoryName,
+                                        OMRSRepositoryValidator   repositoryValidator,
+                                        String                    rootEntityGUID,
+                                        List<String>              entityTypeGUIDs,
+                                        List<String>              relationshipTypeGUIDs,
+                                        List<InstanceStatus>      limitResultsByStatus,
+                                        List<String>              limitResultsByClassification,
+                                        int                       level,
+                                        int                       maxEntities)
     {
         this.repositoryHelper = repositoryHelper;
         this.repositoryName = repositoryName;
         this.repositoryValidator = repositoryValidator;
-        this.entityStore = entityStore;
-        this.relationshipStore = relationshipStore;
         this.rootEntityGUID = rootEntityGUID;
         this.entityTypeGUIDs = entityTypeGUIDs;
         this.relationshipTypeGUIDs = relationshipTypeGUIDs;
@@ -81,63 +229,108 @@ class InMemoryEntityNeighbourhood
             level = 100;
         }
         this.level = level;
-        initializeMaps();
+
+        if (maxEntities < 0)
+        {
+            maxEntities = 0;
+        }
+        this.maxEntities = maxEntities;
     }
 
+
     /**
-     * Initialize maps that help us traverse between entities and relationships using their guids
+     * Initialize the map that helps us traverse from entities to their relationships when working from a copy
+     * of the relationship store.  This is only done once per neighbourhood.
      */
     private void initializeMaps()
     {
+        entityToRelationships = new HashMap<>();
+
         for (Relationship relationship : relationshipStore.values())
         {
-            String      relationshipGuid     = relationship.getGUID();
-            String      relationshipEnd1Guid = getEnd1EntityGUID(relationship);
-            String      relationshipEnd2Guid = getEnd2EntityGUID(relationship);
-            Set<String> endsGuids            = new HashSet<>();
+            String relationshipGuid     = relationship.getGUID();
+            String relationshipEnd1Guid = getEnd1EntityGUID(relationship);
+            String relationshipEnd2Guid = getEnd2EntityGUID(relationship);
 
-            endsGuids.add(relationshipEnd1Guid);
-            endsGuids.add(relationshipEnd2Guid);
-            relationshipToEntities.put(relationshipGuid, endsGuids);
-            Set<String> relationshipGuids;
+            entityToRelationships.computeIfAbsent(relationshipEnd1Guid, guid -> new HashSet<>()).add(relationshipGuid);
+            entityToRelationships.computeIfAbsent(relationshipEnd2Guid, guid -> new HashSet<>()).add(relationshipGuid);
+        }
+    }
 
-            /*
-             * process end1
-             */
-            if (entityToRelationships.containsKey(relationshipEnd1Guid))
-            {
-                relationshipGuids = entityToRelationships.get(relationshipEnd1Guid);
-                if (relationshipGuids == null)
-                {
-                    relationshipGuids = new HashSet<>();
-                }
-            } else
-            {
-                relationshipGuids = new HashSet<>();
-            }
-            relationshipGuids.add(relationshipGuid);
-            entityToRelationships.put(relationshipEnd1Guid, relationshipGuids);
-            /*
-             * process end2
-             */
-            if (entityToRelationships.containsKey(relationshipEnd2Guid))
+
+    /**
+     * Return the entity with the requested guid.
+     *
+     * @param entityGUID unique identifier of the entity
+     * @return entity or null if it is not in the store
+     */
+    private EntityDetail getEntity(String entityGUID)
+    {
+        if (metadataStore != null)
+        {
+            return metadataStore.getEntity(entityGUID);
+        }
+
+        return entityStore.get(entityGUID);
+    }
+
+
+    /**
+     * Return the relationships that have the requested entity at one of their ends.
+     *
+     * @param entityGUID unique identifier of the entity
+     * @return list of relationships
+     */
+    private List<Relationship> getRelationshipsForEntity(String entityGUID)
+    {
+        if (metadataStore != null)
+        {
+            return metadataStore.getRelationshipsForEntity(entityGUID);
+        }
+
+        List<Relationship> relationships     = new ArrayList<>();
+        Set<String>        relationshipGUIDs = entityToRelationships.get(entityGUID);
+
+        if (relationshipGUIDs != null)
+        {
+            for (String relationshipGUID : relationshipGUIDs)
             {
-                relationshipGuids = entityToRelationships.get(relationshipEnd2Guid);
-                if (relationshipGuids == null)
+                Relationship relationship = relationshipStore.get(relationshipGUID);
+
+                if (relationship != null)
                 {
-                    relationshipGuids = new HashSet<>();
+                    relationships.add(relationship);
                 }
-            } else
-            {
-                relationshipGuids = new HashSet<>();
             }
-            relationshipGuids.add(relationshipGuid);
-            entityToRelationships.put(relationshipEnd2Guid, relationshipGuids);
         }
+
+        return relationships;
+    }
+
+
+    /**
+     * Return the entity at one end of a relationship, reusing the copy already in the graph if there is one.
+     *
+     * @param entityGUID unique identifier of the entity at the end
+     * @return entity or null if it is not in the store
+     */
+    private EntityDetail getEndEntity(String entityGUID)
+    {
+        EntityDetail entity = graphEntities.get(entityGUID);
+
+        if (entity == null)
+        {
+            entity = getEntity(entityGUID);
+        }
+
+        return entity;
     }
 
+
     /**
-     * Verify that the supplied relationship and the 2 entities that enclose it are valid, by checking the scoping conditions
+     * Verify that the supplied relationship and the 2 entities that enclose it are valid, by checking the scoping
+     * conditions.  The checks that only need the relationship are made first so the entities are only retrieved
+     * for relationships that are otherwise in scope.
      *
      * @param relationship relationship to verify
      * @return true if valid otherwise false
@@ -145,86 +338,97 @@ class InMemoryEntityNeighbourhood
      */
     private boolean verifyRelationshipForEntityNeighbourhood(Relationship relationship) throws TypeErrorException
     {
-        boolean valid = false;
-        boolean validEntity1 = false;
-        boolean validEntity2 = false;
-        boolean validRelationship = false;
-
-        if (!validateRelationshipAgainstEntityTypes(relationship))
+        if (relationship == null)
         {
-           return false;
+            return false;
         }
 
-        if (relationship != null)
+        if (relationshipTypeGUIDs != null)
         {
-            String relationshipEnd1Guid = getEnd1EntityGUID(relationship);
-            String relationshipEnd2Guid = getEnd2EntityGUID(relationship);
-            EntityDetail entity1 = entityStore.get(relationshipEnd1Guid);
-            EntityDetail entity2 = entityStore.get(relationshipEnd2Guid);
-            if (relationshipTypeGUIDs != null)
+            boolean validRelationship = false;
+
+            for (String relationshipTypeGUID : relationshipTypeGUIDs)
             {
-                for (String relationshipTypeGUID : relationshipTypeGUIDs)
+                if (repositoryValidator.verifyInstanceType(repositoryName, relationshipTypeGUID, relationship))
                 {
-                    if (repositoryValidator.verifyInstanceType(repositoryName, relationshipTypeGUID, relationship))
-                    {
-                        validRelationship = true;
-                    }
+                    validRelationship = true;
+                    break;
                 }
-            } else
-            {
-                validRelationship = true;
             }
-            if (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, relationship))
+
+            if (! validRelationship)
             {
-                if (limitResultsByClassification == null || limitResultsByClassification != null && (repositoryValidator.verifyEntityIsClassified(limitResultsByClassification, entity1) && (repositoryValidator.verifyEntityIsClassified(limitResultsByClassification, entity2))))
-                {
-                    if (entityTypeGUIDs != null)
-                    {
-                        for (String typeGUID1 : entityTypeGUIDs)
-                        {
-                            if (repositoryValidator.verifyInstanceType(repositoryName, typeGUID1, entity1))
-                            {
-                                /*
-                                 * Valid type
-                                 */
-
-                                if (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity1))
-                                {
-                                    validEntity1 = true;
-                                }
-                            }
-                            for (String typeGUID2 : entityTypeGUIDs)
-                            {
-                                if (repositoryValidator.verifyInstanceType(repositoryName, typeGUID2, entity1))
-                                {
-                                    /*
-                                     * Valid type
-                                     */
-
-                                    if (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity2))
-                                    {
-                                        validEntity2 = true;
-                                    }
-                                }
-                            }
+                return false;
+            }
+        }
 
-                        }
-                    } else
-                    {
-                        validEntity1 = true;
-                        validEntity2 = true;
-                    }
-                }
+        if (! repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, relationship))
+        {
+            return false;
+        }
+
+        if (! validateRelationshipAgainstEntityTypes(relationship))
+        {
+            return false;
+        }
+
+        /*
+         * An end that is only known through its proxy is checked using the proxy.
+         */
+        EntitySummary end1 = getEndEntity(getEnd1EntityGUID(relationship));
+        EntitySummary end2 = getEndEntity(getEnd2EntityGUID(relationship));
+
+        if (end1 == null)
+        {
+            end1 = relationship.getEntityOneProxy();
+        }
+
+        if (end2 == null)
+        {
+            end2 = relationship.getEntityTwoProxy();
+        }
+
+        if (limitResultsByClassification != null)
+        {
+            if ((! repositoryValidator.verifyEntityIsClassified(limitResultsByClassification, end1)) ||
+                (! repositoryValidator.verifyEntityIsClassified(limitResultsByClassification, end2)))
+            {
+                return false;
             }
         }
 
-        if (validEntity1 && validEntity2 && validRelationship)
+        if (entityTypeGUIDs != null)
         {
-            valid = true;
+            return (verifyEntityForEntityNeighbourhood(end1)) && (verifyEntityForEntityNeighbourhood(end2));
         }
-        return valid;
+
+        return true;
     }
 
+
+    /**
+     * Verify that an entity at the end of a relationship has one of the requested types and statuses.
+     *
+     * @param entity entity to verify
+     * @return true if valid otherwise false
+     */
+    private boolean verifyEntityForEntityNeighbourhood(EntitySummary entity)
+    {
+        for (String typeGUID : entityTypeGUIDs)
+        {
+            if (repositoryValidator.verifyInstanceType(repositoryName, typeGUID, entity))
+            {
+                /*
+                 * Valid type
+                 */
+                return repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity);
+            }
+        }
+
+        return false;
+    }
+
+
     /**
      * Validate the relationship proxy types against the entity types that are scoping the graph
      * @param relationship to validate
@@ -278,6 +482,7 @@ class InMemoryEntityNeighbourhood
         return valid;
     }
 
+
     /**
      * Create the instance graph
      *
@@ -286,97 +491,223 @@ class InMemoryEntityNeighbourhood
      */
     InstanceGraph createInstanceGraph() throws TypeErrorException
     {
-        Set<String> entities = new HashSet<>();
-        Set<String> visitedEntities = new HashSet<>();
-        Set<String> visitedRelationships = new HashSet<>();
-        entities.add(rootEntityGUID);
-        this.createGraph(entities, visitedEntities, visitedRelationships, 0);
-        List<EntityDetail> entityList = new ArrayList<>();
+        this.createGraph();
+
         /*
-         * add the root entity so the returned graph is consistent.
+         * The root entity is first so the returned graph is consistent.  Ends that are only known through
+         * their proxies are not returned.
          */
-        List<Relationship> relationshipList = new ArrayList<>();
-        EntityDetail rootEntity = (entityStore.get(rootEntityGUID));
-        entityList.add(rootEntity);
-        for (String entityGuid : this.graphEntities)
+        List<EntityDetail> entityList = new ArrayList<>();
+
+        for (EntityDetail entity : graphEntities.values())
         {
-            if (!entityGuid.equals(rootEntityGUID))
+            if (entity != null)
             {
-                entityList.add(this.entityStore.get(entityGuid));
+                entityList.add(entity);
             }
         }
-        for (String relationshipGuid : this.graphRelationships)
-        {
-            relationshipList.add(this.relationshipStore.get(relationshipGuid));
-        }
-        return new InstanceGraph(entityList, relationshipList);
+
+        return new InstanceGraph(entityList, new ArrayList<>(graphRelationships.values()));
     }
 
+
     /**
-     * CreateGraph populates maps with entities and relationships that are required in the instance graph. This is a recursive method that is called for each level that is required.
+     * Return the entities in the neighbourhood, excluding the root entity.  This is used to find the entities
+     * that are connected either directly or indirectly to the root entity.
      *
-     * @param entities             the entities on which we need to find the relationships out to the radiated level out.
-     * @param visitedEntities      the entities that have already been visited (seen)
-     * @param visitedRelationships the relationship that have already been visited (seen)
-     * @param currentLevel         the current level
+     * @return list of entities in the order they were reached
      * @throws TypeErrorException Type error.
      */
-    private void createGraph(Set<String> entities, Set<String> visitedEntities, Set<String> visitedRelationships, int currentLevel) throws TypeErrorException
+    List<EntityDetail> createRelatedEntityList() throws TypeErrorException
     {
+        this.createGraph();
+
+        List<EntityDetail> entityList = new ArrayList<>();
 
-        Set<String> nextEntitySet = new HashSet<>();
-        for (String entityGuid : entities)
+        for (EntityDetail entity : graphEntities.values())
         {
-            if (this.level ==0) {
-                graphEntities.add(entityGuid);
+            if ((entity != null) && (! rootEntityGUID.equals(entity.getGUID())))
+            {
+                entityList.add(entity);
             }
-            else {
-                Set<String> relationships = this.entityToRelationships.get(entityGuid);
-                if (relationships != null) {
-                    for (String relationshipGuid : relationships) {
-                        Relationship relationship = this.relationshipStore.get(relationshipGuid);
-                        /*
-                         * Check to see if we have already visited this relationship
-                         */
-                        if (!visitedRelationships.contains(relationshipGuid)) {
-                            if (verifyRelationshipForEntityNeighbourhood(relationship)) {
-                                /*
-                                 * valid relationship and entities
-                                 */
-                                graphEntities.add(entityGuid);
-                                final String end1Guid = getEnd1EntityGUID(relationship);
-                                final String end2Guid = getEnd2EntityGUID(relationship);
-                                graphRelationships.add(relationshipGuid);
-                                /*
-                                 * add the entities - one end will already be there so will be replaced.
-                                 */
-                                graphEntities.add(end1Guid);
-                                graphEntities.add(end2Guid);
-                                /*
-                                 * if we have not see the other end then we need to traverse to it.
-                                 */
-                                if (end1Guid.equals(entityGuid) && !visitedEntities.contains(end2Guid)) {
-                                    nextEntitySet.add(end2Guid);
-                                }
-                                if (end2Guid.equals(entityGuid) && !visitedEntities.contains(end1Guid)) {
-                                    nextEntitySet.add(end1Guid);
-                                }
-                                visitedEntities.add(end1Guid);
-                                visitedEntities.add(end2Guid);
-                                visitedRelationships.add(relationshipGuid);
-                            }
+        }
+
+        return entityList;
+    }
+
+
+    /**
+     * Create the graph of relationships and intermediate entities that make up the shortest paths from the root
+     * entity to the end entity.  The search expands one level at a time from the root entity and stops at the
+     * first level that reaches the end entity, or when the maximum level is reached.
+     *
+     * @param endEntityGUID unique identifier of the entity at the other end of the paths
+     * @return InstanceGraph the entities and relationships on the paths, or null if the entities are not linked.
+     */
+    InstanceGraph createLinkingGraph(String endEntityGUID)
+    {
+        /*
+         * For each entity reached, the relationships that reached it from the previous level.
+         */
+        Map<String, List<Relationship>> reachedBy = new HashMap<>();
+        Set<String>                     entities = new LinkedHashSet<>();
+        int                             currentLevel = 0;
+
+        reachedBy.put(rootEntityGUID, new ArrayList<>());
+        entities.add(rootEntityGUID);
+
+        while ((currentLevel < this.level) && (! entities.isEmpty()) && (! reachedBy.containsKey(endEntityGUID)))
+        {
+            Map<String, List<Relationship>> nextLevel = new LinkedHashMap<>();
+
+            for (String entityGuid : entities)
+            {
+                for (Relationship relationship : getRelationshipsForEntity(entityGuid))
+                {
+                    final String end1Guid = getEnd1EntityGUID(relationship);
+                    final String otherEndGuid = entityGuid.equals(end1Guid) ? getEnd2EntityGUID(relationship) : end1Guid;
+
+                    if ((otherEndGuid != null) && (! reachedBy.containsKey(otherEndGuid)) &&
+                        (! rejectedRelationships.contains(relationship.getGUID())))
+                    {
+                        if (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, relationship))
+                        {
+                            nextLevel.computeIfAbsent(otherEndGuid, guid -> new ArrayList<>()).add(relationship);
+                        }
+                        else
+                        {
+                            rejectedRelationships.add(relationship.getGUID());
                         }
                     }
                 }
             }
+
+            reachedBy.putAll(nextLevel);
+            entities = nextLevel.keySet();
+            currentLevel++;
         }
-        int nextLevel = currentLevel + 1;
-        if (nextLevel < this.level && nextEntitySet.size() > 0)
+
+        if (! reachedBy.containsKey(endEntityGUID))
         {
-            /*
-             * recurse
-             */
-            createGraph(nextEntitySet, visitedEntities, visitedRelationships, nextLevel);
+            return null;
+        }
+
+        /*
+         * Walk back from the end entity to the root entity collecting every relationship on a shortest path.
+         */
+        Deque<String> pathEntities = new ArrayDeque<>();
+
+        pathEntities.add(endEntityGUID);
+        graphEntities.put(endEntityGUID, getEntity(endEntityGUID));
+
+        while (! pathEntities.isEmpty())
+        {
+            String entityGuid = pathEntities.remove();
+
+            for (Relationship relationship : reachedBy.get(entityGuid))
+            {
+                graphRelationships.put(relationship.getGUID(), relationship);
+
+                final String end1Guid = getEnd1EntityGUID(relationship);
+                final String previousGuid = entityGuid.equals(end1Guid) ? getEnd2EntityGUID(relationship) : end1Guid;
+
+                if (! graphEntities.containsKey(previousGuid))
+                {
+                    graphEntities.put(previousGuid, getEntity(previousGuid));
+                    pathEntities.add(previousGuid);
+                }
+            }
+        }
+
+        List<EntityDetail> entityList = new ArrayList<>();
+
+        for (EntityDetail entity : graphEntities.values())
+        {
+            if (entity != null)
+            {
+                entityList.add(entity);
+            }
+        }
+
+        return new InstanceGraph(entityList, new ArrayList<>(graphRelationships.values()));
+    }
+
+
+    /**
+     * Return whether the expansion stopped because the graph reached the maximum number of entities.
+     *
+     * @return boolean
+     */
+    boolean isLimitReached()
+    {
+        return limitReached;
+    }
+
+
+    /**
+     * CreateGraph populates the maps with entities and relationships that are required in the instance graph.
+     * Each pass of the loop expands the entities added by the previous pass, until the requested level is reached,
+     * there are no new entities, or the limit on the number of entities is reached.
+     *
+     * @throws TypeErrorException Type error.
+     */
+    private void createGraph() throws TypeErrorException
+    {
+        graphEntities.put(rootEntityGUID, getEntity(rootEntityGUID));
+
+        Set<String> entities     = new LinkedHashSet<>();
+        int         currentLevel = 0;
+
+        entities.add(rootEntityGUID);
+
+        while ((currentLevel < this.level) && (! entities.isEmpty()) && (! limitReached))
+        {
+            Set<String> nextEntitySet = new LinkedHashSet<>();
+
+            for (String entityGuid : entities)
+            {
+                for (Relationship relationship : getRelationshipsForEntity(entityGuid))
+                {
+                    String relationshipGuid = relationship.getGUID();
+
+                    /*
+                     * Check to see if we have already visited this relationship
+                     */
+                    if ((graphRelationships.containsKey(relationshipGuid)) || (rejectedRelationships.contains(relationshipGuid)))
+                    {
+                        continue;
+                    }
+
+                    if (! verifyRelationshipForEntityNeighbourhood(relationship))
+                    {
+                        rejectedRelationships.add(relationshipGuid);
+                        continue;
+                    }
+
+                    final String end1Guid = getEnd1EntityGUID(relationship);
+                    final String otherEndGuid = entityGuid.equals(end1Guid) ? getEnd2EntityGUID(relationship) : end1Guid;
+
+                    /*
+                     * if we have not seen the other end then we need to traverse to it.
+                     */
+                    if (! graphEntities.containsKey(otherEndGuid))
+                    {
+                        if ((maxEntities > 0) && (graphEntities.size() >= maxEntities))
+                        {
+                            limitReached = true;
+                            return;
+                        }
+
+                        graphEntities.put(otherEndGuid, getEntity(otherEndGuid));
+                        nextEntitySet.add(otherEndGuid);
+                    }
+
+                    graphRelationships.put(relationshipGuid, relationship);
+                }
+            }
+
+            entities = nextEntitySet;
+            currentLevel++;
         }
     }
 
@@ -426,4 +757,4 @@ class InMemoryEntityNeighbourhood
         }
         return null;
     }
-}
\ No newline at end of file
+}
@@ -3,6 +3,8 @@
 package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
 
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSDynamicTypeMetadataCollectionBase;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSSearchCursor;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSSearchCursorStore;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.MatchCriteria;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
@@ -20,7 +22,11 @@ import java.util.*;
  */
 public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollectionBase
 {
-    private InMemoryOMRSMetadataStore         repositoryStore = new InMemoryOMRSMetadataStore();
+    private InMemoryOMRSMetadataStore         repositoryStore  = new InMemoryOMRSMetadataStore();
+    private int                               maxGraphEntities = 0;
+
+    private OMRSSearchCursorStore<EntityDetail> entityCursorStore       = new OMRSSearchCursorStore<>();
+    private OMRSSearchCursorStore<Relationship> relationshipCursorStore = new OMRSSearchCursorStore<>();
 
 
     /**
@@ -51,6 +57,17 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
     }
 
 
+    /**
+     * Set up the maximum number of entities returned by the graph queries.
+     *
+     * @param maxGraphEntities maximum number of entities.  Zero means no limit.
+     */
+    void setMaxGraphEntities(int maxGraphEntities)
+    {
+        this.maxGraphEntities = maxGraphEntities;
+    }
+
+
     /* ===================================================
      * Group 3: Locating entity and relationship instances
      */
@@ -298,9 +315,22 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
 
         List<Relationship> entityRelationships = new ArrayList<>();
 
-        Map<String, Relationship>   relationshipStore = repositoryStore.timeWarpRelationshipStore(asOfTime);
+        /*
+         * The relationships for the current version of the entity come from the store's adjacency index.
+         * Historical queries need the time warped relationship store.
+         */
+        Collection<Relationship>    storedRelationships;
 
-        for (Relationship  storedRelationship : relationshipStore.values())
+        if (asOfTime == null)
+        {
+            storedRelationships = repositoryStore.getRelationshipsForEntity(entityGUID);
+        }
+        else
+        {
+            storedRelationships = repositoryStore.timeWarpRelationshipStore(asOfTime).values();
+        }
+
+        for (Relationship  storedRelationship : storedRelationships)
         {
             if (storedRelationship != null)
             {
@@ -416,20 +446,228 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
 
         for (EntityDetail  entity : entityStore.values())
         {
-            if (entity != null)
+            if (this.entityMatchesProperties(entity,
+                                             entityTypeGUID,
+                                             matchProperties,
+                                             matchCriteria,
+                                             limitResultsByStatus,
+                                             limitResultsByClassification))
             {
-                if ((entity.getStatus() != InstanceStatus.DELETED) &&
-                    (repositoryValidator.verifyInstanceType(repositoryName, entityTypeGUID, entity)) &&
-                    (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity)) &&
-                    (repositoryValidator.verifyEntityIsClassified(limitResultsByClassification, entity)) &&
-                    (repositoryValidator.verifyMatchingInstancePropertyValues(matchProperties,
-                                                                              entity,
-                                                                              entity.getProperties(),
-                                                                              matchCriteria
-                                                                              )))
-                {
-                    foundEntities.add(entity);
-                }
+                foundEntities.add(entity);
+            }
+        }
+
+        return repositoryHelper.formatEntityResults(foundEntities, fromEntityElement, sequencingProperty, sequencingOrder, pageSize);
+    }
+
+
+    /**
+     * The in-memory repository keeps the results of cursor based searches between requests.
+     *
+     * @return true
+     */
+    public boolean isSearchCursorSupported()
+    {
+        return true;
+    }
+
+
+    /**
+     * Return a page of the entities that match the supplied properties according to the match criteria.  The
+     * first request runs the search and saves its results in instance order.  The following requests return the
+     * next page of the saved results without scanning the store again.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityTypeGUID String unique identifier for the entity type of interest (null means any entity type).
+     * @param matchProperties Optional list of entity properties to match (where any String property's value should
+     *                        be defined as a Java regular expression, even if it should be an exact match).
+     * @param matchCriteria Enum defining how the match properties should be matched to the entities in the repository.
+     * @param continuationToken token returned with the previous page.  Null means start from the first entity.
+     * @param limitResultsByStatus By default, entities in all statuses are returned.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                             status values.
+     * @param limitResultsByClassification List of classifications that must be present on all returned entities.
+     * @param asOfTime Requests a historical query of the entity.  Null means return the present values.
+     * @param pageSize the maximum number of result entities that can be returned on this request.  Zero means
+     *                 unrestricted return results size.
+     * @return a page of entities and the continuation token for the next page.
+     * @throws InvalidParameterException a parameter, or the continuation token, is invalid.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  entity.
+     * @throws PagingErrorException the paging parameters are set up incorrectly.
+     * @throws FunctionNotSupportedException the repository does not support one of the provided parameters.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public EntityDetailPage findEntityPageByProperty(String                    userId,
+                                                     String                    entityTypeGUID,
+                                                     InstanceProperties        matchProperties,
+                                                     MatchCriteria             matchCriteria,
+                                                     String                    continuationToken,
+                                                     List<InstanceStatus>      limitResultsByStatus,
+                                                     List<String>              limitResultsByClassification,
+                                                     Date                      asOfTime,
+                                                     int                       pageSize) throws InvalidParameterException,
+                                                                                                RepositoryErrorException,
+                                                                                                TypeErrorException,
+                                                                                                PropertyErrorException,
+                                                                                                PagingErrorException,
+                                                                                                FunctionNotSupportedException,
+                                                                                                UserNotAuthorizedException
+    {
+        final String  methodName = "findEntityPageByProperty";
+        final String  tokenParameterName = "continuationToken";
+
+        /*
+         * Validate parameters
+         */
+        super.findEntitiesByPropertyParameterValidation(userId,
+                                                        entityTypeGUID,
+                                                        matchProperties,
+                                                        matchCriteria,
+                                                        0,
+                                                        limitResultsByStatus,
+                                                        limitResultsByClassification,
+                                                        asOfTime,
+                                                        null,
+                                                        null,
+                                                        pageSize);
+
+        /*
+         * Perform operation
+         */
+        int                 queryHash = OMRSSearchCursorStore.getQueryHash(userId,
+                                                                           methodName,
+                                                                           entityTypeGUID,
+                                                                           matchProperties,
+                                                                           matchCriteria,
+                                                                           limitResultsByStatus,
+                                                                           limitResultsByClassification,
+                                                                           asOfTime);
+        OMRSSearchCursor    cursor    = OMRSSearchCursor.getCursor(continuationToken, tokenParameterName, methodName, repositoryName);
+        List<EntityDetail>  entities  = entityCursorStore.getResults(cursor,
+                                                                     queryHash,
+                                                                     tokenParameterName,
+                                                                     methodName,
+                                                                     repositoryName);
+
+        if (entities == null)
+        {
+            entities = this.getInstancesAfterCursor(cursor,
+                                                    this.findEntitiesByProperty(userId,
+                                                                                entityTypeGUID,
+                                                                                matchProperties,
+                                                                                matchCriteria,
+                                                                                0,
+                                                                                limitResultsByStatus,
+                                                                                limitResultsByClassification,
+                                                                                asOfTime,
+                                                                                null,
+                                                                                null,
+                                                                                0));
+            cursor = entityCursorStore.saveResults(cursor, queryHash, entities);
+        }
+
+        List<EntityDetail>  page            = new ArrayList<>();
+        OMRSSearchCursor    followingCursor = cursor.fillNextPage(entities, pageSize, page);
+
+        return new EntityDetailPage(page, entityCursorStore.getContinuationToken(cursor, followingCursor));
+    }
+
+
+    /**
+     * Return a list of entities that match the supplied properties according to the match criteria and are
+     * visible through the supplied governance zones.  The zones are tested while the store is scanned so
+     * the paging applies to the visible entities only.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityTypeGUID String unique identifier for the entity type of interest (null means any entity type).
+     * @param matchProperties Optional list of entity properties to match (where any String property's value should
+     *                        be defined as a Java regular expression, even if it should be an exact match).
+     * @param matchCriteria Enum defining how the match properties should be matched to the entities in the repository.
+     * @param fromEntityElement the starting element number of the visible entities to return.
+     *                                This is used when retrieving elements
+     *                                beyond the first page of results. Zero means start from the first element.
+     * @param limitResultsByStatus By default, entities in all statuses are returned.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                             status values.
+     * @param limitResultsByClassification List of classifications that must be present on all returned entities.
+     * @param limitResultsByZone List of governance zones that the returned entities must be visible through.
+     *                           Null means that the results are not restricted by zone.
+     * @param asOfTime Requests a historical query of the entity.  Null means return the present values.
+     * @param sequencingProperty String name of the entity property that is to be used to sequence the results.
+     *                           Null means do not sequence on a property name (see SequencingOrder).
+     * @param sequencingOrder Enum defining how the results should be ordered.
+     * @param pageSize the maximum number of result entities that can be returned on this request.  Zero means
+     *                 unrestricted return results size.
+     * @return a list of entities matching the supplied criteria; null means no matching entities in the metadata
+     * collection.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  entity.
+     * @throws PagingErrorException the paging/sequencing parameters are set up incorrectly.
+     * @throws FunctionNotSupportedException the repository does not support one of the provided parameters.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     * @see OMRSRepositoryHelper#getExactMatchRegex(String)
+     */
+    public List<EntityDetail> findEntitiesByProperty(String                    userId,
+                                                     String                    entityTypeGUID,
+                                                     InstanceProperties        matchProperties,
+                                                     MatchCriteria             matchCriteria,
+                                                     int                       fromEntityElement,
+                                                     List<InstanceStatus>      limitResultsByStatus,
+                                                     List<String>              limitResultsByClassification,
+                                                     List<String>              limitResultsByZone,
+                                                     Date                      asOfTime,
+                                                     String                    sequencingProperty,
+                                                     SequencingOrder           sequencingOrder,
+                                                     int                       pageSize) throws InvalidParameterException,
+                                                                                                RepositoryErrorException,
+                                                                                                TypeErrorException,
+                                                                                                PropertyErrorException,
+                                                                                                PagingErrorException,
+                                                                                                FunctionNotSupportedException,
+                                                                                                UserNotAuthorizedException
+    {
+        /*
+         * Validate parameters
+         */
+        super.findEntitiesByPropertyParameterValidation(userId,
+                                                        entityTypeGUID,
+                                                        matchProperties,
+                                                        matchCriteria,
+                                                        fromEntityElement,
+                                                        limitResultsByStatus,
+                                                        limitResultsByClassification,
+                                                        asOfTime,
+                                                        sequencingProperty,
+                                                        sequencingOrder,
+                                                        pageSize);
+
+        /*
+         * Perform operation
+         */
+        List<EntityDetail>         foundEntities = new ArrayList<>();
+        Map<String, EntityDetail>  entityStore = repositoryStore.timeWarpEntityStore(asOfTime);
+
+        for (EntityDetail  entity : entityStore.values())
+        {
+            if ((this.entityMatchesProperties(entity,
+                                              entityTypeGUID,
+                                              matchProperties,
+                                              matchCriteria,
+                                              limitResultsByStatus,
+                                              limitResultsByClassification)) &&
+                (repositoryValidator.verifyEntityIsInZones(limitResultsByZone, entity)))
+            {
+                foundEntities.add(entity);
             }
         }
 
@@ -493,75 +731,371 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
                                                                                                        PagingErrorException,
                                                                                                        UserNotAuthorizedException
     {
-        /*
-         * Validate parameters
-         */
-        super.findEntitiesByClassificationParameterValidation(userId,
-                                                              entityTypeGUID,
-                                                              classificationName,
-                                                              matchClassificationProperties,
-                                                              matchCriteria,
-                                                              fromEntityElement,
-                                                              limitResultsByStatus,
-                                                              asOfTime,
-                                                              sequencingProperty,
-                                                              sequencingOrder,
-                                                              pageSize);
+        /*
+         * Validate parameters
+         */
+        super.findEntitiesByClassificationParameterValidation(userId,
+                                                              entityTypeGUID,
+                                                              classificationName,
+                                                              matchClassificationProperties,
+                                                              matchCriteria,
+                                                              fromEntityElement,
+                                                              limitResultsByStatus,
+                                                              asOfTime,
+                                                              sequencingProperty,
+                                                              sequencingOrder,
+                                                              pageSize);
+
+        /*
+         * Perform operation
+         *
+         * This is a brute force implementation of locating in entity since it iterates through all of
+         * the stored entities.
+         */
+        Map<String, EntityDetail>   entityStore = repositoryStore.timeWarpEntityStore(asOfTime);
+        List<EntityDetail>          foundEntities = new ArrayList<>();
+
+        for (EntityDetail  entity : entityStore.values())
+        {
+            if (this.entityMatchesClassification(entity,
+                                                 entityTypeGUID,
+                                                 classificationName,
+                                                 matchClassificationProperties,
+                                                 matchCriteria,
+                                                 limitResultsByStatus))
+            {
+                foundEntities.add(entity);
+            }
+        }
+
+        return repositoryHelper.formatEntityResults(foundEntities, fromEntityElement, sequencingProperty, sequencingOrder, pageSize);
+    }
+
+
+    /**
+     * Return the number of relationships for a specific entity.  The relationships are counted in the store
+     * without building a result list.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityGUID String unique identifier for the entity.
+     * @param relationshipTypeGUID String GUID of the the type of relationship required (null for all).
+     * @param limitResultsByStatus By default, relationships in all statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the count to.  Null means all
+     *                             status values.
+     * @param asOfTime Requests a historical count of the relationships for the entity.  Null means count the
+     *                 present values.
+     * @return count of matching relationships
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     * @throws EntityNotKnownException the requested entity instance is not known in the metadata collection.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public int countRelationshipsForEntity(String                     userId,
+                                           String                     entityGUID,
+                                           String                     relationshipTypeGUID,
+                                           List<InstanceStatus>       limitResultsByStatus,
+                                           Date                       asOfTime) throws InvalidParameterException,
+                                                                                       TypeErrorException,
+                                                                                       RepositoryErrorException,
+                                                                                       EntityNotKnownException,
+                                                                                       UserNotAuthorizedException
+    {
+        final String  methodName = "countRelationshipsForEntity";
+
+        /*
+         * Validate parameters
+         */
+        super.countRelationshipsForEntityParameterValidation(userId,
+                                                             entityGUID,
+                                                             relationshipTypeGUID,
+                                                             limitResultsByStatus,
+                                                             asOfTime);
+
+        /*
+         * Perform operation
+         */
+        EntitySummary  entity = this.getEntitySummary(userId, entityGUID);
+
+        repositoryValidator.validateEntityFromStore(repositoryName, entityGUID, entity, methodName);
+        repositoryValidator.validateEntityIsNotDeleted(repositoryName, entity, methodName);
+
+        Collection<Relationship>    storedRelationships;
+
+        if (asOfTime == null)
+        {
+            storedRelationships = repositoryStore.getRelationshipsForEntity(entityGUID);
+        }
+        else
+        {
+            storedRelationships = repositoryStore.timeWarpRelationshipStore(asOfTime).values();
+        }
+
+        int count = 0;
+
+        for (Relationship  storedRelationship : storedRelationships)
+        {
+            if ((storedRelationship != null) &&
+                (storedRelationship.getStatus() != InstanceStatus.DELETED) &&
+                (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, storedRelationship)) &&
+                (repositoryHelper.relatedEntity(repositoryName, entityGUID, storedRelationship)))
+            {
+                if ((relationshipTypeGUID == null) ||
+                    (relationshipTypeGUID.equals(storedRelationship.getType().getTypeDefGUID())))
+                {
+                    count++;
+                }
+            }
+        }
+
+        return count;
+    }
+
+
+    /**
+     * Return the number of entities that match the supplied properties according to the match criteria.
+     * The entities are counted in the store without building a result list.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityTypeGUID String unique identifier for the entity type of interest (null means any entity type).
+     * @param matchProperties Optional list of entity properties to match (where any String property's value should
+     *                        be defined as a Java regular expression, even if it should be an exact match).
+     * @param matchCriteria Enum defining how the properties should be matched to the entities in the repository.
+     * @param limitResultsByStatus By default, entities in all statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the count to.  Null means all
+     *                             status values.
+     * @param limitResultsByClassification List of classifications that must be present on all counted entities.
+     * @param asOfTime Requests a historical count of the entities.  Null means count the present values.
+     * @return count of matching entities
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  entity.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public int countEntitiesByProperty(String                    userId,
+                                       String                    entityTypeGUID,
+                                       InstanceProperties        matchProperties,
+                                       MatchCriteria             matchCriteria,
+                                       List<InstanceStatus>      limitResultsByStatus,
+                                       List<String>              limitResultsByClassification,
+                                       Date                      asOfTime) throws InvalidParameterException,
+                                                                                  RepositoryErrorException,
+                                                                                  TypeErrorException,
+                                                                                  PropertyErrorException,
+                                                                                  UserNotAuthorizedException
+    {
+        /*
+         * Validate parameters
+         */
+        super.countEntitiesByPropertyParameterValidation(userId,
+                                                         entityTypeGUID,
+                                                         matchProperties,
+                                                         matchCriteria,
+                                                         limitResultsByStatus,
+                                                         limitResultsByClassification,
+                                                         asOfTime);
+
+        /*
+         * Perform operation
+         */
+        int count = 0;
+
+        for (EntityDetail  entity : repositoryStore.timeWarpEntityStore(asOfTime).values())
+        {
+            if (this.entityMatchesProperties(entity,
+                                             entityTypeGUID,
+                                             matchProperties,
+                                             matchCriteria,
+                                             limitResultsByStatus,
+                                             limitResultsByClassification))
+            {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+
+    /**
+     * Return the number of entities that have the requested type of classification attached.
+     * The entities are counted in the store without building a result list.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityTypeGUID unique identifier for the type of entity requested.  Null means any type of entity
+     *                       (but could be slow so not recommended.
+     * @param classificationName name of the classification, note a null is not valid.
+     * @param matchClassificationProperties list of classification properties used to narrow the search (where any String
+     *                                      property's value should be defined as a Java regular expression, even if it
+     *                                      should be an exact match).
+     * @param matchCriteria Enum defining how the properties should be matched to the classifications in the repository.
+     * @param limitResultsByStatus By default, entities in all statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the count to.  Null means all
+     *                             status values.
+     * @param asOfTime Requests a historical count of the entities.  Null means count the present values.
+     * @return count of matching entities
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws ClassificationErrorException the classification request is not known to the metadata collection.
+     * @throws PropertyErrorException the properties specified are not valid for the requested type of
+     *                                  classification.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public int countEntitiesByClassification(String                    userId,
+                                             String                    entityTypeGUID,
+                                             String                    classificationName,
+                                             InstanceProperties        matchClassificationProperties,
+                                             MatchCriteria             matchCriteria,
+                                             List<InstanceStatus>      limitResultsByStatus,
+                                             Date                      asOfTime) throws InvalidParameterException,
+                                                                                        TypeErrorException,
+                                                                                        RepositoryErrorException,
+                                                                                        ClassificationErrorException,
+                                                                                        PropertyErrorException,
+                                                                                        UserNotAuthorizedException
+    {
+        /*
+         * Validate parameters
+         */
+        super.countEntitiesByClassificationParameterValidation(userId,
+                                                               entityTypeGUID,
+                                                               classificationName,
+                                                               matchClassificationProperties,
+                                                               matchCriteria,
+                                                               limitResultsByStatus,
+                                                               asOfTime);
+
+        /*
+         * Perform operation
+         */
+        int count = 0;
+
+        for (EntityDetail  entity : repositoryStore.timeWarpEntityStore(asOfTime).values())
+        {
+            if (this.entityMatchesClassification(entity,
+                                                 entityTypeGUID,
+                                                 classificationName,
+                                                 matchClassificationProperties,
+                                                 matchCriteria,
+                                                 limitResultsByStatus))
+            {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+
+    /**
+     * Test whether an entity from the store matches the criteria of findEntitiesByProperty.
+     *
+     * @param entity entity from the store
+     * @param entityTypeGUID String unique identifier for the entity type of interest (null means any entity type).
+     * @param matchProperties Optional list of entity properties to match.
+     * @param matchCriteria Enum defining how the properties should be matched.
+     * @param limitResultsByStatus list of statuses to restrict the results to.  Null means all status values.
+     * @param limitResultsByClassification List of classifications that must be present on the entity.
+     * @return boolean
+     * @throws InvalidParameterException invalid search criteria
+     */
+    private boolean entityMatchesProperties(EntityDetail              entity,
+                                            String                    entityTypeGUID,
+                                            InstanceProperties        matchProperties,
+                                            MatchCriteria             matchCriteria,
+                                            List<InstanceStatus>      limitResultsByStatus,
+                                            List<String>              limitResultsByClassification) throws InvalidParameterException
+    {
+        return (entity != null) &&
+               (entity.getStatus() != InstanceStatus.DELETED) &&
+               (repositoryValidator.verifyInstanceType(repositoryName, entityTypeGUID, entity)) &&
+               (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity)) &&
+               (repositoryValidator.verifyEntityIsClassified(limitResultsByClassification, entity)) &&
+               (repositoryValidator.verifyMatchingInstancePropertyValues(matchProperties,
+                                                                         entity,
+                                                                         entity.getProperties(),
+                                                                         matchCriteria));
+    }
+
+
+    /**
+     * Test whether an entity from the store matches the criteria of findEntitiesByClassification.
+     *
+     * @param entity entity from the store
+     * @param entityTypeGUID unique identifier for the type of entity requested.  Null means any type of entity.
+     * @param classificationName name of the classification.
+     * @param matchClassificationProperties list of classification properties used to narrow the search.
+     * @param matchCriteria Enum defining how the properties should be matched to the classification.
+     * @param limitResultsByStatus list of statuses to restrict the results to.  Null means all status values.
+     * @return boolean
+     * @throws InvalidParameterException invalid search criteria
+     */
+    private boolean entityMatchesClassification(EntityDetail              entity,
+                                                String                    entityTypeGUID,
+                                                String                    classificationName,
+                                                InstanceProperties        matchClassificationProperties,
+                                                MatchCriteria             matchCriteria,
+                                                List<InstanceStatus>      limitResultsByStatus) throws InvalidParameterException
+    {
+        if ((entity == null) ||
+            (entity.getStatus() == InstanceStatus.DELETED) ||
+            (! repositoryValidator.verifyInstanceType(repositoryName, entityTypeGUID, entity)) ||
+            (! repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity)) ||
+            (entity.getClassifications() == null))
+        {
+            return false;
+        }
 
         /*
-         * Perform operation
-         *
-         * This is a brute force implementation of locating in entity since it iterates through all of
-         * the stored entities.
+         * Locate the matching classification and validate its properties
          */
-        Map<String, EntityDetail>   entityStore = repositoryStore.timeWarpEntityStore(asOfTime);
-        List<EntityDetail>          foundEntities = new ArrayList<>();
+        for (Classification entityClassification : entity.getClassifications())
+        {
+            if ((entityClassification != null) && (classificationName.equals(entityClassification.getName())))
+            {
+                return repositoryValidator.verifyMatchingInstancePropertyValues(matchClassificationProperties,
+                                                                                entityClassification,
+                                                                                entityClassification.getProperties(),
+                                                                                matchCriteria);
+            }
+        }
 
-        List<String>                classificationList = new ArrayList<>();
-        classificationList.add(classificationName);
+        return false;
+    }
 
-        for (EntityDetail  entity : entityStore.values())
+
+    /**
+     * Return the results of a search that come after the cursor of a cursor based search.  The instances
+     * before the cursor have already been returned, so they are not saved in the cursor store.
+     *
+     * @param cursor cursor from the continuation token
+     * @param results results of the search; may be null
+     * @param <T> type of instance
+     * @return list of instances (possibly empty)
+     */
+    private <T extends InstanceHeader> List<T> getInstancesAfterCursor(OMRSSearchCursor cursor,
+                                                                       List<T>          results)
+    {
+        List<T>  instancesAfterCursor = new ArrayList<>();
+
+        if (results != null)
         {
-            if (entity != null)
+            for (T instance : results)
             {
-                if ((entity.getStatus() != InstanceStatus.DELETED) &&
-                    (repositoryValidator.verifyInstanceType(repositoryName, entityTypeGUID, entity)) &&
-                    (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity)) &&
-                    (repositoryValidator.verifyEntityIsClassified(classificationList, entity)))
+                if (cursor.isBefore(instance))
                 {
-                    List<Classification>   entityClassifications = entity.getClassifications();
-
-                    if (entityClassifications != null)
-                    {
-                        /*
-                         * Locate the matching classification and validate its properties
-                         */
-                        for (Classification entityClassification : entityClassifications)
-                        {
-                            if (entityClassification != null)
-                            {
-                                if (classificationName.equals(entityClassification.getName()))
-                                {
-                                    if (repositoryValidator.verifyMatchingInstancePropertyValues(
-                                            matchClassificationProperties,
-                                            entityClassification,
-                                            entityClassification.getProperties(),
-                                            matchCriteria
-                                            ))
-
-                                    {
-                                        foundEntities.add(entity);
-                                    }
-                                    break;
-                                }
-                            }
-                        }
-                    }
+                    instancesAfterCursor.add(instance);
                 }
             }
         }
 
-        return repositoryHelper.formatEntityResults(foundEntities, fromEntityElement, sequencingProperty, sequencingOrder, pageSize);
+        return instancesAfterCursor;
     }
 
 
@@ -661,6 +1195,109 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
     }
 
 
+    /**
+     * Return a page of the entities whose string based property values match the search criteria.  The first
+     * request runs the search and saves its results in instance order.  The following requests return the next
+     * page of the saved results.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityTypeGUID GUID of the type of entity to search for. Null means all types will
+     *                       be searched (could be slow so not recommended).
+     * @param searchCriteria String Java regular expression used to match against any of the String property values
+     *                       within the entities of the supplied type, even if it should be an exact match.
+     *                       (Retrieve all entities of the supplied type if this is either null or an empty string.)
+     * @param continuationToken token returned with the previous page.  Null means start from the first entity.
+     * @param limitResultsByStatus By default, entities in all statuses are returned.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                             status values.
+     * @param limitResultsByClassification List of classifications that must be present on all returned entities.
+     * @param asOfTime Requests a historical query of the entity.  Null means return the present values.
+     * @param pageSize the maximum number of result entities that can be returned on this request.  Zero means
+     *                 unrestricted return results size.
+     * @return a page of entities and the continuation token for the next page.
+     * @throws InvalidParameterException a parameter, or the continuation token, is invalid.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws PropertyErrorException the sequencing property specified is not valid for any of the requested types of
+     *                                  entity.
+     * @throws PagingErrorException the paging parameters are set up incorrectly.
+     * @throws FunctionNotSupportedException the repository does not support one of the provided parameters.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public EntityDetailPage findEntityPageByPropertyValue(String                userId,
+                                                          String                entityTypeGUID,
+                                                          String                searchCriteria,
+                                                          String                continuationToken,
+                                                          List<InstanceStatus>  limitResultsByStatus,
+                                                          List<String>          limitResultsByClassification,
+                                                          Date                  asOfTime,
+                                                          int                   pageSize) throws InvalidParameterException,
+                                                                                                 TypeErrorException,
+                                                                                                 RepositoryErrorException,
+                                                                                                 PropertyErrorException,
+                                                                                                 PagingErrorException,
+                                                                                                 FunctionNotSupportedException,
+                                                                                                 UserNotAuthorizedException
+    {
+        final String  methodName = "findEntityPageByPropertyValue";
+        final String  tokenParameterName = "continuationToken";
+
+        /*
+         * Validate parameters
+         */
+        super.findEntitiesByPropertyValueParameterValidation(userId,
+                                                             entityTypeGUID,
+                                                             searchCriteria,
+                                                             0,
+                                                             limitResultsByStatus,
+                                                             limitResultsByClassification,
+                                                             asOfTime,
+                                                             null,
+                                                             null,
+                                                             pageSize);
+
+        /*
+         * Process operation
+         */
+        int                 queryHash = OMRSSearchCursorStore.getQueryHash(userId,
+                                                                           methodName,
+                                                                           entityTypeGUID,
+                                                                           searchCriteria,
+                                                                           limitResultsByStatus,
+                                                                           limitResultsByClassification,
+                                                                           asOfTime);
+        OMRSSearchCursor    cursor    = OMRSSearchCursor.getCursor(continuationToken, tokenParameterName, methodName, repositoryName);
+        List<EntityDetail>  entities  = entityCursorStore.getResults(cursor,
+                                                                     queryHash,
+                                                                     tokenParameterName,
+                                                                     methodName,
+                                                                     repositoryName);
+
+        if (entities == null)
+        {
+            entities = this.getInstancesAfterCursor(cursor,
+                                                    this.findEntitiesByPropertyValue(userId,
+                                                                                     entityTypeGUID,
+                                                                                     searchCriteria,
+                                                                                     0,
+                                                                                     limitResultsByStatus,
+                                                                                     limitResultsByClassification,
+                                                                                     asOfTime,
+                                                                                     null,
+                                                                                     null,
+                                                                                     0));
+            cursor = entityCursorStore.saveResults(cursor, queryHash, entities);
+        }
+
+        List<EntityDetail>  page            = new ArrayList<>();
+        OMRSSearchCursor    followingCursor = cursor.fillNextPage(entities, pageSize, page);
+
+        return new EntityDetailPage(page, entityCursorStore.getContinuationToken(cursor, followingCursor));
+    }
+
+
 
     /**
      * Returns a boolean indicating if the relationship is stored in the metadata collection.
@@ -875,6 +1512,108 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
     }
 
 
+    /**
+     * Return a page of the relationships that match the requested properties by the matching criteria.  The
+     * first request runs the search and saves its results in instance order.  The following requests return the
+     * next page of the saved results.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param relationshipTypeGUID unique identifier (guid) for the relationship's type.  Null means all types
+     *                             (but may be slow so not recommended).
+     * @param matchProperties Optional list of relationship properties to match (where any String property's value should
+     *                        be defined as a Java regular expression, even if it should be an exact match).
+     * @param matchCriteria Enum defining how the properties should be matched to the relationships in the repository.
+     * @param continuationToken token returned with the previous page.  Null means start from the first relationship.
+     * @param limitResultsByStatus By default, relationships in all statuses are returned.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                             status values.
+     * @param asOfTime Requests a historical query of the relationships.  Null means return the present values.
+     * @param pageSize the maximum number of result relationships that can be returned on this request.  Zero means
+     *                 unrestricted return results size.
+     * @return a page of relationships and the continuation token for the next page.
+     * @throws InvalidParameterException a parameter, or the continuation token, is invalid.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  relationships.
+     * @throws PagingErrorException the paging parameters are set up incorrectly.
+     * @throws FunctionNotSupportedException the repository does not support one of the provided parameters.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public RelationshipPage findRelationshipPageByProperty(String                    userId,
+                                                           String                    relationshipTypeGUID,
+                                                           InstanceProperties        matchProperties,
+                                                           MatchCriteria             matchCriteria,
+                                                           String                    continuationToken,
+                                                           List<InstanceStatus>      limitResultsByStatus,
+                                                           Date                      asOfTime,
+                                                           int                       pageSize) throws InvalidParameterException,
+                                                                                                      TypeErrorException,
+                                                                                                      RepositoryErrorException,
+                                                                                                      PropertyErrorException,
+                                                                                                      PagingErrorException,
+                                                                                                      FunctionNotSupportedException,
+                                                                                                      UserNotAuthorizedException
+    {
+        final String  methodName = "findRelationshipPageByProperty";
+        final String  tokenParameterName = "continuationToken";
+
+        /*
+         * Validate parameters
+         */
+        super.findRelationshipsByPropertyParameterValidation(userId,
+                                                             relationshipTypeGUID,
+                                                             matchProperties,
+                                                             matchCriteria,
+                                                             0,
+                                                             limitResultsByStatus,
+                                                             asOfTime,
+                                                             null,
+                                                             null,
+                                                             pageSize);
+
+        /*
+         * Perform operation
+         */
+        int                 queryHash     = OMRSSearchCursorStore.getQueryHash(userId,
+                                                                               methodName,
+                                                                               relationshipTypeGUID,
+                                                                               matchProperties,
+                                                                               matchCriteria,
+                                                                               limitResultsByStatus,
+                                                                               asOfTime);
+        OMRSSearchCursor    cursor        = OMRSSearchCursor.getCursor(continuationToken, tokenParameterName, methodName, repositoryName);
+        List<Relationship>  relationships = relationshipCursorStore.getResults(cursor,
+                                                                               queryHash,
+                                                                               tokenParameterName,
+                                                                               methodName,
+                                                                               repositoryName);
+
+        if (relationships == null)
+        {
+            relationships = this.getInstancesAfterCursor(cursor,
+                                                         this.findRelationshipsByProperty(userId,
+                                                                                          relationshipTypeGUID,
+                                                                                          matchProperties,
+                                                                                          matchCriteria,
+                                                                                          0,
+                                                                                          limitResultsByStatus,
+                                                                                          asOfTime,
+                                                                                          null,
+                                                                                          null,
+                                                                                          0));
+            cursor = relationshipCursorStore.saveResults(cursor, queryHash, relationships);
+        }
+
+        List<Relationship>  page            = new ArrayList<>();
+        OMRSSearchCursor    followingCursor = cursor.fillNextPage(relationships, pageSize, page);
+
+        return new RelationshipPage(page, relationshipCursorStore.getContinuationToken(cursor, followingCursor));
+    }
+
+
     /**
      * Return a list of relationships whose string based property values match the search criteria.  The
      * search criteria may include regex style wild cards.
@@ -1057,26 +1796,256 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
             }
         }
 
+        InMemoryEntityNeighbourhood inMemoryEntityNeighbourhood = this.getEntityNeighbourhood(entityGUID,
+                                                                                              entityTypeGUIDs,
+                                                                                              relationshipTypeGUIDs,
+                                                                                              limitResultsByStatus,
+                                                                                              limitResultsByClassification,
+                                                                                              asOfTime,
+                                                                                              level,
+                                                                                              maxGraphEntities);
+
+        return inMemoryEntityNeighbourhood.createInstanceGraph();
+    }
+
+
+    /**
+     * Return the list of entities that are of the types listed in entityTypeGUIDs and are connected, either directly or
+     * indirectly to the entity identified by startEntityGUID.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param startEntityGUID unique identifier of the starting entity.
+     * @param entityTypeGUIDs list of types to search for.  Null means any type.
+     * @param fromEntityElement starting element for results list.  Used in paging.  Zero means first element.
+     * @param limitResultsByStatus By default, relationships in all statuses are returned.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                             status values.
+     * @param limitResultsByClassification List of classifications that must be present on all returned entities.
+     * @param asOfTime Requests a historical query of the relationships for the entity.  Null means return the
+     *                 present values.
+     * @param sequencingProperty String name of the property that is to be used to sequence the results.
+     *                           Null means do not sequence on a property name (see SequencingOrder).
+     * @param sequencingOrder Enum defining how the results should be ordered.
+     * @param pageSize the maximum number of result entities that can be returned on this request.  Zero means
+     *                 unrestricted return results size.
+     * @return list of entities either directly or indirectly connected to the start entity
+     * @throws InvalidParameterException one of the parameters is invalid or null.
+     * @throws TypeErrorException one of the type guids passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     * @throws EntityNotKnownException the entity identified by the startEntityGUID
+     *                                   is not found in the metadata collection.
+     * @throws PropertyErrorException the sequencing property specified is not valid for any of the requested types of
+     *                                  entity.
+     * @throws PagingErrorException the paging/sequencing parameters are set up incorrectly.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public  List<EntityDetail> getRelatedEntities(String               userId,
+                                                  String               startEntityGUID,
+                                                  List<String>         entityTypeGUIDs,
+                                                  int                  fromEntityElement,
+                                                  List<InstanceStatus> limitResultsByStatus,
+                                                  List<String>         limitResultsByClassification,
+                                                  Date                 asOfTime,
+                                                  String               sequencingProperty,
+                                                  SequencingOrder      sequencingOrder,
+                                                  int                  pageSize) throws InvalidParameterException,
+                                                                                        TypeErrorException,
+                                                                                        RepositoryErrorException,
+                                                                                        EntityNotKnownException,
+                                                                                        PropertyErrorException,
+                                                                                        PagingErrorException,
+                                                                                        UserNotAuthorizedException
+    {
+        final String  methodName = "getRelatedEntities";
+
+        /*
+         * Validate parameters
+         */
+        super.getRelatedEntitiesParameterValidation(userId,
+                                                    startEntityGUID,
+                                                    entityTypeGUIDs,
+                                                    fromEntityElement,
+                                                    limitResultsByStatus,
+                                                    limitResultsByClassification,
+                                                    asOfTime,
+                                                    sequencingProperty,
+                                                    sequencingOrder,
+                                                    pageSize);
+
+        /*
+         * Perform operation
+         */
+        EntitySummary  entity = this.getEntitySummary(userId, startEntityGUID);
+
+        repositoryValidator.validateEntityFromStore(repositoryName, startEntityGUID, entity, methodName);
+
+        /*
+         * When the results are not sequenced, the traversal can stop as soon as it has found enough entities to
+         * fill the requested page.  The limit includes the start entity.
+         */
+        int maxEntities = maxGraphEntities;
+
+        if ((pageSize > 0) &&
+            (sequencingProperty == null) &&
+            ((sequencingOrder == null) || (sequencingOrder == SequencingOrder.ANY)))
+        {
+            int pageLimit = fromEntityElement + pageSize + 1;
+
+            if ((maxEntities == 0) || (pageLimit < maxEntities))
+            {
+                maxEntities = pageLimit;
+            }
+        }
+
+        InMemoryEntityNeighbourhood inMemoryEntityNeighbourhood = this.getEntityNeighbourhood(startEntityGUID,
+                                                                                              entityTypeGUIDs,
+                                                                                              null,
+                                                                                              limitResultsByStatus,
+                                                                                              limitResultsByClassification,
+                                                                                              asOfTime,
+                                                                                              -1,
+                                                                                              maxEntities);
+
+        List<EntityDetail> relatedEntities = inMemoryEntityNeighbourhood.createRelatedEntityList();
+
+        if (relatedEntities.isEmpty())
+        {
+            return null;
+        }
+
+        return repositoryHelper.formatEntityResults(relatedEntities,
+                                                    fromEntityElement,
+                                                    sequencingProperty,
+                                                    sequencingOrder,
+                                                    pageSize);
+    }
+
+
+    /**
+     * Return all of the relationships and intermediate entities that connect the startEntity with the endEntity.
+     * The relationships and entities on the shortest paths between the two entities are returned.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param startEntityGUID The entity that is used to anchor the query.
+     * @param endEntityGUID the other entity that defines the scope of the query.
+     * @param limitResultsByStatus By default, relationships in all statuses are returned.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                             status values.
+     * @param asOfTime Requests a historical query of the relationships for the entity.  Null means return the
+     *                 present values.
+     * @return InstanceGraph the sub-graph that represents the returned linked entities and their relationships.
+     * @throws InvalidParameterException one of the parameters is invalid or null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     * @throws EntityNotKnownException the entity identified by either the startEntityGUID or the endEntityGUID
+     *                                   is not found in the metadata collection.
+     * @throws PropertyErrorException there is a problem with one of the other parameters.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public  InstanceGraph getLinkingEntities(String                    userId,
+                                             String                    startEntityGUID,
+                                             String                    endEntityGUID,
+                                             List<InstanceStatus>      limitResultsByStatus,
+                                             Date                      asOfTime) throws InvalidParameterException,
+                                                                                        RepositoryErrorException,
+                                                                                        EntityNotKnownException,
+                                                                                        PropertyErrorException,
+                                                                                        UserNotAuthorizedException
+    {
+        final String methodName  = "getLinkingEntities";
+
+        /*
+         * Validate parameters
+         */
+        super.getLinkingEntitiesParameterValidation(userId,
+                                                    startEntityGUID,
+                                                    endEntityGUID,
+                                                    limitResultsByStatus,
+                                                    asOfTime);
+
+        /*
+         * Perform operation
+         */
+        EntitySummary  startEntity = this.getEntitySummary(userId, startEntityGUID);
+        EntitySummary  endEntity = this.getEntitySummary(userId, endEntityGUID);
+
+        repositoryValidator.validateEntityFromStore(repositoryName, startEntityGUID, startEntity, methodName);
+        repositoryValidator.validateEntityFromStore(repositoryName, endEntityGUID, endEntity, methodName);
+
+        InMemoryEntityNeighbourhood inMemoryEntityNeighbourhood = this.getEntityNeighbourhood(startEntityGUID,
+                                                                                              null,
+                                                                                              null,
+                                                                                              limitResultsByStatus,
+                                                                                              null,
+                                                                                              asOfTime,
+                                                                                              -1,
+                                                                                              0);
+
+        return inMemoryEntityNeighbourhood.createLinkingGraph(endEntityGUID);
+    }
+
+
+    /**
+     * Set up the neighbourhood processing for a graph query.  Queries for the current content of the repository
+     * traverse the repository store's adjacency index.  Historical queries work on time warped copies of the stores.
+     *
+     * @param rootEntityGUID the starting point of the query.
+     * @param entityTypeGUIDs list of entity types to include in the query results.  Null means include
+     *                          all entities found, irrespective of their type.
+     * @param relationshipTypeGUIDs list of relationship types to include in the query results.  Null means include
+     *                                all relationships found, irrespective of their type.
+     * @param limitResultsByStatus list of statuses to restrict the results to.  Null means all status values.
+     * @param limitResultsByClassification List of classifications that must be present on all returned entities.
+     * @param asOfTime Requests a historical query.  Null means return the present values.
+     * @param level the number of the relationships out from the starting entity that the query will traverse to
+     *              gather results.
+     * @param maxEntities maximum number of entities in the graph.  Zero means no limit.
+     * @return neighbourhood processing object
+     */
+    private InMemoryEntityNeighbourhood getEntityNeighbourhood(String               rootEntityGUID,
+                                                               List<String>         entityTypeGUIDs,
+                                                               List<String>         relationshipTypeGUIDs,
+                                                               List<InstanceStatus> limitResultsByStatus,
+                                                               List<String>         limitResultsByClassification,
+                                                               Date                 asOfTime,
+                                                               int                  level,
+                                                               int                  maxEntities)
+    {
+        if (asOfTime == null)
+        {
+            return new InMemoryEntityNeighbourhood(repositoryHelper,
+                                                   repositoryName,
+                                                   repositoryValidator,
+                                                   repositoryStore,
+                                                   rootEntityGUID,
+                                                   entityTypeGUIDs,
+                                                   relationshipTypeGUIDs,
+                                                   limitResultsByStatus,
+                                                   limitResultsByClassification,
+                                                   level,
+                                                   maxEntities);
+        }
+
         /*
          * Time warp the stores
          */
         Map<String, EntityDetail>   entityStore = repositoryStore.timeWarpEntityStore(asOfTime);
         Map<String, Relationship>   relationshipStore = repositoryStore.timeWarpRelationshipStore(asOfTime);
 
-        InMemoryEntityNeighbourhood inMemoryEntityNeighbourhood = new InMemoryEntityNeighbourhood(repositoryHelper,
-                                                                                                  repositoryName,
-                                                                                                  repositoryValidator,
-                                                                                                  entityStore,
-                                                                                                  relationshipStore,
-                                                                                                  entityGUID,
-                                                                                                  entityTypeGUIDs,
-                                                                                                  relationshipTypeGUIDs,
-                                                                                                  limitResultsByStatus,
-                                                                                                  limitResultsByClassification,
-                                                                                                  level);
-
-
-        return inMemoryEntityNeighbourhood.createInstanceGraph();
+        return new InMemoryEntityNeighbourhood(repositoryHelper,
+                                               repositoryName,
+                                               repositoryValidator,
+                                               entityStore,
+                                               relationshipStore,
+                                               rootEntityGUID,
+                                               entityTypeGUIDs,
+                                               relationshipTypeGUIDs,
+                                               limitResultsByStatus,
+                                               limitResultsByClassification,
+                                               level,
+                                               maxEntities);
     }
 
 
@@ -23,6 +23,13 @@ class InMemoryOMRSMetadataStore
     private volatile Map<String, Relationship>     relationshipStore        = new HashMap<>();
     private volatile List<Relationship>            relationshipHistoryStore = new ArrayList<>();
 
+    /*
+     * Adjacency index from entity GUID to the GUIDs of the relationships in the relationship store that have the
+     * entity at one of their ends.  It is maintained whenever the relationship store changes so that
+     * graph queries only visit the relationships of the entities they traverse.
+     */
+    private volatile Map<String, Set<String>>      entityToRelationships    = new HashMap<>();
+
 
     /**
      * Default constructor
@@ -184,6 +191,35 @@ class InMemoryOMRSMetadataStore
         return relationshipStore.get(guid);
     }
 
+
+    /**
+     * Return the current versions of the relationships that have the requested entity at one of their ends.
+     * This uses the adjacency index rather than scanning the relationship store.
+     *
+     * @param entityGUID - unique identifier for the entity
+     * @return list of relationships (empty list if none)
+     */
+    synchronized List<Relationship>  getRelationshipsForEntity(String   entityGUID)
+    {
+        List<Relationship> relationships = new ArrayList<>();
+        Set<String>        relationshipGUIDs = entityToRelationships.get(entityGUID);
+
+        if (relationshipGUIDs != null)
+        {
+            for (String relationshipGUID : relationshipGUIDs)
+            {
+                Relationship relationship = relationshipStore.get(relationshipGUID);
+
+                if (relationship != null)
+                {
+                    relationships.add(relationship);
+                }
+            }
+        }
+
+        return relationships;
+    }
+
     /**
      * Return a relationship store that contains relationships as they were at the time supplied in the asOfTime
      * parameter
@@ -308,10 +344,17 @@ class InMemoryOMRSMetadataStore
 
         while (existingRelationship != null)
         {
+            /*
+             * Put back the relationship that was overwritten.
+             */
+            relationshipStore.put(existingRelationship.getGUID(), existingRelationship);
+
             relationship.setGUID(UUID.randomUUID().toString());
             existingRelationship = relationshipStore.put(relationship.getGUID(), relationship);
         }
 
+        this.indexRelationship(null, relationship);
+
         return relationship;
     }
 
@@ -366,6 +409,8 @@ class InMemoryOMRSMetadataStore
 
         Relationship    oldRelationship = relationshipStore.put(relationship.getGUID(), relationship);
 
+        this.indexRelationship(oldRelationship, relationship);
+
         if (oldRelationship != null)
         {
             relationshipHistoryStore.add(0, oldRelationship);
@@ -393,7 +438,9 @@ class InMemoryOMRSMetadataStore
      */
     synchronized void saveReferenceRelationshipToStore(Relationship    relationship)
     {
-        relationshipStore.put(relationship.getGUID(), relationship);
+        Relationship    oldRelationship = relationshipStore.put(relationship.getGUID(), relationship);
+
+        this.indexRelationship(oldRelationship, relationship);
     }
 
 
@@ -440,6 +487,7 @@ class InMemoryOMRSMetadataStore
                         Date restoreTime = new Date();
                         newRelationship.setUpdateTime(restoreTime);
                         relationshipStore.put(guid, newRelationship);
+                        this.indexRelationship(currentVersionOfRelationship, newRelationship);
                         relationshipHistoryStore.add(0, currentVersionOfRelationship);
                         return newRelationship;
 
@@ -554,7 +602,9 @@ class InMemoryOMRSMetadataStore
      */
     synchronized void removeRelationshipFromStore(Relationship     relationship)
     {
-        relationshipStore.remove(relationship.getGUID());
+        Relationship  storedRelationship = relationshipStore.remove(relationship.getGUID());
+
+        this.indexRelationship(storedRelationship, null);
         relationshipHistoryStore.add(0, relationship);
     }
 
@@ -570,8 +620,77 @@ class InMemoryOMRSMetadataStore
 
         if (relationship != null)
         {
+            this.indexRelationship(relationship, null);
             relationshipHistoryStore.add(0, relationship);
         }
     }
 
+
+    /**
+     * Update the adjacency index to reflect the replacement of one version of a relationship in the relationship
+     * store with another.  The ends of a relationship do not normally change between versions but the old ends
+     * are removed and the new ends added to keep the index correct if they do.  Must be called while holding
+     * the store's lock.
+     *
+     * @param oldRelationship - version removed from the relationship store (null if none)
+     * @param newRelationship - version added to the relationship store (null if none)
+     */
+    private void indexRelationship(Relationship    oldRelationship,
+                                   Relationship    newRelationship)
+    {
+        if (oldRelationship != null)
+        {
+            this.unindexEnd(oldRelationship.getEntityOneProxy(), oldRelationship.getGUID());
+            this.unindexEnd(oldRelationship.getEntityTwoProxy(), oldRelationship.getGUID());
+        }
+
+        if (newRelationship != null)
+        {
+            this.indexEnd(newRelationship.getEntityOneProxy(), newRelationship.getGUID());
+            this.indexEnd(newRelationship.getEntityTwoProxy(), newRelationship.getGUID());
+        }
+    }
+
+
+    /**
+     * Add a relationship to the adjacency index entry of one of its ends.
+     *
+     * @param entityProxy - proxy for the end
+     * @param relationshipGUID - unique identifier of the relationship
+     */
+    private void indexEnd(EntityProxy  entityProxy,
+                          String       relationshipGUID)
+    {
+        if ((entityProxy != null) && (entityProxy.getGUID() != null) && (relationshipGUID != null))
+        {
+            entityToRelationships.computeIfAbsent(entityProxy.getGUID(), entityGUID -> new HashSet<>()).add(relationshipGUID);
+        }
+    }
+
+
+    /**
+     * Remove a relationship from the adjacency index entry of one of its ends.
+     *
+     * @param entityProxy - proxy for the end
+     * @param relationshipGUID - unique identifier of the relationship
+     */
+    private void unindexEnd(EntityProxy  entityProxy,
+                            String       relationshipGUID)
+    {
+        if ((entityProxy != null) && (entityProxy.getGUID() != null))
+        {
+            Set<String> relationshipGUIDs = entityToRelationships.get(entityProxy.getGUID());
+
+            if (relationshipGUIDs != null)
+            {
+                relationshipGUIDs.remove(relationshipGUID);
+
+                if (relationshipGUIDs.isEmpty())
+                {
+                    entityToRelationships.remove(entityProxy.getGUID());
+                }
+            }
+        }
+    }
+
 }
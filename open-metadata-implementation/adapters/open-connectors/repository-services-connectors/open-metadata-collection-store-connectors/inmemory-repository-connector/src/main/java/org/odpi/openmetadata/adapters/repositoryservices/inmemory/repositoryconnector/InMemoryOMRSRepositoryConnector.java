@@ -5,6 +5,8 @@ package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositorycon
 
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
 
+import java.util.Map;
+
 /**
  * The InMemoryOMRSRepositoryConnector is a connector to a local in memory repository.  It is used for test,
  * small scale fixed or temporary repositories where the initial content comes from open metadata archives and
@@ -12,6 +14,11 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
  */
 public class InMemoryOMRSRepositoryConnector extends OMRSRepositoryConnector
 {
+    /*
+     * Optional configuration property that limits the number of entities returned by the graph queries.
+     */
+    static final String maxGraphEntitiesProperty = "maxGraphEntities";
+
     /**
      * Default constructor used by the OCF Connector Provider.
      */
@@ -37,11 +44,28 @@ public class InMemoryOMRSRepositoryConnector extends OMRSRepositoryConnector
             /*
              * Initialize the metadata collection only once the connector is properly set up.
              */
-            super.metadataCollection = new InMemoryOMRSMetadataCollection(this,
-                                                                          super.serverName,
-                                                                          repositoryHelper,
-                                                                          repositoryValidator,
-                                                                          metadataCollectionId);
+            InMemoryOMRSMetadataCollection inMemoryMetadataCollection = new InMemoryOMRSMetadataCollection(this,
+                                                                                                           super.serverName,
+                                                                                                           repositoryHelper,
+                                                                                                           repositoryValidator,
+                                                                                                           metadataCollectionId);
+
+            if (connectionProperties != null)
+            {
+                Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+
+                if (configurationProperties != null)
+                {
+                    Object maxGraphEntities = configurationProperties.get(maxGraphEntitiesProperty);
+
+                    if (maxGraphEntities instanceof Integer)
+                    {
+                        inMemoryMetadataCollection.setMaxGraphEntities((Integer)maxGraphEntities);
+                    }
+                }
+            }
+
+            super.metadataCollection = inMemoryMetadataCollection;
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,284 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntitySummary;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests that the in-memory repository counts the instances in its store that the matching find methods
+ * would return, with and without type, status and classification filters.  Deleted instances are never
+ * counted.
+ * <p>
+ * The store holds an anchor entity and twelve other entities.  The even entities are of type A and the odd
+ * ones of type B.  Entities 0, 4 and 8 are deleted, 3, 6 and 9 are drafts and the rest are active.  Entities
+ * 0, 3, 6 and 9 are classified as Confidential.  Each of the twelve entities is linked to the anchor by a
+ * relationship of type X for the even entities and type Y for the odd ones.  Relationships 0, 5 and 10 are
+ * deleted, 3, 6 and 9 are drafts and the rest are active.  There is also an active relationship of type X
+ * between entities 1 and 2.
+ */
+public class InMemoryOMRSMetadataCollectionCountTest
+{
+    private static final String userId               = "testUser";
+    private static final String repositoryName       = "testRepository";
+    private static final String metadataCollectionId = "local-collection";
+    private static final String homeCollectionId     = "home-collection";
+    private static final String anchorGUID           = "anchor";
+    private static final String typeAGUID            = "type-a-guid";
+    private static final String typeBGUID            = "type-b-guid";
+    private static final String typeXGUID            = "type-x-guid";
+    private static final String typeYGUID            = "type-y-guid";
+    private static final String confidential         = "Confidential";
+
+    private static final List<InstanceStatus> activeOnly = Collections.singletonList(InstanceStatus.ACTIVE);
+    private static final List<InstanceStatus> draftOnly  = Collections.singletonList(InstanceStatus.DRAFT);
+
+    private InMemoryOMRSMetadataCollection metadataCollection;
+
+
+    @BeforeMethod
+    public void setUpMetadataCollection() throws Exception
+    {
+        OMRSRepositoryHelper    repositoryHelper    = mock(OMRSRepositoryHelper.class);
+        OMRSRepositoryValidator repositoryValidator = mock(OMRSRepositoryValidator.class);
+
+        /*
+         * The filters behave as they do in the real validator and helper.
+         */
+        when(repositoryValidator.verifyInstanceType(anyString(), any(), any())).thenAnswer(
+                invocation ->
+                {
+                    String         typeGUID = invocation.getArgument(1);
+                    InstanceHeader instance = invocation.getArgument(2);
+
+                    return (typeGUID == null) || (typeGUID.equals(instance.getType().getTypeDefGUID()));
+                });
+        when(repositoryValidator.verifyInstanceHasRightStatus(any(), any())).thenAnswer(
+                invocation ->
+                {
+                    List<InstanceStatus> statuses = invocation.getArgument(0);
+                    InstanceHeader       instance = invocation.getArgument(1);
+
+                    return (statuses == null) || (statuses.contains(instance.getStatus()));
+                });
+        when(repositoryValidator.verifyEntityIsClassified(any(), any())).thenAnswer(
+                invocation -> isClassified(invocation.getArgument(1), invocation.getArgument(0)));
+        when(repositoryValidator.verifyMatchingInstancePropertyValues(any(), any(), any(), any())).thenReturn(true);
+        when(repositoryHelper.getTypeDef(anyString(), anyString(), anyString(), anyString())).thenAnswer(
+                invocation ->
+                {
+                    EntityDef entityDef = new EntityDef();
+
+                    entityDef.setGUID(invocation.getArgument(2));
+                    entityDef.setName(invocation.getArgument(2));
+
+                    return entityDef;
+                });
+        when(repositoryHelper.relatedEntity(anyString(), anyString(), any())).thenAnswer(
+                invocation ->
+                {
+                    String       entityGUID   = invocation.getArgument(1);
+                    Relationship relationship = invocation.getArgument(2);
+
+                    return (entityGUID.equals(relationship.getEntityOneProxy().getGUID())) ||
+                           (entityGUID.equals(relationship.getEntityTwoProxy().getGUID()));
+                });
+
+        metadataCollection = new InMemoryOMRSMetadataCollection(mock(InMemoryOMRSRepositoryConnector.class),
+                                                                repositoryName,
+                                                                repositoryHelper,
+                                                                repositoryValidator,
+                                                                metadataCollectionId);
+
+        metadataCollection.saveEntityReferenceCopy(userId, getEntity(anchorGUID, typeAGUID, InstanceStatus.ACTIVE, false));
+
+        for (int i = 0; i < 12; i++)
+        {
+            InstanceStatus entityStatus       = InstanceStatus.ACTIVE;
+            InstanceStatus relationshipStatus = InstanceStatus.ACTIVE;
+
+            if (i % 4 == 0)
+            {
+                entityStatus = InstanceStatus.DELETED;
+            }
+            else if (i % 3 == 0)
+            {
+                entityStatus = InstanceStatus.DRAFT;
+            }
+
+            if (i % 5 == 0)
+            {
+                relationshipStatus = InstanceStatus.DELETED;
+            }
+            else if (i % 3 == 0)
+            {
+                relationshipStatus = InstanceStatus.DRAFT;
+            }
+
+            metadataCollection.saveEntityReferenceCopy(userId, getEntity("entity-" + i,
+                                                                         i % 2 == 0 ? typeAGUID : typeBGUID,
+                                                                         entityStatus,
+                                                                         i % 3 == 0));
+
+            /*
+             * The anchor is at either end of its relationships.
+             */
+            if (i % 2 == 0)
+            {
+                metadataCollection.saveRelationshipReferenceCopy(userId, getRelationship("relationship-" + i,
+                                                                                         typeXGUID,
+                                                                                         relationshipStatus,
+                                                                                         anchorGUID,
+                                                                                         "entity-" + i));
+            }
+            else
+            {
+                metadataCollection.saveRelationshipReferenceCopy(userId, getRelationship("relationship-" + i,
+                                                                                         typeYGUID,
+                                                                                         relationshipStatus,
+                                                                                         "entity-" + i,
+                                                                                         anchorGUID));
+            }
+        }
+
+        metadataCollection.saveRelationshipReferenceCopy(userId, getRelationship("relationship-1-2",
+                                                                                 typeXGUID,
+                                                                                 InstanceStatus.ACTIVE,
+                                                                                 "entity-1",
+                                                                                 "entity-2"));
+    }
+
+
+    @Test
+    public void testCountRelationshipsForEntity() throws Exception
+    {
+        assertEquals(metadataCollection.countRelationshipsForEntity(userId, anchorGUID, null, null, null), 9);
+        assertEquals(metadataCollection.countRelationshipsForEntity(userId, anchorGUID, typeXGUID, null, null), 4);
+        assertEquals(metadataCollection.countRelationshipsForEntity(userId, anchorGUID, typeYGUID, null, null), 5);
+        assertEquals(metadataCollection.countRelationshipsForEntity(userId, anchorGUID, null, activeOnly, null), 6);
+        assertEquals(metadataCollection.countRelationshipsForEntity(userId, anchorGUID, null, draftOnly, null), 3);
+        assertEquals(metadataCollection.countRelationshipsForEntity(userId, anchorGUID, typeXGUID, draftOnly, null), 1);
+        assertEquals(metadataCollection.countRelationshipsForEntity(userId, "entity-1", null, null, null), 2);
+        assertEquals(metadataCollection.countRelationshipsForEntity(userId, "entity-1", typeYGUID, null, null), 1);
+    }
+
+
+    @Test
+    public void testCountEntitiesByProperty() throws Exception
+    {
+        assertEquals(metadataCollection.countEntitiesByProperty(userId, null, null, null, null, null, null), 10);
+        assertEquals(metadataCollection.countEntitiesByProperty(userId, typeAGUID, null, null, null, null, null), 4);
+        assertEquals(metadataCollection.countEntitiesByProperty(userId, typeBGUID, null, null, null, null, null), 6);
+        assertEquals(metadataCollection.countEntitiesByProperty(userId, null, null, null, activeOnly, null, null), 7);
+        assertEquals(metadataCollection.countEntitiesByProperty(userId, typeBGUID, null, null, draftOnly, null, null), 2);
+        assertEquals(metadataCollection.countEntitiesByProperty(userId, null, null, null, null, Collections.singletonList(confidential), null), 3);
+        assertEquals(metadataCollection.countEntitiesByProperty(userId, typeAGUID, null, null, null, Collections.singletonList(confidential), null), 1);
+    }
+
+
+    @Test
+    public void testCountEntitiesByClassification() throws Exception
+    {
+        assertEquals(metadataCollection.countEntitiesByClassification(userId, null, confidential, null, null, null, null), 3);
+        assertEquals(metadataCollection.countEntitiesByClassification(userId, typeAGUID, confidential, null, null, null, null), 1);
+        assertEquals(metadataCollection.countEntitiesByClassification(userId, null, confidential, null, null, activeOnly, null), 0);
+        assertEquals(metadataCollection.countEntitiesByClassification(userId, null, confidential, null, null, draftOnly, null), 3);
+        assertEquals(metadataCollection.countEntitiesByClassification(userId, null, "Unknown", null, null, null, null), 0);
+    }
+
+
+    private boolean isClassified(EntitySummary entity,
+                                 List<String>  classificationNames)
+    {
+        List<String> names = new ArrayList<>();
+
+        if (entity.getClassifications() != null)
+        {
+            for (Classification classification : entity.getClassifications())
+            {
+                names.add(classification.getName());
+            }
+        }
+
+        return (classificationNames == null) || (names.containsAll(classificationNames));
+    }
+
+
+    private EntityDetail getEntity(String         guid,
+                                   String         typeGUID,
+                                   InstanceStatus status,
+                                   boolean        isConfidential)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        setHeader(entity, guid, typeGUID, status);
+
+        if (isConfidential)
+        {
+            Classification classification = new Classification();
+
+            classification.setName(confidential);
+            entity.setClassifications(Collections.singletonList(classification));
+        }
+
+        return entity;
+    }
+
+
+    private Relationship getRelationship(String         guid,
+                                         String         typeGUID,
+                                         InstanceStatus status,
+                                         String         entityOneGUID,
+                                         String         entityTwoGUID)
+    {
+        Relationship relationship = new Relationship();
+        EntityProxy  entityOne    = new EntityProxy();
+        EntityProxy  entityTwo    = new EntityProxy();
+
+        setHeader(relationship, guid, typeGUID, status);
+        entityOne.setGUID(entityOneGUID);
+        entityTwo.setGUID(entityTwoGUID);
+        relationship.setEntityOneProxy(entityOne);
+        relationship.setEntityTwoProxy(entityTwo);
+
+        return relationship;
+    }
+
+
+    private void setHeader(InstanceHeader instance,
+                           String         guid,
+                           String         typeGUID,
+                           InstanceStatus status)
+    {
+        InstanceType type = new InstanceType();
+
+        type.setTypeDefGUID(typeGUID);
+        type.setTypeDefName(typeGUID);
+
+        instance.setGUID(guid);
+        instance.setType(type);
+        instance.setStatus(status);
+        instance.setMetadataCollectionId(homeCollectionId);
+    }
+}
@@ -19,6 +19,8 @@ import java.util.Map;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
@@ -76,7 +78,7 @@ public class TestInMemoryEntityNeighbourhood
 
         entityStore.put(entity2.getGUID(), entity2);
         relationshipStore.put(relationship1.getGUID(), relationship1);
-        inMemoryEntityNeighbourhood = new InMemoryEntityNeighbourhood(repositoryHelper, "", repositoryValidator, entityStore, relationshipStore, rootEntityGUID, entityTypeGUIDs, relationshipTypeGUIDs, limitResultsByStatus, limitResultsByClassification, 0);
+        inMemoryEntityNeighbourhood = new InMemoryEntityNeighbourhood(repositoryHelper, "", repositoryValidator, entityStore, relationshipStore, rootEntityGUID, entityTypeGUIDs, relationshipTypeGUIDs, limitResultsByStatus, limitResultsByClassification, 1);
         graph = inMemoryEntityNeighbourhood.createInstanceGraph();
 
         assertTrue(graph.getEntities().size() == 2);
@@ -118,6 +120,70 @@ public class TestInMemoryEntityNeighbourhood
         assertTrue(graphContainsRelationshipWithGuid(graph, "6666"));
     }
 
+    @Test
+    void testGetGraphFromStore() throws TypeErrorException
+    {
+        InMemoryOMRSMetadataStore metadataStore = new InMemoryOMRSMetadataStore();
+        InstanceType              type          = new InstanceType();
+        type.setTypeDefGUID("4444");
+
+        when(repositoryValidator.verifyInstanceHasRightStatus(any(), any())).thenReturn(true);
+
+        /*
+         * A chain of entities 1111 - 2222 - 5555 - 7777
+         */
+        String[] entityGUIDs = {"1111", "2222", "5555", "7777"};
+
+        for (String entityGUID : entityGUIDs)
+        {
+            EntityDetail entity = new EntityDetail();
+            entity.setGUID(entityGUID);
+            metadataStore.createEntityInStore(entity);
+        }
+
+        for (int i = 1; i < entityGUIDs.length; i++)
+        {
+            Relationship relationship = new Relationship();
+            relationship.setGUID("R" + i);
+            relationship.setEntityOneProxy(getEntityProxy(entityGUIDs[i - 1], null, type));
+            relationship.setEntityTwoProxy(getEntityProxy(entityGUIDs[i], null, type));
+            metadataStore.createRelationshipInStore(relationship);
+        }
+
+        assertEquals(metadataStore.getRelationshipsForEntity("2222").size(), 2);
+
+        InstanceGraph graph = new InMemoryEntityNeighbourhood(repositoryHelper, "", repositoryValidator, metadataStore, "1111", null, null, null, null, 2, 0).createInstanceGraph();
+
+        assertEquals(graph.getEntities().size(), 3);
+        assertTrue(graphContainsEntityWithGuid(graph, "5555"));
+        assertTrue(graphContainsRelationshipWithGuid(graph, "R2"));
+
+        /*
+         * The limit stops the expansion once the graph has enough entities.
+         */
+        InMemoryEntityNeighbourhood limitedNeighbourhood = new InMemoryEntityNeighbourhood(repositoryHelper, "", repositoryValidator, metadataStore, "1111", null, null, null, null, -1, 2);
+        graph = limitedNeighbourhood.createInstanceGraph();
+
+        assertTrue(limitedNeighbourhood.isLimitReached());
+        assertEquals(graph.getEntities().size(), 2);
+        assertEquals(graph.getRelationships().size(), 1);
+
+        graph = new InMemoryEntityNeighbourhood(repositoryHelper, "", repositoryValidator, metadataStore, "1111", null, null, null, null, -1, 0).createLinkingGraph("7777");
+
+        assertEquals(graph.getEntities().size(), 4);
+        assertEquals(graph.getRelationships().size(), 3);
+
+        /*
+         * Removing a relationship removes it from the adjacency index.
+         */
+        metadataStore.removeReferenceRelationshipFromStore("R2");
+
+        assertEquals(metadataStore.getRelationshipsForEntity("2222").size(), 1);
+        assertFalse(graphContainsEntityWithGuid(new InMemoryEntityNeighbourhood(repositoryHelper, "", repositoryValidator, metadataStore, "1111", null, null, null, null, -1, 0).createInstanceGraph(), "5555"));
+        assertNull(new InMemoryEntityNeighbourhood(repositoryHelper, "", repositoryValidator, metadataStore, "1111", null, null, null, null, -1, 0).createLinkingGraph("7777"));
+    }
+
+
     private boolean graphContainsEntityWithGuid(InstanceGraph graph, String guid)
     {
         boolean valid = false;
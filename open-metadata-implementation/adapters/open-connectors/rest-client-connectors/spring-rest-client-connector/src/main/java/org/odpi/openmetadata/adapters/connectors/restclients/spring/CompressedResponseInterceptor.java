@@ -0,0 +1,164 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.restclients.spring;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.AbstractClientHttpResponse;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.zip.GZIPInputStream;
+
+
+/**
+ * CompressedResponseInterceptor asks the server to gzip its responses and unzips the responses that come
+ * back compressed before they reach the message converters.  Responses from the open metadata services
+ * repeat the same type information and property names for every instance they return, so large responses
+ * are typically a small fraction of their size once compressed.  Servers that do not support compression
+ * ignore the Accept-Encoding header and return plain responses, which are passed through unchanged.
+ */
+class CompressedResponseInterceptor implements ClientHttpRequestInterceptor
+{
+    private static final String gzipEncoding = "gzip";
+
+
+    /**
+     * Add the Accept-Encoding header to the request and unzip the response if the server compressed it.
+     * A response with an empty body, such as 204 No Content or 304 Not Modified, is passed through
+     * unchanged even if it claims to be compressed, because there is no gzip data to unzip.
+     *
+     * @param request outbound request
+     * @param body body of the request
+     * @param execution rest of the request processing
+     * @return response
+     * @throws IOException problem communicating with the server
+     */
+    @Override
+    public ClientHttpResponse intercept(HttpRequest                request,
+                                        byte[]                     body,
+                                        ClientHttpRequestExecution execution) throws IOException
+    {
+        request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, gzipEncoding);
+
+        ClientHttpResponse response        = execution.execute(request, body);
+        String             contentEncoding = response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+
+        if ((gzipEncoding.equalsIgnoreCase(contentEncoding)) && (! hasEmptyBody(response)))
+        {
+            return new UncompressedResponse(response);
+        }
+
+        return response;
+    }
+
+
+    /**
+     * Return whether the response is known to have no body from its status or content length.
+     *
+     * @param response response from the server
+     * @return boolean
+     * @throws IOException problem communicating with the server
+     */
+    private boolean hasEmptyBody(ClientHttpResponse response) throws IOException
+    {
+        int statusCode = response.getRawStatusCode();
+
+        if ((statusCode == 204) || (statusCode == 304) || ((statusCode >= 100) && (statusCode < 200)))
+        {
+            return true;
+        }
+
+        return response.getHeaders().getContentLength() == 0;
+    }
+
+
+    /**
+     * Response that unzips the body of a compressed response.
+     */
+    private static class UncompressedResponse extends AbstractClientHttpResponse
+    {
+        private final ClientHttpResponse compressedResponse;
+        private final HttpHeaders        headers;
+        private InputStream              body = null;
+
+
+        /**
+         * Constructor
+         *
+         * @param compressedResponse response from the server
+         */
+        UncompressedResponse(ClientHttpResponse compressedResponse)
+        {
+            this.compressedResponse = compressedResponse;
+
+            /*
+             * The headers describe the compressed body so the encoding and length are removed.
+             */
+            this.headers = new HttpHeaders();
+            this.headers.putAll(compressedResponse.getHeaders());
+            this.headers.remove(HttpHeaders.CONTENT_ENCODING);
+            this.headers.remove(HttpHeaders.CONTENT_LENGTH);
+        }
+
+
+        @Override
+        public int getRawStatusCode() throws IOException
+        {
+            return compressedResponse.getRawStatusCode();
+        }
+
+
+        @Override
+        public String getStatusText() throws IOException
+        {
+            return compressedResponse.getStatusText();
+        }
+
+
+        @Override
+        public HttpHeaders getHeaders()
+        {
+            return headers;
+        }
+
+
+        @Override
+        public synchronized InputStream getBody() throws IOException
+        {
+            if (body == null)
+            {
+                /*
+                 * A body with no content length may still turn out to be empty.  GZIPInputStream fails with
+                 * an EOFException on an empty stream, so the first byte is checked before unzipping.
+                 */
+                PushbackInputStream compressedBody = new PushbackInputStream(compressedResponse.getBody());
+                int                 firstByte      = compressedBody.read();
+
+                if (firstByte == -1)
+                {
+                    body = new ByteArrayInputStream(new byte[0]);
+                }
+                else
+                {
+                    compressedBody.unread(firstByte);
+                    body = new GZIPInputStream(compressedBody);
+                }
+            }
+
+            return body;
+        }
+
+
+        @Override
+        public void close()
+        {
+            compressedResponse.close();
+        }
+    }
+}
@@ -46,6 +46,8 @@ public class SpringRESTClientConnector extends RESTClientConnector
         List<HttpMessageConverter<?>> converters = restTemplate.getMessageConverters();
         converters.removeIf(httpMessageConverter -> httpMessageConverter instanceof StringHttpMessageConverter);
         converters.add(0, new StringHttpMessageConverter(StandardCharsets.UTF_8));
+        // Accept gzip compressed responses from servers that support them
+        restTemplate.getInterceptors().add(new CompressedResponseInterceptor());
     }
 
 
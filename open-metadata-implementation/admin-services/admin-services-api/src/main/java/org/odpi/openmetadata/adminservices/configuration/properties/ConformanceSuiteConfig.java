@@ -13,9 +13,10 @@ import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_
 
 /**
  * ConformanceSuiteConfig provides the configuration for an OMAG server that is running the Open Metadata
- * Conformance suite.  It supports two workbenches - one that tests the repository services in a server connected
- * to the same cohort as the conformance suite server - the other tests the platform services of a platform given the
- * server URL root of the platform.
+ * Conformance suite.  It supports three workbenches - one that tests the repository services in a server connected
+ * to the same cohort as the conformance suite server - another tests the platform services of a platform given the
+ * server URL root of the platform - the third measures the throughput and latency of the repository services in a
+ * server connected to the same cohort.
  */
 @JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
 @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -24,6 +25,7 @@ public class ConformanceSuiteConfig extends AdminServicesConfigHeader
 {
     private PlatformConformanceWorkbenchConfig   platformWorkbenchConfig   = null;
     private RepositoryConformanceWorkbenchConfig repositoryWorkbenchConfig = null;
+    private PerformanceWorkbenchConfig           performanceWorkbenchConfig = null;
 
 
     /**
@@ -48,6 +50,7 @@ public class ConformanceSuiteConfig extends AdminServicesConfigHeader
         {
             platformWorkbenchConfig = template.getPlatformWorkbenchConfig();
             repositoryWorkbenchConfig = template.getRepositoryWorkbenchConfig();
+            performanceWorkbenchConfig = template.getPerformanceWorkbenchConfig();
         }
     }
 
@@ -96,6 +99,28 @@ public class ConformanceSuiteConfig extends AdminServicesConfigHeader
     }
 
 
+    /**
+     * Return the configuration for the performance workbench.
+     *
+     * @return performance workbench config properties
+     */
+    public PerformanceWorkbenchConfig getPerformanceWorkbenchConfig()
+    {
+        return performanceWorkbenchConfig;
+    }
+
+
+    /**
+     * Set up the configuration for the performance workbench.
+     *
+     * @param performanceWorkbenchConfig performance workbench config properties
+     */
+    public void setPerformanceWorkbenchConfig(PerformanceWorkbenchConfig performanceWorkbenchConfig)
+    {
+        this.performanceWorkbenchConfig = performanceWorkbenchConfig;
+    }
+
+
     /**
      * Standard toString method.
      *
@@ -107,6 +132,7 @@ public class ConformanceSuiteConfig extends AdminServicesConfigHeader
         return "ConformanceSuiteConfig{" +
                 ", platformWorkbenchConfig=" + platformWorkbenchConfig +
                 ", repositoryWorkbenchConfig=" + repositoryWorkbenchConfig +
+                ", performanceWorkbenchConfig=" + performanceWorkbenchConfig +
                 '}';
     }
 
@@ -130,7 +156,8 @@ public class ConformanceSuiteConfig extends AdminServicesConfigHeader
         }
         ConformanceSuiteConfig that = (ConformanceSuiteConfig) objectToCompare;
         return Objects.equals(getPlatformWorkbenchConfig(), that.getPlatformWorkbenchConfig()) &&
-                Objects.equals(getRepositoryWorkbenchConfig(), that.getRepositoryWorkbenchConfig());
+                Objects.equals(getRepositoryWorkbenchConfig(), that.getRepositoryWorkbenchConfig()) &&
+                Objects.equals(getPerformanceWorkbenchConfig(), that.getPerformanceWorkbenchConfig());
     }
 
 
@@ -142,6 +169,6 @@ public class ConformanceSuiteConfig extends AdminServicesConfigHeader
     @Override
     public int hashCode()
     {
-        return Objects.hash(getPlatformWorkbenchConfig(), getRepositoryWorkbenchConfig());
+        return Objects.hash(getPlatformWorkbenchConfig(), getRepositoryWorkbenchConfig(), getPerformanceWorkbenchConfig());
     }
 }
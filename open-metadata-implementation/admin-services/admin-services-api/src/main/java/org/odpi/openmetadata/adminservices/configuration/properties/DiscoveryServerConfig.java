@@ -29,6 +29,10 @@ public class DiscoveryServerConfig extends AdminServicesConfigHeader
     /* List of discovery engines that run in this server */
     private List<String>  discoveryEngineGUIDs = null;
 
+    /* Limits on the discovery requests each discovery engine works on - zero means use the default */
+    private int           discoveryWorkerThreads      = 0;
+    private int           maxQueuedDiscoveryRequests  = 0;
+
     /**
      * Default constructor
      */
@@ -52,6 +56,8 @@ public class DiscoveryServerConfig extends AdminServicesConfigHeader
             accessServiceRootURL = template.getAccessServiceRootURL();
             accessServiceServerName = template.getAccessServiceServerName();
             discoveryEngineGUIDs = template.getDiscoveryEngineGUIDs();
+            discoveryWorkerThreads = template.getDiscoveryWorkerThreads();
+            maxQueuedDiscoveryRequests = template.getMaxQueuedDiscoveryRequests();
         }
     }
 
@@ -124,6 +130,54 @@ public class DiscoveryServerConfig extends AdminServicesConfigHeader
     }
 
 
+    /**
+     * Return the number of threads that each discovery engine uses to run discovery requests.  Zero means
+     * use the default.
+     *
+     * @return number of threads
+     */
+    public int getDiscoveryWorkerThreads()
+    {
+        return discoveryWorkerThreads;
+    }
+
+
+    /**
+     * Set up the number of threads that each discovery engine uses to run discovery requests.  Zero means
+     * use the default.
+     *
+     * @param discoveryWorkerThreads number of threads
+     */
+    public void setDiscoveryWorkerThreads(int discoveryWorkerThreads)
+    {
+        this.discoveryWorkerThreads = discoveryWorkerThreads;
+    }
+
+
+    /**
+     * Return the maximum number of discovery requests that can wait to run in each discovery engine.
+     * Further requests are rejected until the queue has room.  Zero means use the default.
+     *
+     * @return maximum number of waiting requests
+     */
+    public int getMaxQueuedDiscoveryRequests()
+    {
+        return maxQueuedDiscoveryRequests;
+    }
+
+
+    /**
+     * Set up the maximum number of discovery requests that can wait to run in each discovery engine.
+     * Further requests are rejected until the queue has room.  Zero means use the default.
+     *
+     * @param maxQueuedDiscoveryRequests maximum number of waiting requests
+     */
+    public void setMaxQueuedDiscoveryRequests(int maxQueuedDiscoveryRequests)
+    {
+        this.maxQueuedDiscoveryRequests = maxQueuedDiscoveryRequests;
+    }
+
+
     /**
      * Standard toString method.
      *
@@ -136,6 +190,8 @@ public class DiscoveryServerConfig extends AdminServicesConfigHeader
                 "accessServiceRootURL='" + accessServiceRootURL + '\'' +
                 ", accessServiceServerName='" + accessServiceServerName + '\'' +
                 ", discoveryEngineGUIDs=" + discoveryEngineGUIDs +
+                ", discoveryWorkerThreads=" + discoveryWorkerThreads +
+                ", maxQueuedDiscoveryRequests=" + maxQueuedDiscoveryRequests +
                 '}';
     }
 
@@ -158,7 +214,9 @@ public class DiscoveryServerConfig extends AdminServicesConfigHeader
             return false;
         }
         DiscoveryServerConfig that = (DiscoveryServerConfig) objectToCompare;
-        return Objects.equals(getAccessServiceRootURL(), that.getAccessServiceRootURL()) &&
+        return getDiscoveryWorkerThreads() == that.getDiscoveryWorkerThreads() &&
+                getMaxQueuedDiscoveryRequests() == that.getMaxQueuedDiscoveryRequests() &&
+                Objects.equals(getAccessServiceRootURL(), that.getAccessServiceRootURL()) &&
                 Objects.equals(getAccessServiceServerName(), that.getAccessServiceServerName()) &&
                 Objects.equals(getDiscoveryEngineGUIDs(), that.getDiscoveryEngineGUIDs());
     }
@@ -172,6 +230,7 @@ public class DiscoveryServerConfig extends AdminServicesConfigHeader
     @Override
     public int hashCode()
     {
-        return Objects.hash(getAccessServiceRootURL(), getAccessServiceServerName(), getDiscoveryEngineGUIDs());
+        return Objects.hash(getAccessServiceRootURL(), getAccessServiceServerName(), getDiscoveryEngineGUIDs(),
+                            getDiscoveryWorkerThreads(), getMaxQueuedDiscoveryRequests());
     }
 }
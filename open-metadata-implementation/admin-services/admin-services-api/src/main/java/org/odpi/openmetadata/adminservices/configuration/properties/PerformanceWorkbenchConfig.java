@@ -0,0 +1,177 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adminservices.configuration.properties;
+
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Objects;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
+
+/**
+ * PerformanceWorkbenchConfig provides the config that drives the PerformanceWorkbench within the
+ * Open Metadata Conformance Suite.  As well as the name of the server to test, it sets the number of
+ * instances of each type that are created (the scale of the test) and the number of threads that issue
+ * requests to the server at the same time.
+ */
+@JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown=true)
+public class PerformanceWorkbenchConfig extends AdminServicesConfigHeader
+{
+    public static final int DEFAULT_INSTANCES_PER_TYPE = 50;
+    public static final int DEFAULT_CONCURRENCY        = 4;
+
+    private String   tutRepositoryServerName = null;
+    private int      instancesPerType        = DEFAULT_INSTANCES_PER_TYPE;
+    private int      concurrency             = DEFAULT_CONCURRENCY;
+
+
+    /**
+     * Default constructor does nothing.
+     */
+    public PerformanceWorkbenchConfig()
+    {
+        super();
+    }
+
+
+    /**
+     * Copy/clone constructor
+     *
+     * @param template object to copy
+     */
+    public PerformanceWorkbenchConfig(PerformanceWorkbenchConfig template)
+    {
+        super(template);
+
+        if (template != null)
+        {
+            tutRepositoryServerName = template.getTutRepositoryServerName();
+            instancesPerType = template.getInstancesPerType();
+            concurrency = template.getConcurrency();
+        }
+    }
+
+
+    /**
+     * Return the name of the server that the performance workbench is to test.
+     *
+     * @return server name
+     */
+    public String getTutRepositoryServerName()
+    {
+        return tutRepositoryServerName;
+    }
+
+
+    /**
+     * Set up the name of the server that the performance workbench is to test.
+     *
+     * @param tutRepositoryServerName server name
+     */
+    public void setTutRepositoryServerName(String tutRepositoryServerName)
+    {
+        this.tutRepositoryServerName = tutRepositoryServerName;
+    }
+
+
+    /**
+     * Return the number of instances of each entity type that the workbench creates and then works with.
+     *
+     * @return instance count
+     */
+    public int getInstancesPerType()
+    {
+        return instancesPerType;
+    }
+
+
+    /**
+     * Set up the number of instances of each entity type that the workbench creates and then works with.
+     *
+     * @param instancesPerType instance count
+     */
+    public void setInstancesPerType(int instancesPerType)
+    {
+        this.instancesPerType = instancesPerType;
+    }
+
+
+    /**
+     * Return the number of threads that issue requests to the technology under test at the same time.
+     *
+     * @return thread count
+     */
+    public int getConcurrency()
+    {
+        return concurrency;
+    }
+
+
+    /**
+     * Set up the number of threads that issue requests to the technology under test at the same time.
+     *
+     * @param concurrency thread count
+     */
+    public void setConcurrency(int concurrency)
+    {
+        this.concurrency = concurrency;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return JSON style description of variables.
+     */
+    @Override
+    public String toString()
+    {
+        return "PerformanceWorkbenchConfig{" +
+                "tutRepositoryServerName='" + tutRepositoryServerName + '\'' +
+                ", instancesPerType=" + instancesPerType +
+                ", concurrency=" + concurrency +
+                '}';
+    }
+
+
+    /**
+     * Validate that an object is equal depending on their stored values.
+     *
+     * @param objectToCompare object
+     * @return boolean result
+     */
+    @Override
+    public boolean equals(Object objectToCompare)
+    {
+        if (this == objectToCompare)
+        {
+            return true;
+        }
+        if (objectToCompare == null || getClass() != objectToCompare.getClass())
+        {
+            return false;
+        }
+        PerformanceWorkbenchConfig that = (PerformanceWorkbenchConfig) objectToCompare;
+        return getInstancesPerType() == that.getInstancesPerType() &&
+                getConcurrency() == that.getConcurrency() &&
+                Objects.equals(getTutRepositoryServerName(), that.getTutRepositoryServerName());
+    }
+
+
+    /**
+     * Return a hash code based on the values of this object.
+     *
+     * @return in hash code
+     */
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(getTutRepositoryServerName(), getInstancesPerType(), getConcurrency());
+    }
+}
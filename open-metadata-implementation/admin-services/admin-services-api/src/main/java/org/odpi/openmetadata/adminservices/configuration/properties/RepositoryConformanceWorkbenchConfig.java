@@ -21,7 +21,10 @@ import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_
 @JsonIgnoreProperties(ignoreUnknown=true)
 public class RepositoryConformanceWorkbenchConfig extends AdminServicesConfigHeader
 {
+    public static final int DEFAULT_MAX_CONCURRENT_TEST_CASES = 1;
+
     private String   tutRepositoryServerName = null;
+    private int      maxConcurrentTestCases  = DEFAULT_MAX_CONCURRENT_TEST_CASES;
 
 
     /**
@@ -45,6 +48,7 @@ public class RepositoryConformanceWorkbenchConfig extends AdminServicesConfigHea
         if (template != null)
         {
             tutRepositoryServerName = template.getTutRepositoryServerName();
+            maxConcurrentTestCases = template.getMaxConcurrentTestCases();
         }
     }
 
@@ -70,6 +74,29 @@ public class RepositoryConformanceWorkbenchConfig extends AdminServicesConfigHea
         this.tutRepositoryServerName = tutRepositoryServerName;
     }
 
+
+    /**
+     * Return the maximum number of independent test cases that the repository workbench runs at the same time.
+     * The default of 1 means that the test cases run one after another.
+     *
+     * @return number of test cases
+     */
+    public int getMaxConcurrentTestCases()
+    {
+        return maxConcurrentTestCases;
+    }
+
+
+    /**
+     * Set up the maximum number of independent test cases that the repository workbench runs at the same time.
+     *
+     * @param maxConcurrentTestCases number of test cases
+     */
+    public void setMaxConcurrentTestCases(int maxConcurrentTestCases)
+    {
+        this.maxConcurrentTestCases = maxConcurrentTestCases;
+    }
+
     /**
      * Standard toString method.
      *
@@ -78,8 +105,9 @@ public class RepositoryConformanceWorkbenchConfig extends AdminServicesConfigHea
     @Override
     public String toString()
     {
-        return "ConformanceSuiteConfig{" +
+        return "RepositoryConformanceWorkbenchConfig{" +
                 "tutRepositoryServerName='" + tutRepositoryServerName + '\'' +
+                ", maxConcurrentTestCases=" + maxConcurrentTestCases +
                 '}';
     }
 
@@ -102,7 +130,8 @@ public class RepositoryConformanceWorkbenchConfig extends AdminServicesConfigHea
             return false;
         }
         RepositoryConformanceWorkbenchConfig that = (RepositoryConformanceWorkbenchConfig) objectToCompare;
-        return Objects.equals(getTutRepositoryServerName(), that.getTutRepositoryServerName());
+        return getMaxConcurrentTestCases() == that.getMaxConcurrentTestCases() &&
+                Objects.equals(getTutRepositoryServerName(), that.getTutRepositoryServerName());
     }
 
 
@@ -114,6 +143,6 @@ public class RepositoryConformanceWorkbenchConfig extends AdminServicesConfigHea
     @Override
     public int hashCode()
     {
-        return Objects.hash(getTutRepositoryServerName());
+        return Objects.hash(getTutRepositoryServerName(), getMaxConcurrentTestCases());
     }
 }
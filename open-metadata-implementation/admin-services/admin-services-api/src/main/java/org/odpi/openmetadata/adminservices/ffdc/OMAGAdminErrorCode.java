@@ -181,6 +181,16 @@ public enum OMAGAdminErrorCode
             "The system is unable to initialize this view service.",
             "If the view service should be initialized then set up the appropriate admin services class name and restart the server instance."),
 
+    BAD_PERFORMANCE_WORKBENCH_SETTING(400, "OMAG-ADMIN-400-030 ",
+            "The OMAG server {0} has been passed an invalid value of {1} for the performance workbench setting {2}",
+            "The system is unable to add the performance workbench to the configuration.",
+            "The number of instances per type and the concurrency must be numbers greater than zero.  Retry the request with valid values."),
+
+    BAD_REPOSITORY_WORKBENCH_SETTING(400, "OMAG-ADMIN-400-031 ",
+            "The OMAG server {0} has been passed an invalid value of {1} for the repository workbench setting {2}",
+            "The system is unable to add the repository workbench to the configuration.",
+            "The maximum number of concurrent test cases must be a number greater than zero.  Retry the request with a valid value."),
+
     UNEXPECTED_EXCEPTION(500, "OMAG-ADMIN-500-001 ",
             "Method {1} for OMAG server {0} returned an unexpected exception of {2} with message {3}",
             "The system is unable to configure the OMAG server.",
@@ -92,6 +92,30 @@ public enum OMAGAuditCode
                         "The access service has not been passed valid configuration.",
                         "Correct the configuration and restart the service."),
 
+    IN_TOPIC_CONCURRENCY("OMAG-ADMIN-0012",
+                         OMRSAuditLogRecordSeverity.INFO,
+                         "The {0} Open Metadata Access Service (OMAS) is processing up to {1} event(s) from its in topic at the same time",
+                         "The access service was passed this value in the MaxConcurrentInTopicEvents property of the access service's options.",
+                         "No action is required.  This is part of the normal operation of the service."),
+
+    DEFAULT_IN_TOPIC_CONCURRENCY("OMAG-ADMIN-0013",
+                                 OMRSAuditLogRecordSeverity.INFO,
+                                 "The {0} Open Metadata Access Service (OMAS) is processing the events from its in topic one at a time in the order they are received",
+                                 "This default value can be overridden with the MaxConcurrentInTopicEvents property of the access service's options.",
+                                 "No action is required.  This is part of the normal operation of the service."),
+
+    OUT_TOPIC_COALESCING_WINDOW("OMAG-ADMIN-0014",
+                                OMRSAuditLogRecordSeverity.INFO,
+                                "The {0} Open Metadata Access Service (OMAS) is sending only the latest event for each instance in each {1} millisecond window to its out topic",
+                                "The access service was passed this value in the OutTopicCoalescingWindow property of the access service's options.",
+                                "No action is required.  This is part of the normal operation of the service."),
+
+    OUT_TOPIC_MAX_BATCH_SIZE("OMAG-ADMIN-0015",
+                             OMRSAuditLogRecordSeverity.INFO,
+                             "The {0} Open Metadata Access Service (OMAS) is sending the events for each coalescing window to its out topic in batches of up to {1} event(s)",
+                             "The access service was passed this value in the OutTopicMaxBatchSize property of the access service's options.  Each batch is sent as a JSON array of events.  Batches are only sent when the OutTopicCoalescingWindow property is also set.",
+                             "Check that the consumers of the out topic are able to process batches of events."),
+
     ;
 
     private String                     logMessageId;
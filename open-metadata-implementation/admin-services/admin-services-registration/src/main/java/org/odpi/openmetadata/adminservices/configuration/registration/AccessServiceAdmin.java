@@ -14,6 +14,7 @@ import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
 import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicListener;
+import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicSubscription;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
 
@@ -29,6 +30,7 @@ public abstract class AccessServiceAdmin
 {
     private static  int defaultKarmaPointThreshold = 500;
     private static  int defaultKarmaPointInterval  = 0;
+    private static  int defaultMaxConcurrentEvents = 1;
 
 
     /*
@@ -40,6 +42,9 @@ public abstract class AccessServiceAdmin
     protected String   defaultZonesPropertyName        = "DefaultZones";        /* Common */
     protected String   karmaPointPlateauPropertyName   = "KarmaPointPlateau";   /* Community Profile OMAS */
     protected String   karmaPointIncrementPropertyName = "KarmaPointIncrement"; /* Community Profile OMAS */
+    protected String   maxConcurrentEventsPropertyName = "MaxConcurrentInTopicEvents"; /* Common */
+    protected String   outTopicCoalescingWindowPropertyName = "OutTopicCoalescingWindow"; /* Common */
+    protected String   outTopicMaxBatchSizePropertyName     = "OutTopicMaxBatchSize";     /* Common */
 
 
     /**
@@ -381,6 +386,193 @@ public abstract class AccessServiceAdmin
     }
 
 
+    /**
+     * Extract the number of events from the in topic that the access service may process at the same time
+     * from the access services option.  Zero means the events are processed on the topic connector's thread.
+     *
+     * @param accessServiceOptions options passed to the access service.
+     * @param accessServiceName name of calling service
+     * @param auditLog audit log for error messages
+     * @return number of events
+     * @throws OMAGConfigurationErrorException the property is not a number of zero or more.
+     */
+    protected int extractMaxConcurrentInTopicEvents(Map<String, Object> accessServiceOptions,
+                                                    String              accessServiceName,
+                                                    OMRSAuditLog        auditLog) throws OMAGConfigurationErrorException
+    {
+        final String  methodName = "extractMaxConcurrentInTopicEvents";
+        OMAGAuditCode auditCode;
+
+        Object maxConcurrentEventsObject = null;
+
+        if (accessServiceOptions != null)
+        {
+            maxConcurrentEventsObject = accessServiceOptions.get(maxConcurrentEventsPropertyName);
+        }
+
+        if (maxConcurrentEventsObject == null)
+        {
+            auditCode = OMAGAuditCode.DEFAULT_IN_TOPIC_CONCURRENCY;
+            auditLog.logRecord(methodName,
+                               auditCode.getLogMessageId(),
+                               auditCode.getSeverity(),
+                               auditCode.getFormattedLogMessage(accessServiceName),
+                               null,
+                               auditCode.getSystemAction(),
+                               auditCode.getUserAction());
+
+            return defaultMaxConcurrentEvents;
+        }
+
+        try
+        {
+            int maxConcurrentEvents = Integer.parseInt(maxConcurrentEventsObject.toString());
+
+            if (maxConcurrentEvents < 0)
+            {
+                throw new IllegalArgumentException("The number of events must not be negative");
+            }
+
+            auditCode = OMAGAuditCode.IN_TOPIC_CONCURRENCY;
+            auditLog.logRecord(methodName,
+                               auditCode.getLogMessageId(),
+                               auditCode.getSeverity(),
+                               auditCode.getFormattedLogMessage(accessServiceName, Integer.toString(maxConcurrentEvents)),
+                               null,
+                               auditCode.getSystemAction(),
+                               auditCode.getUserAction());
+
+            return maxConcurrentEvents;
+        }
+        catch (Throwable error)
+        {
+            logBadConfigProperties(accessServiceName,
+                                   maxConcurrentEventsPropertyName,
+                                   maxConcurrentEventsObject.toString(),
+                                   auditLog,
+                                   methodName,
+                                   error);
+
+            /* unreachable */
+            return 0;
+        }
+    }
+
+
+    /**
+     * Extract the number of milliseconds that the access service holds the events for its out topic so that only
+     * the latest event for each instance is sent.  Zero means each event is sent as soon as it is published.
+     *
+     * @param accessServiceOptions options passed to the access service.
+     * @param accessServiceName name of calling service
+     * @param auditLog audit log for error messages
+     * @return number of milliseconds
+     * @throws OMAGConfigurationErrorException the property is not a number of zero or more.
+     */
+    protected int extractOutTopicCoalescingWindow(Map<String, Object> accessServiceOptions,
+                                                  String              accessServiceName,
+                                                  OMRSAuditLog        auditLog) throws OMAGConfigurationErrorException
+    {
+        final String  methodName = "extractOutTopicCoalescingWindow";
+
+        return this.extractOutTopicProperty(accessServiceOptions,
+                                            outTopicCoalescingWindowPropertyName,
+                                            OMAGAuditCode.OUT_TOPIC_COALESCING_WINDOW,
+                                            accessServiceName,
+                                            auditLog,
+                                            methodName);
+    }
+
+
+    /**
+     * Extract the maximum number of events that the access service sends to its out topic in one batch.
+     * Zero means the events are sent separately.
+     *
+     * @param accessServiceOptions options passed to the access service.
+     * @param accessServiceName name of calling service
+     * @param auditLog audit log for error messages
+     * @return number of events
+     * @throws OMAGConfigurationErrorException the property is not a number of zero or more.
+     */
+    protected int extractOutTopicMaxBatchSize(Map<String, Object> accessServiceOptions,
+                                              String              accessServiceName,
+                                              OMRSAuditLog        auditLog) throws OMAGConfigurationErrorException
+    {
+        final String  methodName = "extractOutTopicMaxBatchSize";
+
+        return this.extractOutTopicProperty(accessServiceOptions,
+                                            outTopicMaxBatchSizePropertyName,
+                                            OMAGAuditCode.OUT_TOPIC_MAX_BATCH_SIZE,
+                                            accessServiceName,
+                                            auditLog,
+                                            methodName);
+    }
+
+
+    /**
+     * Extract one of the out topic properties.  These are off by default so a message is only logged when
+     * the property is set.
+     *
+     * @param accessServiceOptions options passed to the access service.
+     * @param propertyName name of the property
+     * @param auditCode message to log when the property is set
+     * @param accessServiceName name of calling service
+     * @param auditLog audit log for error messages
+     * @param methodName calling method
+     * @return value of the property or zero if it is not set
+     * @throws OMAGConfigurationErrorException the property is not a number of zero or more.
+     */
+    private int extractOutTopicProperty(Map<String, Object> accessServiceOptions,
+                                        String              propertyName,
+                                        OMAGAuditCode       auditCode,
+                                        String              accessServiceName,
+                                        OMRSAuditLog        auditLog,
+                                        String              methodName) throws OMAGConfigurationErrorException
+    {
+        Object propertyObject = null;
+
+        if (accessServiceOptions != null)
+        {
+            propertyObject = accessServiceOptions.get(propertyName);
+        }
+
+        if (propertyObject == null)
+        {
+            return 0;
+        }
+
+        try
+        {
+            int propertyValue = Integer.parseInt(propertyObject.toString());
+
+            if (propertyValue < 0)
+            {
+                throw new IllegalArgumentException("The value must not be negative");
+            }
+
+            auditLog.logRecord(methodName,
+                               auditCode.getLogMessageId(),
+                               auditCode.getSeverity(),
+                               auditCode.getFormattedLogMessage(accessServiceName, Integer.toString(propertyValue)),
+                               null,
+                               auditCode.getSystemAction(),
+                               auditCode.getUserAction());
+
+            return propertyValue;
+        }
+        catch (Throwable error)
+        {
+            logBadConfigProperties(accessServiceName,
+                                   propertyName,
+                                   propertyObject.toString(),
+                                   auditLog,
+                                   methodName,
+                                   error);
+
+            /* unreachable */
+            return 0;
+        }
+    }
 
 
     /**
@@ -444,6 +636,30 @@ public abstract class AccessServiceAdmin
                                                OMRSTopicConnector  omrsTopicConnector,
                                                OMRSTopicListener   omrsTopicListener,
                                                OMRSAuditLog        auditLog) throws OMAGConfigurationErrorException
+    {
+        this.registerWithEnterpriseTopic(accessServiceName, serverName, omrsTopicConnector, omrsTopicListener, null, auditLog);
+    }
+
+
+    /**
+     * Register a listener with the enterprise topic connector.  The listener is only passed the events
+     * that match its subscription.
+     *
+     * @param accessServiceName name of calling access service
+     * @param serverName name of OMAG Server instance
+     * @param omrsTopicConnector topic connector to register with
+     * @param omrsTopicListener listener to register
+     * @param subscription events that the listener processes or null for all events
+     * @param auditLog audit log to record messages
+     *
+     * @throws OMAGConfigurationErrorException problem with topic connection
+     */
+    protected void registerWithEnterpriseTopic(String                 accessServiceName,
+                                               String                 serverName,
+                                               OMRSTopicConnector     omrsTopicConnector,
+                                               OMRSTopicListener      omrsTopicListener,
+                                               OMRSTopicSubscription  subscription,
+                                               OMRSAuditLog           auditLog) throws OMAGConfigurationErrorException
     {
         final String            actionDescription = "initialize OMAS";
         final String            methodName = "initialize";
@@ -461,7 +677,7 @@ public abstract class AccessServiceAdmin
                                auditCode.getSystemAction(),
                                auditCode.getUserAction());
 
-            omrsTopicConnector.registerListener(omrsTopicListener);
+            omrsTopicConnector.registerListener(omrsTopicListener, subscription);
         }
         else
         {
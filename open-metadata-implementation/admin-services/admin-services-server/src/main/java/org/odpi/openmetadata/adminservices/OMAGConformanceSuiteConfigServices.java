@@ -3,6 +3,7 @@
 package org.odpi.openmetadata.adminservices;
 
 import org.odpi.openmetadata.adminservices.configuration.properties.*;
+import org.odpi.openmetadata.adminservices.ffdc.OMAGAdminErrorCode;
 import org.odpi.openmetadata.adminservices.ffdc.exception.OMAGInvalidParameterException;
 import org.odpi.openmetadata.adminservices.ffdc.exception.OMAGNotAuthorizedException;
 import org.odpi.openmetadata.adminservices.rest.URLRequestBody;
@@ -47,15 +48,77 @@ public class OMAGConformanceSuiteConfigServices
     public VoidResponse enableRepositoryConformanceSuiteWorkbench(String userId,
                                                                   String serverName,
                                                                   String tutRepositoryServerName)
+    {
+        return this.enableRepositoryConformanceSuiteWorkbench(userId, serverName, tutRepositoryServerName, null);
+    }
+
+
+    /**
+     * Request that the repository conformance suite workbench is activated in this server to test the
+     * support of the repository services running in the server named tutRepositoryServerName.  Independent
+     * test cases are run at the same time, up to the maximum number of concurrent test cases.
+     *
+     * @param userId  user that is issuing the request.
+     * @param serverName  local server name.
+     * @param tutRepositoryServerName name of the server that the repository workbench should test.
+     * @param maxConcurrentTestCases number of test cases to run at the same time - null means use the default.
+     * @return void response or
+     * OMAGNotAuthorizedException the supplied userId is not authorized to issue this command or
+     * OMAGInvalidParameterException invalid serverName or maxConcurrentTestCases parameter.
+     * OMAGConfigurationErrorException unexpected exception.
+     */
+    public VoidResponse enableRepositoryConformanceSuiteWorkbench(String  userId,
+                                                                  String  serverName,
+                                                                  String  tutRepositoryServerName,
+                                                                  Integer maxConcurrentTestCases)
     {
         final String methodName = "enableRepositoryConformanceSuiteWorkbench";
 
         log.debug("Calling method: " + methodName);
 
-        VoidResponse response = this.enableAllConformanceSuiteWorkbenches(userId,
-                                                                          serverName,
-                                                                          tutRepositoryServerName,
-                                                                          null);
+        VoidResponse response = new VoidResponse();
+
+        try
+        {
+            RepositoryConformanceWorkbenchConfig repositoryWorkbenchConfig = null;
+
+            if (tutRepositoryServerName != null)
+            {
+                repositoryWorkbenchConfig = new RepositoryConformanceWorkbenchConfig();
+                repositoryWorkbenchConfig.setTutRepositoryServerName(tutRepositoryServerName);
+
+                if (maxConcurrentTestCases != null)
+                {
+                    if (maxConcurrentTestCases <= 0)
+                    {
+                        OMAGAdminErrorCode errorCode = OMAGAdminErrorCode.BAD_REPOSITORY_WORKBENCH_SETTING;
+                        String        errorMessage = errorCode.getErrorMessageId()
+                                                   + errorCode.getFormattedErrorMessage(serverName,
+                                                                                        Integer.toString(maxConcurrentTestCases),
+                                                                                        "maxConcurrentTestCases");
+
+                        throw new OMAGInvalidParameterException(errorCode.getHTTPErrorCode(),
+                                                                this.getClass().getName(),
+                                                                methodName,
+                                                                errorMessage,
+                                                                errorCode.getSystemAction(),
+                                                                errorCode.getUserAction());
+                    }
+
+                    repositoryWorkbenchConfig.setMaxConcurrentTestCases(maxConcurrentTestCases);
+                }
+            }
+
+            response = this.enableAllConformanceSuiteWorkbenches(userId,
+                                                                 serverName,
+                                                                 repositoryWorkbenchConfig,
+                                                                 null,
+                                                                 null);
+        }
+        catch (OMAGInvalidParameterException error)
+        {
+            exceptionHandler.captureInvalidParameterException(response, error);
+        }
 
         log.debug("Returning from method: " + methodName + " with response: " + response.toString());
 
@@ -86,7 +149,69 @@ public class OMAGConformanceSuiteConfigServices
         VoidResponse response = this.enableAllConformanceSuiteWorkbenches(userId,
                                                                           serverName,
                                                                           null,
-                                                                          requestBody.getUrlRoot());
+                                                                          requestBody.getUrlRoot(),
+                                                                          null);
+
+        log.debug("Returning from method: " + methodName + " with response: " + response.toString());
+
+        return response;
+    }
+
+
+    /**
+     * Request that the performance workbench is activated in this server to measure the throughput and
+     * latency of the repository services running in the server named tutRepositoryServerName.
+     *
+     * @param userId  user that is issuing the request.
+     * @param serverName  local server name.
+     * @param tutRepositoryServerName name of the server that the performance workbench should test.
+     * @param instancesPerType number of instances of each entity type to work with - null means use the default.
+     * @param concurrency number of threads issuing requests at the same time - null means use the default.
+     * @return void response or
+     * OMAGNotAuthorizedException the supplied userId is not authorized to issue this command or
+     * OMAGInvalidParameterException invalid serverName, instancesPerType or concurrency parameter.
+     * OMAGConfigurationErrorException unexpected exception.
+     */
+    public VoidResponse enablePerformanceWorkbench(String  userId,
+                                                   String  serverName,
+                                                   String  tutRepositoryServerName,
+                                                   Integer instancesPerType,
+                                                   Integer concurrency)
+    {
+        final String methodName = "enablePerformanceWorkbench";
+
+        log.debug("Calling method: " + methodName);
+
+        VoidResponse response = new VoidResponse();
+
+        try
+        {
+            PerformanceWorkbenchConfig performanceWorkbenchConfig = new PerformanceWorkbenchConfig();
+
+            performanceWorkbenchConfig.setTutRepositoryServerName(tutRepositoryServerName);
+
+            if (instancesPerType != null)
+            {
+                this.validatePerformanceWorkbenchSetting(serverName, instancesPerType, "instancesPerType", methodName);
+                performanceWorkbenchConfig.setInstancesPerType(instancesPerType);
+            }
+
+            if (concurrency != null)
+            {
+                this.validatePerformanceWorkbenchSetting(serverName, concurrency, "concurrency", methodName);
+                performanceWorkbenchConfig.setConcurrency(concurrency);
+            }
+
+            response = this.enableAllConformanceSuiteWorkbenches(userId,
+                                                                 serverName,
+                                                                 null,
+                                                                 null,
+                                                                 performanceWorkbenchConfig);
+        }
+        catch (OMAGInvalidParameterException error)
+        {
+            exceptionHandler.captureInvalidParameterException(response, error);
+        }
 
         log.debug("Returning from method: " + methodName + " with response: " + response.toString());
 
@@ -95,14 +220,45 @@ public class OMAGConformanceSuiteConfigServices
 
 
     /**
-     * Request that the conformance suite services are activated in this server.  If tutRepositoryServerName
+     * Validate that a performance workbench setting is greater than zero.
+     *
+     * @param serverName  local server name.
+     * @param value value of the setting
+     * @param settingName name of the setting
+     * @param methodName calling method
+     * @throws OMAGInvalidParameterException the value is zero or negative
+     */
+    private void validatePerformanceWorkbenchSetting(String serverName,
+                                                     int    value,
+                                                     String settingName,
+                                                     String methodName) throws OMAGInvalidParameterException
+    {
+        if (value <= 0)
+        {
+            OMAGAdminErrorCode errorCode = OMAGAdminErrorCode.BAD_PERFORMANCE_WORKBENCH_SETTING;
+            String        errorMessage = errorCode.getErrorMessageId()
+                                       + errorCode.getFormattedErrorMessage(serverName, Integer.toString(value), settingName);
+
+            throw new OMAGInvalidParameterException(errorCode.getHTTPErrorCode(),
+                                                    this.getClass().getName(),
+                                                    methodName,
+                                                    errorMessage,
+                                                    errorCode.getSystemAction(),
+                                                    errorCode.getUserAction());
+        }
+    }
+
+
+    /**
+     * Request that the conformance suite services are activated in this server.  If repositoryWorkbenchConfig
      * is set then the repository workbench is run.  If tutPlatformRootURL is set then the platform
-     * workbench is run.
+     * workbench is run.  If performanceWorkbenchConfig is set then the performance workbench is run.
      *
      * @param userId  user that is issuing the request.
      * @param serverName  local server name.
-     * @param tutRepositoryServerName name of the server that the repository workbench should use.
+     * @param repositoryWorkbenchConfig configuration for the repository workbench.
      * @param tutPlatformRootURL url of the OMAG platform to test.
+     * @param performanceWorkbenchConfig configuration for the performance workbench.
      * @return void response or
      * OMAGNotAuthorizedException the supplied userId is not authorized to issue this command or
      * OMAGInvalidParameterException invalid serverName parameter.
@@ -110,8 +266,9 @@ public class OMAGConformanceSuiteConfigServices
      */
     private VoidResponse enableAllConformanceSuiteWorkbenches(String userId,
                                                               String serverName,
-                                                              String tutRepositoryServerName,
-                                                              String tutPlatformRootURL)
+                                                              RepositoryConformanceWorkbenchConfig repositoryWorkbenchConfig,
+                                                              String tutPlatformRootURL,
+                                                              PerformanceWorkbenchConfig performanceWorkbenchConfig)
     {
         final String methodName = "enableAllConformanceSuiteWorkbenches";
 
@@ -147,7 +304,8 @@ public class OMAGConformanceSuiteConfigServices
             }
 
             if ((conformanceSuiteConfig.getPlatformWorkbenchConfig() == null) &&
-                (conformanceSuiteConfig.getRepositoryWorkbenchConfig() == null))
+                (conformanceSuiteConfig.getRepositoryWorkbenchConfig() == null) &&
+                (conformanceSuiteConfig.getPerformanceWorkbenchConfig() == null))
             {
                 OMAGServerAdminServices adminAPI = new OMAGServerAdminServices();
 
@@ -173,14 +331,12 @@ public class OMAGConformanceSuiteConfigServices
             serverConfig = configStore.getServerConfig(userId, serverName, methodName);
             configAuditTrail = serverConfig.getAuditTrail();
 
-            if (tutRepositoryServerName != null)
+            if (repositoryWorkbenchConfig != null)
             {
-                configAuditTrail.add(new Date().toString() + " " + userId + " enable repository workbench to test " + tutRepositoryServerName + ".");
+                configAuditTrail.add(new Date().toString() + " " + userId + " enable repository workbench to test " +
+                                             repositoryWorkbenchConfig.getTutRepositoryServerName() + " with " +
+                                             repositoryWorkbenchConfig.getMaxConcurrentTestCases() + " concurrent test cases.");
 
-                RepositoryConformanceWorkbenchConfig
-                        repositoryWorkbenchConfig = new RepositoryConformanceWorkbenchConfig();
-
-                repositoryWorkbenchConfig.setTutRepositoryServerName(tutRepositoryServerName);
                 conformanceSuiteConfig.setRepositoryWorkbenchConfig(repositoryWorkbenchConfig);
             }
 
@@ -194,6 +350,16 @@ public class OMAGConformanceSuiteConfigServices
                 conformanceSuiteConfig.setPlatformWorkbenchConfig(platformWorkbenchConfig);
             }
 
+            if (performanceWorkbenchConfig != null)
+            {
+                configAuditTrail.add(new Date().toString() + " " + userId + " enable performance workbench to test " +
+                                             performanceWorkbenchConfig.getTutRepositoryServerName() + " with " +
+                                             performanceWorkbenchConfig.getInstancesPerType() + " instances per type and " +
+                                             performanceWorkbenchConfig.getConcurrency() + " threads.");
+
+                conformanceSuiteConfig.setPerformanceWorkbenchConfig(performanceWorkbenchConfig);
+            }
+
             serverConfig.setConformanceSuiteConfig(conformanceSuiteConfig);
 
             configAuditTrail.add(new Date().toString() + " " + userId + " finished adding configuration for " + serviceName + ".");
@@ -361,6 +527,71 @@ public class OMAGConformanceSuiteConfigServices
     }
 
 
+    /**
+     * Request that the performance workbench is deactivated in this server.
+     *
+     * @param userId  user that is issuing the request.
+     * @param serverName  local server name.
+     * @return void response or
+     * OMAGNotAuthorizedException the supplied userId is not authorized to issue this command or
+     * OMAGInvalidParameterException invalid serverName parameter.
+     * OMAGConfigurationErrorException unexpected exception.
+     */
+    public VoidResponse disablePerformanceWorkbench(String userId, String serverName)
+    {
+        final String methodName = "disablePerformanceWorkbench";
+
+        log.debug("Calling method: " + methodName);
+
+        VoidResponse response = new VoidResponse();
+
+        try
+        {
+            errorHandler.validateServerName(serverName, methodName);
+            errorHandler.validateUserId(userId, serverName, methodName);
+
+            OMAGServerConfig serverConfig = configStore.getServerConfig(userId, serverName, methodName);
+
+            ConformanceSuiteConfig conformanceSuiteConfig = serverConfig.getConformanceSuiteConfig();
+
+            if ((conformanceSuiteConfig != null) && (conformanceSuiteConfig.getPerformanceWorkbenchConfig() != null))
+            {
+                List<String> configAuditTrail = serverConfig.getAuditTrail();
+
+                if (configAuditTrail == null)
+                {
+                    configAuditTrail = new ArrayList<>();
+                }
+
+                configAuditTrail.add(new Date().toString() + " " + userId + " removed performance workbench configuration for " + serviceName + ".");
+
+                serverConfig.setAuditTrail(configAuditTrail);
+
+                conformanceSuiteConfig.setPerformanceWorkbenchConfig(null);
+                serverConfig.setConformanceSuiteConfig(conformanceSuiteConfig);
+
+                configStore.saveServerConfig(serverName, methodName, serverConfig);
+            }
+        }
+        catch (OMAGInvalidParameterException error)
+        {
+            exceptionHandler.captureInvalidParameterException(response, error);
+        }
+        catch (OMAGNotAuthorizedException error)
+        {
+            exceptionHandler.captureNotAuthorizedException(response, error);
+        }
+        catch (Throwable   error)
+        {
+            exceptionHandler.captureRuntimeException(serverName, methodName, response, error);
+        }
+
+        log.debug("Returning from method: " + methodName + " with response: " + response.toString());
+
+        return response;
+    }
+
+
     /**
      * Request that all of the conformance suite tests are deactivated in this server.
      *
@@ -978,4 +978,60 @@ public class OMAGServerOperationalServices
 
         return response;
     }
+
+
+    /**
+     * Ask the other members of the server's cohorts for the instances that have changed since a point in time.
+     * This lets the local repository catch up after an outage, or after joining the cohorts late.  The home
+     * repositories reply with batches of instances that are saved as reference copies as they arrive.
+     *
+     * @param userId  user that is issuing the request.
+     * @param serverName  local server name.
+     * @param changedSinceTime only instances changed at or after this time (in milliseconds since the epoch)
+     *                         are requested; null means all instances
+     * @return void response or
+     * OMAGNotAuthorizedException the supplied userId is not authorized to issue this command or
+     * OMAGInvalidParameterException invalid serverName parameter.
+     */
+    public VoidResponse requestCohortCatchUp(String userId,
+                                             String serverName,
+                                             Long   changedSinceTime)
+    {
+        final String methodName = "requestCohortCatchUp";
+
+        VoidResponse response = new VoidResponse();
+
+        try
+        {
+            errorHandler.validateServerName(serverName, methodName);
+            errorHandler.validateUserId(userId, serverName, methodName);
+
+            OMAGOperationalServicesInstance instance = instanceHandler.getServerServiceInstance(userId, serverName, methodName);
+            OMRSOperationalServices         repositoryServicesInstance = instance.getOperationalRepositoryServices();
+
+            repositoryServicesInstance.requestCohortCatchUp(changedSinceTime == null ? null : new Date(changedSinceTime));
+        }
+        catch (InvalidParameterException error)
+        {
+            exceptionHandler.captureInvalidParameterException(response, error);
+        }
+        catch (UserNotAuthorizedException error)
+        {
+            exceptionHandler.captureNotAuthorizedException(response, error);
+        }
+        catch (OMAGInvalidParameterException error)
+        {
+            exceptionHandler.captureInvalidParameterException(response, error);
+        }
+        catch (OMAGNotAuthorizedException error)
+        {
+            exceptionHandler.captureNotAuthorizedException(response, error);
+        }
+        catch (Throwable error)
+        {
+            exceptionHandler.captureRuntimeException(serverName, methodName, response, error);
+        }
+
+        return response;
+    }
 }
@@ -24,18 +24,20 @@ public class ConfigConformanceSuiteServicesResource
      * @param userId  user that is issuing the request.
      * @param serverName  local server name.
      * @param tutRepositoryServerName name of the server that the repository workbench should test.
+     * @param maxConcurrentTestCases number of test cases to run at the same time - null means use the default.
      * @return void response or
      * OMAGNotAuthorizedException the supplied userId is not authorized to issue this command or
-     * OMAGInvalidParameterException invalid serverName parameter.
+     * OMAGInvalidParameterException invalid serverName or maxConcurrentTestCases parameter.
      * OMAGConfigurationErrorException unexpected exception.
      */
     @RequestMapping(method = RequestMethod.POST, path = "/conformance-suite-workbenches/repository-workbench/repositories/{tutRepositoryServerName}")
 
-    public VoidResponse enableRepositoryConformanceSuiteWorkbench(@PathVariable String userId,
-                                                                  @PathVariable String serverName,
-                                                                  @PathVariable String tutRepositoryServerName)
+    public VoidResponse enableRepositoryConformanceSuiteWorkbench(@PathVariable                   String  userId,
+                                                                  @PathVariable                   String  serverName,
+                                                                  @PathVariable                   String  tutRepositoryServerName,
+                                                                  @RequestParam(required = false) Integer maxConcurrentTestCases)
     {
-        return adminAPI.enableRepositoryConformanceSuiteWorkbench(userId, serverName, tutRepositoryServerName);
+        return adminAPI.enableRepositoryConformanceSuiteWorkbench(userId, serverName, tutRepositoryServerName, maxConcurrentTestCases);
     }
 
 
@@ -61,6 +63,32 @@ public class ConfigConformanceSuiteServicesResource
     }
 
 
+    /**
+     * Request that the performance workbench is activated in this server to measure the throughput and
+     * latency of the repository services running in the server named tutRepositoryServerName.
+     *
+     * @param userId  user that is issuing the request.
+     * @param serverName  local server name.
+     * @param tutRepositoryServerName name of the server that the performance workbench should test.
+     * @param instancesPerType optional number of instances of each entity type to work with.
+     * @param concurrency optional number of threads issuing requests at the same time.
+     * @return void response or
+     * OMAGNotAuthorizedException the supplied userId is not authorized to issue this command or
+     * OMAGInvalidParameterException invalid serverName, instancesPerType or concurrency parameter.
+     * OMAGConfigurationErrorException unexpected exception.
+     */
+    @RequestMapping(method = RequestMethod.POST, path = "/conformance-suite-workbenches/performance-workbench/repositories/{tutRepositoryServerName}")
+
+    public VoidResponse enablePerformanceWorkbench(@PathVariable                   String  userId,
+                                                   @PathVariable                   String  serverName,
+                                                   @PathVariable                   String  tutRepositoryServerName,
+                                                   @RequestParam(required = false) Integer instancesPerType,
+                                                   @RequestParam(required = false) Integer concurrency)
+    {
+        return adminAPI.enablePerformanceWorkbench(userId, serverName, tutRepositoryServerName, instancesPerType, concurrency);
+    }
+
+
     /**
      * Request that the repository conformance suite tests are deactivated in this server.
      *
@@ -97,6 +125,24 @@ public class ConfigConformanceSuiteServicesResource
     }
 
 
+    /**
+     * Request that the performance workbench is deactivated in this server.
+     *
+     * @param userId  user that is issuing the request.
+     * @param serverName  local server name.
+     * @return void response or
+     * OMAGNotAuthorizedException the supplied userId is not authorized to issue this command or
+     * OMAGInvalidParameterException invalid serverName parameter.
+     * OMAGConfigurationErrorException unexpected exception.
+     */
+    @RequestMapping(method = RequestMethod.DELETE, path = "/conformance-suite-workbenches/performance-workbench")
+    public VoidResponse disablePerformanceWorkbench(@PathVariable String    userId,
+                                                    @PathVariable String    serverName)
+    {
+        return adminAPI.disablePerformanceWorkbench(userId, serverName);
+    }
+
+
     /**
      * Request that the conformance suite services are deactivated in this server.
      *
@@ -140,4 +140,26 @@ public class OperationalServicesResource
     {
         return operationalServices.addOpenMetadataArchiveFile(userId, serverName, fileName);
     }
+
+
+    /**
+     * Ask the other members of the server's cohorts for the instances that have changed since a point in time.
+     * This lets the local repository catch up after an outage, or after joining the cohorts late.
+     *
+     * @param userId  user that is issuing the request.
+     * @param serverName  local server name.
+     * @param changedSinceTime only instances changed at or after this time (in milliseconds since the epoch)
+     *                         are requested; omitted means all instances
+     * @return void response or
+     * OMAGNotAuthorizedException the supplied userId is not authorized to issue this command or
+     * OMAGInvalidParameterException invalid serverName parameter.
+     */
+    @RequestMapping(method = RequestMethod.POST, path = "/instance/cohorts/catch-up")
+
+    public VoidResponse requestCohortCatchUp(@PathVariable                   String userId,
+                                             @PathVariable                   String serverName,
+                                             @RequestParam(required = false) Long   changedSinceTime)
+    {
+        return operationalServices.requestCohortCatchUp(userId, serverName, changedSinceTime);
+    }
 }
@@ -0,0 +1,106 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.metadatasecurity.properties;
+
+/**
+ * OpenMetadataSecurityDecision lists the security decisions that a server security connector may allow the
+ * OMAG Server to cache.  These are the decisions that are made many times on a single request, for example,
+ * once for each instance returned by a search.  A connector should only declare a decision as cacheable if its
+ * outcome depends only on the values that make up the cache key.
+ * <ul>
+ *     <li>
+ *         ASSET_READ: validateUserForAssetRead.  The key is the user, the asset's type, its zones and whether the
+ *         user is the asset's owner.
+ *     </li>
+ *     <li>
+ *         ENTITY_READ: validateUserForEntityRead.  The key is the user, the metadata collection name, the entity's
+ *         type and the zones in its zoneMembership property (if any).
+ *     </li>
+ *     <li>
+ *         RELATIONSHIP_READ: validateUserForRelationshipRead.  The key is the user, the metadata collection name and
+ *         the relationship's type.
+ *     </li>
+ *     <li>
+ *         SUPPORTED_ZONES: setSupportedZonesForUser.  The key is the user, the service name and the service's
+ *         default supported zones.
+ *     </li>
+ * </ul>
+ */
+public enum OpenMetadataSecurityDecision
+{
+    ASSET_READ        (0, "AssetRead",        "Whether a user may read an asset."),
+    ENTITY_READ       (1, "EntityRead",       "Whether a user may read an entity."),
+    RELATIONSHIP_READ (2, "RelationshipRead", "Whether a user may read a relationship."),
+    SUPPORTED_ZONES   (3, "SupportedZones",   "The zones a user may access through a service.");
+
+
+    private  int    decisionCode;
+    private  String decisionName;
+    private  String decisionDescription;
+
+
+    /**
+     * Typical constructor sets up the selected enum value.
+     *
+     * @param decisionCode numeric of this enum.
+     * @param decisionName name of enum.
+     * @param decisionDescription default description of enum.
+     */
+    OpenMetadataSecurityDecision(int      decisionCode,
+                                 String   decisionName,
+                                 String   decisionDescription)
+    {
+        this.decisionCode = decisionCode;
+        this.decisionName = decisionName;
+        this.decisionDescription = decisionDescription;
+    }
+
+
+    /**
+     * Return the code for this enum.
+     *
+     * @return int numeric for this enum
+     */
+    public int getOrdinal()
+    {
+        return decisionCode;
+    }
+
+
+    /**
+     * Return the name of this enum.
+     *
+     * @return String name
+     */
+    public String getName()
+    {
+        return decisionName;
+    }
+
+
+    /**
+     * Return the default description of this enum.  This description is in English.
+     *
+     * @return String default description
+     */
+    public String getDescription()
+    {
+        return decisionDescription;
+    }
+
+
+    /**
+     * toString() JSON-style
+     *
+     * @return string description
+     */
+    @Override
+    public String toString()
+    {
+        return "OpenMetadataSecurityDecision{" +
+                "decisionCode=" + decisionCode +
+                ", decisionName='" + decisionName + '\'' +
+                ", decisionDescription='" + decisionDescription + '\'' +
+                '}';
+    }
+}
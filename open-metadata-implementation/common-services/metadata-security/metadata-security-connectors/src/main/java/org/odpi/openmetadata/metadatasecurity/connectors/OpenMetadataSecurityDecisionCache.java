@@ -0,0 +1,447 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.metadatasecurity.connectors;
+
+import org.odpi.openmetadata.metadatasecurity.properties.OpenMetadataSecurityDecision;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * OpenMetadataSecurityDecisionCache remembers the outcome of the security decisions that the server security
+ * connector has declared as cacheable.  Only decisions that allowed the request are cached so that every refusal
+ * still reaches the connector and is logged by it.  Each entry expires after the time to live, and the least
+ * recently used entries are removed once the cache reaches its maximum size.
+ *
+ * The cache is called for every request to the server, so lookups do not take a lock.  The decisions are held
+ * in a concurrent map and each entry records when it was last used.  When an update takes the cache over its
+ * maximum size, one thread removes the expired entries and then the least recently used ones, leaving room for
+ * the next tenth of the maximum size.  While it does so, other threads may add a few more entries.
+ *
+ * The cache is cleared when the connector reports that its security configuration has changed.
+ */
+public class OpenMetadataSecurityDecisionCache
+{
+    private final EnumSet<OpenMetadataSecurityDecision> cacheableDecisions;
+    private final long                                  timeToLive;
+    private final int                                   maxEntries;
+    private final int                                   entriesAfterRemoval;
+    private final Map<DecisionKey, CachedDecision>      decisions     = new ConcurrentHashMap<>();
+    private final ReentrantLock                         removalLock   = new ReentrantLock();
+    private final AtomicLong                            lastUseNumber = new AtomicLong(0);
+    private final LongAdder                             hitCount      = new LongAdder();
+    private final LongAdder                             missCount     = new LongAdder();
+
+
+    /**
+     * Constructor
+     *
+     * @param cacheableDecisions decisions that may be cached
+     * @param timeToLive number of milliseconds that a decision is cached for
+     * @param maxEntries maximum number of decisions cached
+     */
+    public OpenMetadataSecurityDecisionCache(List<OpenMetadataSecurityDecision> cacheableDecisions,
+                                             long                               timeToLive,
+                                             int                                maxEntries)
+    {
+        this.cacheableDecisions = EnumSet.noneOf(OpenMetadataSecurityDecision.class);
+
+        if (cacheableDecisions != null)
+        {
+            this.cacheableDecisions.addAll(cacheableDecisions);
+        }
+
+        this.timeToLive = timeToLive;
+        this.maxEntries = maxEntries;
+        this.entriesAfterRemoval = maxEntries - (maxEntries / 10);
+    }
+
+
+    /**
+     * Return whether the connector allows this type of decision to be cached.
+     *
+     * @param decision type of decision
+     * @return boolean
+     */
+    public boolean isCacheable(OpenMetadataSecurityDecision decision)
+    {
+        return cacheableDecisions.contains(decision);
+    }
+
+
+    /**
+     * Build the key for a decision.  The zones are held as a sorted set so that the order of the zones does not
+     * affect the key.  A null list of zones gives a different key to an empty list because the connectors may
+     * treat an element with no zones differently from an element in an empty list of zones.
+     *
+     * @param decision type of decision
+     * @param userId calling user
+     * @param scope name of the service or metadata collection the decision is made for (may be null)
+     * @param typeName name of the type of element being accessed (may be null)
+     * @param zones zones of the element or service (may be null)
+     * @param isOwner whether the user owns the element
+     * @return key
+     */
+    public static DecisionKey getKey(OpenMetadataSecurityDecision decision,
+                                     String                       userId,
+                                     String                       scope,
+                                     String                       typeName,
+                                     List<String>                 zones,
+                                     boolean                      isOwner)
+    {
+        return new DecisionKey(decision, userId, scope, typeName, zones, isOwner);
+    }
+
+
+    /**
+     * Return whether the request described by the key was allowed within the time to live.
+     *
+     * @param key description of the request
+     * @return boolean
+     */
+    public boolean isAllowed(DecisionKey key)
+    {
+        return Boolean.TRUE.equals(this.getResult(key));
+    }
+
+
+    /**
+     * Return the result of a decision that returns a list of zones, if it is cached.
+     *
+     * @param key description of the request
+     * @return cached zones or null if the decision is not cached
+     */
+    public CachedZones getZones(DecisionKey key)
+    {
+        Object result = this.getResult(key);
+
+        if (result instanceof CachedZones)
+        {
+            return (CachedZones)result;
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Record that the request described by the key was allowed.
+     *
+     * @param key description of the request
+     */
+    public void setAllowed(DecisionKey key)
+    {
+        this.setResult(key, Boolean.TRUE);
+    }
+
+
+    /**
+     * Record the zones returned for the request described by the key.
+     *
+     * @param key description of the request
+     * @param zones returned zones (null is cached too since it means all zones)
+     */
+    public void setZones(DecisionKey  key,
+                         List<String> zones)
+    {
+        this.setResult(key, new CachedZones(zones));
+    }
+
+
+    /**
+     * Remove all of the cached decisions.  This is called when the security configuration changes.
+     */
+    public void clear()
+    {
+        decisions.clear();
+    }
+
+
+    /**
+     * Return the number of decisions that were answered from the cache.
+     *
+     * @return count
+     */
+    public long getHitCount()
+    {
+        return hitCount.sum();
+    }
+
+
+    /**
+     * Return the number of decisions that were passed to the connector.
+     *
+     * @return count
+     */
+    public long getMissCount()
+    {
+        return missCount.sum();
+    }
+
+
+    /**
+     * Return the number of decisions in the cache.
+     *
+     * @return count
+     */
+    public int size()
+    {
+        return decisions.size();
+    }
+
+
+    /**
+     * Return the cached result for a key if it has not expired.
+     *
+     * @param key description of the request
+     * @return result or null
+     */
+    private Object getResult(DecisionKey key)
+    {
+        CachedDecision cachedDecision = decisions.get(key);
+
+        if (cachedDecision != null)
+        {
+            if (cachedDecision.expiryTime > System.currentTimeMillis())
+            {
+                cachedDecision.lastUseNumber = lastUseNumber.incrementAndGet();
+                hitCount.increment();
+                return cachedDecision.result;
+            }
+
+            decisions.remove(key, cachedDecision);
+        }
+
+        missCount.increment();
+        return null;
+    }
+
+
+    /**
+     * Save the result for a key.
+     *
+     * @param key description of the request
+     * @param result result to save
+     */
+    private void setResult(DecisionKey key,
+                           Object      result)
+    {
+        decisions.put(key, new CachedDecision(result,
+                                              System.currentTimeMillis() + timeToLive,
+                                              lastUseNumber.incrementAndGet()));
+
+        if (decisions.size() > maxEntries)
+        {
+            this.removeLeastRecentlyUsed();
+        }
+    }
+
+
+    /**
+     * Remove the expired decisions and then the least recently used ones until the cache is back within its
+     * maximum size with room for more.  Only one thread does this at a time; the others carry on without waiting.
+     */
+    private void removeLeastRecentlyUsed()
+    {
+        if (! removalLock.tryLock())
+        {
+            return;
+        }
+
+        try
+        {
+            long                                         currentTime = System.currentTimeMillis();
+            List<Map.Entry<DecisionKey, CachedDecision>> liveEntries = new ArrayList<>();
+
+            for (Map.Entry<DecisionKey, CachedDecision> entry : decisions.entrySet())
+            {
+                if (entry.getValue().expiryTime > currentTime)
+                {
+                    liveEntries.add(entry);
+                }
+                else
+                {
+                    decisions.remove(entry.getKey(), entry.getValue());
+                }
+            }
+
+            int entriesToRemove = decisions.size() - entriesAfterRemoval;
+
+            if (entriesToRemove > 0)
+            {
+                liveEntries.sort(Comparator.comparingLong(entry -> entry.getValue().lastUseNumber));
+
+                for (int i = 0; (i < entriesToRemove) && (i < liveEntries.size()); i++)
+                {
+                    Map.Entry<DecisionKey, CachedDecision> entry = liveEntries.get(i);
+
+                    decisions.remove(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        finally
+        {
+            removalLock.unlock();
+        }
+    }
+
+
+    /**
+     * The values that a cacheable decision depends on.
+     */
+    public static class DecisionKey
+    {
+        private final OpenMetadataSecurityDecision decision;
+        private final String                       userId;
+        private final String                       scope;
+        private final String                       typeName;
+        private final TreeSet<String>              zones = new TreeSet<>();
+        private final boolean                      zonesAreNull;
+        private final boolean                      isOwner;
+        private final int                          hashCode;
+
+
+        /**
+         * Constructor
+         *
+         * @param decision type of decision
+         * @param userId calling user
+         * @param scope name of the service or metadata collection
+         * @param typeName name of the type of element
+         * @param zones zones of the element or service
+         * @param isOwner whether the user owns the element
+         */
+        private DecisionKey(OpenMetadataSecurityDecision decision,
+                            String                       userId,
+                            String                       scope,
+                            String                       typeName,
+                            List<String>                 zones,
+                            boolean                      isOwner)
+        {
+            this.decision = decision;
+            this.userId = userId;
+            this.scope = scope;
+            this.typeName = typeName;
+            this.isOwner = isOwner;
+            this.zonesAreNull = (zones == null);
+
+            if (zones != null)
+            {
+                for (String zone : zones)
+                {
+                    if (zone != null)
+                    {
+                        this.zones.add(zone);
+                    }
+                }
+            }
+
+            this.hashCode = Objects.hash(decision, userId, scope, typeName, this.zones, zonesAreNull, isOwner);
+        }
+
+
+        /**
+         * Compare the values that make up the key.
+         *
+         * @param objectToCompare object
+         * @return boolean
+         */
+        @Override
+        public boolean equals(Object objectToCompare)
+        {
+            if (this == objectToCompare)
+            {
+                return true;
+            }
+            if (objectToCompare == null || getClass() != objectToCompare.getClass())
+            {
+                return false;
+            }
+            DecisionKey that = (DecisionKey) objectToCompare;
+            return isOwner == that.isOwner &&
+                    zonesAreNull == that.zonesAreNull &&
+                    decision == that.decision &&
+                    Objects.equals(userId, that.userId) &&
+                    Objects.equals(scope, that.scope) &&
+                    Objects.equals(typeName, that.typeName) &&
+                    Objects.equals(zones, that.zones);
+        }
+
+
+        /**
+         * Return the hash code computed from the values in the key.
+         *
+         * @return int
+         */
+        @Override
+        public int hashCode()
+        {
+            return hashCode;
+        }
+    }
+
+
+    /**
+     * The list of zones returned by a cached decision.  The list itself may be null.
+     */
+    public static class CachedZones
+    {
+        private final List<String> zones;
+
+        private CachedZones(List<String> zones)
+        {
+            if (zones == null)
+            {
+                this.zones = null;
+            }
+            else
+            {
+                this.zones = Collections.unmodifiableList(new ArrayList<>(zones));
+            }
+        }
+
+
+        /**
+         * Return a copy of the cached list of zones.
+         *
+         * @return list of zones or null
+         */
+        public List<String> getZones()
+        {
+            if (zones == null)
+            {
+                return null;
+            }
+
+            return new ArrayList<>(zones);
+        }
+    }
+
+
+    /**
+     * A cached result, the time it expires and when it was last used.
+     */
+    private static class CachedDecision
+    {
+        private final    Object result;
+        private final    long   expiryTime;
+        private volatile long   lastUseNumber;
+
+        CachedDecision(Object result, long expiryTime, long lastUseNumber)
+        {
+            this.result = result;
+            this.expiryTime = expiryTime;
+            this.lastUseNumber = lastUseNumber;
+        }
+    }
+}
@@ -16,6 +16,7 @@ import org.odpi.openmetadata.metadatasecurity.OpenMetadataServiceSecurity;
 import org.odpi.openmetadata.metadatasecurity.ffdc.OpenMetadataSecurityAuditCode;
 import org.odpi.openmetadata.metadatasecurity.ffdc.OpenMetadataSecurityErrorCode;
 import org.odpi.openmetadata.metadatasecurity.properties.AssetAuditHeader;
+import org.odpi.openmetadata.metadatasecurity.properties.OpenMetadataSecurityDecision;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
 import org.odpi.openmetadata.repositoryservices.connectors.auditable.AuditableConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OpenMetadataRepositorySecurity;
@@ -46,6 +47,8 @@ public class OpenMetadataServerSecurityConnector extends ConnectorBase implement
     protected  String        localServerUserId = null;
     protected  String        connectorName = null;
 
+    private    OpenMetadataSecurityDecisionCache decisionCache = null;
+
 
     /**
      * Write an audit log message to say that the connector is initializing.
@@ -743,6 +746,43 @@ public class OpenMetadataServerSecurityConnector extends ConnectorBase implement
     }
 
 
+    /**
+     * Return the security decisions that the OMAG Server may cache.  A decision should only be returned if its
+     * outcome depends solely on the values in the cache key described in OpenMetadataSecurityDecision.
+     * The default is that no decisions are cached, so every request is passed to the connector.
+     *
+     * @return list of cacheable decisions (null means none)
+     */
+    public List<OpenMetadataSecurityDecision> getCacheableDecisions()
+    {
+        return null;
+    }
+
+
+    /**
+     * Receive the cache that the OMAG Server is using for this connector's decisions.
+     *
+     * @param decisionCache cache of decisions
+     */
+    public void setDecisionCache(OpenMetadataSecurityDecisionCache decisionCache)
+    {
+        this.decisionCache = decisionCache;
+    }
+
+
+    /**
+     * Called by a subclass when its security configuration (for example, its users or zones) has changed,
+     * so that decisions cached using the old configuration are discarded.
+     */
+    protected void securityConfigurationChanged()
+    {
+        if (decisionCache != null)
+        {
+            decisionCache.clear();
+        }
+    }
+
+
     /**
      * Indicates that the connector is completely configured and can begin processing.
      *
@@ -0,0 +1,197 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.metadatasecurity.connectors;
+
+import org.odpi.openmetadata.metadatasecurity.properties.OpenMetadataSecurityDecision;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests the keys, hits, misses, expiry, invalidation and concurrent use of the security decision cache.
+ */
+public class OpenMetadataSecurityDecisionCacheTest
+{
+    private static final OpenMetadataSecurityDecision entityRead = OpenMetadataSecurityDecision.ENTITY_READ;
+
+
+    @Test
+    public void testKeys()
+    {
+        OpenMetadataSecurityDecisionCache.DecisionKey key = getKey(Arrays.asList("zone1", "zone2"));
+
+        assertEquals(getKey(Arrays.asList("zone2", "zone1")), key);
+        assertEquals(getKey(Arrays.asList("zone2", "zone1")).hashCode(), key.hashCode());
+        assertNotEquals(getKey(Collections.singletonList("zone1")), key);
+        assertNotEquals(OpenMetadataSecurityDecisionCache.getKey(entityRead, "user2", "service", "Asset", Arrays.asList("zone1", "zone2"), false), key);
+        assertNotEquals(OpenMetadataSecurityDecisionCache.getKey(entityRead, "user1", "service", "Asset", Arrays.asList("zone1", "zone2"), true), key);
+        assertNotEquals(OpenMetadataSecurityDecisionCache.getKey(OpenMetadataSecurityDecision.ASSET_READ, "user1", "service", "Asset", Arrays.asList("zone1", "zone2"), false), key);
+
+        /*
+         * An element with no zones is not the same as an element in an empty list of zones.
+         */
+        assertNotEquals(getKey(null), getKey(new ArrayList<>()));
+        assertEquals(getKey(null), getKey(null));
+        assertEquals(getKey(new ArrayList<>()), getKey(Collections.emptyList()));
+    }
+
+
+    @Test
+    public void testHitAndMiss()
+    {
+        OpenMetadataSecurityDecisionCache cache = new OpenMetadataSecurityDecisionCache(Collections.singletonList(entityRead), 60000, 10);
+
+        assertTrue(cache.isCacheable(entityRead));
+        assertFalse(cache.isCacheable(OpenMetadataSecurityDecision.ASSET_READ));
+
+        assertFalse(cache.isAllowed(getKey(null)));
+        assertEquals(cache.getMissCount(), 1);
+
+        cache.setAllowed(getKey(null));
+
+        assertTrue(cache.isAllowed(getKey(null)));
+        assertFalse(cache.isAllowed(getKey(new ArrayList<>())));
+        assertEquals(cache.getHitCount(), 1);
+        assertEquals(cache.getMissCount(), 2);
+
+        OpenMetadataSecurityDecisionCache.DecisionKey zonesKey = OpenMetadataSecurityDecisionCache.getKey(OpenMetadataSecurityDecision.SUPPORTED_ZONES,
+                                                                                                            "user1",
+                                                                                                            "service",
+                                                                                                            null,
+                                                                                                            null,
+                                                                                                            false);
+        assertNull(cache.getZones(zonesKey));
+
+        cache.setZones(zonesKey, null);
+
+        assertNotNull(cache.getZones(zonesKey));
+        assertNull(cache.getZones(zonesKey).getZones());
+
+        cache.setZones(zonesKey, Arrays.asList("zone1", "zone2"));
+
+        assertEquals(cache.getZones(zonesKey).getZones(), Arrays.asList("zone1", "zone2"));
+        assertEquals(cache.size(), 2);
+    }
+
+
+    @Test
+    public void testExpiry() throws Exception
+    {
+        OpenMetadataSecurityDecisionCache cache = new OpenMetadataSecurityDecisionCache(Collections.singletonList(entityRead), 50, 10);
+
+        cache.setAllowed(getKey(null));
+        assertTrue(cache.isAllowed(getKey(null)));
+
+        Thread.sleep(100);
+
+        assertFalse(cache.isAllowed(getKey(null)));
+        assertEquals(cache.size(), 0);
+        assertEquals(cache.getHitCount(), 1);
+        assertEquals(cache.getMissCount(), 1);
+    }
+
+
+    @Test
+    public void testInvalidation()
+    {
+        OpenMetadataSecurityDecisionCache cache = new OpenMetadataSecurityDecisionCache(Collections.singletonList(entityRead), 60000, 10);
+
+        cache.setAllowed(getKey(null));
+        cache.setAllowed(getKey(Collections.singletonList("zone1")));
+        assertEquals(cache.size(), 2);
+
+        cache.clear();
+
+        assertEquals(cache.size(), 0);
+        assertFalse(cache.isAllowed(getKey(null)));
+        assertFalse(cache.isAllowed(getKey(Collections.singletonList("zone1"))));
+    }
+
+
+    @Test
+    public void testLeastRecentlyUsedRemoved()
+    {
+        OpenMetadataSecurityDecisionCache cache = new OpenMetadataSecurityDecisionCache(Collections.singletonList(entityRead), 60000, 2);
+
+        cache.setAllowed(getKey(Collections.singletonList("zone1")));
+        cache.setAllowed(getKey(Collections.singletonList("zone2")));
+        assertTrue(cache.isAllowed(getKey(Collections.singletonList("zone1"))));
+
+        cache.setAllowed(getKey(Collections.singletonList("zone3")));
+
+        assertEquals(cache.size(), 2);
+        assertTrue(cache.isAllowed(getKey(Collections.singletonList("zone1"))));
+        assertFalse(cache.isAllowed(getKey(Collections.singletonList("zone2"))));
+        assertTrue(cache.isAllowed(getKey(Collections.singletonList("zone3"))));
+    }
+
+
+    @Test
+    public void testConcurrentUse() throws Exception
+    {
+        final int threadCount      = 8;
+        final int lookupsPerThread = 2000;
+        final int maxEntries       = 20;
+
+        OpenMetadataSecurityDecisionCache cache    = new OpenMetadataSecurityDecisionCache(Collections.singletonList(entityRead), 60000, maxEntries);
+        ExecutorService                   executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch                    start    = new CountDownLatch(1);
+        List<Future<?>>                   results  = new ArrayList<>();
+
+        for (int thread = 0; thread < threadCount; thread++)
+        {
+            results.add(executor.submit(() ->
+            {
+                start.await();
+
+                for (int i = 0; i < lookupsPerThread; i++)
+                {
+                    OpenMetadataSecurityDecisionCache.DecisionKey key = getKey(Collections.singletonList("zone" + (i % 50)));
+
+                    if (! cache.isAllowed(key))
+                    {
+                        cache.setAllowed(key);
+                    }
+                }
+
+                return null;
+            }));
+        }
+
+        start.countDown();
+
+        for (Future<?> result : results)
+        {
+            result.get(30, TimeUnit.SECONDS);
+        }
+
+        executor.shutdown();
+
+        /*
+         * Every lookup is counted once and the cache stays close to its maximum size.
+         */
+        assertEquals(cache.getHitCount() + cache.getMissCount(), (long)threadCount * lookupsPerThread);
+        assertTrue(cache.size() <= maxEntries + threadCount);
+    }
+
+
+    private OpenMetadataSecurityDecisionCache.DecisionKey getKey(List<String> zones)
+    {
+        return OpenMetadataSecurityDecisionCache.getKey(entityRead, "user1", "service", "Asset", zones, false);
+    }
+}
@@ -10,9 +10,11 @@ import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterExceptio
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.Asset;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
 import org.odpi.openmetadata.metadatasecurity.*;
+import org.odpi.openmetadata.metadatasecurity.connectors.OpenMetadataSecurityDecisionCache;
 import org.odpi.openmetadata.metadatasecurity.connectors.OpenMetadataServerSecurityConnector;
 import org.odpi.openmetadata.metadatasecurity.ffdc.OpenMetadataSecurityErrorCode;
 import org.odpi.openmetadata.metadatasecurity.properties.AssetAuditHeader;
+import org.odpi.openmetadata.metadatasecurity.properties.OpenMetadataSecurityDecision;
 import org.odpi.openmetadata.metadatasecurity.samples.CocoPharmaPlatformSecurityConnector;
 import org.odpi.openmetadata.metadatasecurity.samples.CocoPharmaPlatformSecurityProvider;
 import org.odpi.openmetadata.metadatasecurity.samples.CocoPharmaServerSecurityConnector;
@@ -22,13 +24,19 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 
 /**
  * OpenMetadataServerSecurityVerifier provides the plug-in point for the open metadata server connector.
  * It supports the same security interfaces, and handles the fact that the security connector is
  * optional.
+ *
+ * The read decisions that are made for every instance returned by a search may be cached if the connector
+ * declares them as cacheable.  The time to live and maximum size of the cache are set with the
+ * decisionCacheTimeToLive (seconds) and decisionCacheSize configuration properties in the connector's connection.
  */
 public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositorySecurity,
                                                            OpenMetadataServerSecurity,
@@ -36,7 +44,19 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
                                                            OpenMetadataConnectionSecurity,
                                                            OpenMetadataAssetSecurity
 {
-    private OpenMetadataServerSecurityConnector connector   = null;
+    /*
+     * Names of the configuration properties read from the security connector's connection.
+     */
+    private static final String decisionCacheTimeToLiveProperty = "decisionCacheTimeToLive";
+    private static final String decisionCacheSizeProperty       = "decisionCacheSize";
+
+    private static final int    defaultDecisionCacheTimeToLive  = 60;
+    private static final int    defaultDecisionCacheSize        = 10000;
+
+    private static final String zoneMembershipPropertyName      = "zoneMembership";
+
+    private OpenMetadataServerSecurityConnector connector     = null;
+    private OpenMetadataSecurityDecisionCache   decisionCache = null;
 
     // Todo remove - temporary workaround to being connectors into class path
     private CocoPharmaServerSecurityConnector   demoObject1 = null;
@@ -73,6 +93,7 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
                                                              serverName,
                                                              auditLog,
                                                              connection);
+            this.decisionCache = this.getDecisionCache(connector, connection);
         }
         catch (InvalidParameterException error)
         {
@@ -140,6 +161,160 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
     }
 
 
+    /**
+     * Create the cache for the connector's decisions.  There is no cache if the connector does not declare
+     * any decisions as cacheable or the time to live is set to zero.
+     *
+     * @param serverSecurityConnector connector (may be null)
+     * @param connection connection from the configuration document
+     * @return decision cache or null
+     */
+    private OpenMetadataSecurityDecisionCache getDecisionCache(OpenMetadataServerSecurityConnector serverSecurityConnector,
+                                                               Connection                          connection)
+    {
+        if (serverSecurityConnector == null)
+        {
+            return null;
+        }
+
+        List<OpenMetadataSecurityDecision> cacheableDecisions = serverSecurityConnector.getCacheableDecisions();
+
+        if ((cacheableDecisions == null) || (cacheableDecisions.isEmpty()))
+        {
+            return null;
+        }
+
+        int                 timeToLive              = defaultDecisionCacheTimeToLive;
+        int                 cacheSize               = defaultDecisionCacheSize;
+        Map<String, Object> configurationProperties = connection.getConfigurationProperties();
+
+        if (configurationProperties != null)
+        {
+            Object propertyValue = configurationProperties.get(decisionCacheTimeToLiveProperty);
+
+            if (propertyValue instanceof Integer)
+            {
+                timeToLive = (Integer)propertyValue;
+            }
+
+            propertyValue = configurationProperties.get(decisionCacheSizeProperty);
+
+            if (propertyValue instanceof Integer)
+            {
+                cacheSize = (Integer)propertyValue;
+            }
+        }
+
+        if ((timeToLive <= 0) || (cacheSize <= 0))
+        {
+            return null;
+        }
+
+        OpenMetadataSecurityDecisionCache decisionCache = new OpenMetadataSecurityDecisionCache(cacheableDecisions,
+                                                                                                timeToLive * 1000L,
+                                                                                                cacheSize);
+        serverSecurityConnector.setDecisionCache(decisionCache);
+
+        return decisionCache;
+    }
+
+
+    /**
+     * Discard all cached security decisions.  This is called when the security configuration has been
+     * reloaded outside of the connector.
+     */
+    public void invalidateDecisionCache()
+    {
+        if (decisionCache != null)
+        {
+            decisionCache.clear();
+        }
+    }
+
+
+    /**
+     * Return the key for a decision if the connector allows it to be cached.
+     *
+     * @param decision type of decision
+     * @param userId calling user
+     * @param scope name of the service or metadata collection
+     * @param typeName name of the type of element
+     * @param zones zones of the element or service
+     * @param isOwner whether the user owns the element
+     * @return key or null if the decision is not cached
+     */
+    private OpenMetadataSecurityDecisionCache.DecisionKey getDecisionKey(OpenMetadataSecurityDecision decision,
+                                                                         String                       userId,
+                                                                         String                       scope,
+                                                                         String                       typeName,
+                                                                         List<String>                 zones,
+                                                                         boolean                      isOwner)
+    {
+        if ((decisionCache != null) && (decisionCache.isCacheable(decision)))
+        {
+            return OpenMetadataSecurityDecisionCache.getKey(decision, userId, scope, typeName, zones, isOwner);
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the name of an instance's type.
+     *
+     * @param instance instance
+     * @return type name or null
+     */
+    private String getTypeName(InstanceHeader instance)
+    {
+        if ((instance != null) && (instance.getType() != null))
+        {
+            return instance.getType().getTypeDefName();
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the zones from an entity's zoneMembership property.
+     *
+     * @param instance entity
+     * @return list of zones or null
+     */
+    private List<String> getZoneMembership(EntityDetail instance)
+    {
+        if ((instance == null) || (instance.getProperties() == null))
+        {
+            return null;
+        }
+
+        InstancePropertyValue propertyValue = instance.getProperties().getPropertyValue(zoneMembershipPropertyName);
+
+        if ((propertyValue instanceof ArrayPropertyValue) && (((ArrayPropertyValue)propertyValue).getArrayValues() != null))
+        {
+            List<String> zones = new ArrayList<>();
+
+            for (InstancePropertyValue arrayValue : ((ArrayPropertyValue)propertyValue).getArrayValues().getInstanceProperties().values())
+            {
+                if (arrayValue instanceof PrimitivePropertyValue)
+                {
+                    Object zone = ((PrimitivePropertyValue)arrayValue).getPrimitiveValue();
+
+                    if (zone != null)
+                    {
+                        zones.add(zone.toString());
+                    }
+                }
+            }
+
+            return zones;
+        }
+
+        return null;
+    }
+
+
     /**
      * Determine the appropriate setting for the supported zones depending on the user and the
      * default supported zones set up for the service.  This is called whenever an asset is accessed.
@@ -159,7 +334,30 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
     {
         if (connector != null)
         {
-            return connector.setSupportedZonesForUser(supportedZones, serviceName, user);
+            OpenMetadataSecurityDecisionCache.DecisionKey key = this.getDecisionKey(OpenMetadataSecurityDecision.SUPPORTED_ZONES,
+                                                                                    user,
+                                                                                    serviceName,
+                                                                                    null,
+                                                                                    supportedZones,
+                                                                                    false);
+            if (key != null)
+            {
+                OpenMetadataSecurityDecisionCache.CachedZones cachedZones = decisionCache.getZones(key);
+
+                if (cachedZones != null)
+                {
+                    return cachedZones.getZones();
+                }
+            }
+
+            List<String> userZones = connector.setSupportedZonesForUser(supportedZones, serviceName, user);
+
+            if (key != null)
+            {
+                decisionCache.setZones(key, userZones);
+            }
+
+            return userZones;
         }
 
         return supportedZones;
@@ -391,7 +589,29 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
     {
         if (connector != null)
         {
+            OpenMetadataSecurityDecisionCache.DecisionKey key = null;
+
+            if (asset != null)
+            {
+                key = this.getDecisionKey(OpenMetadataSecurityDecision.ASSET_READ,
+                                          userId,
+                                          null,
+                                          (asset.getType() == null) ? null : asset.getType().getElementTypeName(),
+                                          asset.getZoneMembership(),
+                                          (userId != null) && (userId.equals(asset.getOwner())));
+            }
+
+            if ((key != null) && (decisionCache.isAllowed(key)))
+            {
+                return;
+            }
+
             connector.validateUserForAssetRead(userId, new Asset(asset));
+
+            if (key != null)
+            {
+                decisionCache.setAllowed(key);
+            }
         }
     }
 
@@ -595,7 +815,29 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
     {
         if (connector != null)
         {
+            OpenMetadataSecurityDecisionCache.DecisionKey key = null;
+
+            if (instance != null)
+            {
+                key = this.getDecisionKey(OpenMetadataSecurityDecision.ENTITY_READ,
+                                          userId,
+                                          metadataCollectionName,
+                                          this.getTypeName(instance),
+                                          this.getZoneMembership(instance),
+                                          false);
+            }
+
+            if ((key != null) && (decisionCache.isAllowed(key)))
+            {
+                return;
+            }
+
             connector.validateUserForEntityRead(userId, metadataCollectionName, new EntityDetail(instance));
+
+            if (key != null)
+            {
+                decisionCache.setAllowed(key);
+            }
         }
     }
 
@@ -731,7 +973,29 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
     {
         if (connector != null)
         {
+            OpenMetadataSecurityDecisionCache.DecisionKey key = null;
+
+            if (instance != null)
+            {
+                key = this.getDecisionKey(OpenMetadataSecurityDecision.RELATIONSHIP_READ,
+                                          userId,
+                                          metadataCollectionName,
+                                          this.getTypeName(instance),
+                                          null,
+                                          false);
+            }
+
+            if ((key != null) && (decisionCache.isAllowed(key)))
+            {
+                return;
+            }
+
             connector.validateUserForRelationshipRead(userId, metadataCollectionName, new Relationship(instance));
+
+            if (key != null)
+            {
+                decisionCache.setAllowed(key);
+            }
         }
     }
 
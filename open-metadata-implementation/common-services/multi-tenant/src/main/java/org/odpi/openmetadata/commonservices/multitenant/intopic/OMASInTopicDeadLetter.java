@@ -0,0 +1,108 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.commonservices.multitenant.intopic;
+
+import java.util.Date;
+
+/**
+ * OMASInTopicDeadLetter records an event from an access service's in topic that could not be decoded or
+ * processed, along with the error that it caused.
+ */
+public class OMASInTopicDeadLetter
+{
+    private String    event;
+    private String    eventTypeName;
+    private Throwable error;
+    private Date      failureTime;
+
+
+    /**
+     * Typical constructor.
+     *
+     * @param event event as received on the topic
+     * @param eventTypeName name of the class of the decoded event or null if it could not be decoded
+     * @param error error that the event caused
+     */
+    public OMASInTopicDeadLetter(String    event,
+                                 String    eventTypeName,
+                                 Throwable error)
+    {
+        this.event = event;
+        this.eventTypeName = eventTypeName;
+        this.error = error;
+        this.failureTime = new Date();
+    }
+
+
+    /**
+     * Return the event as it was received on the topic.
+     *
+     * @return JSON string
+     */
+    public String getEvent()
+    {
+        return event;
+    }
+
+
+    /**
+     * Return the name of the class of the decoded event.  This is null if the event could not be decoded.
+     *
+     * @return class name
+     */
+    public String getEventTypeName()
+    {
+        return eventTypeName;
+    }
+
+
+    /**
+     * Return whether the event was decoded before the error occurred.  If it was not, the error was
+     * caused by the format of the event rather than its processing.
+     *
+     * @return boolean flag
+     */
+    public boolean isDecoded()
+    {
+        return eventTypeName != null;
+    }
+
+
+    /**
+     * Return the error that the event caused.
+     *
+     * @return exception
+     */
+    public Throwable getError()
+    {
+        return error;
+    }
+
+
+    /**
+     * Return the time that the error occurred.
+     *
+     * @return date
+     */
+    public Date getFailureTime()
+    {
+        return failureTime;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "OMASInTopicDeadLetter{" +
+                "event='" + event + '\'' +
+                ", eventTypeName='" + eventTypeName + '\'' +
+                ", error=" + error +
+                ", failureTime=" + failureTime +
+                '}';
+    }
+}
@@ -0,0 +1,19 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.commonservices.multitenant.intopic;
+
+/**
+ * OMASInTopicDeadLetterHandler is implemented by an access service to report the events from its in topic
+ * that could not be decoded or processed.  Typically it writes a message to the audit log using the
+ * access service's own error codes.
+ */
+@FunctionalInterface
+public interface OMASInTopicDeadLetterHandler
+{
+    /**
+     * Report an event that could not be decoded or processed.
+     *
+     * @param deadLetter event and the error that it caused
+     */
+    void processDeadLetter(OMASInTopicDeadLetter deadLetter);
+}
@@ -0,0 +1,22 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.commonservices.multitenant.intopic;
+
+/**
+ * OMASInTopicEventHandler is implemented by an access service for each type of event that it receives on its
+ * in topic.  It is registered with the OMASInTopicListener, which passes it the decoded event.
+ *
+ * @param <E> class of event that the handler processes
+ */
+@FunctionalInterface
+public interface OMASInTopicEventHandler<E>
+{
+    /**
+     * Process an event received on the in topic.  Any exception thrown is counted as a failure in the
+     * metrics for the event type and causes the event to be passed to the dead letter handler.
+     *
+     * @param event decoded event
+     * @throws Exception the event could not be processed
+     */
+    void processEvent(E event) throws Exception;
+}
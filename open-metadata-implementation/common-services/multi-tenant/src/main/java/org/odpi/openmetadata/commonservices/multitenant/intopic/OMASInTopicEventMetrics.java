@@ -0,0 +1,154 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.commonservices.multitenant.intopic;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * OMASInTopicEventMetrics counts the events of one type that an access service has received on its in topic,
+ * along with how many of them have been processed, how many failed and the time spent processing them.
+ * The counts are updated by the OMASInTopicListener as the events are processed.
+ */
+public class OMASInTopicEventMetrics
+{
+    private String     eventTypeName;
+    private AtomicLong receivedCount       = new AtomicLong(0);
+    private AtomicLong processedCount      = new AtomicLong(0);
+    private AtomicLong failedCount         = new AtomicLong(0);
+    private AtomicLong totalProcessingTime = new AtomicLong(0);
+
+
+    /**
+     * Typical constructor.
+     *
+     * @param eventTypeName name of the class of event
+     */
+    OMASInTopicEventMetrics(String eventTypeName)
+    {
+        this.eventTypeName = eventTypeName;
+    }
+
+
+    /**
+     * Record that an event has been received.
+     */
+    void eventReceived()
+    {
+        receivedCount.incrementAndGet();
+    }
+
+
+    /**
+     * Record that an event has been processed successfully.
+     *
+     * @param processingTime time taken in nanoseconds
+     */
+    void eventProcessed(long processingTime)
+    {
+        processedCount.incrementAndGet();
+        totalProcessingTime.addAndGet(processingTime);
+    }
+
+
+    /**
+     * Record that an event could not be decoded or processed.
+     *
+     * @param processingTime time taken in nanoseconds
+     */
+    void eventFailed(long processingTime)
+    {
+        failedCount.incrementAndGet();
+        totalProcessingTime.addAndGet(processingTime);
+    }
+
+
+    /**
+     * Return the name of the class of event.
+     *
+     * @return class name
+     */
+    public String getEventTypeName()
+    {
+        return eventTypeName;
+    }
+
+
+    /**
+     * Return the number of events received.
+     *
+     * @return count
+     */
+    public long getReceivedCount()
+    {
+        return receivedCount.get();
+    }
+
+
+    /**
+     * Return the number of events processed successfully.
+     *
+     * @return count
+     */
+    public long getProcessedCount()
+    {
+        return processedCount.get();
+    }
+
+
+    /**
+     * Return the number of events that could not be decoded or processed.
+     *
+     * @return count
+     */
+    public long getFailedCount()
+    {
+        return failedCount.get();
+    }
+
+
+    /**
+     * Return the total time spent processing the events in milliseconds.
+     *
+     * @return elapsed time
+     */
+    public long getTotalProcessingTimeMillis()
+    {
+        return totalProcessingTime.get() / 1000000;
+    }
+
+
+    /**
+     * Return the average time spent processing an event in milliseconds.
+     *
+     * @return elapsed time
+     */
+    public double getAverageProcessingTimeMillis()
+    {
+        long completedCount = processedCount.get() + failedCount.get();
+
+        if (completedCount == 0)
+        {
+            return 0;
+        }
+
+        return totalProcessingTime.get() / 1000000.0 / completedCount;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "OMASInTopicEventMetrics{" +
+                "eventTypeName='" + eventTypeName + '\'' +
+                ", receivedCount=" + receivedCount +
+                ", processedCount=" + processedCount +
+                ", failedCount=" + failedCount +
+                ", totalProcessingTimeMillis=" + getTotalProcessingTimeMillis() +
+                '}';
+    }
+}
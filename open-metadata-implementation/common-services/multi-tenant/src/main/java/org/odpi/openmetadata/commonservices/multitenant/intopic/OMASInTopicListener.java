@@ -0,0 +1,373 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.commonservices.multitenant.intopic;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * OMASInTopicListener provides the common processing of the events that an access service receives on its
+ * in topic.  Each event is decoded once into the access service's event header class.  The header class
+ * carries the Jackson polymorphic type information for its subclasses so the result is an instance of the
+ * concrete event class.  The event is then passed to the handler registered for its class.
+ *
+ * The handlers run on a bounded pool of threads owned by the listener.  When all of the threads are busy
+ * and the queue of waiting events is full, the topic connector is held until there is room.  With a single
+ * thread the events are processed in the order they are received.
+ *
+ * The listener counts the events of each type that are received, processed and failed, along with the
+ * time spent processing them.  Events that can not be decoded or processed are kept in a short list of
+ * dead letters and passed to the access service's dead letter handler for reporting.
+ *
+ * @param <H> class of the event header that all events on the topic extend
+ */
+public class OMASInTopicListener<H> implements OpenMetadataTopicListener
+{
+    private static final Logger       log                   = LoggerFactory.getLogger(OMASInTopicListener.class);
+    private static final ObjectMapper OBJECT_MAPPER         = new ObjectMapper();
+    private static final int          deadLetterCapacity    = 100;
+    private static final int          queuedEventsPerThread = 10;
+    private static final long         queueWaitInterval     = 100;
+
+    private String                                         serviceName;
+    private Class<H>                                       eventHeaderClass;
+    private OMASInTopicDeadLetterHandler                   deadLetterHandler = null;
+    private ThreadPoolExecutor                             executor;
+    private Map<Class<?>, OMASInTopicEventHandler<?>>      eventHandlers = new ConcurrentHashMap<>();
+    private Map<String, OMASInTopicEventMetrics>           eventMetrics  = new ConcurrentHashMap<>();
+    private final Deque<OMASInTopicDeadLetter>             deadLetters   = new ArrayDeque<>();
+
+
+    /**
+     * Typical constructor.
+     *
+     * @param serviceName name of the access service
+     * @param eventHeaderClass class of the event header that all events on the topic extend
+     * @param maxConcurrentEvents number of events that are processed at the same time.  Zero means the
+     *                            events are processed on the topic connector's thread.
+     */
+    public OMASInTopicListener(String   serviceName,
+                               Class<H> eventHeaderClass,
+                               int      maxConcurrentEvents)
+    {
+        this.serviceName = serviceName;
+        this.eventHeaderClass = eventHeaderClass;
+
+        if (maxConcurrentEvents > 0)
+        {
+            final AtomicInteger threadCount = new AtomicInteger(0);
+
+            this.executor = new ThreadPoolExecutor(maxConcurrentEvents,
+                                                   maxConcurrentEvents,
+                                                   60,
+                                                   TimeUnit.SECONDS,
+                                                   new LinkedBlockingQueue<>(maxConcurrentEvents * queuedEventsPerThread),
+                                                   (runnable) ->
+                                                   {
+                                                       Thread thread = new Thread(runnable, serviceName + "InTopic-" + threadCount.incrementAndGet());
+
+                                                       thread.setDaemon(true);
+
+                                                       return thread;
+                                                   },
+                                                   this::waitForQueueSpace);
+            this.executor.allowCoreThreadTimeOut(true);
+        }
+    }
+
+
+    /**
+     * Register the handler for a class of event.  Events of subclasses of this class that have no handler
+     * of their own are also passed to this handler.
+     *
+     * @param eventClass class of event
+     * @param eventHandler handler to process the events
+     * @param <E> class of event
+     */
+    public <E extends H> void registerEventHandler(Class<E>                   eventClass,
+                                                   OMASInTopicEventHandler<E> eventHandler)
+    {
+        eventHandlers.put(eventClass, eventHandler);
+    }
+
+
+    /**
+     * Register the handler that reports the events that can not be decoded or processed.
+     *
+     * @param deadLetterHandler dead letter handler
+     */
+    public void registerDeadLetterHandler(OMASInTopicDeadLetterHandler deadLetterHandler)
+    {
+        this.deadLetterHandler = deadLetterHandler;
+    }
+
+
+    /**
+     * Decode an event received on the topic and pass it to the handler for its class.
+     *
+     * @param event inbound event
+     */
+    @Override
+    public void processEvent(String event)
+    {
+        if (event == null)
+        {
+            log.debug("Null event received by " + serviceName + " in topic listener - ignoring event");
+            return;
+        }
+
+        long startTime = System.nanoTime();
+        H    eventObject;
+
+        try
+        {
+            eventObject = OBJECT_MAPPER.readValue(event, eventHeaderClass);
+        }
+        catch (Throwable error)
+        {
+            OMASInTopicEventMetrics metrics = this.getMetrics(eventHeaderClass.getSimpleName());
+
+            metrics.eventReceived();
+            metrics.eventFailed(System.nanoTime() - startTime);
+            this.addDeadLetter(new OMASInTopicDeadLetter(event, null, error));
+            return;
+        }
+
+        if (eventObject == null)
+        {
+            log.debug("Empty event received by " + serviceName + " in topic listener - ignoring event");
+            return;
+        }
+
+        OMASInTopicEventHandler<H> eventHandler = this.getEventHandler(eventObject.getClass());
+
+        if (eventHandler == null)
+        {
+            log.debug("No handler for " + eventObject.getClass().getSimpleName() + " in " + serviceName + " in topic listener - ignoring event");
+            return;
+        }
+
+        OMASInTopicEventMetrics metrics = this.getMetrics(eventObject.getClass().getSimpleName());
+
+        metrics.eventReceived();
+
+        if (executor == null)
+        {
+            this.dispatchEvent(event, eventObject, eventHandler, metrics);
+        }
+        else
+        {
+            try
+            {
+                executor.execute(() -> this.dispatchEvent(event, eventObject, eventHandler, metrics));
+            }
+            catch (RejectedExecutionException error)
+            {
+                metrics.eventFailed(0);
+                this.addDeadLetter(new OMASInTopicDeadLetter(event, eventObject.getClass().getSimpleName(), error));
+            }
+        }
+    }
+
+
+    /**
+     * Called by the pool when all of its threads are busy and its queue is full.  The topic connector is held
+     * until there is room in the queue.  The queue is added to directly, which bypasses the pool's own check
+     * for shutdown, so the check is repeated while waiting and after the event is queued.  Once the pool is
+     * shut down its threads may have finished with the queue, so the event is rejected and passed to the
+     * dead letter path by processEvent.
+     *
+     * @param runnable task that processes the event
+     * @param pool pool that rejected the task
+     * @throws RejectedExecutionException the pool is shut down or the topic connector's thread is interrupted
+     */
+    private void waitForQueueSpace(Runnable           runnable,
+                                   ThreadPoolExecutor pool) throws RejectedExecutionException
+    {
+        try
+        {
+            while (! pool.isShutdown())
+            {
+                if (pool.getQueue().offer(runnable, queueWaitInterval, TimeUnit.MILLISECONDS))
+                {
+                    /*
+                     * If the event has already been taken from the queue then it is being processed.
+                     */
+                    if ((! pool.isShutdown()) || (! pool.getQueue().remove(runnable)))
+                    {
+                        return;
+                    }
+
+                    break;
+                }
+            }
+        }
+        catch (InterruptedException error)
+        {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException(error);
+        }
+
+        throw new RejectedExecutionException(serviceName + " in topic listener is shut down");
+    }
+
+
+    /**
+     * Pass a decoded event to its handler and record the outcome.
+     *
+     * @param event event as received on the topic
+     * @param eventObject decoded event
+     * @param eventHandler handler for the event's class
+     * @param metrics metrics for the event's class
+     */
+    private void dispatchEvent(String                     event,
+                               H                          eventObject,
+                               OMASInTopicEventHandler<H> eventHandler,
+                               OMASInTopicEventMetrics    metrics)
+    {
+        long startTime = System.nanoTime();
+
+        try
+        {
+            eventHandler.processEvent(eventObject);
+            metrics.eventProcessed(System.nanoTime() - startTime);
+        }
+        catch (Throwable error)
+        {
+            log.debug("Exception processing event from " + serviceName + " in topic", error);
+
+            metrics.eventFailed(System.nanoTime() - startTime);
+            this.addDeadLetter(new OMASInTopicDeadLetter(event, eventObject.getClass().getSimpleName(), error));
+        }
+    }
+
+
+    /**
+     * Return the handler for a class of event.  If there is no handler for the class itself, the handler
+     * for its nearest superclass is used.
+     *
+     * @param eventClass class of the decoded event
+     * @return handler or null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    private OMASInTopicEventHandler<H> getEventHandler(Class<?> eventClass)
+    {
+        Class<?> handledClass = eventClass;
+
+        while (handledClass != null)
+        {
+            OMASInTopicEventHandler<?> eventHandler = eventHandlers.get(handledClass);
+
+            if (eventHandler != null)
+            {
+                return (OMASInTopicEventHandler<H>) eventHandler;
+            }
+
+            handledClass = handledClass.getSuperclass();
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the metrics for a class of event, creating them if this is the first event of the class.
+     *
+     * @param eventTypeName name of the class of event
+     * @return metrics
+     */
+    private OMASInTopicEventMetrics getMetrics(String eventTypeName)
+    {
+        return eventMetrics.computeIfAbsent(eventTypeName, OMASInTopicEventMetrics::new);
+    }
+
+
+    /**
+     * Save a dead letter and pass it to the dead letter handler.  Only the most recent dead letters are kept.
+     *
+     * @param deadLetter event and the error that it caused
+     */
+    private void addDeadLetter(OMASInTopicDeadLetter deadLetter)
+    {
+        synchronized (deadLetters)
+        {
+            if (deadLetters.size() == deadLetterCapacity)
+            {
+                deadLetters.removeFirst();
+            }
+
+            deadLetters.addLast(deadLetter);
+        }
+
+        if (deadLetterHandler != null)
+        {
+            try
+            {
+                deadLetterHandler.processDeadLetter(deadLetter);
+            }
+            catch (Throwable error)
+            {
+                log.error("Dead letter handler for " + serviceName + " in topic failed", error);
+            }
+        }
+    }
+
+
+    /**
+     * Return the metrics for each class of event received on the topic, sorted by class name.
+     *
+     * @return map of class name to metrics
+     */
+    public Map<String, OMASInTopicEventMetrics> getEventMetrics()
+    {
+        return new TreeMap<>(eventMetrics);
+    }
+
+
+    /**
+     * Return the most recent events that could not be decoded or processed, oldest first.
+     *
+     * @return list of dead letters
+     */
+    public List<OMASInTopicDeadLetter> getDeadLetters()
+    {
+        synchronized (deadLetters)
+        {
+            return new ArrayList<>(deadLetters);
+        }
+    }
+
+
+    /**
+     * Stop accepting events.  The events that have already been received are processed before the
+     * threads end.  If the listener has a pool, any event received after this call is passed to the dead
+     * letter handler.  The metrics for each type of event are written to the log.
+     */
+    public void shutdown()
+    {
+        if (executor != null)
+        {
+            executor.shutdown();
+        }
+
+        for (OMASInTopicEventMetrics metrics : this.getEventMetrics().values())
+        {
+            log.info(serviceName + " in topic: " + metrics);
+        }
+    }
+}
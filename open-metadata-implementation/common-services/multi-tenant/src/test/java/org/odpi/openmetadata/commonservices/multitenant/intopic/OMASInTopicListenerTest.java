@@ -0,0 +1,300 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.commonservices.multitenant.intopic;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests that the in topic listener decodes each event into its concrete class, passes it to the right
+ * handler, processes events concurrently on its pool, keeps a bounded list of dead letters and counts
+ * the events of each type.
+ */
+public class OMASInTopicListenerTest
+{
+    private static final String serviceName = "TestOMAS";
+
+
+    /**
+     * Event header for the test events.  The class property selects the concrete event class.
+     */
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "class")
+    @JsonSubTypes(
+            {
+                    @JsonSubTypes.Type(value = TestEventA.class, name = "TestEventA"),
+                    @JsonSubTypes.Type(value = TestEventB.class, name = "TestEventB")
+            })
+    public static class TestEventHeader
+    {
+        private String value = null;
+
+        public String getValue()
+        {
+            return value;
+        }
+
+        public void setValue(String value)
+        {
+            this.value = value;
+        }
+    }
+
+
+    public static class TestEventA extends TestEventHeader
+    {
+    }
+
+
+    public static class TestEventB extends TestEventHeader
+    {
+    }
+
+
+    @Test
+    public void testDecoding()
+    {
+        OMASInTopicListener<TestEventHeader> listener = new OMASInTopicListener<>(serviceName, TestEventHeader.class, 0);
+
+        List<TestEventA>      eventAs = Collections.synchronizedList(new ArrayList<>());
+        List<TestEventHeader> others  = Collections.synchronizedList(new ArrayList<>());
+
+        listener.registerEventHandler(TestEventA.class, eventAs::add);
+        listener.registerEventHandler(TestEventHeader.class, others::add);
+
+        listener.processEvent(getEvent("TestEventA", "a1"));
+        listener.processEvent(getEvent("TestEventB", "b1"));
+        listener.processEvent(getEvent("TestEventA", "a2"));
+        listener.processEvent("{ not json");
+        listener.processEvent(null);
+
+        assertEquals(eventAs.size(), 2);
+        assertEquals(eventAs.get(0).getValue(), "a1");
+        assertEquals(eventAs.get(1).getValue(), "a2");
+
+        /*
+         * There is no handler for TestEventB so the handler for its superclass is used.
+         */
+        assertEquals(others.size(), 1);
+        assertTrue(others.get(0) instanceof TestEventB);
+        assertEquals(others.get(0).getValue(), "b1");
+
+        List<OMASInTopicDeadLetter> deadLetters = listener.getDeadLetters();
+
+        assertEquals(deadLetters.size(), 1);
+        assertFalse(deadLetters.get(0).isDecoded());
+        assertEquals(deadLetters.get(0).getEvent(), "{ not json");
+
+        OMASInTopicEventMetrics headerMetrics = listener.getEventMetrics().get("TestEventHeader");
+
+        assertEquals(headerMetrics.getReceivedCount(), 1);
+        assertEquals(headerMetrics.getFailedCount(), 1);
+        assertEquals(headerMetrics.getProcessedCount(), 0);
+    }
+
+
+    @Test
+    public void testMetrics()
+    {
+        OMASInTopicListener<TestEventHeader> listener = new OMASInTopicListener<>(serviceName, TestEventHeader.class, 0);
+
+        listener.registerEventHandler(TestEventA.class, (event) -> { });
+        listener.registerEventHandler(TestEventB.class, (event) ->
+        {
+            if ("fail".equals(event.getValue()))
+            {
+                throw new IllegalStateException("Test failure");
+            }
+        });
+
+        for (int i = 0; i < 5; i++)
+        {
+            listener.processEvent(getEvent("TestEventA", "a" + i));
+        }
+
+        listener.processEvent(getEvent("TestEventB", "b"));
+        listener.processEvent(getEvent("TestEventB", "fail"));
+        listener.processEvent(getEvent("TestEventB", "fail"));
+
+        OMASInTopicEventMetrics metricsA = listener.getEventMetrics().get("TestEventA");
+        OMASInTopicEventMetrics metricsB = listener.getEventMetrics().get("TestEventB");
+
+        assertEquals(metricsA.getReceivedCount(), 5);
+        assertEquals(metricsA.getProcessedCount(), 5);
+        assertEquals(metricsA.getFailedCount(), 0);
+
+        assertEquals(metricsB.getReceivedCount(), 3);
+        assertEquals(metricsB.getProcessedCount(), 1);
+        assertEquals(metricsB.getFailedCount(), 2);
+
+        assertNull(listener.getEventMetrics().get("TestEventHeader"));
+
+        List<OMASInTopicDeadLetter> deadLetters = listener.getDeadLetters();
+
+        assertEquals(deadLetters.size(), 2);
+        assertTrue(deadLetters.get(0).isDecoded());
+        assertEquals(deadLetters.get(0).getEventTypeName(), "TestEventB");
+        assertTrue(deadLetters.get(0).getError() instanceof IllegalStateException);
+    }
+
+
+    @Test
+    public void testDeadLetterCapacity()
+    {
+        OMASInTopicListener<TestEventHeader> listener = new OMASInTopicListener<>(serviceName, TestEventHeader.class, 0);
+        AtomicInteger                        reported = new AtomicInteger(0);
+
+        listener.registerEventHandler(TestEventA.class, (event) ->
+        {
+            throw new IllegalStateException(event.getValue());
+        });
+        listener.registerDeadLetterHandler((deadLetter) -> reported.incrementAndGet());
+
+        for (int i = 0; i < 150; i++)
+        {
+            listener.processEvent(getEvent("TestEventA", Integer.toString(i)));
+        }
+
+        List<OMASInTopicDeadLetter> deadLetters = listener.getDeadLetters();
+
+        /*
+         * Every dead letter is reported but only the most recent 100 are kept, oldest first.
+         */
+        assertEquals(reported.get(), 150);
+        assertEquals(deadLetters.size(), 100);
+        assertEquals(deadLetters.get(0).getError().getMessage(), "50");
+        assertEquals(deadLetters.get(99).getError().getMessage(), "149");
+        assertEquals(listener.getEventMetrics().get("TestEventA").getFailedCount(), 150);
+    }
+
+
+    @Test
+    public void testConcurrentDispatch() throws Exception
+    {
+        final int concurrency = 4;
+        final int eventCount  = 40;
+
+        OMASInTopicListener<TestEventHeader> listener = new OMASInTopicListener<>(serviceName, TestEventHeader.class, concurrency);
+        CyclicBarrier                        barrier  = new CyclicBarrier(concurrency);
+        List<String>                         threads  = Collections.synchronizedList(new ArrayList<>());
+
+        /*
+         * The barrier only opens when the pool's threads are all processing an event at the same time.
+         */
+        listener.registerEventHandler(TestEventA.class, (event) ->
+        {
+            threads.add(Thread.currentThread().getName());
+            barrier.await(10, TimeUnit.SECONDS);
+        });
+
+        for (int i = 0; i < eventCount; i++)
+        {
+            listener.processEvent(getEvent("TestEventA", Integer.toString(i)));
+        }
+
+        OMASInTopicEventMetrics metrics = listener.getEventMetrics().get("TestEventA");
+
+        waitForCompletion(metrics, eventCount);
+
+        assertEquals(metrics.getReceivedCount(), eventCount);
+        assertEquals(metrics.getProcessedCount(), eventCount);
+        assertEquals(metrics.getFailedCount(), 0);
+        assertTrue(listener.getDeadLetters().isEmpty());
+        assertFalse(threads.contains(Thread.currentThread().getName()));
+        assertEquals(threads.stream().distinct().count(), concurrency);
+
+        listener.shutdown();
+    }
+
+
+    @Test
+    public void testShutdownReleasesWaitingEvent() throws Exception
+    {
+        OMASInTopicListener<TestEventHeader> listener = new OMASInTopicListener<>(serviceName, TestEventHeader.class, 1);
+        CountDownLatch                       started  = new CountDownLatch(1);
+        CountDownLatch                       release  = new CountDownLatch(1);
+
+        listener.registerEventHandler(TestEventA.class, (event) ->
+        {
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+        });
+
+        /*
+         * One event is processed and ten fill the queue.
+         */
+        listener.processEvent(getEvent("TestEventA", "running"));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        for (int i = 0; i < 10; i++)
+        {
+            listener.processEvent(getEvent("TestEventA", "queued" + i));
+        }
+
+        /*
+         * The next event holds the topic connector's thread until there is room in the queue.
+         */
+        Thread topicThread = new Thread(() -> listener.processEvent(getEvent("TestEventA", "waiting")));
+
+        topicThread.start();
+        topicThread.join(500);
+        assertTrue(topicThread.isAlive());
+
+        listener.shutdown();
+
+        topicThread.join(10000);
+        assertFalse(topicThread.isAlive());
+
+        release.countDown();
+
+        OMASInTopicEventMetrics metrics = listener.getEventMetrics().get("TestEventA");
+
+        waitForCompletion(metrics, 12);
+
+        assertEquals(metrics.getReceivedCount(), 12);
+        assertEquals(metrics.getProcessedCount(), 11);
+        assertEquals(metrics.getFailedCount(), 1);
+        assertEquals(listener.getDeadLetters().size(), 1);
+        assertTrue(listener.getDeadLetters().get(0).getEvent().contains("waiting"));
+
+        /*
+         * Events received after shutdown go straight to the dead letters.
+         */
+        listener.processEvent(getEvent("TestEventA", "late"));
+
+        assertEquals(metrics.getFailedCount(), 2);
+        assertEquals(listener.getDeadLetters().size(), 2);
+    }
+
+
+    private void waitForCompletion(OMASInTopicEventMetrics metrics,
+                                   long                    eventCount) throws InterruptedException
+    {
+        long endTime = System.currentTimeMillis() + 10000;
+
+        while ((metrics.getProcessedCount() + metrics.getFailedCount() < eventCount) && (System.currentTimeMillis() < endTime))
+        {
+            Thread.sleep(10);
+        }
+    }
+
+
+    private String getEvent(String className,
+                            String value)
+    {
+        return "{\"class\":\"" + className + "\",\"value\":\"" + value + "\"}";
+    }
+}
@@ -199,7 +199,7 @@ public class AssetConverter extends ReferenceableConverter
     {
         OwnerType ownerType = OwnerType.OTHER;
 
-        if (properties != null)
+        if ((properties != null) && (properties.getInstanceProperties() != null))
         {
             Map<String, InstancePropertyValue> instancePropertiesMap = properties.getInstanceProperties();
 
@@ -240,7 +240,7 @@ public class AssetConverter extends ReferenceableConverter
     {
         OwnerType ownerType = this.getOwnerTypeFromProperties(properties);
 
-        if (properties != null)
+        if ((properties != null) && (properties.getInstanceProperties() != null))
         {
             Map<String, InstancePropertyValue> instancePropertiesMap = properties.getInstanceProperties();
 
@@ -19,7 +19,9 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -51,6 +53,19 @@ public class AssetHandler
 
     private OpenMetadataServerSecurityVerifier securityVerifier = new OpenMetadataServerSecurityVerifier();
 
+    /*
+     * Repository offsets where the next page of a zone scan starts, keyed by the scan and its startFrom.
+     * Only the most recently used cursors are kept.
+     */
+    private static final int           maxZoneScanCursors = 100;
+    private final Map<String, Integer> zoneScanCursors    = new LinkedHashMap<String, Integer>(16, 0.75f, true)
+    {
+        protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest)
+        {
+            return size() > maxZoneScanCursors;
+        }
+    };
+
     protected List<String>            supportedZones;
     protected List<String>            defaultZones;
 
@@ -2022,13 +2037,24 @@ public class AssetHandler
             typeName = subTypeName;
         }
 
+        /*
+         * The supported zones are passed to the repository so that it only returns assets this user can see.
+         */
+        List<String> zonesForVisibleAssets = this.getSupportedZones(userId, serviceName);
+
         List<Asset>  results = new ArrayList<>();
         boolean      moreResultsAvailable = true;
         int          startNextQueryFrom = startFrom;
 
         while (moreResultsAvailable && (results.size() < pageSize))
         {
-            List<EntityDetail> retrievedEntities = repositoryHandler.getEntitiesForType(userId, typeGUID, typeName, startFrom, pageSize, methodName);
+            List<EntityDetail> retrievedEntities = repositoryHandler.getEntitiesForType(userId,
+                                                                                        typeGUID,
+                                                                                        typeName,
+                                                                                        zonesForVisibleAssets,
+                                                                                        startNextQueryFrom,
+                                                                                        pageSize,
+                                                                                        methodName);
 
             if (retrievedEntities != null)
             {
@@ -2062,11 +2088,18 @@ public class AssetHandler
      * Scan through the repository looking for assets by type and/or zone.  The zone and/or type name
      * may be null which means, all assets will be returned.
      *
+     * The repository also returns the assets that are not in any zone, since they are visible through every
+     * zone.  These are skipped, so startFrom counts only the assets that are members of the zone and each page
+     * is filled before it is returned.  Because of this, startFrom can not be passed to the repository as its
+     * offset.  When a full page is returned, the repository offset of the asset after it is kept as a cursor,
+     * so the request for the following page carries on from there.  A request that does not follow on from an
+     * earlier page (or whose cursor has been evicted) has to count the members from the start of the results.
+     *
      * @param userId calling user
      * @param zoneName name of zone to scan
      * @param subTypeGUID type of asset to scan for (null for all asset types)
      * @param subTypeName type of asset to scan for (null for all asset types)
-     * @param startFrom scan pointer
+     * @param startFrom number of members of the zone to skip
      * @param pageSize maximum number of results
      * @param methodName calling method
      * @return list of matching assets
@@ -2106,17 +2139,34 @@ public class AssetHandler
         {
             List<Asset>  results = new ArrayList<>();
             boolean      moreResultsAvailable = true;
-            int          startNextQueryFrom = startFrom;
+            int          startNextQueryFrom = 0;
+            int          membersToSkip = startFrom;
+            int          nextPageQueryFrom = 0;
+            Integer      cursor = this.getZoneScanCursor(userId, zoneName, typeGUID, startFrom);
+
+            if (cursor != null)
+            {
+                startNextQueryFrom = cursor;
+                membersToSkip = 0;
+            }
 
             while (moreResultsAvailable && (results.size() < pageSize))
             {
-                List<EntityDetail> retrievedEntities = repositoryHandler.getEntitiesForType(userId, typeGUID, typeName, startFrom, pageSize, methodName);
+                List<EntityDetail> retrievedEntities = repositoryHandler.getEntitiesForType(userId,
+                                                                                            typeGUID,
+                                                                                            typeName,
+                                                                                            Collections.singletonList(zoneName),
+                                                                                            startNextQueryFrom,
+                                                                                            pageSize,
+                                                                                            methodName);
 
                 if (retrievedEntities != null)
                 {
-                    for (EntityDetail entity : retrievedEntities)
+                    for (int i = 0; (i < retrievedEntities.size()) && (results.size() < pageSize); i++)
                     {
-                        if ((entity != null) && (results.size() < pageSize))
+                        EntityDetail entity = retrievedEntities.get(i);
+
+                        if (entity != null)
                         {
                             AssetConverter  converter = new AssetConverter(entity, null, repositoryHelper, serviceName);
                             Asset           asset = converter.getAssetBean();
@@ -2124,7 +2174,15 @@ public class AssetHandler
 
                             if ((assetZones != null) && (assetZones.contains(zoneName)))
                             {
-                                results.add(asset);
+                                if (membersToSkip > 0)
+                                {
+                                    membersToSkip--;
+                                }
+                                else
+                                {
+                                    results.add(asset);
+                                    nextPageQueryFrom = startNextQueryFrom + i + 1;
+                                }
                             }
                         }
                     }
@@ -2138,6 +2196,11 @@ public class AssetHandler
                 }
             }
 
+            if (results.size() == pageSize)
+            {
+                this.setZoneScanCursor(userId, zoneName, typeGUID, startFrom + pageSize, nextPageQueryFrom);
+            }
+
             if (! results.isEmpty())
             {
                 return results;
@@ -2148,6 +2211,54 @@ public class AssetHandler
     }
 
 
+    /**
+     * Return the repository offset where an earlier zone scan left off, if this scan follows on from it.
+     *
+     * @param userId calling user
+     * @param zoneName name of zone to scan
+     * @param typeGUID type of asset to scan for
+     * @param startFrom number of members of the zone to skip
+     * @return repository offset of the next member of the zone or null if there is no cursor
+     */
+    private Integer getZoneScanCursor(String   userId,
+                                      String   zoneName,
+                                      String   typeGUID,
+                                      int      startFrom)
+    {
+        if (startFrom == 0)
+        {
+            return 0;
+        }
+
+        synchronized (zoneScanCursors)
+        {
+            return zoneScanCursors.get(userId + ":" + zoneName + ":" + typeGUID + ":" + startFrom);
+        }
+    }
+
+
+    /**
+     * Remember where the next page of a zone scan starts in the repository results.
+     *
+     * @param userId calling user
+     * @param zoneName name of zone to scan
+     * @param typeGUID type of asset to scan for
+     * @param startFrom number of members of the zone that the next page skips
+     * @param queryFrom repository offset of the next member of the zone
+     */
+    private void setZoneScanCursor(String   userId,
+                                   String   zoneName,
+                                   String   typeGUID,
+                                   int      startFrom,
+                                   int      queryFrom)
+    {
+        synchronized (zoneScanCursors)
+        {
+            zoneScanCursors.put(userId + ":" + zoneName + ":" + typeGUID + ":" + startFrom, queryFrom);
+        }
+    }
+
+
     /**
      * Return a list of assets with the requested name.
      *
@@ -2182,6 +2293,8 @@ public class AssetHandler
                                                 serviceName,
                                                 serverName);
 
+        List<String> zonesForVisibleAssets = this.getSupportedZones(userId, serviceName);
+
         List<Asset>  results = new ArrayList<>();
         boolean      moreResultsAvailable = true;
         int          startNextQueryFrom = startFrom;
@@ -2191,7 +2304,8 @@ public class AssetHandler
             List<EntityDetail> retrievedEntities = repositoryHandler.getEntitiesByName(userId,
                                                                                        builder.getQualifiedNameInstanceProperties(methodName),
                                                                                        AssetMapper.ASSET_TYPE_GUID,
-                                                                                       startFrom,
+                                                                                       zonesForVisibleAssets,
+                                                                                       startNextQueryFrom,
                                                                                        pageSize,
                                                                                        methodName);
             if (retrievedEntities == null)
@@ -2199,7 +2313,8 @@ public class AssetHandler
                 retrievedEntities = repositoryHandler.getEntitiesByName(userId,
                                                                         builder.getNameInstanceProperties(methodName),
                                                                         AssetMapper.ASSET_TYPE_GUID,
-                                                                        startFrom,
+                                                                        zonesForVisibleAssets,
+                                                                        startNextQueryFrom,
                                                                         pageSize,
                                                                         methodName);
             }
@@ -2268,6 +2383,8 @@ public class AssetHandler
                                                 serviceName,
                                                 serverName);
 
+        List<String> zonesForVisibleAssets = this.getSupportedZones(userId, serviceName);
+
         List<Asset>  results = new ArrayList<>();
         boolean      moreResultsAvailable = true;
         int          startNextQueryFrom = startFrom;
@@ -2277,6 +2394,7 @@ public class AssetHandler
             List<EntityDetail> retrievedEntities = repositoryHandler.getEntitiesByName(userId,
                                                                                        builder.getSearchInstanceProperties(methodName),
                                                                                        AssetMapper.ASSET_TYPE_GUID,
+                                                                                       zonesForVisibleAssets,
                                                                                        startNextQueryFrom,
                                                                                        pageSize,
                                                                                        methodName);
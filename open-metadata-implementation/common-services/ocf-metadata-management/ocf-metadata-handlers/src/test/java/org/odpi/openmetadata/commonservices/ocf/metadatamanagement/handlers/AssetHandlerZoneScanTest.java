@@ -0,0 +1,265 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.commonservices.ocf.metadatamanagement.handlers;
+
+import org.odpi.openmetadata.commonservices.ffdc.InvalidParameterHandler;
+import org.odpi.openmetadata.commonservices.repositoryhandler.RepositoryHandler;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Asset;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Tests that assetZoneScan skips the assets that have no zones, so each page is filled with members of the
+ * zone and the pages follow on from one another.
+ */
+public class AssetHandlerZoneScanTest
+{
+    private static final String serviceName = "testService";
+    private static final String userId      = "testUser";
+    private static final String zoneName    = "zone1";
+
+    private OMRSRepositoryHelper repositoryHelper;
+
+
+    /**
+     * The converter only needs the qualified name and zones from the asset's properties.  They are stored
+     * as string properties named after the Asset properties and the zones are joined with commas.
+     */
+    @BeforeMethod
+    public void setUpRepositoryHelper()
+    {
+        repositoryHelper = mock(OMRSRepositoryHelper.class);
+
+        when(repositoryHelper.removeStringProperty(anyString(), eq("qualifiedName"), any(), anyString())).thenAnswer(
+                invocation -> getStringValue(invocation.getArgument(2), "qualifiedName"));
+        when(repositoryHelper.removeStringArrayProperty(anyString(), eq("zoneMembership"), any(), anyString())).thenAnswer(
+                invocation ->
+                {
+                    String zones = getStringValue(invocation.getArgument(2), "zoneMembership");
+
+                    return (zones == null) ? null : Arrays.asList(zones.split(","));
+                });
+    }
+
+
+    /**
+     * Repository handler that returns the assets visible through the requested zones in a fixed order,
+     * recording the number of requests.
+     */
+    private class TestRepositoryHandler extends RepositoryHandler
+    {
+        private List<List<String>> assetZones;
+        private int                requestCount = 0;
+        private List<Integer>      startingFroms = new ArrayList<>();
+
+
+        TestRepositoryHandler(List<List<String>> assetZones)
+        {
+            super(null, null, null, 100);
+
+            this.assetZones = assetZones;
+        }
+
+
+        @Override
+        public List<EntityDetail> getEntitiesForType(String       userId,
+                                                     String       entityTypeGUID,
+                                                     String       entityTypeName,
+                                                     List<String> limitResultsByZone,
+                                                     int          startingFrom,
+                                                     int          pageSize,
+                                                     String       methodName)
+        {
+            List<EntityDetail> visibleEntities = new ArrayList<>();
+
+            requestCount++;
+            startingFroms.add(startingFrom);
+
+            for (int i = 0; i < assetZones.size(); i++)
+            {
+                List<String> zones = assetZones.get(i);
+
+                if ((zones == null) || (! Collections.disjoint(zones, limitResultsByZone)))
+                {
+                    visibleEntities.add(getAsset(i, zones));
+                }
+            }
+
+            if (startingFrom >= visibleEntities.size())
+            {
+                return null;
+            }
+
+            return visibleEntities.subList(startingFrom, Math.min(startingFrom + pageSize, visibleEntities.size()));
+        }
+    }
+
+
+    @Test
+    public void testFullPages() throws Exception
+    {
+        /*
+         * Assets 0-9; the even ones are members of zone1, the ones divisible by 3 have no zones.
+         */
+        List<List<String>> assetZones = new ArrayList<>();
+
+        for (int i = 0; i < 10; i++)
+        {
+            if (i % 2 == 0)
+            {
+                assetZones.add(Arrays.asList(zoneName, "zone2"));
+            }
+            else if (i % 3 == 0)
+            {
+                assetZones.add(null);
+            }
+            else
+            {
+                assetZones.add(Collections.singletonList("zone2"));
+            }
+        }
+
+        TestRepositoryHandler repositoryHandler = new TestRepositoryHandler(assetZones);
+        AssetHandler          assetHandler      = getAssetHandler(repositoryHandler);
+
+        List<Asset> firstPage = assetHandler.assetZoneScan(userId, zoneName, null, null, 0, 3, "testFullPages");
+
+        assertEquals(getQualifiedNames(firstPage), Arrays.asList("asset-0", "asset-2", "asset-4"));
+        assertEquals(repositoryHandler.requestCount, 2);
+
+        /*
+         * The second page carries on from the asset after asset-4 rather than counting the members again.
+         */
+        repositoryHandler.startingFroms.clear();
+
+        List<Asset> secondPage = assetHandler.assetZoneScan(userId, zoneName, null, null, 3, 3, "testFullPages");
+
+        assertEquals(getQualifiedNames(secondPage), Arrays.asList("asset-6", "asset-8"));
+        assertEquals(repositoryHandler.startingFroms, Arrays.asList(4, 7));
+        assertNull(assetHandler.assetZoneScan(userId, zoneName, null, null, 5, 3, "testFullPages"));
+
+        /*
+         * A page that does not follow on from an earlier one counts the members from the start.
+         */
+        repositoryHandler.startingFroms.clear();
+
+        List<Asset> otherPage = assetHandler.assetZoneScan(userId, zoneName, null, null, 1, 2, "testFullPages");
+
+        assertEquals(getQualifiedNames(otherPage), Arrays.asList("asset-2", "asset-4"));
+        assertEquals(repositoryHandler.startingFroms, Arrays.asList(0, 2));
+    }
+
+
+    @Test
+    public void testUnsupportedZone() throws Exception
+    {
+        AssetHandler assetHandler = getAssetHandler(new TestRepositoryHandler(Collections.singletonList(null)));
+
+        assertNull(assetHandler.assetZoneScan(userId, "zone3", null, null, 0, 3, "testUnsupportedZone"));
+    }
+
+
+    private AssetHandler getAssetHandler(RepositoryHandler repositoryHandler)
+    {
+        return new AssetHandler(serviceName,
+                                "testServer",
+                                userId,
+                                new InvalidParameterHandler(),
+                                repositoryHandler,
+                                repositoryHelper,
+                                null,
+                                null,
+                                null,
+                                null,
+                                null,
+                                null,
+                                null,
+                                null,
+                                null,
+                                null,
+                                null,
+                                null,
+                                null,
+                                Arrays.asList(zoneName, "zone2"),
+                                null);
+    }
+
+
+    private EntityDetail getAsset(int          index,
+                                  List<String> zones)
+    {
+        EntityDetail       entity     = new EntityDetail();
+        InstanceProperties properties = new InstanceProperties();
+
+        properties.setProperty("qualifiedName", getStringPropertyValue("asset-" + index));
+
+        if (zones != null)
+        {
+            properties.setProperty("zoneMembership", getStringPropertyValue(String.join(",", zones)));
+        }
+
+        entity.setGUID("guid-" + index);
+        entity.setProperties(properties);
+
+        return entity;
+    }
+
+
+    private PrimitivePropertyValue getStringPropertyValue(String value)
+    {
+        PrimitivePropertyValue propertyValue = new PrimitivePropertyValue();
+
+        propertyValue.setPrimitiveDefCategory(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING);
+        propertyValue.setPrimitiveValue(value);
+
+        return propertyValue;
+    }
+
+
+    private String getStringValue(InstanceProperties properties,
+                                  String             propertyName)
+    {
+        if (properties != null)
+        {
+            PrimitivePropertyValue propertyValue = (PrimitivePropertyValue)properties.getPropertyValue(propertyName);
+
+            if (propertyValue != null)
+            {
+                return propertyValue.getPrimitiveValue().toString();
+            }
+        }
+
+        return null;
+    }
+
+
+    private List<String> getQualifiedNames(List<Asset> assets)
+    {
+        List<String> qualifiedNames = new ArrayList<>();
+
+        for (Asset asset : assets)
+        {
+            qualifiedNames.add(asset.getQualifiedName());
+        }
+
+        return qualifiedNames;
+    }
+}
@@ -0,0 +1,222 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.commonservices.ocf.metadatamanagement.handlers;
+
+import org.odpi.openmetadata.commonservices.ffdc.InvalidParameterHandler;
+import org.odpi.openmetadata.commonservices.ocf.metadatamanagement.mappers.CertificationMapper;
+import org.odpi.openmetadata.commonservices.ocf.metadatamanagement.mappers.LicenseMapper;
+import org.odpi.openmetadata.commonservices.repositoryhandler.RepositoryErrorHandler;
+import org.odpi.openmetadata.commonservices.repositoryhandler.RepositoryHandler;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests that the attachments of an anchor entity are counted by the repository rather than being retrieved
+ * and that the count follows the repository's type and status filters.
+ * <p>
+ * The repository holds relationships from the anchor to ten licenses and three certifications.  Licenses 0,
+ * 4 and 8 are deleted and the rest are active.  Another entity has two active licenses.  Feedback is not
+ * counted this way because private feedback is only visible to its creator.
+ */
+public class AttachmentCountTest
+{
+    private static final String userId                = "testUser";
+    private static final String serviceName           = "testService";
+    private static final String serverName            = "testServer";
+    private static final String anchorGUID            = "anchor-guid";
+    private static final String otherGUID             = "other-guid";
+    private static final String licenseTypeGUID       = LicenseMapper.LICENSE_OF_REFERENCEABLE_TYPE_GUID;
+    private static final String certificationTypeGUID = CertificationMapper.CERTIFICATION_OF_REFERENCEABLE_TYPE_GUID;
+
+    private OMRSMetadataCollection metadataCollection;
+    private List<Relationship>     relationships;
+
+
+    @BeforeMethod
+    public void setUpMetadataCollection() throws Exception
+    {
+        relationships = new ArrayList<>();
+
+        for (int i = 0; i < 10; i++)
+        {
+            relationships.add(getRelationship(anchorGUID, licenseTypeGUID, i % 4 == 0 ? InstanceStatus.DELETED : InstanceStatus.ACTIVE));
+        }
+
+        for (int i = 0; i < 3; i++)
+        {
+            relationships.add(getRelationship(anchorGUID, certificationTypeGUID, InstanceStatus.ACTIVE));
+        }
+
+        relationships.add(getRelationship(otherGUID, licenseTypeGUID, InstanceStatus.ACTIVE));
+        relationships.add(getRelationship(otherGUID, licenseTypeGUID, InstanceStatus.ACTIVE));
+
+        /*
+         * The count follows the repository rules: null status means any status but deleted.
+         */
+        metadataCollection = mock(OMRSMetadataCollection.class);
+
+        when(metadataCollection.countRelationshipsForEntity(anyString(), anyString(), any(), any(), any())).thenAnswer(
+                invocation ->
+                {
+                    String               entityGUID = invocation.getArgument(1);
+                    String               typeGUID   = invocation.getArgument(2);
+                    List<InstanceStatus> statuses   = invocation.getArgument(3);
+                    int                  count      = 0;
+
+                    for (Relationship relationship : relationships)
+                    {
+                        InstanceStatus status = relationship.getStatus();
+
+                        if ((relationship.getEntityOneProxy().getGUID().equals(entityGUID)) &&
+                            ((typeGUID == null) || (typeGUID.equals(relationship.getType().getTypeDefGUID()))) &&
+                            (status != InstanceStatus.DELETED) &&
+                            ((statuses == null) || (statuses.contains(status))))
+                        {
+                            count++;
+                        }
+                    }
+
+                    return count;
+                });
+    }
+
+
+    @Test
+    public void testCountAttachedRelationshipsByType() throws Exception
+    {
+        RepositoryHandler repositoryHandler = getRepositoryHandler();
+
+        assertEquals(repositoryHandler.countAttachedRelationshipsByType(userId, anchorGUID, "Referenceable", licenseTypeGUID, "LicenseOfReferenceable", "testCount"), 7);
+        assertEquals(repositoryHandler.countAttachedRelationshipsByType(userId, anchorGUID, "Referenceable", certificationTypeGUID, "CertificationOfReferenceable", "testCount"), 3);
+        assertEquals(repositoryHandler.countAttachedRelationshipsByType(userId, otherGUID, "Referenceable", licenseTypeGUID, "LicenseOfReferenceable", "testCount"), 2);
+        assertEquals(repositoryHandler.countAttachedRelationshipsByType(userId, otherGUID, "Referenceable", certificationTypeGUID, "CertificationOfReferenceable", "testCount"), 0);
+
+        /*
+         * Every status but deleted is counted and the relationships are never retrieved.
+         */
+        verify(metadataCollection).countRelationshipsForEntity(eq(userId), eq(anchorGUID), eq(licenseTypeGUID), isNull(), isNull());
+        verify(metadataCollection, never()).getRelationshipsForEntity(anyString(), anyString(), any(), anyInt(), any(), any(), any(), any(), anyInt());
+    }
+
+
+    @Test
+    public void testCountAttachments() throws Exception
+    {
+        LicenseHandler licenseHandler = new LicenseHandler(serviceName,
+                                                           serverName,
+                                                           new InvalidParameterHandler(),
+                                                           getRepositoryHandler(),
+                                                           mock(OMRSRepositoryHelper.class),
+                                                           null);
+
+        assertEquals(licenseHandler.countLicenses(userId, anchorGUID, "testCountAttachments"), 7);
+        assertEquals(licenseHandler.countLicenses(userId, otherGUID, "testCountAttachments"), 2);
+        assertEquals(licenseHandler.countLicenses(userId, "unknown-guid", "testCountAttachments"), 0);
+
+        try
+        {
+            licenseHandler.countLicenses(userId, null, "testCountAttachments");
+            fail("Null anchor GUID accepted");
+        }
+        catch (InvalidParameterException error)
+        {
+            verify(metadataCollection, never()).countRelationshipsForEntity(anyString(), isNull(), any(), any(), any());
+        }
+    }
+
+
+    @Test
+    public void testCountErrors() throws Exception
+    {
+        RepositoryHandler repositoryHandler = getRepositoryHandler();
+
+        when(metadataCollection.countRelationshipsForEntity(anyString(), eq(otherGUID), any(), any(), any())).thenThrow(
+                new org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException(401,
+                                                                                                       this.getClass().getName(),
+                                                                                                       "testCountErrors",
+                                                                                                       "Not authorized",
+                                                                                                       "None",
+                                                                                                       "None"));
+        when(metadataCollection.countRelationshipsForEntity(anyString(), eq("broken-guid"), any(), any(), any())).thenThrow(
+                new RepositoryErrorException(500,
+                                             this.getClass().getName(),
+                                             "testCountErrors",
+                                             "Repository error",
+                                             "None",
+                                             "None"));
+
+        try
+        {
+            repositoryHandler.countAttachedRelationshipsByType(userId, otherGUID, "Referenceable", licenseTypeGUID, "LicenseOfReferenceable", "testCountErrors");
+            fail("Unauthorized count returned");
+        }
+        catch (UserNotAuthorizedException error)
+        {
+            assertEquals(error.getUserId(), userId);
+        }
+
+        try
+        {
+            repositoryHandler.countAttachedRelationshipsByType(userId, "broken-guid", "Referenceable", licenseTypeGUID, "LicenseOfReferenceable", "testCountErrors");
+            fail("Failed count returned");
+        }
+        catch (PropertyServerException error)
+        {
+            assertTrue(error.getErrorMessage().contains("Repository error"));
+        }
+    }
+
+
+    private RepositoryHandler getRepositoryHandler()
+    {
+        return new RepositoryHandler(null,
+                                     new RepositoryErrorHandler(mock(OMRSRepositoryHelper.class), serviceName, serverName),
+                                     metadataCollection,
+                                     100);
+    }
+
+
+    private Relationship getRelationship(String         anchorGUID,
+                                         String         typeGUID,
+                                         InstanceStatus status)
+    {
+        Relationship relationship = new Relationship();
+        EntityProxy  anchor       = new EntityProxy();
+        InstanceType type         = new InstanceType();
+
+        anchor.setGUID(anchorGUID);
+        type.setTypeDefGUID(typeGUID);
+
+        relationship.setEntityOneProxy(anchor);
+        relationship.setType(type);
+        relationship.setStatus(status);
+
+        return relationship;
+    }
+}
@@ -0,0 +1,418 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.commonservices.odf.metadatamanagement.properties;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
+
+/**
+ * DiscoveryEngineStatistics describes the work queue of a discovery engine running in a discovery server.
+ * It shows how many discovery requests are waiting and running, along with the time requests have spent
+ * waiting for a worker thread and running.
+ */
+@JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown=true)
+public class DiscoveryEngineStatistics implements Serializable
+{
+    private static final long     serialVersionUID = 1L;
+
+    private int   workerCount          = 0;
+    private int   maxQueuedRequests    = 0;
+    private int   queuedRequests       = 0;
+    private int   activeRequests       = 0;
+    private long  submittedRequests    = 0;
+    private long  deduplicatedRequests = 0;
+    private long  rejectedRequests     = 0;
+    private long  completedRequests    = 0;
+    private long  averageQueueTime     = 0;
+    private long  maxQueueTime         = 0;
+    private long  averageRunTime       = 0;
+    private long  maxRunTime           = 0;
+
+
+    /**
+     * Default constructor
+     */
+    public DiscoveryEngineStatistics()
+    {
+        super();
+    }
+
+
+    /**
+     * Copy/clone constructor
+     *
+     * @param template object to copy
+     */
+    public DiscoveryEngineStatistics(DiscoveryEngineStatistics template)
+    {
+        if (template != null)
+        {
+            workerCount          = template.getWorkerCount();
+            maxQueuedRequests    = template.getMaxQueuedRequests();
+            queuedRequests       = template.getQueuedRequests();
+            activeRequests       = template.getActiveRequests();
+            submittedRequests    = template.getSubmittedRequests();
+            deduplicatedRequests = template.getDeduplicatedRequests();
+            rejectedRequests     = template.getRejectedRequests();
+            completedRequests    = template.getCompletedRequests();
+            averageQueueTime     = template.getAverageQueueTime();
+            maxQueueTime         = template.getMaxQueueTime();
+            averageRunTime       = template.getAverageRunTime();
+            maxRunTime           = template.getMaxRunTime();
+        }
+    }
+
+
+    /**
+     * Return the number of worker threads that run discovery requests for the discovery engine.
+     *
+     * @return number of threads
+     */
+    public int getWorkerCount()
+    {
+        return workerCount;
+    }
+
+
+    /**
+     * Set up the number of worker threads that run discovery requests for the discovery engine.
+     *
+     * @param workerCount number of threads
+     */
+    public void setWorkerCount(int workerCount)
+    {
+        this.workerCount = workerCount;
+    }
+
+
+    /**
+     * Return the maximum number of discovery requests that can wait for a worker thread.
+     *
+     * @return maximum queue depth
+     */
+    public int getMaxQueuedRequests()
+    {
+        return maxQueuedRequests;
+    }
+
+
+    /**
+     * Set up the maximum number of discovery requests that can wait for a worker thread.
+     *
+     * @param maxQueuedRequests maximum queue depth
+     */
+    public void setMaxQueuedRequests(int maxQueuedRequests)
+    {
+        this.maxQueuedRequests = maxQueuedRequests;
+    }
+
+
+    /**
+     * Return the number of discovery requests that are waiting for a worker thread.
+     *
+     * @return queue depth
+     */
+    public int getQueuedRequests()
+    {
+        return queuedRequests;
+    }
+
+
+    /**
+     * Set up the number of discovery requests that are waiting for a worker thread.
+     *
+     * @param queuedRequests queue depth
+     */
+    public void setQueuedRequests(int queuedRequests)
+    {
+        this.queuedRequests = queuedRequests;
+    }
+
+
+    /**
+     * Return the number of discovery requests that are running.
+     *
+     * @return number of requests
+     */
+    public int getActiveRequests()
+    {
+        return activeRequests;
+    }
+
+
+    /**
+     * Set up the number of discovery requests that are running.
+     *
+     * @param activeRequests number of requests
+     */
+    public void setActiveRequests(int activeRequests)
+    {
+        this.activeRequests = activeRequests;
+    }
+
+
+    /**
+     * Return the number of discovery requests that have been accepted since the discovery engine started.
+     *
+     * @return count
+     */
+    public long getSubmittedRequests()
+    {
+        return submittedRequests;
+    }
+
+
+    /**
+     * Set up the number of discovery requests that have been accepted since the discovery engine started.
+     *
+     * @param submittedRequests count
+     */
+    public void setSubmittedRequests(long submittedRequests)
+    {
+        this.submittedRequests = submittedRequests;
+    }
+
+
+    /**
+     * Return the number of discovery requests that were satisfied by a matching request that was already waiting.
+     *
+     * @return count
+     */
+    public long getDeduplicatedRequests()
+    {
+        return deduplicatedRequests;
+    }
+
+
+    /**
+     * Set up the number of discovery requests that were satisfied by a matching request that was already waiting.
+     *
+     * @param deduplicatedRequests count
+     */
+    public void setDeduplicatedRequests(long deduplicatedRequests)
+    {
+        this.deduplicatedRequests = deduplicatedRequests;
+    }
+
+
+    /**
+     * Return the number of discovery requests that were rejected because the queue was full.
+     *
+     * @return count
+     */
+    public long getRejectedRequests()
+    {
+        return rejectedRequests;
+    }
+
+
+    /**
+     * Set up the number of discovery requests that were rejected because the queue was full.
+     *
+     * @param rejectedRequests count
+     */
+    public void setRejectedRequests(long rejectedRequests)
+    {
+        this.rejectedRequests = rejectedRequests;
+    }
+
+
+    /**
+     * Return the number of discovery requests that have finished running (successfully or not).
+     *
+     * @return count
+     */
+    public long getCompletedRequests()
+    {
+        return completedRequests;
+    }
+
+
+    /**
+     * Set up the number of discovery requests that have finished running (successfully or not).
+     *
+     * @param completedRequests count
+     */
+    public void setCompletedRequests(long completedRequests)
+    {
+        this.completedRequests = completedRequests;
+    }
+
+
+    /**
+     * Return the average time (in milliseconds) that completed requests waited for a worker thread.
+     *
+     * @return milliseconds
+     */
+    public long getAverageQueueTime()
+    {
+        return averageQueueTime;
+    }
+
+
+    /**
+     * Set up the average time (in milliseconds) that completed requests waited for a worker thread.
+     *
+     * @param averageQueueTime milliseconds
+     */
+    public void setAverageQueueTime(long averageQueueTime)
+    {
+        this.averageQueueTime = averageQueueTime;
+    }
+
+
+    /**
+     * Return the longest time (in milliseconds) that a completed request waited for a worker thread.
+     *
+     * @return milliseconds
+     */
+    public long getMaxQueueTime()
+    {
+        return maxQueueTime;
+    }
+
+
+    /**
+     * Set up the longest time (in milliseconds) that a completed request waited for a worker thread.
+     *
+     * @param maxQueueTime milliseconds
+     */
+    public void setMaxQueueTime(long maxQueueTime)
+    {
+        this.maxQueueTime = maxQueueTime;
+    }
+
+
+    /**
+     * Return the average time (in milliseconds) taken to run completed requests.
+     *
+     * @return milliseconds
+     */
+    public long getAverageRunTime()
+    {
+        return averageRunTime;
+    }
+
+
+    /**
+     * Set up the average time (in milliseconds) taken to run completed requests.
+     *
+     * @param averageRunTime milliseconds
+     */
+    public void setAverageRunTime(long averageRunTime)
+    {
+        this.averageRunTime = averageRunTime;
+    }
+
+
+    /**
+     * Return the longest time (in milliseconds) taken to run a completed request.
+     *
+     * @return milliseconds
+     */
+    public long getMaxRunTime()
+    {
+        return maxRunTime;
+    }
+
+
+    /**
+     * Set up the longest time (in milliseconds) taken to run a completed request.
+     *
+     * @param maxRunTime milliseconds
+     */
+    public void setMaxRunTime(long maxRunTime)
+    {
+        this.maxRunTime = maxRunTime;
+    }
+
+
+    /**
+     * JSON-style toString
+     *
+     * @return return string containing the property names and values
+     */
+    @Override
+    public String toString()
+    {
+        return "DiscoveryEngineStatistics{" +
+                "workerCount=" + workerCount +
+                ", maxQueuedRequests=" + maxQueuedRequests +
+                ", queuedRequests=" + queuedRequests +
+                ", activeRequests=" + activeRequests +
+                ", submittedRequests=" + submittedRequests +
+                ", deduplicatedRequests=" + deduplicatedRequests +
+                ", rejectedRequests=" + rejectedRequests +
+                ", completedRequests=" + completedRequests +
+                ", averageQueueTime=" + averageQueueTime +
+                ", maxQueueTime=" + maxQueueTime +
+                ", averageRunTime=" + averageRunTime +
+                ", maxRunTime=" + maxRunTime +
+                '}';
+    }
+
+
+    /**
+     * Return comparison result based on the content of the properties.
+     *
+     * @param objectToCompare test object
+     * @return result of comparison
+     */
+    @Override
+    public boolean equals(Object objectToCompare)
+    {
+        if (this == objectToCompare)
+        {
+            return true;
+        }
+        if (objectToCompare == null || getClass() != objectToCompare.getClass())
+        {
+            return false;
+        }
+        DiscoveryEngineStatistics that = (DiscoveryEngineStatistics) objectToCompare;
+        return workerCount == that.workerCount &&
+                maxQueuedRequests == that.maxQueuedRequests &&
+                queuedRequests == that.queuedRequests &&
+                activeRequests == that.activeRequests &&
+                submittedRequests == that.submittedRequests &&
+                deduplicatedRequests == that.deduplicatedRequests &&
+                rejectedRequests == that.rejectedRequests &&
+                completedRequests == that.completedRequests &&
+                averageQueueTime == that.averageQueueTime &&
+                maxQueueTime == that.maxQueueTime &&
+                averageRunTime == that.averageRunTime &&
+                maxRunTime == that.maxRunTime;
+    }
+
+
+    /**
+     * Return hash code for this object
+     *
+     * @return int hash code
+     */
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(workerCount,
+                            maxQueuedRequests,
+                            queuedRequests,
+                            activeRequests,
+                            submittedRequests,
+                            deduplicatedRequests,
+                            rejectedRequests,
+                            completedRequests,
+                            averageQueueTime,
+                            maxQueueTime,
+                            averageRunTime,
+                            maxRunTime);
+    }
+}
@@ -0,0 +1,9 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+
+/**
+ * This package contains the beans that describe the operation of the discovery servers, in addition to the beans
+ * defined in the Open Discovery Framework (ODF).
+ */
+package org.odpi.openmetadata.commonservices.odf.metadatamanagement.properties;
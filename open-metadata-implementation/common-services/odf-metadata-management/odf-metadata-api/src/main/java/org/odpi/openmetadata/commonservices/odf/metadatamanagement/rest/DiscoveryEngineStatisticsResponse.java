@@ -0,0 +1,145 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.commonservices.odf.metadatamanagement.rest;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.odpi.openmetadata.commonservices.odf.metadatamanagement.properties.DiscoveryEngineStatistics;
+
+import java.util.Objects;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
+
+
+/**
+ * DiscoveryEngineStatisticsResponse is the response structure used on the discovery server REST API calls that
+ * return the statistics for a discovery engine's work queue.
+ */
+@JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown=true)
+public class DiscoveryEngineStatisticsResponse extends ODFOMASAPIResponse
+{
+    private DiscoveryEngineStatistics statistics = null;
+
+    /**
+     * Default constructor
+     */
+    public DiscoveryEngineStatisticsResponse()
+    {
+        super();
+    }
+
+
+    /**
+     * Copy/clone constructor
+     *
+     * @param template object to copy
+     */
+    public DiscoveryEngineStatisticsResponse(DiscoveryEngineStatisticsResponse template)
+    {
+        super(template);
+
+        if (template != null)
+        {
+            this.statistics = template.getStatistics();
+        }
+    }
+
+
+    /**
+     * Return the statistics for the discovery engine.
+     *
+     * @return statistics bean
+     */
+    public DiscoveryEngineStatistics getStatistics()
+    {
+        if (statistics == null)
+        {
+            return null;
+        }
+        else
+        {
+            return new DiscoveryEngineStatistics(statistics);
+        }
+    }
+
+
+    /**
+     * Set up the statistics for the discovery engine.
+     *
+     * @param statistics statistics bean
+     */
+    public void setStatistics(DiscoveryEngineStatistics statistics)
+    {
+        this.statistics = statistics;
+    }
+
+
+    /**
+     * JSON-style toString
+     *
+     * @return return string containing the property names and values
+     */
+    @Override
+    public String toString()
+    {
+        return "DiscoveryEngineStatisticsResponse{" +
+                "statistics=" + statistics +
+                ", relatedHTTPCode=" + getRelatedHTTPCode() +
+                ", exceptionClassName='" + getExceptionClassName() + '\'' +
+                ", exceptionErrorMessage='" + getExceptionErrorMessage() + '\'' +
+                ", exceptionSystemAction='" + getExceptionSystemAction() + '\'' +
+                ", exceptionUserAction='" + getExceptionUserAction() + '\'' +
+                ", exceptionProperties=" + getExceptionProperties() +
+                '}';
+    }
+
+
+    /**
+     * Return comparison result based on the content of the properties.
+     *
+     * @param objectToCompare test object
+     * @return result of comparison
+     */
+    @Override
+    public boolean equals(Object objectToCompare)
+    {
+        if (this == objectToCompare)
+        {
+            return true;
+        }
+        if (!(objectToCompare instanceof DiscoveryEngineStatisticsResponse))
+        {
+            return false;
+        }
+        if (!super.equals(objectToCompare))
+        {
+            return false;
+        }
+        DiscoveryEngineStatisticsResponse that = (DiscoveryEngineStatisticsResponse) objectToCompare;
+        return Objects.equals(getStatistics(), that.getStatistics());
+    }
+
+
+    /**
+     * Return hash code for this object
+     *
+     * @return int hash code
+     */
+    @Override
+    public int hashCode()
+    {
+        if (statistics == null)
+        {
+            return super.hashCode();
+        }
+        else
+        {
+            return statistics.hashCode();
+        }
+    }
+}
@@ -27,6 +27,7 @@ public class DiscoveryRequestRequestBody extends ODFOMASAPIRequestBody
 {
     protected Map<String, String>    analysisParameters     = null;
     protected List<String>           annotationTypes        = null;
+    protected int                    requestPriority        = 0;
 
 
     /**
@@ -50,6 +51,7 @@ public class DiscoveryRequestRequestBody extends ODFOMASAPIRequestBody
         {
             analysisParameters = template.getAnalysisParameters();
             annotationTypes = template.getAnnotationTypes();
+            requestPriority = template.getRequestPriority();
         }
     }
 
@@ -98,6 +100,29 @@ public class DiscoveryRequestRequestBody extends ODFOMASAPIRequestBody
     }
 
 
+    /**
+     * Return the priority of the discovery request.  Requests with a higher priority are run before
+     * requests with a lower priority.  Requests of the same priority are run in the order they arrive.
+     *
+     * @return int priority (default 0)
+     */
+    public int getRequestPriority()
+    {
+        return requestPriority;
+    }
+
+
+    /**
+     * Set up the priority of the discovery request.
+     *
+     * @param requestPriority int priority
+     */
+    public void setRequestPriority(int requestPriority)
+    {
+        this.requestPriority = requestPriority;
+    }
+
+
     /**
      * JSON-style toString.
      *
@@ -109,6 +134,7 @@ public class DiscoveryRequestRequestBody extends ODFOMASAPIRequestBody
         return "DiscoveryRequestRequestBody{" +
                 "analysisParameters=" + analysisParameters +
                 ", annotationTypes=" + annotationTypes +
+                ", requestPriority=" + requestPriority +
                 '}';
     }
 
@@ -131,7 +157,8 @@ public class DiscoveryRequestRequestBody extends ODFOMASAPIRequestBody
             return false;
         }
         DiscoveryRequestRequestBody that = (DiscoveryRequestRequestBody) objectToCompare;
-        return Objects.equals(getAnalysisParameters(), that.getAnalysisParameters()) &&
+        return getRequestPriority() == that.getRequestPriority() &&
+                Objects.equals(getAnalysisParameters(), that.getAnalysisParameters()) &&
                 Objects.equals(getAnnotationTypes(), that.getAnnotationTypes());
     }
 
@@ -145,6 +172,6 @@ public class DiscoveryRequestRequestBody extends ODFOMASAPIRequestBody
     @Override
     public int hashCode()
     {
-        return Objects.hash(getAnalysisParameters(), getAnnotationTypes());
+        return Objects.hash(getAnalysisParameters(), getAnnotationTypes(), getRequestPriority());
     }
 }
@@ -23,6 +23,7 @@ import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_
                 @JsonSubTypes.Type(value = AnnotationResponse.class, name = "AnnotationResponse"),
                 @JsonSubTypes.Type(value = DiscoveryAnalysisReportResponse.class, name = "DiscoveryAnalysisReportResponse"),
                 @JsonSubTypes.Type(value = DiscoveryEngineListResponse.class,        name = "DiscoveryEngineListResponse"),
+                @JsonSubTypes.Type(value = DiscoveryEngineStatisticsResponse.class,  name = "DiscoveryEngineStatisticsResponse"),
                 @JsonSubTypes.Type(value = DiscoveryEnginePropertiesResponse.class,  name = "DiscoveryEnginePropertiesResponse"),
                 @JsonSubTypes.Type(value = DiscoveryRequestStatusResponse.class,       name = "DiscoveryRequestStatusResponse"),
                 @JsonSubTypes.Type(value = DiscoveryServiceListResponse.class,       name = "DiscoveryServiceListResponse"),
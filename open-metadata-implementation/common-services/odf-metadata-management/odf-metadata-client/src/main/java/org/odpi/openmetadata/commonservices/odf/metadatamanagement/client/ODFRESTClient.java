@@ -190,6 +190,35 @@ public class ODFRESTClient extends OCFRESTClient
     }
 
 
+    /**
+     * Issue a GET REST call that returns a DiscoveryEngineStatisticsResponse object.
+     *
+     * @param methodName  name of the method being called.
+     * @param urlTemplate template of the URL for the REST API call with place-holders for the parameters.
+     * @param params      a list of parameters that are slotted into the url template.
+     *
+     * @return DiscoveryEngineStatisticsResponse
+     * @throws InvalidParameterException one of the parameters is invalid.
+     * @throws UserNotAuthorizedException the user is not authorized to make this request.
+     * @throws PropertyServerException something went wrong with the REST call stack.
+     */
+    public DiscoveryEngineStatisticsResponse callDiscoveryEngineStatisticsGetRESTCall(String    methodName,
+                                                                                      String    urlTemplate,
+                                                                                      Object... params) throws InvalidParameterException,
+                                                                                                               UserNotAuthorizedException,
+                                                                                                               PropertyServerException
+    {
+        DiscoveryEngineStatisticsResponse restResult = this.callGetRESTCall(methodName,
+                                                                            DiscoveryEngineStatisticsResponse.class,
+                                                                            urlTemplate,
+                                                                            params);
+
+        exceptionHandler.detectAndThrowStandardExceptions(methodName, restResult);
+
+        return restResult;
+    }
+
+
     /**
      * Issue a GET REST call that returns a DiscoveryAnalysisReportResponse object.
      *
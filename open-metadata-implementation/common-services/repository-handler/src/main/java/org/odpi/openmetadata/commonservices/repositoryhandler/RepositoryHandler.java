@@ -1083,6 +1083,79 @@ public class RepositoryHandler
     }
 
 
+    /**
+     * Return the list of entities of the requested type that are visible through the supplied governance zones.
+     * The zones are passed to the repository so that each page is filled with visible entities.
+     *
+     * @param userId  user making the request
+     * @param entityTypeGUID  identifier for the entity's type
+     * @param entityTypeName  name for the entity's type
+     * @param limitResultsByZone zones that the entities must be visible through (null means no restriction).
+     * @param startingFrom initial position in the stored list of visible entities.
+     * @param pageSize maximum number of definitions to return on this call.
+     * @param methodName  name of calling method
+     * @return retrieved entities or null
+     * @throws PropertyServerException problem accessing the property server
+     * @throws UserNotAuthorizedException security access problem
+     */
+    public List<EntityDetail> getEntitiesForType(String                 userId,
+                                                 String                 entityTypeGUID,
+                                                 String                 entityTypeName,
+                                                 List<String>           limitResultsByZone,
+                                                 int                    startingFrom,
+                                                 int                    pageSize,
+                                                 String                 methodName) throws UserNotAuthorizedException,
+                                                                                           PropertyServerException
+    {
+        try
+        {
+            List<EntityDetail> results = metadataCollection.findEntitiesByProperty(userId,
+                                                                                   entityTypeGUID,
+                                                                                   null,
+                                                                                   null,
+                                                                                   startingFrom,
+                                                                                   null,
+                                                                                   null,
+                                                                                   limitResultsByZone,
+                                                                                   null,
+                                                                                   null,
+                                                                                   null,
+                                                                                   pageSize);
+
+            if (results == null)
+            {
+                return null;
+            }
+            else if (results.isEmpty())
+            {
+                return null;
+            }
+            else
+            {
+                for (EntityDetail  entity : results)
+                {
+                    if (entity != null)
+                    {
+                        errorHandler.validateInstanceType(userId, entity, "<null>", entityTypeName, methodName);
+                    }
+                }
+                return results;
+            }
+
+        }
+        catch (org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException  error)
+        {
+            errorHandler.handleUnauthorizedUser(userId, methodName);
+        }
+        catch (Throwable   error)
+        {
+            errorHandler.handleRepositoryError(error, methodName);
+        }
+
+        return null;
+    }
+
+
     /**
      * Return the list of entities at the other end of the requested relationship type.
      *
@@ -1810,6 +1883,59 @@ public class RepositoryHandler
 
 
 
+    /**
+     * Return the requested entities by name that are visible through the supplied governance zones.
+     * The zones are passed to the repository so that each page is filled with visible entities.
+     *
+     * @param userId calling userId
+     * @param nameProperties list of name properties to search on.
+     * @param entityTypeGUID unique identifier of the entity's type
+     * @param limitResultsByZone zones that the entities must be visible through (null means no restriction).
+     * @param startingFrom initial position in the stored list of visible entities.
+     * @param pageSize maximum number of definitions to return on this call.
+     * @param methodName calling method
+     *
+     * @return list of returned entities
+     * @throws UserNotAuthorizedException user not authorized to issue this request.
+     * @throws PropertyServerException problem retrieving the entity.
+     */
+    public List<EntityDetail>  getEntitiesByName(String                 userId,
+                                                 InstanceProperties     nameProperties,
+                                                 String                 entityTypeGUID,
+                                                 List<String>           limitResultsByZone,
+                                                 int                    startingFrom,
+                                                 int                    pageSize,
+                                                 String                 methodName) throws UserNotAuthorizedException,
+                                                                                           PropertyServerException
+    {
+        try
+        {
+            return metadataCollection.findEntitiesByProperty(userId,
+                                                             entityTypeGUID,
+                                                             nameProperties,
+                                                             MatchCriteria.ANY,
+                                                             startingFrom,
+                                                             null,
+                                                             null,
+                                                             limitResultsByZone,
+                                                             null,
+                                                             null,
+                                                             null,
+                                                             pageSize);
+        }
+        catch (org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException error)
+        {
+            errorHandler.handleUnauthorizedUser(userId, methodName);
+        }
+        catch (Throwable   error)
+        {
+            errorHandler.handleRepositoryError(error, methodName);
+        }
+
+        return null;
+    }
+
+
     /**
      * Return the entities that match all supplied properties.
      *
@@ -2157,27 +2283,35 @@ public class RepositoryHandler
                                                 String                 methodName) throws PropertyServerException,
                                                                                           UserNotAuthorizedException
     {
-        List<Relationship> relationships = this.getRelationshipsByType(userId,
+        try
+        {
+            /*
+             * The relationships are counted by the repository rather than being retrieved.
+             */
+            int count = metadataCollection.countRelationshipsForEntity(userId,
                                                                        anchorEntityGUID,
-                                                                       anchorEntityTypeName,
                                                                        relationshipTypeGUID,
-                                                                       relationshipTypeName,
-                                                                       methodName);
-
-        int count = 0;
+                                                                       null,
+                                                                       null);
 
-        if (relationships != null)
-        {
-            for (Relationship relationship : relationships)
+            if (log.isDebugEnabled())
             {
-                if (relationship != null)
-                {
-                    count ++;
-                }
+                log.debug(count + " relationships of type " + relationshipTypeName +
+                          " found for " + anchorEntityTypeName + " entity " + anchorEntityGUID);
             }
+
+            return count;
+        }
+        catch (org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException  error)
+        {
+            errorHandler.handleUnauthorizedUser(userId, methodName);
+        }
+        catch (Throwable   error)
+        {
+            errorHandler.handleRepositoryError(error, methodName);
         }
 
-        return count;
+        return 0;
     }
 
 
@@ -174,6 +174,11 @@ public abstract class ConnectorBase extends Connector
     public  void disconnect() throws ConnectorCheckedException
     {
         isActive = false;
+
+        if (connectedAssetProperties != null)
+        {
+            connectedAssetProperties.disconnect();
+        }
     }
 
 
@@ -25,6 +25,11 @@ public abstract class AssetDescriptor extends AssetPropertyElementBase
     private String       assetTypeName = "<Unknown>";
     private List<String> assetSuperTypeNames = null;
 
+    /*
+     * Optional read-ahead for the paging iterators of the asset's properties.
+     */
+    private AssetPagingReadAhead pagingReadAhead = null;
+
 
     /**
      * Default constructor only for subclasses
@@ -66,6 +71,7 @@ public abstract class AssetDescriptor extends AssetPropertyElementBase
             this.assetName = templateAssetDescriptor.getAssetName();
             this.assetTypeName = templateAssetDescriptor.getAssetTypeName();
             this.assetSuperTypeNames = templateAssetDescriptor.getAssetSuperTypeNames();
+            this.pagingReadAhead = templateAssetDescriptor.getPagingReadAhead();
         }
         else
         {
@@ -182,4 +188,25 @@ public abstract class AssetDescriptor extends AssetPropertyElementBase
         }
     }
 
-}
\ No newline at end of file
+
+    /**
+     * Return the read-ahead used by the paging iterators of the asset's properties.
+     *
+     * @return read-ahead or null if the caches are retrieved when they are needed
+     */
+    AssetPagingReadAhead getPagingReadAhead()
+    {
+        return pagingReadAhead;
+    }
+
+
+    /**
+     * Set up the read-ahead used by the paging iterators of the asset's properties.
+     *
+     * @param pagingReadAhead read-ahead or null if the caches are retrieved when they are needed
+     */
+    void setPagingReadAhead(AssetPagingReadAhead pagingReadAhead)
+    {
+        this.pagingReadAhead = pagingReadAhead;
+    }
+}
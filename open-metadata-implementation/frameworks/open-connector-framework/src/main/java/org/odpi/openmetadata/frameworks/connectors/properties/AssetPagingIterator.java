@@ -8,9 +8,14 @@ import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 /**
  * PagingIterator supports an iterator over a list of objects that extend AssetPropertyBase.
@@ -42,6 +47,10 @@ import java.util.List;
  * the first two would have 10 elements in them and the third will have 5 elements.
  * In the first 2 retrieves, maxCacheSize and cachedElementList.size() are set to 10.
  * In the last one, maxCacheSize==10 and cachedElementList.size()==5.
+ *
+ * If the parent asset has an AssetPagingReadAhead, the iterator retrieves the caches that follow the current
+ * cache in the background, so the caller does not wait for the property server each time it reaches the end of
+ * a cache.  The elements are returned in the same order either way.
  */
 public class AssetPagingIterator extends AssetPropertyBase implements Iterator<AssetPropertyBase>
 {
@@ -54,6 +63,13 @@ public class AssetPagingIterator extends AssetPropertyBase implements Iterator<A
 
     protected AssetPropertyIteratorBase iterator = null;
 
+    /*
+     * Caches being retrieved in the background, in the order they are needed, and the start of the next cache to
+     * retrieve.  These are not copied by the clone constructor.
+     */
+    private Deque<ReadAheadCache>       readAheadCaches      = new ArrayDeque<>();
+    private int                         readAheadStart       = 0;
+
     private static final Logger log = LoggerFactory.getLogger(AssetPagingIterator.class);
 
 
@@ -217,7 +233,7 @@ public class AssetPagingIterator extends AssetPropertyBase implements Iterator<A
             {
                 try
                 {
-                    cachedElementList = iterator.getCachedList(cachedElementStart, maxCacheSize);
+                    cachedElementList = this.getNextCache();
                     cachedElementPointer = 0;
                 }
                 catch (PropertyServerException error)
@@ -273,6 +289,112 @@ public class AssetPagingIterator extends AssetPropertyBase implements Iterator<A
     }
 
 
+    /**
+     * Retrieve the cache that starts at cachedElementStart.  If the parent asset has a read-ahead, the cache
+     * is taken from the caches retrieved in the background, and the retrieval of the caches that follow it is
+     * started.
+     *
+     * @return list of elements
+     * @throws PropertyServerException there is a problem retrieving elements from the property (metadata) server.
+     */
+    private List<AssetPropertyBase> getNextCache() throws PropertyServerException
+    {
+        AssetDescriptor      parentAsset     = getParentAsset();
+        AssetPagingReadAhead pagingReadAhead = (parentAsset == null) ? null : parentAsset.getPagingReadAhead();
+
+        if ((pagingReadAhead == null) || (pagingReadAhead.isCancelled()))
+        {
+            this.cancelReadAhead();
+
+            return iterator.getCachedList(cachedElementStart, maxCacheSize);
+        }
+
+        ReadAheadCache nextCache = readAheadCaches.peek();
+
+        if ((nextCache == null) || (nextCache.cacheStart != cachedElementStart))
+        {
+            /*
+             * Either this is the first cache, or the last cache was shorter than expected and
+             * the caches retrieved in the background start in the wrong place.
+             */
+            this.cancelReadAhead();
+            readAheadStart = cachedElementStart;
+        }
+
+        /*
+         * Request the cache that is needed now, along with the caches to retrieve ahead of the caller.
+         */
+        while ((readAheadCaches.size() <= pagingReadAhead.getReadAheadDepth()) && (readAheadStart < totalElementCount))
+        {
+            final int                      cacheStart = readAheadStart;
+            Future<List<AssetPropertyBase>> cache     = pagingReadAhead.submit(() -> iterator.getCachedList(cacheStart,
+                                                                                                             maxCacheSize));
+
+            if (cache == null)
+            {
+                break;
+            }
+
+            readAheadCaches.add(new ReadAheadCache(cacheStart, cache));
+            readAheadStart = readAheadStart + maxCacheSize;
+        }
+
+        nextCache = readAheadCaches.poll();
+
+        if (nextCache != null)
+        {
+            try
+            {
+                return nextCache.cache.get();
+            }
+            catch (InterruptedException error)
+            {
+                Thread.currentThread().interrupt();
+            }
+            catch (CancellationException error)
+            {
+                /*
+                 * The read-ahead was cancelled - retrieve the cache directly.
+                 */
+            }
+            catch (ExecutionException error)
+            {
+                if (! pagingReadAhead.isCancelled())
+                {
+                    this.cancelReadAhead();
+
+                    if (error.getCause() instanceof PropertyServerException)
+                    {
+                        throw (PropertyServerException) error.getCause();
+                    }
+                    else if (error.getCause() instanceof RuntimeException)
+                    {
+                        throw (RuntimeException) error.getCause();
+                    }
+                }
+            }
+        }
+
+        this.cancelReadAhead();
+
+        return iterator.getCachedList(cachedElementStart, maxCacheSize);
+    }
+
+
+    /**
+     * Cancel the retrieval of the caches that are being retrieved in the background.
+     */
+    private void cancelReadAhead()
+    {
+        for (ReadAheadCache readAheadCache : readAheadCaches)
+        {
+            readAheadCache.cache.cancel(true);
+        }
+
+        readAheadCaches.clear();
+    }
+
+
     /**
      * Return the number of elements in the list.
      *
@@ -322,4 +444,28 @@ public class AssetPagingIterator extends AssetPropertyBase implements Iterator<A
                 ", cachedElementPointer=" + cachedElementPointer +
                 '}';
     }
-}
\ No newline at end of file
+
+
+    /**
+     * A cache that is being retrieved in the background.
+     */
+    private static class ReadAheadCache
+    {
+        private final int                             cacheStart;
+        private final Future<List<AssetPropertyBase>> cache;
+
+
+        /**
+         * Constructor.
+         *
+         * @param cacheStart position in the full list of the first element in the cache
+         * @param cache result of the retrieval
+         */
+        ReadAheadCache(int                             cacheStart,
+                       Future<List<AssetPropertyBase>> cache)
+        {
+            this.cacheStart = cacheStart;
+            this.cache = cache;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.frameworks.connectors.properties;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AssetPagingReadAhead controls the optional read-ahead of the paging iterators for the properties of a connected
+ * asset.  When it is attached to an asset, each paging iterator for the asset's properties retrieves up to
+ * readAheadDepth caches of elements from the property (metadata) server in the background while the caller
+ * works through the current cache.  This means the caller does not wait for a call to the property server
+ * each time it reaches the end of a cache.
+ *
+ * The background retrievals are cancelled when the connector is disconnected.  After this, the paging iterators
+ * go back to retrieving each cache when it is needed.
+ */
+public class AssetPagingReadAhead
+{
+    private static final AtomicInteger threadCount = new AtomicInteger(0);
+
+    private int             readAheadDepth;
+    private ExecutorService executor  = null;
+    private boolean         cancelled = false;
+
+
+    /**
+     * Typical constructor.
+     *
+     * @param readAheadDepth maximum number of caches that each paging iterator retrieves ahead of the caller.
+     *                       If a number less than one is supplied, 1 is used.
+     */
+    public AssetPagingReadAhead(int readAheadDepth)
+    {
+        this.readAheadDepth = Math.max(1, readAheadDepth);
+    }
+
+
+    /**
+     * Return the maximum number of caches that each paging iterator retrieves ahead of the caller.
+     *
+     * @return number of caches
+     */
+    public int getReadAheadDepth()
+    {
+        return readAheadDepth;
+    }
+
+
+    /**
+     * Return whether the background retrievals have been cancelled.
+     *
+     * @return boolean flag
+     */
+    public synchronized boolean isCancelled()
+    {
+        return cancelled;
+    }
+
+
+    /**
+     * Start the retrieval of a cache of elements in the background.
+     *
+     * @param retrieval call to the property server
+     * @return future for the cache or null if the read-ahead has been cancelled
+     */
+    synchronized Future<List<AssetPropertyBase>> submit(Callable<List<AssetPropertyBase>> retrieval)
+    {
+        if (cancelled)
+        {
+            return null;
+        }
+
+        if (executor == null)
+        {
+            executor = Executors.newCachedThreadPool((runnable) ->
+            {
+                Thread thread = new Thread(runnable, "AssetPagingReadAhead-" + threadCount.incrementAndGet());
+
+                thread.setDaemon(true);
+
+                return thread;
+            });
+        }
+
+        try
+        {
+            return executor.submit(retrieval);
+        }
+        catch (RejectedExecutionException error)
+        {
+            return null;
+        }
+    }
+
+
+    /**
+     * Cancel the background retrievals that are in progress and stop any new ones from starting.
+     */
+    public synchronized void cancel()
+    {
+        cancelled = true;
+
+        if (executor != null)
+        {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "AssetPagingReadAhead{" +
+                "readAheadDepth=" + readAheadDepth +
+                ", cancelled=" + cancelled +
+                '}';
+    }
+}
@@ -38,6 +38,12 @@ public abstract class ConnectedAssetProperties extends AssetPropertyElementBase
      */
     protected AssetUniverse assetProperties = null;
 
+    /*
+     * Optional read-ahead for the paging iterators of the asset's properties.  It is attached to each new
+     * asset universe when the properties are returned to the caller.
+     */
+    private AssetPagingReadAhead pagingReadAhead = null;
+
     private static final Logger log = LoggerFactory.getLogger(ConnectedAssetProperties.class);
 
     /**
@@ -63,6 +69,8 @@ public abstract class ConnectedAssetProperties extends AssetPropertyElementBase
 
         if (templateProperties != null)
         {
+            pagingReadAhead = templateProperties.pagingReadAhead;
+
             AssetUniverse templateAssetUniverse = templateProperties.getAssetUniverse();
             if (templateAssetUniverse != null)
             {
@@ -77,7 +85,7 @@ public abstract class ConnectedAssetProperties extends AssetPropertyElementBase
      *
      * @return AssetSummary summary object
      */
-    public AssetSummary getAssetSummary() { return assetProperties; }
+    public AssetSummary getAssetSummary() { return getAssetUniverse(); }
 
 
 
@@ -86,7 +94,7 @@ public abstract class ConnectedAssetProperties extends AssetPropertyElementBase
      *
      * @return AssetDetail detail object
      */
-    public AssetDetail getAssetDetail() { return assetProperties; }
+    public AssetDetail getAssetDetail() { return getAssetUniverse(); }
 
 
     /**
@@ -95,7 +103,58 @@ public abstract class ConnectedAssetProperties extends AssetPropertyElementBase
      *
      * @return AssetUniverse universe object
      */
-    public AssetUniverse getAssetUniverse() { return assetProperties; }
+    public synchronized AssetUniverse getAssetUniverse()
+    {
+        if ((assetProperties != null) && (pagingReadAhead != null))
+        {
+            assetProperties.setPagingReadAhead(pagingReadAhead);
+        }
+
+        return assetProperties;
+    }
+
+
+    /**
+     * Request that the iterators for the asset's properties retrieve the next caches of elements from the
+     * property (metadata) server in the background while the caller works through the current cache.
+     * This is off by default.
+     *
+     * @param readAheadDepth number of caches to retrieve ahead of the caller.  Zero or less turns read-ahead off.
+     */
+    public synchronized void setReadAheadDepth(int readAheadDepth)
+    {
+        if (pagingReadAhead != null)
+        {
+            pagingReadAhead.cancel();
+        }
+
+        if (readAheadDepth > 0)
+        {
+            pagingReadAhead = new AssetPagingReadAhead(readAheadDepth);
+        }
+        else
+        {
+            pagingReadAhead = null;
+        }
+
+        if (assetProperties != null)
+        {
+            assetProperties.setPagingReadAhead(pagingReadAhead);
+        }
+    }
+
+
+    /**
+     * Cancel any retrieval of properties that is running in the background.  This is called when the
+     * connector is disconnected.  The iterators continue to work, but retrieve each cache when it is needed.
+     */
+    public synchronized void disconnect()
+    {
+        if (pagingReadAhead != null)
+        {
+            pagingReadAhead.cancel();
+        }
+    }
 
 
     /**
@@ -119,6 +178,7 @@ public abstract class ConnectedAssetProperties extends AssetPropertyElementBase
     {
         return "ConnectedAssetProperties{" +
                 "assetProperties=" + assetProperties +
+                ", pagingReadAhead=" + pagingReadAhead +
                 '}';
     }
 }
\ No newline at end of file
@@ -214,6 +214,88 @@ public class TestAssetPagingIterator
     }
 
 
+    /**
+     * Test that the iterator returns all of the elements when the caches are retrieved in the background.
+     */
+    @Test public void testReadAheadIterator()
+    {
+        MockAsset parentAsset = new MockAsset();
+
+        parentAsset.setPagingReadAhead(new AssetPagingReadAhead(2));
+
+        MockAssetPropertyIterator iterator = new MockAssetPropertyIterator(parentAsset,
+                                                                           25,
+                                                                           10);
+
+        int elementCount = 0;
+        while (iterator.hasNext())
+        {
+            assertTrue(iterator.next() != null);
+            elementCount ++;
+        }
+
+        assertTrue(elementCount == 25);
+    }
+
+
+    /**
+     * Test that the iterator continues to return elements after the read-ahead is cancelled.
+     */
+    @Test public void testCancelledReadAhead()
+    {
+        MockAsset            parentAsset     = new MockAsset();
+        AssetPagingReadAhead pagingReadAhead = new AssetPagingReadAhead(1);
+
+        parentAsset.setPagingReadAhead(pagingReadAhead);
+
+        MockAssetPropertyIterator iterator = new MockAssetPropertyIterator(parentAsset,
+                                                                           30,
+                                                                           10);
+
+        int elementCount = 0;
+        while (iterator.hasNext())
+        {
+            if (elementCount == 12)
+            {
+                pagingReadAhead.cancel();
+            }
+
+            assertTrue(iterator.next() != null);
+            elementCount ++;
+        }
+
+        assertTrue(elementCount == 30);
+        assertTrue(pagingReadAhead.isCancelled());
+    }
+
+
+    /**
+     * Validate that the paging iterator reports an error reading from the server in the background.
+     */
+    @Test public void testReadAheadDisconnectedServer()
+    {
+        MockAsset parentAsset = new MockAsset();
+
+        parentAsset.setPagingReadAhead(new AssetPagingReadAhead(2));
+
+        MockDisconnectedAssetPropertyIterator iterator = new MockDisconnectedAssetPropertyIterator(parentAsset, 10, 100);
+
+        try
+        {
+            iterator.next();
+            assertTrue(false);
+        }
+        catch (OCFRuntimeException err)
+        {
+            assertTrue(err.getMessage().contains("OCF-PROPERTIES-404-002 "));
+        }
+        catch (Throwable   exc)
+        {
+            assertTrue(false);
+        }
+    }
+
+
     /**
      * Validate that the paging iterator handles reading more elements than there is.
      */
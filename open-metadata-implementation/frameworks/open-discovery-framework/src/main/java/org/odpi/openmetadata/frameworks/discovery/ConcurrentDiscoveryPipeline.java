@@ -0,0 +1,503 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.frameworks.discovery;
+
+import org.odpi.openmetadata.frameworks.connectors.Connector;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ConcurrentDiscoveryPipeline is a discovery pipeline that runs its embedded discovery services at the same
+ * time rather than one after another.
+ *
+ * Embedded discovery services that implement DiscoveryRecordConsumer share a single pass over the asset's content.
+ * The pipeline reads the records from a DiscoveryRecordSource once, and passes them in batches to each record
+ * consumer on its own thread.  So profiling a large table with five record consumers reads the table once
+ * rather than five times.  The other embedded discovery services are started on their own threads and read the
+ * asset for themselves.
+ *
+ * All of the embedded discovery services share the pipeline's discovery context, so their annotations are
+ * collected in the same discovery analysis report.  The pipeline's start() method returns once every embedded
+ * discovery service has finished.
+ */
+public class ConcurrentDiscoveryPipeline extends DiscoveryPipeline
+{
+    private static final int  RECORD_BATCH_SIZE  = 500;
+    private static final int  MAX_QUEUED_BATCHES = 4;
+    private static final long OFFER_WAIT_TIME    = 100;
+
+    private static final List<List<?>> END_OF_RECORDS = new ArrayList<>();
+
+
+    /**
+     * Run the embedded discovery services concurrently.  The calling thread reads the asset's records and
+     * passes them to the record consumers.
+     *
+     * @param discoveryServices validated list of embedded discovery services
+     * @throws ConnectorCheckedException there is a problem within one of the discovery services or reading the
+     * asset.  If several discovery services fail, the first failure detected is returned.
+     */
+    @Override
+    protected void runDiscoveryServices(List<DiscoveryService> discoveryServices) throws ConnectorCheckedException
+    {
+        final String methodName = "runDiscoveryServices";
+
+        List<DiscoveryService> independentServices = new ArrayList<>();
+        List<DiscoveryService> recordConsumers     = new ArrayList<>();
+
+        for (DiscoveryService discoveryService : discoveryServices)
+        {
+            if (discoveryService != null)
+            {
+                discoveryService.setDiscoveryContext(super.discoveryContext);
+
+                if (discoveryService instanceof DiscoveryRecordConsumer)
+                {
+                    recordConsumers.add(discoveryService);
+                }
+                else
+                {
+                    independentServices.add(discoveryService);
+                }
+            }
+        }
+
+        DiscoveryRecordSource recordSource = null;
+        List<String>          fieldNames   = null;
+
+        if (! recordConsumers.isEmpty())
+        {
+            recordSource = this.getRecordSource();
+
+            if (recordSource == null)
+            {
+                /*
+                 * The asset can not be read as records so each record consumer reads the asset for itself.
+                 */
+                independentServices.addAll(recordConsumers);
+                recordConsumers.clear();
+            }
+            else
+            {
+                try
+                {
+                    fieldNames = recordSource.getFieldNames();
+                }
+                catch (ConnectorCheckedException error)
+                {
+                    this.releaseRecordSource(recordSource);
+                    throw error;
+                }
+            }
+        }
+
+        if (independentServices.isEmpty() && recordConsumers.isEmpty())
+        {
+            /*
+             * Nothing to run so the discovery analysis report is left without annotations.
+             */
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(independentServices.size() + recordConsumers.size(),
+                                                                new PipelineThreadFactory(discoveryServiceName));
+        List<Future<Void>> results = new ArrayList<>();
+        List<RecordFeed>   feeds   = new ArrayList<>();
+
+        for (DiscoveryService discoveryService : independentServices)
+        {
+            results.add(executor.submit(new DiscoveryServiceRunner(discoveryService)));
+        }
+
+        for (DiscoveryService discoveryService : recordConsumers)
+        {
+            RecordFeed feed = new RecordFeed(discoveryService, fieldNames);
+
+            feeds.add(feed);
+            results.add(executor.submit(feed));
+        }
+
+        executor.shutdown();
+
+        Throwable firstError = null;
+
+        if (! feeds.isEmpty())
+        {
+            try
+            {
+                this.scanRecords(recordSource, feeds);
+            }
+            catch (Throwable error)
+            {
+                firstError = error;
+            }
+            finally
+            {
+                for (RecordFeed feed : feeds)
+                {
+                    feed.addBatch(END_OF_RECORDS);
+                }
+
+                this.releaseRecordSource(recordSource);
+            }
+        }
+
+        for (Future<Void> result : results)
+        {
+            try
+            {
+                result.get();
+            }
+            catch (ExecutionException error)
+            {
+                if (firstError == null)
+                {
+                    firstError = error.getCause();
+                }
+            }
+            catch (InterruptedException error)
+            {
+                Thread.currentThread().interrupt();
+
+                if (firstError == null)
+                {
+                    firstError = error;
+                }
+            }
+        }
+
+        if (firstError instanceof ConnectorCheckedException)
+        {
+            throw (ConnectorCheckedException)firstError;
+        }
+        else if (firstError != null)
+        {
+            super.handleUnexpectedException(methodName, firstError);
+        }
+    }
+
+
+    /**
+     * Return the source of records for the record consumers.  This implementation uses the connector to the
+     * asset if it implements DiscoveryRecordSource.  Subclasses may override this method to wrap other types of
+     * asset connector.  A source that is also a connector is disconnected once all of its records are read.
+     * A connector to the asset that is not a record source is disconnected straight away, since the record
+     * consumers then read the asset for themselves.
+     *
+     * @return record source or null if the asset can not be read as records
+     * @throws ConnectorCheckedException there is a problem creating the connector to the asset
+     */
+    protected DiscoveryRecordSource getRecordSource() throws ConnectorCheckedException
+    {
+        final String methodName = "getRecordSource";
+
+        Connector assetConnector = null;
+
+        try
+        {
+            assetConnector = super.discoveryContext.getAssetStore().getConnectorToAsset();
+
+            if (assetConnector instanceof DiscoveryRecordSource)
+            {
+                assetConnector.start();
+
+                return (DiscoveryRecordSource)assetConnector;
+            }
+        }
+        catch (ConnectorCheckedException error)
+        {
+            this.disconnectConnector(assetConnector);
+            throw error;
+        }
+        catch (Throwable error)
+        {
+            this.disconnectConnector(assetConnector);
+            super.handleUnexpectedException(methodName, error);
+        }
+
+        this.disconnectConnector(assetConnector);
+
+        return null;
+    }
+
+
+    /**
+     * Disconnect the record source if it is a connector.
+     *
+     * @param recordSource record source that has been read
+     */
+    private void releaseRecordSource(DiscoveryRecordSource recordSource)
+    {
+        if (recordSource instanceof Connector)
+        {
+            this.disconnectConnector((Connector)recordSource);
+        }
+    }
+
+
+    /**
+     * Disconnect a connector that the pipeline has finished with, ignoring any error.
+     *
+     * @param connector connector to disconnect (may be null)
+     */
+    private void disconnectConnector(Connector connector)
+    {
+        if (connector != null)
+        {
+            try
+            {
+                connector.disconnect();
+            }
+            catch (Throwable error)
+            {
+                /*
+                 * The pipeline no longer needs the connector so the analysis can continue.
+                 */
+            }
+        }
+    }
+
+
+    /**
+     * Read the records from the record source and pass them in batches to the record consumers.  Reading stops
+     * early if all of the record consumers have failed.
+     *
+     * @param recordSource source of records
+     * @param feeds one feed for each record consumer
+     * @throws ConnectorCheckedException there is a problem reading the asset
+     */
+    private void scanRecords(DiscoveryRecordSource recordSource,
+                             List<RecordFeed>      feeds) throws ConnectorCheckedException
+    {
+        List<List<?>> batch  = new ArrayList<>(RECORD_BATCH_SIZE);
+        List<?>       record = recordSource.getNextRecord();
+
+        while (record != null)
+        {
+            batch.add(record);
+
+            if (batch.size() == RECORD_BATCH_SIZE)
+            {
+                if (! this.deliverBatch(batch, feeds))
+                {
+                    return;
+                }
+
+                batch = new ArrayList<>(RECORD_BATCH_SIZE);
+            }
+
+            record = recordSource.getNextRecord();
+        }
+
+        if (! batch.isEmpty())
+        {
+            this.deliverBatch(batch, feeds);
+        }
+    }
+
+
+    /**
+     * Pass a batch of records to each of the record consumers that are still running.
+     *
+     * @param batch records to pass
+     * @param feeds one feed for each record consumer
+     * @return boolean indicating whether any record consumer is still running
+     */
+    private boolean deliverBatch(List<List<?>>    batch,
+                                 List<RecordFeed> feeds)
+    {
+        boolean anyRunning = false;
+
+        for (RecordFeed feed : feeds)
+        {
+            if (feed.addBatch(batch))
+            {
+                anyRunning = true;
+            }
+        }
+
+        return anyRunning;
+    }
+
+
+    /**
+     * DiscoveryServiceRunner runs a discovery service that reads the asset for itself.
+     */
+    private static class DiscoveryServiceRunner implements Callable<Void>
+    {
+        private final DiscoveryService discoveryService;
+
+
+        /**
+         * Constructor
+         *
+         * @param discoveryService discovery service to run
+         */
+        DiscoveryServiceRunner(DiscoveryService discoveryService)
+        {
+            this.discoveryService = discoveryService;
+        }
+
+
+        /**
+         * Run the discovery service.
+         *
+         * @return null
+         * @throws ConnectorCheckedException there is a problem within the discovery service
+         */
+        @Override
+        public Void call() throws ConnectorCheckedException
+        {
+            discoveryService.start();
+            discoveryService.disconnect();
+
+            return null;
+        }
+    }
+
+
+    /**
+     * RecordFeed passes the records read by the pipeline to a single record consumer.  The batches wait in a
+     * small bounded queue so that a slow record consumer slows down the reading of the asset rather than
+     * causing the records to build up in memory.
+     */
+    private static class RecordFeed implements Callable<Void>
+    {
+        private final DiscoveryService              discoveryService;
+        private final DiscoveryRecordConsumer       recordConsumer;
+        private final List<String>                  fieldNames;
+        private final BlockingQueue<List<List<?>>>  batches  = new ArrayBlockingQueue<>(MAX_QUEUED_BATCHES);
+        private volatile boolean                    finished = false;
+
+
+        /**
+         * Constructor
+         *
+         * @param discoveryService discovery service that implements DiscoveryRecordConsumer
+         * @param fieldNames names of the fields in each record
+         */
+        RecordFeed(DiscoveryService discoveryService,
+                   List<String>     fieldNames)
+        {
+            this.discoveryService = discoveryService;
+            this.recordConsumer = (DiscoveryRecordConsumer)discoveryService;
+            this.fieldNames = fieldNames;
+        }
+
+
+        /**
+         * Queue a batch of records for the record consumer.  This waits while the queue is full.
+         *
+         * @param batch records to pass
+         * @return boolean indicating whether the record consumer is still running
+         */
+        boolean addBatch(List<List<?>> batch)
+        {
+            try
+            {
+                while (! finished)
+                {
+                    if (batches.offer(batch, OFFER_WAIT_TIME, TimeUnit.MILLISECONDS))
+                    {
+                        return true;
+                    }
+                }
+            }
+            catch (InterruptedException error)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            return false;
+        }
+
+
+        /**
+         * Pass each queued record to the record consumer until the end of the records is reached.
+         *
+         * @return null
+         * @throws ConnectorCheckedException there is a problem within the discovery service
+         * @throws InterruptedException the pipeline has been interrupted
+         */
+        @Override
+        public Void call() throws ConnectorCheckedException,
+                                  InterruptedException
+        {
+            try
+            {
+                recordConsumer.startRecords(fieldNames);
+
+                List<List<?>> batch = batches.take();
+
+                while (batch != END_OF_RECORDS)
+                {
+                    for (List<?> record : batch)
+                    {
+                        recordConsumer.processRecord(record);
+                    }
+
+                    batch = batches.take();
+                }
+
+                recordConsumer.endRecords();
+                discoveryService.disconnect();
+
+                return null;
+            }
+            finally
+            {
+                finished = true;
+            }
+        }
+    }
+
+
+    /**
+     * PipelineThreadFactory names the threads after the discovery pipeline.
+     */
+    private static class PipelineThreadFactory implements ThreadFactory
+    {
+        private final String        pipelineName;
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+
+        /**
+         * Constructor
+         *
+         * @param pipelineName name of the discovery pipeline
+         */
+        PipelineThreadFactory(String pipelineName)
+        {
+            this.pipelineName = pipelineName;
+        }
+
+
+        /**
+         * Create a new thread for an embedded discovery service.
+         *
+         * @param runnable work for the thread
+         * @return new thread
+         */
+        @Override
+        public Thread newThread(Runnable runnable)
+        {
+            Thread thread = new Thread(runnable, "DiscoveryPipeline:" + pipelineName + ":" + threadNumber.getAndIncrement());
+
+            thread.setDaemon(true);
+
+            return thread;
+        }
+    }
+}
@@ -88,7 +88,8 @@ public class DiscoveryPipeline extends DiscoveryService implements VirtualConnec
 
 
     /**
-     * This implementation provides an inline sequential invocation of the supplied discovery services.
+     * Validate the embedded discovery services and run them.  This implementation provides an inline
+     * sequential invocation of the supplied discovery services.
      *
      * @throws ConnectorCheckedException there is a problem within the connector.
      */
@@ -113,7 +114,22 @@ public class DiscoveryPipeline extends DiscoveryService implements VirtualConnec
                                                 errorCode.getUserAction());
         }
 
-        for (DiscoveryService discoveryService : embeddedDiscoveryServices)
+        this.runDiscoveryServices(embeddedDiscoveryServices);
+    }
+
+
+    /**
+     * Run the embedded discovery services.  This implementation runs them one after another on the calling
+     * thread.  Each discovery service is passed the pipeline's discovery context so that their annotations are
+     * added to the same discovery analysis report.  Subclasses may override this method to change how the
+     * discovery services are choreographed.
+     *
+     * @param discoveryServices validated list of embedded discovery services
+     * @throws ConnectorCheckedException there is a problem within one of the discovery services.
+     */
+    protected void runDiscoveryServices(List<DiscoveryService> discoveryServices) throws ConnectorCheckedException
+    {
+        for (DiscoveryService discoveryService : discoveryServices)
         {
             if (discoveryService != null)
             {
@@ -0,0 +1,47 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.frameworks.discovery;
+
+import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
+
+import java.util.List;
+
+/**
+ * DiscoveryRecordConsumer is implemented by a discovery service that analyzes the content of an asset one record
+ * at a time.  When it runs inside a ConcurrentDiscoveryPipeline, the pipeline reads the asset once and passes the
+ * records to every record consumer.  The pipeline calls setDiscoveryContext(), then startRecords(), processRecord()
+ * for each record and endRecords().  It does not call start() on the discovery service.
+ *
+ * When the discovery service runs on its own, its start() method should read the asset and call these methods
+ * itself.
+ *
+ * The methods for one discovery service are always called from a single thread.
+ */
+public interface DiscoveryRecordConsumer
+{
+    /**
+     * Prepare to receive the records of the asset.
+     *
+     * @param fieldNames names of the fields in each record (may be null)
+     * @throws ConnectorCheckedException there is a problem within the discovery service
+     */
+    void startRecords(List<String> fieldNames) throws ConnectorCheckedException;
+
+
+    /**
+     * Analyze a single record from the asset.  The record should not be kept after this method returns.
+     *
+     * @param fieldValues values of the fields in the record
+     * @throws ConnectorCheckedException there is a problem within the discovery service
+     */
+    void processRecord(List<?> fieldValues) throws ConnectorCheckedException;
+
+
+    /**
+     * All of the records have been passed to the discovery service.  This is where it should add its
+     * annotations to the discovery context's annotation store.
+     *
+     * @throws ConnectorCheckedException there is a problem within the discovery service
+     */
+    void endRecords() throws ConnectorCheckedException;
+}
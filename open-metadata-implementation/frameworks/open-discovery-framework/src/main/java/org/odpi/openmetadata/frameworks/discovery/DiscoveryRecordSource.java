@@ -0,0 +1,32 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.frameworks.discovery;
+
+import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
+
+import java.util.List;
+
+/**
+ * DiscoveryRecordSource is implemented by an asset connector (or an adapter around one) that can return the
+ * content of the asset as a sequence of records.  It allows a discovery pipeline to read the asset once and pass
+ * each record to all of the discovery services that implement DiscoveryRecordConsumer.
+ */
+public interface DiscoveryRecordSource
+{
+    /**
+     * Return the names of the fields in each record.  The values in each record are in the same order.
+     *
+     * @return list of field names (may be null if the names are not known)
+     * @throws ConnectorCheckedException there is a problem reading the asset
+     */
+    List<String> getFieldNames() throws ConnectorCheckedException;
+
+
+    /**
+     * Return the next record from the asset.
+     *
+     * @return list of field values or null if there are no more records
+     * @throws ConnectorCheckedException there is a problem reading the asset
+     */
+    List<?> getNextRecord() throws ConnectorCheckedException;
+}
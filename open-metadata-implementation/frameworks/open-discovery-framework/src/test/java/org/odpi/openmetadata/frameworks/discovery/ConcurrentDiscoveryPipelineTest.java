@@ -0,0 +1,282 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.frameworks.discovery;
+
+import org.odpi.openmetadata.frameworks.connectors.Connector;
+import org.odpi.openmetadata.frameworks.connectors.ConnectorBase;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
+import org.odpi.openmetadata.frameworks.connectors.properties.AssetUniverse;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Verify that the ConcurrentDiscoveryPipeline reads the asset once, passes every record to each record consumer
+ * and runs the other discovery services.
+ */
+public class ConcurrentDiscoveryPipelineTest
+{
+    private static final int RECORD_COUNT = 1234;
+
+
+    /**
+     * Record source that counts the records read.
+     */
+    private static class CountingRecordSource implements DiscoveryRecordSource
+    {
+        int recordsRead = 0;
+
+        public List<String> getFieldNames()
+        {
+            return Arrays.asList("id", "name");
+        }
+
+        public List<?> getNextRecord()
+        {
+            if (recordsRead == RECORD_COUNT)
+            {
+                return null;
+            }
+
+            recordsRead++;
+            return Arrays.asList(Integer.toString(recordsRead), "name" + recordsRead);
+        }
+    }
+
+
+    /**
+     * Record consumer that totals the first field of each record.
+     */
+    private static class SummingDiscoveryService extends DiscoveryService implements DiscoveryRecordConsumer
+    {
+        List<String> fieldNames = null;
+        long         total      = 0;
+        boolean      ended      = false;
+        boolean      fail       = false;
+
+        public void startRecords(List<String> fieldNames)
+        {
+            this.fieldNames = fieldNames;
+        }
+
+        public void processRecord(List<?> fieldValues) throws ConnectorCheckedException
+        {
+            if (fail)
+            {
+                throw new ConnectorCheckedException(500, this.getClass().getName(), "processRecord", "Test failure", "None", "None");
+            }
+
+            total = total + Long.parseLong(fieldValues.get(0).toString());
+        }
+
+        public void endRecords()
+        {
+            ended = true;
+        }
+    }
+
+
+    /**
+     * Discovery service that does not consume records.
+     */
+    private static class IndependentDiscoveryService extends DiscoveryService
+    {
+        boolean started = false;
+
+        public void start() throws ConnectorCheckedException
+        {
+            super.start();
+            started = true;
+        }
+    }
+
+
+    /**
+     * Pipeline that uses the test record source.
+     */
+    private static class TestPipeline extends ConcurrentDiscoveryPipeline
+    {
+        CountingRecordSource recordSource = new CountingRecordSource();
+
+        protected DiscoveryRecordSource getRecordSource()
+        {
+            return recordSource;
+        }
+    }
+
+
+    /**
+     * Connector to the asset that is not a record source.  It counts the calls to disconnect.
+     */
+    private static class PlainAssetConnector extends ConnectorBase
+    {
+        int disconnectCount = 0;
+
+        public void disconnect() throws ConnectorCheckedException
+        {
+            super.disconnect();
+            disconnectCount++;
+        }
+    }
+
+
+    /**
+     * Asset store that returns the supplied connector to the asset.
+     */
+    private static class TestAssetStore extends DiscoveryAssetStore
+    {
+        private final Connector assetConnector;
+
+        TestAssetStore(Connector assetConnector)
+        {
+            super("testAssetGUID", "testUser");
+            this.assetConnector = assetConnector;
+        }
+
+        protected Connector getConnectorByConnection(Connection connection)
+        {
+            return assetConnector;
+        }
+
+        protected Connection getConnectionForAsset()
+        {
+            return new Connection();
+        }
+
+        public AssetUniverse getAssetProperties()
+        {
+            return null;
+        }
+
+        public void logAssetAuditMessage(String message)
+        {
+        }
+    }
+
+
+    /**
+     * Set up a pipeline with the supplied discovery services.
+     *
+     * @param discoveryServices embedded discovery services
+     * @return pipeline
+     */
+    private TestPipeline getPipeline(DiscoveryService... discoveryServices)
+    {
+        TestPipeline pipeline = new TestPipeline();
+
+        pipeline.initializeEmbeddedConnectors(new ArrayList<Connector>(Arrays.asList(discoveryServices)));
+        pipeline.setDiscoveryContext(new DiscoveryContext("testUser", "testAssetGUID", "testReportGUID", null, null, null, null));
+
+        return pipeline;
+    }
+
+
+    /**
+     * The records are read once and every record consumer sees all of them.
+     *
+     * @throws ConnectorCheckedException test failure
+     */
+    @Test
+    public void testSinglePass() throws ConnectorCheckedException
+    {
+        SummingDiscoveryService     consumer1   = new SummingDiscoveryService();
+        SummingDiscoveryService     consumer2   = new SummingDiscoveryService();
+        SummingDiscoveryService     consumer3   = new SummingDiscoveryService();
+        IndependentDiscoveryService independent = new IndependentDiscoveryService();
+
+        TestPipeline pipeline = getPipeline(consumer1, independent, consumer2, consumer3);
+
+        pipeline.start();
+
+        long expectedTotal = ((long)RECORD_COUNT * (RECORD_COUNT + 1)) / 2;
+
+        assertEquals(pipeline.recordSource.recordsRead, RECORD_COUNT);
+
+        for (SummingDiscoveryService consumer : Arrays.asList(consumer1, consumer2, consumer3))
+        {
+            assertEquals(consumer.fieldNames, Arrays.asList("id", "name"));
+            assertEquals(consumer.total, expectedTotal);
+            assertTrue(consumer.ended);
+            assertTrue(consumer.getDiscoveryContext() == pipeline.getDiscoveryContext());
+        }
+
+        assertTrue(independent.started);
+    }
+
+
+    /**
+     * A failing record consumer does not stop the others and its exception is returned by the pipeline.
+     */
+    @Test
+    public void testFailingConsumer()
+    {
+        SummingDiscoveryService goodConsumer = new SummingDiscoveryService();
+        SummingDiscoveryService badConsumer  = new SummingDiscoveryService();
+
+        badConsumer.fail = true;
+
+        TestPipeline pipeline = getPipeline(badConsumer, goodConsumer);
+
+        try
+        {
+            pipeline.start();
+            fail("Exception expected");
+        }
+        catch (ConnectorCheckedException error)
+        {
+            assertEquals(error.getErrorMessage(), "Test failure");
+        }
+
+        assertEquals(goodConsumer.total, ((long)RECORD_COUNT * (RECORD_COUNT + 1)) / 2);
+        assertTrue(goodConsumer.ended);
+    }
+
+
+    /**
+     * A pipeline with no discovery services to run returns without reading the asset.
+     *
+     * @throws ConnectorCheckedException test failure
+     */
+    @Test
+    public void testNoDiscoveryServices() throws ConnectorCheckedException
+    {
+        TestPipeline pipeline = getPipeline();
+
+        pipeline.runDiscoveryServices(new ArrayList<>());
+        pipeline.runDiscoveryServices(Arrays.asList(null, null));
+
+        assertEquals(pipeline.recordSource.recordsRead, 0);
+    }
+
+
+    /**
+     * A connector to the asset that can not be read as records is disconnected rather than left open.
+     *
+     * @throws ConnectorCheckedException test failure
+     */
+    @Test
+    public void testAssetConnectorThatIsNotARecordSource() throws ConnectorCheckedException
+    {
+        PlainAssetConnector         assetConnector = new PlainAssetConnector();
+        ConcurrentDiscoveryPipeline pipeline       = new ConcurrentDiscoveryPipeline();
+
+        pipeline.setDiscoveryContext(new DiscoveryContext("testUser",
+                                                          "testAssetGUID",
+                                                          "testReportGUID",
+                                                          null,
+                                                          null,
+                                                          new TestAssetStore(assetConnector),
+                                                          null));
+
+        assertNull(pipeline.getRecordSource());
+        assertEquals(assetConnector.disconnectCount, 1);
+    }
+}
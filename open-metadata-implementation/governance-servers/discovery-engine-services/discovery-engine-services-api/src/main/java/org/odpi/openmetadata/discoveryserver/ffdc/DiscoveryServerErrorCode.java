@@ -71,7 +71,17 @@ public enum DiscoveryServerErrorCode
     NO_DISCOVERY_ENGINES_STARTED(400,"OMAS-DISCOVERY-SERVER-400-007",
                          "Discovery server {0} is unable to start any discovery engines",
                          "The server is not able to run any discovery requests.  It fails to start.",
-                         "Add the configuration for at least one discovery engine to this discovery server.");
+                         "Add the configuration for at least one discovery engine to this discovery server."),
+
+    DISCOVERY_QUEUE_FULL(503, "OMAS-DISCOVERY-SERVER-503-001",
+                         "Discovery engine {0} is unable to accept a discovery request for asset {1} because it already has {2} discovery requests waiting to run",
+                         "The discovery request is rejected.  No discovery analysis report is created.",
+                         "Retry the discovery request once the discovery engine has worked through its waiting requests.  If this happens regularly, increase the number of worker threads or waiting requests in the discovery server's configuration document."),
+
+    DISCOVERY_ENGINE_SHUTDOWN(503, "OMAS-DISCOVERY-SERVER-503-002",
+                              "Discovery engine {0} is unable to accept a discovery request for asset {1} because it is shutting down",
+                              "The discovery request is rejected.  If a discovery analysis report was already created for the request, it is set to FAILED status.",
+                              "Retry the discovery request once the discovery engine is running again.");
 
 
     private int    httpErrorCode;
@@ -6,9 +6,11 @@ import org.odpi.openmetadata.commonservices.ffdc.InvalidParameterHandler;
 import org.odpi.openmetadata.commonservices.ffdc.RESTExceptionHandler;
 import org.odpi.openmetadata.commonservices.ffdc.rest.GUIDResponse;
 import org.odpi.openmetadata.commonservices.odf.metadatamanagement.client.ODFRESTClient;
+import org.odpi.openmetadata.commonservices.odf.metadatamanagement.properties.DiscoveryEngineStatistics;
 import org.odpi.openmetadata.commonservices.odf.metadatamanagement.rest.AnnotationListResponse;
 import org.odpi.openmetadata.commonservices.odf.metadatamanagement.rest.AnnotationResponse;
 import org.odpi.openmetadata.commonservices.odf.metadatamanagement.rest.DiscoveryAnalysisReportResponse;
+import org.odpi.openmetadata.commonservices.odf.metadatamanagement.rest.DiscoveryEngineStatisticsResponse;
 import org.odpi.openmetadata.commonservices.odf.metadatamanagement.rest.DiscoveryRequestRequestBody;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException;
@@ -152,6 +154,36 @@ public class DiscoveryServerClient extends DiscoveryEngine
                                  List<String>        annotationTypes) throws InvalidParameterException,
                                                                              UserNotAuthorizedException,
                                                                              DiscoveryEngineException
+    {
+        return this.discoverAsset(userId, assetGUID, assetType, analysisParameters, annotationTypes, 0);
+    }
+
+
+    /**
+     * Request the execution of a discovery service to explore a specific asset.  Requests with a higher
+     * priority are run before requests with a lower priority when the discovery engine is busy.
+     *
+     * @param userId identifier of calling user
+     * @param assetGUID identifier of the asset to analyze.
+     * @param assetType identifier of the type of asset to analyze - this determines which discovery service to run.
+     * @param analysisParameters name value properties to control the analysis
+     * @param annotationTypes list of the types of annotations to produce (and no others)
+     * @param requestPriority priority of the request (default 0)
+     *
+     * @return unique id for the discovery request.
+     *
+     * @throws InvalidParameterException one of the parameters is null or invalid.
+     * @throws UserNotAuthorizedException user not authorized to issue this request.
+     * @throws DiscoveryEngineException there was a problem detected by the discovery engine.
+     */
+    public  String discoverAsset(String              userId,
+                                 String              assetGUID,
+                                 String              assetType,
+                                 Map<String, String> analysisParameters,
+                                 List<String>        annotationTypes,
+                                 int                 requestPriority) throws InvalidParameterException,
+                                                                             UserNotAuthorizedException,
+                                                                             DiscoveryEngineException
     {
         final String   methodName = "discoverAsset";
         final String   assetGUIDParameterName = "assetGUID";
@@ -166,6 +198,7 @@ public class DiscoveryServerClient extends DiscoveryEngine
 
         requestBody.setAnalysisParameters(analysisParameters);
         requestBody.setAnnotationTypes(annotationTypes);
+        requestBody.setRequestPriority(requestPriority);
 
         try
         {
@@ -191,6 +224,43 @@ public class DiscoveryServerClient extends DiscoveryEngine
     }
 
 
+    /**
+     * Return the statistics for the discovery engine's queue of discovery requests.
+     *
+     * @param userId identifier of calling user
+     *
+     * @return statistics bean
+     *
+     * @throws InvalidParameterException one of the parameters is null or invalid.
+     * @throws UserNotAuthorizedException user not authorized to issue this request.
+     * @throws DiscoveryEngineException there was a problem detected by the discovery engine.
+     */
+    public DiscoveryEngineStatistics getDiscoveryEngineStatistics(String   userId) throws InvalidParameterException,
+                                                                                       UserNotAuthorizedException,
+                                                                                       DiscoveryEngineException
+    {
+        final String   methodName = "getDiscoveryEngineStatistics";
+        final String   urlTemplate = "/servers/{0}/open-metadata/discovery-server/users/{1}/discovery-engine/{2}/statistics";
+
+        invalidParameterHandler.validateUserId(userId, methodName);
+
+        try
+        {
+            DiscoveryEngineStatisticsResponse restResult = restClient.callDiscoveryEngineStatisticsGetRESTCall(methodName,
+                                                                                                               serverPlatformRootURL + urlTemplate,
+                                                                                                               serverName,
+                                                                                                               userId,
+                                                                                                               discoveryEngineGUID);
+
+            return restResult.getStatistics();
+        }
+        catch (PropertyServerException  exception)
+        {
+            throw new DiscoveryEngineException(exception);
+        }
+    }
+
+
     /**
      * Request the status of an executing discovery request.
      *
@@ -162,6 +162,18 @@ public enum DiscoveryServerAuditCode
                                  "The server is not able to record the failed result for a discovery request. The discovery report status is not updated.",
                                  "Review the error message and any other reported failures to determine the cause of the problem.  Once this is resolved, retry the discovery request."),
 
+    ENGINE_WORK_QUEUE_STARTED("OMAS-DISCOVERY-SERVER-0022",
+                              OMRSAuditLogRecordSeverity.INFO,
+                              "The discovery engine {0} will run up to {1} discovery requests at a time and hold up to {2} waiting discovery requests",
+                              "The discovery engine has started the threads that run its discovery requests.",
+                              "No action is required.  The limits can be changed in the discovery server's configuration document."),
+
+    DISCOVERY_REQUESTS_NOT_RUN("OMAS-DISCOVERY-SERVER-0023",
+                               OMRSAuditLogRecordSeverity.INFO,
+                               "The discovery engine {0} is shutting down with {1} discovery requests waiting to run",
+                               "The waiting discovery requests are not run.  Their discovery analysis reports are set to FAILED status.",
+                               "Resubmit the discovery requests once the discovery engine is running again."),
+
     ;
 
     private String                     logMessageId;
@@ -7,6 +7,7 @@ import org.odpi.openmetadata.accessservices.discoveryengine.client.DiscoveryAsse
 import org.odpi.openmetadata.accessservices.discoveryengine.client.DiscoveryConfigurationClient;
 import org.odpi.openmetadata.accessservices.discoveryengine.client.DiscoveryEngineClient;
 import org.odpi.openmetadata.commonservices.odf.metadatamanagement.client.ODFRESTClient;
+import org.odpi.openmetadata.commonservices.odf.metadatamanagement.properties.DiscoveryEngineStatistics;
 import org.odpi.openmetadata.discoveryserver.auditlog.DiscoveryServerAuditCode;
 import org.odpi.openmetadata.frameworks.connectors.ConnectorBroker;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.*;
@@ -30,10 +31,14 @@ import java.util.Map;
  */
 public class DiscoveryEngineHandler
 {
+    private static final int DEFAULT_WORKER_THREADS      = 5;
+    private static final int DEFAULT_MAX_QUEUED_REQUESTS = 1000;
+
     private String                       serverName;               /* Initialized in constructor */
     private String                       serverUserId;             /* Initialized in constructor */
     private OMRSAuditLog                 auditLog;                 /* Initialized in constructor */
     private DiscoveryEngineClient        discoveryEngineClient;    /* Initialized in constructor */
+    private DiscoveryRequestScheduler    requestScheduler;         /* Initialized in constructor */
 
     private String                    discoveryEngineGUID;
     private DiscoveryEngineProperties discoveryEngineProperties;
@@ -51,6 +56,8 @@ public class DiscoveryEngineHandler
      * @param restClient REST client for direct REST Calls
      * @param auditLog logging destination
      * @param maxPageSize maximum number of results that can be returned in a single request
+     * @param workerThreads number of discovery requests that can run at the same time (zero means use the default)
+     * @param maxQueuedRequests number of discovery requests that can wait to run (zero means use the default)
      * @throws InvalidParameterException one of the parameters is null or invalid.
      * @throws UserNotAuthorizedException user id not allowed to access configuration
      * @throws PropertyServerException problem in configuration server
@@ -62,10 +69,15 @@ public class DiscoveryEngineHandler
                                   DiscoveryConfigurationClient configurationClient,
                                   ODFRESTClient                restClient,
                                   OMRSAuditLog                 auditLog,
-                                  int                          maxPageSize) throws InvalidParameterException,
-                                                                                   UserNotAuthorizedException,
-                                                                                   PropertyServerException
+                                  int                          maxPageSize,
+                                  int                          workerThreads,
+                                  int                          maxQueuedRequests) throws InvalidParameterException,
+                                                                                         UserNotAuthorizedException,
+                                                                                         PropertyServerException
     {
+        final String             actionDescription = "initialize";
+        DiscoveryServerAuditCode auditCode;
+
         this.discoveryEngineGUID       = discoveryEngineGUID;
         this.discoveryEngineProperties = configurationClient.getDiscoveryEngineByGUID(serverUserId, discoveryEngineGUID);
 
@@ -123,6 +135,28 @@ public class DiscoveryEngineHandler
         this.auditLog = auditLog;
         this.discoveryEngineClient = new DiscoveryEngineClient(serverName, serverPlatformRootURL, restClient);
 
+        if (workerThreads <= 0)
+        {
+            workerThreads = DEFAULT_WORKER_THREADS;
+        }
+
+        if (maxQueuedRequests <= 0)
+        {
+            maxQueuedRequests = DEFAULT_MAX_QUEUED_REQUESTS;
+        }
+
+        this.requestScheduler = new DiscoveryRequestScheduler(discoveryEngineGUID, workerThreads, maxQueuedRequests);
+
+        auditCode = DiscoveryServerAuditCode.ENGINE_WORK_QUEUE_STARTED;
+        auditLog.logRecord(actionDescription,
+                           auditCode.getLogMessageId(),
+                           auditCode.getSeverity(),
+                           auditCode.getFormattedLogMessage(discoveryEngineGUID,
+                                                            Integer.toString(workerThreads),
+                                                            Integer.toString(maxQueuedRequests)),
+                           null,
+                           auditCode.getSystemAction(),
+                           auditCode.getUserAction());
     }
 
 
@@ -147,52 +181,122 @@ public class DiscoveryEngineHandler
                                                                              UserNotAuthorizedException,
                                                                              PropertyServerException
     {
+        return this.discoverAsset(assetGUID, assetType, analysisParameters, annotationTypes, 0);
+    }
+
+
+    /**
+     * Request the execution of a discovery service to explore a specific asset.  The request waits in the
+     * discovery engine's queue until a worker thread is free.  If a matching request is already waiting,
+     * the unique identifier of its discovery analysis report is returned and no new request is queued.
+     *
+     * @param assetGUID identifier of the asset to analyze.
+     * @param assetType identifier of the type of asset to analyze - this determines which discovery service to run.
+     * @param analysisParameters name value properties to control the analysis
+     * @param annotationTypes list of the types of annotations to produce (and no others)
+     * @param requestPriority requests with a higher priority run before requests with a lower priority
+     *
+     * @return unique id for the discovery request.
+     *
+     * @throws InvalidParameterException one of the parameters is null or invalid.
+     * @throws UserNotAuthorizedException user not authorized to issue this request.
+     * @throws PropertyServerException there was a problem detected by the discovery engine or its queue is full.
+     */
+    public  String discoverAsset(String              assetGUID,
+                                 String              assetType,
+                                 Map<String, String> analysisParameters,
+                                 List<String>        annotationTypes,
+                                 int                 requestPriority) throws InvalidParameterException,
+                                                                             UserNotAuthorizedException,
+                                                                             PropertyServerException
+    {
+        final String methodName = "discoverAsset";
+
         Date creationTime = new Date();
         DiscoveryServiceCache   discoveryServiceCache = discoveryServiceLookupTable.get(assetType);
 
         if (discoveryServiceCache != null)
         {
-            DiscoveryAnalysisReport discoveryReport = discoveryEngineClient.createDiscoveryAnalysisReport(serverUserId,
-                                                                                                          "DiscoveryAnalysisReport:" + assetType + ":" + assetGUID + ":" + creationTime.toString(),
-                                                                                                          "Discovery Analysis Report for " + assetGUID,
-                                                                                                          "This is the " + assetType + " discovery analysis report for asset " + assetGUID + " generated at " + creationTime.toString() +
-                                                                                                                          " by the " + discoveryServiceCache.getDiscoveryServiceName() + " discovery service running on discovery engine " +
-                                                                                                                          discoveryEngineProperties.getDisplayName() + " (" + discoveryEngineGUID + ").",
-                                                                                                          creationTime,
-                                                                                                          analysisParameters,
-                                                                                                          DiscoveryRequestStatus.WAITING,
-                                                                                                          assetGUID,
-                                                                                                          discoveryEngineGUID,
-                                                                                                          discoveryServiceCache.getDiscoveryServiceGUID(),
-                                                                                                          null,
-                                                                                                          null);
-            DiscoveryAnnotationStore annotationStore = new DiscoveryAnnotationStoreClient(serverUserId,
-                                                                                          assetGUID,
-                                                                                          discoveryReport.getGUID(),
-                                                                                          discoveryEngineClient);
-            DiscoveryAssetStore assetStore = new DiscoveryAssetStoreClient(assetGUID,
-                                                                           serverUserId,
-                                                                           discoveryEngineClient);
-            DiscoveryContext discoveryContext = new DiscoveryContext(serverUserId,
-                                                                     assetGUID,
-                                                                     discoveryReport.getGUID(),
-                                                                     analysisParameters,
-                                                                     annotationTypes,
-                                                                     assetStore,
-                                                                     annotationStore);
-
-            DiscoveryServiceHandler discoveryServiceHandler = new DiscoveryServiceHandler(discoveryEngineProperties,
-                                                                                          assetType,
-                                                                                          discoveryServiceCache.getDiscoveryServiceName(),
-                                                                                          discoveryServiceCache.getNextDiscoveryService(),
-                                                                                          discoveryContext,
-                                                                                          auditLog,
-                                                                                          discoveryEngineClient,
-                                                                                          serverUserId);
-            Thread thread = new Thread(discoveryServiceHandler, discoveryServiceCache.getDiscoveryServiceName() + assetGUID + new Date().toString());
-            thread.start();
-
-            return discoveryReport.getGUID();
+            String requestKey = DiscoveryRequestScheduler.getRequestKey(assetGUID, assetType, analysisParameters, annotationTypes);
+            String waitingRequestGUID = requestScheduler.getWaitingRequestGUID(requestKey);
+
+            if (waitingRequestGUID != null)
+            {
+                return waitingRequestGUID;
+            }
+
+            requestScheduler.reserveQueueSlot(assetGUID, methodName);
+
+            DiscoveryServiceHandler discoveryServiceHandler;
+            String                  discoveryReportGUID;
+
+            try
+            {
+                DiscoveryAnalysisReport discoveryReport = discoveryEngineClient.createDiscoveryAnalysisReport(serverUserId,
+                                                                                                              "DiscoveryAnalysisReport:" + assetType + ":" + assetGUID + ":" + creationTime.toString(),
+                                                                                                              "Discovery Analysis Report for " + assetGUID,
+                                                                                                              "This is the " + assetType + " discovery analysis report for asset " + assetGUID + " generated at " + creationTime.toString() +
+                                                                                                                              " by the " + discoveryServiceCache.getDiscoveryServiceName() + " discovery service running on discovery engine " +
+                                                                                                                              discoveryEngineProperties.getDisplayName() + " (" + discoveryEngineGUID + ").",
+                                                                                                              creationTime,
+                                                                                                              analysisParameters,
+                                                                                                              DiscoveryRequestStatus.WAITING,
+                                                                                                              assetGUID,
+                                                                                                              discoveryEngineGUID,
+                                                                                                              discoveryServiceCache.getDiscoveryServiceGUID(),
+                                                                                                              null,
+                                                                                                              null);
+                DiscoveryAnnotationStore annotationStore = new DiscoveryAnnotationStoreClient(serverUserId,
+                                                                                              assetGUID,
+                                                                                              discoveryReport.getGUID(),
+                                                                                              discoveryEngineClient);
+                DiscoveryAssetStore assetStore = new DiscoveryAssetStoreClient(assetGUID,
+                                                                               serverUserId,
+                                                                               discoveryEngineClient);
+                DiscoveryContext discoveryContext = new DiscoveryContext(serverUserId,
+                                                                         assetGUID,
+                                                                         discoveryReport.getGUID(),
+                                                                         analysisParameters,
+                                                                         annotationTypes,
+                                                                         assetStore,
+                                                                         annotationStore);
+
+                discoveryServiceHandler = new DiscoveryServiceHandler(discoveryEngineProperties,
+                                                                      assetType,
+                                                                      discoveryServiceCache.getDiscoveryServiceName(),
+                                                                      discoveryServiceCache.getNextDiscoveryService(),
+                                                                      discoveryContext,
+                                                                      auditLog,
+                                                                      discoveryEngineClient,
+                                                                      serverUserId);
+
+                discoveryReportGUID = discoveryReport.getGUID();
+            }
+            catch (Throwable error)
+            {
+                requestScheduler.releaseQueueSlot();
+                throw error;
+            }
+
+            try
+            {
+                requestScheduler.queueRequest(requestKey,
+                                              discoveryReportGUID,
+                                              requestPriority,
+                                              discoveryServiceHandler,
+                                              assetGUID,
+                                              methodName);
+            }
+            catch (PropertyServerException error)
+            {
+                /*
+                 * The discovery engine was shut down while the report was being created.
+                 */
+                discoveryServiceHandler.setDiscoveryStatusToFailed(methodName);
+                throw error;
+            }
+
+            return discoveryReportGUID;
         }
 
         return null;
@@ -324,13 +428,44 @@ public class DiscoveryEngineHandler
 
 
     /**
-     * Confirms termination of the discovery engine.
+     * Return the statistics for the discovery engine's queue of discovery requests.
+     *
+     * @return statistics bean
+     */
+    public DiscoveryEngineStatistics getStatistics()
+    {
+        return requestScheduler.getStatistics();
+    }
+
+
+    /**
+     * Confirms termination of the discovery engine.  Discovery requests that are running are allowed to
+     * complete.  Waiting requests are not run and their discovery analysis reports are set to FAILED status.
      */
     public void terminate()
     {
         final String             actionDescription = "terminate";
         DiscoveryServerAuditCode auditCode;
 
+        List<DiscoveryServiceHandler> notRunHandlers = requestScheduler.shutdown();
+
+        if (! notRunHandlers.isEmpty())
+        {
+            auditCode = DiscoveryServerAuditCode.DISCOVERY_REQUESTS_NOT_RUN;
+            auditLog.logRecord(actionDescription,
+                               auditCode.getLogMessageId(),
+                               auditCode.getSeverity(),
+                               auditCode.getFormattedLogMessage(discoveryEngineGUID, Integer.toString(notRunHandlers.size())),
+                               null,
+                               auditCode.getSystemAction(),
+                               auditCode.getUserAction());
+
+            for (DiscoveryServiceHandler notRunHandler : notRunHandlers)
+            {
+                notRunHandler.setDiscoveryStatusToFailed(actionDescription);
+            }
+        }
+
         auditCode = DiscoveryServerAuditCode.ENGINE_SHUTDOWN;
         auditLog.logRecord(actionDescription,
                            auditCode.getLogMessageId(),
@@ -0,0 +1,470 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.discoveryserver.handlers;
+
+import org.odpi.openmetadata.commonservices.odf.metadatamanagement.properties.DiscoveryEngineStatistics;
+import org.odpi.openmetadata.discoveryserver.ffdc.DiscoveryServerErrorCode;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DiscoveryRequestScheduler runs the discovery requests for a discovery engine on a fixed number of worker
+ * threads.  Requests that arrive while all of the workers are busy wait in a priority queue.  The queue has a
+ * maximum size and requests are rejected when it is full, so that a burst of requests can not overwhelm the
+ * discovery server or the data stores that the discovery services analyze.
+ *
+ * A request that matches a request that is still waiting (same asset, asset type, analysis parameters and
+ * annotation types) is not queued again.  The caller is given the unique identifier of the waiting request's
+ * discovery analysis report instead.
+ *
+ * Each waiting request already has a discovery analysis report stored in WAITING status, so the metadata
+ * server holds a persistent record of the requests that have not run.  Once the scheduler is shut down, new
+ * requests are rejected and the handlers of the requests that will not run are returned to the caller so
+ * the status of their reports can be updated.
+ */
+class DiscoveryRequestScheduler
+{
+    private final String             discoveryEngineGUID;
+    private final int                workerCount;
+    private final int                maxQueuedRequests;
+    private final ThreadPoolExecutor workerPool;
+
+    private final Map<String, QueuedDiscoveryRequest> waitingRequests = new HashMap<>();
+
+    private boolean isShutdown        = false;
+    private long queuedRequests       = 0;   /* includes requests whose report is being created */
+    private long activeRequests       = 0;
+    private long requestSequence      = 0;
+    private long submittedRequests    = 0;
+    private long deduplicatedRequests = 0;
+    private long rejectedRequests     = 0;
+    private long completedRequests    = 0;
+    private long totalQueueTime       = 0;
+    private long maxQueueTime         = 0;
+    private long totalRunTime         = 0;
+    private long maxRunTime           = 0;
+
+
+    /**
+     * Start the worker threads for a discovery engine.
+     *
+     * @param discoveryEngineGUID unique identifier of the discovery engine - used in thread names and messages
+     * @param workerCount number of discovery requests that can run at the same time
+     * @param maxQueuedRequests number of discovery requests that can wait for a worker
+     */
+    DiscoveryRequestScheduler(String discoveryEngineGUID,
+                              int    workerCount,
+                              int    maxQueuedRequests)
+    {
+        this.discoveryEngineGUID = discoveryEngineGUID;
+        this.workerCount = workerCount;
+        this.maxQueuedRequests = maxQueuedRequests;
+
+        this.workerPool = new ThreadPoolExecutor(workerCount,
+                                                 workerCount,
+                                                 0L,
+                                                 TimeUnit.MILLISECONDS,
+                                                 new PriorityBlockingQueue<>(),
+                                                 new WorkerThreadFactory(discoveryEngineGUID));
+    }
+
+
+    /**
+     * Build the key used to detect a request that matches one that is already waiting.
+     *
+     * @param assetGUID identifier of the asset to analyze
+     * @param assetType type of the asset
+     * @param analysisParameters name value properties to control the analysis
+     * @param annotationTypes list of the types of annotations to produce
+     * @return request key
+     */
+    static String getRequestKey(String              assetGUID,
+                                String              assetType,
+                                Map<String, String> analysisParameters,
+                                List<String>        annotationTypes)
+    {
+        Map<String, String> sortedParameters = null;
+
+        if (analysisParameters != null)
+        {
+            sortedParameters = new TreeMap<>(analysisParameters);
+        }
+
+        return assetType + ":" + assetGUID + ":" + sortedParameters + ":" + annotationTypes;
+    }
+
+
+    /**
+     * Return the unique identifier of the discovery analysis report for a matching request that is still
+     * waiting to run.
+     *
+     * @param requestKey key built by getRequestKey
+     * @return report GUID or null if there is no matching request waiting
+     */
+    synchronized String getWaitingRequestGUID(String requestKey)
+    {
+        QueuedDiscoveryRequest waitingRequest = waitingRequests.get(requestKey);
+
+        if (waitingRequest != null)
+        {
+            deduplicatedRequests++;
+            return waitingRequest.discoveryReportGUID;
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Reserve a place in the queue for a new request.  The place is reserved before the discovery analysis
+     * report is created so that no report is created for a request that is rejected.
+     *
+     * @param assetGUID identifier of the asset to analyze - used in the error message
+     * @param methodName calling method
+     * @throws PropertyServerException the queue is full or the scheduler is shut down
+     */
+    synchronized void reserveQueueSlot(String assetGUID,
+                                       String methodName) throws PropertyServerException
+    {
+        if (isShutdown)
+        {
+            rejectedRequests++;
+
+            throw this.getShutdownException(assetGUID, methodName);
+        }
+
+        if (queuedRequests >= maxQueuedRequests)
+        {
+            rejectedRequests++;
+
+            DiscoveryServerErrorCode errorCode    = DiscoveryServerErrorCode.DISCOVERY_QUEUE_FULL;
+            String                   errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(discoveryEngineGUID,
+                                                                                                                      assetGUID,
+                                                                                                                      Long.toString(queuedRequests));
+
+            throw new PropertyServerException(errorCode.getHTTPErrorCode(),
+                                              this.getClass().getName(),
+                                              methodName,
+                                              errorMessage,
+                                              errorCode.getSystemAction(),
+                                              errorCode.getUserAction());
+        }
+
+        queuedRequests++;
+    }
+
+
+    /**
+     * Give back a reserved place in the queue because the request could not be set up.
+     */
+    synchronized void releaseQueueSlot()
+    {
+        queuedRequests--;
+    }
+
+
+    /**
+     * Add a request to the queue using a place that was reserved by reserveQueueSlot.  If the scheduler was
+     * shut down while the request's discovery analysis report was being created, the place is given back and
+     * the request is rejected.
+     *
+     * @param requestKey key built by getRequestKey
+     * @param discoveryReportGUID unique identifier of the request's discovery analysis report
+     * @param requestPriority requests with a higher priority run first
+     * @param discoveryServiceHandler handler that runs the discovery service
+     * @param assetGUID identifier of the asset to analyze - used in the error message
+     * @param methodName calling method
+     * @throws PropertyServerException the scheduler is shut down
+     */
+    synchronized void queueRequest(String                  requestKey,
+                                   String                  discoveryReportGUID,
+                                   int                     requestPriority,
+                                   DiscoveryServiceHandler discoveryServiceHandler,
+                                   String                  assetGUID,
+                                   String                  methodName) throws PropertyServerException
+    {
+        if (! isShutdown)
+        {
+            QueuedDiscoveryRequest request = new QueuedDiscoveryRequest(requestKey,
+                                                                        discoveryReportGUID,
+                                                                        requestPriority,
+                                                                        requestSequence++,
+                                                                        discoveryServiceHandler);
+
+            try
+            {
+                /*
+                 * The queue is unbounded so the request is only rejected if the worker pool has stopped.
+                 */
+                workerPool.execute(request);
+
+                /*
+                 * If a matching request was queued while this report was being created, the earlier one is
+                 * kept for deduplication.  Both requests run.
+                 */
+                waitingRequests.putIfAbsent(requestKey, request);
+                submittedRequests++;
+
+                return;
+            }
+            catch (RejectedExecutionException error)
+            {
+                /*
+                 * Handled below.
+                 */
+            }
+        }
+
+        queuedRequests--;
+        rejectedRequests++;
+
+        throw this.getShutdownException(assetGUID, methodName);
+    }
+
+
+    /**
+     * Build the exception for a request that arrives after the scheduler is shut down.
+     *
+     * @param assetGUID identifier of the asset to analyze - used in the error message
+     * @param methodName calling method
+     * @return exception to throw
+     */
+    private PropertyServerException getShutdownException(String assetGUID,
+                                                         String methodName)
+    {
+        DiscoveryServerErrorCode errorCode    = DiscoveryServerErrorCode.DISCOVERY_ENGINE_SHUTDOWN;
+        String                   errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(discoveryEngineGUID,
+                                                                                                                  assetGUID);
+
+        return new PropertyServerException(errorCode.getHTTPErrorCode(),
+                                           this.getClass().getName(),
+                                           methodName,
+                                           errorMessage,
+                                           errorCode.getSystemAction(),
+                                           errorCode.getUserAction());
+    }
+
+
+    /**
+     * Return the current statistics for the queue.
+     *
+     * @return statistics bean
+     */
+    synchronized DiscoveryEngineStatistics getStatistics()
+    {
+        DiscoveryEngineStatistics statistics = new DiscoveryEngineStatistics();
+
+        statistics.setWorkerCount(workerCount);
+        statistics.setMaxQueuedRequests(maxQueuedRequests);
+        statistics.setQueuedRequests((int)queuedRequests);
+        statistics.setActiveRequests((int)activeRequests);
+        statistics.setSubmittedRequests(submittedRequests);
+        statistics.setDeduplicatedRequests(deduplicatedRequests);
+        statistics.setRejectedRequests(rejectedRequests);
+        statistics.setCompletedRequests(completedRequests);
+        statistics.setMaxQueueTime(maxQueueTime);
+        statistics.setMaxRunTime(maxRunTime);
+
+        if (completedRequests > 0)
+        {
+            statistics.setAverageQueueTime(totalQueueTime / completedRequests);
+            statistics.setAverageRunTime(totalRunTime / completedRequests);
+        }
+
+        return statistics;
+    }
+
+
+    /**
+     * Stop the worker threads.  Requests that are running are allowed to finish.  Requests that are
+     * waiting are removed from the queue and not run.  Any later request is rejected.
+     *
+     * @return handlers of the waiting requests that will not run
+     */
+    synchronized List<DiscoveryServiceHandler> shutdown()
+    {
+        List<Runnable>                notRun         = new ArrayList<>();
+        List<DiscoveryServiceHandler> notRunHandlers = new ArrayList<>();
+
+        isShutdown = true;
+
+        workerPool.getQueue().drainTo(notRun);
+        workerPool.shutdown();
+
+        for (Runnable request : notRun)
+        {
+            notRunHandlers.add(((QueuedDiscoveryRequest)request).discoveryServiceHandler);
+        }
+
+        waitingRequests.clear();
+        queuedRequests = queuedRequests - notRun.size();
+
+        return notRunHandlers;
+    }
+
+
+    /**
+     * Record that a request has been taken from the queue by a worker thread.
+     *
+     * @param request request that is starting
+     * @param queueTime time the request spent waiting
+     */
+    private synchronized void requestStarting(QueuedDiscoveryRequest request,
+                                              long                   queueTime)
+    {
+        waitingRequests.remove(request.requestKey, request);
+        queuedRequests--;
+        activeRequests++;
+
+        totalQueueTime = totalQueueTime + queueTime;
+        if (queueTime > maxQueueTime)
+        {
+            maxQueueTime = queueTime;
+        }
+    }
+
+
+    /**
+     * Record that a request has finished running.
+     *
+     * @param runTime time taken to run the request
+     */
+    private synchronized void requestComplete(long runTime)
+    {
+        activeRequests--;
+        completedRequests++;
+
+        totalRunTime = totalRunTime + runTime;
+        if (runTime > maxRunTime)
+        {
+            maxRunTime = runTime;
+        }
+    }
+
+
+    /**
+     * QueuedDiscoveryRequest wraps a discovery service handler so that it can be ordered in the queue.
+     * Requests with a higher priority come first and requests of the same priority are run in the order
+     * they were queued.
+     */
+    private class QueuedDiscoveryRequest implements Runnable, Comparable<QueuedDiscoveryRequest>
+    {
+        private final String                  requestKey;
+        private final String                  discoveryReportGUID;
+        private final int                     requestPriority;
+        private final long                    sequenceNumber;
+        private final DiscoveryServiceHandler discoveryServiceHandler;
+        private final long                    queuedTime = System.currentTimeMillis();
+
+
+        /**
+         * Constructor
+         *
+         * @param requestKey key used to detect matching requests
+         * @param discoveryReportGUID unique identifier of the discovery analysis report
+         * @param requestPriority priority of the request
+         * @param sequenceNumber order the request was queued
+         * @param discoveryServiceHandler handler that runs the discovery service
+         */
+        QueuedDiscoveryRequest(String                  requestKey,
+                               String                  discoveryReportGUID,
+                               int                     requestPriority,
+                               long                    sequenceNumber,
+                               DiscoveryServiceHandler discoveryServiceHandler)
+        {
+            this.requestKey = requestKey;
+            this.discoveryReportGUID = discoveryReportGUID;
+            this.requestPriority = requestPriority;
+            this.sequenceNumber = sequenceNumber;
+            this.discoveryServiceHandler = discoveryServiceHandler;
+        }
+
+
+        /**
+         * Run the discovery service and record the time spent waiting and running.
+         */
+        @Override
+        public void run()
+        {
+            long startTime = System.currentTimeMillis();
+
+            requestStarting(this, startTime - queuedTime);
+
+            try
+            {
+                discoveryServiceHandler.run();
+            }
+            finally
+            {
+                requestComplete(System.currentTimeMillis() - startTime);
+            }
+        }
+
+
+        /**
+         * Order the requests by priority and then by the order they were queued.
+         *
+         * @param other request to compare with
+         * @return negative if this request should run first
+         */
+        @Override
+        public int compareTo(QueuedDiscoveryRequest other)
+        {
+            if (requestPriority != other.requestPriority)
+            {
+                return Integer.compare(other.requestPriority, requestPriority);
+            }
+
+            return Long.compare(sequenceNumber, other.sequenceNumber);
+        }
+    }
+
+
+    /**
+     * WorkerThreadFactory names the worker threads after the discovery engine.
+     */
+    private static class WorkerThreadFactory implements ThreadFactory
+    {
+        private final String        discoveryEngineGUID;
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+
+        /**
+         * Constructor
+         *
+         * @param discoveryEngineGUID unique identifier of the discovery engine
+         */
+        WorkerThreadFactory(String discoveryEngineGUID)
+        {
+            this.discoveryEngineGUID = discoveryEngineGUID;
+        }
+
+
+        /**
+         * Create a new worker thread.
+         *
+         * @param runnable work for the thread
+         * @return new thread
+         */
+        @Override
+        public Thread newThread(Runnable runnable)
+        {
+            Thread thread = new Thread(runnable, "DiscoveryEngine:" + discoveryEngineGUID + ":" + threadNumber.getAndIncrement());
+
+            thread.setDaemon(true);
+
+            return thread;
+        }
+    }
+}
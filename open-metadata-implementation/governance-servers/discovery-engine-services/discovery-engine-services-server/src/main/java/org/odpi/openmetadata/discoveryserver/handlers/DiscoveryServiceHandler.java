@@ -132,27 +132,39 @@ public class DiscoveryServiceHandler implements Runnable
                                auditCode.getSystemAction(),
                                auditCode.getUserAction());
 
-            try
-            {
-                discoveryEngineClient.setDiscoveryStatus(discoveryEngineUserId,
-                                                         discoveryContext.getDiscoveryReportGUID(),
-                                                         DiscoveryRequestStatus.FAILED);
-            }
-            catch (Throwable statusError)
-            {
-                auditCode = DiscoveryServerAuditCode.EXC_ON_ERROR_STATUS_UPDATE;
-                auditLog.logException(actionDescription,
-                                      auditCode.getLogMessageId(),
-                                      auditCode.getSeverity(),
-                                      auditCode.getFormattedLogMessage(discoveryEngineProperties.getDisplayName(),
-                                                                       discoveryServiceName,
-                                                                       statusError.getClass().getName(),
-                                                                       statusError.getMessage()),
-                                      statusError.toString(),
-                                      auditCode.getSystemAction(),
-                                      auditCode.getUserAction(),
-                                      statusError);
-            }
+            this.setDiscoveryStatusToFailed(actionDescription);
+        }
+    }
+
+
+    /**
+     * Set the status of the discovery analysis report to FAILED.  This is called when the discovery service
+     * fails and when the request is not run because the discovery engine is shutting down.
+     *
+     * @param actionDescription calling activity - used for message logging
+     */
+    void setDiscoveryStatusToFailed(String actionDescription)
+    {
+        try
+        {
+            discoveryEngineClient.setDiscoveryStatus(discoveryEngineUserId,
+                                                     discoveryContext.getDiscoveryReportGUID(),
+                                                     DiscoveryRequestStatus.FAILED);
+        }
+        catch (Throwable statusError)
+        {
+            DiscoveryServerAuditCode auditCode = DiscoveryServerAuditCode.EXC_ON_ERROR_STATUS_UPDATE;
+            auditLog.logException(actionDescription,
+                                  auditCode.getLogMessageId(),
+                                  auditCode.getSeverity(),
+                                  auditCode.getFormattedLogMessage(discoveryEngineProperties.getDisplayName(),
+                                                                   discoveryServiceName,
+                                                                   statusError.getClass().getName(),
+                                                                   statusError.getMessage()),
+                                  statusError.toString(),
+                                  auditCode.getSystemAction(),
+                                  auditCode.getUserAction(),
+                                  statusError);
         }
     }
 }
@@ -219,7 +219,9 @@ public class DiscoveryServerOperationalServices
                                                                                  configurationClient,
                                                                                  ODFRESTClient,
                                                                                  auditLog,
-                                                                                 maxPageSize);
+                                                                                 maxPageSize,
+                                                                                 discoveryServerConfig.getDiscoveryWorkerThreads(),
+                                                                                 discoveryServerConfig.getMaxQueuedDiscoveryRequests());
 
                     discoveryEngineHandlers.put(discoveryEngineGUID, handler);
                 }
@@ -37,7 +37,7 @@ public class DiscoveryServerRESTServices
      * @param userId identifier of calling user
      * @param assetGUID identifier of the asset to analyze.
      * @param assetType identifier of the type of asset to analyze - this determines which discovery service to run.
-     * @param requestBody containing analysisParameters and annotationTypes
+     * @param requestBody containing analysisParameters, annotationTypes and requestPriority
      *
      * @return unique id for the discovery request or
      *
@@ -76,7 +76,8 @@ public class DiscoveryServerRESTServices
                 response.setGUID(handler.discoverAsset(assetGUID,
                                                        assetType,
                                                        requestBody.getAnalysisParameters(),
-                                                       requestBody.getAnnotationTypes()));
+                                                       requestBody.getAnnotationTypes(),
+                                                       requestBody.getRequestPriority()));
             }
         }
         catch (InvalidParameterException error)
@@ -102,6 +103,63 @@ public class DiscoveryServerRESTServices
     }
 
 
+    /**
+     * Return the statistics for the discovery engine's queue of discovery requests.  This includes the number of
+     * requests waiting and running, and the time requests spend waiting and running.
+     *
+     * @param serverName name of the discovery server.
+     * @param discoveryEngineGUID unique identifier of the discovery engine.
+     * @param userId calling user
+     *
+     * @return statistics or
+     *
+     *  InvalidParameterException one of the parameters is null or invalid or
+     *  UserNotAuthorizedException user not authorized to issue this request.
+     */
+    public DiscoveryEngineStatisticsResponse getDiscoveryEngineStatistics(String   serverName,
+                                                                          String   discoveryEngineGUID,
+                                                                          String   userId)
+    {
+        final String        methodName = "getDiscoveryEngineStatistics";
+
+        log.debug("Calling method: " + methodName);
+
+        DiscoveryEngineStatisticsResponse response = new DiscoveryEngineStatisticsResponse();
+        OMRSAuditLog                      auditLog = null;
+
+        try
+        {
+            DiscoveryEngineHandler handler = instanceHandler.getDiscoveryEngineHandler(userId,
+                                                                                       serverName,
+                                                                                       discoveryEngineGUID,
+                                                                                       methodName);
+
+            auditLog = instanceHandler.getAuditLog(userId, serverName, methodName);
+            response.setStatistics(handler.getStatistics());
+        }
+        catch (InvalidParameterException error)
+        {
+            restExceptionHandler.captureInvalidParameterException(response, error);
+        }
+        catch (PropertyServerException error)
+        {
+            restExceptionHandler.capturePropertyServerException(response, error);
+        }
+        catch (UserNotAuthorizedException error)
+        {
+            restExceptionHandler.captureUserNotAuthorizedException(response, error);
+        }
+        catch (Throwable error)
+        {
+            restExceptionHandler.captureThrowable(response, error, methodName, auditLog);
+        }
+
+        log.debug("Returning from method: " + methodName + " with response: " + response.toString());
+
+        return response;
+    }
+
+
     /**
      * Request the discovery report for a discovery request that has completed.
      *
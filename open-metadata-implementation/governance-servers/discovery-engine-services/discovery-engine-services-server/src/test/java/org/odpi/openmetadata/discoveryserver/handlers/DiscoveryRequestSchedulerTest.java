@@ -0,0 +1,229 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.discoveryserver.handlers;
+
+import org.odpi.openmetadata.commonservices.odf.metadatamanagement.properties.DiscoveryEngineStatistics;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests the ordering, capacity limit and shutdown of the discovery request scheduler.  The discovery service
+ * handlers are replaced with handlers that record the order they run in.
+ */
+public class DiscoveryRequestSchedulerTest
+{
+    private static final String engineGUID = "testEngine";
+    private static final String methodName = "test";
+
+
+    /**
+     * Handler that records that it has run and optionally waits for a latch.
+     */
+    private static class TestDiscoveryServiceHandler extends DiscoveryServiceHandler
+    {
+        private final String         name;
+        private final List<String>   runOrder;
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release;
+
+
+        TestDiscoveryServiceHandler(String         name,
+                                    List<String>   runOrder,
+                                    CountDownLatch release)
+        {
+            super(null, null, null, null, null, null, null, null);
+
+            this.name = name;
+            this.runOrder = runOrder;
+            this.release = release;
+        }
+
+
+        @Override
+        public void run()
+        {
+            started.countDown();
+
+            try
+            {
+                if (release != null)
+                {
+                    release.await(10, TimeUnit.SECONDS);
+                }
+            }
+            catch (InterruptedException error)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            synchronized (runOrder)
+            {
+                runOrder.add(name);
+            }
+        }
+    }
+
+
+    @Test
+    public void testPriorityOrdering() throws Exception
+    {
+        DiscoveryRequestScheduler   scheduler = new DiscoveryRequestScheduler(engineGUID, 1, 10);
+        List<String>                runOrder  = new ArrayList<>();
+        CountDownLatch              release   = new CountDownLatch(1);
+        TestDiscoveryServiceHandler blocker   = new TestDiscoveryServiceHandler("blocker", runOrder, release);
+
+        queue(scheduler, "blocker", 0, blocker);
+        assertTrue(blocker.started.await(10, TimeUnit.SECONDS));
+
+        /*
+         * The single worker is busy so these wait in the queue.
+         */
+        queue(scheduler, "low", 0, new TestDiscoveryServiceHandler("low", runOrder, null));
+        queue(scheduler, "high1", 5, new TestDiscoveryServiceHandler("high1", runOrder, null));
+        queue(scheduler, "medium", 2, new TestDiscoveryServiceHandler("medium", runOrder, null));
+        queue(scheduler, "high2", 5, new TestDiscoveryServiceHandler("high2", runOrder, null));
+
+        assertEquals(scheduler.getWaitingRequestGUID("medium"), "medium-report");
+        assertNull(scheduler.getWaitingRequestGUID("blocker"));
+
+        release.countDown();
+        waitForCompletion(scheduler, 5);
+
+        assertEquals(runOrder, Arrays.asList("blocker", "high1", "high2", "medium", "low"));
+
+        DiscoveryEngineStatistics statistics = scheduler.getStatistics();
+
+        assertEquals(statistics.getSubmittedRequests(), 5);
+        assertEquals(statistics.getDeduplicatedRequests(), 1);
+        assertEquals(statistics.getQueuedRequests(), 0);
+        assertNull(scheduler.getWaitingRequestGUID("medium"));
+
+        scheduler.shutdown();
+    }
+
+
+    @Test
+    public void testCapacityLimit() throws Exception
+    {
+        DiscoveryRequestScheduler scheduler = new DiscoveryRequestScheduler(engineGUID, 1, 2);
+
+        scheduler.reserveQueueSlot("asset1", methodName);
+        scheduler.reserveQueueSlot("asset2", methodName);
+
+        try
+        {
+            scheduler.reserveQueueSlot("asset3", methodName);
+            fail("Queue limit not enforced");
+        }
+        catch (PropertyServerException error)
+        {
+            assertEquals(error.getReportedHTTPCode(), 503);
+        }
+
+        scheduler.releaseQueueSlot();
+        scheduler.reserveQueueSlot("asset3", methodName);
+
+        DiscoveryEngineStatistics statistics = scheduler.getStatistics();
+
+        assertEquals(statistics.getQueuedRequests(), 2);
+        assertEquals(statistics.getRejectedRequests(), 1);
+
+        scheduler.shutdown();
+    }
+
+
+    @Test
+    public void testShutdown() throws Exception
+    {
+        DiscoveryRequestScheduler   scheduler = new DiscoveryRequestScheduler(engineGUID, 1, 10);
+        List<String>                runOrder  = new ArrayList<>();
+        CountDownLatch              release   = new CountDownLatch(1);
+        TestDiscoveryServiceHandler blocker   = new TestDiscoveryServiceHandler("blocker", runOrder, release);
+        TestDiscoveryServiceHandler waiting1  = new TestDiscoveryServiceHandler("waiting1", runOrder, null);
+        TestDiscoveryServiceHandler waiting2  = new TestDiscoveryServiceHandler("waiting2", runOrder, null);
+
+        queue(scheduler, "blocker", 0, blocker);
+        assertTrue(blocker.started.await(10, TimeUnit.SECONDS));
+
+        queue(scheduler, "waiting1", 0, waiting1);
+        queue(scheduler, "waiting2", 1, waiting2);
+
+        /*
+         * This request has its place in the queue but its report is still being created.
+         */
+        scheduler.reserveQueueSlot("late", methodName);
+
+        List<DiscoveryServiceHandler> notRun = scheduler.shutdown();
+
+        assertEquals(notRun.size(), 2);
+        assertTrue(notRun.containsAll(Arrays.asList(waiting1, waiting2)));
+        assertNull(scheduler.getWaitingRequestGUID("waiting1"));
+
+        try
+        {
+            scheduler.queueRequest("late", "late-report", 0, new TestDiscoveryServiceHandler("late", runOrder, null), "late", methodName);
+            fail("Request queued after shutdown");
+        }
+        catch (PropertyServerException error)
+        {
+            assertEquals(error.getReportedHTTPCode(), 503);
+        }
+
+        try
+        {
+            scheduler.reserveQueueSlot("new", methodName);
+            fail("Queue slot reserved after shutdown");
+        }
+        catch (PropertyServerException error)
+        {
+            assertEquals(error.getReportedHTTPCode(), 503);
+        }
+
+        release.countDown();
+        waitForCompletion(scheduler, 1);
+
+        assertEquals(runOrder, Collections.singletonList("blocker"));
+
+        DiscoveryEngineStatistics statistics = scheduler.getStatistics();
+
+        assertEquals(statistics.getQueuedRequests(), 0);
+        assertEquals(statistics.getActiveRequests(), 0);
+        assertEquals(statistics.getRejectedRequests(), 2);
+    }
+
+
+    private void queue(DiscoveryRequestScheduler   scheduler,
+                       String                      requestKey,
+                       int                         requestPriority,
+                       TestDiscoveryServiceHandler handler) throws PropertyServerException
+    {
+        scheduler.reserveQueueSlot(requestKey, methodName);
+        scheduler.queueRequest(requestKey, requestKey + "-report", requestPriority, handler, requestKey, methodName);
+    }
+
+
+    private void waitForCompletion(DiscoveryRequestScheduler scheduler,
+                                   long                      completedRequests) throws InterruptedException
+    {
+        long endTime = System.currentTimeMillis() + 10000;
+
+        while ((scheduler.getStatistics().getCompletedRequests() < completedRequests) && (System.currentTimeMillis() < endTime))
+        {
+            Thread.sleep(10);
+        }
+
+        assertEquals(scheduler.getStatistics().getCompletedRequests(), completedRequests);
+    }
+}
@@ -26,7 +26,7 @@ public class DiscoveryServerResource
      * @param userId identifier of calling user
      * @param assetGUID identifier of the asset to analyze.
      * @param assetType identifier of the type of asset to analyze - this determines which discovery service to run.
-     * @param requestBody containing analysisParameters and annotationTypes
+     * @param requestBody containing analysisParameters, annotationTypes and requestPriority
      *
      * @return unique id for the discovery request or
      *
@@ -52,6 +52,29 @@ public class DiscoveryServerResource
     }
 
 
+    /**
+     * Return the statistics for the discovery engine's queue of discovery requests.  This includes the number of
+     * requests waiting and running, and the time requests spend waiting and running.
+     *
+     * @param serverName name of the discovery server.
+     * @param discoveryEngineGUID unique identifier of the discovery engine.
+     * @param userId calling user
+     *
+     * @return statistics or
+     *
+     *  InvalidParameterException one of the parameters is null or invalid or
+     *  UserNotAuthorizedException user not authorized to issue this request.
+     */
+    @RequestMapping(method = RequestMethod.GET, path = "/statistics")
+
+    public DiscoveryEngineStatisticsResponse getDiscoveryEngineStatistics(@PathVariable String   serverName,
+                                                                          @PathVariable String   discoveryEngineGUID,
+                                                                          @PathVariable String   userId)
+    {
+        return restAPI.getDiscoveryEngineStatistics(serverName, discoveryEngineGUID, userId);
+    }
+
+
     /**
      * Request the discovery report for a discovery request that has completed.
      *
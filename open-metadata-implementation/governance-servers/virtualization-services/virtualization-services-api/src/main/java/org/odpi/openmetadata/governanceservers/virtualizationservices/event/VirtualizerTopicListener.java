@@ -24,6 +24,7 @@ import java.util.Map;
 public class VirtualizerTopicListener implements OpenMetadataTopicListener {
 
     private static final Logger log = LoggerFactory.getLogger(VirtualizerTopicListener.class);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
     private OpenMetadataTopicConnector virtualizerOutboundTopicConnector;
     private ViewGeneratorConnectorBase viewGeneratorConnector;
@@ -56,11 +57,10 @@ public class VirtualizerTopicListener implements OpenMetadataTopicListener {
     @Override
     public void processEvent (String event){
         log.info("The following event is received: " + event);
-        ObjectMapper objectMapper = new ObjectMapper();
         try{
             TableContextEvent eventObject;
             try {
-                eventObject = objectMapper.readValue(event, TableContextEvent.class);
+                eventObject = OBJECT_MAPPER.readValue(event, TableContextEvent.class);
             } catch (Exception e){
                 log.info("An event is not Table Context Event, discarded!");
                 eventObject = null;
@@ -69,7 +69,7 @@ public class VirtualizerTopicListener implements OpenMetadataTopicListener {
                 Map<String, String> views = viewGeneratorConnector.processInformationViewEvent(eventObject);
                 List<NewViewEvent> viewEvents = generateViewEvents(eventObject, views);
                 for (NewViewEvent item : viewEvents){
-                    virtualizerOutboundTopicConnector.sendEvent(objectMapper.writeValueAsString(item));
+                    virtualizerOutboundTopicConnector.sendEvent(OBJECT_MAPPER.writeValueAsString(item));
                 }
             }
         }catch (Exception e){
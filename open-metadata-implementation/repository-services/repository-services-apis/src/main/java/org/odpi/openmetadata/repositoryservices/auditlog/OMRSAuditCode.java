@@ -333,6 +333,25 @@ public enum OMRSAuditCode
                                       "part of its routine to permanently disconnect with the open metadata repository cohort.",
                               "No action is required.  This is part of the normal operation of the server."),
 
+    CATCH_UP_REQUESTED("OMRS-AUDIT-0064",
+                       OMRSAuditLogRecordSeverity.INFO,
+                       "Requesting the instances changed since {0} from the other members of the open metadata repository cohorts for metadata collection {1}",
+                       "The local server has sent a catch up request to the other members of its cohorts.  Their home " +
+                               "repositories reply with batches of the requested instances.",
+                       "No action is required.  The reference copies are saved as the batches arrive."),
+
+    CATCH_UP_ANSWERED("OMRS-AUDIT-0065",
+                      OMRSAuditLogRecordSeverity.INFO,
+                      "Sent {0} entities and {1} relationships changed since {2} from metadata collection {3} in reply to a catch up request from server {4}",
+                      "The local server has sent batches of the instances from its repository that were requested by another member of the cohort.",
+                      "No action is required.  This is part of the normal operation of the server."),
+
+    CATCH_UP_ERROR("OMRS-AUDIT-0066",
+                   OMRSAuditLogRecordSeverity.EXCEPTION,
+                   "Unable to complete the reply to a catch up request from server {0}; the local repository returned a {1} exception with message {2}",
+                   "The batches sent before the error are not affected.  The remaining instances are not sent.",
+                   "Review the exception and resolve the issue it documents.  Then request the catch up again from the other server."),
+
 
     EVENT_PARSING_ERROR("OMRS-AUDIT-0100",
                       OMRSAuditLogRecordSeverity.EXCEPTION,
@@ -352,6 +371,21 @@ public enum OMRSAuditCode
                       "The OMRS Topic Connector was passed a null event by the event bus.",
                       "Review the exception to determine the source of the error and correct it."),
 
+    EVENT_REJECTED_BY_LISTENER_QUEUE("OMRS-AUDIT-0103",
+                      OMRSAuditLogRecordSeverity.ERROR,
+                      "The OMRS Topic Connector {0} is unable to pass an incoming event to listener {1} because its queue of {2} events is full",
+                      "The event is not processed by the listener.  The listener is not keeping up with the events arriving from the cohort.",
+                      "Review the listener statistics of the OMRS Topic Connector to determine why the listener is slow.  " +
+                                     "Increasing the listenerThreadCount, listenerQueueSize or listenerQueueTimeout " +
+                                     "configuration properties of the OMRS Topic Connector may help."),
+
+    EVENT_REJECTED_BY_DISCONNECTED_LISTENER("OMRS-AUDIT-0104",
+                      OMRSAuditLogRecordSeverity.ERROR,
+                      "The OMRS Topic Connector {0} is unable to pass an incoming event to listener {1} because the connector is disconnecting",
+                      "The event is not processed by the listener.  The connector has stopped calling its listeners.",
+                      "No action is required if the server is shutting down.  Otherwise review the audit log to determine " +
+                                     "why the OMRS Topic Connector was disconnected."),
+
     SEND_REGISTRY_EVENT_ERROR("OMRS-AUDIT-0105",
                       OMRSAuditLogRecordSeverity.EXCEPTION,
                       "Unable to send a registry event for cohort {0} due to an error in the OMRS Topic Connector",
@@ -792,7 +826,13 @@ public enum OMRSAuditCode
                         OMRSAuditLogRecordSeverity.EXCEPTION,
                         "Service {0} threw an unexpected exception {1} with message {2}; the stack trace was {4}",
                         "The contents of the event were not accepted by the local repository.",
-                        "Review the exception and resolve the issue it documents.")
+                        "Review the exception and resolve the issue it documents."),
+
+    OUT_TOPIC_SEND_ERROR("OMRS-AUDIT-9017",
+                         OMRSAuditLogRecordSeverity.EXCEPTION,
+                         "{0} was unable to send a coalesced event to its out topic; the exception was {1} with message {2}",
+                         "The event, or batch of events, is lost.  The remaining events for the coalescing window are still sent.",
+                         "Review the exception and resolve the issue it documents.  Consumers of the out topic may need to retrieve the latest state of the instances in the lost event.")
 
 
     ;
@@ -3,6 +3,8 @@
 package org.odpi.openmetadata.repositoryservices.auditlog;
 
 
+import org.odpi.openmetadata.frameworks.connectors.Connector;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecord;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecordOriginator;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogReportingComponent;
@@ -12,21 +14,24 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * OMRSAuditLogDestination provides information needed to log records to the configured audit log destinations
- * for a specific server instance.
+ * for a specific server instance.  Each audit log store is called on the thread logging the record unless its
+ * connection sets the asyncDispatch configuration property.  Then the records for that store are buffered
+ * and passed to it on a dedicated thread.  The buffers are flushed when the destination is disconnected.
  */
 public class OMRSAuditLogDestination
 {
-    private final OMRSAuditLogRecordOriginator originator     = new OMRSAuditLogRecordOriginator();
-    private       List<OMRSAuditLogStore>      auditLogStores = null;
+    private final OMRSAuditLogRecordOriginator      originator       = new OMRSAuditLogRecordOriginator();
+    private       List<OMRSAuditLogStoreDispatcher> storeDispatchers = null;
 
     private static final Logger log = LoggerFactory.getLogger(OMRSAuditLog.class);
 
     public OMRSAuditLogDestination(List<OMRSAuditLogStore> auditLogStores)
     {
-        this.auditLogStores = auditLogStores;
+        this.storeDispatchers = getStoreDispatchers(null, auditLogStores);
     }
 
 
@@ -48,10 +53,54 @@ public class OMRSAuditLogDestination
         this.originator.setServerType(localServerType);
         this.originator.setOrganizationName(localOrganizationName);
 
-        if (auditLogStores != null)
+        this.storeDispatchers = getStoreDispatchers(localServerName, auditLogStores);
+    }
+
+
+    /**
+     * Create a dispatcher for each audit log store.  The dispatch options are taken from the configuration
+     * properties of the store's connection.
+     *
+     * @param localServerName name of the local server
+     * @param auditLogStores list of destinations for the audit log records
+     * @return list of dispatchers or null if there are no stores
+     */
+    private static List<OMRSAuditLogStoreDispatcher> getStoreDispatchers(String                  localServerName,
+                                                                         List<OMRSAuditLogStore> auditLogStores)
+    {
+        if (auditLogStores == null)
+        {
+            return null;
+        }
+
+        List<OMRSAuditLogStoreDispatcher> storeDispatchers = new ArrayList<>();
+
+        for (OMRSAuditLogStore auditLogStore : auditLogStores)
         {
-            this.auditLogStores = new ArrayList<>(auditLogStores);
+            if (auditLogStore != null)
+            {
+                String              storeName               = auditLogStore.getClass().getSimpleName();
+                Map<String, Object> configurationProperties = null;
+
+                if (auditLogStore instanceof Connector)
+                {
+                    ConnectionProperties connectionProperties = ((Connector) auditLogStore).getConnection();
+
+                    if (connectionProperties != null)
+                    {
+                        storeName = connectionProperties.getConnectionName();
+                        configurationProperties = connectionProperties.getConfigurationProperties();
+                    }
+                }
+
+                storeDispatchers.add(new OMRSAuditLogStoreDispatcher(localServerName,
+                                                                     auditLogStore,
+                                                                     storeName,
+                                                                     configurationProperties));
+            }
         }
+
+        return storeDispatchers;
     }
 
 
@@ -103,35 +152,76 @@ public class OMRSAuditLogDestination
             severity = OMRSAuditLogRecordSeverity.UNKNOWN;
         }
 
-        if (auditLogStores != null)
+        if (storeDispatchers != null)
         {
-            for (OMRSAuditLogStore  auditLogStore : auditLogStores)
+            for (OMRSAuditLogStoreDispatcher  storeDispatcher : storeDispatchers)
             {
-                if (auditLogStore != null)
+                List<String> additionalInformationArray = null;
+
+                if (additionalInformation != null)
                 {
-                    List<String> additionalInformationArray = null;
+                    additionalInformationArray = new ArrayList<>();
+                    additionalInformationArray.add(additionalInformation);
+                }
 
-                    if (additionalInformation != null)
-                    {
-                        additionalInformationArray = new ArrayList<>();
-                        additionalInformationArray.add(additionalInformation);
-                    }
+                OMRSAuditLogRecord logRecord = new OMRSAuditLogRecord(originator,
+                                                                      reportingComponent,
+                                                                      severity.getName(),
+                                                                      logMessageId,
+                                                                      logMessage,
+                                                                      additionalInformationArray,
+                                                                      systemAction,
+                                                                      userAction);
+
+                storeDispatcher.dispatchLogRecord(logRecord, severity);
+            }
+        }
+    }
+
+
+    /**
+     * Return the statistics for each of the audit log stores.  This shows whether asynchronous stores
+     * are keeping up with the records being logged.
+     *
+     * @return list of statistics (empty if there are no stores)
+     */
+    public List<OMRSAuditLogStoreStatistics> getStoreStatistics()
+    {
+        List<OMRSAuditLogStoreStatistics> storeStatistics = new ArrayList<>();
+
+        if (storeDispatchers != null)
+        {
+            for (OMRSAuditLogStoreDispatcher storeDispatcher : storeDispatchers)
+            {
+                storeStatistics.add(storeDispatcher.getStatistics());
+            }
+        }
 
-                    OMRSAuditLogRecord logRecord = new OMRSAuditLogRecord(originator,
-                                                                          reportingComponent,
-                                                                          severity.getName(),
-                                                                          logMessageId,
-                                                                          logMessage,
-                                                                          additionalInformationArray,
-                                                                          systemAction,
-                                                                          userAction);
+        return storeStatistics;
+    }
+
+
+    /**
+     * Flush any buffered records to their audit log stores and then disconnect the stores.  Records logged
+     * after this call are dropped.
+     */
+    public void disconnect()
+    {
+        if (storeDispatchers != null)
+        {
+            for (OMRSAuditLogStoreDispatcher storeDispatcher : storeDispatchers)
+            {
+                storeDispatcher.disconnect();
+
+                if (storeDispatcher.getAuditLogStore() instanceof Connector)
+                {
                     try
                     {
-                        auditLogStore.storeLogRecord(logRecord);
+                        ((Connector) storeDispatcher.getAuditLogStore()).disconnect();
                     }
                     catch (Throwable error)
                     {
-                        log.error("Error: " + error + " writing audit log: " + logRecord);
+                        log.error("Error: " + error + " disconnecting audit log store " + storeDispatcher.getStatistics().getStoreName());
                     }
                 }
             }
@@ -0,0 +1,98 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.auditlog;
+
+/**
+ * OMRSAuditLogOverflowPolicy defines what happens when an audit log store is configured for asynchronous
+ * dispatch and its buffer of records waiting to be stored is full.
+ * <ul>
+ *     <li>
+ *         BLOCK: The thread logging the record waits until there is space in the buffer.  No records are lost.
+ *     </li>
+ *     <li>
+ *         DROP_INFO_FIRST: Information and event records are dropped to make space.  The thread logging a
+ *         record of any other severity only waits if the buffer is full of these more serious records.
+ *     </li>
+ *     <li>
+ *         SAMPLE: Only one in every sample-rate information and event records is kept while the buffer is full.
+ *         The thread logging a record that is kept waits for space in the buffer.
+ *     </li>
+ * </ul>
+ */
+public enum OMRSAuditLogOverflowPolicy
+{
+    BLOCK           (0, "Block",           "Wait for space in the buffer."),
+    DROP_INFO_FIRST (1, "DropInfoFirst",   "Drop information and event records to make space in the buffer."),
+    SAMPLE          (2, "Sample",          "Keep a sample of the information and event records while the buffer is full.");
+
+
+    private  int    policyCode;
+    private  String policyName;
+    private  String policyDescription;
+
+
+    /**
+     * Typical constructor sets up the selected enum value.
+     *
+     * @param policyCode numeric of this enum.
+     * @param policyName name of enum.
+     * @param policyDescription default description of enum.
+     */
+    OMRSAuditLogOverflowPolicy(int      policyCode,
+                               String   policyName,
+                               String   policyDescription)
+    {
+        this.policyCode = policyCode;
+        this.policyName = policyName;
+        this.policyDescription = policyDescription;
+    }
+
+
+    /**
+     * Return the code for this enum.
+     *
+     * @return int numeric for this enum
+     */
+    public int getOrdinal()
+    {
+        return policyCode;
+    }
+
+
+    /**
+     * Return the name of this enum.
+     *
+     * @return String name
+     */
+    public String getName()
+    {
+        return policyName;
+    }
+
+
+    /**
+     * Return the default description of this enum.  This description is in English.
+     *
+     * @return String default description
+     */
+    public String getDescription()
+    {
+        return policyDescription;
+    }
+
+
+    /**
+     * toString() JSON-style
+     *
+     * @return string description
+     */
+    @Override
+    public String toString()
+    {
+        return "OMRSAuditLogOverflowPolicy{" +
+                "policyCode=" + policyCode +
+                ", policyName='" + policyName + '\'' +
+                ", policyDescription='" + policyDescription + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,426 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.auditlog;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecord;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * OMRSAuditLogStoreDispatcher passes audit log records to a single audit log store.  By default, the records
+ * are passed on the thread that logged them.  If the audit log store's connection sets the asyncDispatch
+ * configuration property, the records are placed in a bounded buffer and passed to the store in order on
+ * a dedicated thread, so a slow store does not delay the component logging the record.  The overflow policy
+ * controls what happens when the buffer is full.
+ */
+class OMRSAuditLogStoreDispatcher implements Runnable
+{
+    private static final Logger log = LoggerFactory.getLogger(OMRSAuditLogStoreDispatcher.class);
+
+    /*
+     * Names of the configuration properties read from the audit log store's connection.
+     */
+    static final String asyncDispatchProperty       = "asyncDispatch";
+    static final String asyncBufferSizeProperty     = "asyncBufferSize";
+    static final String asyncOverflowPolicyProperty = "asyncOverflowPolicy";
+    static final String asyncSampleRateProperty     = "asyncSampleRate";
+
+    private static final int  defaultBufferSize  = 1000;
+    private static final int  defaultSampleRate  = 10;
+    private static final long waitInterval       = 100;
+    private static final long disconnectTimeout  = 30000;
+
+    private final OMRSAuditLogStore              auditLogStore;
+    private final String                         storeName;
+    private final boolean                        asynchronous;
+    private final OMRSAuditLogOverflowPolicy     overflowPolicy;
+    private final int                            bufferSize;
+    private final int                            sampleRate;
+    private final BlockingQueue<QueuedRecord>    buffer;
+    private       Thread                         dispatchThread = null;
+    private volatile boolean                     running        = false;
+    private volatile boolean                     disconnected   = false;
+
+    private final AtomicLong storedRecordCount  = new AtomicLong(0);
+    private final AtomicLong droppedRecordCount = new AtomicLong(0);
+    private final AtomicLong failedRecordCount  = new AtomicLong(0);
+    private final AtomicLong sampleCount        = new AtomicLong(0);
+
+
+    /**
+     * Constructor
+     *
+     * @param localServerName name of the local server (used to name the dispatch thread)
+     * @param auditLogStore store to pass the records to
+     * @param storeName name of the store for diagnostics
+     * @param configurationProperties configuration properties from the store's connection (may be null)
+     */
+    OMRSAuditLogStoreDispatcher(String              localServerName,
+                                OMRSAuditLogStore   auditLogStore,
+                                String              storeName,
+                                Map<String, Object> configurationProperties)
+    {
+        this.auditLogStore = auditLogStore;
+        this.storeName = storeName;
+
+        boolean                    asyncDispatch = false;
+        int                        asyncBufferSize = defaultBufferSize;
+        int                        asyncSampleRate = defaultSampleRate;
+        OMRSAuditLogOverflowPolicy asyncOverflowPolicy = OMRSAuditLogOverflowPolicy.BLOCK;
+
+        if (configurationProperties != null)
+        {
+            Object propertyValue = configurationProperties.get(asyncDispatchProperty);
+
+            if (propertyValue instanceof Boolean)
+            {
+                asyncDispatch = (Boolean)propertyValue;
+            }
+            else if (propertyValue != null)
+            {
+                asyncDispatch = Boolean.parseBoolean(propertyValue.toString());
+            }
+
+            propertyValue = configurationProperties.get(asyncBufferSizeProperty);
+
+            if ((propertyValue instanceof Integer) && ((Integer)propertyValue > 0))
+            {
+                asyncBufferSize = (Integer)propertyValue;
+            }
+
+            propertyValue = configurationProperties.get(asyncSampleRateProperty);
+
+            if ((propertyValue instanceof Integer) && ((Integer)propertyValue > 0))
+            {
+                asyncSampleRate = (Integer)propertyValue;
+            }
+
+            propertyValue = configurationProperties.get(asyncOverflowPolicyProperty);
+
+            if (propertyValue != null)
+            {
+                asyncOverflowPolicy = getOverflowPolicy(propertyValue.toString());
+            }
+        }
+
+        this.asynchronous = asyncDispatch;
+        this.bufferSize = asyncBufferSize;
+        this.sampleRate = asyncSampleRate;
+        this.overflowPolicy = asyncOverflowPolicy;
+
+        if (asynchronous)
+        {
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+            this.running = true;
+            this.dispatchThread = new Thread(this, "OMRSAuditLogStore: " + localServerName + ": " + storeName);
+            this.dispatchThread.setDaemon(true);
+            this.dispatchThread.start();
+        }
+        else
+        {
+            this.buffer = null;
+        }
+    }
+
+
+    /**
+     * Convert the configured overflow policy into its enum.  The enum's name or its display name may be used.
+     *
+     * @param policyName configured value
+     * @return overflow policy (BLOCK if the name is not recognized)
+     */
+    private OMRSAuditLogOverflowPolicy getOverflowPolicy(String policyName)
+    {
+        for (OMRSAuditLogOverflowPolicy policy : OMRSAuditLogOverflowPolicy.values())
+        {
+            if ((policy.name().equalsIgnoreCase(policyName)) || (policy.getName().equalsIgnoreCase(policyName)))
+            {
+                return policy;
+            }
+        }
+
+        log.debug("Ignoring unknown audit log overflow policy " + policyName + " for " + storeName);
+
+        return OMRSAuditLogOverflowPolicy.BLOCK;
+    }
+
+
+    /**
+     * Pass a log record to the store, either directly or via the buffer.
+     *
+     * @param logRecord record to store
+     * @param severity severity of the record
+     */
+    void dispatchLogRecord(OMRSAuditLogRecord         logRecord,
+                           OMRSAuditLogRecordSeverity severity)
+    {
+        if (disconnected)
+        {
+            this.dropLogRecord(logRecord, "is disconnected");
+            return;
+        }
+
+        if (! running)
+        {
+            this.storeLogRecord(logRecord);
+            return;
+        }
+
+        QueuedRecord queuedRecord = new QueuedRecord(logRecord, severity);
+
+        if (buffer.offer(queuedRecord))
+        {
+            return;
+        }
+
+        switch (overflowPolicy)
+        {
+            case DROP_INFO_FIRST:
+                if (isDroppable(severity))
+                {
+                    this.dropLogRecord(logRecord, "buffer is full");
+                    return;
+                }
+
+                if ((this.dropQueuedRecord()) && (buffer.offer(queuedRecord)))
+                {
+                    return;
+                }
+                break;
+
+            case SAMPLE:
+                if ((isDroppable(severity)) && (sampleCount.incrementAndGet() % sampleRate != 0))
+                {
+                    this.dropLogRecord(logRecord, "buffer is full");
+                    return;
+                }
+                break;
+
+            default:
+                break;
+        }
+
+        this.waitForSpace(queuedRecord);
+    }
+
+
+    /**
+     * Body of the dispatch thread.  Records are passed to the store in the order they were logged.  The thread
+     * continues until it has been asked to stop and the buffer is empty.
+     */
+    public void run()
+    {
+        while (running || (! buffer.isEmpty()))
+        {
+            try
+            {
+                QueuedRecord queuedRecord = buffer.poll(waitInterval, TimeUnit.MILLISECONDS);
+
+                if (queuedRecord != null)
+                {
+                    this.storeLogRecord(queuedRecord.logRecord);
+                }
+            }
+            catch (InterruptedException interrupted)
+            {
+                log.debug("Audit log dispatcher for " + storeName + " interrupted");
+                running = false;
+            }
+        }
+    }
+
+
+    /**
+     * Stop accepting records and wait for the records already in the buffer to be stored.  Any records logged
+     * after this call are dropped because the store is about to be disconnected.
+     */
+    void disconnect()
+    {
+        disconnected = true;
+
+        if (dispatchThread != null)
+        {
+            running = false;
+
+            try
+            {
+                dispatchThread.join(disconnectTimeout);
+            }
+            catch (InterruptedException interrupted)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            if (dispatchThread.isAlive())
+            {
+                log.error("Audit log store " + storeName + " did not store " + buffer.size() +
+                                  " audit log records before disconnect");
+            }
+        }
+    }
+
+
+    /**
+     * Return the current statistics for this store.
+     *
+     * @return statistics bean
+     */
+    OMRSAuditLogStoreStatistics getStatistics()
+    {
+        OMRSAuditLogStoreStatistics statistics = new OMRSAuditLogStoreStatistics();
+
+        statistics.setStoreName(storeName);
+        statistics.setAsynchronous(asynchronous);
+        statistics.setStoredRecordCount(storedRecordCount.get());
+        statistics.setDroppedRecordCount(droppedRecordCount.get());
+        statistics.setFailedRecordCount(failedRecordCount.get());
+
+        if (asynchronous)
+        {
+            statistics.setOverflowPolicy(overflowPolicy);
+            statistics.setBufferSize(bufferSize);
+            statistics.setQueuedRecordCount(buffer.size());
+        }
+
+        return statistics;
+    }
+
+
+    /**
+     * Return the store that this dispatcher passes records to.
+     *
+     * @return audit log store
+     */
+    OMRSAuditLogStore getAuditLogStore()
+    {
+        return auditLogStore;
+    }
+
+
+    /**
+     * Information and event records are dropped first when the buffer is full.
+     *
+     * @param severity severity of the record
+     * @return boolean
+     */
+    private static boolean isDroppable(OMRSAuditLogRecordSeverity severity)
+    {
+        return (severity == OMRSAuditLogRecordSeverity.INFO) || (severity == OMRSAuditLogRecordSeverity.EVENT);
+    }
+
+
+    /**
+     * Remove the oldest droppable record from the buffer to make space for a more serious record.
+     *
+     * @return boolean flag indicating whether a record was removed.
+     */
+    private boolean dropQueuedRecord()
+    {
+        Iterator<QueuedRecord> queuedRecords = buffer.iterator();
+
+        while (queuedRecords.hasNext())
+        {
+            QueuedRecord queuedRecord = queuedRecords.next();
+
+            if (isDroppable(queuedRecord.severity))
+            {
+                queuedRecords.remove();
+                this.dropLogRecord(queuedRecord.logRecord, "buffer is full");
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Wait for space in the buffer.  If the dispatcher is disconnected while waiting, the record is dropped.
+     * If the dispatch thread stops for any other reason, the record is passed to the store directly.
+     *
+     * @param queuedRecord record to add to the buffer
+     */
+    private void waitForSpace(QueuedRecord queuedRecord)
+    {
+        try
+        {
+            while (! buffer.offer(queuedRecord, waitInterval, TimeUnit.MILLISECONDS))
+            {
+                if (disconnected)
+                {
+                    this.dropLogRecord(queuedRecord.logRecord, "is disconnected");
+                    return;
+                }
+                else if (! running)
+                {
+                    this.storeLogRecord(queuedRecord.logRecord);
+                    return;
+                }
+            }
+        }
+        catch (InterruptedException interrupted)
+        {
+            Thread.currentThread().interrupt();
+            this.dropLogRecord(queuedRecord.logRecord, "dispatch interrupted");
+        }
+    }
+
+
+    /**
+     * Pass a record to the store.
+     *
+     * @param logRecord record to store
+     */
+    private void storeLogRecord(OMRSAuditLogRecord logRecord)
+    {
+        try
+        {
+            auditLogStore.storeLogRecord(logRecord);
+            storedRecordCount.incrementAndGet();
+        }
+        catch (Throwable error)
+        {
+            failedRecordCount.incrementAndGet();
+            log.error("Error: " + error + " writing audit log: " + logRecord);
+        }
+    }
+
+
+    /**
+     * Record that a log record has not been stored.
+     *
+     * @param logRecord dropped record
+     * @param reason why the record is dropped
+     */
+    private void dropLogRecord(OMRSAuditLogRecord logRecord,
+                               String             reason)
+    {
+        droppedRecordCount.incrementAndGet();
+        log.debug("Audit log store " + storeName + " " + reason + "; dropping audit log record: " + logRecord);
+    }
+
+
+    /**
+     * A record waiting to be stored along with its severity.
+     */
+    private static class QueuedRecord
+    {
+        private final OMRSAuditLogRecord         logRecord;
+        private final OMRSAuditLogRecordSeverity severity;
+
+        QueuedRecord(OMRSAuditLogRecord logRecord, OMRSAuditLogRecordSeverity severity)
+        {
+            this.logRecord = logRecord;
+            this.severity = severity;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.auditlog;
+
+import java.io.Serializable;
+
+
+/**
+ * OMRSAuditLogStoreStatistics is a point-in-time snapshot of the records that the OMRSAuditLogDestination has
+ * passed to one of its audit log stores.  It is used to monitor whether an asynchronous audit log store is
+ * keeping up with the records being logged.
+ */
+public class OMRSAuditLogStoreStatistics implements Serializable
+{
+    private static final long    serialVersionUID = 1L;
+
+    private String                     storeName            = null;
+    private boolean                    asynchronous         = false;
+    private OMRSAuditLogOverflowPolicy overflowPolicy       = null;
+    private int                        bufferSize           = 0;
+    private int                        queuedRecordCount    = 0;
+    private long                       storedRecordCount    = 0;
+    private long                       droppedRecordCount   = 0;
+    private long                       failedRecordCount    = 0;
+
+
+    /**
+     * Default constructor
+     */
+    public OMRSAuditLogStoreStatistics()
+    {
+    }
+
+
+    /**
+     * Return the name of the audit log store (from its connection).
+     *
+     * @return store name
+     */
+    public String getStoreName()
+    {
+        return storeName;
+    }
+
+
+    /**
+     * Set up the name of the audit log store.
+     *
+     * @param storeName store name
+     */
+    public void setStoreName(String storeName)
+    {
+        this.storeName = storeName;
+    }
+
+
+    /**
+     * Return whether records are passed to the store on a separate thread.
+     *
+     * @return boolean
+     */
+    public boolean isAsynchronous()
+    {
+        return asynchronous;
+    }
+
+
+    /**
+     * Set up whether records are passed to the store on a separate thread.
+     *
+     * @param asynchronous boolean
+     */
+    public void setAsynchronous(boolean asynchronous)
+    {
+        this.asynchronous = asynchronous;
+    }
+
+
+    /**
+     * Return what happens when the buffer is full.
+     *
+     * @return policy (null for synchronous stores)
+     */
+    public OMRSAuditLogOverflowPolicy getOverflowPolicy()
+    {
+        return overflowPolicy;
+    }
+
+
+    /**
+     * Set up what happens when the buffer is full.
+     *
+     * @param overflowPolicy policy
+     */
+    public void setOverflowPolicy(OMRSAuditLogOverflowPolicy overflowPolicy)
+    {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+
+    /**
+     * Return the maximum number of records that can be waiting for the store.
+     *
+     * @return buffer size
+     */
+    public int getBufferSize()
+    {
+        return bufferSize;
+    }
+
+
+    /**
+     * Set up the maximum number of records that can be waiting for the store.
+     *
+     * @param bufferSize buffer size
+     */
+    public void setBufferSize(int bufferSize)
+    {
+        this.bufferSize = bufferSize;
+    }
+
+
+    /**
+     * Return the number of records waiting to be passed to the store.
+     *
+     * @return count
+     */
+    public int getQueuedRecordCount()
+    {
+        return queuedRecordCount;
+    }
+
+
+    /**
+     * Set up the number of records waiting to be passed to the store.
+     *
+     * @param queuedRecordCount count
+     */
+    public void setQueuedRecordCount(int queuedRecordCount)
+    {
+        this.queuedRecordCount = queuedRecordCount;
+    }
+
+
+    /**
+     * Return the number of records that have been passed to the store.
+     *
+     * @return count
+     */
+    public long getStoredRecordCount()
+    {
+        return storedRecordCount;
+    }
+
+
+    /**
+     * Set up the number of records that have been passed to the store.
+     *
+     * @param storedRecordCount count
+     */
+    public void setStoredRecordCount(long storedRecordCount)
+    {
+        this.storedRecordCount = storedRecordCount;
+    }
+
+
+    /**
+     * Return the number of records that were dropped because the buffer was full.
+     *
+     * @return count
+     */
+    public long getDroppedRecordCount()
+    {
+        return droppedRecordCount;
+    }
+
+
+    /**
+     * Set up the number of records that were dropped because the buffer was full.
+     *
+     * @param droppedRecordCount count
+     */
+    public void setDroppedRecordCount(long droppedRecordCount)
+    {
+        this.droppedRecordCount = droppedRecordCount;
+    }
+
+
+    /**
+     * Return the number of records where the store threw an exception.
+     *
+     * @return count
+     */
+    public long getFailedRecordCount()
+    {
+        return failedRecordCount;
+    }
+
+
+    /**
+     * Set up the number of records where the store threw an exception.
+     *
+     * @param failedRecordCount count
+     */
+    public void setFailedRecordCount(long failedRecordCount)
+    {
+        this.failedRecordCount = failedRecordCount;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "OMRSAuditLogStoreStatistics{" +
+                "storeName='" + storeName + '\'' +
+                ", asynchronous=" + asynchronous +
+                ", overflowPolicy=" + overflowPolicy +
+                ", bufferSize=" + bufferSize +
+                ", queuedRecordCount=" + queuedRecordCount +
+                ", storedRecordCount=" + storedRecordCount +
+                ", droppedRecordCount=" + droppedRecordCount +
+                ", failedRecordCount=" + failedRecordCount +
+                '}';
+    }
+}
@@ -0,0 +1,200 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.codec;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.odpi.openmetadata.repositoryservices.events.beans.OMRSEventBean;
+import org.odpi.openmetadata.repositoryservices.events.beans.v1.OMRSEventV1;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+
+/**
+ * OMRSJSONCodec provides a single, shared Jackson ObjectMapper for converting the open metadata beans to and
+ * from JSON.  Creating an ObjectMapper is expensive, and each new mapper has to rebuild its serializers and
+ * deserializers the first time it sees a bean class.  Code that creates a mapper for each event or request
+ * pays these costs every time.
+ * <p>
+ * The codec keeps an ObjectReader and an ObjectWriter for each bean class it has been used with.  Readers
+ * and writers are immutable and thread-safe, and they hold on to the serializer or deserializer for their
+ * class so it is not looked up again on each call.  The readers and writers for the OMRS event beans are
+ * created when the class is loaded so the first event on the cohort topic does not pay for them.
+ * <p>
+ * The mapper uses the default Jackson configuration so the JSON produced is the same as that produced by
+ * a new ObjectMapper.  The shared mapper must not be reconfigured by its callers.
+ * <p>
+ * The codec can also produce a compressed form of the JSON for sending over an event bus.  The JSON is
+ * deflated and base64 encoded, and the result is tagged with a prefix so the reader can tell it apart from
+ * plain JSON.  Instances of the same type repeat the same type information, so the compression removes
+ * most of the duplication between instances in an event.
+ */
+public final class OMRSJSONCodec
+{
+    /*
+     * JSON text always starts with '{', '[', '"', a digit or a literal, so this tag can not be mistaken
+     * for the start of a plain JSON payload.
+     */
+    public static final String compressedPayloadTag = "deflate:";
+
+    private static final ObjectMapper                    objectMapper = new ObjectMapper();
+    private static final Map<Class<?>, ObjectReader>     readers      = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, ObjectWriter>     writers      = new ConcurrentHashMap<>();
+
+    static
+    {
+        getReader(OMRSEventBean.class);
+        getWriter(OMRSEventV1.class);
+    }
+
+
+    /**
+     * Private constructor since all of the methods are static.
+     */
+    private OMRSJSONCodec()
+    {
+    }
+
+
+    /**
+     * Return the shared mapper.  This is for callers that need the mapper's own methods, such as
+     * converting between bean classes.  It must not be reconfigured.
+     *
+     * @return object mapper
+     */
+    public static ObjectMapper getObjectMapper()
+    {
+        return objectMapper;
+    }
+
+
+    /**
+     * Return the reader for a bean class, creating it the first time it is requested.
+     *
+     * @param beanClass class of bean to read
+     * @return object reader
+     */
+    public static ObjectReader getReader(Class<?> beanClass)
+    {
+        return readers.computeIfAbsent(beanClass, objectMapper::readerFor);
+    }
+
+
+    /**
+     * Return the writer for a bean class, creating it the first time it is requested.
+     *
+     * @param beanClass class of bean to write
+     * @return object writer
+     */
+    public static ObjectWriter getWriter(Class<?> beanClass)
+    {
+        return writers.computeIfAbsent(beanClass, objectMapper::writerFor);
+    }
+
+
+    /**
+     * Convert a JSON string into a bean.
+     *
+     * @param json JSON string
+     * @param beanClass class of bean to create
+     * @param <T> type of bean
+     * @return bean
+     * @throws IOException the string is not valid JSON for the bean class
+     */
+    public static <T> T readValue(String   json,
+                                  Class<T> beanClass) throws IOException
+    {
+        return getReader(beanClass).readValue(json);
+    }
+
+
+    /**
+     * Convert a bean into a JSON string.  The writer for the bean's own class is used so all of its
+     * properties are included.
+     *
+     * @param bean bean to convert
+     * @return JSON string
+     * @throws JsonProcessingException the bean can not be converted
+     */
+    public static String writeValueAsString(Object bean) throws JsonProcessingException
+    {
+        if (bean == null)
+        {
+            return objectMapper.writeValueAsString(null);
+        }
+
+        return getWriter(bean.getClass()).writeValueAsString(bean);
+    }
+
+
+    /**
+     * Convert a bean into a compressed JSON payload.  The payload starts with the compressed payload tag
+     * and is followed by the base64 encoding of the deflated JSON.
+     *
+     * @param bean bean to convert
+     * @return tagged payload
+     * @throws IOException the bean can not be converted
+     */
+    public static String writeCompressedValue(Object bean) throws IOException
+    {
+        byte[]                jsonBytes    = writeValueAsString(bean).getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream outputBuffer = new ByteArrayOutputStream(jsonBytes.length / 4 + 64);
+
+        try (OutputStream deflater = new DeflaterOutputStream(outputBuffer))
+        {
+            deflater.write(jsonBytes);
+        }
+
+        return compressedPayloadTag + Base64.getEncoder().encodeToString(outputBuffer.toByteArray());
+    }
+
+
+    /**
+     * Convert a payload that is either plain JSON or a tagged compressed JSON payload into a bean.
+     *
+     * @param payload payload received
+     * @param beanClass class of bean to create
+     * @param <T> type of bean
+     * @return bean
+     * @throws IOException the payload is not valid for the bean class
+     */
+    public static <T> T readEncodedValue(String   payload,
+                                         Class<T> beanClass) throws IOException
+    {
+        if (! isCompressed(payload))
+        {
+            return readValue(payload, beanClass);
+        }
+
+        byte[] compressedBytes = Base64.getDecoder().decode(payload.substring(compressedPayloadTag.length()));
+
+        try (InputStream inflater = new InflaterInputStream(new ByteArrayInputStream(compressedBytes)))
+        {
+            return getReader(beanClass).readValue(inflater);
+        }
+    }
+
+
+    /**
+     * Test whether a payload is in the compressed form.
+     *
+     * @param payload payload received
+     * @return boolean flag
+     */
+    public static boolean isCompressed(String payload)
+    {
+        return (payload != null) && (payload.startsWith(compressedPayloadTag));
+    }
+}
@@ -2,7 +2,6 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.odpi.openmetadata.frameworks.connectors.Connector;
 import org.odpi.openmetadata.frameworks.connectors.ConnectorBase;
 import org.odpi.openmetadata.frameworks.connectors.VirtualConnectorExtension;
@@ -10,9 +9,11 @@ import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedExceptio
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditCode;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
+import org.odpi.openmetadata.repositoryservices.codec.OMRSJSONCodec;
 import org.odpi.openmetadata.repositoryservices.connectors.auditable.AuditableConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicListener;
+import org.odpi.openmetadata.repositoryservices.events.OMRSEventCategory;
 import org.odpi.openmetadata.repositoryservices.events.OMRSEventProtocolVersion;
 import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
 import org.odpi.openmetadata.repositoryservices.events.OMRSRegistryEvent;
@@ -26,6 +27,15 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 /**
@@ -53,6 +63,38 @@ import java.util.List;
  *         connectors that implement OpenMetadataTopic.
  *     </li>
  * </ul>
+ * <p>
+ *     Inbound events are parsed once and then queued for each registered OMRSTopicListener.  The listeners
+ *     are called by a pool of threads owned by this connector.  Each listener receives its events in the
+ *     order they arrived on the event bus.  The following configuration properties control this processing:
+ * </p>
+ * <ul>
+ *     <li>
+ *         listenerThreadCount - the number of threads calling the listeners (default is the number of
+ *         processors).  Zero means the listeners are called one after another on the event bus thread.
+ *     </li>
+ *     <li>
+ *         listenerQueueSize - the number of events that can be waiting for a listener (default 1000).
+ *         When a listener's queue is full, the event bus thread waits, which slows the consumption of events.
+ *     </li>
+ *     <li>
+ *         listenerQueueTimeout - the number of milliseconds the event bus thread waits for space in a
+ *         listener's queue before the event is rejected for that listener (default 60000).  Zero means the
+ *         event is rejected straight away if the queue is full.  The wait also ends if the connector is
+ *         disconnected.
+ *     </li>
+ *     <li>
+ *         slowEventThreshold - the number of milliseconds after which a listener's processing of an
+ *         event is counted as slow (default 5000).
+ *     </li>
+ * </ul>
+ * <p>
+ *     Outbound events are sent as JSON.  Setting the compressEvents configuration property to true sends
+ *     them as deflated JSON tagged so that receivers can recognise them.  Inbound events are accepted in
+ *     either form whatever this property is set to, so the members of a cohort can move over to compressed
+ *     events one at a time.  Only enable it once all of the members of the cohort are able to read
+ *     compressed events.
+ * </p>
  */
 public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
                                                                  VirtualConnectorExtension,
@@ -65,12 +107,27 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
 
     private List<Connector> embeddedConnectors = null;
 
-    private List<OMRSTopicListener>          internalTopicListeners = new ArrayList<>();
-    private List<OpenMetadataTopicConnector> eventBusConnectors     = new ArrayList<>();
+    private static final String listenerThreadCountProperty  = "listenerThreadCount";
+    private static final String listenerQueueSizeProperty    = "listenerQueueSize";
+    private static final String listenerQueueTimeoutProperty = "listenerQueueTimeout";
+    private static final String slowEventThresholdProperty   = "slowEventThreshold";
+    private static final String compressEventsProperty       = "compressEvents";
+
+    private List<OMRSTopicListenerDispatcher> internalTopicListeners = new CopyOnWriteArrayList<>();
+    private volatile boolean                  hasSubscriptions       = false;
+    private final Map<String, Integer>        typeIndexes            = new ConcurrentHashMap<>();
+    private List<OpenMetadataTopicConnector>  eventBusConnectors     = new ArrayList<>();
 
     private String                    connectionName       = connectorName;
     private OMRSEventProtocolVersion  eventProtocolVersion = OMRSEventProtocolVersion.V1;
 
+    private int                       listenerThreadCount  = Runtime.getRuntime().availableProcessors();
+    private int                       listenerQueueSize    = 1000;
+    private long                      listenerQueueTimeout = 60000;
+    private long                      slowEventThreshold   = 5000;
+    private boolean                   compressEvents       = false;
+    private volatile ExecutorService  listenerExecutor     = null;
+
     protected OMRSAuditLog     auditLog = null;
 
     /**
@@ -127,10 +184,33 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
      * @param topicListener object implementing the OMRSTopicListener interface
      */
     public void registerListener(OMRSTopicListener  topicListener)
+    {
+        this.registerListener(topicListener, null);
+    }
+
+
+    /**
+     * Register an OMRSTopicListener object with a subscription.  This object will only be supplied with the
+     * OMRS events received on the topic that match the subscription.  The subscription is compiled when it is
+     * registered and each event is checked against it before it is queued for the listener.
+     *
+     * @param topicListener object implementing the OMRSTopicListener interface
+     * @param subscription description of the events the listener wishes to receive or null for all events
+     */
+    public void registerListener(OMRSTopicListener      topicListener,
+                                 OMRSTopicSubscription  subscription)
     {
         if (topicListener != null)
         {
-            internalTopicListeners.add(topicListener);
+            OMRSTopicSubscriptionFilter subscriptionFilter = null;
+
+            if (subscription != null)
+            {
+                subscriptionFilter = new OMRSTopicSubscriptionFilter(subscription);
+                hasSubscriptions = true;
+            }
+
+            internalTopicListeners.add(new OMRSTopicListenerDispatcher(this, topicListener, subscriptionFilter, listenerQueueSize));
         }
         else
         {
@@ -166,10 +246,22 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
         if (super.connectionProperties != null)
         {
             connectionName = super.connectionProperties.getConnectionName();
+
+            this.setUpListenerProcessing(super.connectionProperties.getConfigurationProperties());
         }
 
         log.debug("Initializing OMRSTopicConnector: " + connectionName);
 
+        if (listenerThreadCount > 0)
+        {
+            listenerExecutor = new ThreadPoolExecutor(listenerThreadCount,
+                                                      listenerThreadCount,
+                                                      60,
+                                                      TimeUnit.SECONDS,
+                                                      new LinkedBlockingQueue<>(),
+                                                      new ListenerThreadFactory(connectionName));
+        }
+
         /*
          * Step through the embedded connectors, selecting only the OpenMetadataTopicConnectors
          * to use.
@@ -269,6 +361,134 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     }
 
 
+    /**
+     * Extract the settings that control how events are passed to the listeners from the configuration
+     * properties of the connection.  Any listeners registered before start() are given the new queue size.
+     *
+     * @param configurationProperties configuration properties from the connection
+     */
+    private void setUpListenerProcessing(Map<String, Object> configurationProperties)
+    {
+        if (configurationProperties != null)
+        {
+            Object threadCount = configurationProperties.get(listenerThreadCountProperty);
+            if (threadCount instanceof Integer)
+            {
+                listenerThreadCount = Math.max(0, (Integer)threadCount);
+            }
+
+            Object queueSize = configurationProperties.get(listenerQueueSizeProperty);
+            if ((queueSize instanceof Integer) && ((Integer)queueSize > 0))
+            {
+                listenerQueueSize = (Integer)queueSize;
+
+                List<OMRSTopicListenerDispatcher> resizedDispatchers = new ArrayList<>();
+                for (OMRSTopicListenerDispatcher dispatcher : internalTopicListeners)
+                {
+                    resizedDispatchers.add(new OMRSTopicListenerDispatcher(this,
+                                                                           dispatcher.getTopicListener(),
+                                                                           dispatcher.getSubscriptionFilter(),
+                                                                           listenerQueueSize));
+                }
+                internalTopicListeners = new CopyOnWriteArrayList<>(resizedDispatchers);
+            }
+
+            Object queueTimeout = configurationProperties.get(listenerQueueTimeoutProperty);
+            if ((queueTimeout instanceof Number) && (((Number)queueTimeout).longValue() >= 0))
+            {
+                listenerQueueTimeout = ((Number)queueTimeout).longValue();
+            }
+
+            Object slowThreshold = configurationProperties.get(slowEventThresholdProperty);
+            if (slowThreshold instanceof Number)
+            {
+                slowEventThreshold = ((Number)slowThreshold).longValue();
+            }
+
+            Object compress = configurationProperties.get(compressEventsProperty);
+            if (compress instanceof Boolean)
+            {
+                compressEvents = (Boolean)compress;
+            }
+            else if (compress instanceof String)
+            {
+                compressEvents = Boolean.parseBoolean((String)compress);
+            }
+        }
+    }
+
+
+    /**
+     * Return the executor that calls the listeners.  This is null if the listeners are called on the
+     * event bus thread.
+     *
+     * @return executor service
+     */
+    ExecutorService getListenerExecutor()
+    {
+        return listenerExecutor;
+    }
+
+
+    /**
+     * Return the number of milliseconds after which a listener's processing of an event is counted as slow.
+     *
+     * @return milliseconds
+     */
+    long getSlowEventThreshold()
+    {
+        return slowEventThreshold;
+    }
+
+
+    /**
+     * Return the index of a type in the subscription filters' type bit sets.  Each type is given the next
+     * index the first time it is seen by the connector.
+     *
+     * @param typeGUID unique identifier of the type
+     * @return index or -1 if the type is not known
+     */
+    int getTypeIndex(String typeGUID)
+    {
+        if (typeGUID == null)
+        {
+            return -1;
+        }
+
+        Integer typeIndex = typeIndexes.get(typeGUID);
+
+        if (typeIndex == null)
+        {
+            synchronized (typeIndexes)
+            {
+                typeIndex = typeIndexes.computeIfAbsent(typeGUID, (guid) -> typeIndexes.size());
+            }
+        }
+
+        return typeIndex;
+    }
+
+
+    /**
+     * Return the current statistics for each of the registered listeners.  These show the number of events
+     * waiting for each listener, how long the listener takes to process events and the number of
+     * events that were rejected or slow.
+     *
+     * @return list of statistics, one for each listener
+     */
+    public List<OMRSTopicListenerStatistics> getListenerStatistics()
+    {
+        List<OMRSTopicListenerStatistics> statistics = new ArrayList<>();
+
+        for (OMRSTopicListenerDispatcher dispatcher : internalTopicListeners)
+        {
+            statistics.add(dispatcher.getStatistics());
+        }
+
+        return statistics;
+    }
+
+
     /**
      * Log that this connector does not support the requested event protocol.
      * This protocol level is requested in the configuration.
@@ -363,13 +583,22 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
         {
             try
             {
-                ObjectMapper objectMapper = new ObjectMapper();
+                String eventJSON;
+
+                if (compressEvents)
+                {
+                    eventJSON = OMRSJSONCodec.writeCompressedValue(event);
+                }
+                else
+                {
+                    eventJSON = OMRSJSONCodec.writeValueAsString(event);
+                }
 
                 for (OpenMetadataTopicConnector eventBusConnector : eventBusConnectors)
                 {
                     if (eventBusConnector != null)
                     {
-                        eventBusConnector.sendEvent(objectMapper.writeValueAsString(event));
+                        eventBusConnector.sendEvent(eventJSON);
                     }
                 }
             }
@@ -429,13 +658,11 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
             OMRSEventBean   eventBean = null;
 
             /*
-             * Parse the string (JSON) event into a bean.
+             * Parse the string (JSON or compressed JSON) event into a bean.
              */
             try
             {
-                ObjectMapper objectMapper = new ObjectMapper();
-
-                eventBean = objectMapper.readValue(event, OMRSEventBean.class);
+                eventBean = OMRSJSONCodec.readEncodedValue(event, OMRSEventBean.class);
             }
             catch (Throwable   exception)
             {
@@ -460,34 +687,41 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
              */
             if (eventBean instanceof OMRSEventV1)
             {
-                OMRSEventBean finalEventBean = eventBean;
-                internalTopicListeners.parallelStream().forEach((topicListener) ->
+                OMRSEventV1           eventV1      = (OMRSEventV1) eventBean;
+                ExecutorService       executor     = listenerExecutor;
+                OMRSTopicEventSummary eventSummary = this.getEventSummary(eventV1);
+
+                if (executor == null)
                 {
-                    try
+                    for (OMRSTopicListenerDispatcher dispatcher : internalTopicListeners)
                     {
-                        this.processOMRSEvent((OMRSEventV1) finalEventBean, topicListener);
+                        if (dispatcher.isSubscribed(eventSummary))
+                        {
+                            dispatcher.processEvent(eventV1, event);
+                        }
                     }
-                    catch (Throwable  error)
-                    {
-                        log.debug("Unable to pass event to one of the topic listeners");
+                }
+                else
+                {
+                    /*
+                     * The event bus connector is told about the processing of the event by each listener
+                     * so it knows when the event has been completely processed.
+                     */
+                    InternalOMRSEventProcessingContext context   = InternalOMRSEventProcessingContext.getInstance();
+                    String                             messageId = context.getCurrentMessageId();
 
-                        if (auditLog != null)
+                    for (OMRSTopicListenerDispatcher dispatcher : internalTopicListeners)
+                    {
+                        if (dispatcher.isSubscribed(eventSummary))
                         {
-                            OMRSAuditCode auditCode = OMRSAuditCode.EVENT_PROCESSING_ERROR;
-
-                            auditLog.logException(connectorName,
-                                                  auditCode.getLogMessageId(),
-                                                  auditCode.getSeverity(),
-                                                  auditCode.getFormattedLogMessage(event,
-                                                                                   error.toString(),
-                                                                                   topicListener.toString()),
-                                                  event,
-                                                  auditCode.getSystemAction(),
-                                                  auditCode.getUserAction(),
-                                                  error);
+                            context.addAsyncProcessingResult(dispatcher.queueEvent(eventV1,
+                                                                                   event,
+                                                                                   messageId,
+                                                                                   executor,
+                                                                                   listenerQueueTimeout));
                         }
                     }
-                });
+                }
             }
         }
         else
@@ -510,6 +744,48 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     }
 
 
+    /**
+     * Unpack the values from an event that the listeners' subscriptions are checked against.  This is done
+     * once for each event.  A type definition event may change the type hierarchy so the type matching
+     * results remembered by the subscriptions are cleared.
+     *
+     * @param event parsed event
+     * @return event summary or null if no listener has registered a subscription
+     */
+    private OMRSTopicEventSummary getEventSummary(OMRSEventV1 event)
+    {
+        if (! hasSubscriptions)
+        {
+            return null;
+        }
+
+        if (event.getEventCategory() == OMRSEventCategory.TYPEDEF)
+        {
+            for (OMRSTopicListenerDispatcher dispatcher : internalTopicListeners)
+            {
+                if (dispatcher.getSubscriptionFilter() != null)
+                {
+                    dispatcher.getSubscriptionFilter().resetTypes();
+                }
+            }
+        }
+
+        try
+        {
+            return new OMRSTopicEventSummary(event, this);
+        }
+        catch (Throwable error)
+        {
+            /*
+             * The listeners are passed the event and will report the problem.
+             */
+            log.debug("Unable to summarize event for subscriptions: " + error.getMessage());
+
+            return null;
+        }
+    }
+
+
     /**
      * Process the OMRS Event bean.  The processing is careful of nulls and ignores an event
      * that is incorrectly formatted.  The assumption is that the unformatted part of the message
@@ -518,8 +794,8 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
      * @param event Version 1 of the OMRSEvent that defines the category and payload of the incoming event.
      * @param topicListener listener that will receive the event.
      */
-    private void processOMRSEvent(OMRSEventV1        event,
-                                  OMRSTopicListener  topicListener)
+    void processOMRSEvent(OMRSEventV1        event,
+                          OMRSTopicListener  topicListener)
     {
         String   actionDescription = "Process Incoming Event";
 
@@ -589,6 +865,94 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
         }
     }
 
+    /**
+     * Log that one of the listeners failed to process an event.
+     *
+     * @param event inbound event
+     * @param error exception from the listener
+     * @param topicListener listener that failed
+     */
+    void logEventProcessingError(String            event,
+                                 Throwable         error,
+                                 OMRSTopicListener topicListener)
+    {
+        log.debug("Unable to pass event to one of the topic listeners");
+
+        if (auditLog != null)
+        {
+            OMRSAuditCode auditCode = OMRSAuditCode.EVENT_PROCESSING_ERROR;
+
+            auditLog.logException(connectorName,
+                                  auditCode.getLogMessageId(),
+                                  auditCode.getSeverity(),
+                                  auditCode.getFormattedLogMessage(event,
+                                                                   error.toString(),
+                                                                   topicListener.toString()),
+                                  event,
+                                  auditCode.getSystemAction(),
+                                  auditCode.getUserAction(),
+                                  error);
+        }
+    }
+
+
+    /**
+     * Log that an event could not be queued for one of the listeners.
+     *
+     * @param event inbound event
+     * @param topicListener listener that will not see the event
+     * @param queueSize size of the listener's queue
+     */
+    void logEventRejected(String            event,
+                          OMRSTopicListener topicListener,
+                          int               queueSize)
+    {
+        log.debug("Event rejected for topic listener " + topicListener);
+
+        if (auditLog != null)
+        {
+            OMRSAuditCode auditCode = OMRSAuditCode.EVENT_REJECTED_BY_LISTENER_QUEUE;
+
+            auditLog.logRecord(connectorName,
+                               auditCode.getLogMessageId(),
+                               auditCode.getSeverity(),
+                               auditCode.getFormattedLogMessage(connectionName,
+                                                                topicListener.toString(),
+                                                                Integer.toString(queueSize)),
+                               event,
+                               auditCode.getSystemAction(),
+                               auditCode.getUserAction());
+        }
+    }
+
+
+    /**
+     * Log that an event could not be queued for one of the listeners because the connector is disconnecting.
+     *
+     * @param event inbound event
+     * @param topicListener listener that will not see the event
+     */
+    void logEventRejectedOnDisconnect(String            event,
+                                      OMRSTopicListener topicListener)
+    {
+        log.debug("Event rejected for topic listener " + topicListener + " during disconnect");
+
+        if (auditLog != null)
+        {
+            OMRSAuditCode auditCode = OMRSAuditCode.EVENT_REJECTED_BY_DISCONNECTED_LISTENER;
+
+            auditLog.logRecord(connectorName,
+                               auditCode.getLogMessageId(),
+                               auditCode.getSeverity(),
+                               auditCode.getFormattedLogMessage(connectionName,
+                                                                topicListener.toString()),
+                               event,
+                               auditCode.getSystemAction(),
+                               auditCode.getUserAction());
+        }
+    }
+
+
     /**
      * Free up any resources held since the connector is no longer needed.
      *
@@ -603,6 +967,15 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
             eventBusConnector.disconnect();
         }
 
+        /*
+         * Queued events are allowed to complete but no new events are accepted.
+         */
+        ExecutorService executor = listenerExecutor;
+        if (executor != null)
+        {
+            executor.shutdown();
+        }
+
         if (auditLog != null)
         {
             OMRSAuditCode auditCode = OMRSAuditCode.OMRS_TOPIC_LISTENER_DISCONNECTED;
@@ -615,4 +988,27 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
                                auditCode.getUserAction());
         }
     }
+
+
+    /**
+     * Creates named daemon threads for calling the listeners so they are easy to identify in thread dumps.
+     */
+    private static class ListenerThreadFactory implements ThreadFactory
+    {
+        private final String        threadNamePrefix;
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        ListenerThreadFactory(String connectionName)
+        {
+            this.threadNamePrefix = connectorName + ": " + connectionName + ": ";
+        }
+
+        public Thread newThread(Runnable runnable)
+        {
+            Thread thread = new Thread(runnable, threadNamePrefix + threadNumber.getAndIncrement());
+
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
 }
@@ -0,0 +1,225 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ArrayPropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstancePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.events.OMRSEventCategory;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.beans.v1.OMRSEventV1;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * OMRSTopicEventSummary holds the values from an inbound event that the OMRSTopicSubscriptionFilters test.
+ * It is built once for each event by the OMRSTopicConnector and shared by the filters of all of the
+ * registered listeners, so the event is only unpacked once however many listeners have subscriptions.
+ */
+class OMRSTopicEventSummary
+{
+    private static final String zoneMembershipPropertyName = "zoneMembership";
+
+    private OMRSEventCategory eventCategory;
+    private OMRSInstanceEvent instanceEvent = null;
+    private InstanceType      instanceType  = null;
+    private int               typeIndex     = -1;
+
+    private List<String>      entityZones           = null;
+    private List<String>      originalEntityZones   = null;
+    private boolean           zonesExtracted        = false;
+
+
+    /**
+     * Constructor
+     *
+     * @param event parsed event
+     * @param topicConnector connector that assigns the type indexes
+     */
+    OMRSTopicEventSummary(OMRSEventV1        event,
+                          OMRSTopicConnector topicConnector)
+    {
+        this.eventCategory = event.getEventCategory();
+
+        if (eventCategory == OMRSEventCategory.INSTANCE)
+        {
+            this.instanceEvent = new OMRSInstanceEvent(event);
+
+            if (instanceEvent.getEntity() != null)
+            {
+                instanceType = instanceEvent.getEntity().getType();
+            }
+            else if (instanceEvent.getRelationship() != null)
+            {
+                instanceType = instanceEvent.getRelationship().getType();
+            }
+            else if (instanceEvent.getOriginalEntity() != null)
+            {
+                instanceType = instanceEvent.getOriginalEntity().getType();
+            }
+            else if (instanceEvent.getOriginalRelationship() != null)
+            {
+                instanceType = instanceEvent.getOriginalRelationship().getType();
+            }
+
+            String typeGUID = instanceEvent.getTypeDefGUID();
+
+            if ((typeGUID == null) && (instanceType != null))
+            {
+                typeGUID = instanceType.getTypeDefGUID();
+            }
+
+            typeIndex = topicConnector.getTypeIndex(typeGUID);
+        }
+    }
+
+
+    /**
+     * Return the category of the event.
+     *
+     * @return category enum
+     */
+    OMRSEventCategory getEventCategory()
+    {
+        return eventCategory;
+    }
+
+
+    /**
+     * Return the unpacked instance event.  This is null for registry and type definition events.
+     *
+     * @return instance event
+     */
+    OMRSInstanceEvent getInstanceEvent()
+    {
+        return instanceEvent;
+    }
+
+
+    /**
+     * Return the type of the instance that the event is about.  This is null if the event only carries the
+     * type's identifiers, for example when an instance is purged.
+     *
+     * @return instance type
+     */
+    InstanceType getInstanceType()
+    {
+        return instanceType;
+    }
+
+
+    /**
+     * Return the connector-wide index of the instance's type, or -1 if the type is not known.
+     *
+     * @return index into the filters' type bit sets
+     */
+    int getTypeIndex()
+    {
+        return typeIndex;
+    }
+
+
+    /**
+     * Return whether the event carries an entity.  Only entities are checked against the supported zones.
+     *
+     * @return boolean flag
+     */
+    boolean hasEntity()
+    {
+        return (instanceEvent != null) && ((instanceEvent.getEntity() != null) || (instanceEvent.getOriginalEntity() != null));
+    }
+
+
+    /**
+     * Return the zones of the entity in the event.  Null means the entity does not set its zones.
+     *
+     * @return list of zone names
+     */
+    List<String> getEntityZones()
+    {
+        this.extractZones();
+
+        return entityZones;
+    }
+
+
+    /**
+     * Return the zones of the original entity in the event, when the event is for an update.
+     * Null means there is no original entity or it does not set its zones.
+     *
+     * @return list of zone names
+     */
+    List<String> getOriginalEntityZones()
+    {
+        this.extractZones();
+
+        return originalEntityZones;
+    }
+
+
+    /**
+     * Extract the zone membership from the entities the first time that a filter needs them.
+     */
+    private void extractZones()
+    {
+        if (! zonesExtracted)
+        {
+            entityZones = getZones(instanceEvent.getEntity());
+            originalEntityZones = getZones(instanceEvent.getOriginalEntity());
+            zonesExtracted = true;
+        }
+    }
+
+
+    /**
+     * Return the values of the zone membership property of an entity.
+     *
+     * @param entity entity from the event
+     * @return list of zone names or null if the entity does not set its zones
+     */
+    private static List<String> getZones(EntityDetail entity)
+    {
+        if ((entity == null) || (entity.getProperties() == null))
+        {
+            return null;
+        }
+
+        InstancePropertyValue zoneMembership = entity.getProperties().getPropertyValue(zoneMembershipPropertyName);
+
+        if (! (zoneMembership instanceof ArrayPropertyValue))
+        {
+            return null;
+        }
+
+        InstanceProperties arrayValues = ((ArrayPropertyValue) zoneMembership).getArrayValues();
+
+        if (arrayValues == null)
+        {
+            return null;
+        }
+
+        Map<String, InstancePropertyValue> zoneValues = arrayValues.getInstanceProperties();
+
+        if ((zoneValues == null) || (zoneValues.isEmpty()))
+        {
+            return null;
+        }
+
+        List<String> zones = new ArrayList<>();
+
+        for (InstancePropertyValue zoneValue : zoneValues.values())
+        {
+            if (zoneValue != null)
+            {
+                zones.add(zoneValue.valueAsString());
+            }
+        }
+
+        return zones;
+    }
+}
@@ -0,0 +1,386 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
+
+import org.odpi.openmetadata.repositoryservices.events.beans.v1.OMRSEventV1;
+import org.odpi.openmetadata.repositoryservices.events.future.CompletedFuture;
+import org.odpi.openmetadata.repositoryservices.events.future.DelegatableFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * OMRSTopicListenerDispatcher manages the queue of inbound events for a single OMRSTopicListener that is
+ * registered with the OMRSTopicConnector.  Events are processed by the OMRSTopicConnector's executor one at a
+ * time and in the order they were received, so each listener sees the same sequence of events as the
+ * event bus delivered.  When the queue is full, the event bus thread waits for space; this holds back the
+ * consumption of new events until the listener catches up.  The wait is limited by the queue timeout and
+ * ends if the executor is shut down, so a stuck listener or a disconnect can not hold the event bus thread
+ * for ever.
+ */
+class OMRSTopicListenerDispatcher implements Runnable
+{
+    private static final Logger log = LoggerFactory.getLogger(OMRSTopicListenerDispatcher.class);
+
+    /*
+     * Maximum number of events processed before the executor thread is handed back so other listeners
+     * get a turn.
+     */
+    private static final int maxEventsPerRun = 50;
+
+    /*
+     * Number of milliseconds between the checks for shutdown while waiting for space in the queue.
+     */
+    private static final long queueWaitInterval = 100;
+
+    private final OMRSTopicConnector          topicConnector;
+    private final OMRSTopicListener           topicListener;
+    private final OMRSTopicSubscriptionFilter subscriptionFilter;
+    private final BlockingQueue<QueuedEvent>  queue;
+    private final int                         queueCapacity;
+    private final AtomicBoolean               scheduled = new AtomicBoolean(false);
+
+    private final AtomicLong processedEventCount   = new AtomicLong(0);
+    private final AtomicLong failedEventCount      = new AtomicLong(0);
+    private final AtomicLong rejectedEventCount    = new AtomicLong(0);
+    private final AtomicLong filteredEventCount    = new AtomicLong(0);
+    private final AtomicLong slowEventCount        = new AtomicLong(0);
+    private final AtomicLong totalProcessingTime   = new AtomicLong(0);
+    private final AtomicLong maximumProcessingTime = new AtomicLong(0);
+
+
+    /**
+     * Constructor
+     *
+     * @param topicConnector connector that owns the executor and the event processing logic
+     * @param topicListener listener to pass the events to
+     * @param subscriptionFilter compiled subscription of the listener or null if it receives all events
+     * @param queueCapacity maximum number of events waiting for the listener
+     */
+    OMRSTopicListenerDispatcher(OMRSTopicConnector          topicConnector,
+                                OMRSTopicListener           topicListener,
+                                OMRSTopicSubscriptionFilter subscriptionFilter,
+                                int                         queueCapacity)
+    {
+        this.topicConnector = topicConnector;
+        this.topicListener = topicListener;
+        this.subscriptionFilter = subscriptionFilter;
+        this.queueCapacity = queueCapacity;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+
+    /**
+     * Return the listener that this dispatcher is passing events to.
+     *
+     * @return listener
+     */
+    OMRSTopicListener getTopicListener()
+    {
+        return topicListener;
+    }
+
+
+    /**
+     * Return the compiled subscription of the listener.
+     *
+     * @return subscription filter or null if the listener receives all events
+     */
+    OMRSTopicSubscriptionFilter getSubscriptionFilter()
+    {
+        return subscriptionFilter;
+    }
+
+
+    /**
+     * Test whether the event matches the listener's subscription.  Events that do not match are counted
+     * and not passed to the listener.
+     *
+     * @param eventSummary values extracted from the event or null if no listener has a subscription
+     * @return boolean flag
+     */
+    boolean isSubscribed(OMRSTopicEventSummary eventSummary)
+    {
+        if ((subscriptionFilter == null) || (eventSummary == null) || (subscriptionFilter.matches(eventSummary)))
+        {
+            return true;
+        }
+
+        filteredEventCount.incrementAndGet();
+
+        return false;
+    }
+
+
+    /**
+     * Pass the event to the listener on the calling thread.  This is used when the connector is configured
+     * without an executor.
+     *
+     * @param event parsed event
+     * @param eventJSON original event for error reporting
+     */
+    void processEvent(OMRSEventV1 event,
+                      String      eventJSON)
+    {
+        this.passEventToListener(event, eventJSON);
+    }
+
+
+    /**
+     * Queue the event for the listener and make sure the queue will be drained by the executor.
+     *
+     * @param event parsed event
+     * @param eventJSON original event for error reporting
+     * @param messageId identifier of the event on the event bus
+     * @param executor executor that runs the listeners
+     * @param queueTimeout maximum number of milliseconds to wait for space in the queue (zero or less means
+     *                     do not wait)
+     * @return future that completes when the listener has finished with the event
+     */
+    DelegatableFuture queueEvent(OMRSEventV1     event,
+                                 String          eventJSON,
+                                 String          messageId,
+                                 ExecutorService executor,
+                                 long            queueTimeout)
+    {
+        QueuedEvent queuedEvent = new QueuedEvent(event, eventJSON, messageId);
+        boolean     queued      = false;
+        long        endTime     = System.currentTimeMillis() + queueTimeout;
+
+        try
+        {
+            queued = (! executor.isShutdown()) && (queue.offer(queuedEvent));
+
+            long waitTime = queueTimeout;
+
+            while ((! queued) && (! executor.isShutdown()) && (waitTime > 0))
+            {
+                queued = queue.offer(queuedEvent, Math.min(waitTime, queueWaitInterval), TimeUnit.MILLISECONDS);
+                waitTime = endTime - System.currentTimeMillis();
+            }
+        }
+        catch (InterruptedException interrupted)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        if (queued)
+        {
+            this.scheduleDrain(executor);
+        }
+        else
+        {
+            this.rejectEvent(queuedEvent, executor.isShutdown());
+        }
+
+        return queuedEvent.future;
+    }
+
+
+    /**
+     * Drain the queue, passing each event to the listener.  Only one thread drains the queue at a time.
+     */
+    public void run()
+    {
+        int eventCount = 0;
+
+        try
+        {
+            QueuedEvent queuedEvent = queue.poll();
+
+            while (queuedEvent != null)
+            {
+                this.passQueuedEventToListener(queuedEvent);
+
+                if (++eventCount >= maxEventsPerRun)
+                {
+                    break;
+                }
+
+                queuedEvent = queue.poll();
+            }
+        }
+        finally
+        {
+            scheduled.set(false);
+
+            /*
+             * Events may have arrived after the last poll so check again before giving up the thread.
+             */
+            if (! queue.isEmpty())
+            {
+                this.scheduleDrain(topicConnector.getListenerExecutor());
+            }
+        }
+    }
+
+
+    /**
+     * Return the current statistics for this listener.
+     *
+     * @return statistics bean
+     */
+    OMRSTopicListenerStatistics getStatistics()
+    {
+        OMRSTopicListenerStatistics statistics = new OMRSTopicListenerStatistics();
+
+        statistics.setListenerName(topicListener.toString());
+        statistics.setQueueDepth(queue.size());
+        statistics.setQueueCapacity(queueCapacity);
+        statistics.setProcessedEventCount(processedEventCount.get());
+        statistics.setFailedEventCount(failedEventCount.get());
+        statistics.setRejectedEventCount(rejectedEventCount.get());
+        statistics.setFilteredEventCount(filteredEventCount.get());
+        statistics.setSlowEventCount(slowEventCount.get());
+        statistics.setTotalProcessingTime(totalProcessingTime.get());
+        statistics.setMaximumProcessingTime(maximumProcessingTime.get());
+
+        return statistics;
+    }
+
+
+    /**
+     * Reject any events still waiting in the queue.  This is called when the connector disconnects.
+     */
+    void rejectQueuedEvents()
+    {
+        QueuedEvent queuedEvent = queue.poll();
+
+        while (queuedEvent != null)
+        {
+            this.rejectEvent(queuedEvent, true);
+            queuedEvent = queue.poll();
+        }
+    }
+
+
+    /**
+     * Submit a drain task to the executor if one is not already scheduled.
+     *
+     * @param executor executor that runs the listeners
+     */
+    private void scheduleDrain(ExecutorService executor)
+    {
+        if ((executor != null) && (scheduled.compareAndSet(false, true)))
+        {
+            try
+            {
+                executor.execute(this);
+            }
+            catch (RejectedExecutionException shutdown)
+            {
+                scheduled.set(false);
+                this.rejectQueuedEvents();
+            }
+        }
+    }
+
+
+    /**
+     * Process an event on an executor thread.  The event processing context of the thread is set up for the
+     * event so that any asynchronous processing started by the listener is tracked against it.
+     *
+     * @param queuedEvent event to process
+     */
+    private void passQueuedEventToListener(QueuedEvent queuedEvent)
+    {
+        InternalOMRSEventProcessingContext.clear();
+        InternalOMRSEventProcessingContext.getInstance().setCurrentMessageId(queuedEvent.messageId);
+
+        try
+        {
+            this.passEventToListener(queuedEvent.event, queuedEvent.eventJSON);
+        }
+        finally
+        {
+            queuedEvent.future.setDelegate(InternalOMRSEventProcessingContext.getInstance().getOverallAsyncProcessingResult());
+            InternalOMRSEventProcessingContext.clear();
+        }
+    }
+
+
+    /**
+     * Call the listener and record how long it took.
+     *
+     * @param event parsed event
+     * @param eventJSON original event for error reporting
+     */
+    private void passEventToListener(OMRSEventV1 event,
+                                     String      eventJSON)
+    {
+        long startTime = System.currentTimeMillis();
+
+        try
+        {
+            topicConnector.processOMRSEvent(event, topicListener);
+        }
+        catch (Throwable  error)
+        {
+            failedEventCount.incrementAndGet();
+            topicConnector.logEventProcessingError(eventJSON, error, topicListener);
+        }
+
+        long processingTime = System.currentTimeMillis() - startTime;
+
+        processedEventCount.incrementAndGet();
+        totalProcessingTime.addAndGet(processingTime);
+        maximumProcessingTime.accumulateAndGet(processingTime, Math::max);
+
+        if (processingTime > topicConnector.getSlowEventThreshold())
+        {
+            slowEventCount.incrementAndGet();
+            log.debug("Listener " + topicListener + " took " + processingTime + "ms to process event");
+        }
+    }
+
+
+    /**
+     * Record that an event could not be passed to the listener.
+     *
+     * @param queuedEvent event that is not processed
+     * @param disconnecting the event is rejected because the connector is disconnecting rather than because
+     *                      the queue is full
+     */
+    private void rejectEvent(QueuedEvent queuedEvent,
+                             boolean     disconnecting)
+    {
+        rejectedEventCount.incrementAndGet();
+        queuedEvent.future.setDelegate(CompletedFuture.INSTANCE);
+
+        if (disconnecting)
+        {
+            topicConnector.logEventRejectedOnDisconnect(queuedEvent.eventJSON, topicListener);
+        }
+        else
+        {
+            topicConnector.logEventRejected(queuedEvent.eventJSON, topicListener, queueCapacity);
+        }
+    }
+
+
+    /**
+     * An event waiting for the listener along with the future that the event bus connector is monitoring.
+     */
+    private static class QueuedEvent
+    {
+        private final OMRSEventV1       event;
+        private final String            eventJSON;
+        private final String            messageId;
+        private final DelegatableFuture future = new DelegatableFuture();
+
+        QueuedEvent(OMRSEventV1 event, String eventJSON, String messageId)
+        {
+            this.event = event;
+            this.eventJSON = eventJSON;
+            this.messageId = messageId;
+        }
+    }
+}
@@ -0,0 +1,298 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
+
+import java.io.Serializable;
+
+
+/**
+ * OMRSTopicListenerStatistics is a point-in-time snapshot of the work that the OMRSTopicConnector has passed
+ * to one of its registered OMRSTopicListeners.  It is used to monitor whether a listener is keeping up
+ * with the events arriving from the cohort.
+ */
+public class OMRSTopicListenerStatistics implements Serializable
+{
+    private static final long    serialVersionUID = 1L;
+
+    private String  listenerName            = null;
+    private int     queueDepth              = 0;
+    private int     queueCapacity           = 0;
+    private long    processedEventCount     = 0;
+    private long    failedEventCount        = 0;
+    private long    rejectedEventCount      = 0;
+    private long    filteredEventCount      = 0;
+    private long    slowEventCount          = 0;
+    private long    totalProcessingTime     = 0;
+    private long    maximumProcessingTime   = 0;
+
+
+    /**
+     * Default constructor
+     */
+    public OMRSTopicListenerStatistics()
+    {
+    }
+
+
+    /**
+     * Return the name of the listener (its toString()).
+     *
+     * @return listener name
+     */
+    public String getListenerName()
+    {
+        return listenerName;
+    }
+
+
+    /**
+     * Set up the name of the listener.
+     *
+     * @param listenerName listener name
+     */
+    public void setListenerName(String listenerName)
+    {
+        this.listenerName = listenerName;
+    }
+
+
+    /**
+     * Return the number of events waiting to be processed by the listener.
+     *
+     * @return count of queued events
+     */
+    public int getQueueDepth()
+    {
+        return queueDepth;
+    }
+
+
+    /**
+     * Set up the number of events waiting to be processed by the listener.
+     *
+     * @param queueDepth count of queued events
+     */
+    public void setQueueDepth(int queueDepth)
+    {
+        this.queueDepth = queueDepth;
+    }
+
+
+    /**
+     * Return the maximum number of events that can be waiting for the listener before the event bus is
+     * held back.
+     *
+     * @return queue size
+     */
+    public int getQueueCapacity()
+    {
+        return queueCapacity;
+    }
+
+
+    /**
+     * Set up the maximum number of events that can be waiting for the listener.
+     *
+     * @param queueCapacity queue size
+     */
+    public void setQueueCapacity(int queueCapacity)
+    {
+        this.queueCapacity = queueCapacity;
+    }
+
+
+    /**
+     * Return the number of events that have been passed to the listener.
+     *
+     * @return count
+     */
+    public long getProcessedEventCount()
+    {
+        return processedEventCount;
+    }
+
+
+    /**
+     * Set up the number of events that have been passed to the listener.
+     *
+     * @param processedEventCount count
+     */
+    public void setProcessedEventCount(long processedEventCount)
+    {
+        this.processedEventCount = processedEventCount;
+    }
+
+
+    /**
+     * Return the number of events where the listener threw an exception.
+     *
+     * @return count
+     */
+    public long getFailedEventCount()
+    {
+        return failedEventCount;
+    }
+
+
+    /**
+     * Set up the number of events where the listener threw an exception.
+     *
+     * @param failedEventCount count
+     */
+    public void setFailedEventCount(long failedEventCount)
+    {
+        this.failedEventCount = failedEventCount;
+    }
+
+
+    /**
+     * Return the number of events that were not passed to the listener because its queue stayed full for
+     * longer than the configured timeout, or the connector was disconnecting.
+     *
+     * @return count
+     */
+    public long getRejectedEventCount()
+    {
+        return rejectedEventCount;
+    }
+
+
+    /**
+     * Set up the number of events that were not passed to the listener.
+     *
+     * @param rejectedEventCount count
+     */
+    public void setRejectedEventCount(long rejectedEventCount)
+    {
+        this.rejectedEventCount = rejectedEventCount;
+    }
+
+
+    /**
+     * Return the number of events that were not passed to the listener because they did not match the
+     * subscription that the listener registered.
+     *
+     * @return count
+     */
+    public long getFilteredEventCount()
+    {
+        return filteredEventCount;
+    }
+
+
+    /**
+     * Set up the number of events that did not match the listener's subscription.
+     *
+     * @param filteredEventCount count
+     */
+    public void setFilteredEventCount(long filteredEventCount)
+    {
+        this.filteredEventCount = filteredEventCount;
+    }
+
+
+    /**
+     * Return the number of events that took the listener longer than the slow event threshold to process.
+     *
+     * @return count
+     */
+    public long getSlowEventCount()
+    {
+        return slowEventCount;
+    }
+
+
+    /**
+     * Set up the number of events that took the listener longer than the slow event threshold to process.
+     *
+     * @param slowEventCount count
+     */
+    public void setSlowEventCount(long slowEventCount)
+    {
+        this.slowEventCount = slowEventCount;
+    }
+
+
+    /**
+     * Return the total time (in milliseconds) that the listener has spent processing events.
+     *
+     * @return milliseconds
+     */
+    public long getTotalProcessingTime()
+    {
+        return totalProcessingTime;
+    }
+
+
+    /**
+     * Set up the total time (in milliseconds) that the listener has spent processing events.
+     *
+     * @param totalProcessingTime milliseconds
+     */
+    public void setTotalProcessingTime(long totalProcessingTime)
+    {
+        this.totalProcessingTime = totalProcessingTime;
+    }
+
+
+    /**
+     * Return the longest time (in milliseconds) that the listener has taken to process a single event.
+     *
+     * @return milliseconds
+     */
+    public long getMaximumProcessingTime()
+    {
+        return maximumProcessingTime;
+    }
+
+
+    /**
+     * Set up the longest time (in milliseconds) that the listener has taken to process a single event.
+     *
+     * @param maximumProcessingTime milliseconds
+     */
+    public void setMaximumProcessingTime(long maximumProcessingTime)
+    {
+        this.maximumProcessingTime = maximumProcessingTime;
+    }
+
+
+    /**
+     * Return the average time (in milliseconds) that the listener takes to process an event.
+     *
+     * @return milliseconds
+     */
+    public double getAverageProcessingTime()
+    {
+        if (processedEventCount == 0)
+        {
+            return 0;
+        }
+
+        return (double)totalProcessingTime / processedEventCount;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "OMRSTopicListenerStatistics{" +
+                "listenerName='" + listenerName + '\'' +
+                ", queueDepth=" + queueDepth +
+                ", queueCapacity=" + queueCapacity +
+                ", processedEventCount=" + processedEventCount +
+                ", failedEventCount=" + failedEventCount +
+                ", rejectedEventCount=" + rejectedEventCount +
+                ", filteredEventCount=" + filteredEventCount +
+                ", slowEventCount=" + slowEventCount +
+                ", totalProcessingTime=" + totalProcessingTime +
+                ", maximumProcessingTime=" + maximumProcessingTime +
+                ", averageProcessingTime=" + getAverageProcessingTime() +
+                '}';
+    }
+}
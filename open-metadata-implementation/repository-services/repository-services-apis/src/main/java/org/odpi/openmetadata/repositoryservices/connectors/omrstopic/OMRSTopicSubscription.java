@@ -0,0 +1,196 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
+
+import org.odpi.openmetadata.repositoryservices.events.OMRSEventCategory;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * OMRSTopicSubscription describes the events that an OMRSTopicListener wishes to receive from the
+ * OMRSTopicConnector.  It is passed with the listener when it is registered.  The connector checks each
+ * event against the subscription before it is queued for the listener so the listener is not called
+ * for events that it would ignore.
+ *
+ * Each part of the subscription is optional.  A null value means the listener is interested in all of the
+ * events for that part.
+ * <ul>
+ *     <li>
+ *         eventCategories: the categories of event (registry, type definition, instance) that are passed
+ *         to the listener.
+ *     </li>
+ *     <li>
+ *         instanceEventTypes: the types of instance event that are passed to the listener.
+ *     </li>
+ *     <li>
+ *         rootTypeNames: the names of the types of the metadata instances that are passed to the listener.
+ *         Instances of subtypes of these types are also passed.
+ *     </li>
+ *     <li>
+ *         supportedZones: the governance zones that an entity must be a member of to be passed to the
+ *         listener.  Entities that have no zone membership and relationships are always passed.
+ *     </li>
+ * </ul>
+ */
+public class OMRSTopicSubscription implements Serializable
+{
+    private static final long    serialVersionUID = 1L;
+
+    private List<OMRSEventCategory>     eventCategories    = null;
+    private List<OMRSInstanceEventType> instanceEventTypes = null;
+    private List<String>                rootTypeNames      = null;
+    private List<String>                supportedZones     = null;
+
+
+    /**
+     * Default constructor
+     */
+    public OMRSTopicSubscription()
+    {
+    }
+
+
+    /**
+     * Copy/clone constructor
+     *
+     * @param template object to copy
+     */
+    public OMRSTopicSubscription(OMRSTopicSubscription template)
+    {
+        if (template != null)
+        {
+            this.eventCategories = copyList(template.getEventCategories());
+            this.instanceEventTypes = copyList(template.getInstanceEventTypes());
+            this.rootTypeNames = copyList(template.getRootTypeNames());
+            this.supportedZones = copyList(template.getSupportedZones());
+        }
+    }
+
+
+    /**
+     * Return the categories of event that the listener wishes to receive.
+     *
+     * @return list of event categories or null for all categories
+     */
+    public List<OMRSEventCategory> getEventCategories()
+    {
+        return copyList(eventCategories);
+    }
+
+
+    /**
+     * Set up the categories of event that the listener wishes to receive.
+     *
+     * @param eventCategories list of event categories or null for all categories
+     */
+    public void setEventCategories(List<OMRSEventCategory> eventCategories)
+    {
+        this.eventCategories = eventCategories;
+    }
+
+
+    /**
+     * Return the types of instance event that the listener wishes to receive.
+     *
+     * @return list of instance event types or null for all types
+     */
+    public List<OMRSInstanceEventType> getInstanceEventTypes()
+    {
+        return copyList(instanceEventTypes);
+    }
+
+
+    /**
+     * Set up the types of instance event that the listener wishes to receive.
+     *
+     * @param instanceEventTypes list of instance event types or null for all types
+     */
+    public void setInstanceEventTypes(List<OMRSInstanceEventType> instanceEventTypes)
+    {
+        this.instanceEventTypes = instanceEventTypes;
+    }
+
+
+    /**
+     * Return the names of the types of metadata instance that the listener wishes to receive events about.
+     *
+     * @return list of type names or null for all types
+     */
+    public List<String> getRootTypeNames()
+    {
+        return copyList(rootTypeNames);
+    }
+
+
+    /**
+     * Set up the names of the types of metadata instance that the listener wishes to receive events about.
+     * Events about instances of subtypes of these types are also passed to the listener.
+     *
+     * @param rootTypeNames list of type names or null for all types
+     */
+    public void setRootTypeNames(List<String> rootTypeNames)
+    {
+        this.rootTypeNames = rootTypeNames;
+    }
+
+
+    /**
+     * Return the governance zones that an entity must belong to for the listener to receive events about it.
+     *
+     * @return list of zone names or null for all zones
+     */
+    public List<String> getSupportedZones()
+    {
+        return copyList(supportedZones);
+    }
+
+
+    /**
+     * Set up the governance zones that an entity must belong to for the listener to receive events about it.
+     *
+     * @param supportedZones list of zone names or null for all zones
+     */
+    public void setSupportedZones(List<String> supportedZones)
+    {
+        this.supportedZones = supportedZones;
+    }
+
+
+    /**
+     * Return a copy of a list so the subscription can not be changed after it is registered.
+     *
+     * @param list list to copy
+     * @param <T> type of list element
+     * @return copy of the list or null
+     */
+    private static <T> List<T> copyList(List<T> list)
+    {
+        if (list == null)
+        {
+            return null;
+        }
+
+        return new ArrayList<>(list);
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "OMRSTopicSubscription{" +
+                "eventCategories=" + eventCategories +
+                ", instanceEventTypes=" + instanceEventTypes +
+                ", rootTypeNames=" + rootTypeNames +
+                ", supportedZones=" + supportedZones +
+                '}';
+    }
+}
@@ -0,0 +1,258 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
+import org.odpi.openmetadata.repositoryservices.events.OMRSEventCategory;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+
+/**
+ * OMRSTopicSubscriptionFilter is the compiled form of an OMRSTopicSubscription.  The lists in the
+ * subscription are turned into sets and the result of matching each instance type against the root type
+ * names is remembered in a bit set indexed by the connector's type index.  This means the type hierarchy
+ * of an instance type is only walked the first time an event of that type arrives.  The remembered
+ * results are cleared when a type definition event is received since the type hierarchy may have changed.
+ */
+class OMRSTopicSubscriptionFilter
+{
+    private final OMRSTopicSubscription          subscription;
+    private final Set<OMRSEventCategory>         eventCategories;
+    private final Set<OMRSInstanceEventType>     instanceEventTypes;
+    private final Set<String>                    rootTypeNames;
+    private final Set<String>                    supportedZones;
+
+    private final BitSet evaluatedTypes = new BitSet();
+    private final BitSet matchingTypes  = new BitSet();
+
+
+    /**
+     * Constructor compiles the subscription.
+     *
+     * @param subscription subscription registered with the listener
+     */
+    OMRSTopicSubscriptionFilter(OMRSTopicSubscription subscription)
+    {
+        this.subscription = new OMRSTopicSubscription(subscription);
+
+        List<OMRSEventCategory> categoryList = subscription.getEventCategories();
+        this.eventCategories = (categoryList == null) ? null : toEnumSet(categoryList, OMRSEventCategory.class);
+
+        List<OMRSInstanceEventType> eventTypeList = subscription.getInstanceEventTypes();
+        this.instanceEventTypes = (eventTypeList == null) ? null : toEnumSet(eventTypeList, OMRSInstanceEventType.class);
+
+        List<String> typeNameList = subscription.getRootTypeNames();
+        this.rootTypeNames = (typeNameList == null) ? null : new HashSet<>(typeNameList);
+
+        List<String> zoneList = subscription.getSupportedZones();
+        this.supportedZones = (zoneList == null) ? null : new HashSet<>(zoneList);
+    }
+
+
+    /**
+     * Return the subscription that this filter was compiled from.
+     *
+     * @return subscription
+     */
+    OMRSTopicSubscription getSubscription()
+    {
+        return subscription;
+    }
+
+
+    /**
+     * Test whether an event matches the subscription.
+     *
+     * @param eventSummary values extracted from the event
+     * @return boolean flag
+     */
+    boolean matches(OMRSTopicEventSummary eventSummary)
+    {
+        if ((eventCategories != null) && (! eventCategories.contains(eventSummary.getEventCategory())))
+        {
+            return false;
+        }
+
+        if (eventSummary.getInstanceEvent() == null)
+        {
+            /*
+             * Registry and type definition events are only filtered by category.
+             */
+            return true;
+        }
+
+        if ((instanceEventTypes != null) &&
+            (! instanceEventTypes.contains(eventSummary.getInstanceEvent().getInstanceEventType())))
+        {
+            return false;
+        }
+
+        return this.matchesType(eventSummary) && this.matchesZones(eventSummary);
+    }
+
+
+    /**
+     * Forget the type matching results because the type definitions have changed.
+     */
+    synchronized void resetTypes()
+    {
+        evaluatedTypes.clear();
+        matchingTypes.clear();
+    }
+
+
+    /**
+     * Test whether the type of the instance in the event is one of the root types or one of their subtypes.
+     *
+     * @param eventSummary values extracted from the event
+     * @return boolean flag
+     */
+    private boolean matchesType(OMRSTopicEventSummary eventSummary)
+    {
+        if (rootTypeNames == null)
+        {
+            return true;
+        }
+
+        int          typeIndex    = eventSummary.getTypeIndex();
+        InstanceType instanceType = eventSummary.getInstanceType();
+
+        synchronized (this)
+        {
+            if ((typeIndex >= 0) && (evaluatedTypes.get(typeIndex)))
+            {
+                return matchingTypes.get(typeIndex);
+            }
+
+            if (instanceType == null)
+            {
+                /*
+                 * The event does not carry the type hierarchy so it can not be ruled out.
+                 */
+                return true;
+            }
+
+            boolean matches = this.isATypeOf(instanceType);
+
+            if (typeIndex >= 0)
+            {
+                evaluatedTypes.set(typeIndex);
+                matchingTypes.set(typeIndex, matches);
+            }
+
+            return matches;
+        }
+    }
+
+
+    /**
+     * Test whether an instance type or one of its super types is one of the root types.
+     *
+     * @param instanceType type of the instance in the event
+     * @return boolean flag
+     */
+    private boolean isATypeOf(InstanceType instanceType)
+    {
+        if (rootTypeNames.contains(instanceType.getTypeDefName()))
+        {
+            return true;
+        }
+
+        List<TypeDefLink> superTypes = instanceType.getTypeDefSuperTypes();
+
+        if (superTypes != null)
+        {
+            for (TypeDefLink superType : superTypes)
+            {
+                if ((superType != null) && (rootTypeNames.contains(superType.getName())))
+                {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Test whether the entity in the event is in one of the supported zones.  An entity that is moved out
+     * of the supported zones still matches so the listener sees it leave.
+     *
+     * @param eventSummary values extracted from the event
+     * @return boolean flag
+     */
+    private boolean matchesZones(OMRSTopicEventSummary eventSummary)
+    {
+        if ((supportedZones == null) || (! eventSummary.hasEntity()))
+        {
+            return true;
+        }
+
+        if ((eventSummary.getInstanceEvent().getEntity() != null) &&
+            (this.inSupportedZones(eventSummary.getEntityZones())))
+        {
+            return true;
+        }
+
+        return (eventSummary.getInstanceEvent().getOriginalEntity() != null) &&
+               (this.inSupportedZones(eventSummary.getOriginalEntityZones()));
+    }
+
+
+    /**
+     * Test whether a list of zones includes one of the supported zones.  An entity that does not set its
+     * zones is in all zones.
+     *
+     * @param zones zones of an entity
+     * @return boolean flag
+     */
+    private boolean inSupportedZones(List<String> zones)
+    {
+        if (zones == null)
+        {
+            return true;
+        }
+
+        for (String zone : zones)
+        {
+            if (supportedZones.contains(zone))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Convert a list of enums into a set.
+     *
+     * @param list list of enums
+     * @param enumClass class of enum
+     * @param <E> type of enum
+     * @return set of enums
+     */
+    private static <E extends Enum<E>> Set<E> toEnumSet(List<E> list, Class<E> enumClass)
+    {
+        Set<E> enumSet = EnumSet.noneOf(enumClass);
+
+        for (E value : list)
+        {
+            if (value != null)
+            {
+                enumSet.add(value);
+            }
+        }
+
+        return enumSet;
+    }
+}
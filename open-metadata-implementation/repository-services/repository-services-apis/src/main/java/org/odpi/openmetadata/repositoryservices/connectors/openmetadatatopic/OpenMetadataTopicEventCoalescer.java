@@ -0,0 +1,330 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic;
+
+import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditCode;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * OpenMetadataTopicEventCoalescer sits between an access service's out topic publisher and its topic connector.
+ * By default, each event is passed straight to the topic.  When a coalescing window is set, the events are held
+ * for the window, keyed by the guid of the instance they describe, and only the latest event for each instance is
+ * sent when the window ends.  A bulk update that changes the same asset many times in a second then produces
+ * one event for the asset rather than one for each change.
+ * <p>
+ * The events held for a window can also be sent in batches.  A batch is a JSON array of the events, so consumers
+ * of an out topic must only enable batches once they can process them.  The batch size has no effect without a
+ * coalescing window since there is only ever one event to send.
+ * <p>
+ * The events for an instance are always sent in the order they were published.  Each window holds at most one
+ * event for an instance and the windows are sent one after another on a single thread.  Within a window, the
+ * events are sent in the order of the latest change to each instance.
+ */
+public class OpenMetadataTopicEventCoalescer
+{
+    private static final Logger log = LoggerFactory.getLogger(OpenMetadataTopicEventCoalescer.class);
+
+    private final OpenMetadataTopic        topic;
+    private final String                   publisherName;
+    private final int                      maxBatchSize;
+    private final OMRSAuditLog             auditLog;
+    private final ScheduledExecutorService flushExecutor;
+
+    private Map<String, String> pendingEvents     = new LinkedHashMap<>();
+    private long                unkeyedEventCount = 0;
+    private boolean             isShutdown        = false;
+
+
+    /**
+     * Constructor for a coalescer that passes each event straight to the topic.
+     *
+     * @param topic topic to send the events to
+     * @param publisherName name of the publishing service (used in messages)
+     * @param auditLog audit log for errors sending coalesced events
+     */
+    public OpenMetadataTopicEventCoalescer(OpenMetadataTopic topic,
+                                           String            publisherName,
+                                           OMRSAuditLog      auditLog)
+    {
+        this(topic, publisherName, 0, 0, auditLog);
+    }
+
+
+    /**
+     * Constructor.
+     *
+     * @param topic topic to send the events to
+     * @param publisherName name of the publishing service (used in messages and the name of the sending thread)
+     * @param coalescingWindow number of milliseconds to hold events for; zero means send each event as it is published
+     * @param maxBatchSize maximum number of events to send together; zero or one means send each event separately
+     * @param auditLog audit log for errors sending coalesced events
+     */
+    public OpenMetadataTopicEventCoalescer(OpenMetadataTopic topic,
+                                           String            publisherName,
+                                           long              coalescingWindow,
+                                           int               maxBatchSize,
+                                           OMRSAuditLog      auditLog)
+    {
+        this.topic = topic;
+        this.publisherName = publisherName;
+        this.maxBatchSize = maxBatchSize;
+        this.auditLog = auditLog;
+
+        if (coalescingWindow > 0)
+        {
+            this.flushExecutor = Executors.newSingleThreadScheduledExecutor(new SenderThreadFactory(publisherName));
+
+            this.flushExecutor.scheduleWithFixedDelay(this::flush, coalescingWindow, coalescingWindow, TimeUnit.MILLISECONDS);
+        }
+        else
+        {
+            this.flushExecutor = null;
+        }
+    }
+
+
+    /**
+     * Return whether the events are held for a coalescing window.
+     *
+     * @return boolean flag
+     */
+    public boolean isCoalescing()
+    {
+        return flushExecutor != null;
+    }
+
+
+    /**
+     * Publish an event.  Without a coalescing window, the event is sent immediately.  Otherwise it replaces any
+     * event for the same instance that is waiting to be sent, and is sent at the end of the current window.
+     *
+     * @param guid unique identifier of the instance that the event describes; null means the event is never
+     *             replaced by a later event
+     * @param event JSON event payload
+     * @throws ConnectorCheckedException the event could not be sent immediately
+     */
+    public void sendEvent(String  guid,
+                          String  event) throws ConnectorCheckedException
+    {
+        if (event == null)
+        {
+            return;
+        }
+
+        if (flushExecutor == null)
+        {
+            topic.sendEvent(event);
+            return;
+        }
+
+        synchronized (this)
+        {
+            if (isShutdown)
+            {
+                topic.sendEvent(event);
+                return;
+            }
+
+            String key = guid;
+
+            if (key == null)
+            {
+                /*
+                 * The guid can not contain a '#' so this key is not the same as any instance's key.
+                 */
+                key = "#" + unkeyedEventCount++;
+            }
+
+            /*
+             * The event is moved to the end of the window so the window is sent in the order of the latest change
+             * to each instance.
+             */
+            pendingEvents.remove(key);
+            pendingEvents.put(key, event);
+        }
+    }
+
+
+    /**
+     * Stop the coalescing window and send any events that are waiting.  Events published after this call are
+     * sent immediately.
+     */
+    public void shutdown()
+    {
+        if (flushExecutor == null)
+        {
+            return;
+        }
+
+        flushExecutor.shutdown();
+
+        try
+        {
+            flushExecutor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        catch (InterruptedException error)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (this)
+        {
+            isShutdown = true;
+
+            this.sendEvents(this.takePendingEvents());
+        }
+    }
+
+
+    /**
+     * Send the events that have been held for the window that has just ended.  This runs on the flush thread.
+     */
+    private void flush()
+    {
+        List<String> events;
+
+        synchronized (this)
+        {
+            events = this.takePendingEvents();
+        }
+
+        this.sendEvents(events);
+    }
+
+
+    /**
+     * Remove the events that are waiting to be sent.  The caller must hold the lock on this object.
+     *
+     * @return events in the order they are to be sent
+     */
+    private List<String> takePendingEvents()
+    {
+        List<String> events = new ArrayList<>(pendingEvents.values());
+
+        pendingEvents = new LinkedHashMap<>();
+
+        return events;
+    }
+
+
+    /**
+     * Send the events, in batches if requested.
+     *
+     * @param events events in the order they are to be sent
+     */
+    private void sendEvents(List<String> events)
+    {
+        if (maxBatchSize > 1)
+        {
+            for (int fromElement = 0; fromElement < events.size(); fromElement = fromElement + maxBatchSize)
+            {
+                this.sendPayload(getBatchPayload(events.subList(fromElement, Math.min(fromElement + maxBatchSize, events.size()))));
+            }
+        }
+        else
+        {
+            for (String event : events)
+            {
+                this.sendPayload(event);
+            }
+        }
+    }
+
+
+    /**
+     * Send a single event or batch.  An error is logged rather than returned since there is no caller to
+     * return it to, and the remaining events are still sent.
+     *
+     * @param payload event or batch of events
+     */
+    private void sendPayload(String payload)
+    {
+        final String actionDescription = "sendCoalescedEvents";
+
+        try
+        {
+            topic.sendEvent(payload);
+        }
+        catch (Throwable error)
+        {
+            if (auditLog != null)
+            {
+                OMRSAuditCode auditCode = OMRSAuditCode.OUT_TOPIC_SEND_ERROR;
+
+                auditLog.logException(actionDescription,
+                                      auditCode.getLogMessageId(),
+                                      auditCode.getSeverity(),
+                                      auditCode.getFormattedLogMessage(publisherName,
+                                                                       error.getClass().getName(),
+                                                                       error.getMessage()),
+                                      payload,
+                                      auditCode.getSystemAction(),
+                                      auditCode.getUserAction(),
+                                      error);
+            }
+            else
+            {
+                log.error("Unable to send event from " + publisherName + ": " + error.toString());
+            }
+        }
+    }
+
+
+    /**
+     * Combine the events into the JSON array that is sent as a batch.
+     *
+     * @param events JSON events
+     * @return JSON array
+     */
+    static String getBatchPayload(List<String> events)
+    {
+        StringBuilder payload = new StringBuilder("[");
+
+        for (String event : events)
+        {
+            if (payload.length() > 1)
+            {
+                payload.append(',');
+            }
+
+            payload.append(event);
+        }
+
+        return payload.append(']').toString();
+    }
+
+
+    /**
+     * Creates the daemon thread that sends the coalesced events, named so it is easy to identify in thread dumps.
+     */
+    private static class SenderThreadFactory implements ThreadFactory
+    {
+        private final String threadName;
+
+        SenderThreadFactory(String publisherName)
+        {
+            this.threadName = publisherName + ": out topic sender";
+        }
+
+        public Thread newThread(Runnable runnable)
+        {
+            Thread thread = new Thread(runnable, threadName);
+
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -2,6 +2,7 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.Future;
@@ -107,6 +108,7 @@ import org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorized
 public abstract class OMRSMetadataCollection
 {
     static final private String       defaultRepositoryName = "Open Metadata Repository";
+    static final private int          scanPageSize          = 500;
 
     protected String                  metadataCollectionId;                            /* Initialized in constructor */
     protected String                  metadataCollectionName = null;                   /* Initialized in constructor */
@@ -976,6 +978,238 @@ public abstract class OMRSMetadataCollection
                                                                                                           UserNotAuthorizedException;
 
 
+    /**
+     * Return a list of entities that match the supplied properties according to the match criteria and are
+     * visible through the supplied governance zones.  An entity is visible if its zoneMembership property is not
+     * set or it includes at least one of the zones.  The zones are applied before the results are paged so that
+     * each page is filled with visible entities.
+     *
+     * The default implementation pages through the results of findEntitiesByProperty and skips the entities that
+     * are not visible.  Repositories that can filter on zone membership in their queries should override it.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityTypeGUID String unique identifier for the entity type of interest (null means any entity type).
+     * @param matchProperties Optional list of entity properties to match (where any String property's value should
+     *                        be defined as a Java regular expression, even if it should be an exact match).
+     * @param matchCriteria Enum defining how the match properties should be matched to the entities in the repository.
+     * @param fromEntityElement the starting element number of the visible entities to return.
+     *                                This is used when retrieving elements
+     *                                beyond the first page of results. Zero means start from the first element.
+     * @param limitResultsByStatus By default, entities in all statuses are returned.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                             status values.
+     * @param limitResultsByClassification List of classifications that must be present on all returned entities.
+     * @param limitResultsByZone List of governance zones that the returned entities must be visible through.
+     *                           Null means that the results are not restricted by zone.
+     * @param asOfTime Requests a historical query of the entity.  Null means return the present values.
+     * @param sequencingProperty String name of the entity property that is to be used to sequence the results.
+     *                           Null means do not sequence on a property name (see SequencingOrder).
+     * @param sequencingOrder Enum defining how the results should be ordered.
+     * @param pageSize the maximum number of result entities that can be returned on this request.  Zero means
+     *                 unrestricted return results size.
+     * @return a list of entities matching the supplied criteria; null means no matching entities in the metadata
+     * collection.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  entity.
+     * @throws PagingErrorException the paging/sequencing parameters are set up incorrectly.
+     * @throws FunctionNotSupportedException the repository does not support one of the provided parameters.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     * @see OMRSRepositoryHelper#getExactMatchRegex(String)
+     */
+    public List<EntityDetail> findEntitiesByProperty(String                    userId,
+                                                     String                    entityTypeGUID,
+                                                     InstanceProperties        matchProperties,
+                                                     MatchCriteria             matchCriteria,
+                                                     int                       fromEntityElement,
+                                                     List<InstanceStatus>      limitResultsByStatus,
+                                                     List<String>              limitResultsByClassification,
+                                                     List<String>              limitResultsByZone,
+                                                     Date                      asOfTime,
+                                                     String                    sequencingProperty,
+                                                     SequencingOrder           sequencingOrder,
+                                                     int                       pageSize) throws InvalidParameterException,
+                                                                                                RepositoryErrorException,
+                                                                                                TypeErrorException,
+                                                                                                PropertyErrorException,
+                                                                                                PagingErrorException,
+                                                                                                FunctionNotSupportedException,
+                                                                                                UserNotAuthorizedException
+    {
+        if ((limitResultsByZone == null) || (limitResultsByZone.isEmpty()))
+        {
+            return this.findEntitiesByProperty(userId,
+                                               entityTypeGUID,
+                                               matchProperties,
+                                               matchCriteria,
+                                               fromEntityElement,
+                                               limitResultsByStatus,
+                                               limitResultsByClassification,
+                                               asOfTime,
+                                               sequencingProperty,
+                                               sequencingOrder,
+                                               pageSize);
+        }
+
+        List<EntityDetail> results         = new ArrayList<>();
+        int                skippedEntities = 0;
+        int                fromElement     = 0;
+        List<EntityDetail> entities;
+
+        do
+        {
+            entities = this.findEntitiesByProperty(userId,
+                                                   entityTypeGUID,
+                                                   matchProperties,
+                                                   matchCriteria,
+                                                   fromElement,
+                                                   limitResultsByStatus,
+                                                   limitResultsByClassification,
+                                                   asOfTime,
+                                                   sequencingProperty,
+                                                   sequencingOrder,
+                                                   scanPageSize);
+
+            if (entities != null)
+            {
+                for (EntityDetail entity : entities)
+                {
+                    if (repositoryValidator.verifyEntityIsInZones(limitResultsByZone, entity))
+                    {
+                        if (skippedEntities < fromEntityElement)
+                        {
+                            skippedEntities++;
+                        }
+                        else
+                        {
+                            results.add(entity);
+
+                            if ((pageSize > 0) && (results.size() == pageSize))
+                            {
+                                return results;
+                            }
+                        }
+                    }
+                }
+
+                fromElement = fromElement + scanPageSize;
+            }
+        }
+        while ((entities != null) && (entities.size() == scanPageSize));
+
+        if (results.isEmpty())
+        {
+            return null;
+        }
+
+        return results;
+    }
+
+    /**
+     * Return whether this metadata collection implements the cursor based searches itself rather than using
+     * the default implementations below, which build each page by scanning the offset based search results.
+     * The enterprise connector uses this to decide how to page through the results of each repository.
+     *
+     * @return boolean flag
+     */
+    public boolean isSearchCursorSupported()
+    {
+        return false;
+    }
+
+
+    /**
+     * Return a page of the entities that match the supplied properties according to the match criteria.  This
+     * is the cursor based form of findEntitiesByProperty.  The entities are returned in the order of their last
+     * update (oldest first) and then their guid, and each page carries a continuation token that is passed on
+     * the request for the next page.  Unlike paging by element number, the pages do not repeat or miss
+     * entities when entities are added or removed during the search.  An entity that is updated during the
+     * search moves to the end of the order and is returned again with its new values.
+     * <p>
+     * This default implementation does not keep results between requests.  It requests the results of
+     * findEntitiesByProperty in chunks sorted by LAST_UPDATE_OLDEST, and stops as soon as the page is filled.
+     * The continuation token records where the chunk holding the last entity of the page starts, so the next
+     * page resumes there rather than at the first entity.  A repository that ignores the sequencing order is
+     * scanned in full for each page.  Repositories that can keep results between requests, or can query on the
+     * update time, should override it.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityTypeGUID String unique identifier for the entity type of interest (null means any entity type).
+     * @param matchProperties Optional list of entity properties to match (where any String property's value should
+     *                        be defined as a Java regular expression, even if it should be an exact match).
+     * @param matchCriteria Enum defining how the properties should be matched to the entities in the repository.
+     * @param continuationToken token returned with the previous page.  Null means start from the first entity.
+     * @param limitResultsByStatus By default, entities in all statuses are returned.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                             status values.
+     * @param limitResultsByClassification List of classifications that must be present on all returned entities.
+     * @param asOfTime Requests a historical query of the entity.  Null means return the present values.
+     * @param pageSize the maximum number of result entities that can be returned on this request.  Zero means
+     *                 unrestricted return results size.
+     * @return a page of entities and the continuation token for the next page.  The continuation token is null
+     * when there are no more entities.
+     * @throws InvalidParameterException a parameter, or the continuation token, is invalid.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  entity.
+     * @throws PagingErrorException the paging parameters are set up incorrectly.
+     * @throws FunctionNotSupportedException the repository does not support one of the provided parameters.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     * @see OMRSRepositoryHelper#getExactMatchRegex(String)
+     */
+    public EntityDetailPage findEntityPageByProperty(String                    userId,
+                                                     String                    entityTypeGUID,
+                                                     InstanceProperties        matchProperties,
+                                                     MatchCriteria             matchCriteria,
+                                                     String                    continuationToken,
+                                                     List<InstanceStatus>      limitResultsByStatus,
+                                                     List<String>              limitResultsByClassification,
+                                                     Date                      asOfTime,
+                                                     int                       pageSize) throws InvalidParameterException,
+                                                                                                RepositoryErrorException,
+                                                                                                TypeErrorException,
+                                                                                                PropertyErrorException,
+                                                                                                PagingErrorException,
+                                                                                                FunctionNotSupportedException,
+                                                                                                UserNotAuthorizedException
+    {
+        final String methodName         = "findEntityPageByProperty";
+        final String tokenParameterName = "continuationToken";
+
+        OMRSSearchCursor                        cursor    = OMRSSearchCursor.getCursor(continuationToken,
+                                                                                       tokenParameterName,
+                                                                                       methodName,
+                                                                                       repositoryName);
+        OMRSSearchCursorCollector<EntityDetail> collector = new OMRSSearchCursorCollector<>(cursor, pageSize);
+        List<EntityDetail>                      entities;
+
+        do
+        {
+            entities = this.findEntitiesByProperty(userId,
+                                                   entityTypeGUID,
+                                                   matchProperties,
+                                                   matchCriteria,
+                                                   collector.getNextElement(),
+                                                   limitResultsByStatus,
+                                                   limitResultsByClassification,
+                                                   asOfTime,
+                                                   null,
+                                                   SequencingOrder.LAST_UPDATE_OLDEST,
+                                                   scanPageSize);
+        }
+        while (collector.addInstances(entities, scanPageSize));
+
+        return new EntityDetailPage(collector.getPage(), collector.getContinuationToken());
+    }
+
+
     /**
      * Return a list of entities that have the requested type of classifications attached.
      *
@@ -1090,6 +1324,88 @@ public abstract class OMRSMetadataCollection
                                                                                                           UserNotAuthorizedException;
 
 
+    /**
+     * Return a page of the entities whose string based property values match the search criteria.  This is the
+     * cursor based form of findEntitiesByPropertyValue.  The entities are returned in the order of their last
+     * update (oldest first) and then their guid, and each page carries a continuation token that is passed on
+     * the request for the next page.
+     * <p>
+     * This default implementation scans the results of findEntitiesByPropertyValue in the same way as
+     * findEntityPageByProperty, and repositories that can keep results between requests should override it.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityTypeGUID GUID of the type of entity to search for. Null means all types will
+     *                       be searched (could be slow so not recommended).
+     * @param searchCriteria String Java regular expression used to match against any of the String property values
+     *                       within the entities of the supplied type, even if it should be an exact match.
+     *                       (Retrieve all entities of the supplied type if this is either null or an empty string.)
+     * @param continuationToken token returned with the previous page.  Null means start from the first entity.
+     * @param limitResultsByStatus By default, entities in all statuses are returned.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                             status values.
+     * @param limitResultsByClassification List of classifications that must be present on all returned entities.
+     * @param asOfTime Requests a historical query of the entity.  Null means return the present values.
+     * @param pageSize the maximum number of result entities that can be returned on this request.  Zero means
+     *                 unrestricted return results size.
+     * @return a page of entities and the continuation token for the next page.  The continuation token is null
+     * when there are no more entities.
+     * @throws InvalidParameterException a parameter, or the continuation token, is invalid.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws PropertyErrorException the sequencing property specified is not valid for any of the requested types of
+     *                                  entity.
+     * @throws PagingErrorException the paging parameters are set up incorrectly.
+     * @throws FunctionNotSupportedException the repository does not support one of the provided parameters.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     * @see OMRSRepositoryHelper#getExactMatchRegex(String)
+     * @see OMRSRepositoryHelper#getContainsRegex(String)
+     */
+    public EntityDetailPage findEntityPageByPropertyValue(String                userId,
+                                                          String                entityTypeGUID,
+                                                          String                searchCriteria,
+                                                          String                continuationToken,
+                                                          List<InstanceStatus>  limitResultsByStatus,
+                                                          List<String>          limitResultsByClassification,
+                                                          Date                  asOfTime,
+                                                          int                   pageSize) throws InvalidParameterException,
+                                                                                                 TypeErrorException,
+                                                                                                 RepositoryErrorException,
+                                                                                                 PropertyErrorException,
+                                                                                                 PagingErrorException,
+                                                                                                 FunctionNotSupportedException,
+                                                                                                 UserNotAuthorizedException
+    {
+        final String methodName         = "findEntityPageByPropertyValue";
+        final String tokenParameterName = "continuationToken";
+
+        OMRSSearchCursor                        cursor    = OMRSSearchCursor.getCursor(continuationToken,
+                                                                                       tokenParameterName,
+                                                                                       methodName,
+                                                                                       repositoryName);
+        OMRSSearchCursorCollector<EntityDetail> collector = new OMRSSearchCursorCollector<>(cursor, pageSize);
+        List<EntityDetail>                      entities;
+
+        do
+        {
+            entities = this.findEntitiesByPropertyValue(userId,
+                                                        entityTypeGUID,
+                                                        searchCriteria,
+                                                        collector.getNextElement(),
+                                                        limitResultsByStatus,
+                                                        limitResultsByClassification,
+                                                        asOfTime,
+                                                        null,
+                                                        SequencingOrder.LAST_UPDATE_OLDEST,
+                                                        scanPageSize);
+        }
+        while (collector.addInstances(entities, scanPageSize));
+
+        return new EntityDetailPage(collector.getPage(), collector.getContinuationToken());
+    }
+
+
     /**
      * Returns a boolean indicating if the relationship is stored in the metadata collection.
      *
@@ -1204,6 +1520,86 @@ public abstract class OMRSMetadataCollection
                                                                                                                UserNotAuthorizedException;
 
 
+    /**
+     * Return a page of the relationships that match the requested properties by the matching criteria.  This
+     * is the cursor based form of findRelationshipsByProperty.  The relationships are returned in the order of
+     * their last update (oldest first) and then their guid, and each page carries a continuation token that is
+     * passed on the request for the next page.
+     * <p>
+     * This default implementation scans the results of findRelationshipsByProperty in the same way as
+     * findEntityPageByProperty, and repositories that can keep results between requests should override it.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param relationshipTypeGUID unique identifier (guid) for the relationship's type.  Null means all types
+     *                             (but may be slow so not recommended).
+     * @param matchProperties Optional list of relationship properties to match (where any String property's value should
+     *                        be defined as a Java regular expression, even if it should be an exact match).
+     * @param matchCriteria Enum defining how the properties should be matched to the relationships in the repository.
+     * @param continuationToken token returned with the previous page.  Null means start from the first relationship.
+     * @param limitResultsByStatus By default, relationships in all statuses are returned.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                             status values.
+     * @param asOfTime Requests a historical query of the relationships.  Null means return the present values.
+     * @param pageSize the maximum number of result relationships that can be returned on this request.  Zero means
+     *                 unrestricted return results size.
+     * @return a page of relationships and the continuation token for the next page.  The continuation token is
+     * null when there are no more relationships.
+     * @throws InvalidParameterException a parameter, or the continuation token, is invalid.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  relationships.
+     * @throws PagingErrorException the paging parameters are set up incorrectly.
+     * @throws FunctionNotSupportedException the repository does not support one of the provided parameters.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     * @see OMRSRepositoryHelper#getExactMatchRegex(String)
+     */
+    public RelationshipPage findRelationshipPageByProperty(String                    userId,
+                                                           String                    relationshipTypeGUID,
+                                                           InstanceProperties        matchProperties,
+                                                           MatchCriteria             matchCriteria,
+                                                           String                    continuationToken,
+                                                           List<InstanceStatus>      limitResultsByStatus,
+                                                           Date                      asOfTime,
+                                                           int                       pageSize) throws InvalidParameterException,
+                                                                                                      TypeErrorException,
+                                                                                                      RepositoryErrorException,
+                                                                                                      PropertyErrorException,
+                                                                                                      PagingErrorException,
+                                                                                                      FunctionNotSupportedException,
+                                                                                                      UserNotAuthorizedException
+    {
+        final String methodName         = "findRelationshipPageByProperty";
+        final String tokenParameterName = "continuationToken";
+
+        OMRSSearchCursor                        cursor    = OMRSSearchCursor.getCursor(continuationToken,
+                                                                                       tokenParameterName,
+                                                                                       methodName,
+                                                                                       repositoryName);
+        OMRSSearchCursorCollector<Relationship> collector = new OMRSSearchCursorCollector<>(cursor, pageSize);
+        List<Relationship>                      relationships;
+
+        do
+        {
+            relationships = this.findRelationshipsByProperty(userId,
+                                                             relationshipTypeGUID,
+                                                             matchProperties,
+                                                             matchCriteria,
+                                                             collector.getNextElement(),
+                                                             limitResultsByStatus,
+                                                             asOfTime,
+                                                             null,
+                                                             SequencingOrder.LAST_UPDATE_OLDEST,
+                                                             scanPageSize);
+        }
+        while (collector.addInstances(relationships, scanPageSize));
+
+        return new RelationshipPage(collector.getPage(), collector.getContinuationToken());
+    }
+
+
     /**
      * Return a list of relationships whose string based property values match the search criteria.  The
      * search criteria may include regex style wild cards.
@@ -1386,6 +1782,219 @@ public abstract class OMRSMetadataCollection
                                                                                                      UserNotAuthorizedException;
 
 
+    /**
+     * Return the number of relationships for a specific entity.  This is equivalent to retrieving all of the
+     * pages of results from getRelationshipsForEntity and counting them.  The default implementation does
+     * exactly that, so repositories that can count their instances without retrieving them should override it.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityGUID String unique identifier for the entity.
+     * @param relationshipTypeGUID String GUID of the the type of relationship required (null for all).
+     * @param limitResultsByStatus By default, relationships in all statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the count to.  Null means all
+     *                             status values.
+     * @param asOfTime Requests a historical count of the relationships for the entity.  Null means count the
+     *                 present values.
+     * @return count of matching relationships
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     * @throws EntityNotKnownException the requested entity instance is not known in the metadata collection.
+     * @throws PropertyErrorException there is a problem with one of the other parameters.
+     * @throws PagingErrorException there is a problem retrieving the relationships to count.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public int countRelationshipsForEntity(String                     userId,
+                                           String                     entityGUID,
+                                           String                     relationshipTypeGUID,
+                                           List<InstanceStatus>       limitResultsByStatus,
+                                           Date                       asOfTime) throws InvalidParameterException,
+                                                                                       TypeErrorException,
+                                                                                       RepositoryErrorException,
+                                                                                       EntityNotKnownException,
+                                                                                       PropertyErrorException,
+                                                                                       PagingErrorException,
+                                                                                       FunctionNotSupportedException,
+                                                                                       UserNotAuthorizedException
+    {
+        int                count            = 0;
+        int                fromElement      = 0;
+        List<Relationship> relationships;
+
+        do
+        {
+            relationships = this.getRelationshipsForEntity(userId,
+                                                           entityGUID,
+                                                           relationshipTypeGUID,
+                                                           fromElement,
+                                                           limitResultsByStatus,
+                                                           asOfTime,
+                                                           null,
+                                                           null,
+                                                           scanPageSize);
+
+            if (relationships != null)
+            {
+                count = count + relationships.size();
+                fromElement = fromElement + scanPageSize;
+            }
+        }
+        while ((relationships != null) && (relationships.size() == scanPageSize));
+
+        return count;
+    }
+
+
+    /**
+     * Return the number of entities that match the supplied properties according to the match criteria.
+     * This is equivalent to retrieving all of the pages of results from findEntitiesByProperty and counting them.
+     * The default implementation does exactly that, so repositories that can count their instances without
+     * retrieving them should override it.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityTypeGUID String unique identifier for the entity type of interest (null means any entity type).
+     * @param matchProperties Optional list of entity properties to match (where any String property's value should
+     *                        be defined as a Java regular expression, even if it should be an exact match).
+     * @param matchCriteria Enum defining how the properties should be matched to the entities in the repository.
+     * @param limitResultsByStatus By default, entities in all statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the count to.  Null means all
+     *                             status values.
+     * @param limitResultsByClassification List of classifications that must be present on all counted entities.
+     * @param asOfTime Requests a historical count of the entities.  Null means count the present values.
+     * @return count of matching entities
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  entity.
+     * @throws PagingErrorException there is a problem retrieving the entities to count.
+     * @throws FunctionNotSupportedException the repository does not support one of the provided parameters.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     * @see OMRSRepositoryHelper#getExactMatchRegex(String)
+     */
+    public int countEntitiesByProperty(String                    userId,
+                                       String                    entityTypeGUID,
+                                       InstanceProperties        matchProperties,
+                                       MatchCriteria             matchCriteria,
+                                       List<InstanceStatus>      limitResultsByStatus,
+                                       List<String>              limitResultsByClassification,
+                                       Date                      asOfTime) throws InvalidParameterException,
+                                                                                  RepositoryErrorException,
+                                                                                  TypeErrorException,
+                                                                                  PropertyErrorException,
+                                                                                  PagingErrorException,
+                                                                                  FunctionNotSupportedException,
+                                                                                  UserNotAuthorizedException
+    {
+        int                count       = 0;
+        int                fromElement = 0;
+        List<EntityDetail> entities;
+
+        do
+        {
+            entities = this.findEntitiesByProperty(userId,
+                                                   entityTypeGUID,
+                                                   matchProperties,
+                                                   matchCriteria,
+                                                   fromElement,
+                                                   limitResultsByStatus,
+                                                   limitResultsByClassification,
+                                                   asOfTime,
+                                                   null,
+                                                   null,
+                                                   scanPageSize);
+
+            if (entities != null)
+            {
+                count = count + entities.size();
+                fromElement = fromElement + scanPageSize;
+            }
+        }
+        while ((entities != null) && (entities.size() == scanPageSize));
+
+        return count;
+    }
+
+
+    /**
+     * Return the number of entities that have the requested type of classification attached.
+     * This is equivalent to retrieving all of the pages of results from findEntitiesByClassification and counting
+     * them.  The default implementation does exactly that, so repositories that can count their instances without
+     * retrieving them should override it.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityTypeGUID unique identifier for the type of entity requested.  Null means any type of entity
+     *                       (but could be slow so not recommended.
+     * @param classificationName name of the classification, note a null is not valid.
+     * @param matchClassificationProperties list of classification properties used to narrow the search (where any String
+     *                                      property's value should be defined as a Java regular expression, even if it
+     *                                      should be an exact match).
+     * @param matchCriteria Enum defining how the properties should be matched to the classifications in the repository.
+     * @param limitResultsByStatus By default, entities in all statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the count to.  Null means all
+     *                             status values.
+     * @param asOfTime Requests a historical count of the entities.  Null means count the present values.
+     * @return count of matching entities
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws ClassificationErrorException the classification request is not known to the metadata collection.
+     * @throws PropertyErrorException the properties specified are not valid for the requested type of
+     *                                  classification.
+     * @throws PagingErrorException there is a problem retrieving the entities to count.
+     * @throws FunctionNotSupportedException the repository does not support one of the provided parameters.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     * @see OMRSRepositoryHelper#getExactMatchRegex(String)
+     */
+    public int countEntitiesByClassification(String                    userId,
+                                             String                    entityTypeGUID,
+                                             String                    classificationName,
+                                             InstanceProperties        matchClassificationProperties,
+                                             MatchCriteria             matchCriteria,
+                                             List<InstanceStatus>      limitResultsByStatus,
+                                             Date                      asOfTime) throws InvalidParameterException,
+                                                                                        TypeErrorException,
+                                                                                        RepositoryErrorException,
+                                                                                        ClassificationErrorException,
+                                                                                        PropertyErrorException,
+                                                                                        PagingErrorException,
+                                                                                        FunctionNotSupportedException,
+                                                                                        UserNotAuthorizedException
+    {
+        int                count       = 0;
+        int                fromElement = 0;
+        List<EntityDetail> entities;
+
+        do
+        {
+            entities = this.findEntitiesByClassification(userId,
+                                                         entityTypeGUID,
+                                                         classificationName,
+                                                         matchClassificationProperties,
+                                                         matchCriteria,
+                                                         fromElement,
+                                                         limitResultsByStatus,
+                                                         asOfTime,
+                                                         null,
+                                                         null,
+                                                         scanPageSize);
+
+            if (entities != null)
+            {
+                count = count + entities.size();
+                fromElement = fromElement + scanPageSize;
+            }
+        }
+        while ((entities != null) && (entities.size() == scanPageSize));
+
+        return count;
+    }
+
+
     /* ======================================================
      * Group 4: Maintaining entity and relationship instances
      */
@@ -0,0 +1,381 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceAuditHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+
+/**
+ * OMRSSearchCursor is the decoded form of the continuation token passed between the pages of a cursor based
+ * search.  The results of a cursor based search are returned in the order of the time of the last change to
+ * each instance (its update time, or its create time if it has never been updated) and then its guid.
+ * The cursor records the time and guid of the last instance returned so that the next page starts after it.
+ * <p>
+ * A repository that keeps the results of a search between requests (a server-side cursor) also records the
+ * identifier of its saved results and the position of the next instance in them.  If the saved results have
+ * been discarded, the repository runs the search again and skips the instances that come before the last
+ * instance returned.  A repository that does not keep results only needs the time and guid.
+ * <p>
+ * All continuation tokens are created by this class so the enterprise connector can build a token for a
+ * repository that resumes after any instance that repository has returned.
+ */
+public class OMRSSearchCursor
+{
+    /**
+     * Order of the instances returned by a cursor based search.
+     */
+    public static final Comparator<InstanceHeader> instanceOrder = new Comparator<InstanceHeader>()
+    {
+        @Override
+        public int compare(InstanceHeader instance1, InstanceHeader instance2)
+        {
+            int result = Long.compare(getSequencingTime(instance1), getSequencingTime(instance2));
+
+            if (result == 0)
+            {
+                result = compareGUIDs(instance1.getGUID(), instance2.getGUID());
+            }
+
+            return result;
+        }
+    };
+
+    private static final String tokenVersion   = "1";
+    private static final String tokenSeparator = "|";
+
+    private final String cursorId;
+    private final int    position;
+    private final long   lastTime;
+    private final String lastGUID;
+
+
+    /**
+     * Constructor for a cursor that starts at the beginning of the results.
+     */
+    public OMRSSearchCursor()
+    {
+        this(null, 0, Long.MIN_VALUE, null);
+    }
+
+
+    /**
+     * Constructor for a cursor that starts at a position in the results without skipping any instances.
+     *
+     * @param cursorId identifier of the repository's saved results; null if the results are not saved
+     * @param position position of the next instance in the results
+     */
+    public OMRSSearchCursor(String cursorId,
+                            int    position)
+    {
+        this(cursorId, position, Long.MIN_VALUE, null);
+    }
+
+
+    /**
+     * Constructor for a cursor that resumes after the supplied instance.
+     *
+     * @param cursorId identifier of the repository's saved results; null if the results are not saved
+     * @param position position of the next instance in the saved results
+     * @param lastInstance last instance returned
+     */
+    public OMRSSearchCursor(String         cursorId,
+                            int            position,
+                            InstanceHeader lastInstance)
+    {
+        this(cursorId, position, getSequencingTime(lastInstance), lastInstance.getGUID());
+    }
+
+
+    /**
+     * Constructor used when decoding a token.
+     *
+     * @param cursorId identifier of the repository's saved results; null if the results are not saved
+     * @param position position of the next instance in the saved results
+     * @param lastTime sequencing time of the last instance returned
+     * @param lastGUID guid of the last instance returned; null means no instances have been returned
+     */
+    private OMRSSearchCursor(String cursorId,
+                             int    position,
+                             long   lastTime,
+                             String lastGUID)
+    {
+        this.cursorId = cursorId;
+        this.position = position;
+        this.lastTime = lastTime;
+        this.lastGUID = lastGUID;
+    }
+
+
+    /**
+     * Return a cursor for a search that only returns the instances changed at or after the supplied time.
+     * Its continuation token can be passed with the first page of a cursor based search.
+     *
+     * @param changedSinceTime earliest time of the last change to the instances to return; null means all instances
+     * @return cursor
+     */
+    public static OMRSSearchCursor getCursorForChangesSince(Date changedSinceTime)
+    {
+        if (changedSinceTime == null)
+        {
+            return new OMRSSearchCursor();
+        }
+
+        return new OMRSSearchCursor(null, 0, changedSinceTime.getTime(), null);
+    }
+
+
+    /**
+     * Decode a continuation token.  A null token is the start of a new search.
+     *
+     * @param continuationToken token returned with the previous page
+     * @param parameterName name of the parameter that passed the token
+     * @param methodName calling method
+     * @param repositoryName name of the repository (used for error messages)
+     * @return cursor
+     * @throws InvalidParameterException the token is not one created by this class
+     */
+    public static OMRSSearchCursor getCursor(String continuationToken,
+                                             String parameterName,
+                                             String methodName,
+                                             String repositoryName) throws InvalidParameterException
+    {
+        if (continuationToken == null)
+        {
+            return new OMRSSearchCursor();
+        }
+
+        try
+        {
+            String   decodedToken = new String(Base64.getUrlDecoder().decode(continuationToken), StandardCharsets.UTF_8);
+            String[] fields       = decodedToken.split("\\" + tokenSeparator, -1);
+
+            if ((fields.length == 5) && (tokenVersion.equals(fields[0])))
+            {
+                return new OMRSSearchCursor(fields[1].isEmpty() ? null : fields[1],
+                                            Integer.parseInt(fields[2]),
+                                            Long.parseLong(fields[3]),
+                                            fields[4].isEmpty() ? null : fields[4]);
+            }
+        }
+        catch (IllegalArgumentException error)
+        {
+            /*
+             * The token is not valid base64 or its numbers can not be parsed.  The error is reported below.
+             */
+        }
+
+        OMRSErrorCode errorCode    = OMRSErrorCode.INVALID_CONTINUATION_TOKEN;
+        String        errorMessage = errorCode.getErrorMessageId()
+                                   + errorCode.getFormattedErrorMessage(continuationToken,
+                                                                        parameterName,
+                                                                        methodName,
+                                                                        repositoryName);
+
+        throw new InvalidParameterException(errorCode.getHTTPErrorCode(),
+                                            OMRSSearchCursor.class.getName(),
+                                            methodName,
+                                            errorMessage,
+                                            errorCode.getSystemAction(),
+                                            errorCode.getUserAction());
+    }
+
+
+    /**
+     * Encode this cursor as a continuation token.
+     *
+     * @return opaque token
+     */
+    public String getContinuationToken()
+    {
+        String decodedToken = tokenVersion + tokenSeparator
+                            + (cursorId == null ? "" : cursorId) + tokenSeparator
+                            + position + tokenSeparator
+                            + lastTime + tokenSeparator
+                            + (lastGUID == null ? "" : lastGUID);
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(decodedToken.getBytes(StandardCharsets.UTF_8));
+    }
+
+
+    /**
+     * Return the identifier of the repository's saved results.  Null means the results are not saved.
+     *
+     * @return cursor identifier
+     */
+    public String getCursorId()
+    {
+        return cursorId;
+    }
+
+
+    /**
+     * Return the position of the next instance in the repository's saved results.
+     *
+     * @return index
+     */
+    public int getPosition()
+    {
+        return position;
+    }
+
+
+    /**
+     * Return whether the instance comes after the last instance returned, and so has not been returned yet.
+     *
+     * @param instance instance from the search
+     * @return boolean flag
+     */
+    public boolean isBefore(InstanceHeader instance)
+    {
+        long instanceTime = getSequencingTime(instance);
+
+        if (instanceTime != lastTime)
+        {
+            return instanceTime > lastTime;
+        }
+
+        /*
+         * A null guid sorts first so a cursor that has not returned any instances includes all of the instances
+         * with its time.
+         */
+        return compareGUIDs(instance.getGUID(), lastGUID) > 0;
+    }
+
+
+    /**
+     * Return whether the last change to the instance is strictly earlier than the last change to the last
+     * instance returned.  When the results are in instance order, all of the instances that come before it
+     * have already been returned.
+     *
+     * @param instance instance from the search
+     * @return boolean flag
+     */
+    public boolean isEarlier(InstanceHeader instance)
+    {
+        return getSequencingTime(instance) < lastTime;
+    }
+
+
+    /**
+     * Fill a page from a list of results sorted in the cursor's order.  The page starts at the cursor's
+     * position.  Instances that the cursor has already passed are skipped in case the results have changed.
+     *
+     * @param sortedResults results of the search in instance order
+     * @param pageSize maximum number of instances to return; zero means no limit
+     * @param page list to add the instances of the page to
+     * @param <T> type of instance
+     * @return cursor for the following page, or null if there are no more results
+     */
+    public <T extends InstanceHeader> OMRSSearchCursor fillNextPage(List<T> sortedResults,
+                                                                    int     pageSize,
+                                                                    List<T> page)
+    {
+        int index = Math.max(0, position);
+
+        while ((index < sortedResults.size()) && ((pageSize == 0) || (page.size() < pageSize)))
+        {
+            T instance = sortedResults.get(index);
+
+            if (this.isBefore(instance))
+            {
+                page.add(instance);
+            }
+
+            index++;
+        }
+
+        if ((index >= sortedResults.size()) || (page.isEmpty()))
+        {
+            return null;
+        }
+
+        return new OMRSSearchCursor(cursorId, index, page.get(page.size() - 1));
+    }
+
+
+    /**
+     * Return a cursor with the same position in the results as this cursor but for a different set of saved
+     * results.
+     *
+     * @param newCursorId identifier of the repository's saved results
+     * @return cursor
+     */
+    public OMRSSearchCursor getCursorForResults(String newCursorId)
+    {
+        return new OMRSSearchCursor(newCursorId, 0, lastTime, lastGUID);
+    }
+
+
+    /**
+     * Return the time used to order an instance.  This is the time of its last update, or the time it was
+     * created if it has not been updated.
+     *
+     * @param instance instance
+     * @return milliseconds
+     */
+    public static long getSequencingTime(InstanceAuditHeader instance)
+    {
+        Date sequencingTime = instance.getUpdateTime();
+
+        if (sequencingTime == null)
+        {
+            sequencingTime = instance.getCreateTime();
+        }
+
+        if (sequencingTime == null)
+        {
+            return 0;
+        }
+
+        return sequencingTime.getTime();
+    }
+
+
+    /**
+     * Compare two guids allowing for nulls, which sort first.
+     *
+     * @param guid1 first guid
+     * @param guid2 second guid
+     * @return comparison result
+     */
+    private static int compareGUIDs(String guid1, String guid2)
+    {
+        if (guid1 == null)
+        {
+            return (guid2 == null) ? 0 : -1;
+        }
+
+        if (guid2 == null)
+        {
+            return 1;
+        }
+
+        return guid1.compareTo(guid2);
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return JSON style description of variables.
+     */
+    @Override
+    public String toString()
+    {
+        return "OMRSSearchCursor{" +
+                "cursorId='" + cursorId + '\'' +
+                ", position=" + position +
+                ", lastTime=" + lastTime +
+                ", lastGUID='" + lastGUID + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,263 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+
+/**
+ * OMRSSearchCursorCollector builds the next page of a cursor based search from the results of a repository
+ * that does not keep search results between requests.  The results are requested in chunks, sorted by the
+ * time of their last update, and the collector keeps the first page of instances after the cursor, in instance
+ * order.  Only one more instance than the page size is held, so the results of a large search can be
+ * scanned without holding them all.
+ * <p>
+ * While the chunks arrive in time order, the scan stops as soon as the page is full and an instance arrives
+ * that was changed later than all of the kept instances, because none of the instances that follow can be
+ * on the page.  The continuation token records the start of the chunk that held the last instance of the
+ * page.  The scan for the next page starts there, stepping back a chunk at a time until the chunk begins
+ * with an instance that was changed before the last instance returned.  If the repository does not return
+ * its results in time order, the collector falls back to scanning all of the results from the start.
+ *
+ * @param <T> type of instance returned by the search
+ */
+public class OMRSSearchCursorCollector<T extends InstanceHeader>
+{
+    private final OMRSSearchCursor cursor;
+    private final int              pageSize;
+    private final PriorityQueue<T> latestInstances;
+    private final Map<T, Integer>  instanceElements;
+    private final List<T>          allInstances;
+
+    private int     startElement;
+    private int     nextElement;
+    private long    lastSequencingTime = Long.MIN_VALUE;
+    private boolean inTimeOrder        = true;
+
+
+    /**
+     * Constructor
+     *
+     * @param cursor cursor from the continuation token
+     * @param pageSize maximum number of instances in the page; zero means no limit
+     */
+    public OMRSSearchCursorCollector(OMRSSearchCursor cursor,
+                                     int              pageSize)
+    {
+        this.cursor = cursor;
+        this.pageSize = pageSize;
+
+        if (pageSize > 0)
+        {
+            this.latestInstances = new PriorityQueue<>(pageSize + 1, Collections.reverseOrder(OMRSSearchCursor.instanceOrder));
+            this.instanceElements = new IdentityHashMap<>();
+            this.allInstances = null;
+        }
+        else
+        {
+            this.latestInstances = null;
+            this.instanceElements = null;
+            this.allInstances = new ArrayList<>();
+        }
+
+        if ((pageSize > 0) && (cursor.getCursorId() == null))
+        {
+            this.startElement = Math.max(0, cursor.getPosition());
+        }
+        else
+        {
+            this.startElement = 0;
+        }
+
+        this.nextElement = startElement;
+    }
+
+
+    /**
+     * Return the element number of the first instance of the next chunk to request.
+     *
+     * @return element number
+     */
+    public int getNextElement()
+    {
+        return nextElement;
+    }
+
+
+    /**
+     * Add the chunk of the repository's results that starts at getNextElement.
+     *
+     * @param instances results from the repository; may be null
+     * @param chunkSize number of instances requested
+     * @return boolean true means the next chunk should be requested from getNextElement
+     */
+    public boolean addInstances(List<T> instances,
+                                int     chunkSize)
+    {
+        int chunkElement = nextElement;
+
+        nextElement = nextElement + chunkSize;
+
+        if ((chunkElement > 0) && (chunkElement == startElement))
+        {
+            /*
+             * The scan started part way through the results.  This is only safe if the instances before this
+             * point have all been returned, so the scan steps back a chunk at a time until it finds an instance
+             * that is earlier than the cursor.
+             */
+            if ((instances == null) || (instances.isEmpty()) || (instances.get(0) == null))
+            {
+                return this.restartScan();
+            }
+
+            if (! cursor.isEarlier(instances.get(0)))
+            {
+                startElement = Math.max(0, startElement - chunkSize);
+                nextElement = startElement;
+
+                return true;
+            }
+        }
+
+        if (instances == null)
+        {
+            return false;
+        }
+
+        for (T instance : instances)
+        {
+            if (instance != null)
+            {
+                long sequencingTime = OMRSSearchCursor.getSequencingTime(instance);
+
+                if (sequencingTime < lastSequencingTime)
+                {
+                    inTimeOrder = false;
+
+                    if (startElement > 0)
+                    {
+                        return this.restartScan();
+                    }
+                }
+
+                lastSequencingTime = sequencingTime;
+
+                if (cursor.isBefore(instance))
+                {
+                    if (allInstances != null)
+                    {
+                        allInstances.add(instance);
+                    }
+                    else
+                    {
+                        if ((inTimeOrder) &&
+                            (latestInstances.size() > pageSize) &&
+                            (sequencingTime > OMRSSearchCursor.getSequencingTime(latestInstances.peek())))
+                        {
+                            /*
+                             * The page is full and the rest of the results were changed later than all of the
+                             * kept instances.
+                             */
+                            return false;
+                        }
+
+                        latestInstances.add(instance);
+                        instanceElements.put(instance, chunkElement);
+
+                        /*
+                         * One more than the page size is kept to show whether there is another page.
+                         */
+                        if (latestInstances.size() > pageSize + 1)
+                        {
+                            instanceElements.remove(latestInstances.poll());
+                        }
+                    }
+                }
+            }
+        }
+
+        return (instances.size() == chunkSize);
+    }
+
+
+    /**
+     * Return the page of instances in instance order.
+     *
+     * @return list of instances; empty if there are no more
+     */
+    public List<T> getPage()
+    {
+        List<T> page;
+
+        if (allInstances != null)
+        {
+            page = new ArrayList<>(allInstances);
+        }
+        else
+        {
+            page = new ArrayList<>(latestInstances);
+        }
+
+        page.sort(OMRSSearchCursor.instanceOrder);
+
+        if ((pageSize > 0) && (page.size() > pageSize))
+        {
+            page = new ArrayList<>(page.subList(0, pageSize));
+        }
+
+        return page;
+    }
+
+
+    /**
+     * Return the continuation token for the page after the one returned by getPage.
+     *
+     * @return continuation token; null if there are no more results
+     */
+    public String getContinuationToken()
+    {
+        if ((latestInstances == null) || (latestInstances.size() <= pageSize))
+        {
+            return null;
+        }
+
+        List<T> page         = this.getPage();
+        T       lastInstance = page.get(page.size() - 1);
+
+        return new OMRSSearchCursor(null, instanceElements.get(lastInstance), lastInstance).getContinuationToken();
+    }
+
+
+    /**
+     * Discard the instances collected so far and scan the results again from the start.  Stopping early is
+     * still allowed if the results turn out to be in time order.
+     *
+     * @return true to request the first chunk
+     */
+    private boolean restartScan()
+    {
+        if (allInstances != null)
+        {
+            allInstances.clear();
+        }
+        else
+        {
+            latestInstances.clear();
+            instanceElements.clear();
+        }
+
+        startElement = 0;
+        nextElement = 0;
+        lastSequencingTime = Long.MIN_VALUE;
+        inTimeOrder = true;
+
+        return true;
+    }
+}
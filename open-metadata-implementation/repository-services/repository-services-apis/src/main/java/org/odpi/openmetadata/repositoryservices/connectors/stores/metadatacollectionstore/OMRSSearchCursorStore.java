@@ -0,0 +1,234 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+
+/**
+ * OMRSSearchCursorStore keeps the results of cursor based searches between the requests for their pages.
+ * This is the server-side cursor used by repositories that run a search as a single query.  The first
+ * request runs the query and saves its results, and the following requests return the next page of the saved
+ * results without running the query again.
+ * <p>
+ * The number of saved results is limited and results that have not been used recently are discarded.  When a
+ * request arrives for discarded results, the repository runs the query again and the cursor skips the
+ * instances it has already returned, so the caller does not see the difference.
+ * <p>
+ * Each saved result records a hash of the query that created it, including the requesting user.  A token
+ * that is passed with a different query, or by a different user, is rejected rather than returning the
+ * results of another search.
+ *
+ * @param <T> type of instance returned by the search
+ */
+public class OMRSSearchCursorStore<T extends InstanceHeader>
+{
+    private static final int  defaultMaxCursors  = 100;
+    private static final long defaultIdleTimeout = 5 * 60 * 1000;
+
+    private final int                        maxCursors;
+    private final long                       idleTimeout;
+    private final Map<String, SavedResults>  cursors = new LinkedHashMap<>(16, 0.75f, true);
+
+
+    /**
+     * Constructor using the default limits.
+     */
+    public OMRSSearchCursorStore()
+    {
+        this(defaultMaxCursors, defaultIdleTimeout);
+    }
+
+
+    /**
+     * Constructor.
+     *
+     * @param maxCursors maximum number of saved results
+     * @param idleTimeout number of milliseconds after which unused results are discarded
+     */
+    public OMRSSearchCursorStore(int  maxCursors,
+                                 long idleTimeout)
+    {
+        this.maxCursors = maxCursors;
+        this.idleTimeout = idleTimeout;
+    }
+
+
+    /**
+     * Return the hash of a query that identifies the saved results it may use.  The parameters are the
+     * name of the search method and its query parameters, not including the continuation token and page size.
+     *
+     * @param userId unique identifier for requesting user
+     * @param queryParameters method name and query parameters of the search
+     * @return hash code
+     */
+    public static int getQueryHash(String    userId,
+                                   Object... queryParameters)
+    {
+        return 31 * Arrays.hashCode(queryParameters) + (userId == null ? 0 : userId.hashCode());
+    }
+
+
+    /**
+     * Return the saved results for a cursor.  Null means the search must be run again, either because this
+     * is the first page or because the results have been discarded.
+     *
+     * @param cursor cursor from the continuation token
+     * @param queryHash hash of the query from getQueryHash
+     * @param parameterName name of the parameter that passed the token
+     * @param methodName calling method
+     * @param repositoryName name of the repository (used for error messages)
+     * @return results in instance order, or null
+     * @throws InvalidParameterException the token was returned by a different query or to a different user
+     */
+    public synchronized List<T> getResults(OMRSSearchCursor cursor,
+                                           int              queryHash,
+                                           String           parameterName,
+                                           String           methodName,
+                                           String           repositoryName) throws InvalidParameterException
+    {
+        long currentTime = System.currentTimeMillis();
+
+        this.removeIdleCursors(currentTime);
+
+        if (cursor.getCursorId() == null)
+        {
+            return null;
+        }
+
+        SavedResults savedResults = cursors.get(cursor.getCursorId());
+
+        if (savedResults == null)
+        {
+            return null;
+        }
+
+        if (savedResults.queryHash != queryHash)
+        {
+            OMRSErrorCode errorCode    = OMRSErrorCode.INVALID_CONTINUATION_TOKEN;
+            String        errorMessage = errorCode.getErrorMessageId()
+                                       + errorCode.getFormattedErrorMessage(cursor.getContinuationToken(),
+                                                                            parameterName,
+                                                                            methodName,
+                                                                            repositoryName);
+
+            throw new InvalidParameterException(errorCode.getHTTPErrorCode(),
+                                                this.getClass().getName(),
+                                                methodName,
+                                                errorMessage,
+                                                errorCode.getSystemAction(),
+                                                errorCode.getUserAction());
+        }
+
+        savedResults.lastUsedTime = currentTime;
+
+        return savedResults.results;
+    }
+
+
+    /**
+     * Save the results of a search.  The results are sorted into instance order.
+     *
+     * @param cursor cursor from the continuation token
+     * @param queryHash hash of the query from getQueryHash
+     * @param results results of the search
+     * @return cursor for the saved results
+     */
+    public synchronized OMRSSearchCursor saveResults(OMRSSearchCursor cursor,
+                                                     int              queryHash,
+                                                     List<T>          results)
+    {
+        results.sort(OMRSSearchCursor.instanceOrder);
+
+        String cursorId = UUID.randomUUID().toString();
+
+        cursors.put(cursorId, new SavedResults(new ArrayList<>(results), queryHash, System.currentTimeMillis()));
+
+        Iterator<String> oldestCursors = cursors.keySet().iterator();
+
+        while ((cursors.size() > maxCursors) && (oldestCursors.hasNext()))
+        {
+            oldestCursors.next();
+            oldestCursors.remove();
+        }
+
+        return cursor.getCursorForResults(cursorId);
+    }
+
+
+    /**
+     * Return the continuation token for the page after the one just returned.  The saved results are
+     * discarded when there are no more pages.
+     *
+     * @param cursor cursor used to fill the page
+     * @param followingCursor cursor for the following page; null if there are no more results
+     * @return continuation token or null
+     */
+    public synchronized String getContinuationToken(OMRSSearchCursor cursor,
+                                                    OMRSSearchCursor followingCursor)
+    {
+        if (followingCursor == null)
+        {
+            if (cursor.getCursorId() != null)
+            {
+                cursors.remove(cursor.getCursorId());
+            }
+
+            return null;
+        }
+
+        return followingCursor.getContinuationToken();
+    }
+
+
+    /**
+     * Discard the results that have not been used within the idle timeout.  The map is in order of last use
+     * so the scan stops at the first recently used results.
+     *
+     * @param currentTime time now
+     */
+    private void removeIdleCursors(long currentTime)
+    {
+        Iterator<SavedResults> savedResultsIterator = cursors.values().iterator();
+
+        while (savedResultsIterator.hasNext())
+        {
+            if (currentTime - savedResultsIterator.next().lastUsedTime > idleTimeout)
+            {
+                savedResultsIterator.remove();
+            }
+            else
+            {
+                break;
+            }
+        }
+    }
+
+
+    /**
+     * The results of one search.
+     */
+    private class SavedResults
+    {
+        private final List<T> results;
+        private final int     queryHash;
+        private long          lastUsedTime;
+
+        SavedResults(List<T> results, int queryHash, long lastUsedTime)
+        {
+            this.results = results;
+            this.queryHash = queryHash;
+            this.lastUsedTime = lastUsedTime;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
+
+/**
+ * EntityDetailPage is one page of entities returned by a cursor based search.  The entities are in the order of their
+ * last update time (oldest first) and then their guid.  The continuation token is passed on the next request
+ * to retrieve the following page.  It is null when there are no more results.
+ */
+@JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown=true)
+public class EntityDetailPage extends InstanceElementHeader
+{
+    private static final long serialVersionUID = 1L;
+
+    private List<EntityDetail> entities          = null;
+    private String             continuationToken = null;
+
+
+    /**
+     * Default constructor
+     */
+    public EntityDetailPage()
+    {
+        super();
+    }
+
+
+    /**
+     * Typical constructor.
+     *
+     * @param entities entities in this page
+     * @param continuationToken token for retrieving the next page; null means this is the last page
+     */
+    public EntityDetailPage(List<EntityDetail> entities,
+                            String             continuationToken)
+    {
+        super();
+
+        this.setEntities(entities);
+        this.continuationToken = continuationToken;
+    }
+
+
+    /**
+     * Copy/clone constructor.
+     *
+     * @param template page to copy
+     */
+    public EntityDetailPage(EntityDetailPage template)
+    {
+        super(template);
+
+        if (template != null)
+        {
+            this.setEntities(template.getEntities());
+            this.continuationToken = template.getContinuationToken();
+        }
+    }
+
+
+    /**
+     * Return the entities in this page.  Null means no entities were found.
+     *
+     * @return list of entities
+     */
+    public List<EntityDetail> getEntities()
+    {
+        if ((entities == null) || (entities.isEmpty()))
+        {
+            return null;
+        }
+        else
+        {
+            return new ArrayList<>(entities);
+        }
+    }
+
+
+    /**
+     * Set up the entities in this page.
+     *
+     * @param entities list of entities
+     */
+    public void setEntities(List<EntityDetail> entities)
+    {
+        if (entities == null)
+        {
+            this.entities = null;
+        }
+        else
+        {
+            this.entities = new ArrayList<>(entities);
+        }
+    }
+
+
+    /**
+     * Return the token for retrieving the next page.  Null means there are no more results.
+     *
+     * @return opaque token
+     */
+    public String getContinuationToken()
+    {
+        return continuationToken;
+    }
+
+
+    /**
+     * Set up the token for retrieving the next page.
+     *
+     * @param continuationToken opaque token
+     */
+    public void setContinuationToken(String continuationToken)
+    {
+        this.continuationToken = continuationToken;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return JSON style description of variables.
+     */
+    @Override
+    public String toString()
+    {
+        return "EntityDetailPage{" +
+                "entities=" + entities +
+                ", continuationToken='" + continuationToken + '\'' +
+                '}';
+    }
+
+
+    /**
+     * Validate that an object is equal depending on their stored values.
+     *
+     * @param objectToCompare object
+     * @return boolean result
+     */
+    @Override
+    public boolean equals(Object objectToCompare)
+    {
+        if (this == objectToCompare)
+        {
+            return true;
+        }
+        if (!(objectToCompare instanceof EntityDetailPage))
+        {
+            return false;
+        }
+        EntityDetailPage that = (EntityDetailPage) objectToCompare;
+        return Objects.equals(entities, that.entities) &&
+                Objects.equals(continuationToken, that.continuationToken);
+    }
+
+
+    /**
+     * Return a hash code based on the values of this object.
+     *
+     * @return in hash code
+     */
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(entities, continuationToken);
+    }
+}
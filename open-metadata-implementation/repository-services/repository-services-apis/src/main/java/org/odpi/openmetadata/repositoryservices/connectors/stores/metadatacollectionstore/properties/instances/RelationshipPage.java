@@ -0,0 +1,180 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
+
+/**
+ * RelationshipPage is one page of relationships returned by a cursor based search.  The relationships are in the order of their
+ * last update time (oldest first) and then their guid.  The continuation token is passed on the next request
+ * to retrieve the following page.  It is null when there are no more results.
+ */
+@JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown=true)
+public class RelationshipPage extends InstanceElementHeader
+{
+    private static final long serialVersionUID = 1L;
+
+    private List<Relationship> relationships     = null;
+    private String             continuationToken = null;
+
+
+    /**
+     * Default constructor
+     */
+    public RelationshipPage()
+    {
+        super();
+    }
+
+
+    /**
+     * Typical constructor.
+     *
+     * @param relationships relationships in this page
+     * @param continuationToken token for retrieving the next page; null means this is the last page
+     */
+    public RelationshipPage(List<Relationship> relationships,
+                            String             continuationToken)
+    {
+        super();
+
+        this.setRelationships(relationships);
+        this.continuationToken = continuationToken;
+    }
+
+
+    /**
+     * Copy/clone constructor.
+     *
+     * @param template page to copy
+     */
+    public RelationshipPage(RelationshipPage template)
+    {
+        super(template);
+
+        if (template != null)
+        {
+            this.setRelationships(template.getRelationships());
+            this.continuationToken = template.getContinuationToken();
+        }
+    }
+
+
+    /**
+     * Return the relationships in this page.  Null means no relationships were found.
+     *
+     * @return list of relationships
+     */
+    public List<Relationship> getRelationships()
+    {
+        if ((relationships == null) || (relationships.isEmpty()))
+        {
+            return null;
+        }
+        else
+        {
+            return new ArrayList<>(relationships);
+        }
+    }
+
+
+    /**
+     * Set up the relationships in this page.
+     *
+     * @param relationships list of relationships
+     */
+    public void setRelationships(List<Relationship> relationships)
+    {
+        if (relationships == null)
+        {
+            this.relationships = null;
+        }
+        else
+        {
+            this.relationships = new ArrayList<>(relationships);
+        }
+    }
+
+
+    /**
+     * Return the token for retrieving the next page.  Null means there are no more results.
+     *
+     * @return opaque token
+     */
+    public String getContinuationToken()
+    {
+        return continuationToken;
+    }
+
+
+    /**
+     * Set up the token for retrieving the next page.
+     *
+     * @param continuationToken opaque token
+     */
+    public void setContinuationToken(String continuationToken)
+    {
+        this.continuationToken = continuationToken;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return JSON style description of variables.
+     */
+    @Override
+    public String toString()
+    {
+        return "RelationshipPage{" +
+                "relationships=" + relationships +
+                ", continuationToken='" + continuationToken + '\'' +
+                '}';
+    }
+
+
+    /**
+     * Validate that an object is equal depending on their stored values.
+     *
+     * @param objectToCompare object
+     * @return boolean result
+     */
+    @Override
+    public boolean equals(Object objectToCompare)
+    {
+        if (this == objectToCompare)
+        {
+            return true;
+        }
+        if (!(objectToCompare instanceof RelationshipPage))
+        {
+            return false;
+        }
+        RelationshipPage that = (RelationshipPage) objectToCompare;
+        return Objects.equals(relationships, that.relationships) &&
+                Objects.equals(continuationToken, that.continuationToken);
+    }
+
+
+    /**
+     * Return a hash code based on the values of this object.
+     *
+     * @return in hash code
+     */
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(relationships, continuationToken);
+    }
+}
@@ -1202,6 +1202,20 @@ public interface OMRSRepositoryValidator
                                      EntitySummary entity);
 
 
+    /**
+     * Return a boolean indicating whether the supplied entity is visible through the supplied governance zones.
+     * An entity is visible if it has no zoneMembership property (or the property is empty) or one of the
+     * zones in its zoneMembership property is in the supplied list.
+     *
+     * @param limitResultsByZone list of zones; null means that there are no zone restrictions and so results
+     *                           in a true response.
+     * @param entity entity to test.
+     * @return boolean result
+     */
+    boolean verifyEntityIsInZones(List<String> limitResultsByZone,
+                                  EntityDetail entity);
+
+
     /**
      * Count the number of matching property values that an instance has.  They may come from an entity,
      * classification or relationship.
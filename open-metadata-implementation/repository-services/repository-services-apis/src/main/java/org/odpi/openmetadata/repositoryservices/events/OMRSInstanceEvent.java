@@ -9,6 +9,9 @@ import org.odpi.openmetadata.repositoryservices.events.beans.v1.OMRSEventV1Insta
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Date;
+import java.util.List;
+
 
 public class OMRSInstanceEvent extends OMRSEvent
 {
@@ -42,6 +45,12 @@ public class OMRSInstanceEvent extends OMRSEvent
     private TypeDefSummary originalTypeDefSummary           = null;
     private String         originalInstanceGUID             = null;
 
+    /*
+     * Instance specific properties for catch up requests.
+     */
+    private Date         changedSinceTime     = null;
+    private List<String> selectedTypeDefGUIDs = null;
+
     /*
      * Specific variables only used in error reporting.  It defines the subset of error codes from OMRSEvent
      * that are specific to instance events.
@@ -80,6 +89,8 @@ public class OMRSInstanceEvent extends OMRSEvent
             this.originalTypeDefSummary = instanceSection.getOriginalTypeDefSummary();
             this.originalInstanceGUID = instanceSection.getOriginalInstanceGUID();
             this.instanceBatch = instanceSection.getInstanceBatch();
+            this.changedSinceTime = instanceSection.getChangedSinceTime();
+            this.selectedTypeDefGUIDs = instanceSection.getSelectedTypeDefGUIDs();
         }
 
         if (super.genericErrorCode != null)
@@ -245,6 +256,25 @@ public class OMRSInstanceEvent extends OMRSEvent
     }
 
 
+    /**
+     * Constructor for catch up requests.
+     *
+     * @param instanceEventType type of event
+     * @param changedSinceTime only instances changed at or after this time are requested; null means all instances
+     * @param selectedTypeDefGUIDs unique identifiers of the TypeDefs of the instances requested; null means all types
+     */
+    public OMRSInstanceEvent(OMRSInstanceEventType instanceEventType,
+                             Date                  changedSinceTime,
+                             List<String>          selectedTypeDefGUIDs)
+    {
+        super(OMRSEventCategory.INSTANCE);
+
+        this.instanceEventType = instanceEventType;
+        this.changedSinceTime = changedSinceTime;
+        this.selectedTypeDefGUIDs = selectedTypeDefGUIDs;
+    }
+
+
     /**
      * Constructor for instance conflict events.
      *
@@ -504,6 +534,29 @@ public class OMRSInstanceEvent extends OMRSEvent
     }
 
 
+    /**
+     * Return the time that a catch up request wants the changes since.  Null means all instances are requested.
+     *
+     * @return date
+     */
+    public Date getChangedSinceTime()
+    {
+        return changedSinceTime;
+    }
+
+
+    /**
+     * Return the unique identifiers of the TypeDefs of the instances requested by a catch up request.
+     * Null means instances of all types are requested.
+     *
+     * @return list of unique identifiers (guids)
+     */
+    public List<String> getSelectedTypeDefGUIDs()
+    {
+        return selectedTypeDefGUIDs;
+    }
+
+
     /**
      * Return the error code for this instance event.  If there is no error it is set to NOT_IN_USE.
      *
@@ -541,6 +594,8 @@ public class OMRSInstanceEvent extends OMRSEvent
         instanceSection.setOriginalHomeMetadataCollectionId(this.originalHomeMetadataCollectionId);
         instanceSection.setOriginalTypeDefSummary(this.originalTypeDefSummary);
         instanceSection.setOriginalInstanceGUID(this.originalInstanceGUID);
+        instanceSection.setChangedSinceTime(this.changedSinceTime);
+        instanceSection.setSelectedTypeDefGUIDs(this.selectedTypeDefGUIDs);
 
         omrsEvent.setInstanceEventSection(instanceSection);
 
@@ -570,6 +625,8 @@ public class OMRSInstanceEvent extends OMRSEvent
                 ", originalHomeMetadataCollectionId='" + originalHomeMetadataCollectionId + '\'' +
                 ", originalTypeDefSummary=" + originalTypeDefSummary +
                 ", originalInstanceGUID='" + originalInstanceGUID + '\'' +
+                ", changedSinceTime=" + changedSinceTime +
+                ", selectedTypeDefGUIDs=" + selectedTypeDefGUIDs +
                 ", errorCode=" + errorCode +
                 ", eventTimestamp=" + eventTimestamp +
                 ", eventDirection=" + eventDirection +
@@ -6,6 +6,9 @@ package org.odpi.openmetadata.repositoryservices.events;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefSummary;
 
+import java.util.Date;
+import java.util.List;
+
 /**
  * OMRSInstanceEventProcessor is an interface implemented by a component that is able to process incoming
  * metadata instance events for an Open Metadata Repository.  Instance events are used to replicate metadata
@@ -824,6 +827,32 @@ public abstract class OMRSInstanceEventProcessor implements OMRSInstanceEventPro
                                                    InstanceGraph  instances);
 
 
+    /**
+     * An open metadata repository has requested the instances that have changed since a point in time so it can
+     * catch up after an outage or after joining the cohort.  Only the local repository answers these requests
+     * so the default implementation ignores them.
+     *
+     * @param sourceName name of the source of the event.  It may be the cohort name for incoming events or the
+     *                   local repository, or event mapper name.
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that
+     *                                       sent the event.
+     * @param originatorServerName name of the server that the event came from.
+     * @param originatorServerType type of server that the event came from.
+     * @param originatorOrganizationName name of the organization that owns the server that sent the event.
+     * @param changedSinceTime only instances changed at or after this time are requested; null means all instances
+     * @param selectedTypeDefGUIDs unique identifiers of the TypeDefs of the instances requested; null means all types
+     */
+    public void processCatchUpRequest(String       sourceName,
+                                      String       originatorMetadataCollectionId,
+                                      String       originatorServerName,
+                                      String       originatorServerType,
+                                      String       originatorOrganizationName,
+                                      Date         changedSinceTime,
+                                      List<String> selectedTypeDefGUIDs)
+    {
+    }
+
+
     /**
      * An open metadata repository has detected two metadata instances with the same identifier (guid).
      * This is a serious error because it could lead to corruption of the metadata collections within the cohort.
@@ -9,6 +9,9 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefSummary;
 
+import java.util.Date;
+import java.util.List;
+
 /**
  * OMRSInstanceEventProcessor is an interface implemented by a component that is able to process incoming
  * metadata instance events for an Open Metadata Repository.  Instance events are used to replicate metadata
@@ -703,6 +706,30 @@ public interface OMRSInstanceEventProcessorInterface
                                    InstanceGraph instances);
 
 
+    /**
+     * An open metadata repository has requested the instances that have changed since a point in time so it can
+     * catch up after an outage or after joining the cohort.  Each home repository replies with batches of its
+     * own instances through processInstanceBatchEvent.
+     *
+     * @param sourceName name of the source of the event.  It may be the cohort name for incoming events or the
+     *                   local repository, or event mapper name.
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that
+     *                                       sent the event.
+     * @param originatorServerName name of the server that the event came from.
+     * @param originatorServerType type of server that the event came from.
+     * @param originatorOrganizationName name of the organization that owns the server that sent the event.
+     * @param changedSinceTime only instances changed at or after this time are requested; null means all instances
+     * @param selectedTypeDefGUIDs unique identifiers of the TypeDefs of the instances requested; null means all types
+     */
+    void processCatchUpRequest(String       sourceName,
+                               String       originatorMetadataCollectionId,
+                               String       originatorServerName,
+                               String       originatorServerType,
+                               String       originatorOrganizationName,
+                               Date         changedSinceTime,
+                               List<String> selectedTypeDefGUIDs);
+
+
     /**
      * An open metadata repository has detected two metadata instances with the same identifier (guid).
      * This is a serious error because it could lead to corruption of the metadata collections within the cohort.
@@ -93,6 +93,10 @@ public enum OMRSInstanceEventType implements Serializable
     DELETE_PURGED_RELATIONSHIP_EVENT (28, "DeletePurgedEntityEvent",
                                           "An existing active relationship has been permanently removed from the repository. " +
                                             "This request can not be undone."),
+    CATCH_UP_REQUEST                 (29, "CatchUpRequestEvent",
+                                          "A repository has requested that the home repositories in the cohort send " +
+                                            "batches of the instances that have changed since a point in time so " +
+                                            "it can catch up after an outage."),
     INSTANCE_ERROR_EVENT             (99, "InstanceErrorEvent",
                                           "An error has been detected in the exchange of instances between members of the cohort.")
     ;
@@ -11,6 +11,9 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefSummary;
 import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
 
+import java.util.Date;
+import java.util.List;
+
 import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
 import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
 
@@ -37,6 +40,8 @@ public class OMRSEventV1InstanceSection extends OMRSEventV1
     private String         originalHomeMetadataCollectionId = null;
     private TypeDefSummary originalTypeDefSummary           = null;
     private String         originalInstanceGUID             = null;
+    private Date           changedSinceTime                 = null;
+    private List<String>   selectedTypeDefGUIDs             = null;
 
     public OMRSEventV1InstanceSection()
     {
@@ -171,4 +176,24 @@ public class OMRSEventV1InstanceSection extends OMRSEventV1
     {
         this.originalInstanceGUID = originalInstanceGUID;
     }
+
+    public Date getChangedSinceTime()
+    {
+        return changedSinceTime;
+    }
+
+    public void setChangedSinceTime(Date changedSinceTime)
+    {
+        this.changedSinceTime = changedSinceTime;
+    }
+
+    public List<String> getSelectedTypeDefGUIDs()
+    {
+        return selectedTypeDefGUIDs;
+    }
+
+    public void setSelectedTypeDefGUIDs(List<String> selectedTypeDefGUIDs)
+    {
+        this.selectedTypeDefGUIDs = selectedTypeDefGUIDs;
+    }
 }
@@ -303,6 +303,10 @@ public enum OMRSErrorCode
             "Method {0} is unable to accept the new {1} instance from {2} with guid {3} and type {4} because it has a header version of {5} which is greater than this repository can support ({6})",
             "The system is unable to process the request.",
             "The repository is sharing metadata with a repository of greater capability and the local repository is unable to work with its types.  It may be time to upgrade the local repository."),
+    INVALID_CONTINUATION_TOKEN(400, "OMRS-REPOSITORY-400-066 ",
+            "The continuation token {0} passed on the {1} parameter of a {2} request to open metadata repository {3} is not valid",
+            "The system is unable to process the request.",
+            "The continuation token must be one returned by an earlier page of the same search.  Restart the search with a null continuation token."),
     NULL_USER_NAME(400, "OMRS-REST-API-400-001 ",
             "The OMRS REST API for server {0} has been called with a null user name (userId)",
             "The system is unable to access the local metadata repository.",
@@ -469,6 +473,22 @@ public enum OMRSErrorCode
             "A null log record originator has been passed by the audit log to the audit log store.",
             "The audit log store throws an exception and the log record is not written to the audit log store.",
             "This is probably an internal error in the audit log.  Raise a Github issue to get this fixed."),
+    NULL_LOG_RECORD_ID(400, "OMRS-AUDIT-LOG-400-003 ",
+            "A null log record identifier has been passed on the {0} request to audit log store {1}.",
+            "The audit log store is unable to retrieve the log record.",
+            "The log record identifier is supplied by the caller.  Correct the caller's code and retry the request."),
+    NULL_LOG_RECORD_SEARCH_VALUE(400, "OMRS-AUDIT-LOG-400-004 ",
+            "A null value has been passed as the {0} parameter on the {1} request to audit log store {2}.",
+            "The audit log store is unable to retrieve the log records because it does not know which records to return.",
+            "The search value is supplied by the caller.  Correct the caller's code and retry the request."),
+    BAD_LOG_RECORD_TIME_PERIOD(400, "OMRS-AUDIT-LOG-400-005 ",
+            "The start date {0} is after the end date {1} on the {2} request to audit log store {3}.",
+            "The audit log store is unable to retrieve the log records because the time period is invalid.",
+            "The dates are supplied by the caller.  Correct the caller's code and retry the request."),
+    BAD_LOG_RECORD_PAGING(400, "OMRS-AUDIT-LOG-400-006 ",
+            "An offset of {0} and a maximum records value of {1} have been passed on the {2} request to audit log store {3}.",
+            "The audit log store is unable to retrieve the log records because neither value may be negative.",
+            "The paging parameters are supplied by the caller.  Correct the caller's code and retry the request."),
     REPOSITORY_NOT_AVAILABLE(404, "OMRS-REPOSITORY-404-001 ",
             "The open metadata repository connector for server {0} is not active and is unable to service the {1} request",
             "The system is unable to retrieve any metadata properties from this repository.",
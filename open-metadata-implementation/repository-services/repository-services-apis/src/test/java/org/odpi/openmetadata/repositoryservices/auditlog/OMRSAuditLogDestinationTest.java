@@ -0,0 +1,236 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.auditlog;
+
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.MockOMRSAuditLogStoreConnectorBase;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecord;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogStore;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests the synchronous and asynchronous dispatch of audit log records to the audit log stores.
+ */
+public class OMRSAuditLogDestinationTest
+{
+    @Test
+    public void testSynchronousDispatchUsesCallingThread()
+    {
+        RecordingAuditLogStore  auditLogStore = getAuditLogStore(null);
+        OMRSAuditLogDestination destination   = getDestination(auditLogStore);
+
+        logRecord(destination, "TEST-0001", OMRSAuditLogRecordSeverity.INFO);
+
+        assertEquals(auditLogStore.messageIds, Collections.singletonList("TEST-0001"));
+        assertEquals(auditLogStore.threadNames, Collections.singletonList(Thread.currentThread().getName()));
+
+        OMRSAuditLogStoreStatistics statistics = destination.getStoreStatistics().get(0);
+
+        assertFalse(statistics.isAsynchronous());
+        assertEquals(statistics.getStoredRecordCount(), 1);
+    }
+
+
+    @Test
+    public void testAsynchronousDispatchIsFlushedOnDisconnect()
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+        configurationProperties.put("asyncDispatch", true);
+        configurationProperties.put("asyncBufferSize", 5);
+
+        RecordingAuditLogStore  auditLogStore = getAuditLogStore(configurationProperties);
+        OMRSAuditLogDestination destination   = getDestination(auditLogStore);
+
+        List<String> messageIds = new ArrayList<>();
+
+        for (int i = 0; i < 50; i++)
+        {
+            String messageId = "TEST-" + i;
+
+            messageIds.add(messageId);
+            logRecord(destination, messageId, OMRSAuditLogRecordSeverity.INFO);
+        }
+
+        destination.disconnect();
+
+        assertEquals(auditLogStore.messageIds, messageIds);
+        assertTrue(auditLogStore.threadNames.get(0).startsWith("OMRSAuditLogStore: "), auditLogStore.threadNames.get(0));
+        assertTrue(auditLogStore.disconnected);
+
+        OMRSAuditLogStoreStatistics statistics = destination.getStoreStatistics().get(0);
+
+        assertTrue(statistics.isAsynchronous());
+        assertEquals(statistics.getOverflowPolicy(), OMRSAuditLogOverflowPolicy.BLOCK);
+        assertEquals(statistics.getStoredRecordCount(), 50);
+        assertEquals(statistics.getDroppedRecordCount(), 0);
+        assertEquals(statistics.getQueuedRecordCount(), 0);
+    }
+
+
+    @Test
+    public void testDropInfoFirstKeepsErrors() throws Exception
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+        configurationProperties.put("asyncDispatch", true);
+        configurationProperties.put("asyncBufferSize", 2);
+        configurationProperties.put("asyncOverflowPolicy", "DROP_INFO_FIRST");
+
+        RecordingAuditLogStore  auditLogStore = getAuditLogStore(configurationProperties);
+        OMRSAuditLogDestination destination   = getDestination(auditLogStore);
+
+        auditLogStore.block();
+
+        /*
+         * The first record is taken by the dispatch thread, which then waits in the store.
+         */
+        logRecord(destination, "INFO-0", OMRSAuditLogRecordSeverity.INFO);
+        assertTrue(auditLogStore.waitUntilBlocked());
+
+        logRecord(destination, "INFO-1", OMRSAuditLogRecordSeverity.INFO);
+        logRecord(destination, "INFO-2", OMRSAuditLogRecordSeverity.INFO);
+        logRecord(destination, "INFO-3", OMRSAuditLogRecordSeverity.INFO);
+        logRecord(destination, "ERROR-4", OMRSAuditLogRecordSeverity.ERROR);
+
+        auditLogStore.unblock();
+        destination.disconnect();
+
+        assertTrue(auditLogStore.messageIds.contains("ERROR-4"));
+        assertFalse(auditLogStore.messageIds.contains("INFO-3"));
+
+        OMRSAuditLogStoreStatistics statistics = destination.getStoreStatistics().get(0);
+
+        assertEquals(statistics.getDroppedRecordCount(), 2);
+        assertEquals(statistics.getStoredRecordCount(), 3);
+    }
+
+
+    @Test
+    public void testRecordsDroppedAfterDisconnect()
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+        configurationProperties.put("asyncDispatch", true);
+
+        for (Map<String, Object> properties : Arrays.asList(null, configurationProperties))
+        {
+            RecordingAuditLogStore  auditLogStore = getAuditLogStore(properties);
+            OMRSAuditLogDestination destination   = getDestination(auditLogStore);
+
+            logRecord(destination, "TEST-0001", OMRSAuditLogRecordSeverity.INFO);
+            destination.disconnect();
+
+            logRecord(destination, "TEST-0002", OMRSAuditLogRecordSeverity.INFO);
+            logRecord(destination, "TEST-0003", OMRSAuditLogRecordSeverity.ERROR);
+
+            assertEquals(auditLogStore.messageIds, Collections.singletonList("TEST-0001"));
+
+            OMRSAuditLogStoreStatistics statistics = destination.getStoreStatistics().get(0);
+
+            assertEquals(statistics.getStoredRecordCount(), 1);
+            assertEquals(statistics.getDroppedRecordCount(), 2);
+        }
+    }
+
+
+    private RecordingAuditLogStore getAuditLogStore(Map<String, Object> configurationProperties)
+    {
+        Connection connection = new Connection();
+        connection.setQualifiedName("TestAuditLogStore");
+        connection.setConfigurationProperties(configurationProperties);
+
+        RecordingAuditLogStore auditLogStore = new RecordingAuditLogStore();
+        auditLogStore.initialize(UUID.randomUUID().toString(), new ConnectionProperties(connection));
+
+        return auditLogStore;
+    }
+
+
+    private OMRSAuditLogDestination getDestination(OMRSAuditLogStore auditLogStore)
+    {
+        List<OMRSAuditLogStore> auditLogStores = new ArrayList<>();
+        auditLogStores.add(auditLogStore);
+
+        return new OMRSAuditLogDestination("TestServer", "TestServerType", "TestOrganization", auditLogStores);
+    }
+
+
+    private void logRecord(OMRSAuditLogDestination    destination,
+                           String                     messageId,
+                           OMRSAuditLogRecordSeverity severity)
+    {
+        destination.logRecord(null, "test", messageId, severity, "Test message", null, null, null);
+    }
+
+
+    /**
+     * Audit log store that records the messages it receives and the thread it received them on.  It can be
+     * told to wait inside storeLogRecord to simulate a slow store.
+     */
+    private static class RecordingAuditLogStore extends MockOMRSAuditLogStoreConnectorBase
+    {
+        private final List<String>   messageIds   = Collections.synchronizedList(new ArrayList<>());
+        private final List<String>   threadNames  = Collections.synchronizedList(new ArrayList<>());
+        private       CountDownLatch blocked      = null;
+        private       CountDownLatch release      = null;
+        private       boolean        disconnected = false;
+
+        void block()
+        {
+            blocked = new CountDownLatch(1);
+            release = new CountDownLatch(1);
+        }
+
+        boolean waitUntilBlocked() throws InterruptedException
+        {
+            return blocked.await(10, TimeUnit.SECONDS);
+        }
+
+        void unblock()
+        {
+            release.countDown();
+        }
+
+        @Override
+        public String storeLogRecord(OMRSAuditLogRecord logRecord)
+        {
+            if (release != null)
+            {
+                blocked.countDown();
+
+                try
+                {
+                    release.await(10, TimeUnit.SECONDS);
+                }
+                catch (InterruptedException interrupted)
+                {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            messageIds.add(logRecord.getMessageId());
+            threadNames.add(Thread.currentThread().getName());
+
+            return logRecord.getGUID();
+        }
+
+        @Override
+        public void disconnect()
+        {
+            disconnected = true;
+        }
+    }
+}
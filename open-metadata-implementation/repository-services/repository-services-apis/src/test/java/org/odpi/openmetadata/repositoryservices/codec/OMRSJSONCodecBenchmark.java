@@ -0,0 +1,237 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProvenanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+import org.odpi.openmetadata.repositoryservices.events.beans.OMRSEventBean;
+import org.odpi.openmetadata.repositoryservices.events.beans.v1.OMRSEventV1;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * OMRSJSONCodecBenchmark compares the time taken to send and receive an OMRS instance event on the old path,
+ * which created a new ObjectMapper for each event, with the time taken using the shared codec.  The event is
+ * a new entity event for an entity with ten string properties and two classifications.
+ * <p>
+ * Each path is warmed up and then timed over a number of rounds.  The median time per event across the rounds
+ * is reported.  It is not run as part of the unit tests.  Run it from this module with:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/test.classpath
+ * java -cp target/test-classes:target/classes:$(cat target/test.classpath) \
+ *      org.odpi.openmetadata.repositoryservices.codec.OMRSJSONCodecBenchmark
+ * </pre>
+ */
+public class OMRSJSONCodecBenchmark
+{
+    private static final int warmUpEvents    = 20000;
+    private static final int eventsPerRound  = 5000;
+    private static final int rounds          = 10;
+
+
+    /**
+     * A way of converting the event to JSON and back again.
+     */
+    private interface EventPath
+    {
+        String send(OMRSEventV1 event) throws Exception;
+
+        OMRSEventBean receive(String json) throws Exception;
+    }
+
+
+    /**
+     * The path before the codec: OMRSTopicConnector created a new ObjectMapper in sendEvent and processEvent.
+     */
+    private static class NewMapperPath implements EventPath
+    {
+        public String send(OMRSEventV1 event) throws Exception
+        {
+            ObjectMapper objectMapper = new ObjectMapper();
+
+            return objectMapper.writeValueAsString(event);
+        }
+
+        public OMRSEventBean receive(String json) throws Exception
+        {
+            ObjectMapper objectMapper = new ObjectMapper();
+
+            return objectMapper.readValue(json, OMRSEventBean.class);
+        }
+    }
+
+
+    /**
+     * The path through the shared codec.
+     */
+    private static class CodecPath implements EventPath
+    {
+        public String send(OMRSEventV1 event) throws Exception
+        {
+            return OMRSJSONCodec.writeValueAsString(event);
+        }
+
+        public OMRSEventBean receive(String json) throws Exception
+        {
+            return OMRSJSONCodec.readValue(json, OMRSEventBean.class);
+        }
+    }
+
+
+    /**
+     * Run the comparison and print the results.
+     *
+     * @param args not used
+     * @throws Exception the event can not be converted
+     */
+    public static void main(String[] args) throws Exception
+    {
+        OMRSEventV1 event = getInstanceEvent().getOMRSEventV1();
+        String      json  = new ObjectMapper().writeValueAsString(event);
+
+        System.out.println("Event size: " + json.length() + " characters");
+        System.out.println(String.format("%-20s %15s %15s", "Path", "send (us/event)", "receive (us/event)"));
+
+        for (EventPath path : Arrays.asList(new NewMapperPath(), new CodecPath()))
+        {
+            measure(path, event, json, warmUpEvents);
+
+            List<Double> sendTimes    = new ArrayList<>();
+            List<Double> receiveTimes = new ArrayList<>();
+
+            for (int round = 0; round < rounds; round++)
+            {
+                double[] times = measure(path, event, json, eventsPerRound);
+
+                sendTimes.add(times[0]);
+                receiveTimes.add(times[1]);
+            }
+
+            System.out.println(String.format("%-20s %15.2f %15.2f",
+                                             path.getClass().getSimpleName(),
+                                             median(sendTimes),
+                                             median(receiveTimes)));
+        }
+    }
+
+
+    /**
+     * Send and receive the event the requested number of times.
+     *
+     * @param path path to measure
+     * @param event event to send
+     * @param json event to receive
+     * @param eventCount number of events
+     * @return microseconds per event for sending and for receiving
+     * @throws Exception the event can not be converted
+     */
+    private static double[] measure(EventPath   path,
+                                    OMRSEventV1 event,
+                                    String      json,
+                                    int         eventCount) throws Exception
+    {
+        long checksum  = 0;
+        long startTime = System.nanoTime();
+
+        for (int i = 0; i < eventCount; i++)
+        {
+            checksum += path.send(event).length();
+        }
+
+        long sendTime = System.nanoTime() - startTime;
+
+        startTime = System.nanoTime();
+
+        for (int i = 0; i < eventCount; i++)
+        {
+            checksum += path.receive(json).hashCode();
+        }
+
+        long receiveTime = System.nanoTime() - startTime;
+
+        /*
+         * Using the results stops the JIT compiler removing the calls.
+         */
+        if (checksum == 0)
+        {
+            System.out.println("Unexpected checksum");
+        }
+
+        return new double[]{ sendTime / 1000.0 / eventCount, receiveTime / 1000.0 / eventCount };
+    }
+
+
+    private static double median(List<Double> values)
+    {
+        List<Double> sortedValues = new ArrayList<>(values);
+
+        sortedValues.sort(null);
+
+        return sortedValues.get(sortedValues.size() / 2);
+    }
+
+
+    private static OMRSInstanceEvent getInstanceEvent()
+    {
+        InstanceType instanceType = new InstanceType();
+        instanceType.setTypeDefGUID("TestTypeGUID");
+        instanceType.setTypeDefName("TestType");
+        instanceType.setTypeDefVersion(1L);
+        instanceType.setTypeDefSuperTypes(new ArrayList<>());
+
+        InstanceProperties properties = new InstanceProperties();
+
+        for (int i = 0; i < 10; i++)
+        {
+            PrimitivePropertyValue propertyValue = new PrimitivePropertyValue();
+            propertyValue.setPrimitiveDefCategory(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING);
+            propertyValue.setPrimitiveValue("TestAsset-property-value-" + i);
+
+            properties.setProperty("property" + i, propertyValue);
+        }
+
+        List<Classification> classifications = new ArrayList<>();
+
+        for (String classificationName : Arrays.asList("Confidentiality", "AssetZoneMembership"))
+        {
+            InstanceType classificationType = new InstanceType();
+            classificationType.setTypeDefGUID(classificationName + "GUID");
+            classificationType.setTypeDefName(classificationName);
+
+            Classification classification = new Classification();
+            classification.setName(classificationName);
+            classification.setType(classificationType);
+            classification.setStatus(InstanceStatus.ACTIVE);
+            classification.setCreatedBy("testUser");
+            classification.setCreateTime(new Date());
+
+            classifications.add(classification);
+        }
+
+        EntityDetail entity = new EntityDetail();
+        entity.setGUID("TestGUID");
+        entity.setType(instanceType);
+        entity.setInstanceProvenanceType(InstanceProvenanceType.LOCAL_COHORT);
+        entity.setMetadataCollectionId("TestCollection");
+        entity.setStatus(InstanceStatus.ACTIVE);
+        entity.setCreatedBy("testUser");
+        entity.setCreateTime(new Date());
+        entity.setVersion(1L);
+        entity.setProperties(properties);
+        entity.setClassifications(classifications);
+
+        return new OMRSInstanceEvent(OMRSInstanceEventType.NEW_ENTITY_EVENT, entity);
+    }
+}
@@ -0,0 +1,123 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstancePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+import org.odpi.openmetadata.repositoryservices.events.OMRSRegistryEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSRegistryEventType;
+import org.odpi.openmetadata.repositoryservices.events.beans.OMRSEventBean;
+import org.odpi.openmetadata.repositoryservices.events.beans.v1.OMRSEventV1;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests that the shared codec produces the same JSON as a new ObjectMapper.
+ */
+public class OMRSJSONCodecTest
+{
+    @Test
+    public void testInstanceEventMatchesObjectMapper() throws Exception
+    {
+        OMRSEventV1 event = getInstanceEvent().getOMRSEventV1();
+
+        String expectedJSON = new ObjectMapper().writeValueAsString(event);
+        String codecJSON    = OMRSJSONCodec.writeValueAsString(event);
+
+        assertEquals(codecJSON, expectedJSON);
+
+        OMRSEventBean eventBean = OMRSJSONCodec.readValue(codecJSON, OMRSEventBean.class);
+
+        assertTrue(eventBean instanceof OMRSEventV1);
+        assertEquals(OMRSJSONCodec.writeValueAsString(eventBean), expectedJSON);
+    }
+
+
+    @Test
+    public void testRegistryEventMatchesObjectMapper() throws Exception
+    {
+        OMRSRegistryEvent registryEvent = new OMRSRegistryEvent(OMRSRegistryEventType.REGISTRATION_EVENT,
+                                                                null,
+                                                                "TestCollection",
+                                                                null);
+        OMRSEventV1       event         = registryEvent.getOMRSEventV1();
+
+        assertEquals(OMRSJSONCodec.writeValueAsString(event), new ObjectMapper().writeValueAsString(event));
+    }
+
+
+    @Test
+    public void testPolymorphicPropertyValues() throws Exception
+    {
+        InstanceProperties properties = getInstanceEvent().getEntity().getProperties();
+
+        String json = OMRSJSONCodec.writeValueAsString(properties);
+
+        assertEquals(json, new ObjectMapper().writeValueAsString(properties));
+
+        InstancePropertyValue value = OMRSJSONCodec.readValue(json, InstanceProperties.class).getPropertyValue("qualifiedName");
+
+        assertTrue(value instanceof PrimitivePropertyValue);
+        assertEquals(((PrimitivePropertyValue) value).getPrimitiveValue(), "TestAsset");
+    }
+
+
+    @Test
+    public void testCompressedEventRoundTrip() throws Exception
+    {
+        OMRSEventV1 event = getInstanceEvent().getOMRSEventV1();
+
+        String expectedJSON = OMRSJSONCodec.writeValueAsString(event);
+        String compressed   = OMRSJSONCodec.writeCompressedValue(event);
+
+        assertTrue(OMRSJSONCodec.isCompressed(compressed));
+        assertFalse(OMRSJSONCodec.isCompressed(expectedJSON));
+
+        OMRSEventBean eventBean = OMRSJSONCodec.readEncodedValue(compressed, OMRSEventBean.class);
+
+        assertEquals(OMRSJSONCodec.writeValueAsString(eventBean), expectedJSON);
+        assertEquals(OMRSJSONCodec.writeValueAsString(OMRSJSONCodec.readEncodedValue(expectedJSON, OMRSEventBean.class)),
+                     expectedJSON);
+    }
+
+
+    @Test
+    public void testReadersAndWritersAreReused()
+    {
+        assertSame(OMRSJSONCodec.getReader(OMRSEventBean.class), OMRSJSONCodec.getReader(OMRSEventBean.class));
+        assertSame(OMRSJSONCodec.getWriter(OMRSEventV1.class), OMRSJSONCodec.getWriter(OMRSEventV1.class));
+    }
+
+
+    private OMRSInstanceEvent getInstanceEvent()
+    {
+        InstanceType instanceType = new InstanceType();
+        instanceType.setTypeDefGUID("TestTypeGUID");
+        instanceType.setTypeDefName("TestType");
+
+        PrimitivePropertyValue qualifiedName = new PrimitivePropertyValue();
+        qualifiedName.setPrimitiveDefCategory(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING);
+        qualifiedName.setPrimitiveValue("TestAsset");
+
+        InstanceProperties properties = new InstanceProperties();
+        properties.setProperty("qualifiedName", qualifiedName);
+
+        EntityDetail entity = new EntityDetail();
+        entity.setGUID("TestGUID");
+        entity.setType(instanceType);
+        entity.setProperties(properties);
+
+        return new OMRSInstanceEvent(OMRSInstanceEventType.NEW_ENTITY_EVENT, entity);
+    }
+}
@@ -0,0 +1,490 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.frameworks.connectors.Connector;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.repositoryservices.codec.OMRSJSONCodec;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ArrayPropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+import org.odpi.openmetadata.repositoryservices.events.OMRSRegistryEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSRegistryEventType;
+import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEvent;
+import org.odpi.openmetadata.repositoryservices.events.future.CompletedFuture;
+import org.odpi.openmetadata.repositoryservices.events.future.OMRSFuture;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests the dispatch of inbound events to the OMRSTopicListeners.
+ */
+public class OMRSTopicConnectorTest
+{
+    private OMRSTopicConnector    topicConnector = null;
+    private StubEventBusConnector eventBus       = null;
+
+
+    @AfterMethod
+    public void tearDown() throws Exception
+    {
+        if (topicConnector != null)
+        {
+            topicConnector.disconnect();
+        }
+    }
+
+
+    @Test
+    public void testEventsDeliveredInOrderOnListenerThreads() throws Exception
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+        configurationProperties.put("listenerThreadCount", 2);
+        configurationProperties.put("listenerQueueSize", 5);
+
+        topicConnector = getTopicConnector(configurationProperties);
+
+        RecordingListener firstListener  = new RecordingListener();
+        RecordingListener secondListener = new RecordingListener();
+
+        topicConnector.registerListener(firstListener);
+        topicConnector.registerListener(secondListener);
+        topicConnector.start();
+
+        List<String> sentEvents = new ArrayList<>();
+        List<OMRSFuture> futures = new ArrayList<>();
+
+        for (int i = 0; i < 20; i++)
+        {
+            String metadataCollectionName = "collection" + i;
+
+            sentEvents.add(metadataCollectionName);
+
+            InternalOMRSEventProcessingContext.clear();
+            topicConnector.processEvent(getRegistryEvent(metadataCollectionName));
+            futures.add(InternalOMRSEventProcessingContext.getInstance().getOverallAsyncProcessingResult());
+        }
+
+        waitForFutures(futures);
+
+        assertEquals(firstListener.receivedEvents, sentEvents);
+        assertEquals(secondListener.receivedEvents, sentEvents);
+
+        for (String threadName : firstListener.threadNames)
+        {
+            assertTrue(threadName.startsWith("OMRSTopicListener: "), threadName);
+        }
+
+        List<OMRSTopicListenerStatistics> statistics = topicConnector.getListenerStatistics();
+
+        assertEquals(statistics.size(), 2);
+        for (OMRSTopicListenerStatistics listenerStatistics : statistics)
+        {
+            assertEquals(listenerStatistics.getProcessedEventCount(), 20);
+            assertEquals(listenerStatistics.getQueueDepth(), 0);
+            assertEquals(listenerStatistics.getQueueCapacity(), 5);
+            assertEquals(listenerStatistics.getRejectedEventCount(), 0);
+        }
+    }
+
+
+    @Test
+    public void testFailingListenerDoesNotStopOtherListeners() throws Exception
+    {
+        topicConnector = getTopicConnector(null);
+
+        RecordingListener goodListener = new RecordingListener();
+
+        topicConnector.registerListener(new FailingListener());
+        topicConnector.registerListener(goodListener);
+        topicConnector.start();
+
+        InternalOMRSEventProcessingContext.clear();
+        topicConnector.processEvent(getRegistryEvent("collection"));
+        waitForFutures(Collections.singletonList(InternalOMRSEventProcessingContext.getInstance().getOverallAsyncProcessingResult()));
+
+        assertEquals(goodListener.receivedEvents, Collections.singletonList("collection"));
+
+        List<OMRSTopicListenerStatistics> statistics = topicConnector.getListenerStatistics();
+
+        assertEquals(statistics.get(0).getFailedEventCount(), 1);
+        assertEquals(statistics.get(1).getFailedEventCount(), 0);
+    }
+
+
+    @Test
+    public void testEventsProcessedOnCallingThreadWithNoListenerThreads() throws Exception
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+        configurationProperties.put("listenerThreadCount", 0);
+
+        topicConnector = getTopicConnector(configurationProperties);
+
+        RecordingListener listener = new RecordingListener();
+
+        topicConnector.registerListener(listener);
+        topicConnector.start();
+
+        InternalOMRSEventProcessingContext.clear();
+        topicConnector.processEvent(getRegistryEvent("collection"));
+
+        assertEquals(listener.receivedEvents, Collections.singletonList("collection"));
+        assertEquals(listener.threadNames, Collections.singletonList(Thread.currentThread().getName()));
+        assertSame(InternalOMRSEventProcessingContext.getInstance().getOverallAsyncProcessingResult(), CompletedFuture.INSTANCE);
+    }
+
+
+    @Test
+    public void testCompressedEventsAreSentAndReceived() throws Exception
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+        configurationProperties.put("listenerThreadCount", 0);
+        configurationProperties.put("compressEvents", true);
+
+        topicConnector = getTopicConnector(configurationProperties);
+
+        RecordingListener listener = new RecordingListener();
+
+        topicConnector.registerListener(listener);
+        topicConnector.start();
+
+        topicConnector.sendRegistryEvent(new OMRSRegistryEvent(OMRSRegistryEventType.REGISTRATION_EVENT,
+                                                               null,
+                                                               "compressedCollection",
+                                                               null));
+
+        assertEquals(eventBus.sentEvents.size(), 1);
+
+        String sentEvent = eventBus.sentEvents.get(0);
+
+        assertTrue(OMRSJSONCodec.isCompressed(sentEvent), sentEvent);
+
+        InternalOMRSEventProcessingContext.clear();
+        topicConnector.processEvent(sentEvent);
+        topicConnector.processEvent(getRegistryEvent("plainCollection"));
+
+        assertEquals(listener.receivedEvents, Arrays.asList("compressedCollection", "plainCollection"));
+    }
+
+
+    @Test
+    public void testSubscriptionFiltersInstanceEvents() throws Exception
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+        configurationProperties.put("listenerThreadCount", 0);
+
+        topicConnector = getTopicConnector(configurationProperties);
+
+        RecordingListener subscribedListener = new RecordingListener();
+        RecordingListener allEventsListener  = new RecordingListener();
+
+        OMRSTopicSubscription subscription = new OMRSTopicSubscription();
+        subscription.setInstanceEventTypes(Collections.singletonList(OMRSInstanceEventType.NEW_ENTITY_EVENT));
+        subscription.setRootTypeNames(Collections.singletonList("Asset"));
+        subscription.setSupportedZones(Collections.singletonList("zone1"));
+
+        topicConnector.registerListener(subscribedListener, subscription);
+        topicConnector.registerListener(allEventsListener);
+        topicConnector.start();
+
+        List<String> sentEvents = new ArrayList<>();
+
+        sentEvents.add(sendEntityEvent(OMRSInstanceEventType.NEW_ENTITY_EVENT, "DataFile", "Asset", "zone1"));
+        sentEvents.add(sendEntityEvent(OMRSInstanceEventType.NEW_ENTITY_EVENT, "GlossaryTerm", null, "zone1"));
+        sentEvents.add(sendEntityEvent(OMRSInstanceEventType.UPDATED_ENTITY_EVENT, "DataFile", "Asset", "zone1"));
+        sentEvents.add(sendEntityEvent(OMRSInstanceEventType.NEW_ENTITY_EVENT, "DataFile", "Asset", "zone2"));
+        sentEvents.add(sendEntityEvent(OMRSInstanceEventType.NEW_ENTITY_EVENT, "DataFile", "Asset", null));
+
+        assertEquals(subscribedListener.receivedEvents, Arrays.asList(sentEvents.get(0), sentEvents.get(4)));
+        assertEquals(allEventsListener.receivedEvents, sentEvents);
+
+        List<OMRSTopicListenerStatistics> statistics = topicConnector.getListenerStatistics();
+
+        assertEquals(statistics.get(0).getProcessedEventCount(), 2);
+        assertEquals(statistics.get(0).getFilteredEventCount(), 3);
+        assertEquals(statistics.get(1).getProcessedEventCount(), 5);
+        assertEquals(statistics.get(1).getFilteredEventCount(), 0);
+    }
+
+
+    @Test
+    public void testFullQueueRejectsEventAfterTimeout() throws Exception
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+        configurationProperties.put("listenerThreadCount", 1);
+        configurationProperties.put("listenerQueueSize", 1);
+        configurationProperties.put("listenerQueueTimeout", 200);
+
+        topicConnector = getTopicConnector(configurationProperties);
+
+        BlockingListener listener = new BlockingListener();
+
+        topicConnector.registerListener(listener);
+        topicConnector.start();
+
+        /*
+         * The first event is being processed and the second fills the queue.
+         */
+        topicConnector.processEvent(getRegistryEvent("collection1"));
+        assertTrue(listener.started.await(10, TimeUnit.SECONDS));
+        topicConnector.processEvent(getRegistryEvent("collection2"));
+
+        long startTime = System.currentTimeMillis();
+
+        topicConnector.processEvent(getRegistryEvent("collection3"));
+
+        assertTrue(System.currentTimeMillis() - startTime >= 200);
+        assertEquals(topicConnector.getListenerStatistics().get(0).getRejectedEventCount(), 1);
+
+        listener.release.countDown();
+    }
+
+
+    @Test
+    public void testDisconnectReleasesWaitingEventBusThread() throws Exception
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+        configurationProperties.put("listenerThreadCount", 1);
+        configurationProperties.put("listenerQueueSize", 1);
+
+        topicConnector = getTopicConnector(configurationProperties);
+
+        BlockingListener listener = new BlockingListener();
+
+        topicConnector.registerListener(listener);
+        topicConnector.start();
+
+        topicConnector.processEvent(getRegistryEvent("collection1"));
+        assertTrue(listener.started.await(10, TimeUnit.SECONDS));
+        topicConnector.processEvent(getRegistryEvent("collection2"));
+
+        /*
+         * The event bus thread waits for space in the queue until the connector is disconnected.
+         */
+        OMRSTopicConnector disconnectedConnector = topicConnector;
+        String             eventJSON             = getRegistryEvent("collection3");
+        Thread             eventBusThread        = new Thread(() -> disconnectedConnector.processEvent(eventJSON));
+
+        eventBusThread.start();
+        eventBusThread.join(500);
+        assertTrue(eventBusThread.isAlive());
+
+        topicConnector = null;
+        disconnectedConnector.disconnect();
+
+        eventBusThread.join(5000);
+        assertFalse(eventBusThread.isAlive());
+        assertEquals(disconnectedConnector.getListenerStatistics().get(0).getRejectedEventCount(), 1);
+
+        listener.release.countDown();
+    }
+
+
+    private OMRSTopicConnector getTopicConnector(Map<String, Object> configurationProperties)
+    {
+        Connection connection = new Connection();
+        connection.setQualifiedName("TestOMRSTopic");
+        connection.setConfigurationProperties(configurationProperties);
+
+        OMRSTopicConnector connector = new OMRSTopicConnector();
+        connector.initialize(UUID.randomUUID().toString(), new ConnectionProperties(connection));
+
+        eventBus = new StubEventBusConnector();
+
+        List<Connector> embeddedConnectors = new ArrayList<>();
+        embeddedConnectors.add(eventBus);
+        connector.initializeEmbeddedConnectors(embeddedConnectors);
+
+        return connector;
+    }
+
+
+    private String getRegistryEvent(String metadataCollectionName) throws Exception
+    {
+        OMRSRegistryEvent registryEvent = new OMRSRegistryEvent(OMRSRegistryEventType.REGISTRATION_EVENT,
+                                                                null,
+                                                                metadataCollectionName,
+                                                                null);
+
+        return new ObjectMapper().writeValueAsString(registryEvent.getOMRSEventV1());
+    }
+
+
+    private String sendEntityEvent(OMRSInstanceEventType eventType,
+                                   String                typeName,
+                                   String                superTypeName,
+                                   String                zone) throws Exception
+    {
+        InstanceType instanceType = new InstanceType();
+        instanceType.setTypeDefGUID(typeName + "GUID");
+        instanceType.setTypeDefName(typeName);
+
+        if (superTypeName != null)
+        {
+            instanceType.setTypeDefSuperTypes(Collections.singletonList(new TypeDefLink(superTypeName + "GUID", superTypeName)));
+        }
+
+        EntityDetail entity = new EntityDetail();
+        entity.setGUID(UUID.randomUUID().toString());
+        entity.setType(instanceType);
+
+        if (zone != null)
+        {
+            PrimitivePropertyValue zoneValue = new PrimitivePropertyValue();
+            zoneValue.setPrimitiveDefCategory(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING);
+            zoneValue.setPrimitiveValue(zone);
+
+            ArrayPropertyValue zoneMembership = new ArrayPropertyValue();
+            zoneMembership.setArrayCount(1);
+            zoneMembership.setArrayValue(0, zoneValue);
+
+            InstanceProperties properties = new InstanceProperties();
+            properties.setProperty("zoneMembership", zoneMembership);
+            entity.setProperties(properties);
+        }
+
+        OMRSInstanceEvent instanceEvent = new OMRSInstanceEvent(eventType, entity);
+
+        topicConnector.processEvent(new ObjectMapper().writeValueAsString(instanceEvent.getOMRSEventV1()));
+
+        return entity.getGUID();
+    }
+
+
+    private void waitForFutures(List<OMRSFuture> futures) throws InterruptedException
+    {
+        long timeout = System.currentTimeMillis() + 10000;
+
+        for (OMRSFuture future : futures)
+        {
+            while ((! future.isDone()) && (System.currentTimeMillis() < timeout))
+            {
+                Thread.sleep(10);
+            }
+
+            assertTrue(future.isDone());
+        }
+    }
+
+
+    /**
+     * Event bus connector that does not connect to anything.  It records the events it is asked to send.
+     */
+    private static class StubEventBusConnector extends OpenMetadataTopicConnector
+    {
+        private final List<String> sentEvents = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void start()
+        {
+        }
+
+        @Override
+        public void sendEvent(String event)
+        {
+            sentEvents.add(event);
+        }
+    }
+
+
+    /**
+     * Listener that records the registry and instance events it receives and the thread it received them on.
+     */
+    private static class RecordingListener implements OMRSTopicListener
+    {
+        private final List<String> receivedEvents = Collections.synchronizedList(new ArrayList<>());
+        private final List<String> threadNames    = Collections.synchronizedList(new ArrayList<>());
+
+        public void processRegistryEvent(OMRSRegistryEvent event)
+        {
+            receivedEvents.add(event.getMetadataCollectionName());
+            threadNames.add(Thread.currentThread().getName());
+        }
+
+        public void processTypeDefEvent(OMRSTypeDefEvent event)
+        {
+        }
+
+        public void processInstanceEvent(OMRSInstanceEvent event)
+        {
+            receivedEvents.add(event.getInstanceGUID());
+            threadNames.add(Thread.currentThread().getName());
+        }
+    }
+
+
+    /**
+     * Listener that waits on every registry event until it is released.
+     */
+    private static class BlockingListener implements OMRSTopicListener
+    {
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        public void processRegistryEvent(OMRSRegistryEvent event)
+        {
+            started.countDown();
+
+            try
+            {
+                release.await(10, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException interrupted)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        public void processTypeDefEvent(OMRSTypeDefEvent event)
+        {
+        }
+
+        public void processInstanceEvent(OMRSInstanceEvent event)
+        {
+        }
+    }
+
+
+    /**
+     * Listener that fails on every event.
+     */
+    private static class FailingListener implements OMRSTopicListener
+    {
+        public void processRegistryEvent(OMRSRegistryEvent event)
+        {
+            throw new IllegalStateException("Test failure");
+        }
+
+        public void processTypeDefEvent(OMRSTypeDefEvent event)
+        {
+        }
+
+        public void processInstanceEvent(OMRSInstanceEvent event)
+        {
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests that the coalescer keeps the latest event for each instance and sends the events in order.
+ */
+public class OpenMetadataTopicEventCoalescerTest
+{
+    @Test
+    public void testEventsSentImmediatelyWithoutWindow() throws Exception
+    {
+        RecordingTopic                  topic     = new RecordingTopic();
+        OpenMetadataTopicEventCoalescer coalescer = new OpenMetadataTopicEventCoalescer(topic, "test", null);
+
+        assertFalse(coalescer.isCoalescing());
+
+        coalescer.sendEvent("guid-1", "{\"v\":1}");
+        coalescer.sendEvent("guid-1", "{\"v\":2}");
+
+        assertEquals(topic.sentEvents, Arrays.asList("{\"v\":1}", "{\"v\":2}"));
+    }
+
+
+    @Test
+    public void testLatestEventForEachInstanceSent() throws Exception
+    {
+        RecordingTopic                  topic     = new RecordingTopic();
+        OpenMetadataTopicEventCoalescer coalescer = new OpenMetadataTopicEventCoalescer(topic, "test", 60000, 0, null);
+
+        assertTrue(coalescer.isCoalescing());
+
+        for (int i = 0; i < 20; i++)
+        {
+            coalescer.sendEvent("guid-1", "{\"guid\":\"guid-1\",\"v\":" + i + "}");
+        }
+
+        coalescer.sendEvent("guid-2", "{\"guid\":\"guid-2\",\"v\":0}");
+        coalescer.sendEvent(null, "{\"v\":\"a\"}");
+        coalescer.sendEvent(null, "{\"v\":\"b\"}");
+        coalescer.sendEvent("guid-1", "{\"guid\":\"guid-1\",\"v\":20}");
+
+        assertTrue(topic.sentEvents.isEmpty());
+
+        coalescer.shutdown();
+
+        assertEquals(topic.sentEvents, Arrays.asList("{\"guid\":\"guid-2\",\"v\":0}",
+                                                     "{\"v\":\"a\"}",
+                                                     "{\"v\":\"b\"}",
+                                                     "{\"guid\":\"guid-1\",\"v\":20}"));
+
+        /*
+         * After shutdown the events are no longer held.
+         */
+        coalescer.sendEvent("guid-1", "{\"guid\":\"guid-1\",\"v\":21}");
+
+        assertEquals(topic.sentEvents.size(), 5);
+    }
+
+
+    @Test
+    public void testBatches() throws Exception
+    {
+        RecordingTopic                  topic     = new RecordingTopic();
+        OpenMetadataTopicEventCoalescer coalescer = new OpenMetadataTopicEventCoalescer(topic, "test", 60000, 2, null);
+
+        coalescer.sendEvent("guid-1", "{\"v\":1}");
+        coalescer.sendEvent("guid-2", "{\"v\":2}");
+        coalescer.sendEvent("guid-3", "{\"v\":3}");
+
+        coalescer.shutdown();
+
+        assertEquals(topic.sentEvents, Arrays.asList("[{\"v\":1},{\"v\":2}]", "[{\"v\":3}]"));
+    }
+
+
+    @Test
+    public void testEventsForAnInstanceSentInOrderAcrossWindows() throws Exception
+    {
+        RecordingTopic                  topic     = new RecordingTopic();
+        OpenMetadataTopicEventCoalescer coalescer = new OpenMetadataTopicEventCoalescer(topic, "test", 1, 0, null);
+
+        for (int i = 0; i < 2000; i++)
+        {
+            coalescer.sendEvent("guid-" + (i % 3), Integer.toString(i));
+        }
+
+        coalescer.shutdown();
+
+        int[] lastEvent = { -1, -1, -1 };
+
+        for (String event : topic.sentEvents)
+        {
+            int eventNumber = Integer.parseInt(event);
+
+            assertTrue(eventNumber > lastEvent[eventNumber % 3]);
+            lastEvent[eventNumber % 3] = eventNumber;
+        }
+
+        assertEquals(lastEvent[0], 1998);
+        assertEquals(lastEvent[1], 1999);
+        assertEquals(lastEvent[2], 1997);
+    }
+
+
+    /**
+     * Topic that records the events sent to it.
+     */
+    private static class RecordingTopic implements OpenMetadataTopic
+    {
+        private final List<String> sentEvents = Collections.synchronizedList(new ArrayList<>());
+
+        public String registerListener(OpenMetadataTopicListener newListener)
+        {
+            return "test";
+        }
+
+        public void sendEvent(String event)
+        {
+            sentEvents.add(event);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests that the default count methods page through the results of the matching find methods and count
+ * every instance once, including when the number of results is an exact multiple of the scan page size.
+ * <p>
+ * The fixtures hold 1000 instances.  The odd ones are of type B and the rest of type A.  Every fifth one
+ * is deleted and every third entity is classified as Confidential.
+ */
+public class OMRSMetadataCollectionCountTest
+{
+    private static final String userId       = "testUser";
+    private static final String anchorGUID   = "anchor-guid";
+    private static final String typeAGUID    = "type-a-guid";
+    private static final String typeBGUID    = "type-b-guid";
+    private static final String confidential = "Confidential";
+
+    private static final List<InstanceStatus> activeOnly  = Collections.singletonList(InstanceStatus.ACTIVE);
+    private static final List<InstanceStatus> deletedOnly = Collections.singletonList(InstanceStatus.DELETED);
+
+    private OMRSMetadataCollection metadataCollection;
+    private List<Relationship>     relationships;
+    private List<EntityDetail>     entities;
+
+
+    @BeforeMethod
+    public void setUpMetadataCollection() throws Exception
+    {
+        relationships = new ArrayList<>();
+        entities = new ArrayList<>();
+
+        for (int i = 0; i < 1000; i++)
+        {
+            Relationship relationship = new Relationship();
+            EntityDetail entity       = new EntityDetail();
+
+            setHeader(relationship, "relationship-" + i, i);
+            setHeader(entity, "entity-" + i, i);
+
+            if (i % 3 == 0)
+            {
+                Classification classification = new Classification();
+
+                classification.setName(confidential);
+                entity.setClassifications(Collections.singletonList(classification));
+            }
+
+            relationships.add(relationship);
+            entities.add(entity);
+        }
+
+        /*
+         * Only the count methods run their real implementation.
+         */
+        metadataCollection = mock(OMRSMetadataCollection.class, CALLS_REAL_METHODS);
+
+        doAnswer(invocation -> getPage(relationships,
+                                       invocation.getArgument(2),
+                                       invocation.getArgument(4),
+                                       null,
+                                       invocation.getArgument(3),
+                                       invocation.getArgument(8)))
+                .when(metadataCollection).getRelationshipsForEntity(anyString(), eq(anchorGUID), any(), anyInt(), any(), any(), any(), any(), anyInt());
+
+        doAnswer(invocation -> getPage(entities,
+                                       invocation.getArgument(1),
+                                       invocation.getArgument(5),
+                                       invocation.getArgument(6),
+                                       invocation.getArgument(4),
+                                       invocation.getArgument(10)))
+                .when(metadataCollection).findEntitiesByProperty(anyString(), any(), any(), any(), anyInt(), any(), any(), any(), any(), any(), anyInt());
+
+        doAnswer(invocation -> getPage(entities,
+                                       invocation.getArgument(1),
+                                       invocation.getArgument(6),
+                                       Collections.singletonList((String)invocation.getArgument(2)),
+                                       invocation.getArgument(5),
+                                       invocation.getArgument(10)))
+                .when(metadataCollection).findEntitiesByClassification(anyString(), any(), anyString(), any(), any(), anyInt(), any(), any(), any(), any(), anyInt());
+    }
+
+
+    @Test
+    public void testCountRelationshipsForEntity() throws Exception
+    {
+        assertEquals(metadataCollection.countRelationshipsForEntity(userId, anchorGUID, null, null, null), 1000);
+        assertEquals(metadataCollection.countRelationshipsForEntity(userId, anchorGUID, typeAGUID, null, null), 500);
+        assertEquals(metadataCollection.countRelationshipsForEntity(userId, anchorGUID, typeBGUID, null, null), 500);
+        assertEquals(metadataCollection.countRelationshipsForEntity(userId, anchorGUID, null, activeOnly, null), 800);
+        assertEquals(metadataCollection.countRelationshipsForEntity(userId, anchorGUID, null, deletedOnly, null), 200);
+        assertEquals(metadataCollection.countRelationshipsForEntity(userId, anchorGUID, typeAGUID, activeOnly, null), 400);
+        assertEquals(metadataCollection.countRelationshipsForEntity(userId, "unknown-guid", null, null, null), 0);
+
+        /*
+         * Counting all of the relationships reads two full pages and then finds no more.
+         */
+        verify(metadataCollection, times(3)).getRelationshipsForEntity(anyString(), eq(anchorGUID), isNull(), anyInt(), isNull(), any(), any(), any(), anyInt());
+    }
+
+
+    @Test
+    public void testCountEntitiesByProperty() throws Exception
+    {
+        assertEquals(metadataCollection.countEntitiesByProperty(userId, null, null, null, null, null, null), 1000);
+        assertEquals(metadataCollection.countEntitiesByProperty(userId, typeBGUID, null, null, null, null, null), 500);
+        assertEquals(metadataCollection.countEntitiesByProperty(userId, null, null, null, activeOnly, null, null), 800);
+        assertEquals(metadataCollection.countEntitiesByProperty(userId, typeAGUID, null, null, activeOnly, null, null), 400);
+        assertEquals(metadataCollection.countEntitiesByProperty(userId, null, null, null, null, Collections.singletonList(confidential), null), 334);
+        assertEquals(metadataCollection.countEntitiesByProperty(userId, typeAGUID, null, null, deletedOnly, Collections.singletonList(confidential), null), 34);
+    }
+
+
+    @Test
+    public void testCountEntitiesByClassification() throws Exception
+    {
+        assertEquals(metadataCollection.countEntitiesByClassification(userId, null, confidential, null, null, null, null), 334);
+        assertEquals(metadataCollection.countEntitiesByClassification(userId, typeBGUID, confidential, null, null, null, null), 167);
+        assertEquals(metadataCollection.countEntitiesByClassification(userId, null, confidential, null, null, activeOnly, null), 267);
+        assertEquals(metadataCollection.countEntitiesByClassification(userId, null, "Unknown", null, null, null, null), 0);
+    }
+
+
+    /**
+     * Return a page of the matching fixtures in the way a repository would.
+     *
+     * @param instances all of the fixtures
+     * @param typeGUID type to match; null for all
+     * @param statuses statuses to match; null for all
+     * @param classificationNames classifications the instances must have; null for any
+     * @param fromElement element number of the first instance to return
+     * @param pageSize maximum number of instances to return
+     * @param <T> type of instance
+     * @return page of instances; null if there are none
+     */
+    private <T extends InstanceHeader> List<T> getPage(List<T>              instances,
+                                                      String               typeGUID,
+                                                      List<InstanceStatus> statuses,
+                                                      List<String>         classificationNames,
+                                                      int                  fromElement,
+                                                      int                  pageSize)
+    {
+        List<T> matchingInstances = new ArrayList<>();
+
+        for (T instance : instances)
+        {
+            if (((typeGUID == null) || (typeGUID.equals(instance.getType().getTypeDefGUID()))) &&
+                ((statuses == null) || (statuses.contains(instance.getStatus()))) &&
+                ((classificationNames == null) || (hasClassifications(instance, classificationNames))))
+            {
+                matchingInstances.add(instance);
+            }
+        }
+
+        if (fromElement >= matchingInstances.size())
+        {
+            return null;
+        }
+
+        return new ArrayList<>(matchingInstances.subList(fromElement, Math.min(fromElement + pageSize, matchingInstances.size())));
+    }
+
+
+    private boolean hasClassifications(InstanceHeader instance,
+                                       List<String>   classificationNames)
+    {
+        List<String> names = new ArrayList<>();
+
+        if ((instance instanceof EntityDetail) && (((EntityDetail) instance).getClassifications() != null))
+        {
+            for (Classification classification : ((EntityDetail) instance).getClassifications())
+            {
+                names.add(classification.getName());
+            }
+        }
+
+        return names.containsAll(classificationNames);
+    }
+
+
+    private void setHeader(InstanceHeader instance, String guid, int index)
+    {
+        InstanceType type = new InstanceType();
+
+        type.setTypeDefGUID(index % 2 == 1 ? typeBGUID : typeAGUID);
+        type.setTypeDefName(index % 2 == 1 ? "TypeB" : "TypeA");
+
+        instance.setGUID(guid);
+        instance.setType(type);
+        instance.setStatus(index % 5 == 0 ? InstanceStatus.DELETED : InstanceStatus.ACTIVE);
+    }
+}
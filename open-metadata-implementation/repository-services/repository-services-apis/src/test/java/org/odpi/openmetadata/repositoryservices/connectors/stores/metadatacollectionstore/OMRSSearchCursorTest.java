@@ -0,0 +1,380 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests the continuation tokens, the saved results and the scans that build the pages of a cursor based search.
+ */
+public class OMRSSearchCursorTest
+{
+    @Test
+    public void testContinuationTokenRoundTrip() throws Exception
+    {
+        EntityDetail     entity = getEntity("guid-1", 1000L, 2000L);
+        OMRSSearchCursor cursor = new OMRSSearchCursor("cursor-1", 7, entity);
+
+        OMRSSearchCursor decoded = OMRSSearchCursor.getCursor(cursor.getContinuationToken(), "token", "test", "repository");
+
+        assertEquals(decoded.getCursorId(), "cursor-1");
+        assertEquals(decoded.getPosition(), 7);
+        assertEquals(decoded.toString(), cursor.toString());
+    }
+
+
+    @Test
+    public void testInvalidContinuationToken()
+    {
+        try
+        {
+            OMRSSearchCursor.getCursor("not a token", "token", "test", "repository");
+            fail("Invalid token accepted");
+        }
+        catch (InvalidParameterException error)
+        {
+            assertEquals(error.getReportedHTTPCode(), 400);
+        }
+    }
+
+
+    @Test
+    public void testCollectorPagesInInstanceOrder() throws Exception
+    {
+        List<EntityDetail> entities = getEntities(53);
+        List<EntityDetail> expected = new ArrayList<>(entities);
+        expected.sort(OMRSSearchCursor.instanceOrder);
+
+        /*
+         * The results are supplied in the repository's own order so every page scans all of them.
+         */
+        assertEquals(this.scanPages(entities, 10, 7, null), expected);
+    }
+
+
+    @Test
+    public void testCollectorStopsScanWhenPageFilled() throws Exception
+    {
+        List<EntityDetail> entities = new ArrayList<>();
+
+        for (int i = 0; i < 200; i++)
+        {
+            entities.add(getEntity("guid-" + (1000 + i), 1000L, 2000L + (i / 2)));
+        }
+
+        List<Integer> chunksPerPage = new ArrayList<>();
+
+        assertEquals(this.scanPages(entities, 10, 7, chunksPerPage), entities);
+        assertEquals(chunksPerPage.size(), 20);
+
+        /*
+         * Each page reads from the chunk holding the end of the previous page (or the chunk before it, if that
+         * chunk starts with an instance changed at the same time) to the chunk after the end of this page, so
+         * the later pages cost no more than the first.
+         */
+        for (int chunkCount : chunksPerPage)
+        {
+            assertTrue(chunkCount <= 5, "Chunks read for one page: " + chunkCount);
+        }
+    }
+
+
+    @Test
+    public void testCollectorStepsBackFromInvalidPosition() throws Exception
+    {
+        List<EntityDetail> entities = new ArrayList<>();
+
+        for (int i = 0; i < 30; i++)
+        {
+            entities.add(getEntity("guid-" + (1000 + i), 1000L, 2000L + i));
+        }
+
+        /*
+         * The cursor resumes after entity 4 but claims the scan can start at element 14, which holds an entity
+         * that has not been returned.
+         */
+        OMRSSearchCursor                        cursor    = new OMRSSearchCursor(null, 14, entities.get(4));
+        OMRSSearchCursorCollector<EntityDetail> collector = new OMRSSearchCursorCollector<>(cursor, 5);
+
+        assertEquals(collector.getNextElement(), 14);
+
+        while (collector.addInstances(getChunk(entities, collector.getNextElement(), 7), 7))
+        {
+            /*
+             * Keep supplying chunks.
+             */
+        }
+
+        assertEquals(collector.getPage(), entities.subList(5, 10));
+    }
+
+
+    @Test
+    public void testSavedResultsAndDiscardedResultsGiveTheSamePages() throws Exception
+    {
+        List<EntityDetail> entities = getEntities(25);
+        List<EntityDetail> expected = new ArrayList<>(entities);
+        expected.sort(OMRSSearchCursor.instanceOrder);
+
+        assertEquals(this.pageThrough(new OMRSSearchCursorStore<>(), entities), expected);
+
+        /*
+         * A store that keeps no results runs the search for every page.
+         */
+        assertEquals(this.pageThrough(new OMRSSearchCursorStore<>(0, 0), entities), expected);
+    }
+
+
+    @Test
+    public void testResultsDiscardedAfterLastPage() throws Exception
+    {
+        OMRSSearchCursorStore<EntityDetail> store     = new OMRSSearchCursorStore<>();
+        int                                 queryHash = OMRSSearchCursorStore.getQueryHash("testUser", "test");
+        OMRSSearchCursor                    cursor    = store.saveResults(new OMRSSearchCursor(), queryHash, getEntities(3));
+
+        assertNotNull(store.getResults(cursor, queryHash, "token", "test", "repository"));
+
+        List<EntityDetail> page            = new ArrayList<>();
+        OMRSSearchCursor   followingCursor = cursor.fillNextPage(store.getResults(cursor, queryHash, "token", "test", "repository"), 5, page);
+
+        assertEquals(page.size(), 3);
+        assertNull(store.getContinuationToken(cursor, followingCursor));
+        assertNull(store.getResults(cursor, queryHash, "token", "test", "repository"));
+    }
+
+
+    @Test
+    public void testSavedResultsOnlyReturnedForTheSameQuery() throws Exception
+    {
+        OMRSSearchCursorStore<EntityDetail> store     = new OMRSSearchCursorStore<>();
+        int                                 queryHash = OMRSSearchCursorStore.getQueryHash("testUser", "test", "type1", null);
+        OMRSSearchCursor                    cursor    = store.saveResults(new OMRSSearchCursor(), queryHash, getEntities(3));
+
+        assertEquals(OMRSSearchCursorStore.getQueryHash("testUser", "test", "type1", null), queryHash);
+        assertNotNull(store.getResults(cursor, queryHash, "token", "test", "repository"));
+
+        int[] otherQueryHashes = { OMRSSearchCursorStore.getQueryHash("otherUser", "test", "type1", null),
+                                   OMRSSearchCursorStore.getQueryHash("testUser", "test", "type2", null),
+                                   OMRSSearchCursorStore.getQueryHash("testUser", "other", "type1", null) };
+
+        for (int otherQueryHash : otherQueryHashes)
+        {
+            try
+            {
+                store.getResults(cursor, otherQueryHash, "token", "test", "repository");
+                fail("Token accepted for a different query");
+            }
+            catch (InvalidParameterException error)
+            {
+                assertEquals(error.getReportedHTTPCode(), 400);
+            }
+        }
+    }
+
+
+    @Test
+    public void testChangesSinceCursorIncludesInstancesAtTheTime() throws Exception
+    {
+        List<EntityDetail> entities = getEntities(30);
+
+        OMRSSearchCursorCollector<EntityDetail> collector = new OMRSSearchCursorCollector<>(OMRSSearchCursor.getCursorForChangesSince(new Date(1002L)), 0);
+
+        assertFalse(collector.addInstances(entities, entities.size() + 1));
+
+        int expectedCount = 0;
+
+        for (EntityDetail entity : entities)
+        {
+            if (OMRSSearchCursor.getSequencingTime(entity) >= 1002L)
+            {
+                expectedCount++;
+            }
+        }
+
+        List<EntityDetail> page = collector.getPage();
+
+        assertEquals(page.size(), expectedCount);
+
+        for (EntityDetail entity : page)
+        {
+            assertTrue(OMRSSearchCursor.getSequencingTime(entity) >= 1002L);
+        }
+
+        /*
+         * The token of the cursor survives being passed with the first page.
+         */
+        OMRSSearchCursor decoded = OMRSSearchCursor.getCursor(OMRSSearchCursor.getCursorForChangesSince(new Date(1002L)).getContinuationToken(),
+                                                              "token",
+                                                              "test",
+                                                              "repository");
+
+        assertEquals(decoded.toString(), OMRSSearchCursor.getCursorForChangesSince(new Date(1002L)).toString());
+        assertEquals(OMRSSearchCursor.getCursorForChangesSince(null).toString(), new OMRSSearchCursor().toString());
+    }
+
+
+    /**
+     * Page through a search in the way that the default implementation does, supplying the chunks that the
+     * collector requests.
+     *
+     * @param entities results of the search in the repository's order
+     * @param pageSize size of each page
+     * @param chunkSize size of each chunk
+     * @param chunksPerPage list to add the number of chunks read for each page to; may be null
+     * @return all of the returned entities
+     * @throws Exception bad token
+     */
+    private List<EntityDetail> scanPages(List<EntityDetail> entities,
+                                         int                pageSize,
+                                         int                chunkSize,
+                                         List<Integer>      chunksPerPage) throws Exception
+    {
+        List<EntityDetail> returned = new ArrayList<>();
+        String             token    = null;
+
+        do
+        {
+            OMRSSearchCursor                        cursor     = OMRSSearchCursor.getCursor(token, "token", "test", "repository");
+            OMRSSearchCursorCollector<EntityDetail> collector  = new OMRSSearchCursorCollector<>(cursor, pageSize);
+            int                                     chunkCount = 0;
+            List<EntityDetail>                      chunk;
+
+            do
+            {
+                chunk = getChunk(entities, collector.getNextElement(), chunkSize);
+                chunkCount++;
+            }
+            while (collector.addInstances(chunk, chunkSize));
+
+            if (chunksPerPage != null)
+            {
+                chunksPerPage.add(chunkCount);
+            }
+
+            returned.addAll(collector.getPage());
+            token = collector.getContinuationToken();
+        }
+        while (token != null);
+
+        return returned;
+    }
+
+
+    /**
+     * Return a chunk of the results in the way that an offset based search does.
+     *
+     * @param entities results of the search
+     * @param fromElement first element to return
+     * @param chunkSize maximum number of elements to return
+     * @return list of entities or null
+     */
+    private List<EntityDetail> getChunk(List<EntityDetail> entities,
+                                        int                fromElement,
+                                        int                chunkSize)
+    {
+        if (fromElement >= entities.size())
+        {
+            return null;
+        }
+
+        return new ArrayList<>(entities.subList(fromElement, Math.min(fromElement + chunkSize, entities.size())));
+    }
+
+
+    /**
+     * Page through a search in the way that a repository with a server-side cursor does.
+     *
+     * @param store saved results
+     * @param entities results of the search
+     * @return all of the returned entities
+     * @throws Exception bad token
+     */
+    private List<EntityDetail> pageThrough(OMRSSearchCursorStore<EntityDetail> store,
+                                           List<EntityDetail>                  entities) throws Exception
+    {
+        List<EntityDetail> returned = new ArrayList<>();
+        String             token    = null;
+
+        do
+        {
+            OMRSSearchCursor   cursor    = OMRSSearchCursor.getCursor(token, "token", "test", "repository");
+            int                queryHash = OMRSSearchCursorStore.getQueryHash("testUser", "test");
+            List<EntityDetail> results   = store.getResults(cursor, queryHash, "token", "test", "repository");
+
+            if (results == null)
+            {
+                results = new ArrayList<>();
+
+                for (EntityDetail entity : entities)
+                {
+                    if (cursor.isBefore(entity))
+                    {
+                        results.add(entity);
+                    }
+                }
+
+                cursor = store.saveResults(cursor, queryHash, results);
+            }
+
+            List<EntityDetail> page = new ArrayList<>();
+
+            token = store.getContinuationToken(cursor, cursor.fillNextPage(results, 4, page));
+            returned.addAll(page);
+        }
+        while (token != null);
+
+        return returned;
+    }
+
+
+    /**
+     * Return entities with repeated update times so the guid is needed to order them.
+     *
+     * @param count number of entities
+     * @return shuffled list of entities
+     */
+    private List<EntityDetail> getEntities(int count)
+    {
+        List<EntityDetail> entities = new ArrayList<>();
+
+        for (int i = 0; i < count; i++)
+        {
+            entities.add(getEntity("guid-" + i, 1000L, (i % 3 == 0) ? null : 1000L + (i % 5)));
+        }
+
+        Collections.shuffle(entities, new Random(42));
+
+        return entities;
+    }
+
+
+    private EntityDetail getEntity(String guid, Long createTime, Long updateTime)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+        entity.setCreateTime(new Date(createTime));
+
+        if (updateTime != null)
+        {
+            entity.setUpdateTime(new Date(updateTime));
+        }
+
+        return entity;
+    }
+}
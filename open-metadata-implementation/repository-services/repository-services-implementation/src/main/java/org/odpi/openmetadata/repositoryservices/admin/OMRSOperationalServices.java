@@ -42,6 +42,7 @@ import org.odpi.openmetadata.repositoryservices.metadatahighway.OMRSMetadataHigh
 import org.odpi.openmetadata.repositoryservices.rest.server.OMRSRepositoryRESTServices;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 
@@ -755,6 +756,22 @@ public class OMRSOperationalServices
     }
 
 
+    /**
+     * Ask the other members of the cohorts for the instances that have changed since a point in time so the
+     * local repository can catch up after an outage, or after joining the cohorts late.  The request has no
+     * effect if the server has no local repository.
+     *
+     * @param changedSinceTime only instances changed at or after this time are requested; null means all instances
+     */
+    public void requestCohortCatchUp(Date    changedSinceTime)
+    {
+        if (localRepositoryConnector != null)
+        {
+            localRepositoryConnector.requestCatchUp(changedSinceTime);
+        }
+    }
+
+
     /**
      * Shutdown the Open Metadata Repository Services.
      *
@@ -839,6 +856,11 @@ public class OMRSOperationalServices
                            auditCode.getSystemAction(),
                            auditCode.getUserAction());
 
+        /*
+         * Flush any audit log records still buffered for asynchronous audit log stores.
+         */
+        auditLogDestination.disconnect();
+
         return true;
     }
 
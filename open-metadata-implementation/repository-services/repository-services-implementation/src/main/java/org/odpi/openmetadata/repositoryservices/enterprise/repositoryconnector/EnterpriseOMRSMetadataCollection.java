@@ -4,6 +4,7 @@ package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector;
 
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollectionBase;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.InstancePageAccumulator;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control.FederationControl;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control.ParallelFederationControl;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control.SequentialFederationControl;
@@ -1242,6 +1243,210 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return a page of the entities that match the supplied properties according to the match criteria.  The
+     * request is passed to each repository in the cohort and their pages are merged in instance order.  The
+     * continuation token records where each repository has got to, so on later pages only the repositories
+     * that may have more results are called.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityTypeGUID String unique identifier for the entity type of interest (null means any entity type).
+     * @param matchProperties Optional list of entity properties to match (where any String property's value should
+     *                        be defined as a Java regular expression, even if it should be an exact match).
+     * @param matchCriteria Enum defining how the match properties should be matched to the entities in the repository.
+     * @param continuationToken token returned with the previous page.  Null means start from the first entity.
+     * @param limitResultsByStatus By default, entities in all statuses are returned.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                             status values.
+     * @param limitResultsByClassification List of classifications that must be present on all returned entities.
+     * @param asOfTime Requests a historical query of the entity.  Null means return the present values.
+     * @param pageSize the maximum number of result entities that can be returned on this request.  Zero means
+     *                 unrestricted return results size.
+     * @return a page of entities and the continuation token for the next page; null means no repository
+     * returned results.
+     * @throws InvalidParameterException a parameter, or the continuation token, is invalid.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  entity.
+     * @throws PagingErrorException the paging parameters are set up incorrectly.
+     * @throws FunctionNotSupportedException the repository does not support one of the provided parameters.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public EntityDetailPage findEntityPageByProperty(String                    userId,
+                                                     String                    entityTypeGUID,
+                                                     InstanceProperties        matchProperties,
+                                                     MatchCriteria             matchCriteria,
+                                                     String                    continuationToken,
+                                                     List<InstanceStatus>      limitResultsByStatus,
+                                                     List<String>              limitResultsByClassification,
+                                                     Date                      asOfTime,
+                                                     int                       pageSize) throws InvalidParameterException,
+                                                                                                RepositoryErrorException,
+                                                                                                TypeErrorException,
+                                                                                                PropertyErrorException,
+                                                                                                PagingErrorException,
+                                                                                                FunctionNotSupportedException,
+                                                                                                UserNotAuthorizedException
+    {
+        final String  methodName = "findEntityPageByProperty";
+        final String  tokenParameterName = "continuationToken";
+
+        /*
+         * Validate parameters
+         */
+        super.findEntitiesByPropertyParameterValidation(userId,
+                                                        entityTypeGUID,
+                                                        matchProperties,
+                                                        matchCriteria,
+                                                        0,
+                                                        limitResultsByStatus,
+                                                        limitResultsByClassification,
+                                                        asOfTime,
+                                                        null,
+                                                        null,
+                                                        pageSize);
+
+        Map<String, String> requestedTokens = InstancePageAccumulator.getRequestedTokens(continuationToken,
+                                                                                          tokenParameterName,
+                                                                                          methodName,
+                                                                                          repositoryName);
+
+        /*
+         * Validation complete, ok to continue with request
+         */
+        List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
+
+        FederationControl                 federationControl = new ParallelFederationControl(userId, cohortConnectors, methodName);
+        FindEntityPageByPropertyExecutor  executor          = new FindEntityPageByPropertyExecutor(userId,
+                                                                                                   entityTypeGUID,
+                                                                                                   matchProperties,
+                                                                                                   matchCriteria,
+                                                                                                   requestedTokens,
+                                                                                                   limitResultsByStatus,
+                                                                                                   limitResultsByClassification,
+                                                                                                   asOfTime,
+                                                                                                   pageSize,
+                                                                                                   localMetadataCollectionId,
+                                                                                                   auditLog,
+                                                                                                   repositoryValidator,
+                                                                                                   methodName);
+
+        federationControl.executeCommand(executor);
+
+        return executor.getResults();
+    }
+
+
+    /**
+     * Return a list of entities that match the supplied properties according to the match criteria and are
+     * visible through the supplied governance zones.  The zones are passed to each repository in the cohort
+     * so that they are applied in the repository queries.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityTypeGUID String unique identifier for the entity type of interest (null means any entity type).
+     * @param matchProperties Optional list of entity properties to match (where any String property's value should
+     *                        be defined as a Java regular expression, even if it should be an exact match).
+     * @param matchCriteria Enum defining how the match properties should be matched to the entities in the repository.
+     * @param fromEntityElement the starting element number of the visible entities to return.
+     *                                This is used when retrieving elements
+     *                                beyond the first page of results. Zero means start from the first element.
+     * @param limitResultsByStatus By default, entities in all statuses are returned.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                             status values.
+     * @param limitResultsByClassification List of classifications that must be present on all returned entities.
+     * @param limitResultsByZone List of governance zones that the returned entities must be visible through.
+     *                           Null means that the results are not restricted by zone.
+     * @param asOfTime Requests a historical query of the entity.  Null means return the present values.
+     * @param sequencingProperty String name of the entity property that is to be used to sequence the results.
+     *                           Null means do not sequence on a property name (see SequencingOrder).
+     * @param sequencingOrder Enum defining how the results should be ordered.
+     * @param pageSize the maximum number of result entities that can be returned on this request.  Zero means
+     *                 unrestricted return results size.
+     * @return a list of entities matching the supplied criteria; null means no matching entities in the metadata
+     * collection.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  entity.
+     * @throws PagingErrorException the paging/sequencing parameters are set up incorrectly.
+     * @throws FunctionNotSupportedException the repository does not support one of the provided parameters.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     * @see OMRSRepositoryHelper#getExactMatchRegex(String)
+     */
+    public List<EntityDetail> findEntitiesByProperty(String                    userId,
+                                                     String                    entityTypeGUID,
+                                                     InstanceProperties        matchProperties,
+                                                     MatchCriteria             matchCriteria,
+                                                     int                       fromEntityElement,
+                                                     List<InstanceStatus>      limitResultsByStatus,
+                                                     List<String>              limitResultsByClassification,
+                                                     List<String>              limitResultsByZone,
+                                                     Date                      asOfTime,
+                                                     String                    sequencingProperty,
+                                                     SequencingOrder           sequencingOrder,
+                                                     int                       pageSize) throws InvalidParameterException,
+                                                                                                RepositoryErrorException,
+                                                                                                TypeErrorException,
+                                                                                                PropertyErrorException,
+                                                                                                PagingErrorException,
+                                                                                                FunctionNotSupportedException,
+                                                                                                UserNotAuthorizedException
+    {
+        final String  methodName                   = "findEntitiesByProperty";
+
+        /*
+         * Validate parameters
+         */
+        super.findEntitiesByPropertyParameterValidation(userId,
+                                                        entityTypeGUID,
+                                                        matchProperties,
+                                                        matchCriteria,
+                                                        fromEntityElement,
+                                                        limitResultsByStatus,
+                                                        limitResultsByClassification,
+                                                        asOfTime,
+                                                        sequencingProperty,
+                                                        sequencingOrder,
+                                                        pageSize);
+
+        /*
+         * Validation complete, ok to continue with request
+         *
+         * The list of cohort connectors are retrieved for each request to ensure that any changes in
+         * the shape of the cohort are reflected immediately.
+         */
+        List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
+
+        FederationControl                 federationControl = new ParallelFederationControl(userId, cohortConnectors, methodName);
+        FindEntitiesByPropertyExecutor    executor          = new FindEntitiesByPropertyExecutor(userId,
+                                                                                                 entityTypeGUID,
+                                                                                                 matchProperties,
+                                                                                                 matchCriteria,
+                                                                                                 fromEntityElement,
+                                                                                                 limitResultsByStatus,
+                                                                                                 limitResultsByClassification,
+                                                                                                 limitResultsByZone,
+                                                                                                 asOfTime,
+                                                                                                 sequencingProperty,
+                                                                                                 sequencingOrder,
+                                                                                                 pageSize,
+                                                                                                 localMetadataCollectionId,
+                                                                                                 auditLog,
+                                                                                                 repositoryValidator,
+                                                                                                 methodName);
+
+        federationControl.executeCommand(executor);
+
+        return executor.getResults(enterpriseParentConnector);
+    }
+
+
     /**
      * Return a list of entities that have the requested type of classifications attached.
      *
@@ -1460,6 +1665,99 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return a page of the entities whose string based property values match the search criteria.  The request
+     * is passed to each repository in the cohort and their pages are merged in instance order.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityTypeGUID GUID of the type of entity to search for. Null means all types will
+     *                       be searched (could be slow so not recommended).
+     * @param searchCriteria String Java regular expression used to match against any of the String property values
+     *                       within the entities of the supplied type, even if it should be an exact match.
+     *                       (Retrieve all entities of the supplied type if this is either null or an empty string.)
+     * @param continuationToken token returned with the previous page.  Null means start from the first entity.
+     * @param limitResultsByStatus By default, entities in all statuses are returned.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                             status values.
+     * @param limitResultsByClassification List of classifications that must be present on all returned entities.
+     * @param asOfTime Requests a historical query of the entity.  Null means return the present values.
+     * @param pageSize the maximum number of result entities that can be returned on this request.  Zero means
+     *                 unrestricted return results size.
+     * @return a page of entities and the continuation token for the next page; null means no repository
+     * returned results.
+     * @throws InvalidParameterException a parameter, or the continuation token, is invalid.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws PropertyErrorException the sequencing property specified is not valid for any of the requested types of
+     *                                  entity.
+     * @throws PagingErrorException the paging parameters are set up incorrectly.
+     * @throws FunctionNotSupportedException the repository does not support one of the provided parameters.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public EntityDetailPage findEntityPageByPropertyValue(String                userId,
+                                                          String                entityTypeGUID,
+                                                          String                searchCriteria,
+                                                          String                continuationToken,
+                                                          List<InstanceStatus>  limitResultsByStatus,
+                                                          List<String>          limitResultsByClassification,
+                                                          Date                  asOfTime,
+                                                          int                   pageSize) throws InvalidParameterException,
+                                                                                                 TypeErrorException,
+                                                                                                 RepositoryErrorException,
+                                                                                                 PropertyErrorException,
+                                                                                                 PagingErrorException,
+                                                                                                 FunctionNotSupportedException,
+                                                                                                 UserNotAuthorizedException
+    {
+        final String  methodName = "findEntityPageByPropertyValue";
+        final String  tokenParameterName = "continuationToken";
+
+        /*
+         * Validate parameters
+         */
+        super.findEntitiesByPropertyValueParameterValidation(userId,
+                                                             entityTypeGUID,
+                                                             searchCriteria,
+                                                             0,
+                                                             limitResultsByStatus,
+                                                             limitResultsByClassification,
+                                                             asOfTime,
+                                                             null,
+                                                             null,
+                                                             pageSize);
+
+        Map<String, String> requestedTokens = InstancePageAccumulator.getRequestedTokens(continuationToken,
+                                                                                          tokenParameterName,
+                                                                                          methodName,
+                                                                                          repositoryName);
+
+        /*
+         * Validation complete, ok to continue with request
+         */
+        List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
+
+        FederationControl                      federationControl = new ParallelFederationControl(userId, cohortConnectors, methodName);
+        FindEntityPageByPropertyValueExecutor  executor          = new FindEntityPageByPropertyValueExecutor(userId,
+                                                                                                             entityTypeGUID,
+                                                                                                             searchCriteria,
+                                                                                                             requestedTokens,
+                                                                                                             limitResultsByStatus,
+                                                                                                             limitResultsByClassification,
+                                                                                                             asOfTime,
+                                                                                                             pageSize,
+                                                                                                             localMetadataCollectionId,
+                                                                                                             auditLog,
+                                                                                                             repositoryValidator,
+                                                                                                             methodName);
+
+        federationControl.executeCommand(executor);
+
+        return executor.getResults();
+    }
+
+
     /**
      * Returns a boolean indicating if the relationship is stored in the metadata collection.
      *
@@ -1709,6 +2007,98 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return a page of the relationships that match the requested properties by the matching criteria.  The
+     * request is passed to each repository in the cohort and their pages are merged in instance order.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param relationshipTypeGUID unique identifier (guid) for the relationship's type.  Null means all types
+     *                             (but may be slow so not recommended).
+     * @param matchProperties Optional list of relationship properties to match (where any String property's value should
+     *                        be defined as a Java regular expression, even if it should be an exact match).
+     * @param matchCriteria Enum defining how the properties should be matched to the relationships in the repository.
+     * @param continuationToken token returned with the previous page.  Null means start from the first relationship.
+     * @param limitResultsByStatus By default, relationships in all statuses are returned.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                             status values.
+     * @param asOfTime Requests a historical query of the relationships.  Null means return the present values.
+     * @param pageSize the maximum number of result relationships that can be returned on this request.  Zero means
+     *                 unrestricted return results size.
+     * @return a page of relationships and the continuation token for the next page; null means no repository
+     * returned results.
+     * @throws InvalidParameterException a parameter, or the continuation token, is invalid.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  relationships.
+     * @throws PagingErrorException the paging parameters are set up incorrectly.
+     * @throws FunctionNotSupportedException the repository does not support one of the provided parameters.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public RelationshipPage findRelationshipPageByProperty(String                    userId,
+                                                           String                    relationshipTypeGUID,
+                                                           InstanceProperties        matchProperties,
+                                                           MatchCriteria             matchCriteria,
+                                                           String                    continuationToken,
+                                                           List<InstanceStatus>      limitResultsByStatus,
+                                                           Date                      asOfTime,
+                                                           int                       pageSize) throws InvalidParameterException,
+                                                                                                      TypeErrorException,
+                                                                                                      RepositoryErrorException,
+                                                                                                      PropertyErrorException,
+                                                                                                      PagingErrorException,
+                                                                                                      FunctionNotSupportedException,
+                                                                                                      UserNotAuthorizedException
+    {
+        final String  methodName = "findRelationshipPageByProperty";
+        final String  tokenParameterName = "continuationToken";
+
+        /*
+         * Validate parameters
+         */
+        super.findRelationshipsByPropertyParameterValidation(userId,
+                                                             relationshipTypeGUID,
+                                                             matchProperties,
+                                                             matchCriteria,
+                                                             0,
+                                                             limitResultsByStatus,
+                                                             asOfTime,
+                                                             null,
+                                                             null,
+                                                             pageSize);
+
+        Map<String, String> requestedTokens = InstancePageAccumulator.getRequestedTokens(continuationToken,
+                                                                                          tokenParameterName,
+                                                                                          methodName,
+                                                                                          repositoryName);
+
+        /*
+         * Validation complete, ok to continue with request
+         */
+        List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
+
+        FederationControl                       federationControl = new ParallelFederationControl(userId, cohortConnectors, methodName);
+        FindRelationshipPageByPropertyExecutor  executor          = new FindRelationshipPageByPropertyExecutor(userId,
+                                                                                                               relationshipTypeGUID,
+                                                                                                               matchProperties,
+                                                                                                               matchCriteria,
+                                                                                                               requestedTokens,
+                                                                                                               limitResultsByStatus,
+                                                                                                               asOfTime,
+                                                                                                               pageSize,
+                                                                                                               localMetadataCollectionId,
+                                                                                                               auditLog,
+                                                                                                               repositoryValidator,
+                                                                                                               methodName);
+
+        federationControl.executeCommand(executor);
+
+        return executor.getResults();
+    }
+
+
 
     /**
      * Return a list of relationships whose string based property values match the search criteria.  The
@@ -2314,6 +2704,248 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
 
 
 
+    /**
+     * Return the metadata collection of the only repository in the cohort, or null if there are several.
+     * Counts can only be delegated to the repositories when there is a single repository because a reference
+     * copy of an instance may be stored in more than one repository, and adding up the counts from each
+     * repository would count it more than once.
+     *
+     * @param methodName calling method
+     * @return metadata collection or null
+     * @throws RepositoryErrorException there are no repositories available
+     */
+    private OMRSMetadataCollection getSingleMetadataCollection(String methodName) throws RepositoryErrorException
+    {
+        List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
+
+        if (cohortConnectors.size() == 1)
+        {
+            return cohortConnectors.get(0).getMetadataCollection();
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the number of relationships for a specific entity.  If there are several repositories in the cohort,
+     * the relationships are retrieved and deduplicated before they are counted.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityGUID String unique identifier for the entity.
+     * @param relationshipTypeGUID String GUID of the the type of relationship required (null for all).
+     * @param limitResultsByStatus By default, relationships in all statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the count to.  Null means all
+     *                             status values.
+     * @param asOfTime Requests a historical count of the relationships for the entity.  Null means count the
+     *                 present values.
+     * @return count of matching relationships
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     * @throws EntityNotKnownException the requested entity instance is not known in the metadata collection.
+     * @throws PropertyErrorException there is a problem with one of the other parameters.
+     * @throws PagingErrorException there is a problem retrieving the relationships to count.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public int countRelationshipsForEntity(String                     userId,
+                                           String                     entityGUID,
+                                           String                     relationshipTypeGUID,
+                                           List<InstanceStatus>       limitResultsByStatus,
+                                           Date                       asOfTime) throws InvalidParameterException,
+                                                                                       TypeErrorException,
+                                                                                       RepositoryErrorException,
+                                                                                       EntityNotKnownException,
+                                                                                       PropertyErrorException,
+                                                                                       PagingErrorException,
+                                                                                       FunctionNotSupportedException,
+                                                                                       UserNotAuthorizedException
+    {
+        final String  methodName = "countRelationshipsForEntity";
+
+        /*
+         * Validate parameters
+         */
+        super.countRelationshipsForEntityParameterValidation(userId,
+                                                             entityGUID,
+                                                             relationshipTypeGUID,
+                                                             limitResultsByStatus,
+                                                             asOfTime);
+
+        OMRSMetadataCollection metadataCollection = this.getSingleMetadataCollection(methodName);
+
+        if (metadataCollection != null)
+        {
+            return metadataCollection.countRelationshipsForEntity(userId,
+                                                                  entityGUID,
+                                                                  relationshipTypeGUID,
+                                                                  limitResultsByStatus,
+                                                                  asOfTime);
+        }
+
+        return super.countRelationshipsForEntity(userId, entityGUID, relationshipTypeGUID, limitResultsByStatus, asOfTime);
+    }
+
+
+    /**
+     * Return the number of entities that match the supplied properties according to the match criteria.
+     * If there are several repositories in the cohort, the entities are retrieved and deduplicated before
+     * they are counted.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityTypeGUID String unique identifier for the entity type of interest (null means any entity type).
+     * @param matchProperties Optional list of entity properties to match (where any String property's value should
+     *                        be defined as a Java regular expression, even if it should be an exact match).
+     * @param matchCriteria Enum defining how the properties should be matched to the entities in the repository.
+     * @param limitResultsByStatus By default, entities in all statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the count to.  Null means all
+     *                             status values.
+     * @param limitResultsByClassification List of classifications that must be present on all counted entities.
+     * @param asOfTime Requests a historical count of the entities.  Null means count the present values.
+     * @return count of matching entities
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  entity.
+     * @throws PagingErrorException there is a problem retrieving the entities to count.
+     * @throws FunctionNotSupportedException the repository does not support one of the provided parameters.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public int countEntitiesByProperty(String                    userId,
+                                       String                    entityTypeGUID,
+                                       InstanceProperties        matchProperties,
+                                       MatchCriteria             matchCriteria,
+                                       List<InstanceStatus>      limitResultsByStatus,
+                                       List<String>              limitResultsByClassification,
+                                       Date                      asOfTime) throws InvalidParameterException,
+                                                                                  RepositoryErrorException,
+                                                                                  TypeErrorException,
+                                                                                  PropertyErrorException,
+                                                                                  PagingErrorException,
+                                                                                  FunctionNotSupportedException,
+                                                                                  UserNotAuthorizedException
+    {
+        final String  methodName = "countEntitiesByProperty";
+
+        /*
+         * Validate parameters
+         */
+        super.countEntitiesByPropertyParameterValidation(userId,
+                                                         entityTypeGUID,
+                                                         matchProperties,
+                                                         matchCriteria,
+                                                         limitResultsByStatus,
+                                                         limitResultsByClassification,
+                                                         asOfTime);
+
+        OMRSMetadataCollection metadataCollection = this.getSingleMetadataCollection(methodName);
+
+        if (metadataCollection != null)
+        {
+            return metadataCollection.countEntitiesByProperty(userId,
+                                                              entityTypeGUID,
+                                                              matchProperties,
+                                                              matchCriteria,
+                                                              limitResultsByStatus,
+                                                              limitResultsByClassification,
+                                                              asOfTime);
+        }
+
+        return super.countEntitiesByProperty(userId,
+                                             entityTypeGUID,
+                                             matchProperties,
+                                             matchCriteria,
+                                             limitResultsByStatus,
+                                             limitResultsByClassification,
+                                             asOfTime);
+    }
+
+
+    /**
+     * Return the number of entities that have the requested type of classification attached.
+     * If there are several repositories in the cohort, the entities are retrieved and deduplicated before
+     * they are counted.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityTypeGUID unique identifier for the type of entity requested.  Null means any type of entity
+     *                       (but could be slow so not recommended.
+     * @param classificationName name of the classification, note a null is not valid.
+     * @param matchClassificationProperties list of classification properties used to narrow the search (where any String
+     *                                      property's value should be defined as a Java regular expression, even if it
+     *                                      should be an exact match).
+     * @param matchCriteria Enum defining how the properties should be matched to the classifications in the repository.
+     * @param limitResultsByStatus By default, entities in all statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the count to.  Null means all
+     *                             status values.
+     * @param asOfTime Requests a historical count of the entities.  Null means count the present values.
+     * @return count of matching entities
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws ClassificationErrorException the classification request is not known to the metadata collection.
+     * @throws PropertyErrorException the properties specified are not valid for the requested type of
+     *                                  classification.
+     * @throws PagingErrorException there is a problem retrieving the entities to count.
+     * @throws FunctionNotSupportedException the repository does not support one of the provided parameters.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public int countEntitiesByClassification(String                    userId,
+                                             String                    entityTypeGUID,
+                                             String                    classificationName,
+                                             InstanceProperties        matchClassificationProperties,
+                                             MatchCriteria             matchCriteria,
+                                             List<InstanceStatus>      limitResultsByStatus,
+                                             Date                      asOfTime) throws InvalidParameterException,
+                                                                                        TypeErrorException,
+                                                                                        RepositoryErrorException,
+                                                                                        ClassificationErrorException,
+                                                                                        PropertyErrorException,
+                                                                                        PagingErrorException,
+                                                                                        FunctionNotSupportedException,
+                                                                                        UserNotAuthorizedException
+    {
+        final String  methodName = "countEntitiesByClassification";
+
+        /*
+         * Validate parameters
+         */
+        super.countEntitiesByClassificationParameterValidation(userId,
+                                                               entityTypeGUID,
+                                                               classificationName,
+                                                               matchClassificationProperties,
+                                                               matchCriteria,
+                                                               limitResultsByStatus,
+                                                               asOfTime);
+
+        OMRSMetadataCollection metadataCollection = this.getSingleMetadataCollection(methodName);
+
+        if (metadataCollection != null)
+        {
+            return metadataCollection.countEntitiesByClassification(userId,
+                                                                    entityTypeGUID,
+                                                                    classificationName,
+                                                                    matchClassificationProperties,
+                                                                    matchCriteria,
+                                                                    limitResultsByStatus,
+                                                                    asOfTime);
+        }
+
+        return super.countEntitiesByClassification(userId,
+                                                   entityTypeGUID,
+                                                   classificationName,
+                                                   matchClassificationProperties,
+                                                   matchCriteria,
+                                                   limitResultsByStatus,
+                                                   asOfTime);
+    }
+
+
+
     /* ======================================================
      * Group 4: Maintaining entity and relationship instances
      */
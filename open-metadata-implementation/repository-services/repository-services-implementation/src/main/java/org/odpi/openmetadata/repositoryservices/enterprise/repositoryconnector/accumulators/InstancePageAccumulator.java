@@ -0,0 +1,482 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators;
+
+
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSSearchCursor;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * InstancePageAccumulator merges the pages returned by each open metadata repository for a cursor based search.
+ * Each repository returns its results in instance order (the time of the last change to each instance and then
+ * its guid) so the pages are merged in that order, duplicates are removed by choosing the latest version, and the
+ * first page of the merged results is returned.
+ * <p>
+ * The continuation token returned to the caller records a continuation token for each repository that may have
+ * more results.  For a repository whose page was only partly used, the token resumes after the last of its
+ * instances that was returned, so no instances are skipped or repeated.  As with the other enterprise
+ * queries, a repository that fails contributes no results, and it is not called for the following pages.
+ * <p>
+ * A repository that does not implement the cursor based searches itself is paged by element number using its
+ * offset based search, rather than its default cursor implementation that scans its results for every page.
+ * Its token records the element number of the first of its instances that has not been returned and the
+ * last of its instances that was returned.
+ * <p>
+ * This class may be called simultaneously from many different threads so it must be thread-safe.
+ *
+ * @param <T> type of instance returned by the search
+ */
+public class InstancePageAccumulator<T extends InstanceHeader> extends QueryInstanceAccumulatorBase
+{
+    private static final String memberSeparator = ";";
+    private static final String tokenSeparator  = "=";
+
+    private Map<String, String>          requestedTokens;
+    private Map<String, List<T>>         memberPages      = new HashMap<>();
+    private Map<String, String>          memberNextTokens = new HashMap<>();
+    private Map<String, Map<T, Integer>> memberElements   = new HashMap<>();
+    private Map<String, String>          followingTokens  = null;
+
+
+    /**
+     * Construct an accumulator for a page of a cursor based search.
+     *
+     * @param requestedTokens continuation tokens for each repository decoded from the caller's token;
+     *                        null means this is the first page and all repositories are called
+     * @param localMetadataCollectionId collection Id of local repository - null means no local repository
+     * @param auditLog audit log provides destination for log messages
+     * @param repositoryValidator validator provides common validation routines
+     */
+    public InstancePageAccumulator(Map<String, String>     requestedTokens,
+                                   String                  localMetadataCollectionId,
+                                   OMRSAuditLog            auditLog,
+                                   OMRSRepositoryValidator repositoryValidator)
+    {
+        super(localMetadataCollectionId, auditLog, repositoryValidator);
+
+        this.requestedTokens = requestedTokens;
+    }
+
+
+    /**
+     * Return whether the repository should be called for this page.  On later pages, only the repositories that
+     * may have more results are called.
+     *
+     * @param metadataCollectionId unique identifier for the repository's metadata collection
+     * @return boolean flag
+     */
+    public boolean isRepositoryRequested(String   metadataCollectionId)
+    {
+        return (requestedTokens == null) || (requestedTokens.containsKey(metadataCollectionId));
+    }
+
+
+    /**
+     * Return the continuation token to pass to the repository.
+     *
+     * @param metadataCollectionId unique identifier for the repository's metadata collection
+     * @return continuation token; null means start from the first instance
+     */
+    public String getRequestedToken(String   metadataCollectionId)
+    {
+        if (requestedTokens == null)
+        {
+            return null;
+        }
+
+        return requestedTokens.get(metadataCollectionId);
+    }
+
+
+    /**
+     * Return the cursor decoded from the continuation token to pass to a repository that is paged by
+     * element number.
+     *
+     * @param metadataCollectionId unique identifier for the repository's metadata collection
+     * @param methodName calling method
+     * @return cursor; its position is the element number of the first instance to request
+     * @throws InvalidParameterException the token is not one created by this class
+     */
+    public OMRSSearchCursor getRequestedCursor(String   metadataCollectionId,
+                                               String   methodName) throws InvalidParameterException
+    {
+        final String parameterName = "continuationToken";
+
+        return OMRSSearchCursor.getCursor(this.getRequestedToken(metadataCollectionId), parameterName, methodName, metadataCollectionId);
+    }
+
+
+    /**
+     * Add the page returned from a repository.
+     *
+     * @param instances instances returned in instance order
+     * @param continuationToken token for the repository's next page; null means it has no more results
+     * @param metadataCollectionId source metadata collection
+     */
+    public synchronized void addPage(List<T>   instances,
+                                     String    continuationToken,
+                                     String    metadataCollectionId)
+    {
+        List<T>  page = new ArrayList<>();
+
+        if (instances != null)
+        {
+            for (T instance : instances)
+            {
+                if ((instance != null) && (instance.getGUID() != null))
+                {
+                    page.add(instance);
+                }
+            }
+
+            page.sort(OMRSSearchCursor.instanceOrder);
+        }
+
+        memberPages.put(metadataCollectionId, page);
+        memberNextTokens.put(metadataCollectionId, continuationToken);
+
+        /*
+         * Record that this repository has returned results from the request.
+         */
+        super.setResultsReturned(metadataCollectionId, page.size());
+    }
+
+
+    /**
+     * Add the page returned from a repository that is paged by element number.  The instances that come before
+     * the requested cursor were returned with an earlier page and are skipped.
+     *
+     * @param instances instances returned by the offset based search starting at the cursor's position
+     * @param requestedCursor cursor decoded from the repository's requested token
+     * @param pageSize maximum number of instances requested; zero means no limit
+     * @param metadataCollectionId source metadata collection
+     */
+    public synchronized void addOffsetPage(List<T>          instances,
+                                           OMRSSearchCursor requestedCursor,
+                                           int              pageSize,
+                                           String           metadataCollectionId)
+    {
+        List<T>         newInstances = new ArrayList<>();
+        Map<T, Integer> elements     = new IdentityHashMap<>();
+        String          nextToken    = null;
+
+        if (instances != null)
+        {
+            int element = requestedCursor.getPosition();
+
+            for (T instance : instances)
+            {
+                if ((instance != null) && (requestedCursor.isBefore(instance)))
+                {
+                    newInstances.add(instance);
+                    elements.put(instance, element);
+                }
+
+                element++;
+            }
+
+            if ((pageSize > 0) && (instances.size() == pageSize))
+            {
+                nextToken = new OMRSSearchCursor(null, requestedCursor.getPosition() + pageSize).getContinuationToken();
+            }
+        }
+
+        memberElements.put(metadataCollectionId, elements);
+
+        this.addPage(newInstances, nextToken, metadataCollectionId);
+    }
+
+
+    /**
+     * Merge the pages from each repository and return the first page of the merged results.  This should be
+     * called once all of the executors have completed processing their request(s).
+     *
+     * @param pageSize maximum number of instances to return; zero means no limit
+     * @return list of instances in instance order
+     */
+    public synchronized List<T> getPage(int   pageSize)
+    {
+        List<T> mergedInstances = new ArrayList<>();
+
+        for (List<T> memberPage : memberPages.values())
+        {
+            mergedInstances.addAll(memberPage);
+        }
+
+        mergedInstances.sort(OMRSSearchCursor.instanceOrder);
+
+        /*
+         * Remove the duplicates, keeping the latest version of each instance.
+         */
+        Map<String, T> bestInstances = new HashMap<>();
+
+        for (T instance : mergedInstances)
+        {
+            T currentBestInstance = bestInstances.get(instance.getGUID());
+
+            if (! super.currentInstanceIsBest(currentBestInstance, instance))
+            {
+                bestInstances.put(instance.getGUID(), instance);
+            }
+        }
+
+        List<T> page = new ArrayList<>();
+
+        for (T instance : mergedInstances)
+        {
+            if ((pageSize > 0) && (page.size() == pageSize))
+            {
+                break;
+            }
+
+            if (bestInstances.get(instance.getGUID()) == instance)
+            {
+                page.add(instance);
+            }
+        }
+
+        this.setFollowingTokens(page, pageSize);
+
+        return page;
+    }
+
+
+    /**
+     * Return the continuation token for the page after the one returned by getPage.
+     *
+     * @return continuation token; null means no repository has more results
+     */
+    public synchronized String getContinuationToken()
+    {
+        if ((followingTokens == null) || (followingTokens.isEmpty()))
+        {
+            return null;
+        }
+
+        StringBuilder decodedToken = new StringBuilder();
+
+        for (String metadataCollectionId : followingTokens.keySet())
+        {
+            String memberToken = followingTokens.get(metadataCollectionId);
+
+            if (decodedToken.length() > 0)
+            {
+                decodedToken.append(memberSeparator);
+            }
+
+            decodedToken.append(metadataCollectionId).append(tokenSeparator).append(memberToken == null ? "" : memberToken);
+        }
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(decodedToken.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+
+    /**
+     * Decode the continuation token returned by getContinuationToken.
+     *
+     * @param continuationToken token passed by the caller; null means the first page
+     * @param parameterName name of the parameter that passed the token
+     * @param methodName calling method
+     * @param repositoryName name of the enterprise repository (used for error messages)
+     * @return map of metadata collection id to the continuation token for that repository, or null for the first page
+     * @throws InvalidParameterException the token is not one created by this class
+     */
+    public static Map<String, String> getRequestedTokens(String continuationToken,
+                                                         String parameterName,
+                                                         String methodName,
+                                                         String repositoryName) throws InvalidParameterException
+    {
+        if (continuationToken == null)
+        {
+            return null;
+        }
+
+        try
+        {
+            String              decodedToken    = new String(Base64.getUrlDecoder().decode(continuationToken), StandardCharsets.UTF_8);
+            Map<String, String> requestedTokens = new LinkedHashMap<>();
+            boolean             validToken      = true;
+
+            for (String memberEntry : decodedToken.split(memberSeparator))
+            {
+                int separatorIndex = memberEntry.indexOf(tokenSeparator);
+
+                if (separatorIndex < 1)
+                {
+                    validToken = false;
+                    break;
+                }
+
+                String memberToken = memberEntry.substring(separatorIndex + 1);
+
+                requestedTokens.put(memberEntry.substring(0, separatorIndex), memberToken.isEmpty() ? null : memberToken);
+            }
+
+            if (validToken)
+            {
+                return requestedTokens;
+            }
+        }
+        catch (IllegalArgumentException error)
+        {
+            /*
+             * The token is not valid base64.  The error is reported below.
+             */
+        }
+
+        OMRSErrorCode errorCode    = OMRSErrorCode.INVALID_CONTINUATION_TOKEN;
+        String        errorMessage = errorCode.getErrorMessageId()
+                                   + errorCode.getFormattedErrorMessage(continuationToken,
+                                                                        parameterName,
+                                                                        methodName,
+                                                                        repositoryName);
+
+        throw new InvalidParameterException(errorCode.getHTTPErrorCode(),
+                                            InstancePageAccumulator.class.getName(),
+                                            methodName,
+                                            errorMessage,
+                                            errorCode.getSystemAction(),
+                                            errorCode.getUserAction());
+    }
+
+
+    /**
+     * Work out the continuation token for each repository that may have more results once the page has been
+     * returned.
+     *
+     * @param page page returned to the caller
+     * @param pageSize maximum number of instances in the page
+     */
+    private void setFollowingTokens(List<T> page,
+                                    int     pageSize)
+    {
+        followingTokens = new LinkedHashMap<>();
+
+        boolean        pageIsFull   = (pageSize > 0) && (page.size() == pageSize);
+        InstanceHeader lastInstance = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        for (String metadataCollectionId : memberPages.keySet())
+        {
+            List<T> memberPage = memberPages.get(metadataCollectionId);
+            String  nextToken  = memberNextTokens.get(metadataCollectionId);
+            int     usedCount  = memberPage.size();
+
+            if ((pageIsFull) && (lastInstance != null))
+            {
+                usedCount = 0;
+
+                while ((usedCount < memberPage.size()) &&
+                       (OMRSSearchCursor.instanceOrder.compare(memberPage.get(usedCount), lastInstance) <= 0))
+                {
+                    usedCount++;
+                }
+            }
+
+            if (usedCount == memberPage.size())
+            {
+                /*
+                 * All of the repository's page was used so it continues from its own token.
+                 */
+                if (nextToken != null)
+                {
+                    followingTokens.put(metadataCollectionId, nextToken);
+                }
+            }
+            else if (usedCount == 0)
+            {
+                /*
+                 * None of the repository's page was used so the same page is requested again.
+                 */
+                followingTokens.put(metadataCollectionId, this.getRequestedToken(metadataCollectionId));
+            }
+            else if (memberElements.containsKey(metadataCollectionId))
+            {
+                /*
+                 * The repository's next page starts with the first of its instances that was not returned.
+                 */
+                Map<T, Integer> elements    = memberElements.get(metadataCollectionId);
+                int             nextElement = Integer.MAX_VALUE;
+
+                for (T instance : memberPage.subList(usedCount, memberPage.size()))
+                {
+                    nextElement = Math.min(nextElement, elements.get(instance));
+                }
+
+                followingTokens.put(metadataCollectionId,
+                                    new OMRSSearchCursor(null, nextElement, memberPage.get(usedCount - 1)).getContinuationToken());
+            }
+            else
+            {
+                followingTokens.put(metadataCollectionId,
+                                    this.getPartPageToken(metadataCollectionId, nextToken, memberPage.get(usedCount - 1)));
+            }
+        }
+    }
+
+
+    /**
+     * Return a continuation token for a repository that resumes after the last of its instances that was
+     * returned.  The position in the repository's saved results is only reused if the repository is still
+     * using the same saved results.  Otherwise, the repository scans its saved results from the start, or runs
+     * its search again, and skips the instances that have already been returned.
+     *
+     * @param metadataCollectionId unique identifier for the repository's metadata collection
+     * @param nextToken token returned by the repository
+     * @param lastUsedInstance last of the repository's instances that was returned
+     * @return continuation token for the repository
+     */
+    private String getPartPageToken(String         metadataCollectionId,
+                                    String         nextToken,
+                                    InstanceHeader lastUsedInstance)
+    {
+        final String methodName    = "getPartPageToken";
+        final String parameterName = "continuationToken";
+
+        String cursorId = null;
+        int    position = 0;
+
+        try
+        {
+            if (nextToken != null)
+            {
+                OMRSSearchCursor nextCursor = OMRSSearchCursor.getCursor(nextToken, parameterName, methodName, metadataCollectionId);
+
+                cursorId = nextCursor.getCursorId();
+
+                OMRSSearchCursor requestedCursor = OMRSSearchCursor.getCursor(this.getRequestedToken(metadataCollectionId),
+                                                                              parameterName,
+                                                                              methodName,
+                                                                              metadataCollectionId);
+
+                if ((cursorId != null) && (cursorId.equals(requestedCursor.getCursorId())))
+                {
+                    position = requestedCursor.getPosition();
+                }
+            }
+        }
+        catch (InvalidParameterException error)
+        {
+            /*
+             * The repository has returned a token that was not created by OMRSSearchCursor so the
+             * repository runs its search again.
+             */
+            cursorId = null;
+            position = 0;
+        }
+
+        return new OMRSSearchCursor(cursorId, position, lastUsedInstance).getContinuationToken();
+    }
+}
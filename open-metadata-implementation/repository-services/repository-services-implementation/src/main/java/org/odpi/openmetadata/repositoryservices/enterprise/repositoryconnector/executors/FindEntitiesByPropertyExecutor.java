@@ -26,6 +26,7 @@ public class FindEntitiesByPropertyExecutor extends PageableRepositoryExecutorBa
     private InstanceProperties matchProperties;
     private MatchCriteria      matchCriteria;
     private List<String>       limitResultsByClassification;
+    private List<String>       limitResultsByZone;
 
     private EntityAccumulator  accumulator;
 
@@ -79,6 +80,71 @@ public class FindEntitiesByPropertyExecutor extends PageableRepositoryExecutorBa
              fromEntityElement,
              limitResultsByStatus,
              limitResultsByClassification,
+             null,
+             asOfTime,
+             sequencingProperty,
+             sequencingOrder,
+             pageSize,
+             localMetadataCollectionId,
+             auditLog,
+             repositoryValidator,
+             methodName);
+    }
+
+
+    /**
+     * Create the executor.  The parameters provide the parameters for issuing the requests and
+     * combining the results.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityTypeGUID String unique identifier for the entity type of interest (null means any entity type).
+     * @param matchProperties Optional list of entity properties to match (contains wildcards).
+     * @param matchCriteria Enum defining how the match properties should be matched to the entities in the repository.
+     * @param fromEntityElement the starting element number of the entities to return.
+     *                                This is used when retrieving elements
+     *                                beyond the first page of results. Zero means start from the first element.
+     * @param limitResultsByStatus By default, entities in all statuses are returned.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                             status values.
+     * @param limitResultsByClassification List of classifications that must be present on all returned entities.
+     * @param limitResultsByZone List of governance zones that the returned entities must be visible through.
+     *                           Null means that the results are not restricted by zone.
+     * @param asOfTime Requests a historical query of the entity.  Null means return the present values.
+     * @param sequencingProperty String name of the entity property that is to be used to sequence the results.
+     *                           Null means do not sequence on a property name (see SequencingOrder).
+     * @param sequencingOrder Enum defining how the results should be ordered.
+     * @param pageSize the maximum number of result entities that can be returned on this request.  Zero means
+     *                 unrestricted return results size.
+     * @param localMetadataCollectionId unique identifier for the local repository - may be null if no local repository
+     * @param auditLog logging destination
+     * @param repositoryValidator validator for resulting relationships
+     * @param methodName calling method
+     */
+    public FindEntitiesByPropertyExecutor(String                    userId,
+                                          String                    entityTypeGUID,
+                                          InstanceProperties        matchProperties,
+                                          MatchCriteria             matchCriteria,
+                                          int                       fromEntityElement,
+                                          List<InstanceStatus>      limitResultsByStatus,
+                                          List<String>              limitResultsByClassification,
+                                          List<String>              limitResultsByZone,
+                                          Date                      asOfTime,
+                                          String                    sequencingProperty,
+                                          SequencingOrder           sequencingOrder,
+                                          int                       pageSize,
+                                          String                    localMetadataCollectionId,
+                                          OMRSAuditLog              auditLog,
+                                          OMRSRepositoryValidator   repositoryValidator,
+                                          String                    methodName)
+    {
+        this(userId,
+             entityTypeGUID,
+             matchProperties,
+             matchCriteria,
+             fromEntityElement,
+             limitResultsByStatus,
+             limitResultsByClassification,
+             limitResultsByZone,
              asOfTime,
              sequencingProperty,
              sequencingOrder,
@@ -103,6 +169,7 @@ public class FindEntitiesByPropertyExecutor extends PageableRepositoryExecutorBa
      *                             to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
      *                             status values.
      * @param limitResultsByClassification List of classifications that must be present on all returned entities.
+     * @param limitResultsByZone List of governance zones that the returned entities must be visible through.
      * @param asOfTime Requests a historical query of the entity.  Null means return the present values.
      * @param sequencingProperty String name of the entity property that is to be used to sequence the results.
      *                           Null means do not sequence on a property name (see SequencingOrder).
@@ -119,7 +186,8 @@ public class FindEntitiesByPropertyExecutor extends PageableRepositoryExecutorBa
                                            int                       fromEntityElement,
                                            List<InstanceStatus>      limitResultsByStatus,
                                            List<String>              limitResultsByClassification,
-                                            Date                      asOfTime,
+                                           List<String>              limitResultsByZone,
+                                           Date                      asOfTime,
                                            String                    sequencingProperty,
                                            SequencingOrder           sequencingOrder,
                                            int                       pageSize,
@@ -140,6 +208,7 @@ public class FindEntitiesByPropertyExecutor extends PageableRepositoryExecutorBa
         this.matchProperties = matchProperties;
         this.matchCriteria = matchCriteria;
         this.limitResultsByClassification = limitResultsByClassification;
+        this.limitResultsByZone = limitResultsByZone;
         this.accumulator = accumulator;
     }
 
@@ -160,6 +229,7 @@ public class FindEntitiesByPropertyExecutor extends PageableRepositoryExecutorBa
                                                   startingElement,
                                                   limitResultsByStatus,
                                                   limitResultsByClassification,
+                                                  limitResultsByZone,
                                                   asOfTime,
                                                   sequencingProperty,
                                                   sequencingOrder,
@@ -184,17 +254,40 @@ public class FindEntitiesByPropertyExecutor extends PageableRepositoryExecutorBa
             /*
              * Issue the request
              */
-            List<EntityDetail> results = metadataCollection.findEntitiesByProperty(userId,
-                                                                                   instanceTypeGUID,
-                                                                                   matchProperties,
-                                                                                   matchCriteria,
-                                                                                   startingElement,
-                                                                                   limitResultsByStatus,
-                                                                                   limitResultsByClassification,
-                                                                                   asOfTime,
-                                                                                   sequencingProperty,
-                                                                                   sequencingOrder,
-                                                                                   pageSize);
+            List<EntityDetail> results;
+
+            if (limitResultsByZone == null)
+            {
+                results = metadataCollection.findEntitiesByProperty(userId,
+                                                                    instanceTypeGUID,
+                                                                    matchProperties,
+                                                                    matchCriteria,
+                                                                    startingElement,
+                                                                    limitResultsByStatus,
+                                                                    limitResultsByClassification,
+                                                                    asOfTime,
+                                                                    sequencingProperty,
+                                                                    sequencingOrder,
+                                                                    pageSize);
+            }
+            else
+            {
+                /*
+                 * The zones are passed to the repository so that it can fill the page with visible entities.
+                 */
+                results = metadataCollection.findEntitiesByProperty(userId,
+                                                                    instanceTypeGUID,
+                                                                    matchProperties,
+                                                                    matchCriteria,
+                                                                    startingElement,
+                                                                    limitResultsByStatus,
+                                                                    limitResultsByClassification,
+                                                                    limitResultsByZone,
+                                                                    asOfTime,
+                                                                    sequencingProperty,
+                                                                    sequencingOrder,
+                                                                    pageSize);
+            }
 
             accumulator.addEntities(results, metadataCollectionId);
         }
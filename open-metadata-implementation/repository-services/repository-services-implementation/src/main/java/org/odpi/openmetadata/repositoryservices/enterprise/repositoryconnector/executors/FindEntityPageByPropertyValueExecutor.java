@@ -0,0 +1,277 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors;
+
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSSearchCursor;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetailPage;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.InstancePageAccumulator;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * FindEntityPageByPropertyValueExecutor is the executor for the findEntityPageByPropertyValue request.
+ * This request can be issued in parallel - the call to each request potentially running in a different thread.
+ */
+public class FindEntityPageByPropertyValueExecutor extends PageableRepositoryExecutorBase
+{
+    private String       searchCriteria;
+    private List<String> limitResultsByClassification;
+
+    private InstancePageAccumulator<EntityDetail> accumulator;
+
+
+    /**
+     * Create the executor.  The parameters provide the parameters for issuing the requests and
+     * combining the results.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityTypeGUID String unique identifier for the entity type of interest (null means any entity type).
+     * @param searchCriteria String expression contained in any of the property values within the entities
+     *                       of the supplied type.
+     * @param requestedTokens continuation tokens for each repository decoded from the caller's continuation token.
+     *                        Null means start from the first entity.
+     * @param limitResultsByStatus By default, entities in all statuses are returned.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                             status values.
+     * @param limitResultsByClassification List of classifications that must be present on all returned entities.
+     * @param asOfTime Requests a historical query of the entity.  Null means return the present values.
+     * @param pageSize the maximum number of result entities that can be returned on this request.  Zero means
+     *                 unrestricted return results size.
+     * @param localMetadataCollectionId unique identifier for the local repository - may be null if no local repository
+     * @param auditLog logging destination
+     * @param repositoryValidator validator for resulting entities
+     * @param methodName calling method
+     */
+    public FindEntityPageByPropertyValueExecutor(String                    userId,
+                                                 String                    entityTypeGUID,
+                                                 String                    searchCriteria,
+                                                 Map<String, String>       requestedTokens,
+                                                 List<InstanceStatus>      limitResultsByStatus,
+                                                 List<String>              limitResultsByClassification,
+                                                 Date                      asOfTime,
+                                                 int                       pageSize,
+                                                 String                    localMetadataCollectionId,
+                                                 OMRSAuditLog              auditLog,
+                                                 OMRSRepositoryValidator   repositoryValidator,
+                                                 String                    methodName)
+    {
+        this(userId,
+             entityTypeGUID,
+             searchCriteria,
+             limitResultsByStatus,
+             limitResultsByClassification,
+             asOfTime,
+             pageSize,
+             new InstancePageAccumulator<>(requestedTokens, localMetadataCollectionId, auditLog, repositoryValidator),
+             methodName);
+    }
+
+
+    /**
+     * Create the executor.  The parameters provide the parameters for issuing the requests and
+     * combining the results.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityTypeGUID String unique identifier for the entity type of interest (null means any entity type).
+     * @param searchCriteria String expression contained in any of the property values within the entities
+     *                       of the supplied type.
+     * @param limitResultsByStatus By default, entities in all statuses are returned.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                             status values.
+     * @param limitResultsByClassification List of classifications that must be present on all returned entities.
+     * @param asOfTime Requests a historical query of the entity.  Null means return the present values.
+     * @param pageSize the maximum number of result entities that can be returned on this request.  Zero means
+     *                 unrestricted return results size.
+     * @param accumulator location for results and returned exceptions
+     * @param methodName calling method
+     */
+    private FindEntityPageByPropertyValueExecutor(String                                userId,
+                                                  String                                entityTypeGUID,
+                                                  String                                searchCriteria,
+                                                  List<InstanceStatus>                  limitResultsByStatus,
+                                                  List<String>                          limitResultsByClassification,
+                                                  Date                                  asOfTime,
+                                                  int                                   pageSize,
+                                                  InstancePageAccumulator<EntityDetail> accumulator,
+                                                  String                                methodName)
+    {
+        super(userId,
+              entityTypeGUID,
+              0,
+              limitResultsByStatus,
+              null,
+              null,
+              pageSize,
+              asOfTime,
+              accumulator,
+              methodName);
+
+        this.searchCriteria = searchCriteria;
+        this.limitResultsByClassification = limitResultsByClassification;
+        this.accumulator = accumulator;
+    }
+
+
+    /**
+     * Return a clone of this executor with the same command parameters and accumulator instance.
+     * This is used when setting up the parallel execution of the work.  Each clone executes
+     * the calls to a single open metadata repository.
+     *
+     * @return clone of this executor
+     */
+    public CloneableRepositoryExecutor getClone()
+    {
+        return new FindEntityPageByPropertyValueExecutor(userId,
+                                                         instanceTypeGUID,
+                                                         searchCriteria,
+                                                         limitResultsByStatus,
+                                                         limitResultsByClassification,
+                                                         asOfTime,
+                                                         pageSize,
+                                                         accumulator,
+                                                         methodName);
+    }
+
+
+    /**
+     * Perform the required action for the supplied repository.  Repositories that have returned all of
+     * their results on earlier pages are not called.
+     *
+     * @param metadataCollectionId unique identifier for the metadata collection for the repository
+     * @param metadataCollection metadata collection object for the repository
+     * @return boolean true means that the required results have been achieved
+     */
+    public boolean issueRequestToRepository(String                 metadataCollectionId,
+                                            OMRSMetadataCollection metadataCollection)
+    {
+        if (! accumulator.isRepositoryRequested(metadataCollectionId))
+        {
+            return true;
+        }
+
+        try
+        {
+            if (metadataCollection.isSearchCursorSupported())
+            {
+                EntityDetailPage results = metadataCollection.findEntityPageByPropertyValue(userId,
+                                                                                            instanceTypeGUID,
+                                                                                            searchCriteria,
+                                                                                            accumulator.getRequestedToken(metadataCollectionId),
+                                                                                            limitResultsByStatus,
+                                                                                            limitResultsByClassification,
+                                                                                            asOfTime,
+                                                                                            pageSize);
+
+                if (results == null)
+                {
+                    accumulator.addPage(null, null, metadataCollectionId);
+                }
+                else
+                {
+                    accumulator.addPage(results.getEntities(), results.getContinuationToken(), metadataCollectionId);
+                }
+            }
+            else
+            {
+                /*
+                 * The repository's default cursor implementation would scan its results for every page, so
+                 * its offset based search is paged by element number instead.
+                 */
+                OMRSSearchCursor requestedCursor = accumulator.getRequestedCursor(metadataCollectionId, methodName);
+
+                List<EntityDetail> entities = metadataCollection.findEntitiesByPropertyValue(userId,
+                                                                                             instanceTypeGUID,
+                                                                                             searchCriteria,
+                                                                                             requestedCursor.getPosition(),
+                                                                                             limitResultsByStatus,
+                                                                                             limitResultsByClassification,
+                                                                                             asOfTime,
+                                                                                             null,
+                                                                                             SequencingOrder.LAST_UPDATE_OLDEST,
+                                                                                             pageSize);
+
+                accumulator.addOffsetPage(entities, requestedCursor, pageSize, metadataCollectionId);
+            }
+        }
+        catch (InvalidParameterException error)
+        {
+            accumulator.captureException(metadataCollectionId, error);
+        }
+        catch (FunctionNotSupportedException error)
+        {
+            accumulator.captureException(metadataCollectionId, error);
+        }
+        catch (TypeErrorException error)
+        {
+            accumulator.captureException(metadataCollectionId, error);
+        }
+        catch (PropertyErrorException error)
+        {
+            accumulator.captureException(metadataCollectionId, error);
+        }
+        catch (PagingErrorException error)
+        {
+            accumulator.captureException(metadataCollectionId, error);
+        }
+        catch (RepositoryErrorException error)
+        {
+            accumulator.captureException(metadataCollectionId, error);
+        }
+        catch (UserNotAuthorizedException error)
+        {
+            accumulator.captureException(metadataCollectionId, error);
+        }
+        catch (Throwable error)
+        {
+            accumulator.captureGenericException(metadataCollectionId, error);
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Return the results or exception.
+     *
+     * @return a page of entities and the continuation token for the next page; null means no repository
+     * returned results.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  entity.
+     * @throws PagingErrorException the paging parameters are set up incorrectly.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public EntityDetailPage getResults() throws InvalidParameterException,
+                                                RepositoryErrorException,
+                                                TypeErrorException,
+                                                PropertyErrorException,
+                                                PagingErrorException,
+                                                FunctionNotSupportedException,
+                                                UserNotAuthorizedException
+    {
+        if (accumulator.resultsReturned())
+        {
+            List<EntityDetail> page = accumulator.getPage(pageSize);
+
+            return new EntityDetailPage(page, accumulator.getContinuationToken());
+        }
+
+        handleCommonPagingRequestExceptions();
+
+        return null;
+    }
+}
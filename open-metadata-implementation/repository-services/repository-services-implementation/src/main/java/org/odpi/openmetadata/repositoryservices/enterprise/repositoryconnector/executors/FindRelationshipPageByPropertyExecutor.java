@@ -0,0 +1,279 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors;
+
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSSearchCursor;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.MatchCriteria;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.RelationshipPage;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.InstancePageAccumulator;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * FindRelationshipPageByPropertyExecutor is the executor for the findRelationshipPageByProperty request.
+ * This request can be issued in parallel - the call to each request potentially running in a different thread.
+ */
+public class FindRelationshipPageByPropertyExecutor extends PageableRepositoryExecutorBase
+{
+    private InstanceProperties matchProperties;
+    private MatchCriteria      matchCriteria;
+
+    private InstancePageAccumulator<Relationship> accumulator;
+
+
+    /**
+     * Create the executor.  The parameters provide the parameters for issuing the requests and
+     * combining the results.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param relationshipTypeGUID unique identifier (guid) for the relationship's type.  Null means all types
+     *                             (but may be slow so not recommended).
+     * @param matchProperties Optional list of relationship properties to match (contains wildcards).
+     * @param matchCriteria Enum defining how the match properties should be matched to the relationships in the repository.
+     * @param requestedTokens continuation tokens for each repository decoded from the caller's continuation token.
+     *                        Null means start from the first relationship.
+     * @param limitResultsByStatus By default, relationships in all statuses are returned.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                             status values.
+     * @param asOfTime Requests a historical query of the relationships.  Null means return the present values.
+     * @param pageSize the maximum number of result relationships that can be returned on this request.  Zero means
+     *                 unrestricted return results size.
+     * @param localMetadataCollectionId unique identifier for the local repository - may be null if no local repository
+     * @param auditLog logging destination
+     * @param repositoryValidator validator for resulting relationships
+     * @param methodName calling method
+     */
+    public FindRelationshipPageByPropertyExecutor(String                    userId,
+                                                  String                    relationshipTypeGUID,
+                                                  InstanceProperties        matchProperties,
+                                                  MatchCriteria             matchCriteria,
+                                                  Map<String, String>       requestedTokens,
+                                                  List<InstanceStatus>      limitResultsByStatus,
+                                                  Date                      asOfTime,
+                                                  int                       pageSize,
+                                                  String                    localMetadataCollectionId,
+                                                  OMRSAuditLog              auditLog,
+                                                  OMRSRepositoryValidator   repositoryValidator,
+                                                  String                    methodName)
+    {
+        this(userId,
+             relationshipTypeGUID,
+             matchProperties,
+             matchCriteria,
+             limitResultsByStatus,
+             asOfTime,
+             pageSize,
+             new InstancePageAccumulator<>(requestedTokens, localMetadataCollectionId, auditLog, repositoryValidator),
+             methodName);
+    }
+
+
+    /**
+     * Create the executor.  The parameters provide the parameters for issuing the requests and
+     * combining the results.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param relationshipTypeGUID unique identifier (guid) for the relationship's type.  Null means all types
+     *                             (but may be slow so not recommended).
+     * @param matchProperties Optional list of relationship properties to match (contains wildcards).
+     * @param matchCriteria Enum defining how the match properties should be matched to the relationships in the repository.
+     * @param limitResultsByStatus By default, relationships in all statuses are returned.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                             status values.
+     * @param asOfTime Requests a historical query of the relationships.  Null means return the present values.
+     * @param pageSize the maximum number of result relationships that can be returned on this request.  Zero means
+     *                 unrestricted return results size.
+     * @param accumulator location for results and returned exceptions
+     * @param methodName calling method
+     */
+    private FindRelationshipPageByPropertyExecutor(String                                userId,
+                                                   String                                relationshipTypeGUID,
+                                                   InstanceProperties                    matchProperties,
+                                                   MatchCriteria                         matchCriteria,
+                                                   List<InstanceStatus>                  limitResultsByStatus,
+                                                   Date                                  asOfTime,
+                                                   int                                   pageSize,
+                                                   InstancePageAccumulator<Relationship> accumulator,
+                                                   String                                methodName)
+    {
+        super(userId,
+              relationshipTypeGUID,
+              0,
+              limitResultsByStatus,
+              null,
+              null,
+              pageSize,
+              asOfTime,
+              accumulator,
+              methodName);
+
+        this.matchProperties = matchProperties;
+        this.matchCriteria = matchCriteria;
+        this.accumulator = accumulator;
+    }
+
+
+    /**
+     * Return a clone of this executor with the same command parameters and accumulator instance.
+     * This is used when setting up the parallel execution of the work.  Each clone executes
+     * the calls to a single open metadata repository.
+     *
+     * @return clone of this executor
+     */
+    public CloneableRepositoryExecutor getClone()
+    {
+        return new FindRelationshipPageByPropertyExecutor(userId,
+                                                          instanceTypeGUID,
+                                                          matchProperties,
+                                                          matchCriteria,
+                                                          limitResultsByStatus,
+                                                          asOfTime,
+                                                          pageSize,
+                                                          accumulator,
+                                                          methodName);
+    }
+
+
+    /**
+     * Perform the required action for the supplied repository.  Repositories that have returned all of
+     * their results on earlier pages are not called.
+     *
+     * @param metadataCollectionId unique identifier for the metadata collection for the repository
+     * @param metadataCollection metadata collection object for the repository
+     * @return boolean true means that the required results have been achieved
+     */
+    public boolean issueRequestToRepository(String                 metadataCollectionId,
+                                            OMRSMetadataCollection metadataCollection)
+    {
+        if (! accumulator.isRepositoryRequested(metadataCollectionId))
+        {
+            return true;
+        }
+
+        try
+        {
+            if (metadataCollection.isSearchCursorSupported())
+            {
+                RelationshipPage results = metadataCollection.findRelationshipPageByProperty(userId,
+                                                                                             instanceTypeGUID,
+                                                                                             matchProperties,
+                                                                                             matchCriteria,
+                                                                                             accumulator.getRequestedToken(metadataCollectionId),
+                                                                                             limitResultsByStatus,
+                                                                                             asOfTime,
+                                                                                             pageSize);
+
+                if (results == null)
+                {
+                    accumulator.addPage(null, null, metadataCollectionId);
+                }
+                else
+                {
+                    accumulator.addPage(results.getRelationships(), results.getContinuationToken(), metadataCollectionId);
+                }
+            }
+            else
+            {
+                /*
+                 * The repository's default cursor implementation would scan its results for every page, so
+                 * its offset based search is paged by element number instead.
+                 */
+                OMRSSearchCursor requestedCursor = accumulator.getRequestedCursor(metadataCollectionId, methodName);
+
+                List<Relationship> relationships = metadataCollection.findRelationshipsByProperty(userId,
+                                                                                                  instanceTypeGUID,
+                                                                                                  matchProperties,
+                                                                                                  matchCriteria,
+                                                                                                  requestedCursor.getPosition(),
+                                                                                                  limitResultsByStatus,
+                                                                                                  asOfTime,
+                                                                                                  null,
+                                                                                                  SequencingOrder.LAST_UPDATE_OLDEST,
+                                                                                                  pageSize);
+
+                accumulator.addOffsetPage(relationships, requestedCursor, pageSize, metadataCollectionId);
+            }
+        }
+        catch (InvalidParameterException error)
+        {
+            accumulator.captureException(metadataCollectionId, error);
+        }
+        catch (FunctionNotSupportedException error)
+        {
+            accumulator.captureException(metadataCollectionId, error);
+        }
+        catch (TypeErrorException error)
+        {
+            accumulator.captureException(metadataCollectionId, error);
+        }
+        catch (PropertyErrorException error)
+        {
+            accumulator.captureException(metadataCollectionId, error);
+        }
+        catch (PagingErrorException error)
+        {
+            accumulator.captureException(metadataCollectionId, error);
+        }
+        catch (RepositoryErrorException error)
+        {
+            accumulator.captureException(metadataCollectionId, error);
+        }
+        catch (UserNotAuthorizedException error)
+        {
+            accumulator.captureException(metadataCollectionId, error);
+        }
+        catch (Throwable error)
+        {
+            accumulator.captureGenericException(metadataCollectionId, error);
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Return the results or exception.
+     *
+     * @return a page of relationships and the continuation token for the next page; null means no repository
+     * returned results.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  relationships.
+     * @throws PagingErrorException the paging parameters are set up incorrectly.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public RelationshipPage getResults() throws InvalidParameterException,
+                                                RepositoryErrorException,
+                                                TypeErrorException,
+                                                PropertyErrorException,
+                                                PagingErrorException,
+                                                FunctionNotSupportedException,
+                                                UserNotAuthorizedException
+    {
+        if (accumulator.resultsReturned())
+        {
+            List<Relationship> page = accumulator.getPage(pageSize);
+
+            return new RelationshipPage(page, accumulator.getContinuationToken());
+        }
+
+        handleCommonPagingRequestExceptions();
+
+        return null;
+    }
+}
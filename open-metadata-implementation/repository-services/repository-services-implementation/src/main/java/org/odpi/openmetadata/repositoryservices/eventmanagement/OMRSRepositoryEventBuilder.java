@@ -13,6 +13,9 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryeventmapper.OMRSRepositoryEventProcessor;
 import org.odpi.openmetadata.repositoryservices.events.*;
 
+import java.util.Date;
+import java.util.List;
+
 
 /**
  * OMRSRepositoryEventBuilder creates OMRS Events ready to be distributed.
@@ -1568,6 +1571,45 @@ public abstract class OMRSRepositoryEventBuilder extends OMRSRepositoryEventProc
     }
 
 
+    /**
+     * An open metadata repository has requested the instances that have changed since a point in time so it can
+     * catch up after an outage or after joining the cohort.
+     *
+     * @param sourceName name of the source of the event.  It may be the cohort name for incoming events or the
+     *                   local repository, or event mapper name.
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that
+     *                                       sent the event.
+     * @param originatorServerName name of the server that the event came from.
+     * @param originatorServerType type of server that the event came from.
+     * @param originatorOrganizationName name of the organization that owns the server that sent the event.
+     * @param changedSinceTime only instances changed at or after this time are requested; null means all instances
+     * @param selectedTypeDefGUIDs unique identifiers of the TypeDefs of the instances requested; null means all types
+     */
+    public void processCatchUpRequest(String       sourceName,
+                                      String       originatorMetadataCollectionId,
+                                      String       originatorServerName,
+                                      String       originatorServerType,
+                                      String       originatorOrganizationName,
+                                      Date         changedSinceTime,
+                                      List<String> selectedTypeDefGUIDs)
+    {
+        OMRSEventOriginator eventOriginator = new OMRSEventOriginator();
+
+        eventOriginator.setMetadataCollectionId(originatorMetadataCollectionId);
+        eventOriginator.setServerName(originatorServerName);
+        eventOriginator.setServerType(originatorServerType);
+        eventOriginator.setOrganizationName(originatorOrganizationName);
+
+        OMRSInstanceEvent instanceEvent = new OMRSInstanceEvent(OMRSInstanceEventType.CATCH_UP_REQUEST,
+                                                                changedSinceTime,
+                                                                selectedTypeDefGUIDs);
+
+        instanceEvent.setEventOriginator(eventOriginator);
+
+        this.sendInstanceEvent(sourceName, instanceEvent);
+    }
+
+
     /**
      * A repository has detected two metadata instances with the same identifier (guid).
      * This is a serious error because it could lead to corruption of the metadata collection.
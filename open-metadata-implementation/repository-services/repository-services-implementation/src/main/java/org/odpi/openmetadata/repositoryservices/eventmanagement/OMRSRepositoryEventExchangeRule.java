@@ -86,6 +86,42 @@ public class OMRSRepositoryEventExchangeRule
     }
 
 
+    /**
+     * Determine if any instance events should be processed.  Instance events are processed unless the rule is
+     * set to registration events only or TypeDef events only.
+     *
+     * @return boolean flag indicating if instance events may be processed.
+     */
+    public boolean processInstanceEvents()
+    {
+        return (exchangeRule != OpenMetadataExchangeRule.REGISTRATION_ONLY) &&
+               (exchangeRule != OpenMetadataExchangeRule.JUST_TYPEDEFS);
+    }
+
+
+    /**
+     * Return the unique identifiers of the types of the instances that are processed.  This is used to ask the
+     * other members of the cohort for just the instances that this rule would process.
+     *
+     * @return list of unique identifiers (guids) of TypeDefs; null means instances of all types are processed
+     */
+    public List<String> getSelectedTypesToProcess()
+    {
+        if (! this.processInstanceEvents())
+        {
+            return new ArrayList<>();
+        }
+        else if (exchangeRule == OpenMetadataExchangeRule.ALL)
+        {
+            return null;
+        }
+        else
+        {
+            return new ArrayList<>(selectedTypesToProcess);
+        }
+    }
+
+
     /**
      * Determine from the type of the instance if an instance event should be processed.
      *
@@ -393,6 +393,14 @@ public class OMRSRepositoryEventManager extends OMRSRepositoryEventBuilder
     		}
     		
     	}
+    	else if (event.getInstanceEventType() == OMRSInstanceEventType.CATCH_UP_REQUEST)
+        {
+            /*
+             * A catch up request has no instance of its own.  The instances sent in reply are checked
+             * against the rules as they are distributed.
+             */
+            validEvent = exchangeRule.processInstanceEvents();
+        }
     	else
         {
     		validEvent = exchangeRule.processInstanceEvent(event.getTypeDefGUID(),
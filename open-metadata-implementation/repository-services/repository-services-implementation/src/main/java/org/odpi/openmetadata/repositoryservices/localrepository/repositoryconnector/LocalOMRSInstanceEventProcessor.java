@@ -3,10 +3,15 @@
 package org.odpi.openmetadata.repositoryservices.localrepository.repositoryconnector;
 
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
+import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.InternalOMRSEventProcessingContext;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSSearchCursor;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
 import org.odpi.openmetadata.repositoryservices.events.*;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityNotKnownException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RelationshipNotKnownException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.TypeErrorException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditCode;
@@ -21,7 +26,18 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.eventmanagement.*;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 
 /**
@@ -34,6 +50,7 @@ import java.util.UUID;
 public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor implements OMRSInstanceRetrievalEventProcessor
 {
     final private static String  localOMRSInstanceEventProcessorName = "Local Repository Inbound Instance Events";
+    final private static int     catchUpPageSize                     = 100;
 
     private String                          localMetadataCollectionId;
     private String                          localServerName;
@@ -43,6 +60,8 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
     private OMRSRepositoryEventExchangeRule saveExchangeRule;
     private OMRSMetadataCollection          localMetadataCollection = null;
     private OMRSRepositoryEventProcessor    outboundRepositoryEventProcessor;
+    private LocalOMRSInstanceReplayer       instanceReplayer;
+    private ExecutorService                 catchUpExecutor;
 
     /*
      * The audit log provides a verifiable record of the open metadata archives that have been loaded into
@@ -88,6 +107,15 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
         this.outboundRepositoryEventProcessor = outboundRepositoryEventProcessor;
         this.auditLog = auditLog;
 
+        /*
+         * The reference copies are saved on their own threads, as are the replies to the catch up requests from
+         * other members of the cohort, so the instances in a batch are saved in parallel and the thread
+         * delivering the events is not held up by a catch up reply.
+         */
+        this.instanceReplayer = new LocalOMRSInstanceReplayer(localServerName + ": instance replay");
+        this.catchUpExecutor = Executors.newSingleThreadExecutor(
+                new LocalOMRSInstanceReplayer.ReplayThreadFactory(localServerName + ": catch up reply"));
+
         if (localConnector != null)
         {
             try
@@ -628,6 +656,20 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
                                                    instanceEventOriginator.getOrganizationName(),
                                                    instanceEvent.getInstanceBatch());
                 	break;
+                case CATCH_UP_REQUEST:
+                    this.logIncomingEvent(instanceEventType,
+                                          "<multiple>",
+                                          instanceEventOriginator,
+                                          instanceEvent,
+                                          methodName);
+                    this.processCatchUpRequest(cohortName,
+                                               instanceEventOriginator.getMetadataCollectionId(),
+                                               instanceEventOriginator.getServerName(),
+                                               instanceEventOriginator.getServerType(),
+                                               instanceEventOriginator.getOrganizationName(),
+                                               instanceEvent.getChangedSinceTime(),
+                                               instanceEvent.getSelectedTypeDefGUIDs());
+                    break;
                 case INSTANCE_ERROR_EVENT:
                     OMRSInstanceEventErrorCode errorCode = instanceEvent.getErrorCode();
 
@@ -1689,8 +1731,116 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
         {
             verifyEventProcessor(methodName);
 
-            localMetadataCollection.saveInstanceReferenceCopies(localRepositoryConnector.getServerUserId(),
-                                                                instances);
+            if (instances != null)
+            {
+                InternalOMRSEventProcessingContext context = InternalOMRSEventProcessingContext.getInstance();
+
+                /*
+                 * Each instance is checked and saved as if it had arrived in its own event.  The saves run in
+                 * parallel, except that the saves for the same instance are made in the order they are received.
+                 */
+                if (instances.getEntities() != null)
+                {
+                    List<Future<?>> entitySaves = new ArrayList<>();
+
+                    for (EntityDetail entity : instances.getEntities())
+                    {
+                        if (entity != null)
+                        {
+                            Future<?> entitySave = instanceReplayer.replay(entity.getGUID(),
+                                                                           () -> this.saveReferenceEntity(sourceName,
+                                                                                                          methodName,
+                                                                                                          originatorMetadataCollectionId,
+                                                                                                          originatorServerName,
+                                                                                                          entity));
+                            entitySaves.add(entitySave);
+                            context.addAsyncProcessingResult(entitySave);
+                        }
+                    }
+
+                    /*
+                     * The entities are saved before the relationships so the relationships' ends are known.
+                     */
+                    for (Future<?> entitySave : entitySaves)
+                    {
+                        entitySave.get();
+                    }
+                }
+
+                if (instances.getRelationships() != null)
+                {
+                    for (Relationship relationship : instances.getRelationships())
+                    {
+                        if (relationship != null)
+                        {
+                            context.addAsyncProcessingResult(instanceReplayer.replay(relationship.getGUID(),
+                                                                                     () -> this.saveReferenceRelationship(sourceName,
+                                                                                                                          methodName,
+                                                                                                                          originatorMetadataCollectionId,
+                                                                                                                          originatorServerName,
+                                                                                                                          relationship)));
+                        }
+                    }
+                }
+            }
+        }
+        catch (InterruptedException error)
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException error)
+        {
+            handleUnexpectedErrorFromEvent(error.getCause(),
+                                           methodName,
+                                           originatorServerName,
+                                           originatorMetadataCollectionId);
+        }
+        catch (Throwable error)
+        {
+            handleUnexpectedErrorFromEvent(error,
+                                           methodName,
+                                           originatorServerName,
+                                           originatorMetadataCollectionId);
+        }
+    }
+
+
+    /**
+     * An open metadata repository has requested the instances that have changed since a point in time so it can
+     * catch up after an outage or after joining the cohort.  The instances whose home is the local repository are
+     * sent to the cohort in batches on a separate thread.
+     *
+     * @param sourceName name of the source of the event.  It may be the cohort name for incoming events or the
+     *                   local repository, or event mapper name.
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that
+     *                                       sent the event.
+     * @param originatorServerName name of the server that the event came from.
+     * @param originatorServerType type of server that the event came from.
+     * @param originatorOrganizationName name of the organization that owns the server that sent the event.
+     * @param changedSinceTime only instances changed at or after this time are requested; null means all instances
+     * @param selectedTypeDefGUIDs unique identifiers of the TypeDefs of the instances requested; null means all types
+     */
+    public void processCatchUpRequest(String       sourceName,
+                                      String       originatorMetadataCollectionId,
+                                      String       originatorServerName,
+                                      String       originatorServerType,
+                                      String       originatorOrganizationName,
+                                      Date         changedSinceTime,
+                                      List<String> selectedTypeDefGUIDs)
+    {
+        final String methodName = "processCatchUpRequest";
+
+        try
+        {
+            verifyEventProcessor(methodName);
+
+            if (! localMetadataCollectionId.equals(originatorMetadataCollectionId))
+            {
+                catchUpExecutor.submit(() -> this.sendChangedInstances(originatorMetadataCollectionId,
+                                                                       originatorServerName,
+                                                                       changedSinceTime,
+                                                                       selectedTypeDefGUIDs));
+            }
         }
         catch (Throwable error)
         {
@@ -1702,6 +1852,55 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
     }
 
 
+    /**
+     * Ask the other members of the cohorts for the instances that have changed since a point in time.  Only the
+     * types that the save rule accepts are requested.  Nothing is requested if the save rule does not save
+     * instances.  The home repositories reply with batches of instances that are saved as they arrive.
+     *
+     * @param changedSinceTime only instances changed at or after this time are requested; null means all instances
+     */
+    void requestCatchUp(Date   changedSinceTime)
+    {
+        final String methodName = "requestCatchUp";
+
+        verifyEventProcessor(methodName);
+
+        List<String> selectedTypeDefGUIDs = saveExchangeRule.getSelectedTypesToProcess();
+
+        if ((saveExchangeRule.processInstanceEvents()) &&
+            ((selectedTypeDefGUIDs == null) || (! selectedTypeDefGUIDs.isEmpty())))
+        {
+            OMRSAuditCode auditCode = OMRSAuditCode.CATCH_UP_REQUESTED;
+            auditLog.logRecord(methodName,
+                               auditCode.getLogMessageId(),
+                               auditCode.getSeverity(),
+                               auditCode.getFormattedLogMessage(changedSinceTime == null ? "<the start>" : changedSinceTime.toString(),
+                                                                localMetadataCollectionId),
+                               null,
+                               auditCode.getSystemAction(),
+                               auditCode.getUserAction());
+
+            outboundRepositoryEventProcessor.processCatchUpRequest(localRepositoryConnector.getRepositoryName(),
+                                                                   localMetadataCollectionId,
+                                                                   localRepositoryConnector.getServerName(),
+                                                                   localRepositoryConnector.getServerType(),
+                                                                   localRepositoryConnector.getOrganizationName(),
+                                                                   changedSinceTime,
+                                                                   selectedTypeDefGUIDs);
+        }
+    }
+
+
+    /**
+     * Stop the threads that save the reference copies and reply to catch up requests.
+     */
+    void shutdown()
+    {
+        catchUpExecutor.shutdownNow();
+        instanceReplayer.shutdown();
+    }
+
+
     /**
      * An open metadata repository has detected two metadata instances with the same identifier (guid).
      * This is a serious error because it could lead to corruption of the metadata collections within the cohort.
@@ -2115,7 +2314,332 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
     }
 
     /**
-     * Update the reference entity in the local repository if all checks permit.
+     * Send the instances whose home is the local repository that have changed since the requested time to the
+     * cohort in batches.  This runs on the catch up thread.
+     *
+     * @param requesterMetadataCollectionId metadata collection id of the server that requested the catch up
+     * @param requesterServerName name of the server that requested the catch up
+     * @param changedSinceTime only instances changed at or after this time are requested; null means all instances
+     * @param selectedTypeDefGUIDs unique identifiers of the TypeDefs of the instances requested; null means all types
+     */
+    private void sendChangedInstances(String       requesterMetadataCollectionId,
+                                      String       requesterServerName,
+                                      Date         changedSinceTime,
+                                      List<String> selectedTypeDefGUIDs)
+    {
+        final String methodName            = "sendChangedInstances";
+        final String typeGUIDParameterName = "selectedTypeDefGUIDs";
+
+        long entityCount       = 0;
+        long relationshipCount = 0;
+
+        try
+        {
+            List<String> typeDefGUIDs = selectedTypeDefGUIDs;
+
+            if (typeDefGUIDs == null)
+            {
+                /*
+                 * A null type returns the instances of all types.
+                 */
+                typeDefGUIDs = Collections.singletonList(null);
+            }
+            else
+            {
+                /*
+                 * The search for a type also returns the instances of its subtypes, so each instance is
+                 * only sent once if the subtypes of other selected types are left out.
+                 */
+                typeDefGUIDs = this.removeCoveredSubtypes(typeDefGUIDs);
+            }
+
+            for (String typeDefGUID : typeDefGUIDs)
+            {
+                TypeDefCategory typeDefCategory = null;
+
+                if (typeDefGUID != null)
+                {
+                    try
+                    {
+                        TypeDef typeDef = repositoryHelper.getTypeDef(localServerName,
+                                                                      typeGUIDParameterName,
+                                                                      typeDefGUID,
+                                                                      methodName);
+
+                        typeDefCategory = typeDef.getCategory();
+                    }
+                    catch (TypeErrorException error)
+                    {
+                        /*
+                         * The local repository has no instances of a type that it does not know.
+                         */
+                        continue;
+                    }
+                }
+
+                if ((typeDefCategory == null) || (typeDefCategory == TypeDefCategory.ENTITY_DEF))
+                {
+                    entityCount = entityCount + this.sendChangedEntities(typeDefGUID, changedSinceTime);
+                }
+
+                if ((typeDefCategory == null) || (typeDefCategory == TypeDefCategory.RELATIONSHIP_DEF))
+                {
+                    relationshipCount = relationshipCount + this.sendChangedRelationships(typeDefGUID, changedSinceTime);
+                }
+            }
+
+            OMRSAuditCode auditCode = OMRSAuditCode.CATCH_UP_ANSWERED;
+            auditLog.logRecord(methodName,
+                               auditCode.getLogMessageId(),
+                               auditCode.getSeverity(),
+                               auditCode.getFormattedLogMessage(Long.toString(entityCount),
+                                                                Long.toString(relationshipCount),
+                                                                changedSinceTime == null ? "<the start>" : changedSinceTime.toString(),
+                                                                localMetadataCollectionId,
+                                                                requesterServerName),
+                               requesterMetadataCollectionId,
+                               auditCode.getSystemAction(),
+                               auditCode.getUserAction());
+        }
+        catch (Throwable error)
+        {
+            OMRSAuditCode auditCode = OMRSAuditCode.CATCH_UP_ERROR;
+            auditLog.logException(methodName,
+                                  auditCode.getLogMessageId(),
+                                  auditCode.getSeverity(),
+                                  auditCode.getFormattedLogMessage(requesterServerName,
+                                                                   error.getClass().getName(),
+                                                                   error.getMessage()),
+                                  requesterMetadataCollectionId,
+                                  auditCode.getSystemAction(),
+                                  auditCode.getUserAction(),
+                                  error);
+        }
+    }
+
+
+    /**
+     * Return the selected types without duplicates and without the types that are subtypes of another
+     * selected type.  Types that are not known locally are kept and skipped later.
+     *
+     * @param selectedTypeDefGUIDs unique identifiers of the TypeDefs of the instances requested
+     * @return unique identifiers of the TypeDefs to search for
+     */
+    private List<String> removeCoveredSubtypes(List<String> selectedTypeDefGUIDs)
+    {
+        final String methodName            = "removeCoveredSubtypes";
+        final String typeGUIDParameterName = "superTypeGUID";
+
+        Set<String>  selectedGUIDs = new LinkedHashSet<>(selectedTypeDefGUIDs);
+        List<String> typeDefGUIDs  = new ArrayList<>();
+
+        selectedGUIDs.remove(null);
+
+        for (String typeDefGUID : selectedGUIDs)
+        {
+            boolean     covered      = false;
+            Set<String> visitedGUIDs = new HashSet<>();
+
+            try
+            {
+                TypeDef typeDef = repositoryHelper.getTypeDef(localServerName,
+                                                              typeGUIDParameterName,
+                                                              typeDefGUID,
+                                                              methodName);
+
+                while ((! covered) && (typeDef != null) && (typeDef.getSuperType() != null))
+                {
+                    TypeDefLink superType = typeDef.getSuperType();
+
+                    if ((superType.getGUID() == null) || (! visitedGUIDs.add(superType.getGUID())))
+                    {
+                        break;
+                    }
+
+                    if (selectedGUIDs.contains(superType.getGUID()))
+                    {
+                        covered = true;
+                    }
+                    else
+                    {
+                        typeDef = repositoryHelper.getTypeDef(localServerName,
+                                                              typeGUIDParameterName,
+                                                              superType.getGUID(),
+                                                              methodName);
+                    }
+                }
+            }
+            catch (TypeErrorException error)
+            {
+                /*
+                 * The rest of the type hierarchy is not known so the type is searched for on its own.
+                 */
+            }
+
+            if (! covered)
+            {
+                typeDefGUIDs.add(typeDefGUID);
+            }
+        }
+
+        return typeDefGUIDs;
+    }
+
+
+    /**
+     * Send the entities of a type whose home is the local repository that have changed since the requested time.
+     * The entities are retrieved with a cursor based search so each page is sent as a batch.
+     *
+     * @param typeDefGUID unique identifier of the type; null means all types
+     * @param changedSinceTime only entities changed at or after this time are sent; null means all entities
+     * @return number of entities sent
+     * @throws Exception the local repository is unable to retrieve the entities
+     */
+    private long sendChangedEntities(String   typeDefGUID,
+                                     Date     changedSinceTime) throws Exception
+    {
+        String userId            = localRepositoryConnector.getServerUserId();
+        String continuationToken = OMRSSearchCursor.getCursorForChangesSince(changedSinceTime).getContinuationToken();
+        long   entityCount       = 0;
+
+        do
+        {
+            EntityDetailPage entityPage = localMetadataCollection.findEntityPageByProperty(userId,
+                                                                                           typeDefGUID,
+                                                                                           null,
+                                                                                           null,
+                                                                                           continuationToken,
+                                                                                           null,
+                                                                                           null,
+                                                                                           null,
+                                                                                           this.getCatchUpPageSize());
+            if (entityPage == null)
+            {
+                break;
+            }
+
+            List<EntityDetail> homeEntities = new ArrayList<>();
+
+            if (entityPage.getEntities() != null)
+            {
+                for (EntityDetail entity : entityPage.getEntities())
+                {
+                    if ((entity != null) && (localMetadataCollectionId.equals(entity.getMetadataCollectionId())))
+                    {
+                        homeEntities.add(entity);
+                    }
+                }
+            }
+
+            if (! homeEntities.isEmpty())
+            {
+                this.sendCatchUpBatch(new InstanceGraph(homeEntities, new ArrayList<>()));
+                entityCount = entityCount + homeEntities.size();
+            }
+
+            continuationToken = entityPage.getContinuationToken();
+        }
+        while (continuationToken != null);
+
+        return entityCount;
+    }
+
+
+    /**
+     * Send the relationships of a type whose home is the local repository that have changed since the
+     * requested time.  The relationships are retrieved with a cursor based search so each page is sent as a batch.
+     *
+     * @param typeDefGUID unique identifier of the type; null means all types
+     * @param changedSinceTime only relationships changed at or after this time are sent; null means all relationships
+     * @return number of relationships sent
+     * @throws Exception the local repository is unable to retrieve the relationships
+     */
+    private long sendChangedRelationships(String   typeDefGUID,
+                                          Date     changedSinceTime) throws Exception
+    {
+        String userId            = localRepositoryConnector.getServerUserId();
+        String continuationToken = OMRSSearchCursor.getCursorForChangesSince(changedSinceTime).getContinuationToken();
+        long   relationshipCount = 0;
+
+        do
+        {
+            RelationshipPage relationshipPage = localMetadataCollection.findRelationshipPageByProperty(userId,
+                                                                                                       typeDefGUID,
+                                                                                                       null,
+                                                                                                       null,
+                                                                                                       continuationToken,
+                                                                                                       null,
+                                                                                                       null,
+                                                                                                       this.getCatchUpPageSize());
+            if (relationshipPage == null)
+            {
+                break;
+            }
+
+            List<Relationship> homeRelationships = new ArrayList<>();
+
+            if (relationshipPage.getRelationships() != null)
+            {
+                for (Relationship relationship : relationshipPage.getRelationships())
+                {
+                    if ((relationship != null) && (localMetadataCollectionId.equals(relationship.getMetadataCollectionId())))
+                    {
+                        homeRelationships.add(relationship);
+                    }
+                }
+            }
+
+            if (! homeRelationships.isEmpty())
+            {
+                this.sendCatchUpBatch(new InstanceGraph(new ArrayList<>(), homeRelationships));
+                relationshipCount = relationshipCount + homeRelationships.size();
+            }
+
+            continuationToken = relationshipPage.getContinuationToken();
+        }
+        while (continuationToken != null);
+
+        return relationshipCount;
+    }
+
+
+    /**
+     * Send a batch of instances in reply to a catch up request.
+     *
+     * @param instances instances whose home is the local repository
+     */
+    private void sendCatchUpBatch(InstanceGraph   instances)
+    {
+        outboundRepositoryEventProcessor.processInstanceBatchEvent(localRepositoryConnector.getRepositoryName(),
+                                                                   localMetadataCollectionId,
+                                                                   localRepositoryConnector.getServerName(),
+                                                                   localRepositoryConnector.getServerType(),
+                                                                   localRepositoryConnector.getOrganizationName(),
+                                                                   instances);
+    }
+
+
+    /**
+     * Return the number of instances to send in each batch of a catch up reply.
+     *
+     * @return page size
+     */
+    private int getCatchUpPageSize()
+    {
+        int maxPageSize = localRepositoryConnector.getMaxPageSize();
+
+        if ((maxPageSize > 0) && (maxPageSize < catchUpPageSize))
+        {
+            return maxPageSize;
+        }
+
+        return catchUpPageSize;
+    }
+
+
+    /**
+     * Update the reference entity in the local repository from a live event.  The save waits behind any saves
+     * of the same entity from a batch of instances so the version check sees the latest stored copy.
      *
      * @param sourceName                     name of the source of the event.  It may be the cohort name for incoming events or the
      *                                       local repository, or event mapper name.
@@ -2130,6 +2654,46 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
                                        String       originatorMetadataCollectionId,
                                        String       originatorServerName,
                                        EntityDetail entity)
+    {
+        try
+        {
+            instanceReplayer.replayAndWait(entity == null ? null : entity.getGUID(),
+                                           () -> this.saveReferenceEntity(sourceName,
+                                                                          methodName,
+                                                                          originatorMetadataCollectionId,
+                                                                          originatorServerName,
+                                                                          entity));
+        }
+        catch (InterruptedException error)
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException error)
+        {
+            handleUnexpectedErrorFromEvent(error.getCause(),
+                                           methodName,
+                                           originatorServerName,
+                                           originatorMetadataCollectionId);
+        }
+    }
+
+
+    /**
+     * Save the reference entity in the local repository if all checks permit.
+     *
+     * @param sourceName                     name of the source of the event.  It may be the cohort name for incoming events or the
+     *                                       local repository, or event mapper name.
+     * @param methodName                     name of the event method
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that
+     *                                       sent the event.
+     * @param originatorServerName           name of the server that the event came from.
+     * @param entity                         details of the new entity
+     */
+    private void saveReferenceEntity(String       sourceName,
+                                     String       methodName,
+                                     String       originatorMetadataCollectionId,
+                                     String       originatorServerName,
+                                     EntityDetail entity)
     {
         try
         {
@@ -2375,7 +2939,8 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
 
 
     /**
-     * Update the reference relationship in the local repository.
+     * Update the reference relationship in the local repository from a live event.  The save waits behind any
+     * saves of the same relationship from a batch of instances.
      *
      * @param sourceName                     name of the source of the event.  It may be the cohort name for incoming events or the
      *                                       local repository, or event mapper name.
@@ -2390,6 +2955,46 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
                                              String       originatorMetadataCollectionId,
                                              String       originatorServerName,
                                              Relationship relationship)
+    {
+        try
+        {
+            instanceReplayer.replayAndWait(relationship == null ? null : relationship.getGUID(),
+                                           () -> this.saveReferenceRelationship(sourceName,
+                                                                                methodName,
+                                                                                originatorMetadataCollectionId,
+                                                                                originatorServerName,
+                                                                                relationship));
+        }
+        catch (InterruptedException error)
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException error)
+        {
+            handleUnexpectedErrorFromEvent(error.getCause(),
+                                           methodName,
+                                           originatorServerName,
+                                           originatorMetadataCollectionId);
+        }
+    }
+
+
+    /**
+     * Save the reference relationship in the local repository if all checks permit.
+     *
+     * @param sourceName                     name of the source of the event.  It may be the cohort name for incoming events or the
+     *                                       local repository, or event mapper name.
+     * @param methodName                     name of the event method
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that
+     *                                       sent the event.
+     * @param originatorServerName           name of the server that the event came from.
+     * @param relationship                   details of the relationship
+     */
+    private void saveReferenceRelationship(String       sourceName,
+                                           String       methodName,
+                                           String       originatorMetadataCollectionId,
+                                           String       originatorServerName,
+                                           Relationship relationship)
     {
         try
         {
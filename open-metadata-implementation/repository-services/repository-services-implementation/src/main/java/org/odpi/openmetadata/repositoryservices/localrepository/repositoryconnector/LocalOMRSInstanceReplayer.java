@@ -0,0 +1,182 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositoryconnector;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * LocalOMRSInstanceReplayer saves the reference copies received from the cohort on a pool of threads.
+ * Each instance is assigned to a thread from its guid, and each thread saves its instances one after another,
+ * so the saves for different instances run in parallel while the saves for the same instance are made in the
+ * order they were received.  The saves from batches of instances and from live events both pass through these
+ * threads.  This keeps the check that a reference copy is only replaced by a later version effective when a
+ * catch up reply and a live event for the same instance arrive close together.
+ */
+class LocalOMRSInstanceReplayer
+{
+    private static final int maxReplayThreads = 8;
+
+    private final ExecutorService[]     replayExecutors;
+    private final ReplayThreadFactory[] replayThreadFactories;
+
+
+    /**
+     * Constructor creates the threads.
+     *
+     * @param threadName name for the replay threads (used in thread dumps)
+     */
+    LocalOMRSInstanceReplayer(String   threadName)
+    {
+        this(threadName, Math.min(Runtime.getRuntime().availableProcessors(), maxReplayThreads));
+    }
+
+
+    /**
+     * Constructor creates the threads.
+     *
+     * @param threadName name for the replay threads (used in thread dumps)
+     * @param threadCount number of instances that can be saved at once
+     */
+    LocalOMRSInstanceReplayer(String   threadName,
+                              int      threadCount)
+    {
+        this.replayExecutors = new ExecutorService[Math.max(1, threadCount)];
+        this.replayThreadFactories = new ReplayThreadFactory[replayExecutors.length];
+
+        for (int i = 0; i < replayExecutors.length; i++)
+        {
+            replayThreadFactories[i] = new ReplayThreadFactory(threadName + " " + i);
+            replayExecutors[i] = Executors.newSingleThreadExecutor(replayThreadFactories[i]);
+        }
+    }
+
+
+    /**
+     * Queue the save of a reference copy.
+     *
+     * @param guid unique identifier of the instance being saved
+     * @param save action that saves the reference copy
+     * @return future that completes when the reference copy has been saved
+     */
+    Future<?> replay(String     guid,
+                     Runnable   save)
+    {
+        return replayExecutors[this.getLane(guid)].submit(save);
+    }
+
+
+    /**
+     * Save a reference copy after the saves for the same instance that are already queued, and wait for the
+     * save to complete.  The save runs on the calling thread if it is already the thread for the instance,
+     * or if the threads have been stopped.
+     *
+     * @param guid unique identifier of the instance being saved
+     * @param save action that saves the reference copy
+     * @throws InterruptedException the calling thread was interrupted while waiting
+     * @throws ExecutionException the save failed
+     */
+    void replayAndWait(String     guid,
+                       Runnable   save) throws InterruptedException, ExecutionException
+    {
+        int lane = this.getLane(guid);
+
+        if (replayThreadFactories[lane].isThreadFromFactory(Thread.currentThread()))
+        {
+            save.run();
+            return;
+        }
+
+        Future<?> replayedSave;
+
+        try
+        {
+            replayedSave = replayExecutors[lane].submit(save);
+        }
+        catch (RejectedExecutionException error)
+        {
+            save.run();
+            return;
+        }
+
+        replayedSave.get();
+    }
+
+
+    /**
+     * Return the thread that saves the instance.
+     *
+     * @param guid unique identifier of the instance
+     * @return index of the thread
+     */
+    private int getLane(String   guid)
+    {
+        if (guid == null)
+        {
+            return 0;
+        }
+
+        return (guid.hashCode() & 0x7fffffff) % replayExecutors.length;
+    }
+
+
+    /**
+     * Stop the threads once the saves that are queued are complete.
+     */
+    void shutdown()
+    {
+        for (ExecutorService replayExecutor : replayExecutors)
+        {
+            replayExecutor.shutdown();
+        }
+
+        try
+        {
+            for (ExecutorService replayExecutor : replayExecutors)
+            {
+                replayExecutor.awaitTermination(1, TimeUnit.MINUTES);
+            }
+        }
+        catch (InterruptedException error)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+
+    /**
+     * Creates the daemon threads used for the work of the local repository that runs outside of the
+     * thread that delivers the events, named so it is easy to identify in thread dumps.
+     */
+    static class ReplayThreadFactory implements ThreadFactory
+    {
+        private final String threadName;
+
+        private volatile Thread lastThread = null;
+
+        ReplayThreadFactory(String threadName)
+        {
+            this.threadName = threadName;
+        }
+
+        public Thread newThread(Runnable runnable)
+        {
+            Thread thread = new Thread(runnable, threadName);
+
+            thread.setDaemon(true);
+            lastThread = thread;
+            return thread;
+        }
+
+        boolean isThreadFromFactory(Thread thread)
+        {
+            return thread == lastThread;
+        }
+    }
+}
@@ -19,6 +19,8 @@ import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorEx
 import org.odpi.openmetadata.repositoryservices.localrepository.OMRSLocalRepository;
 import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.*;
 
+import java.util.Date;
+
 
 /**
  * LocalOMRSRepositoryConnector provides access the local metadata repository plus manages outbound
@@ -41,6 +43,7 @@ public class LocalOMRSRepositoryConnector extends OMRSRepositoryConnector implem
     private OMRSTypeDefEventProcessor           incomingTypeDefEventProcessor;
     private OMRSInstanceEventProcessor          incomingInstanceEventProcessor   = null;
     private OMRSInstanceRetrievalEventProcessor instanceRetrievalEventProcessor  = null;
+    private LocalOMRSInstanceEventProcessor     localInstanceEventProcessor      = null;
     private OMRSRepositoryEventManager          outboundRepositoryEventManager;
     private OMRSRepositoryEventExchangeRule     saveExchangeRule;
     private OMRSRepositoryConnector             realLocalConnector;
@@ -157,6 +160,11 @@ public class LocalOMRSRepositoryConnector extends OMRSRepositoryConnector implem
     {
         super.disconnect();
 
+        if (localInstanceEventProcessor != null)
+        {
+            localInstanceEventProcessor.shutdown();
+        }
+
         if (realLocalConnector  != null)
         {
             realLocalConnector.disconnect();
@@ -383,6 +391,7 @@ public class LocalOMRSRepositoryConnector extends OMRSRepositoryConnector implem
                                                           outboundRepositoryEventManager,
                                                           auditLog.createNewAuditLog(OMRSAuditingComponent.INSTANCE_EVENT_PROCESSOR));
 
+            this.localInstanceEventProcessor = localOMRSInstanceEventProcessor;
             this.incomingInstanceEventProcessor = localOMRSInstanceEventProcessor;
             this.instanceRetrievalEventProcessor = localOMRSInstanceEventProcessor;
         }
@@ -486,6 +495,22 @@ public class LocalOMRSRepositoryConnector extends OMRSRepositoryConnector implem
     }
 
 
+    /**
+     * Ask the other members of the cohorts for the instances that have changed since a point in time so the
+     * local repository can catch up after an outage.  Only the types accepted by the save rule are requested.
+     * The home repositories reply with batches of instances that are saved as reference copies as they arrive.
+     *
+     * @param changedSinceTime only instances changed at or after this time are requested; null means all instances
+     */
+    public void requestCatchUp(Date   changedSinceTime)
+    {
+        if (localInstanceEventProcessor != null)
+        {
+            localInstanceEventProcessor.requestCatchUp(changedSinceTime);
+        }
+    }
+
+
     /**
      * Return the TypeDef event processor that should be passed all incoming TypeDef events received
      * from the cohorts that this server is a member of.
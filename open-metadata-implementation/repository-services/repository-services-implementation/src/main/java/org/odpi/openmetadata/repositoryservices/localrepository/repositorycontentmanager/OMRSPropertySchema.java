@@ -0,0 +1,118 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefAttribute;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * OMRSPropertySchema is the compiled form of the properties of a type, including the properties inherited from
+ * its super types.  It maps each property name to the category of its attribute type and lists the names of the
+ * unique properties, so the properties of an instance can be validated, and the unique properties of an entity
+ * selected, with a lookup for each property.
+ * <p>
+ * The schema is never changed once it is built.  The schemas for the known types are kept with the
+ * OMRSTypeHierarchy snapshot, so they are discarded when the TypeDefs change.
+ */
+class OMRSPropertySchema
+{
+    private final Map<String, AttributeTypeDefCategory> propertyCategories = new HashMap<>();
+    private final List<String>                          uniquePropertyNames;
+
+
+    /**
+     * Compile the schema from the property definitions of a type.
+     *
+     * @param typeDefAttributes property definitions of the type followed by those of its super types
+     */
+    OMRSPropertySchema(List<TypeDefAttribute>   typeDefAttributes)
+    {
+        List<String> uniquePropertyNames = new ArrayList<>();
+
+        if (typeDefAttributes != null)
+        {
+            for (TypeDefAttribute typeDefAttribute : typeDefAttributes)
+            {
+                if ((typeDefAttribute != null) && (typeDefAttribute.getAttributeName() != null))
+                {
+                    String           propertyName     = typeDefAttribute.getAttributeName();
+                    AttributeTypeDef attributeTypeDef = typeDefAttribute.getAttributeType();
+
+                    /*
+                     * A property with no attribute type is treated as a primitive.  If a property is defined
+                     * more than once, the last definition is used.
+                     */
+                    if (attributeTypeDef == null)
+                    {
+                        propertyCategories.put(propertyName, AttributeTypeDefCategory.PRIMITIVE);
+                    }
+                    else
+                    {
+                        propertyCategories.put(propertyName, attributeTypeDef.getCategory());
+                    }
+
+                    if ((typeDefAttribute.isUnique()) && (! uniquePropertyNames.contains(propertyName)))
+                    {
+                        uniquePropertyNames.add(propertyName);
+                    }
+                }
+            }
+        }
+
+        this.uniquePropertyNames = Collections.unmodifiableList(uniquePropertyNames);
+    }
+
+
+    /**
+     * Return whether the property is defined for the type.
+     *
+     * @param propertyName name of the property
+     * @return boolean result
+     */
+    boolean isKnownProperty(String   propertyName)
+    {
+        return propertyCategories.containsKey(propertyName);
+    }
+
+
+    /**
+     * Return whether the type has no properties.
+     *
+     * @return boolean result
+     */
+    boolean isEmpty()
+    {
+        return propertyCategories.isEmpty();
+    }
+
+
+    /**
+     * Return the category of the attribute type of a property.
+     *
+     * @param propertyName name of the property
+     * @return category or null if the property is not known or its attribute type has no category
+     */
+    AttributeTypeDefCategory getPropertyCategory(String   propertyName)
+    {
+        return propertyCategories.get(propertyName);
+    }
+
+
+    /**
+     * Return the names of the properties that are unique for the type.
+     *
+     * @return unmodifiable list of property names
+     */
+    List<String> getUniquePropertyNames()
+    {
+        return uniquePropertyNames;
+    }
+}
@@ -2,6 +2,7 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
 
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSSearchCursor;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
@@ -1437,30 +1438,18 @@ public class OMRSRepositoryContentHelper implements OMRSRepositoryHelper
 
                     if (entityProperties != null)
                     {
-                        List<TypeDefAttribute> propertiesDefinition = repositoryContentManager.getAllPropertiesForTypeDef(sourceName,
-                                                                                                                          typeDef,
-                                                                                                                          methodName);
+                        OMRSPropertySchema propertySchema   = repositoryContentManager.getPropertySchema(sourceName,
+                                                                                                         typeDef,
+                                                                                                         methodName);
                         InstanceProperties uniqueAttributes = new InstanceProperties();
 
-                        if (propertiesDefinition != null)
+                        for (String propertyName : propertySchema.getUniquePropertyNames())
                         {
-                            for (TypeDefAttribute typeDefAttribute : propertiesDefinition)
+                            InstancePropertyValue propertyValue = entityProperties.getPropertyValue(propertyName);
+
+                            if (propertyValue != null)
                             {
-                                if (typeDefAttribute != null)
-                                {
-                                    String propertyName = typeDefAttribute.getAttributeName();
-
-                                    if ((typeDefAttribute.isUnique()) && (propertyName != null))
-                                    {
-                                        InstancePropertyValue propertyValue = entityProperties.getPropertyValue(
-                                                propertyName);
-
-                                        if (propertyValue != null)
-                                        {
-                                            uniqueAttributes.setProperty(propertyName, propertyValue);
-                                        }
-                                    }
-                                }
+                                uniqueAttributes.setProperty(propertyName, propertyValue);
                             }
                         }
 
@@ -3271,6 +3260,11 @@ public class OMRSRepositoryContentHelper implements OMRSRepositoryHelper
                              @Override
                              public int compare(final EntityDetail object1, final EntityDetail object2)
                              {
+                                 if (OMRSRepositoryContentHelper.isUpdateTimeOrder(sequencingOrder))
+                                 {
+                                     return OMRSRepositoryContentHelper.compareUpdateTimes(object1, object2, sequencingOrder);
+                                 }
+
                                  return OMRSRepositoryContentHelper.compareProperties(object1.getProperties(),
                                                                                       object2.getProperties(),
                                                                                       sequencingProperty,
@@ -3340,6 +3334,11 @@ public class OMRSRepositoryContentHelper implements OMRSRepositoryHelper
                             @Override
                             public int compare(final Relationship object1, final Relationship object2)
                             {
+                                if (OMRSRepositoryContentHelper.isUpdateTimeOrder(sequencingOrder))
+                                {
+                                    return OMRSRepositoryContentHelper.compareUpdateTimes(object1, object2, sequencingOrder);
+                                }
+
                                 return OMRSRepositoryContentHelper.compareProperties(object1.getProperties(),
                                                                                      object2.getProperties(),
                                                                                      sequencingProperty,
@@ -3358,6 +3357,43 @@ public class OMRSRepositoryContentHelper implements OMRSRepositoryHelper
     }
 
 
+    /**
+     * Return whether the sequencing order is by the time of the last update to each instance.
+     *
+     * @param sequencingOrder requested order
+     * @return boolean flag
+     */
+    private static boolean isUpdateTimeOrder(SequencingOrder sequencingOrder)
+    {
+        return (sequencingOrder == SequencingOrder.LAST_UPDATE_OLDEST) || (sequencingOrder == SequencingOrder.LAST_UPDATE_RECENT);
+    }
+
+
+    /**
+     * Compare two instances by the time of their last update (or creation if never updated) and then their guid.
+     * This is the order of the cursor based searches, so the scans that build their pages can stop once a
+     * page is filled.
+     *
+     * @param instance1 first instance
+     * @param instance2 second instance
+     * @param sequencingOrder oldest or most recent first
+     * @return comparison result
+     */
+    private static int compareUpdateTimes(InstanceHeader  instance1,
+                                          InstanceHeader  instance2,
+                                          SequencingOrder sequencingOrder)
+    {
+        int result = OMRSSearchCursor.instanceOrder.compare(instance1, instance2);
+
+        if (sequencingOrder == SequencingOrder.LAST_UPDATE_RECENT)
+        {
+            return -result;
+        }
+
+        return result;
+    }
+
+
     /**
      * Compare the properties of two instances and determine the sort order based on the nominated property value and
      * sort order.
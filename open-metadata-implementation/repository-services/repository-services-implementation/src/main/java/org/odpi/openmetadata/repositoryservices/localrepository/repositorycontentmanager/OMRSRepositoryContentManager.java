@@ -54,10 +54,17 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     private Map<String, TypeDef>            activeTypeDefNames             = new HashMap<>();
     private Map<String, AttributeTypeDef>   activeAttributeTypeDefGUIDs    = new HashMap<>();
     private Map<String, AttributeTypeDef>   activeAttributeTypeDefNames    = new HashMap<>();
-    private Map<String, List<TypeDefLink>>  typeDefSuperTypes              = new HashMap<>();
     private Map<String, InstanceType>       knownInstanceTypes             = new HashMap<>();
     private Map<String, String>             metadataCollectionNames        = new HashMap<>();
 
+    /*
+     * The type hierarchy is rebuilt from knownTypeDefNames on the first type check after the TypeDefs change.
+     * The changes to the TypeDefs and the rebuild lock typeHierarchyLock; the type checks just read the
+     * current snapshot.
+     */
+    private final Object                    typeHierarchyLock              = new Object();
+    private volatile OMRSTypeHierarchy      typeHierarchy                  = null;
+
 
     /*
      * The audit log provides a verifiable record of the open metadata archives that have been loaded into
@@ -142,17 +149,24 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         if (this.validTypeDef(sourceName, newTypeDef))
         {
-            knownTypeDefGUIDs.put(newTypeDef.getGUID(), newTypeDef);
-            knownTypeDefNames.put(newTypeDef.getName(), newTypeDef);
+            synchronized (typeHierarchyLock)
+            {
+                knownTypeDefGUIDs.put(newTypeDef.getGUID(), newTypeDef);
+                knownTypeDefNames.put(newTypeDef.getName(), newTypeDef);
+                typeHierarchy = null;
+            }
 
             if (isLocallySupported)
             {
                 activeTypeDefGUIDs.put(newTypeDef.getGUID(), newTypeDef);
                 activeTypeDefNames.put(newTypeDef.getName(), newTypeDef);
 
-                log.debug("New Active Type " + newTypeDef.getName() + " from " + sourceName + ". Full TypeDef: " + newTypeDef);
+                if (log.isDebugEnabled())
+                {
+                    log.debug("New Active Type " + newTypeDef.getName() + " from " + sourceName + ". Full TypeDef: " + newTypeDef);
+                }
             }
-            else
+            else if (log.isDebugEnabled())
             {
                 log.debug("New Known Type " + newTypeDef.getName() + " from " + sourceName + ". Full TypeDef: " + newTypeDef);
             }
@@ -217,15 +231,22 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         if (this.validTypeDef(sourceName, typeDef))
         {
-            knownTypeDefGUIDs.put(typeDef.getGUID(), typeDef);
-            knownTypeDefNames.put(typeDef.getName(), typeDef);
+            synchronized (typeHierarchyLock)
+            {
+                knownTypeDefGUIDs.put(typeDef.getGUID(), typeDef);
+                knownTypeDefNames.put(typeDef.getName(), typeDef);
+                typeHierarchy = null;
+            }
 
             if (localRepositoryConnector != null)
             {
                 activeTypeDefGUIDs.put(typeDef.getGUID(), typeDef);
                 activeTypeDefNames.put(typeDef.getName(), typeDef);
 
-                log.debug("Updated Active Type " + typeDef.getName() + " from " + sourceName + ". Full TypeDef: " + typeDef);
+                if (log.isDebugEnabled())
+                {
+                    log.debug("Updated Active Type " + typeDef.getName() + " from " + sourceName + ". Full TypeDef: " + typeDef);
+                }
             }
         }
     }
@@ -244,8 +265,12 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         if (this.validTypeId(sourceName, obsoleteTypeDefGUID, obsoleteTypeDefName))
         {
-            knownTypeDefGUIDs.remove(obsoleteTypeDefGUID);
-            knownTypeDefNames.remove(obsoleteTypeDefName);
+            synchronized (typeHierarchyLock)
+            {
+                knownTypeDefGUIDs.remove(obsoleteTypeDefGUID);
+                knownTypeDefNames.remove(obsoleteTypeDefName);
+                typeHierarchy = null;
+            }
 
             if (localRepositoryConnector != null)
             {
@@ -414,95 +439,77 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
 
 
     /**
-     * Evaluate the superTypes for a type.  The results are cached in typeDefSuperTypes.
+     * Return the current snapshot of the type hierarchy, building it if the TypeDefs have changed since the
+     * last snapshot was built.
      *
-     * @param sourceName source of the request (used for logging)
-     * @param typeName name of type to process
-     * @param methodName calling method
-     * @return list of supertype links or null if top level
+     * @return type hierarchy
      */
-    private List<TypeDefLink>   getSuperTypes(String    sourceName,
-                                              String    typeName,
-                                              String    methodName)
+    private OMRSTypeHierarchy getTypeHierarchy()
     {
-        final String  thisMethodName = "getSuperTypes";
-
-        List<TypeDefLink>   typeHierarchy = typeDefSuperTypes.get(typeName);
+        OMRSTypeHierarchy currentTypeHierarchy = typeHierarchy;
 
-        if (typeHierarchy == null)
+        if (currentTypeHierarchy == null)
         {
-            /*
-             * The type hierarchy is not known at this time (it is evaluated lazily).
-             */
-            typeHierarchy = new ArrayList<>();
-
-            TypeDef typeDef = knownTypeDefNames.get(typeName);
-
-            if (typeDef != null)
+            synchronized (typeHierarchyLock)
             {
-                TypeDefLink superTypeLink = typeDef.getSuperType();
+                currentTypeHierarchy = typeHierarchy;
 
-                while (superTypeLink != null)
+                if (currentTypeHierarchy == null)
                 {
-                    String superTypeName = superTypeLink.getName();
-
-                    if (superTypeName != null)
-                    {
-                        log.debug(typeName + " has super type " + superTypeName);
+                    currentTypeHierarchy = new OMRSTypeHierarchy(knownTypeDefNames.values());
+                    typeHierarchy = currentTypeHierarchy;
+                }
+            }
+        }
 
-                        typeHierarchy.add(superTypeLink);
+        return currentTypeHierarchy;
+    }
 
-                        /*
-                         * Retrieve the TypeDef for this super type
-                         */
-                        TypeDef superTypeDef = knownTypeDefNames.get(superTypeName);
 
-                        if (superTypeDef != null)
-                        {
-                            /*
-                             * Retrieve the super type for this super typeDef.  It will be null if the type is top-level.
-                             */
-                            superTypeLink = superTypeDef.getSuperType();
-                        }
-                        else
-                        {
-                            log.error(superTypeName + " supertype is not known in TypeDef cache");
-                            throwContentManagerLogicError(sourceName, methodName, thisMethodName);
-                        }
-                    }
-                    else
-                    {
-                        log.error("Corrupted TypeDef cache, no name for " + superTypeLink.toString());
-                        throwContentManagerLogicError(sourceName, methodName, thisMethodName);
-                    }
-                }
+    /**
+     * Return the ordinal of a type in the type hierarchy.  The type must be known and its super types
+     * must be known.
+     *
+     * @param sourceName source of the request (used for logging)
+     * @param typeHierarchy snapshot of the type hierarchy
+     * @param typeName name of type to look up
+     * @param methodName calling method
+     * @return ordinal of the type
+     */
+    private int getTypeOrdinal(String            sourceName,
+                               OMRSTypeHierarchy typeHierarchy,
+                               String            typeName,
+                               String            methodName)
+    {
+        final String  thisMethodName = "getTypeOrdinal";
 
-                /*
-                 * Cache the resulting superType list
-                 */
-                typeDefSuperTypes.put(typeName, typeHierarchy);
-            }
-            else
-            {
-                log.error(typeName + " type is not known in TypeDef cache");
-                throwContentManagerLogicError(sourceName, methodName, thisMethodName);
-            }
-        }
+        int typeOrdinal = typeHierarchy.getOrdinalByName(typeName);
 
-        if (typeHierarchy.isEmpty())
-        {
-            /*
-             * The type hierarchy has been evaluated and this type has no supertypes.
-             */
-            return null;
-        }
-        else
+        if (typeOrdinal == OMRSTypeHierarchy.unknownType)
         {
-            /*
-             * The type hierarchy is known and can be returned directly.
-             */
-            return typeHierarchy;
+            log.error(typeName + " type or one of its super types is not known in TypeDef cache");
+            throwContentManagerLogicError(sourceName, methodName, thisMethodName);
         }
+
+        return typeOrdinal;
+    }
+
+
+    /**
+     * Return the superTypes for a type.
+     *
+     * @param sourceName source of the request (used for logging)
+     * @param typeName name of type to process
+     * @param methodName calling method
+     * @return list of supertype links or null if top level
+     */
+    private List<TypeDefLink>   getSuperTypes(String    sourceName,
+                                              String    typeName,
+                                              String    methodName)
+    {
+        OMRSTypeHierarchy currentTypeHierarchy = this.getTypeHierarchy();
+
+        return currentTypeHierarchy.getSuperTypes(this.getTypeOrdinal(sourceName, currentTypeHierarchy, typeName, methodName));
     }
 
 
@@ -521,8 +528,6 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         final String methodName = "isTypeOf";
 
-        log.debug("IsTypeOf: sourceName = " + sourceName + "; actualTypeName = " + actualTypeName + "; expectedTypeName = " + expectedTypeName);
-
         if ((expectedTypeName != null) && (actualTypeName != null))
         {
             /*
@@ -530,30 +535,16 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
              */
             if (actualTypeName.equals(expectedTypeName))
             {
-                log.debug("Simple match success");
                 return true;
             }
 
             /*
              * Looking for a match in the superTypes.
              */
-            List<TypeDefLink>   typeHierarchy = this.getSuperTypes(sourceName, actualTypeName, methodName);
+            OMRSTypeHierarchy currentTypeHierarchy = this.getTypeHierarchy();
+            int               actualTypeOrdinal    = this.getTypeOrdinal(sourceName, currentTypeHierarchy, actualTypeName, methodName);
 
-            if (typeHierarchy != null)
-            {
-                for (TypeDefLink superType : typeHierarchy)
-                {
-                    if (superType != null)
-                    {
-                        if (expectedTypeName.equals(superType.getName()))
-                        {
-                            log.debug("SuperType match success");
-                            return true;
-                        }
-                        log.debug("No match with " + superType.getName());
-                    }
-                }
-            }
+            return currentTypeHierarchy.isTypeOf(actualTypeOrdinal, currentTypeHierarchy.getOrdinalByName(expectedTypeName));
         }
 
         return false;
@@ -577,8 +568,6 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         final String methodName = "isTypeOfByGUID";
 
-        log.debug("IsTypeOfByGUID: sourceName = " + sourceName + "; actualTypeName = " + actualTypeName + "; expectedTypeGUID = " + expectedTypeGUID);
-
         if ((expectedTypeGUID != null) && (actualTypeGUID != null))
         {
             /*
@@ -586,30 +575,16 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
              */
             if (actualTypeGUID.equals(expectedTypeGUID))
             {
-                log.debug("Simple match success");
                 return true;
             }
 
             /*
              * Looking for a match in the superTypes.
              */
-           List<TypeDefLink>   typeHierarchy = this.getSuperTypes(sourceName, actualTypeName, methodName);
+            OMRSTypeHierarchy currentTypeHierarchy = this.getTypeHierarchy();
+            int               actualTypeOrdinal    = this.getTypeOrdinal(sourceName, currentTypeHierarchy, actualTypeName, methodName);
 
-            if (typeHierarchy != null)
-            {
-                for (TypeDefLink superType : typeHierarchy)
-                {
-                    if (superType != null)
-                    {
-                        if (expectedTypeGUID.equals(superType.getGUID()))
-                        {
-                            log.debug("SuperType match success");
-                            return true;
-                        }
-                        log.debug("No match with " + superType.getGUID());
-                    }
-                }
-            }
+            return currentTypeHierarchy.isTypeOf(actualTypeOrdinal, currentTypeHierarchy.getOrdinalByGUID(expectedTypeGUID));
         }
 
         return false;
@@ -1395,6 +1370,39 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     }
 
 
+    /**
+     * Return the compiled schema of the properties in the supplied TypeDef and all of its super-types.
+     * The schema for a known TypeDef is compiled once and reused until the TypeDefs change.  A TypeDef
+     * that does not match the known TypeDef of the same name has its schema compiled for this call only.
+     *
+     * @param sourceName name of caller.
+     * @param typeDef TypeDef to query.
+     * @param methodName calling method.
+     * @return property schema
+     */
+    OMRSPropertySchema getPropertySchema(String  sourceName,
+                                         TypeDef typeDef,
+                                         String  methodName)
+    {
+        final  String             thisMethodName = "getPropertySchema";
+
+        if (typeDef == null)
+        {
+            throwContentManagerLogicError(sourceName, methodName, thisMethodName);
+        }
+
+        OMRSTypeHierarchy currentTypeHierarchy = this.getTypeHierarchy();
+        int               typeOrdinal          = currentTypeHierarchy.getOrdinalByName(typeDef.getName());
+
+        if (currentTypeHierarchy.isSameTypeDef(typeOrdinal, typeDef))
+        {
+            return currentTypeHierarchy.getPropertySchema(typeOrdinal);
+        }
+
+        return new OMRSPropertySchema(this.getAllPropertiesForTypeDef(sourceName, typeDef, methodName));
+    }
+
+
     /**
      * Return a boolean flag indicating whether the list of TypeDefs passed are compatible with the
      * all known typedefs.
@@ -1417,7 +1425,11 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             {
                 if (!isKnownType(sourceName, typeDef.getGUID(), typeDef.getName()))
                 {
-                    knownTypeDefNames.put(typeDef.getName(), typeDef);
+                    synchronized (typeHierarchyLock)
+                    {
+                        knownTypeDefNames.put(typeDef.getName(), typeDef);
+                        typeHierarchy = null;
+                    }
                 }
             }
             else
@@ -1500,12 +1512,18 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             {
                 if (openTypesOriginGUID.equals(typeDef.getOrigin()))
                 {
-                    log.debug("TypeDef " + typeName + " (GUID = " + typeGUID + ") from " + sourceName + " is an open type");
+                    if (log.isDebugEnabled())
+                    {
+                        log.debug("TypeDef " + typeName + " (GUID = " + typeGUID + ") from " + sourceName + " is an open type");
+                    }
                     return true;
                 }
                 else
                 {
-                    log.debug("TypeDef " + typeName + " (GUID = " + typeGUID + ") from " + sourceName + " is NOT an open type");
+                    if (log.isDebugEnabled())
+                    {
+                        log.debug("TypeDef " + typeName + " (GUID = " + typeGUID + ") from " + sourceName + " is NOT an open type");
+                    }
                 }
             }
         }
@@ -1565,18 +1583,27 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
 
                 if (attributeTypeDef == null)
                 {
-                    log.debug("Unknown (Attribute)TypeDef " + typeName + " (GUID = " + typeGUID + ") from " + sourceName);
+                    if (log.isDebugEnabled())
+                    {
+                        log.debug("Unknown (Attribute)TypeDef " + typeName + " (GUID = " + typeGUID + ") from " + sourceName);
+                    }
                     return false;
                 }
                 else
                 {
-                    log.debug("Known AttributeTypeDef " + typeName + " (GUID = " + typeGUID + ") from " + sourceName);
+                    if (log.isDebugEnabled())
+                    {
+                        log.debug("Known AttributeTypeDef " + typeName + " (GUID = " + typeGUID + ") from " + sourceName);
+                    }
                     return true;
                 }
             }
             else
             {
-                log.debug("Known TypeDef " + typeName + " (GUID = " + typeGUID + ") from " + sourceName);
+                if (log.isDebugEnabled())
+                {
+                    log.debug("Known TypeDef " + typeName + " (GUID = " + typeGUID + ") from " + sourceName);
+                }
                 return true;
             }
         }
@@ -1636,18 +1663,27 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
 
                 if (attributeTypeDef == null)
                 {
-                    log.debug("Inactive (Attribute)TypeDef " + typeName + " (GUID = " + typeGUID + ") from " + sourceName);
+                    if (log.isDebugEnabled())
+                    {
+                        log.debug("Inactive (Attribute)TypeDef " + typeName + " (GUID = " + typeGUID + ") from " + sourceName);
+                    }
                     return false;
                 }
                 else
                 {
-                    log.debug("Active AttributeTypeDef " + typeName + " (GUID = " + typeGUID + ") from " + sourceName);
+                    if (log.isDebugEnabled())
+                    {
+                        log.debug("Active AttributeTypeDef " + typeName + " (GUID = " + typeGUID + ") from " + sourceName);
+                    }
                     return true;
                 }
             }
             else
             {
-                log.debug("Active TypeDef " + typeName + " (GUID = " + typeGUID + ") from " + sourceName);
+                if (log.isDebugEnabled())
+                {
+                    log.debug("Active TypeDef " + typeName + " (GUID = " + typeGUID + ") from " + sourceName);
+                }
                 return true;
             }
         }
@@ -1878,7 +1914,10 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
 
         if (typeDef == null)
         {
-            log.debug("Unknown TypeDef " + typeDefName + " (GUID = " + typeDefGUID + ") from " + sourceName);
+            if (log.isDebugEnabled())
+            {
+                log.debug("Unknown TypeDef " + typeDefName + " (GUID = " + typeDefGUID + ") from " + sourceName);
+            }
 
             return true;
         }
@@ -1961,7 +2000,10 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
                            typeDef.getVersion(),
                            typeDef.getCategory()))
         {
-            log.debug("Good typeDef from " + sourceName);
+            if (log.isDebugEnabled())
+            {
+                log.debug("Good typeDef from " + sourceName);
+            }
             return true;
         }
         else
@@ -1993,7 +2035,10 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
                                     attributeTypeDef.getName(),
                                     attributeTypeDef.getCategory()))
         {
-            log.debug("Good attributeTypeDef from " + sourceName);
+            if (log.isDebugEnabled())
+            {
+                log.debug("Good attributeTypeDef from " + sourceName);
+            }
             return true;
         }
         else
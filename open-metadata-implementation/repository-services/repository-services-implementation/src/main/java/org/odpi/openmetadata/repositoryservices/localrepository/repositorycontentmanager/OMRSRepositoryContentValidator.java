@@ -1892,14 +1892,14 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
             typeDefCategoryName = typeDef.getCategory().getName();
         }
 
-        List<TypeDefAttribute> typeDefAttributes = repositoryContentManager.getAllPropertiesForTypeDef(sourceName,
-                                                                                                       typeDef,
-                                                                                                       methodName);
+        OMRSPropertySchema propertySchema = repositoryContentManager.getPropertySchema(sourceName,
+                                                                                       typeDef,
+                                                                                       methodName);
 
-        if (typeDefAttributes == null)
+        if ((propertySchema.isEmpty()) && (properties.getPropertyCount() > 0))
         {
             /*
-             * Error is thrown because properties is not null so properties have been provided for this instance.
+             * Error is thrown because the type has no properties and properties have been provided for this instance.
              */
             OMRSErrorCode errorCode    = OMRSErrorCode.NO_PROPERTIES_FOR_TYPE;
             String        errorMessage = errorCode.getErrorMessageId()
@@ -1941,31 +1941,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                                                  errorCode.getUserAction());
             }
 
-            AttributeTypeDefCategory  propertyDefinitionType = null;
-            boolean                   recognizedProperty = false;
-
-            for (TypeDefAttribute typeDefAttribute : typeDefAttributes)
-            {
-                if (typeDefAttribute != null)
-                {
-                    if (propertyName.equals(typeDefAttribute.getAttributeName()))
-                    {
-                        recognizedProperty = true;
-
-                        AttributeTypeDef  attributeTypeDef = typeDefAttribute.getAttributeType();
-                        if (attributeTypeDef == null)
-                        {
-                            propertyDefinitionType = AttributeTypeDefCategory.PRIMITIVE;
-                        }
-                        else
-                        {
-                            propertyDefinitionType = attributeTypeDef.getCategory();
-                        }
-                    }
-                }
-            }
-
-            if (! recognizedProperty)
+            if (! propertySchema.isKnownProperty(propertyName))
             {
                 OMRSErrorCode errorCode    = OMRSErrorCode.BAD_PROPERTY_FOR_TYPE;
                 String        errorMessage = errorCode.getErrorMessageId()
@@ -2018,8 +1994,9 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                                                  errorCode.getUserAction());
             }
 
-            boolean  validPropertyType = false;
-            String   validPropertyTypeName = propertyType.getName();
+            AttributeTypeDefCategory  propertyDefinitionType = propertySchema.getPropertyCategory(propertyName);
+            boolean                   validPropertyType = false;
+            String                    validPropertyTypeName = propertyType.getName();
 
             switch (propertyType)
             {
@@ -3336,6 +3313,74 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
     }
 
 
+    /**
+     * Return a boolean indicating whether the supplied entity is visible through the supplied governance zones.
+     * An entity is visible if it has no zoneMembership property (or the property is empty) or one of the
+     * zones in its zoneMembership property is in the supplied list.
+     *
+     * @param limitResultsByZone list of zones; null means that there are no zone restrictions and so results
+     *                           in a true response.
+     * @param entity entity to test.
+     * @return boolean result
+     */
+    public boolean verifyEntityIsInZones(List<String> limitResultsByZone,
+                                         EntityDetail entity)
+    {
+        final String zoneMembershipPropertyName = "zoneMembership";
+
+        if ((limitResultsByZone == null) || (limitResultsByZone.isEmpty()))
+        {
+            return true;
+        }
+
+        if (entity == null)
+        {
+            return false;
+        }
+
+        InstanceProperties entityProperties = entity.getProperties();
+
+        if (entityProperties == null)
+        {
+            return true;
+        }
+
+        InstancePropertyValue zoneMembership = entityProperties.getPropertyValue(zoneMembershipPropertyName);
+
+        if ((! (zoneMembership instanceof ArrayPropertyValue)) ||
+            (((ArrayPropertyValue)zoneMembership).getArrayValues() == null) ||
+            (((ArrayPropertyValue)zoneMembership).getArrayValues().getInstanceProperties() == null))
+        {
+            return true;
+        }
+
+        /*
+         * An array with no zone names in it is treated in the same way as a missing property.
+         */
+        boolean hasZones = false;
+
+        for (InstancePropertyValue zone : ((ArrayPropertyValue)zoneMembership).getArrayValues().getInstanceProperties().values())
+        {
+            if (zone instanceof PrimitivePropertyValue)
+            {
+                Object zoneName = ((PrimitivePropertyValue)zone).getPrimitiveValue();
+
+                if (zoneName != null)
+                {
+                    if (limitResultsByZone.contains(zoneName.toString()))
+                    {
+                        return true;
+                    }
+
+                    hasZones = true;
+                }
+            }
+        }
+
+        return (! hasZones);
+    }
+
+
     /**
      * Return the string form of the instance properties.  Can be used as propertyValue on find property
      * value calls.
@@ -0,0 +1,291 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefAttribute;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+
+/**
+ * OMRSTypeHierarchy is a snapshot of the super type hierarchy of the TypeDefs known to the
+ * OMRSRepositoryContentManager.  Each type is given an ordinal, and the ordinals of the type and all of its
+ * super types are recorded in a bit set.  This means checking whether an instance is of a type (or one of its
+ * subtypes) is a single bit test rather than a walk up the super type links.
+ * <p>
+ * The snapshot is never changed once it is built.  When the TypeDefs change, the content manager builds a new
+ * snapshot, so it can be read from many threads without locking.  The only exception is the property schema
+ * for each type, which is compiled the first time it is requested from this snapshot.  The TypeDefs it is
+ * compiled from are those of this snapshot, so all threads compile the same schema.
+ * <p>
+ * A type whose super types can not be resolved (because a super type is not known, a link has no name or
+ * the links form a loop) is not given an ordinal, so it is reported as unknown.
+ */
+class OMRSTypeHierarchy
+{
+    static final int unknownType = -1;
+
+    private final Map<String, Integer>                      typeNameOrdinals = new HashMap<>();
+    private final Map<String, Integer>                      typeGUIDOrdinals = new HashMap<>();
+    private final TypeDef[]                                 typeDefs;
+    private final BitSet[]                                  typeAncestors;
+    private final List<TypeDefLink>[]                       typeSuperTypes;
+    private final int[][]                                   typeSuperTypeOrdinals;
+    private final AtomicReferenceArray<OMRSPropertySchema>  typePropertySchemas;
+
+
+    /**
+     * Build the snapshot from the known TypeDefs.
+     *
+     * @param typeDefs known TypeDefs
+     */
+    @SuppressWarnings("unchecked")
+    OMRSTypeHierarchy(Collection<TypeDef>   typeDefs)
+    {
+        List<TypeDef>         orderedTypeDefs   = new ArrayList<>();
+        Map<String, Integer>  candidateOrdinals = new HashMap<>();
+
+        if (typeDefs != null)
+        {
+            for (TypeDef typeDef : typeDefs)
+            {
+                if ((typeDef != null) && (typeDef.getName() != null) && (! candidateOrdinals.containsKey(typeDef.getName())))
+                {
+                    candidateOrdinals.put(typeDef.getName(), orderedTypeDefs.size());
+                    orderedTypeDefs.add(typeDef);
+                }
+            }
+        }
+
+        this.typeDefs              = orderedTypeDefs.toArray(new TypeDef[0]);
+        this.typeAncestors         = new BitSet[orderedTypeDefs.size()];
+        this.typeSuperTypes        = new List[orderedTypeDefs.size()];
+        this.typeSuperTypeOrdinals = new int[orderedTypeDefs.size()][];
+        this.typePropertySchemas   = new AtomicReferenceArray<>(orderedTypeDefs.size());
+
+        for (int ordinal = 0; ordinal < orderedTypeDefs.size(); ordinal++)
+        {
+            TypeDef           typeDef           = orderedTypeDefs.get(ordinal);
+            BitSet            ancestors         = new BitSet(orderedTypeDefs.size());
+            List<TypeDefLink> superTypes        = new ArrayList<>();
+            List<Integer>     superTypeOrdinals = new ArrayList<>();
+            TypeDefLink       superType         = typeDef.getSuperType();
+            boolean           resolved          = true;
+
+            ancestors.set(ordinal);
+
+            while (superType != null)
+            {
+                Integer superTypeOrdinal = null;
+
+                if (superType.getName() != null)
+                {
+                    superTypeOrdinal = candidateOrdinals.get(superType.getName());
+                }
+
+                if ((superTypeOrdinal == null) || (ancestors.get(superTypeOrdinal)))
+                {
+                    resolved = false;
+                    break;
+                }
+
+                ancestors.set(superTypeOrdinal);
+                superTypes.add(superType);
+                superTypeOrdinals.add(superTypeOrdinal);
+
+                superType = orderedTypeDefs.get(superTypeOrdinal).getSuperType();
+            }
+
+            if (resolved)
+            {
+                typeAncestors[ordinal] = ancestors;
+                typeSuperTypeOrdinals[ordinal] = new int[superTypeOrdinals.size()];
+
+                for (int i = 0; i < superTypeOrdinals.size(); i++)
+                {
+                    typeSuperTypeOrdinals[ordinal][i] = superTypeOrdinals.get(i);
+                }
+
+                typeNameOrdinals.put(typeDef.getName(), ordinal);
+
+                if (typeDef.getGUID() != null)
+                {
+                    typeGUIDOrdinals.put(typeDef.getGUID(), ordinal);
+                }
+
+                if (! superTypes.isEmpty())
+                {
+                    typeSuperTypes[ordinal] = superTypes;
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Return the ordinal for a type.
+     *
+     * @param typeName unique name of the type
+     * @return ordinal or unknownType
+     */
+    int getOrdinalByName(String   typeName)
+    {
+        if (typeName != null)
+        {
+            Integer ordinal = typeNameOrdinals.get(typeName);
+
+            if (ordinal != null)
+            {
+                return ordinal;
+            }
+        }
+
+        return unknownType;
+    }
+
+
+    /**
+     * Return the ordinal for a type.
+     *
+     * @param typeGUID unique identifier of the type
+     * @return ordinal or unknownType
+     */
+    int getOrdinalByGUID(String   typeGUID)
+    {
+        if (typeGUID != null)
+        {
+            Integer ordinal = typeGUIDOrdinals.get(typeGUID);
+
+            if (ordinal != null)
+            {
+                return ordinal;
+            }
+        }
+
+        return unknownType;
+    }
+
+
+    /**
+     * Return whether a type is the expected type or one of its subtypes.
+     *
+     * @param actualTypeOrdinal ordinal of the type of the instance
+     * @param expectedTypeOrdinal ordinal of the expected type
+     * @return boolean result (an unknown type in either results in false)
+     */
+    boolean isTypeOf(int   actualTypeOrdinal,
+                     int   expectedTypeOrdinal)
+    {
+        if ((actualTypeOrdinal == unknownType) || (expectedTypeOrdinal == unknownType))
+        {
+            return false;
+        }
+
+        return typeAncestors[actualTypeOrdinal].get(expectedTypeOrdinal);
+    }
+
+
+    /**
+     * Return the links to the super types of a type, starting with its immediate super type.
+     *
+     * @param typeOrdinal ordinal of the type
+     * @return new list of super type links or null if the type is top level or unknown
+     */
+    List<TypeDefLink> getSuperTypes(int   typeOrdinal)
+    {
+        if ((typeOrdinal == unknownType) || (typeSuperTypes[typeOrdinal] == null))
+        {
+            return null;
+        }
+
+        return new ArrayList<>(typeSuperTypes[typeOrdinal]);
+    }
+
+
+    /**
+     * Return whether the TypeDef is the one this snapshot was built from, comparing the unique identifier and
+     * version.
+     *
+     * @param typeOrdinal ordinal of the type
+     * @param typeDef TypeDef to compare
+     * @return boolean result
+     */
+    boolean isSameTypeDef(int       typeOrdinal,
+                          TypeDef   typeDef)
+    {
+        if ((typeOrdinal == unknownType) || (typeDef == null))
+        {
+            return false;
+        }
+
+        TypeDef knownTypeDef = typeDefs[typeOrdinal];
+
+        return (knownTypeDef.getVersion() == typeDef.getVersion()) &&
+               (knownTypeDef.getGUID() != null) && (knownTypeDef.getGUID().equals(typeDef.getGUID()));
+    }
+
+
+    /**
+     * Return the property schema for a type, compiling it from the properties of the type and its super types
+     * if this is the first request for it.
+     *
+     * @param typeOrdinal ordinal of the type
+     * @return property schema or null if the type is unknown
+     */
+    OMRSPropertySchema getPropertySchema(int   typeOrdinal)
+    {
+        if (typeOrdinal == unknownType)
+        {
+            return null;
+        }
+
+        OMRSPropertySchema propertySchema = typePropertySchemas.get(typeOrdinal);
+
+        if (propertySchema == null)
+        {
+            List<TypeDefAttribute> typeDefAttributes = new ArrayList<>();
+
+            this.addPropertiesDefinition(typeDefAttributes, typeDefs[typeOrdinal]);
+
+            for (int superTypeOrdinal : typeSuperTypeOrdinals[typeOrdinal])
+            {
+                this.addPropertiesDefinition(typeDefAttributes, typeDefs[superTypeOrdinal]);
+            }
+
+            propertySchema = new OMRSPropertySchema(typeDefAttributes);
+
+            if (! typePropertySchemas.compareAndSet(typeOrdinal, null, propertySchema))
+            {
+                propertySchema = typePropertySchemas.get(typeOrdinal);
+            }
+        }
+
+        return propertySchema;
+    }
+
+
+    /**
+     * Add the property definitions of a TypeDef to a list.
+     *
+     * @param typeDefAttributes list to add to
+     * @param typeDef TypeDef to extract from
+     */
+    private void addPropertiesDefinition(List<TypeDefAttribute> typeDefAttributes,
+                                         TypeDef                typeDef)
+    {
+        List<TypeDefAttribute> propertiesDefinition = typeDef.getPropertiesDefinition();
+
+        if (propertiesDefinition != null)
+        {
+            typeDefAttributes.addAll(propertiesDefinition);
+        }
+    }
+}
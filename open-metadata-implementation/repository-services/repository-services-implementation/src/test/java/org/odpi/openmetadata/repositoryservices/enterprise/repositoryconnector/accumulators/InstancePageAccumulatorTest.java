@@ -0,0 +1,216 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSSearchCursor;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSSearchCursorStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests that the pages of a cursor based search across two repositories return every instance once, in
+ * instance order, whether a repository keeps its own cursor or is paged by element number.
+ */
+public class InstancePageAccumulatorTest
+{
+    private static final String savingMember    = "saving-member";
+    private static final String offsetMember    = "offset-member";
+    private static final int    pageSize        = 4;
+
+    private OMRSSearchCursorStore<EntityDetail> cursorStore = new OMRSSearchCursorStore<>();
+
+
+    @Test
+    public void testMergedPagesReturnEachInstanceOnce() throws Exception
+    {
+        this.checkMergedPages(false);
+    }
+
+
+    /**
+     * The repository that is paged by element number ignores the requested sequencing order, so the merged
+     * pages are not in instance order but each instance is still returned once.
+     */
+    @Test
+    public void testUnsortedOffsetPages() throws Exception
+    {
+        this.checkMergedPages(true);
+    }
+
+
+    /**
+     * Page through a search across both repositories and check each instance is returned once, in order.
+     *
+     * @param shuffleOffsetResults whether the repository paged by element number returns its results unsorted
+     * @throws Exception bad token
+     */
+    private void checkMergedPages(boolean shuffleOffsetResults) throws Exception
+    {
+        List<EntityDetail> savingResults = new ArrayList<>();
+        List<EntityDetail> offsetResults = new ArrayList<>();
+
+        for (int i = 0; i < 15; i++)
+        {
+            savingResults.add(getEntity("guid-a-" + i, 1000L + (i * 2), 1));
+            offsetResults.add(getEntity("guid-b-" + i, 1001L + (i * 3), 1));
+        }
+
+        if (shuffleOffsetResults)
+        {
+            Collections.shuffle(offsetResults, new Random(42));
+        }
+        else
+        {
+            /*
+             * An instance that both repositories hold, where one copy is out of date.  The copies are only
+             * merged if they are returned on the same page.
+             */
+            savingResults.add(getEntity("guid-shared", 1500L, 1));
+            offsetResults.add(getEntity("guid-shared", 1500L, 2));
+        }
+
+        List<EntityDetail> returned = new ArrayList<>();
+        String             token    = null;
+
+        do
+        {
+            Map<String, String>                   requestedTokens = InstancePageAccumulator.getRequestedTokens(token, "token", "test", "enterprise");
+            InstancePageAccumulator<EntityDetail> accumulator     = new InstancePageAccumulator<>(requestedTokens, null, null, null);
+
+            if (accumulator.isRepositoryRequested(savingMember))
+            {
+                this.addSavedResultsPage(accumulator, savingResults);
+            }
+
+            if (accumulator.isRepositoryRequested(offsetMember))
+            {
+                this.addOffsetResultsPage(accumulator, offsetResults);
+            }
+
+            List<EntityDetail> page = accumulator.getPage(pageSize);
+
+            assertTrue(page.size() <= pageSize);
+            returned.addAll(page);
+            token = accumulator.getContinuationToken();
+        }
+        while (token != null);
+
+        List<String> returnedGUIDs = new ArrayList<>();
+
+        for (int i = 0; i < returned.size(); i++)
+        {
+            returnedGUIDs.add(returned.get(i).getGUID());
+
+            if ((i > 0) && (! shuffleOffsetResults))
+            {
+                assertTrue(OMRSSearchCursor.instanceOrder.compare(returned.get(i - 1), returned.get(i)) < 0);
+            }
+
+            if (returned.get(i).getGUID().equals("guid-shared"))
+            {
+                assertEquals(returned.get(i).getVersion(), 2L);
+            }
+        }
+
+        int expectedCount = shuffleOffsetResults ? 30 : 31;
+
+        assertEquals(returnedGUIDs.size(), expectedCount);
+        assertEquals(new HashSet<>(returnedGUIDs).size(), expectedCount);
+    }
+
+
+    @Test
+    public void testInvalidContinuationToken()
+    {
+        try
+        {
+            InstancePageAccumulator.getRequestedTokens("no-separator", "token", "test", "enterprise");
+            fail("Invalid token accepted");
+        }
+        catch (InvalidParameterException error)
+        {
+            assertEquals(error.getReportedHTTPCode(), 400);
+        }
+    }
+
+
+    /**
+     * Act as a repository that saves the results of its search between pages.
+     *
+     * @param accumulator accumulator for the enterprise page
+     * @param results all results of the search
+     * @throws Exception bad token
+     */
+    private void addSavedResultsPage(InstancePageAccumulator<EntityDetail> accumulator,
+                                     List<EntityDetail>                    results) throws Exception
+    {
+        OMRSSearchCursor   cursor        = OMRSSearchCursor.getCursor(accumulator.getRequestedToken(savingMember), "token", "test", savingMember);
+        int                queryHash     = OMRSSearchCursorStore.getQueryHash("testUser", "test");
+        List<EntityDetail> savedResults  = cursorStore.getResults(cursor, queryHash, "token", "test", savingMember);
+
+        if (savedResults == null)
+        {
+            savedResults = new ArrayList<>();
+
+            for (EntityDetail entity : results)
+            {
+                if (cursor.isBefore(entity))
+                {
+                    savedResults.add(entity);
+                }
+            }
+
+            cursor = cursorStore.saveResults(cursor, queryHash, savedResults);
+        }
+
+        List<EntityDetail> page            = new ArrayList<>();
+        OMRSSearchCursor   followingCursor = cursor.fillNextPage(savedResults, pageSize, page);
+
+        accumulator.addPage(page, cursorStore.getContinuationToken(cursor, followingCursor), savingMember);
+    }
+
+
+    /**
+     * Act as a repository that is paged by element number using its offset based search.
+     *
+     * @param accumulator accumulator for the enterprise page
+     * @param results all results of the search in the repository's order
+     * @throws Exception bad token
+     */
+    private void addOffsetResultsPage(InstancePageAccumulator<EntityDetail> accumulator,
+                                      List<EntityDetail>                    results) throws Exception
+    {
+        OMRSSearchCursor cursor      = accumulator.getRequestedCursor(offsetMember, "test");
+        int              fromElement = Math.min(cursor.getPosition(), results.size());
+
+        accumulator.addOffsetPage(new ArrayList<>(results.subList(fromElement, Math.min(fromElement + pageSize, results.size()))),
+                                  cursor,
+                                  pageSize,
+                                  offsetMember);
+    }
+
+
+    private EntityDetail getEntity(String guid, long updateTime, long version)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+        entity.setCreateTime(new Date(updateTime));
+        entity.setVersion(version);
+
+        return entity;
+    }
+}
@@ -0,0 +1,311 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositoryconnector;
+
+import org.mockito.ArgumentCaptor;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetailPage;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceGraph;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.RelationshipPage;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryeventmapper.OMRSRepositoryEventProcessor;
+import org.odpi.openmetadata.repositoryservices.eventmanagement.OMRSRepositoryEventExchangeRule;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests the catch up request, the reply from the home repository and the saving of the reply alongside
+ * live events for the same instances.  The local repository and the cohort are mocked.
+ */
+public class LocalOMRSInstanceEventProcessorTest
+{
+    private static final String homeCollectionId      = "home-collection";
+    private static final String requesterCollectionId = "requester-collection";
+    private static final String otherCollectionId     = "other-collection";
+    private static final String cohortName            = "testCohort";
+    private static final String typeDefGUID           = "test-type-guid";
+
+    private final OMRSRepositoryConnector         repositoryConnector = mock(OMRSRepositoryConnector.class);
+    private final OMRSMetadataCollection          metadataCollection  = mock(OMRSMetadataCollection.class);
+    private final OMRSRepositoryHelper            repositoryHelper    = mock(OMRSRepositoryHelper.class);
+    private final OMRSRepositoryValidator         repositoryValidator = mock(OMRSRepositoryValidator.class);
+    private final OMRSRepositoryEventExchangeRule saveExchangeRule    = mock(OMRSRepositoryEventExchangeRule.class);
+    private final OMRSRepositoryEventProcessor    outboundProcessor   = mock(OMRSRepositoryEventProcessor.class);
+
+
+    @Test
+    public void testCatchUpRequest() throws Exception
+    {
+        Date                            changedSinceTime = new Date(1000L);
+        LocalOMRSInstanceEventProcessor eventProcessor   = this.getEventProcessor(requesterCollectionId);
+
+        when(saveExchangeRule.processInstanceEvents()).thenReturn(true);
+        when(saveExchangeRule.getSelectedTypesToProcess()).thenReturn(Collections.singletonList(typeDefGUID));
+
+        eventProcessor.requestCatchUp(changedSinceTime);
+
+        verify(outboundProcessor).processCatchUpRequest(eq("testRepository"),
+                                                        eq(requesterCollectionId),
+                                                        eq("testServer"),
+                                                        any(),
+                                                        any(),
+                                                        eq(changedSinceTime),
+                                                        eq(Collections.singletonList(typeDefGUID)));
+
+        eventProcessor.shutdown();
+    }
+
+
+    @Test
+    public void testCatchUpReplySendsHomeInstances() throws Exception
+    {
+        LocalOMRSInstanceEventProcessor eventProcessor = this.getEventProcessor(homeCollectionId);
+
+        when(metadataCollection.findEntityPageByProperty(anyString(), isNull(), isNull(), isNull(), anyString(), isNull(), isNull(), isNull(), anyInt()))
+                .thenReturn(new EntityDetailPage(Arrays.asList(getEntity("entity-1", homeCollectionId, 1),
+                                                               getEntity("entity-2", otherCollectionId, 1),
+                                                               getEntity("entity-3", homeCollectionId, 1)),
+                                                 null));
+        when(metadataCollection.findRelationshipPageByProperty(anyString(), isNull(), isNull(), isNull(), anyString(), isNull(), isNull(), anyInt()))
+                .thenReturn(new RelationshipPage(Collections.singletonList(getRelationship("relationship-1", homeCollectionId, 1)),
+                                                 null));
+
+        /*
+         * A request from the local repository is ignored.
+         */
+        eventProcessor.processCatchUpRequest(cohortName, homeCollectionId, "testServer", null, null, null, null);
+        eventProcessor.processCatchUpRequest(cohortName, requesterCollectionId, "requesterServer", null, null, null, null);
+
+        ArgumentCaptor<InstanceGraph> batches = ArgumentCaptor.forClass(InstanceGraph.class);
+
+        verify(outboundProcessor, timeout(10000).times(2)).processInstanceBatchEvent(eq("testRepository"),
+                                                                                      eq(homeCollectionId),
+                                                                                      eq("testServer"),
+                                                                                      any(),
+                                                                                      any(),
+                                                                                      batches.capture());
+
+        InstanceGraph entityBatch       = batches.getAllValues().get(0);
+        InstanceGraph relationshipBatch = batches.getAllValues().get(1);
+
+        assertEquals(entityBatch.getEntities().size(), 2);
+        assertEquals(entityBatch.getEntities().get(1).getGUID(), "entity-3");
+        assertEquals(relationshipBatch.getRelationships().size(), 1);
+
+        eventProcessor.shutdown();
+
+        verify(metadataCollection, times(1)).findEntityPageByProperty(anyString(), isNull(), isNull(), isNull(), anyString(), isNull(), isNull(), isNull(), anyInt());
+    }
+
+
+    @Test
+    public void testCatchUpReplySkipsSubtypesOfSelectedTypes() throws Exception
+    {
+        LocalOMRSInstanceEventProcessor eventProcessor = this.getEventProcessor(homeCollectionId);
+
+        /*
+         * The mocks are shared by the tests so the calls made by earlier tests are cleared.
+         */
+        clearInvocations(outboundProcessor, metadataCollection);
+
+        /*
+         * SubType is a subtype of SuperType through MiddleType, which is not selected.
+         */
+        when(repositoryHelper.getTypeDef(anyString(), anyString(), eq("super-type-guid"), anyString()))
+                .thenReturn(getEntityDef("super-type-guid", "SuperType", null));
+        when(repositoryHelper.getTypeDef(anyString(), anyString(), eq("middle-type-guid"), anyString()))
+                .thenReturn(getEntityDef("middle-type-guid", "MiddleType", "super-type-guid"));
+        when(repositoryHelper.getTypeDef(anyString(), anyString(), eq("sub-type-guid"), anyString()))
+                .thenReturn(getEntityDef("sub-type-guid", "SubType", "middle-type-guid"));
+        when(metadataCollection.findEntityPageByProperty(anyString(), anyString(), isNull(), isNull(), anyString(), isNull(), isNull(), isNull(), anyInt()))
+                .thenReturn(new EntityDetailPage(Collections.singletonList(getEntity("entity-1", homeCollectionId, 1)), null));
+
+        eventProcessor.processCatchUpRequest(cohortName,
+                                             requesterCollectionId,
+                                             "requesterServer",
+                                             null,
+                                             null,
+                                             null,
+                                             Arrays.asList("sub-type-guid", "super-type-guid", "super-type-guid"));
+
+        verify(outboundProcessor, timeout(10000).times(1)).processInstanceBatchEvent(eq("testRepository"),
+                                                                                      eq(homeCollectionId),
+                                                                                      eq("testServer"),
+                                                                                      any(),
+                                                                                      any(),
+                                                                                      any());
+
+        eventProcessor.shutdown();
+
+        verify(metadataCollection, times(1)).findEntityPageByProperty(anyString(), eq("super-type-guid"), isNull(), isNull(), anyString(), isNull(), isNull(), isNull(), anyInt());
+        verify(metadataCollection, never()).findEntityPageByProperty(anyString(), eq("sub-type-guid"), isNull(), isNull(), anyString(), isNull(), isNull(), isNull(), anyInt());
+    }
+
+
+    @Test
+    public void testCatchUpReplySavedBeforeLaterLiveEvents() throws Exception
+    {
+        Map<String, EntityDetail>       savedEntities      = new ConcurrentHashMap<>();
+        Map<String, Relationship>       savedRelationships = new ConcurrentHashMap<>();
+        LocalOMRSInstanceEventProcessor eventProcessor     = this.getEventProcessor(requesterCollectionId);
+
+        when(saveExchangeRule.processInstanceEvent(any(InstanceHeader.class))).thenReturn(true);
+        when(repositoryValidator.isActiveType(any(), any(), any())).thenReturn(true);
+        when(metadataCollection.isEntityKnown(anyString(), anyString()))
+                .thenAnswer(invocation -> savedEntities.get(invocation.getArgument(1)));
+        doAnswer(invocation ->
+                 {
+                     EntityDetail entity = invocation.getArgument(1);
+
+                     savedEntities.put(entity.getGUID(), entity);
+                     return null;
+                 }).when(metadataCollection).saveEntityReferenceCopy(anyString(), any(EntityDetail.class));
+        doAnswer(invocation ->
+                 {
+                     Relationship relationship = invocation.getArgument(1);
+
+                     savedRelationships.put(relationship.getGUID(), relationship);
+                     return null;
+                 }).when(metadataCollection).saveRelationshipReferenceCopy(anyString(), any(Relationship.class));
+
+        List<EntityDetail> entities      = new ArrayList<>();
+        List<Relationship> relationships = new ArrayList<>();
+
+        for (int i = 0; i < 50; i++)
+        {
+            entities.add(getEntity("entity-" + i, homeCollectionId, 2));
+            relationships.add(getRelationship("relationship-" + i, homeCollectionId, 1));
+        }
+
+        eventProcessor.processInstanceBatchEvent(cohortName, homeCollectionId, "homeServer", null, null, new InstanceGraph(entities, relationships));
+
+        /*
+         * The live events arrive while the relationships from the batch may still be waiting to be saved.
+         */
+        for (int i = 0; i < 50; i++)
+        {
+            eventProcessor.processUpdatedEntityEvent(cohortName, homeCollectionId, "homeServer", null, null, null,
+                                                     getEntity("entity-" + i, homeCollectionId, i % 2 == 0 ? 1 : 3));
+            eventProcessor.processUpdatedRelationshipEvent(cohortName, homeCollectionId, "homeServer", null, null, null,
+                                                           getRelationship("relationship-" + i, homeCollectionId, 2));
+        }
+
+        eventProcessor.shutdown();
+
+        assertEquals(savedEntities.size(), 50);
+        assertEquals(savedRelationships.size(), 50);
+
+        for (int i = 0; i < 50; i++)
+        {
+            assertEquals(savedEntities.get("entity-" + i).getVersion(), i % 2 == 0 ? 2L : 3L);
+            assertEquals(savedRelationships.get("relationship-" + i).getVersion(), 2L);
+        }
+    }
+
+
+    /**
+     * Return an event processor for a local repository with the requested metadata collection id.
+     *
+     * @param localMetadataCollectionId local metadata collection id
+     * @return event processor
+     * @throws Exception mocking error
+     */
+    private LocalOMRSInstanceEventProcessor getEventProcessor(String   localMetadataCollectionId) throws Exception
+    {
+        when(repositoryConnector.getMetadataCollection()).thenReturn(metadataCollection);
+        when(repositoryConnector.getRepositoryName()).thenReturn("testRepository");
+        when(repositoryConnector.getServerName()).thenReturn("testServer");
+        when(repositoryConnector.getServerUserId()).thenReturn("testUser");
+        when(repositoryConnector.getMaxPageSize()).thenReturn(0);
+
+        return new LocalOMRSInstanceEventProcessor(localMetadataCollectionId,
+                                                   "testServer",
+                                                   repositoryConnector,
+                                                   repositoryHelper,
+                                                   repositoryValidator,
+                                                   saveExchangeRule,
+                                                   outboundProcessor,
+                                                   mock(OMRSAuditLog.class));
+    }
+
+
+    private EntityDef getEntityDef(String guid, String name, String superTypeGUID)
+    {
+        EntityDef entityDef = new EntityDef(TypeDefCategory.ENTITY_DEF, guid, name, 1L, "1");
+
+        if (superTypeGUID != null)
+        {
+            entityDef.setSuperType(new TypeDefLink(superTypeGUID, null));
+        }
+
+        return entityDef;
+    }
+
+
+    private EntityDetail getEntity(String guid, String metadataCollectionId, long version)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        this.setHeader(entity, guid, metadataCollectionId, version);
+
+        return entity;
+    }
+
+
+    private Relationship getRelationship(String guid, String metadataCollectionId, long version)
+    {
+        Relationship relationship = new Relationship();
+
+        this.setHeader(relationship, guid, metadataCollectionId, version);
+
+        return relationship;
+    }
+
+
+    private void setHeader(InstanceHeader instance, String guid, String metadataCollectionId, long version)
+    {
+        InstanceType type = new InstanceType();
+
+        type.setTypeDefGUID(typeDefGUID);
+        type.setTypeDefName("TestType");
+        type.setTypeDefVersion(1L);
+
+        instance.setGUID(guid);
+        instance.setMetadataCollectionId(metadataCollectionId);
+        instance.setType(type);
+        instance.setCreateTime(new Date(1000L));
+        instance.setVersion(version);
+    }
+}
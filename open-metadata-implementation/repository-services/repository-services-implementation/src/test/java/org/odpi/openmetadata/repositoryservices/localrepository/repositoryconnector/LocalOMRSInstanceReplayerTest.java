@@ -0,0 +1,82 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositoryconnector;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests that the replayer saves the instances of a batch in parallel and the saves for each instance in order.
+ */
+public class LocalOMRSInstanceReplayerTest
+{
+    @Test
+    public void testSavesForEachInstanceInOrder() throws Exception
+    {
+        LocalOMRSInstanceReplayer replayer = new LocalOMRSInstanceReplayer("test", 4);
+        List<String>              saves    = Collections.synchronizedList(new ArrayList<>());
+        List<Future<?>>           futures  = new ArrayList<>();
+
+        for (int version = 0; version < 200; version++)
+        {
+            for (int instance = 0; instance < 10; instance++)
+            {
+                final String guid = "guid-" + instance;
+                final String save = guid + ":" + version;
+
+                futures.add(replayer.replay(guid, () -> saves.add(save)));
+            }
+        }
+
+        for (Future<?> future : futures)
+        {
+            future.get();
+        }
+
+        replayer.shutdown();
+
+        assertEquals(saves.size(), 2000);
+
+        Map<String, Integer> lastVersions = new HashMap<>();
+
+        for (String save : saves)
+        {
+            String guid    = save.substring(0, save.indexOf(':'));
+            int    version = Integer.parseInt(save.substring(save.indexOf(':') + 1));
+
+            assertTrue(version > lastVersions.getOrDefault(guid, -1));
+            lastVersions.put(guid, version);
+        }
+
+        assertEquals(lastVersions.size(), 10);
+    }
+
+
+    @Test
+    public void testQueuedSavesCompleteOnShutdown()
+    {
+        LocalOMRSInstanceReplayer replayer = new LocalOMRSInstanceReplayer("test");
+        List<String>              saves    = Collections.synchronizedList(new ArrayList<>());
+
+        for (int instance = 0; instance < 50; instance++)
+        {
+            final String guid = "guid-" + instance;
+
+            replayer.replay(guid, () -> saves.add(guid));
+        }
+
+        replayer.replay(null, () -> saves.add("no guid"));
+        replayer.shutdown();
+
+        assertEquals(saves.size(), 51);
+    }
+}
@@ -0,0 +1,115 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ArrayPropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests that verifyEntityIsInZones treats an entity with no zones as visible through every zone and otherwise
+ * requires one of its zones to be in the requested list.
+ */
+public class OMRSRepositoryContentValidatorZonesTest
+{
+    private OMRSRepositoryContentValidator validator = new OMRSRepositoryContentValidator(new OMRSRepositoryContentManager(null));
+
+    private List<String> requestedZones = Arrays.asList("zone1", "zone2");
+
+
+    @Test
+    public void testNoZoneRestriction()
+    {
+        EntityDetail entity = getEntity(getZoneMembership("zone3"));
+
+        assertTrue(validator.verifyEntityIsInZones(null, entity));
+        assertTrue(validator.verifyEntityIsInZones(Collections.emptyList(), entity));
+    }
+
+
+    @Test
+    public void testNullProperty()
+    {
+        assertFalse(validator.verifyEntityIsInZones(requestedZones, null));
+        assertTrue(validator.verifyEntityIsInZones(requestedZones, new EntityDetail()));
+        assertTrue(validator.verifyEntityIsInZones(requestedZones, getEntity(new InstanceProperties())));
+    }
+
+
+    @Test
+    public void testEmptyArray()
+    {
+        InstanceProperties properties     = new InstanceProperties();
+        ArrayPropertyValue zoneMembership = new ArrayPropertyValue();
+
+        properties.setProperty("zoneMembership", zoneMembership);
+
+        assertTrue(validator.verifyEntityIsInZones(requestedZones, getEntity(properties)));
+
+        zoneMembership.setArrayCount(0);
+        zoneMembership.setArrayValues(new InstanceProperties());
+
+        assertTrue(validator.verifyEntityIsInZones(requestedZones, getEntity(properties)));
+        assertTrue(validator.verifyEntityIsInZones(requestedZones, getEntity(getZoneMembership())));
+    }
+
+
+    @Test
+    public void testMatch()
+    {
+        assertTrue(validator.verifyEntityIsInZones(requestedZones, getEntity(getZoneMembership("zone2"))));
+        assertTrue(validator.verifyEntityIsInZones(requestedZones, getEntity(getZoneMembership("zone3", "zone1"))));
+    }
+
+
+    @Test
+    public void testNoMatch()
+    {
+        assertFalse(validator.verifyEntityIsInZones(requestedZones, getEntity(getZoneMembership("zone3"))));
+        assertFalse(validator.verifyEntityIsInZones(requestedZones, getEntity(getZoneMembership("zone3", "zone4"))));
+        assertFalse(validator.verifyEntityIsInZones(Collections.singletonList("zone1"), getEntity(getZoneMembership("zone2"))));
+    }
+
+
+    private EntityDetail getEntity(InstanceProperties properties)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setProperties(properties);
+
+        return entity;
+    }
+
+
+    private InstanceProperties getZoneMembership(String... zones)
+    {
+        InstanceProperties properties     = new InstanceProperties();
+        InstanceProperties arrayValues    = new InstanceProperties();
+        ArrayPropertyValue zoneMembership = new ArrayPropertyValue();
+
+        for (int i = 0; i < zones.length; i++)
+        {
+            PrimitivePropertyValue zone = new PrimitivePropertyValue();
+
+            zone.setPrimitiveDefCategory(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING);
+            zone.setPrimitiveValue(zones[i]);
+            arrayValues.setProperty("" + i, zone);
+        }
+
+        zoneMembership.setArrayCount(zones.length);
+        zoneMembership.setArrayValues(arrayValues);
+        properties.setProperty("zoneMembership", zoneMembership);
+
+        return properties;
+    }
+}
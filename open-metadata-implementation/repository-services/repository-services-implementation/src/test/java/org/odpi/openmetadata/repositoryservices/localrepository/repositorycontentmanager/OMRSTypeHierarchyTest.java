@@ -0,0 +1,251 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefAttribute;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.PropertyErrorException;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests that the type hierarchy snapshot answers the same type checks as walking the super type links, that
+ * the property schemas compiled from it include the inherited properties, and that the content manager uses a
+ * new snapshot when the TypeDefs change.
+ */
+public class OMRSTypeHierarchyTest
+{
+    private static final String sourceName = "test";
+
+
+    @Test
+    public void testTypeOrdinalsAndAncestors()
+    {
+        TypeDef referenceable = getTypeDef("Referenceable", null);
+        TypeDef asset         = getTypeDef("Asset", referenceable);
+        TypeDef dataSet       = getTypeDef("DataSet", asset);
+        TypeDef process       = getTypeDef("Process", asset);
+
+        OMRSTypeHierarchy typeHierarchy = new OMRSTypeHierarchy(Arrays.asList(dataSet, process, referenceable, asset));
+
+        int dataSetOrdinal = typeHierarchy.getOrdinalByName("DataSet");
+
+        assertTrue(typeHierarchy.isTypeOf(dataSetOrdinal, typeHierarchy.getOrdinalByName("DataSet")));
+        assertTrue(typeHierarchy.isTypeOf(dataSetOrdinal, typeHierarchy.getOrdinalByName("Asset")));
+        assertTrue(typeHierarchy.isTypeOf(dataSetOrdinal, typeHierarchy.getOrdinalByGUID("Referenceable-guid")));
+        assertFalse(typeHierarchy.isTypeOf(dataSetOrdinal, typeHierarchy.getOrdinalByName("Process")));
+        assertFalse(typeHierarchy.isTypeOf(typeHierarchy.getOrdinalByName("Asset"), dataSetOrdinal));
+        assertFalse(typeHierarchy.isTypeOf(dataSetOrdinal, typeHierarchy.getOrdinalByName("Unknown")));
+
+        List<TypeDefLink> superTypes = typeHierarchy.getSuperTypes(dataSetOrdinal);
+
+        assertEquals(superTypes.size(), 2);
+        assertEquals(superTypes.get(0).getName(), "Asset");
+        assertEquals(superTypes.get(1).getName(), "Referenceable");
+        assertNull(typeHierarchy.getSuperTypes(typeHierarchy.getOrdinalByName("Referenceable")));
+    }
+
+
+    @Test
+    public void testUnresolvedSuperTypes()
+    {
+        TypeDef orphan = getTypeDef("Orphan", getTypeDef("Missing", null));
+        TypeDef loopA  = getTypeDef("LoopA", null);
+        TypeDef loopB  = getTypeDef("LoopB", loopA);
+
+        loopA.setSuperType(new TypeDefLink("LoopB-guid", "LoopB"));
+
+        OMRSTypeHierarchy typeHierarchy = new OMRSTypeHierarchy(Arrays.asList(orphan, loopA, loopB));
+
+        assertEquals(typeHierarchy.getOrdinalByName("Orphan"), OMRSTypeHierarchy.unknownType);
+        assertEquals(typeHierarchy.getOrdinalByName("LoopA"), OMRSTypeHierarchy.unknownType);
+        assertEquals(typeHierarchy.getOrdinalByGUID("LoopB-guid"), OMRSTypeHierarchy.unknownType);
+    }
+
+
+    @Test
+    public void testContentManagerRebuildsHierarchyOnChange()
+    {
+        OMRSRepositoryContentManager contentManager = new OMRSRepositoryContentManager(null);
+
+        TypeDef referenceable = getTypeDef("Referenceable", null);
+        TypeDef asset         = getTypeDef("Asset", referenceable);
+        TypeDef dataSet       = getTypeDef("DataSet", asset);
+
+        contentManager.addTypeDef(sourceName, referenceable);
+        contentManager.addTypeDef(sourceName, asset);
+        contentManager.addTypeDef(sourceName, dataSet);
+
+        assertTrue(contentManager.isTypeOf(sourceName, "DataSet", "Referenceable"));
+        assertTrue(contentManager.isTypeOfByGUID(sourceName, "DataSet-guid", "DataSet", "Asset-guid"));
+        assertFalse(contentManager.isTypeOf(sourceName, "Asset", "DataSet"));
+
+        /*
+         * Move DataSet to the top of the hierarchy.
+         */
+        contentManager.updateTypeDef(sourceName, getTypeDef("DataSet", null));
+
+        assertFalse(contentManager.isTypeOf(sourceName, "DataSet", "Referenceable"));
+        assertTrue(contentManager.isTypeOf(sourceName, "DataSet", "DataSet"));
+
+        contentManager.deleteTypeDef(sourceName, "DataSet-guid", "DataSet");
+
+        try
+        {
+            contentManager.isTypeOf(sourceName, "DataSet", "Referenceable");
+            fail("Deleted type found");
+        }
+        catch (OMRSLogicErrorException error)
+        {
+            /*
+             * As expected - the type is no longer known.
+             */
+        }
+    }
+
+
+    @Test
+    public void testPropertySchemaRebuiltOnChange() throws Exception
+    {
+        OMRSRepositoryContentManager   contentManager = new OMRSRepositoryContentManager(null);
+        OMRSRepositoryContentValidator validator      = new OMRSRepositoryContentValidator(contentManager);
+
+        TypeDef referenceable = getTypeDef("Referenceable", null);
+        TypeDef asset         = getTypeDef("Asset", referenceable);
+
+        referenceable.setPropertiesDefinition(Arrays.asList(getAttribute("qualifiedName", true)));
+        asset.setPropertiesDefinition(Arrays.asList(getAttribute("name", false)));
+
+        contentManager.addTypeDef(sourceName, referenceable);
+        contentManager.addTypeDef(sourceName, asset);
+
+        OMRSPropertySchema propertySchema = contentManager.getPropertySchema(sourceName, asset, sourceName);
+
+        assertTrue(propertySchema.isKnownProperty("name"));
+        assertTrue(propertySchema.isKnownProperty("qualifiedName"));
+        assertFalse(propertySchema.isKnownProperty("owner"));
+        assertEquals(propertySchema.getPropertyCategory("name"), AttributeTypeDefCategory.PRIMITIVE);
+        assertEquals(propertySchema.getUniquePropertyNames(), Arrays.asList("qualifiedName"));
+        assertSame(contentManager.getPropertySchema(sourceName, asset, sourceName), propertySchema);
+
+        validator.validatePropertiesForType(sourceName, "properties", asset, getProperties("qualifiedName"), sourceName);
+
+        try
+        {
+            validator.validatePropertiesForType(sourceName, "properties", asset, getProperties("owner"), sourceName);
+            fail("Unknown property accepted");
+        }
+        catch (PropertyErrorException error)
+        {
+            assertEquals(error.getReportedHTTPCode(), 400);
+        }
+
+        /*
+         * Add a property to Referenceable.
+         */
+        TypeDef updatedReferenceable = getTypeDef("Referenceable", null);
+
+        updatedReferenceable.setPropertiesDefinition(Arrays.asList(getAttribute("qualifiedName", true),
+                                                                   getAttribute("owner", false)));
+        contentManager.updateTypeDef(sourceName, updatedReferenceable);
+
+        OMRSPropertySchema updatedPropertySchema = contentManager.getPropertySchema(sourceName, asset, sourceName);
+
+        assertNotSame(updatedPropertySchema, propertySchema);
+        assertTrue(updatedPropertySchema.isKnownProperty("owner"));
+
+        validator.validatePropertiesForType(sourceName, "properties", asset, getProperties("owner"), sourceName);
+    }
+
+
+    @Test
+    public void testPropertiesForTypeWithNoProperties() throws Exception
+    {
+        OMRSRepositoryContentManager   contentManager = new OMRSRepositoryContentManager(null);
+        OMRSRepositoryContentValidator validator      = new OMRSRepositoryContentValidator(contentManager);
+
+        TypeDef referenceable = getTypeDef("Referenceable", null);
+        TypeDef asset         = getTypeDef("Asset", referenceable);
+
+        contentManager.addTypeDef(sourceName, referenceable);
+        contentManager.addTypeDef(sourceName, asset);
+
+        assertTrue(contentManager.getPropertySchema(sourceName, asset, sourceName).isEmpty());
+
+        validator.validatePropertiesForType(sourceName, "properties", asset, new InstanceProperties(), sourceName);
+
+        try
+        {
+            validator.validatePropertiesForType(sourceName, "properties", asset, getProperties("name"), sourceName);
+            fail("Property accepted for a type with no properties");
+        }
+        catch (PropertyErrorException error)
+        {
+            assertTrue(error.getErrorMessage().startsWith(OMRSErrorCode.NO_PROPERTIES_FOR_TYPE.getErrorMessageId()),
+                       error.getErrorMessage());
+        }
+    }
+
+
+    private TypeDefAttribute getAttribute(String  name,
+                                          boolean isUnique)
+    {
+        TypeDefAttribute attribute = new TypeDefAttribute();
+
+        attribute.setAttributeName(name);
+        attribute.setAttributeType(new PrimitiveDef(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING));
+        attribute.setUnique(isUnique);
+
+        return attribute;
+    }
+
+
+    private InstanceProperties getProperties(String propertyName)
+    {
+        InstanceProperties     properties    = new InstanceProperties();
+        PrimitivePropertyValue propertyValue = new PrimitivePropertyValue();
+
+        propertyValue.setPrimitiveDefCategory(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING);
+        propertyValue.setPrimitiveValue("value");
+        properties.setProperty(propertyName, propertyValue);
+
+        return properties;
+    }
+
+
+    private TypeDef getTypeDef(String  name,
+                               TypeDef superType)
+    {
+        EntityDef typeDef = new EntityDef();
+
+        typeDef.setGUID(name + "-guid");
+        typeDef.setName(name);
+        typeDef.setVersion(1);
+
+        if (superType != null)
+        {
+            typeDef.setSuperType(new TypeDefLink(superType.getGUID(), superType.getName()));
+        }
+
+        return typeDef;
+    }
+}
@@ -5,11 +5,15 @@ package org.odpi.openmetadata.userinterface.uichassis.springboot.api.tex;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.ClassificationDef;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EnumDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.RelationshipDef;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.RelationshipEndDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefAttribute;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefGallery;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
 
 import java.util.HashMap;
@@ -60,6 +64,54 @@ public class TypeExplorer {
     }
 
 
+    /*
+     * Build and resolve a TypeExplorer from the types retrieved from a server.
+     */
+    public static TypeExplorer buildFromGallery(TypeDefGallery typeDefGallery) {
+
+        TypeExplorer tex = new TypeExplorer();
+
+        List<TypeDef> typeDefs = typeDefGallery.getTypeDefs();
+        if (typeDefs != null) {
+            for (TypeDef typeDef : typeDefs) {
+                switch (typeDef.getCategory()) {
+                    case ENTITY_DEF:
+                        tex.addEntityExplorer(typeDef.getName(), new EntityExplorer((EntityDef) typeDef));
+                        break;
+                    case RELATIONSHIP_DEF:
+                        tex.addRelationshipExplorer(typeDef.getName(), new RelationshipExplorer((RelationshipDef) typeDef));
+                        break;
+                    case CLASSIFICATION_DEF:
+                        tex.addClassificationExplorer(typeDef.getName(), new ClassificationExplorer((ClassificationDef) typeDef));
+                        break;
+                    default:
+                        // Ignore this typeDef and continue with next
+                        break;
+                }
+            }
+        }
+
+        // Include EnumDefs in the TEX
+        List<AttributeTypeDef> attributeTypeDefs = typeDefGallery.getAttributeTypeDefs();
+        if (attributeTypeDefs != null) {
+            for (AttributeTypeDef attributeTypeDef : attributeTypeDefs) {
+                switch (attributeTypeDef.getCategory()) {
+                    case ENUM_DEF:
+                        tex.addEnumExplorer(attributeTypeDef.getName(), (EnumDef) attributeTypeDef);
+                        break;
+                    default:
+                        // Ignore this AttributeTypeDef and continue with next
+                        break;
+                }
+            }
+        }
+
+        // All typeDefs processed, resolve linkages and return the TEX object
+        tex.resolve();
+        return tex;
+    }
+
+
     public void addEntityExplorer(String entityTypeName, EntityExplorer entityExplorer) {
         entities.put(entityTypeName, entityExplorer);
     }
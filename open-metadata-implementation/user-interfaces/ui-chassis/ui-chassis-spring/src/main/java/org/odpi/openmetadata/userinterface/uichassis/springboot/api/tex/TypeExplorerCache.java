@@ -0,0 +1,400 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.userinterface.uichassis.springboot.api.tex;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefGallery;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * TypeExplorerCache holds the resolved TypeExplorer model for each server that the type explorer has been
+ * pointed at.  Building and resolving the model walks every sub-type relationship of every type so it is
+ * only rebuilt when the version of the server's type gallery changes.  The gallery version is a digest of the
+ * guid and version of each TypeDef and AttributeTypeDef and is also used as the ETag returned to the browser.
+ *
+ * Each entry may be served without going back to the server for the revalidation interval.  This is only done
+ * for users that have successfully retrieved the types from the server within the interval so that the server
+ * still makes the authorization decision for each user.  Each entry remembers a limited number of users; when
+ * there are more, the users whose validation has expired are forgotten first, then those validated longest ago.
+ */
+public class TypeExplorerCache
+{
+    private static final int maxValidatedUsers = 1000;
+
+    private final long                                revalidationInterval;
+    private final Map<String, CachedTypeExplorer>     cache = new ConcurrentHashMap<>();
+
+
+    /**
+     * Constructor
+     *
+     * @param revalidationInterval number of milliseconds that a cached model may be returned before the
+     *                             server's type gallery is retrieved again to check its version
+     */
+    public TypeExplorerCache(long revalidationInterval)
+    {
+        this.revalidationInterval = revalidationInterval;
+    }
+
+
+    /**
+     * Return the cached model for the server if it can be returned to the user without revalidating it
+     * with the server.
+     *
+     * @param userId calling user
+     * @param cacheKey identifier of the server
+     * @return cached model or null
+     */
+    public CachedTypeExplorer getFreshEntry(String userId, String cacheKey)
+    {
+        CachedTypeExplorer entry = cache.get(cacheKey);
+
+        if ((entry != null) && (entry.isValidatedForUser(userId, System.currentTimeMillis() - revalidationInterval)))
+        {
+            return entry;
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the model matching the supplied type gallery.  If the gallery version matches the cached
+     * entry, the cached (already resolved) model is returned, otherwise a new model is built and cached.
+     *
+     * @param userId calling user
+     * @param cacheKey identifier of the server
+     * @param typeDefGallery types retrieved from the server
+     * @return cached model
+     */
+    public CachedTypeExplorer getEntry(String userId, String cacheKey, TypeDefGallery typeDefGallery)
+    {
+        String galleryVersion = getGalleryVersion(typeDefGallery);
+
+        CachedTypeExplorer entry = cache.compute(cacheKey, (key, existingEntry) ->
+        {
+            if ((existingEntry != null) && (galleryVersion.equals(existingEntry.getVersion())))
+            {
+                return existingEntry;
+            }
+
+            return new CachedTypeExplorer(galleryVersion, TypeExplorer.buildFromGallery(typeDefGallery));
+        });
+
+        entry.addValidatedUser(userId, System.currentTimeMillis(), revalidationInterval);
+
+        return entry;
+    }
+
+
+    /**
+     * Remove the cached model for the server.  This is called when the types of the server are known to have
+     * changed; for example, because a TypeDef has been added, updated or deleted.
+     *
+     * @param cacheKey identifier of the server
+     */
+    public void invalidate(String cacheKey)
+    {
+        cache.remove(cacheKey);
+    }
+
+
+    /**
+     * Remove all cached models.
+     */
+    public void invalidateAll()
+    {
+        cache.clear();
+    }
+
+
+    /**
+     * Build the key for a server.
+     *
+     * @param serverName name of the server
+     * @param serverURLRoot platform root URL of the server
+     * @param enterpriseOption whether the enterprise view of the types is requested
+     * @return cache key
+     */
+    public static String getCacheKey(String serverName, String serverURLRoot, boolean enterpriseOption)
+    {
+        return serverName + "|" + serverURLRoot + "|" + enterpriseOption;
+    }
+
+
+    /**
+     * Return whether an If-None-Match request header matches the ETag of the current model.  The header may be
+     * "*" or a comma separated list of entity tags.  Following RFC 7232, If-None-Match uses the weak comparison,
+     * so a "W/" prefix on either tag is ignored.
+     *
+     * @param ifNoneMatch value of the If-None-Match header (may be null)
+     * @param eTag current ETag
+     * @return boolean
+     */
+    public static boolean matchesIfNoneMatch(String ifNoneMatch, String eTag)
+    {
+        if ((ifNoneMatch == null) || (eTag == null))
+        {
+            return false;
+        }
+
+        String header = ifNoneMatch.trim();
+
+        if ("*".equals(header))
+        {
+            return true;
+        }
+
+        String opaqueTag = getOpaqueTag(eTag);
+        int    position  = 0;
+
+        while (position < header.length())
+        {
+            char nextChar = header.charAt(position);
+
+            if ((nextChar == ',') || (Character.isWhitespace(nextChar)))
+            {
+                position++;
+                continue;
+            }
+
+            int tagStart = position;
+
+            if (header.startsWith("W/", position))
+            {
+                position = position + 2;
+            }
+
+            int tagEnd;
+
+            if ((position < header.length()) && (header.charAt(position) == '"'))
+            {
+                /*
+                 * A quoted tag ends at the closing quote; it may not contain a quote but can contain a comma.
+                 */
+                tagEnd = header.indexOf('"', position + 1);
+                tagEnd = (tagEnd < 0) ? header.length() : tagEnd + 1;
+            }
+            else
+            {
+                tagEnd = header.indexOf(',', position);
+                tagEnd = (tagEnd < 0) ? header.length() : tagEnd;
+            }
+
+            if (opaqueTag.equals(getOpaqueTag(header.substring(tagStart, tagEnd))))
+            {
+                return true;
+            }
+
+            position = tagEnd;
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Return an entity tag without its weak indicator.
+     *
+     * @param eTag entity tag
+     * @return quoted opaque tag
+     */
+    private static String getOpaqueTag(String eTag)
+    {
+        String tag = eTag.trim();
+
+        if (tag.startsWith("W/"))
+        {
+            tag = tag.substring(2);
+        }
+
+        return tag;
+    }
+
+
+    /**
+     * Calculate a version string for a type gallery that changes whenever a type is added, removed or updated.
+     * The digest is taken over the sorted guid:version pairs so it is independent of the order the
+     * types are returned in.
+     *
+     * @param typeDefGallery types retrieved from the server
+     * @return version string suitable for use as an ETag
+     */
+    static String getGalleryVersion(TypeDefGallery typeDefGallery)
+    {
+        List<String> typeVersions = new ArrayList<>();
+
+        if (typeDefGallery != null)
+        {
+            if (typeDefGallery.getTypeDefs() != null)
+            {
+                for (TypeDef typeDef : typeDefGallery.getTypeDefs())
+                {
+                    typeVersions.add("T:" + typeDef.getGUID() + ":" + typeDef.getVersion());
+                }
+            }
+
+            if (typeDefGallery.getAttributeTypeDefs() != null)
+            {
+                for (AttributeTypeDef attributeTypeDef : typeDefGallery.getAttributeTypeDefs())
+                {
+                    typeVersions.add("A:" + attributeTypeDef.getGUID() + ":" + attributeTypeDef.getVersion());
+                }
+            }
+        }
+
+        Collections.sort(typeVersions);
+
+        try
+        {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+
+            for (String typeVersion : typeVersions)
+            {
+                digest.update(typeVersion.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte)'\n');
+            }
+
+            StringBuilder version = new StringBuilder("\"");
+            for (byte b : digest.digest())
+            {
+                version.append(String.format("%02x", b));
+            }
+            version.append("\"");
+
+            return version.toString();
+        }
+        catch (NoSuchAlgorithmException error)
+        {
+            /*
+             * SHA-256 is required of every JVM so this should not happen.
+             */
+            return "\"" + typeVersions.hashCode() + "-" + typeVersions.size() + "\"";
+        }
+    }
+
+
+    /**
+     * A resolved TypeExplorer model along with the version of the type gallery it was built from.
+     */
+    public static class CachedTypeExplorer
+    {
+        private final String       version;
+        private final TypeExplorer typeExplorer;
+        private final Map<String, Long> validatedUsers = new ConcurrentHashMap<>();
+
+
+        CachedTypeExplorer(String version, TypeExplorer typeExplorer)
+        {
+            this.version = version;
+            this.typeExplorer = typeExplorer;
+        }
+
+
+        /**
+         * Return the version of the type gallery that the model was built from.  This is used as the ETag.
+         *
+         * @return quoted version string
+         */
+        public String getVersion()
+        {
+            return version;
+        }
+
+
+        /**
+         * Return the resolved model.
+         *
+         * @return type explorer
+         */
+        public TypeExplorer getTypeExplorer()
+        {
+            return typeExplorer;
+        }
+
+
+        /**
+         * Return whether the user has retrieved the types from the server since the requested time.
+         *
+         * @param userId calling user
+         * @param validatedSince earliest validation time that is still fresh
+         * @return boolean
+         */
+        boolean isValidatedForUser(String userId, long validatedSince)
+        {
+            if (userId == null)
+            {
+                return false;
+            }
+
+            Long validatedTime = validatedUsers.get(userId);
+
+            return (validatedTime != null) && (validatedTime > validatedSince);
+        }
+
+
+        /**
+         * Record that the user has retrieved the types from the server.  If this takes the number of users
+         * over the limit, the users whose validation has expired are removed and then the other users validated
+         * longest ago.
+         *
+         * @param userId calling user
+         * @param validatedTime time the server returned the types to the user
+         * @param revalidationInterval number of milliseconds that a validation stays fresh
+         */
+        void addValidatedUser(String userId, long validatedTime, long revalidationInterval)
+        {
+            if (userId == null)
+            {
+                return;
+            }
+
+            validatedUsers.put(userId, validatedTime);
+
+            if (validatedUsers.size() > maxValidatedUsers)
+            {
+                validatedUsers.values().removeIf(time -> (time <= validatedTime - revalidationInterval));
+
+                while (validatedUsers.size() > maxValidatedUsers)
+                {
+                    Map.Entry<String, Long> oldestUser = null;
+
+                    /*
+                     * The user being added is never removed, even if other users were validated at the same time.
+                     */
+                    for (Map.Entry<String, Long> user : validatedUsers.entrySet())
+                    {
+                        if ((! userId.equals(user.getKey()))
+                                && ((oldestUser == null) || (user.getValue() < oldestUser.getValue())))
+                        {
+                            oldestUser = user;
+                        }
+                    }
+
+                    if (oldestUser == null)
+                    {
+                        break;
+                    }
+
+                    validatedUsers.remove(oldestUser.getKey(), oldestUser.getValue());
+                }
+            }
+        }
+
+
+        int getValidatedUserCount()
+        {
+            return validatedUsers.size();
+        }
+    }
+}
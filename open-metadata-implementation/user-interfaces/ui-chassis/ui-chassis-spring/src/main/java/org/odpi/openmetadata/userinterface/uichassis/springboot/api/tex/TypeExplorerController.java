@@ -11,7 +11,6 @@ import org.odpi.openmetadata.userinterface.uichassis.springboot.api.SecureContro
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.List;
 import java.util.Map;
 
 import org.odpi.openmetadata.adapters.repositoryservices.ConnectorConfigurationFactory;
@@ -19,23 +18,22 @@ import org.odpi.openmetadata.frameworks.connectors.Connector;
 import org.odpi.openmetadata.frameworks.connectors.ConnectorBroker;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
-import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
-import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDefCategory;
-import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.RelationshipDef;
-import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.ClassificationDef;
-import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
-import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EnumDef;
-import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
-import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefCategory;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefGallery;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import javax.servlet.http.HttpServletRequest;
@@ -55,14 +53,18 @@ public class TypeExplorerController extends SecureController
 
     String                 metadataCollectionId;
     OMRSMetadataCollection metadataCollection;
+    TypeExplorerCache      typeExplorerCache;
 
     /**
      * Default constructor
      *
+     * @param revalidationSeconds number of seconds that a cached TypeExplorer is returned to a user before the
+     *                            server is asked for its types again
      */
-    public TypeExplorerController() {
+    public TypeExplorerController(@Value("${type.explorer.cache.revalidation.seconds:60}") long revalidationSeconds) {
         metadataCollectionId = null;
         metadataCollection = null;
+        typeExplorerCache = new TypeExplorerCache(revalidationSeconds * 1000);
     }
 
 
@@ -72,16 +74,67 @@ public class TypeExplorerController extends SecureController
      *   serverName is the name of the repository server to be interrogated.
      *   serverURLRoot is the root of the URL to use to connect to the server.
      *   enterpriseOption is a string "true" or "false" indicating whether to include results from the cohorts to which the server belongs
+     *
+     * The resolved TypeExplorer is cached for each server and returned with an ETag that identifies the version
+     * of the server's types.  If the request carries an If-None-Match header that matches the current version
+     * (including a weak tag, one tag of a list or "*") an empty 304 (Not Modified) response is returned.
      */
 
     @RequestMapping(method = RequestMethod.POST, path = "/api/types/typeExplorer")
-    public TypeExplorerResponse typeExplorer(@RequestBody Map<String,String> body, HttpServletRequest request)
+    public ResponseEntity<TypeExplorerResponse> typeExplorer(@RequestBody Map<String,String> body,
+                                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                             HttpServletRequest request)
     {
 
         String serverName        = body.get("serverName");
         String serverURLRoot     = body.get("serverURLRoot");
-        boolean enterpriseOption = body.get("enterpriseOption").equals("true");
+        boolean enterpriseOption = "true".equals(body.get("enterpriseOption"));
+
+        return this.getTypeExplorerResponse(serverName, serverURLRoot, enterpriseOption, ifNoneMatch);
+    }
+
+
+    /*
+     * This method is the GET equivalent of the typeExplorer method above.  Because it is a GET, browsers will
+     * automatically revalidate their cached copy of the response using the ETag.
+     */
+
+    @RequestMapping(method = RequestMethod.GET, path = "/api/types/typeExplorer")
+    public ResponseEntity<TypeExplorerResponse> getTypeExplorer(@RequestParam String serverName,
+                                                                @RequestParam String serverURLRoot,
+                                                                @RequestParam(required = false, defaultValue = "false") boolean enterpriseOption,
+                                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                                HttpServletRequest request)
+    {
+        return this.getTypeExplorerResponse(serverName, serverURLRoot, enterpriseOption, ifNoneMatch);
+    }
+
+
+    /*
+     * This method removes the cached TypeExplorer for a server.  It is called when the types of the server
+     * have changed, for example when a TypeDef event has been received for the server's cohort.
+     * In the RequestBody:
+     *   serverName is the name of the repository server whose types have changed.
+     *   serverURLRoot is the root of the URL to use to connect to the server.
+     */
+
+    @RequestMapping(method = RequestMethod.POST, path = "/api/types/typeExplorer/invalidate")
+    public void invalidateTypeExplorer(@RequestBody Map<String,String> body, HttpServletRequest request)
+    {
+        String serverName    = body.get("serverName");
+        String serverURLRoot = body.get("serverURLRoot");
+
+        typeExplorerCache.invalidate(TypeExplorerCache.getCacheKey(serverName, serverURLRoot, true));
+        typeExplorerCache.invalidate(TypeExplorerCache.getCacheKey(serverName, serverURLRoot, false));
+    }
 
+
+
+    private ResponseEntity<TypeExplorerResponse> getTypeExplorerResponse(String  serverName,
+                                                                         String  serverURLRoot,
+                                                                         boolean enterpriseOption,
+                                                                         String  ifNoneMatch)
+    {
         String userId = SecurityContextHolder.getContext().getAuthentication().getName();
 
         // Look up types in server and construct TEX
@@ -90,14 +143,21 @@ public class TypeExplorerController extends SecureController
 
         try {
 
-            TypeExplorer tex = this.getTypeExplorer(userId, serverName, serverURLRoot, enterpriseOption);
+            TypeExplorerCache.CachedTypeExplorer cachedTex = this.getTypeExplorer(userId, serverName, serverURLRoot, enterpriseOption);
+
+            if (cachedTex != null) {
+
+                if (TypeExplorerCache.matchesIfNoneMatch(ifNoneMatch, cachedTex.getVersion())) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(cachedTex.getVersion()).build();
+                }
+
+                texResp = new TypeExplorerResponse(200, "", cachedTex.getTypeExplorer());
+                return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(cachedTex.getVersion()).body(texResp);
 
-            if (tex != null) {
-                texResp = new TypeExplorerResponse(200, "", tex);
             } else {
                 texResp = new TypeExplorerResponse(400, "Could not retrieve type information", null);
             }
-            return texResp;
+            return ResponseEntity.ok(texResp);
         }
         catch (ConnectionCheckedException | ConnectorCheckedException e) {
 
@@ -118,16 +178,16 @@ public class TypeExplorerController extends SecureController
         // For any of the above exceptions, incorporate the exception message into a response object
         texResp = new TypeExplorerResponse(400, exceptionMessage, null);
 
-        return texResp;
+        return ResponseEntity.ok(texResp);
 
     }
 
 
 
-    private TypeExplorer getTypeExplorer(String  userId,
-                                         String  serverName,
-                                         String  serverURLRoot,
-                                         boolean enterpriseOption)
+    private TypeExplorerCache.CachedTypeExplorer getTypeExplorer(String  userId,
+                                                                 String  serverName,
+                                                                 String  serverURLRoot,
+                                                                 boolean enterpriseOption)
         throws
             ConnectionCheckedException,
             ConnectorCheckedException,
@@ -136,53 +196,31 @@ public class TypeExplorerController extends SecureController
             InvalidParameterException
     {
 
+        String cacheKey = TypeExplorerCache.getCacheKey(serverName, serverURLRoot, enterpriseOption);
+
+        /*
+         * If this user has recently retrieved the types from this server then the cached model is returned
+         * without contacting the server.
+         */
+        TypeExplorerCache.CachedTypeExplorer cachedTex = typeExplorerCache.getFreshEntry(userId, cacheKey);
+        if (cachedTex != null) {
+            return cachedTex;
+        }
+
         try {
 
             this.getMetadataCollection(userId, serverName, serverURLRoot, enterpriseOption);
 
-            TypeExplorer tex = new TypeExplorer();
-
             TypeDefGallery typeDefGallery = metadataCollection.getAllTypes(userId);
 
-            List<TypeDef> typeDefs = typeDefGallery.getTypeDefs();
-            for (TypeDef typeDef : typeDefs) {
-                TypeDefCategory tdCat = typeDef.getCategory();
-                switch (tdCat) {
-                    case ENTITY_DEF:
-                        EntityExplorer eex = new EntityExplorer((EntityDef) typeDef);
-                        tex.addEntityExplorer(typeDef.getName(), eex);
-                        break;
-                    case RELATIONSHIP_DEF:
-                        RelationshipExplorer rex = new RelationshipExplorer((RelationshipDef) typeDef);
-                        tex.addRelationshipExplorer(typeDef.getName(), rex);
-                        break;
-                    case CLASSIFICATION_DEF:
-                        ClassificationExplorer cex = new ClassificationExplorer((ClassificationDef) typeDef);
-                        tex.addClassificationExplorer(typeDef.getName(), cex);
-                        break;
-                    default:
-                        // Ignore this typeDef and continue with next
-                        break;
-                }
+            if (typeDefGallery == null) {
+                return null;
             }
 
-            // Include EnumDefs in the TEX
-            List<AttributeTypeDef> attributeTypeDefs = typeDefGallery.getAttributeTypeDefs();
-            for (AttributeTypeDef attributeTypeDef : attributeTypeDefs) {
-                AttributeTypeDefCategory tdCat = attributeTypeDef.getCategory();
-                switch (tdCat) {
-                    case ENUM_DEF:
-                        tex.addEnumExplorer(attributeTypeDef.getName(), (EnumDef)attributeTypeDef);
-                        break;
-                    default:
-                        // Ignore this AttributeTypeDef and continue with next
-                        break;
-                }
-            }
-
-            // All typeDefs processed, resolve linkages and return the TEX object
-            tex.resolve();
-            return tex;
+            /*
+             * The model is only rebuilt and resolved if the version of the types has changed.
+             */
+            return typeExplorerCache.getEntry(userId, cacheKey, typeDefGallery);
 
         }
         catch (ConnectionCheckedException |
@@ -0,0 +1,160 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.userinterface.uichassis.springboot.api.tex;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefGallery;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TypeExplorerCacheTest {
+
+    private static final String cacheKey = TypeExplorerCache.getCacheKey("cocoMDS1", "https://localhost:8080", false);
+    private static final String user     = "demo";
+
+    @Test
+    @DisplayName("Unchanged types reuse the resolved model")
+    void testUnchangedGalleryReusesModel() {
+        TypeExplorerCache cache = new TypeExplorerCache(60000);
+
+        TypeExplorerCache.CachedTypeExplorer first  = cache.getEntry(user, cacheKey, getGallery(1L));
+        TypeExplorerCache.CachedTypeExplorer second = cache.getEntry(user, cacheKey, getGallery(1L));
+
+        assertSame(first, second);
+        assertSame(first.getTypeExplorer(), second.getTypeExplorer());
+        assertNotNull(first.getTypeExplorer().getEntities().get("Referenceable"));
+        assertEquals(1, first.getTypeExplorer().getEntities().get("Referenceable").getSubTypeNames().size());
+    }
+
+    @Test
+    @DisplayName("Changed types rebuild the model with a new version")
+    void testChangedGalleryRebuildsModel() {
+        TypeExplorerCache cache = new TypeExplorerCache(60000);
+
+        TypeExplorerCache.CachedTypeExplorer first  = cache.getEntry(user, cacheKey, getGallery(1L));
+        TypeExplorerCache.CachedTypeExplorer second = cache.getEntry(user, cacheKey, getGallery(2L));
+
+        assertNotSame(first, second);
+        assertNotEquals(first.getVersion(), second.getVersion());
+    }
+
+    @Test
+    @DisplayName("Fresh entries are only returned to validated users")
+    void testFreshEntry() {
+        TypeExplorerCache cache = new TypeExplorerCache(60000);
+
+        assertNull(cache.getFreshEntry(user, cacheKey));
+
+        TypeExplorerCache.CachedTypeExplorer entry = cache.getEntry(user, cacheKey, getGallery(1L));
+
+        assertSame(entry, cache.getFreshEntry(user, cacheKey));
+        assertNull(cache.getFreshEntry("anotherUser", cacheKey));
+
+        cache.invalidate(cacheKey);
+
+        assertNull(cache.getFreshEntry(user, cacheKey));
+    }
+
+    @Test
+    @DisplayName("Gallery version is independent of type order")
+    void testGalleryVersionOrder() {
+        TypeDefGallery gallery = getGallery(1L);
+        String version = TypeExplorerCache.getGalleryVersion(gallery);
+
+        List<TypeDef> reversed = new ArrayList<>(gallery.getTypeDefs());
+        Collections.reverse(reversed);
+        gallery.setTypeDefs(reversed);
+
+        assertEquals(version, TypeExplorerCache.getGalleryVersion(gallery));
+    }
+
+    @Test
+    @DisplayName("If-None-Match accepts weak tags, lists and *")
+    void testIfNoneMatch() {
+        String eTag = "\"abc123\"";
+
+        assertTrue(TypeExplorerCache.matchesIfNoneMatch("\"abc123\"", eTag));
+        assertTrue(TypeExplorerCache.matchesIfNoneMatch("W/\"abc123\"", eTag));
+        assertTrue(TypeExplorerCache.matchesIfNoneMatch("\"abc123\"", "W/" + eTag));
+        assertTrue(TypeExplorerCache.matchesIfNoneMatch("\"xyz\", W/\"abc123\"", eTag));
+        assertTrue(TypeExplorerCache.matchesIfNoneMatch("\"x,y\",\"abc123\"", eTag));
+        assertTrue(TypeExplorerCache.matchesIfNoneMatch(" * ", eTag));
+
+        assertFalse(TypeExplorerCache.matchesIfNoneMatch(null, eTag));
+        assertFalse(TypeExplorerCache.matchesIfNoneMatch("", eTag));
+        assertFalse(TypeExplorerCache.matchesIfNoneMatch("\"abc\", \"123\"", eTag));
+        assertFalse(TypeExplorerCache.matchesIfNoneMatch("abc123", eTag));
+        assertFalse(TypeExplorerCache.matchesIfNoneMatch("\"abc123", eTag));
+    }
+
+    @Test
+    @DisplayName("The number of validated users is bounded")
+    void testValidatedUsersBounded() {
+        TypeExplorerCache cache = new TypeExplorerCache(60000);
+
+        TypeExplorerCache.CachedTypeExplorer entry = cache.getEntry("user0", cacheKey, getGallery(1L));
+
+        for (int i = 1; i < 1500; i++) {
+            cache.getEntry("user" + i, cacheKey, getGallery(1L));
+        }
+
+        assertEquals(1000, entry.getValidatedUserCount());
+        assertSame(entry, cache.getFreshEntry("user1499", cacheKey));
+    }
+
+    @Test
+    @DisplayName("Expired users are removed first when there are too many")
+    void testExpiredUsersRemovedFirst() {
+        TypeExplorerCache.CachedTypeExplorer entry = new TypeExplorerCache(60000).getEntry(null, cacheKey, getGallery(1L));
+
+        for (int i = 0; i < 1000; i++) {
+            entry.addValidatedUser("user" + i, (i < 500) ? 1000L : 100000L, 60000);
+        }
+
+        entry.addValidatedUser("newUser", 100000L, 60000);
+
+        assertEquals(501, entry.getValidatedUserCount());
+        assertFalse(entry.isValidatedForUser("user0", 40000L));
+        assertTrue(entry.isValidatedForUser("user999", 40000L));
+        assertTrue(entry.isValidatedForUser("newUser", 40000L));
+    }
+
+    private TypeDefGallery getGallery(long assetVersion) {
+        EntityDef referenceable = new EntityDef();
+        referenceable.setGUID("a32316b8-dc8c-48c5-b12b-71c1b2a080bf");
+        referenceable.setName("Referenceable");
+        referenceable.setVersion(1L);
+
+        EntityDef asset = new EntityDef();
+        asset.setGUID("896d14c2-7522-4f6c-8519-757711943fe6");
+        asset.setName("Asset");
+        asset.setVersion(assetVersion);
+        asset.setSuperType(new TypeDefLink(referenceable.getGUID(), referenceable.getName()));
+
+        List<TypeDef> typeDefs = new ArrayList<>();
+        typeDefs.add(referenceable);
+        typeDefs.add(asset);
+
+        TypeDefGallery gallery = new TypeDefGallery();
+        gallery.setTypeDefs(typeDefs);
+        gallery.setAttributeTypeDefs(new ArrayList<AttributeTypeDef>());
+
+        return gallery;
+    }
+}
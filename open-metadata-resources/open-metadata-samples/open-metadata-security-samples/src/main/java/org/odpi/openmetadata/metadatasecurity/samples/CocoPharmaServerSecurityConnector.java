@@ -10,10 +10,12 @@ import org.odpi.openmetadata.frameworks.connectors.properties.beans.Asset;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
 import org.odpi.openmetadata.metadatasecurity.connectors.OpenMetadataServerSecurityConnector;
 import org.odpi.openmetadata.metadatasecurity.properties.AssetAuditHeader;
+import org.odpi.openmetadata.metadatasecurity.properties.OpenMetadataSecurityDecision;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -712,6 +714,19 @@ public class CocoPharmaServerSecurityConnector extends OpenMetadataServerSecurit
         }
     }
 
+    /**
+     * Return the security decisions that the server may cache.  The Coco Pharmaceuticals rules are fixed
+     * when the connector is created, so all of the read decisions depend only on the values in the cache key.
+     *
+     * @return list of cacheable decisions
+     */
+    @Override
+    public List<OpenMetadataSecurityDecision> getCacheableDecisions()
+    {
+        return Arrays.asList(OpenMetadataSecurityDecision.values());
+    }
+
+
     /**
      * Determine the appropriate setting for the supported zones depending on the user and the
      * default supported zones set up for the service.  This is called whenever an asset is accessed.